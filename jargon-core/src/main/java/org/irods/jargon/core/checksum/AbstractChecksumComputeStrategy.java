@@ -5,7 +5,10 @@ package org.irods.jargon.core.checksum;
 
 import java.io.FileNotFoundException;
 
+import org.apache.commons.codec.binary.Base64;
 import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.protovalues.ChecksumEncodingEnum;
+import org.irods.jargon.core.utils.LocalFileUtils;
 
 /**
  * Abstract base class for classes that compute and return a checksum based on
@@ -28,4 +31,31 @@ public abstract class AbstractChecksumComputeStrategy {
 			final String localFileAbsolutePath) throws FileNotFoundException,
 			JargonException;
 
+	/**
+	 * Format an MD5 or SHA256 digest as a checksum in the form sent to iRODS,
+	 * hex for MD5, and base64 with a <code>sha2:</code> prefix for SHA256
+	 *
+	 * @param checksumEncoding
+	 *            {@link ChecksumEncodingEnum} of the digest, MD5 or SHA256
+	 * @param digest
+	 *            <code>byte[]</code> with the digest
+	 * @return {@link ChecksumValue}
+	 */
+	static ChecksumValue checksumValueFromDigest(
+			final ChecksumEncodingEnum checksumEncoding, final byte[] digest) {
+		ChecksumValue value = new ChecksumValue();
+		value.setChecksumEncoding(checksumEncoding);
+		if (checksumEncoding == ChecksumEncodingEnum.MD5) {
+			value.setChecksumStringValue(LocalFileUtils
+					.digestByteArrayToString(digest));
+			value.setChecksumTransmissionFormat(value.getChecksumStringValue());
+		} else {
+			value.setChecksumStringValue(Base64.encodeBase64String(digest)
+					.trim());
+			value.setChecksumTransmissionFormat("sha2:"
+					+ value.getChecksumStringValue());
+		}
+		return value;
+	}
+
 }
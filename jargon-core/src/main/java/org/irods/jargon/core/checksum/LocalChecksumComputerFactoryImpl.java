@@ -11,6 +11,12 @@ import org.irods.jargon.core.protovalues.ChecksumEncodingEnum;
  * be derived from the {@link ChecksumManager}. *
  * <p/>
  * This factory is available from the {@link IRODSSession}
+ * <p/>
+ * MD5 and SHA256 are computed on the calling thread, unless the
+ * <code>JargonProperties</code> of the session ask for the file to be read
+ * ahead of the digest on a separate thread by
+ * {@link ReadAheadLocalChecksumComputerStrategy}. SHA256_TREE is computed by
+ * {@link TreeHashLocalChecksumComputerStrategy} across the available cores.
  *
  * @author Mike Conway - DICE
  *
@@ -18,6 +24,31 @@ import org.irods.jargon.core.protovalues.ChecksumEncodingEnum;
 public class LocalChecksumComputerFactoryImpl implements
 LocalChecksumComputerFactory {
 
+	private final IRODSSession irodsSession;
+
+	/**
+	 * Create a factory that computes MD5 and SHA256 checksums on the calling
+	 * thread
+	 */
+	public LocalChecksumComputerFactoryImpl() {
+		irodsSession = null;
+	}
+
+	/**
+	 * Create a factory that reads the file ahead of the digest if the current
+	 * <code>JargonProperties</code> of the session ask for it
+	 *
+	 * @param irodsSession
+	 *            {@link IRODSSession} whose properties are consulted for each
+	 *            checksum
+	 */
+	public LocalChecksumComputerFactoryImpl(final IRODSSession irodsSession) {
+		if (irodsSession == null) {
+			throw new IllegalArgumentException("null irodsSession");
+		}
+		this.irodsSession = irodsSession;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
@@ -35,9 +66,19 @@ LocalChecksumComputerFactory {
 		}
 
 		if (checksumEncodingEnum == ChecksumEncodingEnum.MD5) {
+			if (isReadAhead()) {
+				return new ReadAheadLocalChecksumComputerStrategy(
+						ChecksumEncodingEnum.MD5);
+			}
 			return new MD5LocalChecksumComputerStrategy();
 		} else if (checksumEncodingEnum == ChecksumEncodingEnum.SHA256) {
+			if (isReadAhead()) {
+				return new ReadAheadLocalChecksumComputerStrategy(
+						ChecksumEncodingEnum.SHA256);
+			}
 			return new SHA256LocalChecksumComputerStrategy();
+		} else if (checksumEncodingEnum == ChecksumEncodingEnum.SHA256_TREE) {
+			return new TreeHashLocalChecksumComputerStrategy();
 		} else {
 			throw new ChecksumMethodUnavailableException(
 					"unable to find a checksum encoding method for:"
@@ -46,4 +87,9 @@ LocalChecksumComputerFactory {
 
 	}
 
+	private boolean isReadAhead() {
+		return irodsSession != null
+				&& irodsSession.getJargonProperties().isLocalChecksumReadAhead();
+	}
+
 }
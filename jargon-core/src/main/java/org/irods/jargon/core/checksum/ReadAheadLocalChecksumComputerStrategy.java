@@ -0,0 +1,265 @@
+package org.irods.jargon.core.checksum;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.protovalues.ChecksumEncodingEnum;
+import org.irods.jargon.core.utils.ThreadLocalBufferCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compute an MD5 or SHA256 checksum on a local file, reading the file through
+ * a <code>FileChannel</code> into large direct buffers on a separate thread
+ * while the digest of the data already read is computed. Reading and digesting
+ * then overlap, so a large file takes about as long as the slower of the two,
+ * rather than their sum. Files no larger than two buffers are read and
+ * digested on the calling thread.
+ * <p/>
+ * The checksum is the same as that of
+ * {@link MD5LocalChecksumComputerStrategy} or
+ * {@link SHA256LocalChecksumComputerStrategy}.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class ReadAheadLocalChecksumComputerStrategy extends
+		AbstractChecksumComputeStrategy {
+
+	public static final Logger log = LoggerFactory
+			.getLogger(ReadAheadLocalChecksumComputerStrategy.class);
+
+	/**
+	 * Default size in bytes of each buffer
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 8 * 1024 * 1024;
+
+	/**
+	 * Default number of buffers, which is how far the read can run ahead of
+	 * the digest
+	 */
+	public static final int DEFAULT_READ_AHEAD_BUFFERS = 4;
+
+	/**
+	 * Queued by the reading thread once the file is read
+	 */
+	private static final ByteBuffer END_OF_FILE = ByteBuffer.allocate(0);
+
+	private final ChecksumEncodingEnum checksumEncoding;
+	private final int bufferSize;
+	private final int readAheadBuffers;
+
+	/**
+	 * Create a strategy with the default buffers
+	 *
+	 * @param checksumEncoding
+	 *            {@link ChecksumEncodingEnum} of MD5 or SHA256
+	 * @throws ChecksumMethodUnavailableException
+	 *             if the encoding is not supported
+	 */
+	public ReadAheadLocalChecksumComputerStrategy(
+			final ChecksumEncodingEnum checksumEncoding)
+			throws ChecksumMethodUnavailableException {
+		this(checksumEncoding, DEFAULT_BUFFER_SIZE, DEFAULT_READ_AHEAD_BUFFERS);
+	}
+
+	/**
+	 * Create a strategy with the given buffers
+	 *
+	 * @param checksumEncoding
+	 *            {@link ChecksumEncodingEnum} of MD5 or SHA256
+	 * @param bufferSize
+	 *            <code>int</code> with the size in bytes of each buffer
+	 * @param readAheadBuffers
+	 *            <code>int</code> with the number of buffers, at least 2
+	 * @throws ChecksumMethodUnavailableException
+	 *             if the encoding is not supported
+	 */
+	public ReadAheadLocalChecksumComputerStrategy(
+			final ChecksumEncodingEnum checksumEncoding, final int bufferSize,
+			final int readAheadBuffers)
+			throws ChecksumMethodUnavailableException {
+
+		if (checksumEncoding == null) {
+			throw new IllegalArgumentException("null checksumEncoding");
+		}
+
+		if (bufferSize <= 0) {
+			throw new IllegalArgumentException("bufferSize must be > 0");
+		}
+
+		if (readAheadBuffers < 2) {
+			throw new IllegalArgumentException(
+					"readAheadBuffers must be at least 2");
+		}
+
+		if (checksumEncoding != ChecksumEncodingEnum.MD5
+				&& checksumEncoding != ChecksumEncodingEnum.SHA256) {
+			throw new ChecksumMethodUnavailableException(
+					"unable to compute a read ahead checksum for:"
+							+ checksumEncoding);
+		}
+
+		this.checksumEncoding = checksumEncoding;
+		this.bufferSize = bufferSize;
+		this.readAheadBuffers = readAheadBuffers;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.checksum.AbstractChecksumComputeStrategy#
+	 * computeChecksumValueForLocalFile(java.lang.String)
+	 */
+	@Override
+	public ChecksumValue computeChecksumValueForLocalFile(
+			final String localFileAbsolutePath) throws FileNotFoundException,
+			JargonException {
+
+		log.info("computeChecksumValueForLocalFile()");
+
+		if (localFileAbsolutePath == null || localFileAbsolutePath.isEmpty()) {
+			throw new IllegalArgumentException(
+					"null or empty localFileAbsolutePath");
+		}
+
+		MessageDigest messageDigest = instanceMessageDigest();
+		RandomAccessFile randomAccessFile = new RandomAccessFile(
+				localFileAbsolutePath, "r");
+		try {
+			FileChannel channel = randomAccessFile.getChannel();
+			if (channel.size() <= 2L * bufferSize) {
+				digestOnThisThread(channel, messageDigest);
+			} else {
+				digestWithReadAhead(channel, messageDigest);
+			}
+		} catch (IOException e) {
+			log.error("error reading local file:{}", localFileAbsolutePath, e);
+			throw new JargonException("error computing checksum of:"
+					+ localFileAbsolutePath, e);
+		} finally {
+			try {
+				randomAccessFile.close();
+			} catch (IOException e) {
+				// ignore
+			}
+		}
+
+		return checksumValueFromDigest(checksumEncoding,
+				messageDigest.digest());
+	}
+
+	/**
+	 * @return {@link ChecksumEncodingEnum} of the checksum
+	 */
+	public ChecksumEncodingEnum getChecksumEncoding() {
+		return checksumEncoding;
+	}
+
+	private MessageDigest instanceMessageDigest()
+			throws ChecksumMethodUnavailableException {
+		try {
+			if (checksumEncoding == ChecksumEncodingEnum.MD5) {
+				return MessageDigest.getInstance("MD5");
+			} else {
+				return MessageDigest.getInstance("SHA-256");
+			}
+		} catch (NoSuchAlgorithmException e) {
+			throw new ChecksumMethodUnavailableException(
+					"no message digest available for:" + checksumEncoding, e);
+		}
+	}
+
+	private void digestOnThisThread(final FileChannel channel,
+			final MessageDigest messageDigest) throws IOException {
+		ByteBuffer buffer = ThreadLocalBufferCache.borrowByteBuffer(
+				(int) Math.min(bufferSize, Math.max(1L, channel.size())), true);
+		try {
+			while (channel.read(buffer) >= 0) {
+				buffer.flip();
+				messageDigest.update(buffer);
+				buffer.clear();
+			}
+		} finally {
+			ThreadLocalBufferCache.release(buffer);
+		}
+	}
+
+	/**
+	 * Digest buffers as a reading thread fills them. Filled buffers are
+	 * handed over in file order on one queue, and returned for reuse on
+	 * another.
+	 */
+	private void digestWithReadAhead(final FileChannel channel,
+			final MessageDigest messageDigest) throws IOException,
+			JargonException {
+
+		final BlockingQueue<ByteBuffer> emptyBuffers = new ArrayBlockingQueue<ByteBuffer>(
+				readAheadBuffers);
+		final BlockingQueue<ByteBuffer> filledBuffers = new ArrayBlockingQueue<ByteBuffer>(
+				readAheadBuffers + 1);
+		for (int i = 0; i < readAheadBuffers; i++) {
+			emptyBuffers.add(ByteBuffer.allocateDirect(bufferSize));
+		}
+
+		final IOException[] readFailure = new IOException[1];
+		Thread reader = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					while (true) {
+						ByteBuffer buffer = emptyBuffers.take();
+						buffer.clear();
+						int read = 0;
+						while (buffer.hasRemaining() && read >= 0) {
+							read = channel.read(buffer);
+						}
+						buffer.flip();
+						if (buffer.hasRemaining()) {
+							filledBuffers.put(buffer);
+						}
+						if (read < 0) {
+							break;
+						}
+					}
+				} catch (IOException e) {
+					readFailure[0] = e;
+				} catch (InterruptedException e) {
+					return;
+				}
+				filledBuffers.add(END_OF_FILE);
+			}
+		}, "checksum-read-ahead");
+		reader.setDaemon(true);
+		reader.start();
+
+		try {
+			while (true) {
+				ByteBuffer buffer = filledBuffers.take();
+				if (buffer == END_OF_FILE) {
+					break;
+				}
+				messageDigest.update(buffer);
+				emptyBuffers.put(buffer);
+			}
+			reader.join();
+		} catch (InterruptedException e) {
+			reader.interrupt();
+			Thread.currentThread().interrupt();
+			throw new JargonException("interrupted computing checksum", e);
+		}
+
+		if (readFailure[0] != null) {
+			throw readFailure[0];
+		}
+	}
+
+}
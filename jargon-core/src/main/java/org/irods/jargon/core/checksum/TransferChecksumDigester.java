@@ -0,0 +1,326 @@
+package org.irods.jargon.core.checksum;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.protovalues.ChecksumEncodingEnum;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Computes the checksum of a local file from the data of a transfer as it
+ * passes through, so that verifying the transfer does not need another read of
+ * the file.
+ * <p/>
+ * Digests of parts of a file cannot be combined for MD5 or SHA256, so the data
+ * is digested in order of its position in the file. Data given at the position
+ * the digest has reached is digested at once by the thread that gives it. Data
+ * from further on, as given by the later segments of a parallel transfer, is
+ * held until the digest reaches it, up to a limit in bytes. Data beyond that
+ * limit, and data not given at all, such as ranges sent by the operating system
+ * straight from the file to a socket, is read back from the local file by
+ * {@link #computeChecksumValue()}. The file was just read or written by the
+ * transfer, so that read is usually served from the operating system cache.
+ * <p/>
+ * This class is thread safe.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class TransferChecksumDigester {
+
+	private static final Logger log = LoggerFactory
+			.getLogger(TransferChecksumDigester.class);
+
+	private static final int READ_BACK_BUFFER_SIZE = 1024 * 1024;
+
+	private final ChecksumEncodingEnum checksumEncoding;
+	private final File localFile;
+	private final long length;
+	private final long maxPendingBytes;
+	private final MessageDigest messageDigest;
+
+	/**
+	 * Data given ahead of the digest, by offset in the file
+	 */
+	private final TreeMap<Long, byte[]> pending = new TreeMap<Long, byte[]>();
+	private long pendingBytes = 0L;
+	private long digestedTo = 0L;
+	private long bytesReadBack = 0L;
+	private ChecksumValue checksumValue = null;
+
+	/**
+	 * Can a checksum of the given encoding be computed during a transfer
+	 *
+	 * @param checksumEncoding
+	 *            {@link ChecksumEncodingEnum}
+	 * @return <code>boolean</code> of <code>true</code> for MD5 and SHA256
+	 */
+	public static boolean isSupported(
+			final ChecksumEncodingEnum checksumEncoding) {
+		return checksumEncoding == ChecksumEncodingEnum.MD5
+				|| checksumEncoding == ChecksumEncodingEnum.SHA256;
+	}
+
+	/**
+	 * Create a digester for one transfer of a local file
+	 *
+	 * @param checksumEncoding
+	 *            {@link ChecksumEncodingEnum} of the checksum, MD5 or SHA256
+	 * @param localFile
+	 *            <code>File</code> that is read or written by the transfer
+	 * @param length
+	 *            <code>long</code> with the length of the transfer
+	 * @param maxPendingBytes
+	 *            <code>long</code> with the most bytes held while waiting for
+	 *            earlier parts of the file
+	 * @throws ChecksumMethodUnavailableException
+	 *             if the encoding is not supported
+	 */
+	public TransferChecksumDigester(
+			final ChecksumEncodingEnum checksumEncoding, final File localFile,
+			final long length, final long maxPendingBytes)
+			throws ChecksumMethodUnavailableException {
+
+		if (checksumEncoding == null) {
+			throw new IllegalArgumentException("null checksumEncoding");
+		}
+
+		if (localFile == null) {
+			throw new IllegalArgumentException("null localFile");
+		}
+
+		if (length < 0) {
+			throw new IllegalArgumentException("length < 0");
+		}
+
+		if (maxPendingBytes < 0) {
+			throw new IllegalArgumentException("maxPendingBytes < 0");
+		}
+
+		if (!isSupported(checksumEncoding)) {
+			throw new ChecksumMethodUnavailableException(
+					"unable to compute a checksum during transfer for:"
+							+ checksumEncoding);
+		}
+
+		this.checksumEncoding = checksumEncoding;
+		this.localFile = localFile;
+		this.length = length;
+		this.maxPendingBytes = maxPendingBytes;
+
+		try {
+			if (checksumEncoding == ChecksumEncodingEnum.MD5) {
+				messageDigest = MessageDigest.getInstance("MD5");
+			} else {
+				messageDigest = MessageDigest.getInstance("SHA-256");
+			}
+		} catch (NoSuchAlgorithmException e) {
+			throw new ChecksumMethodUnavailableException(
+					"no message digest available for:" + checksumEncoding, e);
+		}
+	}
+
+	/**
+	 * Give data of the transfer at an offset in the file. Data that has
+	 * already been digested, as when part of a file is sent again, is ignored.
+	 *
+	 * @param offset
+	 *            <code>long</code> with the offset in the file of the data
+	 * @param buffer
+	 *            <code>byte[]</code> holding the data, which may be reused by
+	 *            the caller once this returns
+	 * @param bufferOffset
+	 *            <code>int</code> with the start of the data in the buffer
+	 * @param dataLength
+	 *            <code>int</code> with the length of the data
+	 */
+	public synchronized void update(final long offset, final byte[] buffer,
+			final int bufferOffset, final int dataLength) {
+
+		if (offset < 0) {
+			throw new IllegalArgumentException("offset < 0");
+		}
+
+		if (buffer == null) {
+			throw new IllegalArgumentException("null buffer");
+		}
+
+		if (bufferOffset < 0 || dataLength < 0
+				|| bufferOffset + dataLength > buffer.length) {
+			throw new IllegalArgumentException(
+					"bufferOffset and dataLength out of range of buffer");
+		}
+
+		if (checksumValue != null) {
+			throw new IllegalStateException("checksum already computed");
+		}
+
+		long end = Math.min(length, offset + dataLength);
+		if (end <= digestedTo || end <= offset) {
+			return;
+		}
+
+		if (offset <= digestedTo) {
+			int skip = (int) (digestedTo - offset);
+			messageDigest.update(buffer, bufferOffset + skip,
+					(int) (end - digestedTo));
+			digestedTo = end;
+			digestPending();
+			return;
+		}
+
+		int heldLength = (int) (end - offset);
+		byte[] existing = pending.get(offset);
+		if (existing != null && existing.length >= heldLength) {
+			return;
+		}
+
+		long existingLength = existing == null ? 0L : existing.length;
+		if (pendingBytes - existingLength + heldLength > maxPendingBytes) {
+			log.debug("data at {} will be read back from the local file",
+					offset);
+			return;
+		}
+
+		pending.put(offset, Arrays.copyOfRange(buffer, bufferOffset,
+				bufferOffset + heldLength));
+		pendingBytes += heldLength - existingLength;
+	}
+
+	/**
+	 * Complete the digest, reading back from the local file any data that was
+	 * not given, and return the checksum. Once computed, further calls return
+	 * the same value.
+	 *
+	 * @return {@link ChecksumValue} of the local file
+	 * @throws JargonException
+	 *             if the local file cannot be read back
+	 */
+	public synchronized ChecksumValue computeChecksumValue()
+			throws JargonException {
+
+		if (checksumValue != null) {
+			return checksumValue;
+		}
+
+		digestPending();
+
+		if (digestedTo < length) {
+			readBack();
+		}
+
+		checksumValue = AbstractChecksumComputeStrategy.checksumValueFromDigest(
+				checksumEncoding, messageDigest.digest());
+		pending.clear();
+		pendingBytes = 0L;
+		log.info("checksum computed during transfer:{}", checksumValue);
+		log.info("bytes read back from local file:{}", bytesReadBack);
+		return checksumValue;
+	}
+
+	/**
+	 * @return {@link ChecksumEncodingEnum} of the checksum
+	 */
+	public ChecksumEncodingEnum getChecksumEncoding() {
+		return checksumEncoding;
+	}
+
+	/**
+	 * @return <code>File</code> that is read or written by the transfer
+	 */
+	public File getLocalFile() {
+		return localFile;
+	}
+
+	/**
+	 * @return <code>long</code> with the length of the transfer
+	 */
+	public long getLength() {
+		return length;
+	}
+
+	/**
+	 * @return <code>long</code> with the bytes read back from the local file
+	 *         to complete the checksum
+	 */
+	public synchronized long getBytesReadBack() {
+		return bytesReadBack;
+	}
+
+	/**
+	 * Digest held data that the digest has reached
+	 */
+	private void digestPending() {
+		while (!pending.isEmpty()) {
+			Map.Entry<Long, byte[]> first = pending.firstEntry();
+			long offset = first.getKey();
+			if (offset > digestedTo) {
+				return;
+			}
+
+			byte[] held = first.getValue();
+			pending.pollFirstEntry();
+			pendingBytes -= held.length;
+			long end = offset + held.length;
+			if (end > digestedTo) {
+				int skip = (int) (digestedTo - offset);
+				messageDigest.update(held, skip, held.length - skip);
+				digestedTo = end;
+			}
+		}
+	}
+
+	/**
+	 * Read the gaps between held data from the local file, digesting up to the
+	 * length of the transfer
+	 */
+	private void readBack() throws JargonException {
+		log.info("reading back from {} in local file:{}", digestedTo,
+				localFile);
+		RandomAccessFile randomAccessFile = null;
+		try {
+			randomAccessFile = new RandomAccessFile(localFile, "r");
+			byte[] buffer = new byte[(int) Math.min(READ_BACK_BUFFER_SIZE,
+					length - digestedTo)];
+			while (digestedTo < length) {
+				Long nextHeld = pending.ceilingKey(digestedTo);
+				long readTo = nextHeld == null ? length : nextHeld;
+				randomAccessFile.seek(digestedTo);
+				while (digestedTo < readTo) {
+					int read = randomAccessFile.read(buffer, 0,
+							(int) Math.min(buffer.length, readTo - digestedTo));
+					if (read < 0) {
+						throw new JargonException(
+								"local file is shorter than the transfer:"
+										+ localFile);
+					}
+					messageDigest.update(buffer, 0, read);
+					digestedTo += read;
+					bytesReadBack += read;
+				}
+				digestPending();
+			}
+		} catch (IOException e) {
+			log.error("error reading back local file:{}", localFile, e);
+			throw new JargonException(
+					"unable to read local file to complete checksum", e);
+		} finally {
+			if (randomAccessFile != null) {
+				try {
+					randomAccessFile.close();
+				} catch (IOException e) {
+					// ignore
+				}
+			}
+		}
+	}
+
+}
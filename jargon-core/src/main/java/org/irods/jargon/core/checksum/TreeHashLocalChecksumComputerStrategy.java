@@ -0,0 +1,285 @@
+package org.irods.jargon.core.checksum;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.codec.binary.Base64;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.protovalues.ChecksumEncodingEnum;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compute a SHA256 tree hash of a local file, hashing fixed size leaves of the
+ * file on several threads at once and combining the leaf hashes into a binary
+ * tree. This is a checksum for Jargon's own integrity checks of local files,
+ * and does not match any checksum iRODS computes.
+ * <p/>
+ * A leaf hash is SHA256 of a <code>0x00</code> byte followed by the leaf data.
+ * A node hash is SHA256 of a <code>0x01</code> byte followed by the hashes of
+ * its two children. A node without a sibling moves up to the next level
+ * unchanged. An empty file is a single empty leaf. The result depends on the
+ * leaf size but not on the number of threads.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class TreeHashLocalChecksumComputerStrategy extends
+		AbstractChecksumComputeStrategy {
+
+	public static final Logger log = LoggerFactory
+			.getLogger(TreeHashLocalChecksumComputerStrategy.class);
+
+	/**
+	 * Default size in bytes of each leaf of the tree
+	 */
+	public static final int DEFAULT_LEAF_SIZE = 8 * 1024 * 1024;
+
+	/**
+	 * Prefix of the transmission format of a tree hash
+	 */
+	public static final String TRANSMISSION_PREFIX = "sha2tree:";
+
+	private static final byte LEAF_PREFIX = 0x00;
+	private static final byte NODE_PREFIX = 0x01;
+
+	private final int leafSize;
+	private final int threads;
+
+	/**
+	 * Create a strategy with the default leaf size, hashing on a thread per
+	 * available processor
+	 */
+	public TreeHashLocalChecksumComputerStrategy() {
+		this(DEFAULT_LEAF_SIZE, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Create a strategy with the given leaf size and number of threads
+	 *
+	 * @param leafSize
+	 *            <code>int</code> with the size in bytes of each leaf
+	 * @param threads
+	 *            <code>int</code> with the number of threads that hash leaves
+	 */
+	public TreeHashLocalChecksumComputerStrategy(final int leafSize,
+			final int threads) {
+
+		if (leafSize <= 0) {
+			throw new IllegalArgumentException("leafSize must be > 0");
+		}
+
+		if (threads <= 0) {
+			throw new IllegalArgumentException("threads must be > 0");
+		}
+
+		this.leafSize = leafSize;
+		this.threads = threads;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.checksum.AbstractChecksumComputeStrategy#
+	 * computeChecksumValueForLocalFile(java.lang.String)
+	 */
+	@Override
+	public ChecksumValue computeChecksumValueForLocalFile(
+			final String localFileAbsolutePath) throws FileNotFoundException,
+			JargonException {
+
+		log.info("computeChecksumValueForLocalFile()");
+
+		if (localFileAbsolutePath == null || localFileAbsolutePath.isEmpty()) {
+			throw new IllegalArgumentException(
+					"null or empty localFileAbsolutePath");
+		}
+
+		RandomAccessFile randomAccessFile = new RandomAccessFile(
+				localFileAbsolutePath, "r");
+		byte[][] leafHashes;
+		try {
+			FileChannel channel = randomAccessFile.getChannel();
+			long length = channel.size();
+			long leafCount = length == 0 ? 1 : (length + leafSize - 1)
+					/ leafSize;
+			if (leafCount > Integer.MAX_VALUE) {
+				throw new JargonException("too many leaves for file:"
+						+ localFileAbsolutePath);
+			}
+			leafHashes = new byte[(int) leafCount][];
+			hashLeaves(channel, length, leafHashes);
+		} catch (IOException e) {
+			log.error("error reading local file:{}", localFileAbsolutePath, e);
+			throw new JargonException("error computing checksum of:"
+					+ localFileAbsolutePath, e);
+		} finally {
+			try {
+				randomAccessFile.close();
+			} catch (IOException e) {
+				// ignore
+			}
+		}
+
+		ChecksumValue value = new ChecksumValue();
+		value.setChecksumEncoding(ChecksumEncodingEnum.SHA256_TREE);
+		value.setChecksumStringValue(Base64.encodeBase64String(
+				rootHash(leafHashes)).trim());
+		value.setChecksumTransmissionFormat(TRANSMISSION_PREFIX
+				+ value.getChecksumStringValue());
+		return value;
+	}
+
+	/**
+	 * @return <code>int</code> with the size in bytes of each leaf
+	 */
+	public int getLeafSize() {
+		return leafSize;
+	}
+
+	/**
+	 * @return <code>int</code> with the number of threads that hash leaves
+	 */
+	public int getThreads() {
+		return threads;
+	}
+
+	/**
+	 * Hash the leaves, each thread taking the next leaf not yet taken and
+	 * reading it at its own position in the channel
+	 */
+	private void hashLeaves(final FileChannel channel, final long length,
+			final byte[][] leafHashes) throws IOException, JargonException {
+
+		final AtomicLong nextLeaf = new AtomicLong();
+		final Exception[] failure = new Exception[1];
+		int threadCount = Math.min(threads, leafHashes.length);
+
+		Runnable worker = new Runnable() {
+			@Override
+			public void run() {
+				try {
+					MessageDigest messageDigest = instanceMessageDigest();
+					ByteBuffer buffer = ByteBuffer.allocateDirect((int) Math
+							.min(leafSize, Math.max(1L, length)));
+					long leaf;
+					while ((leaf = nextLeaf.getAndIncrement()) < leafHashes.length) {
+						synchronized (failure) {
+							if (failure[0] != null) {
+								return;
+							}
+						}
+						leafHashes[(int) leaf] = hashLeaf(channel, length,
+								leaf, buffer, messageDigest);
+					}
+				} catch (Exception e) {
+					synchronized (failure) {
+						if (failure[0] == null) {
+							failure[0] = e;
+						}
+					}
+				}
+			}
+		};
+
+		List<Thread> workers = new ArrayList<Thread>();
+		for (int i = 1; i < threadCount; i++) {
+			Thread thread = new Thread(worker, "checksum-tree-hash-" + i);
+			thread.setDaemon(true);
+			thread.start();
+			workers.add(thread);
+		}
+
+		worker.run();
+
+		try {
+			for (Thread thread : workers) {
+				thread.join();
+			}
+		} catch (InterruptedException e) {
+			for (Thread thread : workers) {
+				thread.interrupt();
+			}
+			Thread.currentThread().interrupt();
+			throw new JargonException("interrupted computing checksum", e);
+		}
+
+		synchronized (failure) {
+			if (failure[0] instanceof IOException) {
+				throw (IOException) failure[0];
+			} else if (failure[0] instanceof JargonException) {
+				throw (JargonException) failure[0];
+			} else if (failure[0] != null) {
+				throw new JargonException("error computing checksum",
+						failure[0]);
+			}
+		}
+	}
+
+	private byte[] hashLeaf(final FileChannel channel, final long length,
+			final long leaf, final ByteBuffer buffer,
+			final MessageDigest messageDigest) throws IOException {
+		long position = leaf * leafSize;
+		long end = Math.min(length, position + leafSize);
+		messageDigest.reset();
+		messageDigest.update(LEAF_PREFIX);
+		while (position < end) {
+			buffer.clear();
+			buffer.limit((int) Math.min(buffer.capacity(), end - position));
+			int read = channel.read(buffer, position);
+			if (read < 0) {
+				throw new IOException("file shorter than expected at:"
+						+ position);
+			}
+			buffer.flip();
+			messageDigest.update(buffer);
+			position += read;
+		}
+		return messageDigest.digest();
+	}
+
+	/**
+	 * Combine the leaf hashes a level at a time up to the root
+	 */
+	private byte[] rootHash(final byte[][] leafHashes)
+			throws ChecksumMethodUnavailableException {
+		MessageDigest messageDigest = instanceMessageDigest();
+		byte[][] level = leafHashes;
+		while (level.length > 1) {
+			byte[][] parents = new byte[(level.length + 1) / 2][];
+			for (int i = 0; i < parents.length; i++) {
+				int left = 2 * i;
+				if (left + 1 == level.length) {
+					parents[i] = level[left];
+				} else {
+					messageDigest.reset();
+					messageDigest.update(NODE_PREFIX);
+					messageDigest.update(level[left]);
+					messageDigest.update(level[left + 1]);
+					parents[i] = messageDigest.digest();
+				}
+			}
+			level = parents;
+		}
+		return level[0];
+	}
+
+	private MessageDigest instanceMessageDigest()
+			throws ChecksumMethodUnavailableException {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new ChecksumMethodUnavailableException(
+					"no message digest available for SHA-256", e);
+		}
+	}
+
+}
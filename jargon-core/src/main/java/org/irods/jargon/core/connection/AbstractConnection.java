@@ -13,6 +13,7 @@ import java.nio.channels.ClosedChannelException;
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.utils.Host;
 import org.irods.jargon.core.utils.LocalFileUtils;
+import org.irods.jargon.core.utils.ThreadLocalBufferCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -61,6 +62,11 @@ public abstract class AbstractConnection {
 	 * Holds the offset into the outputBuffer array for adding new data.
 	 */
 	private int outputOffset = 0;
+	/**
+	 * Reused to send ints in network order, the bytes are copied or written
+	 * before the send returns
+	 */
+	private final byte[] intBuffer = new byte[INT_LENGTH];
 
 	/**
 	 * Configured negotation policy, either from jargon default properties, or
@@ -306,20 +312,7 @@ public abstract class AbstractConnection {
 				return;
 			}
 
-			if (pipelineConfiguration.getInternalCacheBufferSize() <= 0) {
-				irodsOutputStream.write(value);
-			} else if ((value.length + outputOffset) >= pipelineConfiguration.getInternalCacheBufferSize()) {
-				// in cases where OUTPUT_BUFFER_LENGTH isn't big enough
-				irodsOutputStream.write(outputBuffer, 0, outputOffset);
-				irodsOutputStream.write(value);
-				outputOffset = 0;
-			} else {
-
-				// the message sent isn't longer than OUTPUT_BUFFER_LENGTH
-				System.arraycopy(value, 0, outputBuffer, outputOffset, value.length);
-				outputOffset += value.length;
-
-			}
+			write(value, 0, value.length);
 		} catch (IOException ioe) {
 			getIrodsSession().discardSessionForErrors(getIrodsAccount());
 			log.error("ioException in send", ioe);
@@ -327,10 +320,30 @@ public abstract class AbstractConnection {
 		}
 	}
 
+	/**
+	 * Write the given range of the array to the output stream, or to the
+	 * internal cache buffer if one is configured, without copying it first
+	 */
+	private void write(final byte[] value, final int offset, final int length) throws IOException {
+		if (pipelineConfiguration.getInternalCacheBufferSize() <= 0) {
+			irodsOutputStream.write(value, offset, length);
+		} else if ((length + outputOffset) >= pipelineConfiguration.getInternalCacheBufferSize()) {
+			// in cases where OUTPUT_BUFFER_LENGTH isn't big enough
+			irodsOutputStream.write(outputBuffer, 0, outputOffset);
+			irodsOutputStream.write(value, offset, length);
+			outputOffset = 0;
+		} else {
+
+			// the message sent isn't longer than OUTPUT_BUFFER_LENGTH
+			System.arraycopy(value, offset, outputBuffer, outputOffset, length);
+			outputOffset += length;
+
+		}
+	}
+
 	/**
 	 * Writes a certain length of bytes at some offset in the value array to the
-	 * output stream, by converting the value to a byte array and calling send(
-	 * byte[] value ).
+	 * output stream, without copying the range into an intermediate array.
 	 *
 	 * @param value
 	 *            value to be sent
@@ -367,11 +380,19 @@ public abstract class AbstractConnection {
 			throw new IllegalArgumentException(err);
 		}
 
-		byte temp[] = new byte[length];
-
-		System.arraycopy(value, offset, temp, 0, length);
+		if (offset + length > value.length) {
+			String err = "trying to send a byte buffer with a length that is out of range";
+			log.error(err);
+			throw new IllegalArgumentException(err);
+		}
 
-		send(temp);
+		try {
+			write(value, offset, length);
+		} catch (IOException ioe) {
+			getIrodsSession().discardSessionForErrors(getIrodsAccount());
+			log.error("ioException in send", ioe);
+			throw ioe;
+		}
 	}
 
 	/**
@@ -401,11 +422,11 @@ public abstract class AbstractConnection {
 	 *             If an IOException occurs
 	 */
 	protected void sendInNetworkOrder(final int value) throws IOException {
-		byte bytes[] = new byte[INT_LENGTH];
-
-		Host.copyInt(value, bytes);
-		log.debug("send bytes:{}", LocalFileUtils.digestByteArrayToString(bytes));
-		send(bytes);
+		Host.copyInt(value, intBuffer);
+		if (log.isDebugEnabled()) {
+			log.debug("send bytes:{}", LocalFileUtils.digestByteArrayToString(intBuffer));
+		}
+		send(intBuffer);
 	}
 
 	/**
@@ -454,39 +475,39 @@ public abstract class AbstractConnection {
 		}
 
 		int lenThisRead = 0;
-		long lenOfTemp = Math.min(pipelineConfiguration.getInputToOutputCopyBufferByteSize(), length);
+		int lenOfTemp = (int) Math.min(pipelineConfiguration.getInputToOutputCopyBufferByteSize(), length);
 		long dataSent = 0;
 
-		byte[] temp = new byte[(int) lenOfTemp];
-
-		while (length > 0) {
+		byte[] temp = ThreadLocalBufferCache.borrow(lenOfTemp);
+		try {
+			while (length > 0) {
 
-			if (Thread.interrupted()) {
-				throw new IOException(
+				if (Thread.interrupted()) {
+					throw new IOException(
 
-						"interrupted, consider connection corrupted and return IOException to clear");
-			}
+							"interrupted, consider connection corrupted and return IOException to clear");
+				}
 
-			if (temp.length > length) {
-				temp = new byte[(int) length];
-			}
-			lenThisRead = source.read(temp);
+				lenThisRead = source.read(temp, 0, (int) Math.min(lenOfTemp, length));
 
-			if (lenThisRead == -1) {
-				log.info("done with stream");
-				break;
-			}
+				if (lenThisRead == -1) {
+					log.info("done with stream");
+					break;
+				}
 
-			length -= lenThisRead;
-			dataSent += lenThisRead;
-			send(temp, 0, lenThisRead);
-			/*
-			 * If a listener is specified, send call-backs with progress
-			 */
-			if (connectionProgressStatusListener != null) {
-				connectionProgressStatusListener
-						.connectionProgressStatusCallback(ConnectionProgressStatus.instanceForSend(lenThisRead));
+				length -= lenThisRead;
+				dataSent += lenThisRead;
+				send(temp, 0, lenThisRead);
+				/*
+				 * If a listener is specified, send call-backs with progress
+				 */
+				if (connectionProgressStatusListener != null) {
+					connectionProgressStatusListener
+							.connectionProgressStatusCallback(ConnectionProgressStatus.instanceForSend(lenThisRead));
+				}
 			}
+		} finally {
+			ThreadLocalBufferCache.release(temp);
 		}
 
 		log.debug("final flush of data sent");
@@ -586,8 +607,9 @@ public abstract class AbstractConnection {
 		}
 
 		BufferedOutputStream bos = new BufferedOutputStream(destination);
+		int lenOfTemp = (int) Math.min(pipelineConfiguration.getInputToOutputCopyBufferByteSize(), length);
+		byte[] temp = ThreadLocalBufferCache.borrow(lenOfTemp);
 		try {
-			byte[] temp = new byte[Math.min(pipelineConfiguration.getInputToOutputCopyBufferByteSize(), (int) length)];
 
 			int n = 0;
 			while (length > 0) {
@@ -599,7 +621,7 @@ public abstract class AbstractConnection {
 							"interrupted, consider connection corrupted and return IOException to clear");
 				}
 
-				n = read(temp, 0, Math.min(pipelineConfiguration.getInputToOutputCopyBufferByteSize(), (int) length));
+				n = read(temp, 0, (int) Math.min(lenOfTemp, length));
 
 				if (n > 0) {
 					length -= n;
@@ -619,6 +641,7 @@ public abstract class AbstractConnection {
 			bos.flush();
 
 		} finally {
+			ThreadLocalBufferCache.release(temp);
 			try {
 				bos.close();
 			} catch (Exception e) {
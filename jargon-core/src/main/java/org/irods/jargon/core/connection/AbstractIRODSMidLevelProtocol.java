@@ -6,11 +6,16 @@ import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.irods.jargon.core.connection.auth.AuthResponse;
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.packinstr.AbstractIRODSPackingInstruction;
 import org.irods.jargon.core.packinstr.IRodsPI;
+import org.irods.jargon.core.packinstr.PackingInstructionReader;
+import org.irods.jargon.core.packinstr.PackingInstructionWriter;
 import org.irods.jargon.core.packinstr.RErrMsg;
 import org.irods.jargon.core.packinstr.Tag;
 import org.irods.jargon.core.protovalues.ErrorEnum;
@@ -38,6 +43,11 @@ public abstract class AbstractIRODSMidLevelProtocol {
 	public static final int EIRODS_MIN = 301;
 	public static final int EIRODS_MAX = 301;
 
+	private static final String MSG_LEN = "msgLen";
+	private static final String ERROR_LEN = "errorLen";
+	private static final String BS_LEN = "bsLen";
+	private static final String INT_INFO = "intInfo";
+
 	private Logger log = LoggerFactory.getLogger(AbstractIRODSMidLevelProtocol.class);
 
 	/**
@@ -50,6 +60,18 @@ public abstract class AbstractIRODSMidLevelProtocol {
 	 */
 	private AuthResponse authResponse = null;
 
+	/**
+	 * Reusable buffer that packing instructions are serialized into when
+	 * direct serialization is configured, lazily created per connection
+	 */
+	private PackingInstructionWriter packingInstructionWriter = null;
+
+	/**
+	 * Set if the configured encoding cannot be serialized directly, in which
+	 * case packing instructions are always sent as a <code>String</code>
+	 */
+	private boolean directSerializationUnavailable = false;
+
 	/**
 	 * This account will represent the account information used for the actual
 	 * connection, as specified when the user originally logged in. This is
@@ -58,6 +80,13 @@ public abstract class AbstractIRODSMidLevelProtocol {
 	 */
 	private IRODSAccount irodsAccount;
 
+	/**
+	 * Guards all i/o with the agent. A lock is used instead of
+	 * <code>synchronized</code> methods so that a thread blocked on the socket
+	 * does not hold a monitor, which would pin the carrier of a virtual thread.
+	 */
+	private final ReentrantLock protocolLock = new ReentrantLock();
+
 	/**
 	 * Create a base instance of the mid level protocol, which may be processed
 	 * through multiple phases before being ready for use.
@@ -93,6 +122,16 @@ public abstract class AbstractIRODSMidLevelProtocol {
 
 	}
 
+	/**
+	 * Get the lock that guards i/o with the agent, for use by subclasses that
+	 * send or receive protocol messages
+	 *
+	 * @return {@link ReentrantLock}
+	 */
+	ReentrantLock getProtocolLock() {
+		return protocolLock;
+	}
+
 	synchronized boolean isForceSslFlush() {
 		return forceSslFlush;
 	}
@@ -169,9 +208,14 @@ public abstract class AbstractIRODSMidLevelProtocol {
 	 * @return {@link Tag} with the iRODS protocol response
 	 * @throws JargonException
 	 */
-	public synchronized Tag irodsFunction(final String type, final String message, final int intInfo)
+	public Tag irodsFunction(final String type, final String message, final int intInfo)
 			throws JargonException {
-		return irodsFunction(type, message, null, 0, 0, null, 0, 0, intInfo);
+		protocolLock.lock();
+		try {
+			return irodsFunction(type, message, null, 0, 0, null, 0, 0, intInfo);
+		} finally {
+			protocolLock.unlock();
+		}
 	}
 
 	/**
@@ -241,53 +285,62 @@ public abstract class AbstractIRODSMidLevelProtocol {
 	 *         will send the appropriate operation complete messages
 	 * @throws JargonException
 	 */
-	public synchronized long irodsFunctionForStreamingToIRODSInFrames(final IRodsPI irodsPI, final int byteStreamLength,
+	public long irodsFunctionForStreamingToIRODSInFrames(final IRodsPI irodsPI, final int byteStreamLength,
 			final InputStream byteStream, final ConnectionProgressStatusListener connectionProgressStatusListener)
 			throws JargonException {
+		protocolLock.lock();
+		try {
+			if (irodsPI == null) {
+				throw new IllegalArgumentException("null irodsPI");
+			}
 
-		if (irodsPI == null) {
-			throw new IllegalArgumentException("null irodsPI");
-		}
+			if (byteStream == null) {
+				throw new IllegalArgumentException("null byteStream");
+			}
 
-		if (byteStream == null) {
-			throw new IllegalArgumentException("null byteStream");
-		}
+			log.debug("calling irodsFunctionForStreamingToIRODSInFrames");
+			log.debug("calling irods function with:{}", irodsPI);
+			log.debug("api number is:{}", irodsPI.getApiNumber());
 
-		log.debug("calling irodsFunctionForStreamingToIRODSInFrames");
-		log.debug("calling irods function with:{}", irodsPI);
-		log.debug("api number is:{}", irodsPI.getApiNumber());
+			long dataSent = 0;
 
-		long dataSent = 0;
+			try {
+				if (isDirectSerialization(irodsPI)) {
+					sendDirectlySerialized(IRODSConstants.RODS_API_REQ, (AbstractIRODSPackingInstruction) irodsPI, 0,
+							byteStreamLength, false);
+				} else {
+					int length = 0;
+					String message = irodsPI.getParsedTags();
+					if (message != null) {
+						length = message.getBytes(irodsConnection.getPipelineConfiguration().getDefaultEncoding()).length;
+					}
+					sendHeader(IRODSConstants.RODS_API_REQ, length, 0, byteStreamLength, irodsPI.getApiNumber());
+					irodsConnection.send(message);
+				}
 
-		try {
-			int length = 0;
-			String message = irodsPI.getParsedTags();
-			if (message != null) {
-				length = message.getBytes(irodsConnection.getPipelineConfiguration().getDefaultEncoding()).length;
-			}
-			sendHeader(IRODSConstants.RODS_API_REQ, length, 0, byteStreamLength, irodsPI.getApiNumber());
-			irodsConnection.send(message);
+				if (byteStreamLength > 0) {
+					dataSent += irodsConnection.send(byteStream, byteStreamLength, connectionProgressStatusListener);
+					// do not close stream, it may be sent again in a subsequent
+					// call, and will maintain its internal pointer
+				}
 
-			if (byteStreamLength > 0) {
-				dataSent += irodsConnection.send(byteStream, byteStreamLength, connectionProgressStatusListener);
-				// do not close stream, it may be sent again in a subsequent
-				// call, and will maintain its internal pointer
+			} catch (UnsupportedEncodingException e) {
+				log.error("unsupported encoding", e);
+				throw new JargonException(e);
+			} catch (IOException e) {
+				log.error("ioexception", e);
+				disconnectWithForce();
+				throw new JargonException(e);
 			}
 
-		} catch (UnsupportedEncodingException e) {
-			log.error("unsupported encoding", e);
-			throw new JargonException(e);
-		} catch (IOException e) {
-			log.error("ioexception", e);
-			disconnectWithForce();
-			throw new JargonException(e);
+			log.debug("reading message from frame send...");
+			log.debug("read commented out");
+			readMessage();
+			log.debug("message read");
+			return dataSent;
+		} finally {
+			protocolLock.unlock();
 		}
-
-		log.debug("reading message from frame send...");
-		log.debug("read commented out");
-		readMessage();
-		log.debug("message read");
-		return dataSent;
 	}
 
 	/**
@@ -333,104 +386,135 @@ public abstract class AbstractIRODSMidLevelProtocol {
 	 * @return <code>long</code> with total bytes sent.
 	 * @throws JargonException
 	 */
-	public synchronized Tag irodsFunctionIncludingAllDataInStream(final IRodsPI irodsPI, final long byteStreamLength,
+	public Tag irodsFunctionIncludingAllDataInStream(final IRodsPI irodsPI, final long byteStreamLength,
 			final InputStream byteStream, final ConnectionProgressStatusListener connectionProgressStatusListener)
 			throws JargonException {
+		protocolLock.lock();
+		try {
+			if (irodsPI == null) {
+				throw new IllegalArgumentException("null irodsPI");
+			}
 
-		if (irodsPI == null) {
-			throw new IllegalArgumentException("null irodsPI");
-		}
+			if (byteStream == null) {
+				throw new IllegalArgumentException("null byteStream");
+			}
 
-		if (byteStream == null) {
-			throw new IllegalArgumentException("null byteStream");
-		}
+			log.debug("calling irods function with streams");
+			log.debug("calling irods function with:{}", irodsPI);
+			log.debug("api number is:{}", irodsPI.getApiNumber());
 
-		log.debug("calling irods function with streams");
-		log.debug("calling irods function with:{}", irodsPI);
-		log.debug("api number is:{}", irodsPI.getApiNumber());
+			try {
+				if (isDirectSerialization(irodsPI)) {
+					sendDirectlySerialized(IRODSConstants.RODS_API_REQ, (AbstractIRODSPackingInstruction) irodsPI, 0,
+							byteStreamLength, false);
+				} else {
+					int length = 0;
+					String message = irodsPI.getParsedTags();
+					if (message != null) {
+						length = message.getBytes(getEncoding()).length;
+					}
 
-		try {
-			int length = 0;
-			String message = irodsPI.getParsedTags();
-			if (message != null) {
-				length = message.getBytes(getEncoding()).length;
-			}
+					log.debug("message:{}", message);
 
-			log.debug("message:{}", message);
+					sendHeader(IRODSConstants.RODS_API_REQ, length, 0, byteStreamLength, irodsPI.getApiNumber());
+					irodsConnection.send(message);
+				}
 
-			sendHeader(IRODSConstants.RODS_API_REQ, length, 0, byteStreamLength, irodsPI.getApiNumber());
-			irodsConnection.send(message);
+				if (byteStreamLength > 0) {
+					irodsConnection.send(byteStream, byteStreamLength, connectionProgressStatusListener);
+					byteStream.close();
+				} else {
+					log.debug("no byte stream data, so flush output");
+					irodsConnection.flush();
+				}
 
-			if (byteStreamLength > 0) {
-				irodsConnection.send(byteStream, byteStreamLength, connectionProgressStatusListener);
-				byteStream.close();
-			} else {
-				log.debug("no byte stream data, so flush output");
-				irodsConnection.flush();
-			}
+			} catch (UnsupportedEncodingException e) {
+				log.error("unsupported encoding", e);
+				throw new JargonException(e);
+			} catch (IOException e) {
+				log.error("ioexception", e);
+				disconnectWithForce();
 
-		} catch (UnsupportedEncodingException e) {
-			log.error("unsupported encoding", e);
-			throw new JargonException(e);
-		} catch (IOException e) {
-			log.error("ioexception", e);
-			disconnectWithForce();
+				throw new JargonException(e);
+			}
 
-			throw new JargonException(e);
+			log.debug("data sent, getting response");
+			return readMessage();
+		} finally {
+			protocolLock.unlock();
 		}
-
-		log.debug("data sent, getting response");
-		return readMessage();
 	}
 
 	/**
 	 * Create an iRODS message Tag, including header. Send the bytes of the byte
 	 * array, no error stream.
 	 */
-	public synchronized Tag irodsFunction(final IRodsPI irodsPI, final byte[] errorStream, final int errorOffset,
+	public Tag irodsFunction(final IRodsPI irodsPI, final byte[] errorStream, final int errorOffset,
 			final int errorLength, final byte[] bytes, final int byteOffset, final int byteStreamLength)
 			throws JargonException {
+		protocolLock.lock();
+		try {
+			if (irodsPI == null) {
+				String err = "null irodsPI";
+				log.error(err);
+				throw new IllegalArgumentException(err);
+			}
 
-		if (irodsPI == null) {
-			String err = "null irodsPI";
-			log.error(err);
-			throw new IllegalArgumentException(err);
-		}
+			if (isDirectSerialization(irodsPI)) {
+				try {
+					sendDirectlySerialized(IRODSConstants.RODS_API_REQ, (AbstractIRODSPackingInstruction) irodsPI,
+							errorLength, byteStreamLength, true);
 
-		String out = irodsPI.getParsedTags();
+					if (byteStreamLength > 0) {
+						irodsConnection.send(bytes, byteOffset, byteStreamLength);
+					}
 
-		if (out == null || out.length() == 0) {
-			String err = "null or missing message returned from parse";
-			log.error(err);
-			throw new IllegalArgumentException(err);
-		}
+					irodsConnection.flush();
+					return readMessage();
+				} catch (IOException e) {
+					log.error("io exception sending irods command", e);
+					disconnectWithForce();
+					throw new JargonException(e);
+				}
+			}
 
-		if (log.isDebugEnabled()) {
-			log.debug(out);
-		}
+			String out = irodsPI.getParsedTags();
 
-		try {
-			sendHeader(IRODSConstants.RODS_API_REQ, out.getBytes(getEncoding()).length, errorLength, byteStreamLength,
-					irodsPI.getApiNumber());
-			irodsConnection.send(out);
+			if (out == null || out.length() == 0) {
+				String err = "null or missing message returned from parse";
+				log.error(err);
+				throw new IllegalArgumentException(err);
+			}
 
-			if (byteStreamLength > 0) {
-				irodsConnection.send(bytes, byteOffset, byteStreamLength);
+			if (log.isDebugEnabled()) {
+				log.debug(out);
 			}
 
-			irodsConnection.flush();
-			return readMessage();
+			try {
+				sendHeader(IRODSConstants.RODS_API_REQ, out.getBytes(getEncoding()).length, errorLength, byteStreamLength,
+						irodsPI.getApiNumber());
+				irodsConnection.send(out);
 
-		} catch (UnsupportedEncodingException e) {
-			log.error("unsupported encoding", e);
-			throw new JargonException(e);
-		} catch (IOException e) {
-			log.error("io exception sending irods command", e);
-			disconnectWithForce();
+				if (byteStreamLength > 0) {
+					irodsConnection.send(bytes, byteOffset, byteStreamLength);
+				}
 
-			throw new JargonException(e);
-		}
+				irodsConnection.flush();
+				return readMessage();
+
+			} catch (UnsupportedEncodingException e) {
+				log.error("unsupported encoding", e);
+				throw new JargonException(e);
+			} catch (IOException e) {
+				log.error("io exception sending irods command", e);
+				disconnectWithForce();
 
+				throw new JargonException(e);
+			}
+
+		} finally {
+			protocolLock.unlock();
+		}
 	}
 
 	/**
@@ -448,29 +532,33 @@ public abstract class AbstractIRODSMidLevelProtocol {
 	 * @return <code>int</code>
 	 * @throws JargonException
 	 */
-	public synchronized int read(final byte[] value, final int offset, final int length) throws JargonException {
-
-		if (value == null || value.length == 0) {
-			throw new JargonException("null or empty value");
-		}
+	public int read(final byte[] value, final int offset, final int length) throws JargonException {
+		protocolLock.lock();
+		try {
+			if (value == null || value.length == 0) {
+				throw new JargonException("null or empty value");
+			}
 
-		if (offset < 0 || offset > value.length) {
-			throw new JargonException("offset out of range");
-		}
+			if (offset < 0 || offset > value.length) {
+				throw new JargonException("offset out of range");
+			}
 
-		if (length <= 0 || length > value.length) {
-			throw new JargonException("length out of range");
-		}
+			if (length <= 0 || length > value.length) {
+				throw new JargonException("length out of range");
+			}
 
-		try {
-			return irodsConnection.read(value, offset, length);
-		} catch (UnsupportedEncodingException e) {
-			log.error("unsupported encoding", e);
-			throw new JargonException(e);
-		} catch (IOException e) {
-			log.error("io exception sending irods command", e);
-			disconnectWithForce();
-			throw new JargonException(e);
+			try {
+				return irodsConnection.read(value, offset, length);
+			} catch (UnsupportedEncodingException e) {
+				log.error("unsupported encoding", e);
+				throw new JargonException(e);
+			} catch (IOException e) {
+				log.error("io exception sending irods command", e);
+				disconnectWithForce();
+				throw new JargonException(e);
+			}
+		} finally {
+			protocolLock.unlock();
 		}
 	}
 
@@ -487,9 +575,13 @@ public abstract class AbstractIRODSMidLevelProtocol {
 	 *            <code>long</code> length of data to be read and written out.
 	 * @throws JargonException
 	 */
-	public synchronized void read(final OutputStream destination, final long length) throws JargonException {
-
-		read(destination, length, null);
+	public void read(final OutputStream destination, final long length) throws JargonException {
+		protocolLock.lock();
+		try {
+			read(destination, length, null);
+		} finally {
+			protocolLock.unlock();
+		}
 	}
 
 	/**
@@ -510,26 +602,30 @@ public abstract class AbstractIRODSMidLevelProtocol {
 	 *            progress with a small peformance penalty.
 	 * @throws JargonException
 	 */
-	public synchronized void read(final OutputStream destination, final long length,
+	public void read(final OutputStream destination, final long length,
 			final ConnectionProgressStatusListener intraFileStatusListener) throws JargonException {
+		protocolLock.lock();
+		try {
+			if (length <= 0) {
+				throw new JargonException("length out of range");
+			}
 
-		if (length <= 0) {
-			throw new JargonException("length out of range");
-		}
-
-		if (destination == null) {
-			throw new JargonException("destination is null");
-		}
+			if (destination == null) {
+				throw new JargonException("destination is null");
+			}
 
-		try {
-			irodsConnection.read(destination, length, intraFileStatusListener);
-		} catch (UnsupportedEncodingException e) {
-			log.error("unsupported encoding", e);
-			throw new JargonException(e);
-		} catch (IOException e) {
-			log.error("io exception sending irods command", e);
-			disconnectWithForce();
-			throw new JargonException(e);
+			try {
+				irodsConnection.read(destination, length, intraFileStatusListener);
+			} catch (UnsupportedEncodingException e) {
+				log.error("unsupported encoding", e);
+				throw new JargonException(e);
+			} catch (IOException e) {
+				log.error("io exception sending irods command", e);
+				disconnectWithForce();
+				throw new JargonException(e);
+			}
+		} finally {
+			protocolLock.unlock();
 		}
 	}
 
@@ -538,15 +634,24 @@ public abstract class AbstractIRODSMidLevelProtocol {
 	 * suitable for operations that do not require error or binary streams, and
 	 * will set up empty streams for the method call.
 	 */
-	public synchronized Tag irodsFunction(final IRodsPI irodsPI) throws JargonException {
+	public Tag irodsFunction(final IRodsPI irodsPI) throws JargonException {
+		protocolLock.lock();
+		try {
+			if (irodsPI == null) {
+				String err = "null irodsPI";
+				log.error(err);
+				throw new IllegalArgumentException(err);
+			}
 
-		if (irodsPI == null) {
-			String err = "null irodsPI";
-			log.error(err);
-			throw new IllegalArgumentException(err);
-		}
+			if (isDirectSerialization(irodsPI)) {
+				return irodsFunctionDirectlySerialized(IRODSConstants.RODS_API_REQ,
+						(AbstractIRODSPackingInstruction) irodsPI);
+			}
 
-		return irodsFunction(IRODSConstants.RODS_API_REQ, irodsPI.getParsedTags(), irodsPI.getApiNumber());
+			return irodsFunction(IRODSConstants.RODS_API_REQ, irodsPI.getParsedTags(), irodsPI.getApiNumber());
+		} finally {
+			protocolLock.unlock();
+		}
 	}
 
 	/**
@@ -555,15 +660,266 @@ public abstract class AbstractIRODSMidLevelProtocol {
 	 * error or binary streams, and will set up empty streams for the method
 	 * call.
 	 */
-	public synchronized Tag irodsFunctionForNegotiation(final IRodsPI irodsPI) throws JargonException {
+	public Tag irodsFunctionForNegotiation(final IRodsPI irodsPI) throws JargonException {
+		protocolLock.lock();
+		try {
+			if (irodsPI == null) {
+				String err = "null irodsPI";
+				log.error(err);
+				throw new IllegalArgumentException(err);
+			}
+
+			if (isDirectSerialization(irodsPI)) {
+				return irodsFunctionDirectlySerialized(IRODSConstants.RODS_NEG_REQ,
+						(AbstractIRODSPackingInstruction) irodsPI);
+			}
+
+			return irodsFunction(IRODSConstants.RODS_NEG_REQ, irodsPI.getParsedTags(), irodsPI.getApiNumber());
+		} finally {
+			protocolLock.unlock();
+		}
+	}
+
+	/**
+	 * Send a batch of independent iRODS API requests, writing them to the
+	 * connection back to back and then reading the replies in order, rather
+	 * than waiting for each reply before sending the next request. At most
+	 * {@link PipelineConfiguration#getPipelinedRequestWindowSize()} requests
+	 * are written before their replies are read.
+	 * <p/>
+	 * Requests must be of the kind sent by {@link #irodsFunction(IRodsPI)}:
+	 * no accompanying error or binary data, a single reply, and no binary data
+	 * in the reply. iRODS errors are mapped to exceptions by the
+	 * {@link IRODSErrorScanner} and returned in the
+	 * {@link PipelinedResponse} for that request, so one failing request does
+	 * not affect the others. Errors in the connection itself are thrown, and
+	 * the connection is discarded.
+	 *
+	 * @param irodsPIs
+	 *            <code>List</code> of {@link IRodsPI} to send, in order
+	 * @return <code>List</code> of {@link PipelinedResponse} in the same order
+	 *         as the requests
+	 * @throws JargonException
+	 */
+	public List<PipelinedResponse> irodsFunctionPipelined(final List<? extends IRodsPI> irodsPIs)
+			throws JargonException {
+		protocolLock.lock();
+		try {
+			if (irodsPIs == null) {
+				String err = "null irodsPIs";
+				log.error(err);
+				throw new IllegalArgumentException(err);
+			}
+
+			for (IRodsPI irodsPI : irodsPIs) {
+				if (irodsPI == null) {
+					String err = "null irodsPI in batch";
+					log.error(err);
+					throw new IllegalArgumentException(err);
+				}
+			}
+
+			log.debug("irodsFunctionPipelined() for {} requests", irodsPIs.size());
+
+			int windowSize = Math.max(1, getPipelineConfiguration().getPipelinedRequestWindowSize());
+			List<PipelinedResponse> responses = new ArrayList<PipelinedResponse>(irodsPIs.size());
+
+			/*
+			 * once part of a window is written, any failure leaves replies
+			 * unread on the connection, so it cannot be used again
+			 */
+			boolean repliesPending = false;
+			try {
+				for (int windowStart = 0; windowStart < irodsPIs.size(); windowStart += windowSize) {
+					List<? extends IRodsPI> window = irodsPIs.subList(windowStart,
+							Math.min(windowStart + windowSize, irodsPIs.size()));
+
+					for (IRodsPI irodsPI : window) {
+						repliesPending = true;
+						sendWithoutFlush(irodsPI);
+					}
+					irodsConnection.flush();
+
+					for (IRodsPI irodsPI : window) {
+						responses.add(readPipelinedResponse(irodsPI));
+					}
+					repliesPending = false;
+				}
+			} catch (IOException e) {
+				log.error("io exception sending pipelined irods commands", e);
+				disconnectWithForce();
+				throw new JargonException(e);
+			} catch (JargonException e) {
+				if (repliesPending) {
+					log.error("error in pipelined batch, connection cannot be re-used", e);
+					disconnectWithForce();
+				}
+				throw e;
+			} catch (RuntimeException e) {
+				if (repliesPending) {
+					log.error("error in pipelined batch, connection cannot be re-used", e);
+					disconnectWithForce();
+				}
+				throw e;
+			}
+
+			return responses;
+		} finally {
+			protocolLock.unlock();
+		}
+	}
+
+	/**
+	 * Read the reply to one request of a pipelined batch, capturing any iRODS
+	 * error. Once a reply has been read completely the connection is
+	 * positioned at the next reply, so only connection errors, or a reply that
+	 * leaves binary data on the connection, end the batch.
+	 */
+	private PipelinedResponse readPipelinedResponse(final IRodsPI irodsPI) throws JargonException {
+		Tag response;
+		try {
+			response = readMessage();
+		} catch (JargonException e) {
+			if (e.getCause() instanceof IOException || !isConnected()) {
+				log.error("connection error reading pipelined response", e);
+				throw e;
+			}
+			log.debug("iRODS error for pipelined request, returned in response:{}", e.getMessage());
+			return PipelinedResponse.instanceForException(irodsPI, e);
+		}
 
-		if (irodsPI == null) {
-			String err = "null irodsPI";
-			log.error(err);
-			throw new IllegalArgumentException(err);
+		if (response != null) {
+			Tag header = response.getTag(IRodsPI.MSG_HEADER_PI_TAG);
+			if (header != null && header.getTag(BS_LEN).getIntValue() != 0) {
+				log.error("pipelined request:{} returned binary data, connection cannot be re-used", irodsPI);
+				throw new JargonException("request returning binary data cannot be pipelined");
+			}
 		}
 
-		return irodsFunction(IRODSConstants.RODS_NEG_REQ, irodsPI.getParsedTags(), irodsPI.getApiNumber());
+		return PipelinedResponse.instance(irodsPI, response);
+	}
+
+	/**
+	 * Write the header and packing instruction for a request with no
+	 * accompanying data, without flushing the connection
+	 */
+	private void sendWithoutFlush(final IRodsPI irodsPI) throws JargonException, IOException {
+		if (isDirectSerialization(irodsPI)) {
+			sendDirectlySerialized(IRODSConstants.RODS_API_REQ, (AbstractIRODSPackingInstruction) irodsPI, 0, 0, false);
+			return;
+		}
+
+		String message = irodsPI.getParsedTags();
+		int length = 0;
+		if (message != null) {
+			length = message.getBytes(getEncoding()).length;
+		}
+
+		sendHeader(IRODSConstants.RODS_API_REQ, length, 0, 0, irodsPI.getApiNumber());
+		if (isFlushBetweenHeaderAndMessage()) {
+			irodsConnection.flush();
+		}
+		irodsConnection.send(message);
+	}
+
+	/**
+	 * Send a packing instruction with no accompanying binary data using direct
+	 * serialization, and read the response
+	 */
+	private Tag irodsFunctionDirectlySerialized(final String type, final AbstractIRODSPackingInstruction irodsPI)
+			throws JargonException {
+		try {
+			sendDirectlySerialized(type, irodsPI, 0, 0, false);
+			irodsConnection.flush();
+		} catch (IOException e) {
+			log.error("io exception sending irods command", e);
+			disconnectWithForce();
+			throw new JargonException(e);
+		}
+
+		return readMessage();
+	}
+
+	/**
+	 * Determine whether the given packing instruction can be serialized
+	 * directly into the connection's reusable buffer, per the
+	 * <code>PipelineConfiguration</code>
+	 *
+	 * @param irodsPI
+	 *            {@link IRodsPI} to be sent
+	 * @return <code>boolean</code> that is <code>true</code> if direct
+	 *         serialization should be used
+	 */
+	boolean isDirectSerialization(final IRodsPI irodsPI) {
+		return irodsPI instanceof AbstractIRODSPackingInstruction
+				&& getPipelineConfiguration().isDirectPackingInstructionSerialization()
+				&& !directSerializationUnavailable && !isFlushBetweenHeaderAndMessage()
+				&& getPackingInstructionWriter() != null;
+	}
+
+	/**
+	 * Hook for protocol implementations that must flush between sending the
+	 * header and the message. Header and message are written in one send when
+	 * directly serialized, so those messages are sent as a
+	 * <code>String</code> instead.
+	 *
+	 * @return <code>boolean</code> that is <code>true</code> if a flush is
+	 *         required after the header
+	 */
+	boolean isFlushBetweenHeaderAndMessage() {
+		return false;
+	}
+
+	/**
+	 * Serialize the header and packing instruction into the reusable buffer
+	 * and send them as one write, without flushing. A missing message is
+	 * rejected before anything is sent, so the connection is left usable.
+	 *
+	 * @param messageRequired
+	 *            <code>boolean</code> that is <code>true</code> if an empty
+	 *            packing instruction is an error
+	 * @return <code>int</code> with the length of the packing instruction as
+	 *         sent in the header
+	 */
+	private int sendDirectlySerialized(final String type, final AbstractIRODSPackingInstruction irodsPI,
+			final int errorLength, final long byteStringLength, final boolean messageRequired)
+			throws JargonException, IOException {
+
+		PackingInstructionWriter writer = getPackingInstructionWriter();
+		try {
+			int messageLength = writer.writeMessage(type, irodsPI.getTagValue(), errorLength, byteStringLength,
+					irodsPI.getApiNumber());
+
+			if (messageRequired && messageLength == 0) {
+				String err = "null or missing message returned from parse";
+				log.error(err);
+				throw new IllegalArgumentException(err);
+			}
+
+			if (log.isDebugEnabled() && irodsPI.getApiNumber() != 1201) {
+				log.debug("sending directly serialized message:{}",
+						new String(writer.getArray(), writer.getMessageOffset() + 4, writer.getMessageLength() - 4,
+								getEncoding()));
+			}
+
+			irodsConnection.send(writer.getArray(), writer.getMessageOffset(), writer.getMessageLength());
+			return messageLength;
+		} finally {
+			writer.trim();
+		}
+	}
+
+	private PackingInstructionWriter getPackingInstructionWriter() {
+		if (packingInstructionWriter == null && !directSerializationUnavailable) {
+			try {
+				packingInstructionWriter = new PackingInstructionWriter(getEncoding());
+			} catch (UnsupportedEncodingException e) {
+				log.warn("cannot directly serialize packing instructions in encoding:{}, sending as String",
+						getEncoding());
+				directSerializationUnavailable = true;
+			}
+		}
+		return packingInstructionWriter;
 	}
 
 	/**
@@ -655,8 +1011,13 @@ public abstract class AbstractIRODSMidLevelProtocol {
 	 * @return {@link Tag} with the iRODS protocol response
 	 * @throws JargonException
 	 */
-	public synchronized Tag readMessage() throws JargonException {
-		return readMessage(true);
+	public Tag readMessage() throws JargonException {
+		protocolLock.lock();
+		try {
+			return readMessage(true);
+		} finally {
+			protocolLock.unlock();
+		}
 	}
 
 	/**
@@ -670,60 +1031,85 @@ public abstract class AbstractIRODSMidLevelProtocol {
 	 * @return {@link Tag} with the iRODS protocol response
 	 * @throws JargonException
 	 */
-	public synchronized Tag readMessage(final boolean decode) throws JargonException {
-		log.debug("reading message from irods");
-		Tag header = readHeader();
-		Tag message = null;
-
-		int messageLength = header.getTags()[1].getIntValue();
-		int errorLength = header.getTags()[2].getIntValue();
-		int bytesLength = header.getTags()[3].getIntValue();
-		int info = header.getTags()[4].getIntValue();
-
-		if (log.isDebugEnabled()) {
-			log.debug("message length:{}", messageLength);
-			log.debug("error length:{}", errorLength);
-			log.debug("bytesLength:{}", bytesLength);
-			log.debug("info value:{}", info);
-		}
-
-		// Reports iRODS errors, throw exception if appropriate
-		if (info < 0) {
-			processMessageInfoLessThanZero(messageLength, errorLength, info);
-			log.debug("returning null, no results");
-			// query with no results
-			return null;
-		}
+	public Tag readMessage(final boolean decode) throws JargonException {
+		protocolLock.lock();
+		try {
+			log.debug("reading message from irods");
+			byte[] headerBytes = readHeaderBytes();
+			Tag message = null;
 
-		if (messageLength > 0) {
-			log.debug("message length greater than zero");
-			message = readMessageBody(messageLength, decode);
+			/*
+			 * pull the lengths straight out of the header bytes, the header tag
+			 * itself is only built if it needs to be handed back to the caller
+			 */
+			int messageLength = 0;
+			int errorLength = 0;
+			int bytesLength = 0;
+			int info = 0;
+
+			PackingInstructionReader headerReader = new PackingInstructionReader(headerBytes, false, getEncoding());
+			while (headerReader.next() != PackingInstructionReader.Event.END_DOCUMENT) {
+				if (!headerReader.isLeaf()) {
+					continue;
+				}
+				if (headerReader.isTagNamed(MSG_LEN)) {
+					messageLength = headerReader.getIntValue();
+				} else if (headerReader.isTagNamed(ERROR_LEN)) {
+					errorLength = headerReader.getIntValue();
+				} else if (headerReader.isTagNamed(BS_LEN)) {
+					bytesLength = headerReader.getIntValue();
+				} else if (headerReader.isTagNamed(INT_INFO)) {
+					info = headerReader.getIntValue();
+				}
+			}
 
-			// squelch genqueryout data for nicer logs
 			if (log.isDebugEnabled()) {
-				String messageAsString = message.parseTag();
-				int idx = messageAsString.indexOf("GenQueryOut");
-				if (idx == -1 || ConnectionConstants.DUMP_GEN_QUERY_OUT) {
-					log.debug("message from IRODS read back:{}", messageAsString);
+				log.debug("message length:{}", messageLength);
+				log.debug("error length:{}", errorLength);
+				log.debug("bytesLength:{}", bytesLength);
+				log.debug("info value:{}", info);
+			}
+
+			// Reports iRODS errors, throw exception if appropriate
+			if (info < 0) {
+				processMessageInfoLessThanZero(messageLength, errorLength, info);
+				log.debug("returning null, no results");
+				// query with no results
+				return null;
+			}
+
+			if (messageLength > 0) {
+				log.debug("message length greater than zero");
+				message = readMessageBody(messageLength, decode);
+
+				// squelch genqueryout data for nicer logs
+				if (log.isDebugEnabled()) {
+					String messageAsString = message.parseTag();
+					int idx = messageAsString.indexOf("GenQueryOut");
+					if (idx == -1 || ConnectionConstants.DUMP_GEN_QUERY_OUT) {
+						log.debug("message from IRODS read back:{}", messageAsString);
+					}
 				}
 			}
-		}
-		// previous will have returned or thrown exception
+			// previous will have returned or thrown exception
 
-		if (errorLength != 0) {
-			processMessageErrorNotEqualZero(errorLength);
-		}
+			if (errorLength != 0) {
+				processMessageErrorNotEqualZero(errorLength);
+			}
+
+			if (bytesLength != 0 || info > 0) {
+				log.debug("bytes length is not zero");
+				if (message == null) {
+					message = new Tag(IRodsPI.MSG_HEADER_PI_TAG);
+				}
 
-		if (bytesLength != 0 || info > 0) {
-			log.debug("bytes length is not zero");
-			if (message == null) {
-				message = new Tag(IRodsPI.MSG_HEADER_PI_TAG);
+				message.addTag(parseHeader(headerBytes));
 			}
 
-			message.addTag(header);
+			return message;
+		} finally {
+			protocolLock.unlock();
 		}
-
-		return message;
 	}
 
 	public synchronized boolean isConnected() {
@@ -744,42 +1130,47 @@ public abstract class AbstractIRODSMidLevelProtocol {
 	 *
 	 * @throws JargonException
 	 */
-	public synchronized void shutdown() throws JargonException {
-		log.debug("shutting down, need to send disconnect to irods");
-		if (isConnected()) {
-
-			preDisconnectAction();
-
-			log.debug("sending disconnect message");
-			try {
-				sendHeader(RequestTypes.RODS_DISCONNECT.getRequestType(), 0, 0, 0, 0);
-				irodsConnection.flush();
-				log.debug("finally, shutdown is being called on the given connection");
-				irodsConnection.shutdown();
-				if (getIrodsConnectionNonEncryptedRef() != null) {
-					getIrodsConnectionNonEncryptedRef().shutdown();
+	public void shutdown() throws JargonException {
+		protocolLock.lock();
+		try {
+			log.debug("shutting down, need to send disconnect to irods");
+			if (isConnected()) {
+
+				preDisconnectAction();
+
+				log.debug("sending disconnect message");
+				try {
+					sendHeader(RequestTypes.RODS_DISCONNECT.getRequestType(), 0, 0, 0, 0);
+					irodsConnection.flush();
+					log.debug("finally, shutdown is being called on the given connection");
+					irodsConnection.shutdown();
+					if (getIrodsConnectionNonEncryptedRef() != null) {
+						getIrodsConnectionNonEncryptedRef().shutdown();
+					}
+				} catch (ClosedChannelException e) {
+					log.error("closed channel", e);
+					disconnectWithForce();
+
+					throw new JargonException(e);
+				} catch (InterruptedIOException e) {
+					log.error("interrupted io", e);
+					disconnectWithForce();
+
+					throw new JargonException(e);
+				} catch (IOException e) {
+					log.error("io exception", e);
+					disconnectWithForce();
+					throw new JargonException(e);
 				}
-			} catch (ClosedChannelException e) {
-				log.error("closed channel", e);
-				disconnectWithForce();
 
-				throw new JargonException(e);
-			} catch (InterruptedIOException e) {
-				log.error("interrupted io", e);
-				disconnectWithForce();
-
-				throw new JargonException(e);
-			} catch (IOException e) {
-				log.error("io exception", e);
-				disconnectWithForce();
-				throw new JargonException(e);
+			} else {
+				log.warn(
+						"disconnect called, but isConnected() is false, this is an unexpected condition that is logged and ignored");
 			}
 
-		} else {
-			log.warn(
-					"disconnect called, but isConnected() is false, this is an unexpected condition that is logged and ignored");
+		} finally {
+			protocolLock.unlock();
 		}
-
 	}
 
 	/**
@@ -802,10 +1193,15 @@ public abstract class AbstractIRODSMidLevelProtocol {
 	 *
 	 * @throws JargonException
 	 */
-	public synchronized void disconnect() throws JargonException {
-		log.debug("closing connection");
-		getIrodsSession().closeSession(getIrodsAccount());
+	public void disconnect() throws JargonException {
+		protocolLock.lock();
+		try {
+			log.debug("closing connection");
+			getIrodsSession().closeSession(getIrodsAccount());
 
+		} finally {
+			protocolLock.unlock();
+		}
 	}
 
 	/**
@@ -820,16 +1216,21 @@ public abstract class AbstractIRODSMidLevelProtocol {
 	 * <code>IRODSProtocolManager</code> that needs to directly manipulate
 	 * connections in a pool or cache.
 	 */
-	public synchronized void disconnectWithForce() throws JargonException {
-		if (getIrodsAccount() != null) {
-			getIrodsSession().discardSessionForErrors(getIrodsAccount());
-		}
+	public void disconnectWithForce() throws JargonException {
+		protocolLock.lock();
+		try {
+			if (getIrodsAccount() != null) {
+				getIrodsSession().discardSessionForErrors(getIrodsAccount());
+			}
 
-		if (getIrodsConnection().isConnected()) {
-			log.warn("partial connection, not authenticated, forcefully shut down the socket");
-			getIrodsConnection().obliterateConnectionAndDiscardErrors();
-		}
+			if (getIrodsConnection().isConnected()) {
+				log.warn("partial connection, not authenticated, forcefully shut down the socket");
+				getIrodsConnection().obliterateConnectionAndDiscardErrors();
+			}
 
+		} finally {
+			protocolLock.unlock();
+		}
 	}
 
 	/**
@@ -857,10 +1258,15 @@ public abstract class AbstractIRODSMidLevelProtocol {
 	 * @param status
 	 * @throws IOException
 	 */
-	public synchronized void operationComplete(final int status) throws JargonException {
-		Tag message = new Tag(AbstractIRODSPackingInstruction.INT_PI,
-				new Tag[] { new Tag(AbstractIRODSPackingInstruction.MY_INT, status), });
-		irodsFunction(IRODSConstants.RODS_API_REQ, message.parseTag(), IRODSConstants.OPR_COMPLETE_AN);
+	public void operationComplete(final int status) throws JargonException {
+		protocolLock.lock();
+		try {
+			Tag message = new Tag(AbstractIRODSPackingInstruction.INT_PI,
+					new Tag[] { new Tag(AbstractIRODSPackingInstruction.MY_INT, status), });
+			irodsFunction(IRODSConstants.RODS_API_REQ, message.parseTag(), IRODSConstants.OPR_COMPLETE_AN);
+		} finally {
+			protocolLock.unlock();
+		}
 	}
 
 	/**
@@ -871,12 +1277,17 @@ public abstract class AbstractIRODSMidLevelProtocol {
 	 *            <code>int</code> with
 	 * @throws JargonException
 	 */
-	public synchronized void sendInNetworkOrder(final int value) throws JargonException {
+	public void sendInNetworkOrder(final int value) throws JargonException {
+		protocolLock.lock();
 		try {
-			irodsConnection.sendInNetworkOrder(value);
-		} catch (IOException e) {
-			disconnectWithForce();
-			throw new JargonException(e);
+			try {
+				irodsConnection.sendInNetworkOrder(value);
+			} catch (IOException e) {
+				disconnectWithForce();
+				throw new JargonException(e);
+			}
+		} finally {
+			protocolLock.unlock();
 		}
 	}
 
@@ -889,13 +1300,18 @@ public abstract class AbstractIRODSMidLevelProtocol {
 	 *            <code>int</code> with
 	 * @throws JargonException
 	 */
-	public synchronized void sendInNetworkOrderWithFlush(final int value) throws JargonException {
+	public void sendInNetworkOrderWithFlush(final int value) throws JargonException {
+		protocolLock.lock();
 		try {
-			// irodsConnection.flush();
-			irodsConnection.sendInNetworkOrder(value, true);
-		} catch (IOException e) {
-			disconnectWithForce();
-			throw new JargonException(e);
+			try {
+				// irodsConnection.flush();
+				irodsConnection.sendInNetworkOrder(value, true);
+			} catch (IOException e) {
+				disconnectWithForce();
+				throw new JargonException(e);
+			}
+		} finally {
+			protocolLock.unlock();
 		}
 	}
 
@@ -940,34 +1356,38 @@ public abstract class AbstractIRODSMidLevelProtocol {
 	 *            <code>Tag</code> containing status messages from IRODS
 	 * @throws IOException
 	 */
-	public synchronized void processClientStatusMessages(final Tag reply) throws JargonException {
-
-		boolean done = false;
-		Tag ackResult = reply;
-
-		while (!done) {
-			if (ackResult.getLength() > 0) {
-				if (ackResult.getName().equals(IRODSConstants.CollOprStat_PI)) {
-					// formulate an answer status reply
-
-					// if the total file count is 0, then I will continue and
-					// send
-					// the coll stat reply, otherwise, just ignore and
-					// don't send the reply.
-
-					Tag fileCountTag = ackResult.getTag("filesCnt");
-					int fileCount = Integer.parseInt((String) fileCountTag.getValue());
-
-					if (fileCount < IRODSConstants.SYS_CLI_TO_SVR_COLL_STAT_SIZE) {
-						done = true;
-					} else {
-						sendInNetworkOrder(IRODSConstants.SYS_CLI_TO_SVR_COLL_STAT_REPLY);
-						ackResult = readMessage();
+	public void processClientStatusMessages(final Tag reply) throws JargonException {
+		protocolLock.lock();
+		try {
+			boolean done = false;
+			Tag ackResult = reply;
+
+			while (!done) {
+				if (ackResult.getLength() > 0) {
+					if (ackResult.getName().equals(IRODSConstants.CollOprStat_PI)) {
+						// formulate an answer status reply
+
+						// if the total file count is 0, then I will continue and
+						// send
+						// the coll stat reply, otherwise, just ignore and
+						// don't send the reply.
+
+						Tag fileCountTag = ackResult.getTag("filesCnt");
+						int fileCount = Integer.parseInt((String) fileCountTag.getValue());
+
+						if (fileCount < IRODSConstants.SYS_CLI_TO_SVR_COLL_STAT_SIZE) {
+							done = true;
+						} else {
+							sendInNetworkOrder(IRODSConstants.SYS_CLI_TO_SVR_COLL_STAT_REPLY);
+							ackResult = readMessage();
+						}
 					}
 				}
 			}
-		}
 
+		} finally {
+			protocolLock.unlock();
+		}
 	}
 
 	/**
@@ -1009,9 +1429,10 @@ public abstract class AbstractIRODSMidLevelProtocol {
 	}
 
 	/**
-	 * Going to read the header somewhat differently
+	 * Read the raw bytes of the message header, preceded on the wire by its
+	 * length
 	 */
-	Tag readHeader() throws JargonException {
+	byte[] readHeaderBytes() throws JargonException {
 		byte[] header;
 		int length = readHeaderLength();
 		if (length < 0) {
@@ -1051,6 +1472,10 @@ public abstract class AbstractIRODSMidLevelProtocol {
 			throw new JargonException(e);
 		}
 
+		return header;
+	}
+
+	private Tag parseHeader(final byte[] header) throws JargonException {
 		try {
 			return Tag.readNextTag(header, getEncoding());
 		} catch (UnsupportedEncodingException e) {
@@ -1159,22 +1584,24 @@ public abstract class AbstractIRODSMidLevelProtocol {
 	 * @see org.irods.jargon.core.connection.IRODSManagedConnection#
 	 * obliterateConnectionAndDiscardErrors()
 	 */
-	public synchronized void obliterateConnectionAndDiscardErrors() {
-		log.warn("obliterateConnectionAndDiscardErrors() will forcefully close the connection");
-		irodsConnection.obliterateConnectionAndDiscardErrors();
+	public void obliterateConnectionAndDiscardErrors() {
+		protocolLock.lock();
+		try {
+			log.warn("obliterateConnectionAndDiscardErrors() will forcefully close the connection");
+			irodsConnection.obliterateConnectionAndDiscardErrors();
+		} finally {
+			protocolLock.unlock();
+		}
 	}
 
 	void processMessageInfoLessThanZero(final int messageLength, final int errorLength, final int info)
 			throws JargonException {
 		log.debug("info is < 0");
-		byte[] messageByte = new byte[messageLength];
 		// if nothing else, read the returned bytes and throw them away
 		if (messageLength > 0) {
 			log.debug("throwing away bytes");
 			try {
 				irodsConnection.read(new byte[messageLength], 0, messageLength);
-				Tag.readNextTag(messageByte, getEncoding());
-
 			} catch (ClosedChannelException e) {
 				log.error("closed channel", e);
 				throw new JargonException(e);
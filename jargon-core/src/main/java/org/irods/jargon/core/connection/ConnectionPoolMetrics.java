@@ -0,0 +1,143 @@
+package org.irods.jargon.core.connection;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Running counters kept by the {@link IRODSPooledProtocolManager}, describing
+ * how connections are leased from the pool, how long callers wait for a
+ * connection, and how often the pool is saturated. The counters are updated
+ * concurrently and may be read at any time.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class ConnectionPoolMetrics {
+
+	private final AtomicLong leaseCount = new AtomicLong();
+	private final AtomicLong createCount = new AtomicLong();
+	private final AtomicLong waitCount = new AtomicLong();
+	private final AtomicLong totalWaitNanos = new AtomicLong();
+	private final AtomicLong maxWaitNanos = new AtomicLong();
+	private final AtomicLong saturationCount = new AtomicLong();
+	private final AtomicLong timeoutCount = new AtomicLong();
+	private final AtomicLong evictionCount = new AtomicLong();
+
+	void recordLease(final boolean created, final long waitNanos) {
+		leaseCount.incrementAndGet();
+		if (created) {
+			createCount.incrementAndGet();
+		}
+
+		if (waitNanos > 0) {
+			waitCount.incrementAndGet();
+			totalWaitNanos.addAndGet(waitNanos);
+			long max = maxWaitNanos.get();
+			while (waitNanos > max && !maxWaitNanos.compareAndSet(max, waitNanos)) {
+				max = maxWaitNanos.get();
+			}
+		}
+	}
+
+	void recordSaturation() {
+		saturationCount.incrementAndGet();
+	}
+
+	void recordTimeout() {
+		timeoutCount.incrementAndGet();
+	}
+
+	void recordEvictions(final int count) {
+		evictionCount.addAndGet(count);
+	}
+
+	/**
+	 * @return <code>long</code> with the number of connections leased from the
+	 *         pool
+	 */
+	public long getLeaseCount() {
+		return leaseCount.get();
+	}
+
+	/**
+	 * @return <code>long</code> with the number of leases that required a new
+	 *         connection to iRODS
+	 */
+	public long getCreateCount() {
+		return createCount.get();
+	}
+
+	/**
+	 * @return <code>long</code> with the number of leases that waited for a
+	 *         connection to be returned to a saturated pool
+	 */
+	public long getWaitCount() {
+		return waitCount.get();
+	}
+
+	/**
+	 * @return <code>long</code> with the total time spent waiting for a
+	 *         connection, in milliseconds
+	 */
+	public long getTotalWaitMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.get());
+	}
+
+	/**
+	 * @return <code>long</code> with the longest wait for a connection, in
+	 *         milliseconds
+	 */
+	public long getMaxWaitMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get());
+	}
+
+	/**
+	 * @return <code>long</code> with the number of times a lease found the
+	 *         pool for its account at its maximum size with no idle
+	 *         connections
+	 */
+	public long getSaturationCount() {
+		return saturationCount.get();
+	}
+
+	/**
+	 * @return <code>long</code> with the number of leases that failed after
+	 *         waiting the maximum time for a connection
+	 */
+	public long getTimeoutCount() {
+		return timeoutCount.get();
+	}
+
+	/**
+	 * @return <code>long</code> with the number of idle connections closed
+	 *         because they were past the socket renewal interval or no longer
+	 *         connected
+	 */
+	public long getEvictionCount() {
+		return evictionCount.get();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("ConnectionPoolMetrics");
+		sb.append("\n\tleaseCount:");
+		sb.append(getLeaseCount());
+		sb.append("\n\tcreateCount:");
+		sb.append(getCreateCount());
+		sb.append("\n\twaitCount:");
+		sb.append(getWaitCount());
+		sb.append("\n\ttotalWaitMillis:");
+		sb.append(getTotalWaitMillis());
+		sb.append("\n\tmaxWaitMillis:");
+		sb.append(getMaxWaitMillis());
+		sb.append("\n\tsaturationCount:");
+		sb.append(getSaturationCount());
+		sb.append("\n\ttimeoutCount:");
+		sb.append(getTimeoutCount());
+		sb.append("\n\tevictionCount:");
+		sb.append(getEvictionCount());
+		return sb.toString();
+	}
+
+}
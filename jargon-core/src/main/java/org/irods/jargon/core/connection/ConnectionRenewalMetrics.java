@@ -0,0 +1,84 @@
+package org.irods.jargon.core.connection;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Running counters kept by the {@link IRODSSession} describing connections
+ * renewed in the background after passing the socket renewal interval. The
+ * connect time of each renewal is time that would otherwise have been added to
+ * the request that noticed the renewal was due. The counters are updated
+ * concurrently and may be read at any time.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class ConnectionRenewalMetrics {
+
+	private final AtomicLong renewalCount = new AtomicLong();
+	private final AtomicLong totalRenewalNanos = new AtomicLong();
+	private final AtomicLong maxRenewalNanos = new AtomicLong();
+	private final AtomicLong failureCount = new AtomicLong();
+
+	void recordRenewal(final long renewalNanos) {
+		renewalCount.incrementAndGet();
+		totalRenewalNanos.addAndGet(renewalNanos);
+		long max = maxRenewalNanos.get();
+		while (renewalNanos > max && !maxRenewalNanos.compareAndSet(max, renewalNanos)) {
+			max = maxRenewalNanos.get();
+		}
+	}
+
+	void recordFailure() {
+		failureCount.incrementAndGet();
+	}
+
+	/**
+	 * @return <code>long</code> with the number of connections replaced by a
+	 *         connection opened in the background
+	 */
+	public long getRenewalCount() {
+		return renewalCount.get();
+	}
+
+	/**
+	 * @return <code>long</code> with the total time spent opening replacement
+	 *         connections in the background, in milliseconds, which is the
+	 *         latency that inline renewal would have added to requests
+	 */
+	public long getTotalRenewalMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(totalRenewalNanos.get());
+	}
+
+	/**
+	 * @return <code>long</code> with the longest time spent opening a
+	 *         replacement connection, in milliseconds
+	 */
+	public long getMaxRenewalMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(maxRenewalNanos.get());
+	}
+
+	/**
+	 * @return <code>long</code> with the number of background renewals that
+	 *         failed to connect, and were retried inline
+	 */
+	public long getFailureCount() {
+		return failureCount.get();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("ConnectionRenewalMetrics");
+		sb.append("\n\trenewalCount:");
+		sb.append(getRenewalCount());
+		sb.append("\n\ttotalRenewalMillis:");
+		sb.append(getTotalRenewalMillis());
+		sb.append("\n\tmaxRenewalMillis:");
+		sb.append(getMaxRenewalMillis());
+		sb.append("\n\tfailureCount:");
+		sb.append(getFailureCount());
+		return sb.toString();
+	}
+
+}
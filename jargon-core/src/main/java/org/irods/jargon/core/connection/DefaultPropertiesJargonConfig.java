@@ -11,6 +11,7 @@ import org.irods.jargon.core.connection.ClientServerNegotiationPolicy.SslNegotia
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.protovalues.ChecksumEncodingEnum;
 import org.irods.jargon.core.protovalues.EncryptionAlgorithmEnum;
+import org.irods.jargon.core.transfer.ParallelLocalIOStrategyEnum;
 import org.irods.jargon.core.utils.PropertyUtils;
 
 /**
@@ -599,4 +600,173 @@ public class DefaultPropertiesJargonConfig implements JargonProperties {
 		return verifyPropExistsAndGetAsBoolean("bypass.ssl.cert.checks");
 
 	}
+
+	@Override
+	public boolean isDirectPackingInstructionSerialization() {
+		return verifyPropExistsAndGetAsBoolean("jargon.io.direct.packing.instruction.serialization");
+	}
+
+	@Override
+	public int getPipelinedRequestWindowSize() {
+		return verifyPropExistsAndGetAsInt("jargon.pipelined.request.window.size");
+	}
+
+	@Override
+	public boolean isUseConnectionPool() {
+		return verifyPropExistsAndGetAsBoolean("connection.pool.use");
+	}
+
+	@Override
+	public int getConnectionPoolMaxPerAccount() {
+		return verifyPropExistsAndGetAsInt("connection.pool.max.per.account");
+	}
+
+	@Override
+	public long getConnectionPoolMaxWaitMillis() {
+		return verifyPropExistsAndGetAsLong("connection.pool.max.wait.millis");
+	}
+
+	@Override
+	public boolean isUseVirtualThreadsForTransferThreadsPool() {
+		return verifyPropExistsAndGetAsBoolean("transfer.executor.pool.use.virtual.threads");
+	}
+
+	@Override
+	public boolean isBackgroundConnectionRenewal() {
+		return verifyPropExistsAndGetAsBoolean("socket.renewal.background");
+	}
+
+	@Override
+	public int getRecursiveTransferConcurrency() {
+		return verifyPropExistsAndGetAsInt("transfer.recursive.concurrency");
+	}
+
+	@Override
+	public boolean isBundleSmallFilesOnPut() {
+		return verifyPropExistsAndGetAsBoolean("transfer.put.bundle.small.files");
+	}
+
+	@Override
+	public long getBundleSmallFileMaxSize() {
+		return verifyPropExistsAndGetAsLong("transfer.put.bundle.file.max.size");
+	}
+
+	@Override
+	public long getBundleMaxSize() {
+		return verifyPropExistsAndGetAsLong("transfer.put.bundle.max.size");
+	}
+
+	@Override
+	public int getBundleMinFiles() {
+		return verifyPropExistsAndGetAsInt("transfer.put.bundle.min.files");
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.irods.jargon.core.connection.JargonProperties#getParallelLocalIOStrategy
+	 * ()
+	 */
+	@Override
+	public ParallelLocalIOStrategyEnum getParallelLocalIOStrategy() {
+		String strategyString = verifyPropExistsAndGetAsString("transfer.parallel.local.io.strategy");
+		return ParallelLocalIOStrategyEnum.findTypeByString(strategyString);
+	}
+
+	@Override
+	public int getSegmentedGetThreads() {
+		return verifyPropExistsAndGetAsInt("transfer.get.segmented.threads");
+	}
+
+	@Override
+	public long getSegmentedGetMinLength() {
+		return verifyPropExistsAndGetAsLong("transfer.get.segmented.min.length");
+	}
+
+	@Override
+	public long getSegmentedGetSegmentSize() {
+		return verifyPropExistsAndGetAsLong("transfer.get.segmented.segment.size");
+	}
+
+	@Override
+	public boolean isAdaptiveParallelTransfer() {
+		return verifyPropExistsAndGetAsBoolean("transfer.parallel.adaptive");
+	}
+
+	@Override
+	public int getAdaptiveParallelMaxThreads() {
+		return verifyPropExistsAndGetAsInt("transfer.parallel.adaptive.max.threads");
+	}
+
+	@Override
+	public int getAdaptiveParallelMaxBufferSize() {
+		return verifyPropExistsAndGetAsInt("transfer.parallel.adaptive.max.buffer.size");
+	}
+
+	@Override
+	public long getRestartCheckpointBytes() {
+		return verifyPropExistsAndGetAsLong("transfer.restart.checkpoint.bytes");
+	}
+
+	@Override
+	public int getRestartCheckpointIntervalMillis() {
+		return verifyPropExistsAndGetAsInt("transfer.restart.checkpoint.interval.millis");
+	}
+
+	@Override
+	public boolean isChecksumDuringTransfer() {
+		return verifyPropExistsAndGetAsBoolean("transfer.checksum.during.transfer");
+	}
+
+	@Override
+	public long getChecksumDuringTransferPendingBytes() {
+		return verifyPropExistsAndGetAsLong("transfer.checksum.during.transfer.pending.bytes");
+	}
+
+	@Override
+	public long getListingObjStatMaxAgeMillis() {
+		return verifyPropExistsAndGetAsLong("listing.objstat.max.age.millis");
+	}
+
+	@Override
+	public int getRandomAccessPageSize() {
+		return verifyPropExistsAndGetAsInt("jargon.io.random.access.page.size");
+	}
+
+	@Override
+	public int getRandomAccessCachePages() {
+		return verifyPropExistsAndGetAsInt("jargon.io.random.access.cache.pages");
+	}
+
+	@Override
+	public int getRandomAccessWriteBehindSize() {
+		return verifyPropExistsAndGetAsInt("jargon.io.random.access.write.behind.size");
+	}
+
+	@Override
+	public boolean isUsingObjStatCache() {
+		return verifyPropExistsAndGetAsBoolean("use.objstat.cache");
+	}
+
+	@Override
+	public int getObjStatCacheMaxEntries() {
+		return verifyPropExistsAndGetAsInt("objstat.cache.max.entries");
+	}
+
+	@Override
+	public long getObjStatCacheTimeToLiveMillis() {
+		return verifyPropExistsAndGetAsLong("objstat.cache.time.to.live.millis");
+	}
+
+	@Override
+	public boolean isPrefetchingGenQueryPages() {
+		return verifyPropExistsAndGetAsBoolean("query.iterator.prefetch");
+	}
+
+	@Override
+	public boolean isLocalChecksumReadAhead() {
+		return verifyPropExistsAndGetAsBoolean("transfer.checksum.local.read.ahead");
+	}
+
 }
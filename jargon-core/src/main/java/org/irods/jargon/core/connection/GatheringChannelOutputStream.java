@@ -0,0 +1,128 @@
+package org.irods.jargon.core.connection;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+
+/**
+ * Output stream over a channel used by the NIO connection layer. Small writes,
+ * such as the message length, <code>MsgHeader</code> and packing instruction,
+ * are staged in a buffer. A write that does not fit in the remaining staging
+ * space, typically the bulk bytes of a put, is sent along with the staged
+ * bytes in one gathering write, so the whole request goes out in a single
+ * call without first being copied into one array.
+ * <p/>
+ * No reference to a caller's array is retained after a write returns, so
+ * callers are free to reuse their buffers. Like the other connection streams
+ * this class is not thread safe.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+class GatheringChannelOutputStream extends OutputStream {
+
+	private final GatheringByteChannel channel;
+	private final ByteBuffer stagingBuffer;
+	private final ByteBuffer[] gatherBuffers = new ByteBuffer[2];
+
+	/**
+	 * Constructor
+	 *
+	 * @param channel
+	 *            {@link GatheringByteChannel} in blocking mode that will be
+	 *            written to
+	 * @param stagingBufferSize
+	 *            <code>int</code> with the size of the buffer used to stage
+	 *            small writes
+	 */
+	GatheringChannelOutputStream(final GatheringByteChannel channel,
+			final int stagingBufferSize) {
+		if (channel == null) {
+			throw new IllegalArgumentException("null channel");
+		}
+
+		if (stagingBufferSize <= 0) {
+			throw new IllegalArgumentException("stagingBufferSize must be > 0");
+		}
+
+		this.channel = channel;
+		stagingBuffer = ByteBuffer.allocate(stagingBufferSize);
+		gatherBuffers[0] = stagingBuffer;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.io.OutputStream#write(int)
+	 */
+	@Override
+	public void write(final int b) throws IOException {
+		if (!stagingBuffer.hasRemaining()) {
+			drainStagingBuffer();
+		}
+		stagingBuffer.put((byte) b);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.io.OutputStream#write(byte[], int, int)
+	 */
+	@Override
+	public void write(final byte[] b, final int off, final int len)
+			throws IOException {
+		if (len <= stagingBuffer.remaining()) {
+			stagingBuffer.put(b, off, len);
+			return;
+		}
+
+		stagingBuffer.flip();
+		ByteBuffer source = ByteBuffer.wrap(b, off, len);
+		gatherBuffers[1] = source;
+		try {
+			while (source.hasRemaining()) {
+				channel.write(gatherBuffers);
+			}
+		} finally {
+			gatherBuffers[1] = null;
+			stagingBuffer.clear();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.io.OutputStream#flush()
+	 */
+	@Override
+	public void flush() throws IOException {
+		drainStagingBuffer();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.io.OutputStream#close()
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+		} finally {
+			channel.close();
+		}
+	}
+
+	private void drainStagingBuffer() throws IOException {
+		stagingBuffer.flip();
+		try {
+			while (stagingBuffer.hasRemaining()) {
+				channel.write(stagingBuffer);
+			}
+		} finally {
+			stagingBuffer.clear();
+		}
+	}
+
+}
@@ -101,9 +101,14 @@ public class IRODSMidLevelProtocol extends AbstractIRODSMidLevelProtocol {
 	}
 
 	@Override
-	synchronized void closeOutSocketAndSetAsDisconnected() throws IOException {
-		getIrodsConnection().getConnection().close();
-		getIrodsConnection().setConnected(false);
+	void closeOutSocketAndSetAsDisconnected() throws IOException {
+		getProtocolLock().lock();
+		try {
+			getIrodsConnection().getConnection().close();
+			getIrodsConnection().setConnected(false);
+		} finally {
+			getProtocolLock().unlock();
+		}
 	}
 
 	/**
@@ -131,6 +136,17 @@ public class IRODSMidLevelProtocol extends AbstractIRODSMidLevelProtocol {
 
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.core.connection.AbstractIRODSMidLevelProtocol#
+	 * isFlushBetweenHeaderAndMessage()
+	 */
+	@Override
+	boolean isFlushBetweenHeaderAndMessage() {
+		return getStartupResponseData() != null && isPamFlush();
+	}
+
 	/**
 	 * Send the given iROD protocol request with any included binary data, and
 	 * return the iRODS response as a <code>Tag</code> object. This method has
@@ -161,63 +177,67 @@ public class IRODSMidLevelProtocol extends AbstractIRODSMidLevelProtocol {
 	 * @throws JargonException
 	 */
 	@Override
-	public synchronized Tag irodsFunction(final String type,
+	public Tag irodsFunction(final String type,
 			final String message, final byte[] errorBytes,
 			final int errorOffset, final int errorLength, final byte[] bytes,
 			final int byteOffset, final int byteBufferLength, final int intInfo)
 			throws JargonException {
+		getProtocolLock().lock();
+		try {
+			log.debug("calling irods function with byte array");
 
-		log.debug("calling irods function with byte array");
+			if (intInfo != 1201) {
+				log.debug("calling irods function with:{}", message);
+			}
 
-		if (intInfo != 1201) {
-			log.debug("calling irods function with:{}", message);
-		}
+			log.debug("api number is:{}", intInfo);
 
-		log.debug("api number is:{}", intInfo);
+			if (type == null || type.length() == 0) {
+				String err = "null or blank type";
+				log.error(err);
+				throw new JargonException(err);
+			}
 
-		if (type == null || type.length() == 0) {
-			String err = "null or blank type";
-			log.error(err);
-			throw new JargonException(err);
-		}
+			// message may be null for some operations
 
-		// message may be null for some operations
+			try {
+				int messageLength = 0;
 
-		try {
-			int messageLength = 0;
+				if (message != null) {
+					messageLength = message.getBytes(getEncoding()).length;
+				}
 
-			if (message != null) {
-				messageLength = message.getBytes(getEncoding()).length;
-			}
+				sendHeader(type, messageLength, errorLength, byteBufferLength,
+						intInfo);
 
-			sendHeader(type, messageLength, errorLength, byteBufferLength,
-					intInfo);
+				if (getStartupResponseData() == null) {
+					log.debug("no ssl flush checking during negotiation");
+				} else if (isPamFlush()) {
+					log.debug("doing extra pam flush for iRODS 3.2");
+					getIrodsConnection().flush();
+				}
 
-			if (getStartupResponseData() == null) {
-				log.debug("no ssl flush checking during negotiation");
-			} else if (isPamFlush()) {
-				log.debug("doing extra pam flush for iRODS 3.2");
+				getIrodsConnection().send(message);
 				getIrodsConnection().flush();
-			}
 
-			getIrodsConnection().send(message);
-			getIrodsConnection().flush();
+				if (byteBufferLength > 0) {
+					getIrodsConnection().send(bytes, byteOffset, byteBufferLength);
+				}
 
-			if (byteBufferLength > 0) {
-				getIrodsConnection().send(bytes, byteOffset, byteBufferLength);
-			}
+				getIrodsConnection().flush();
 
-			getIrodsConnection().flush();
+			} catch (UnsupportedEncodingException e) {
+				log.error("unsupported encoding", e);
+				throw new JargonException(e);
+			} catch (IOException e) {
+				disconnectWithForce();
+				throw new JargonException(e);
+			}
 
-		} catch (UnsupportedEncodingException e) {
-			log.error("unsupported encoding", e);
-			throw new JargonException(e);
-		} catch (IOException e) {
-			disconnectWithForce();
-			throw new JargonException(e);
+			return readMessage();
+		} finally {
+			getProtocolLock().unlock();
 		}
-
-		return readMessage();
 	}
 
 	/**
@@ -249,60 +269,64 @@ public class IRODSMidLevelProtocol extends AbstractIRODSMidLevelProtocol {
 	 * @throws JargonException
 	 */
 	@Override
-	public synchronized void irodsFunctionUnidirectional(final String type,
+	public void irodsFunctionUnidirectional(final String type,
 			final byte[] message, final byte[] errorBytes,
 			final int errorOffset, final int errorLength, final byte[] bytes,
 			final int byteOffset, final int byteBufferLength, final int intInfo)
 			throws JargonException {
+		getProtocolLock().lock();
+		try {
+			log.debug("calling irods function with byte array");
+			log.debug("calling irods function with:{}", message);
+			log.debug("api number is:{}", intInfo);
 
-		log.debug("calling irods function with byte array");
-		log.debug("calling irods function with:{}", message);
-		log.debug("api number is:{}", intInfo);
+			if (type == null || type.length() == 0) {
+				String err = "null or blank type";
+				log.error(err);
+				throw new JargonException(err);
+			}
 
-		if (type == null || type.length() == 0) {
-			String err = "null or blank type";
-			log.error(err);
-			throw new JargonException(err);
-		}
+			// message may be null for some operations
 
-		// message may be null for some operations
+			try {
+				int messageLength = 0;
 
-		try {
-			int messageLength = 0;
+				if (message != null) {
+					messageLength = message.length;
+				}
 
-			if (message != null) {
-				messageLength = message.length;
-			}
+				sendHeader(type, messageLength, errorLength, byteBufferLength,
+						intInfo);
 
-			sendHeader(type, messageLength, errorLength, byteBufferLength,
-					intInfo);
+				if (getStartupResponseData() == null) {
+					log.debug("no pam flush check during negotiation phase");
+				} else if (isPamFlush()) {
+					log.debug("doing extra pam flush for iRODS 3.2");
+					getIrodsConnection().flush();
+				}
 
-			if (getStartupResponseData() == null) {
-				log.debug("no pam flush check during negotiation phase");
-			} else if (isPamFlush()) {
-				log.debug("doing extra pam flush for iRODS 3.2");
-				getIrodsConnection().flush();
-			}
+				if (messageLength > 0) {
+					getIrodsConnection().send(message);
+					getIrodsConnection().flush();
+				}
+
+				if (byteBufferLength > 0) {
+					getIrodsConnection().send(bytes, byteOffset, byteBufferLength);
+				}
 
-			if (messageLength > 0) {
-				getIrodsConnection().send(message);
 				getIrodsConnection().flush();
-			}
 
-			if (byteBufferLength > 0) {
-				getIrodsConnection().send(bytes, byteOffset, byteBufferLength);
+			} catch (UnsupportedEncodingException e) {
+				log.error("unsupported encoding", e);
+				throw new JargonException(e);
+			} catch (IOException e) {
+				disconnectWithForce();
+				throw new JargonException(e);
 			}
 
-			getIrodsConnection().flush();
-
-		} catch (UnsupportedEncodingException e) {
-			log.error("unsupported encoding", e);
-			throw new JargonException(e);
-		} catch (IOException e) {
-			disconnectWithForce();
-			throw new JargonException(e);
+		} finally {
+			getProtocolLock().unlock();
 		}
-
 	}
 
 	/*
@@ -0,0 +1,44 @@
+/**
+ *
+ */
+package org.irods.jargon.core.connection;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Implementation of a connection factory for producing the NIO connection
+ * layer, which sends requests with gathering writes and reads replies with
+ * scattering reads over a <code>SocketChannel</code>.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+class IRODSNIOConnectionFactoryImpl extends IRODSConnectionFactory {
+
+	private static final Logger log = LoggerFactory
+			.getLogger(IRODSNIOConnectionFactoryImpl.class);
+
+	@Override
+	protected AbstractConnection instance(final IRODSAccount irodsAccount,
+			final IRODSSession irodsSession,
+			final IRODSProtocolManager irodsProtocolManager)
+			throws JargonException {
+
+		log.info("instance()");
+
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		IRODSNIOTCPConnection connection = new IRODSNIOTCPConnection(
+				irodsAccount,
+				irodsSession
+						.buildPipelineConfigurationBasedOnJargonProperties(),
+				irodsProtocolManager, irodsSession);
+
+		return connection;
+	}
+
+}
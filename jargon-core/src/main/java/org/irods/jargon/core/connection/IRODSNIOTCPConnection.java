@@ -0,0 +1,281 @@
+package org.irods.jargon.core.connection;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.nio.channels.SocketChannel;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Wraps a connection to the iRODS server described by the given IRODSAccount,
+ * using a blocking <code>SocketChannel</code> rather than a plain
+ * <code>Socket</code>.
+ * <p/>
+ * Output goes through a {@link GatheringChannelOutputStream}, so that the
+ * message length, <code>MsgHeader</code>, packing instruction and any bulk
+ * bytes of a request are sent with one gathering write. Replies are read
+ * with scattering reads through a {@link ScatteringChannelInputStream}. A
+ * channel read cannot time out, so when a socket timeout is configured the
+ * input side falls back to the stream of the underlying socket, which
+ * honors the timeout.
+ * <p/>
+ * The underlying socket is still available from {@link #getConnection()}, so
+ * SSL negotiation and PAM can wrap it just as they do for the
+ * {@link IRODSBasicTCPConnection}. This layer is selected by setting the
+ * connection factory in the jargon properties to <code>nio</code>.
+ * <p/>
+ * The connection is confined to one thread, and all operations pass through
+ * the <code>IRODSMidLevelProtocol</code> wrapping this connection.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+class IRODSNIOTCPConnection extends AbstractConnection {
+
+	static final Logger log = LoggerFactory
+			.getLogger(IRODSNIOTCPConnection.class);
+
+	/**
+	 * Size of the staging and read-ahead buffers when the internal stream
+	 * buffer sizes are not set, matching the default of the buffered streams
+	 */
+	static final int DEFAULT_CHANNEL_BUFFER_SIZE = 8192;
+
+	private SocketChannel socketChannel = null;
+
+	/**
+	 * Default constructor that gives the account and pipeline setup
+	 * information.
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} that defines the connection
+	 * @param pipelineConfiguration
+	 *            {@link PipelineConfiguration} that defines the low level
+	 *            connection and networking configuration
+	 * @param irodsProtocolManager
+	 *            {@link irodsProtocolManager} that requested this connection
+	 * @param irodsSession
+	 *            {@link IRODSSession} associated with this connection
+	 * @throws JargonException
+	 */
+	IRODSNIOTCPConnection(final IRODSAccount irodsAccount,
+			final PipelineConfiguration pipelineConfiguration,
+			final IRODSProtocolManager irodsProtocolManager,
+			final IRODSSession irodsSession) throws JargonException {
+		super(irodsAccount, pipelineConfiguration, irodsProtocolManager,
+				irodsSession);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.irods.jargon.core.connection.AbstractConnection#connect(org.irods
+	 * .jargon.core.connection.IRODSAccount)
+	 */
+	@Override
+	protected void connect(final IRODSAccount irodsAccount)
+			throws JargonException {
+		log.debug("connect()");
+
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		if (connected) {
+			log.warn("doing connect when already connected!, will bypass connect and proceed");
+			return;
+		}
+
+		int attemptCount = 3;
+
+		for (int i = 0; i < attemptCount; i++) {
+			log.debug("connecting socket channel to agent");
+			try {
+
+				socketChannel = SocketChannel.open();
+				connection = socketChannel.socket();
+
+				if (getPipelineConfiguration().getPrimaryTcpSendWindowSize() > 0) {
+					connection.setSendBufferSize(getPipelineConfiguration()
+							.getPrimaryTcpSendWindowSize() * 1024);
+				}
+
+				if (getPipelineConfiguration().getPrimaryTcpReceiveWindowSize() > 0) {
+					connection.setReceiveBufferSize(getPipelineConfiguration()
+							.getPrimaryTcpReceiveWindowSize() * 1024);
+				}
+
+				connection.setPerformancePreferences(getPipelineConfiguration()
+						.getPrimaryTcpPerformancePrefsConnectionTime(),
+						getPipelineConfiguration()
+								.getPrimaryTcpPerformancePrefsLatency(),
+						getPipelineConfiguration()
+								.getPrimaryTcpPerformancePrefsBandwidth());
+				InetSocketAddress address = new InetSocketAddress(
+						irodsAccount.getHost(), irodsAccount.getPort());
+				connection.setKeepAlive(getPipelineConfiguration()
+						.isPrimaryTcpKeepAlive());
+
+				// assume reuse, nodelay
+				connection.setReuseAddress(true);
+				connection.setTcpNoDelay(false);
+				socketChannel.connect(address);
+
+				// success, so break out of reconnect loop
+				log.debug("connection to socket channel made...");
+				break;
+
+			} catch (UnknownHostException e) {
+				log.error(
+						"exception opening socket to:" + irodsAccount.getHost()
+								+ " port:" + irodsAccount.getPort(), e);
+				closeChannelAndEatAnyExceptions();
+				throw new JargonException(e);
+			} catch (IOException ioe) {
+
+				closeChannelAndEatAnyExceptions();
+
+				if (i < attemptCount - 1) {
+					log.error("IOExeption, sleep and attempt a reconnect", ioe);
+
+					try {
+						Thread.sleep(1000);
+					} catch (InterruptedException e) {
+						// ignore
+					}
+
+				} else {
+
+					log.error(
+							"io exception opening socket to:"
+									+ irodsAccount.getHost() + " port:"
+									+ irodsAccount.getPort(), ioe);
+					throw new JargonException(ioe);
+				}
+			}
+
+		}
+
+		setUpStreamsAfterConnection(irodsAccount);
+		connected = true;
+		log.debug("socket channel opened successfully");
+	}
+
+	/**
+	 * Set up the gathering output and scattering input streams over the
+	 * connected channel
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} for the connection
+	 * @throws JargonException
+	 */
+	void setUpStreamsAfterConnection(final IRODSAccount irodsAccount)
+			throws JargonException {
+		try {
+
+			int inputBufferSize = pipelineConfiguration
+					.getInternalInputStreamBufferSize();
+			if (inputBufferSize <= 0) {
+				inputBufferSize = DEFAULT_CHANNEL_BUFFER_SIZE;
+			}
+
+			int socketTimeout = pipelineConfiguration.getIrodsSocketTimeout();
+			if (socketTimeout > 0) {
+				log.debug(
+						"setting a connection timeout of:{} seconds, socket stream used for input",
+						socketTimeout);
+				connection.setSoTimeout(socketTimeout * 1000);
+				irodsInputStream = new BufferedInputStream(
+						connection.getInputStream(), inputBufferSize);
+			} else {
+				log.debug("scattering channel input with buffer of size:{}",
+						inputBufferSize);
+				irodsInputStream = new ScatteringChannelInputStream(
+						socketChannel, inputBufferSize);
+			}
+
+			int outputBufferSize = pipelineConfiguration
+					.getInternalOutputStreamBufferSize();
+			if (outputBufferSize <= 0) {
+				outputBufferSize = DEFAULT_CHANNEL_BUFFER_SIZE;
+			}
+
+			log.debug("gathering channel output with buffer of size:{}",
+					outputBufferSize);
+			irodsOutputStream = new GatheringChannelOutputStream(
+					socketChannel, outputBufferSize);
+
+		} catch (IOException ioe) {
+			log.error(
+					"io exception opening socket to:" + irodsAccount.getHost()
+							+ " port:" + irodsAccount.getPort(), ioe);
+			throw new JargonException(ioe);
+		}
+	}
+
+	/**
+	 * Close the channel, if open, during a failed connect
+	 */
+	private void closeChannelAndEatAnyExceptions() {
+		if (socketChannel != null) {
+			try {
+				socketChannel.close();
+			} catch (Exception e) {
+				// ignore
+			}
+		}
+	}
+
+	/**
+	 *
+	 */
+	void closeDownSocketAndEatAnyExceptions() {
+		if (isConnected()) {
+
+			log.debug("is connected for : {}", toString());
+			closeChannelAndEatAnyExceptions();
+			connected = false;
+			log.debug("now disconnected");
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.connection.AbstractConnection#shutdown()
+	 */
+	@Override
+	public void shutdown() throws JargonException {
+		log.debug("shutting down connection: {}", connected);
+		closeDownSocketAndEatAnyExceptions();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.connection.AbstractConnection#
+	 * obliterateConnectionAndDiscardErrors()
+	 */
+	@Override
+	public void obliterateConnectionAndDiscardErrors() {
+		closeDownSocketAndEatAnyExceptions();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("IRODSNIOTCPConnection []");
+		return builder.toString();
+	}
+
+}
@@ -0,0 +1,559 @@
+package org.irods.jargon.core.connection;
+
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.irods.jargon.core.exception.AuthenticationException;
+import org.irods.jargon.core.exception.JargonException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Protocol manager that keeps a bounded pool of authenticated connections per
+ * iRODS account, shared across all threads that use the {@link IRODSSession}.
+ * <p/>
+ * The <code>IRODSSession</code> still keeps a <code>ThreadLocal</code> cache
+ * of connections, so a connection obtained from this manager is leased to one
+ * thread until that thread closes its session. At that point the connection
+ * is returned here and handed to the next thread that asks for the same
+ * account, avoiding the cost of a new socket, handshake, and authentication.
+ * <p/>
+ * Connections are pooled by the complete set of credentials in the
+ * <code>IRODSAccount</code> (including a digest of the password), so two
+ * accounts that differ in any credential never share a connection. Each
+ * account has its own lock, so threads working with different accounts do not
+ * contend with each other.
+ * <p/>
+ * The pool for an account holds at most
+ * {@link JargonProperties#getConnectionPoolMaxPerAccount()} connections. When
+ * all of them are leased, a caller will wait up to
+ * {@link JargonProperties#getConnectionPoolMaxWaitMillis()} for a connection to
+ * be returned before a <code>JargonException</code> is thrown. Connections that
+ * are older than the socket renewal interval, or that are found to be
+ * disconnected, are closed rather than leased, and idle connections are
+ * periodically evicted on the same interval.
+ * <p/>
+ * Note that a pooled connection keeps the {@link PipelineConfiguration} that
+ * was in effect when it was created, and that any state held by the iRODS
+ * agent (such as open file descriptors) is carried with the connection, so
+ * callers should close any files and queries before closing the session.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class IRODSPooledProtocolManager extends IRODSProtocolManager {
+
+	private static final Logger log = LoggerFactory
+			.getLogger(IRODSPooledProtocolManager.class);
+
+	private final ConcurrentHashMap<String, AccountPool> accountPools = new ConcurrentHashMap<String, AccountPool>();
+	private final ConcurrentHashMap<AbstractIRODSMidLevelProtocol, AccountPool> leasedProtocols = new ConcurrentHashMap<AbstractIRODSMidLevelProtocol, AccountPool>();
+	private final ConnectionPoolMetrics connectionPoolMetrics = new ConnectionPoolMetrics();
+
+	/**
+	 * Evicts idle connections past the socket renewal interval, lazily created
+	 * on the first lease if a renewal interval is configured
+	 */
+	private ScheduledExecutorService evictionService = null;
+
+	public static IRODSPooledProtocolManager instance() {
+		return new IRODSPooledProtocolManager();
+	}
+
+	public IRODSPooledProtocolManager() {
+		log.info("creating pooled protocol manager");
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.irods.jargon.core.connection.IRODSProtocolManager#getIRODSProtocol
+	 * (org.irods.jargon.core.connection.IRODSAccount,
+	 * org.irods.jargon.core.connection.PipelineConfiguration,
+	 * org.irods.jargon.core.connection.IRODSSession)
+	 */
+	@Override
+	public AbstractIRODSMidLevelProtocol getIRODSProtocol(
+			final IRODSAccount irodsAccount,
+			final PipelineConfiguration pipelineConfiguration,
+			final IRODSSession irodsSession) throws AuthenticationException,
+			JargonException {
+
+		log.debug("leasing a pooled connection for account:{}", irodsAccount);
+
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		if (pipelineConfiguration == null) {
+			throw new IllegalArgumentException("null pipelineConfiguration");
+		}
+
+		if (irodsSession == null) {
+			throw new IllegalArgumentException("null irodsSession");
+		}
+
+		checkMidLevelProtocolFactory(irodsSession);
+		checkEvictionService(pipelineConfiguration);
+
+		JargonProperties jargonProperties = irodsSession.getJargonProperties();
+		int maxPerAccount = Math.max(1,
+				jargonProperties.getConnectionPoolMaxPerAccount());
+		long maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0,
+				jargonProperties.getConnectionPoolMaxWaitMillis()));
+
+		AccountPool accountPool = accountPoolFor(irodsAccount);
+		long startNanos = System.nanoTime();
+		long waitedNanos = 0;
+		boolean saturated = false;
+		boolean created = false;
+		AbstractIRODSMidLevelProtocol irodsMidLevelProtocol = null;
+
+		while (irodsMidLevelProtocol == null) {
+			List<AbstractIRODSMidLevelProtocol> stale = new ArrayList<AbstractIRODSMidLevelProtocol>();
+			boolean create = false;
+
+			accountPool.lock.lock();
+			try {
+				while (true) {
+					AbstractIRODSMidLevelProtocol candidate = accountPool.idle
+							.pollFirst();
+					if (candidate == null) {
+						break;
+					}
+					if (isReusable(candidate)) {
+						irodsMidLevelProtocol = candidate;
+						break;
+					}
+					accountPool.total--;
+					stale.add(candidate);
+				}
+
+				if (irodsMidLevelProtocol == null) {
+					if (accountPool.total < maxPerAccount) {
+						accountPool.total++;
+						create = true;
+					} else {
+						if (!saturated) {
+							saturated = true;
+							connectionPoolMetrics.recordSaturation();
+						}
+						long remainingNanos = maxWaitNanos
+								- (System.nanoTime() - startNanos);
+						if (remainingNanos <= 0) {
+							connectionPoolMetrics.recordTimeout();
+							log.error(
+									"connection pool exhausted for account:{}, max per account:{}",
+									irodsAccount, maxPerAccount);
+							throw new JargonException(
+									"connection pool exhausted, no connection available for account after waiting "
+											+ jargonProperties
+													.getConnectionPoolMaxWaitMillis()
+											+ " ms");
+						}
+						try {
+							accountPool.available.awaitNanos(remainingNanos);
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+							throw new JargonException(
+									"interrupted waiting for a pooled connection",
+									e);
+						}
+					}
+				}
+			} finally {
+				accountPool.lock.unlock();
+			}
+
+			evict(stale);
+
+			if (create) {
+				try {
+					irodsMidLevelProtocol = createNewProtocol(irodsAccount,
+							pipelineConfiguration, irodsSession);
+					created = true;
+				} finally {
+					if (irodsMidLevelProtocol == null) {
+						releaseSlot(accountPool);
+					}
+				}
+			}
+		}
+
+		if (saturated) {
+			waitedNanos = System.nanoTime() - startNanos;
+		}
+
+		leasedProtocols.put(irodsMidLevelProtocol, accountPool);
+		connectionPoolMetrics.recordLease(created, waitedNanos);
+		return irodsMidLevelProtocol;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.irods.jargon.core.connection.IRODSProtocolManager#returnIRODSProtocol
+	 * (org.irods.jargon.core.connection.AbstractIRODSMidLevelProtocol)
+	 */
+	@Override
+	public void returnIRODSProtocol(
+			final AbstractIRODSMidLevelProtocol irodsMidLevelProtocol)
+			throws JargonException {
+		log.debug("irodsMidLevelProtocol returned:{}", irodsMidLevelProtocol);
+
+		if (irodsMidLevelProtocol == null) {
+			throw new IllegalArgumentException("null irodsMidLevelProtocol");
+		}
+
+		AccountPool accountPool = leasedProtocols.remove(irodsMidLevelProtocol);
+		if (accountPool == null) {
+			log.warn("returned connection was not leased from the pool, shutting down");
+			irodsMidLevelProtocol.shutdown();
+			return;
+		}
+
+		boolean pooled = false;
+		accountPool.lock.lock();
+		try {
+			if (isReusable(irodsMidLevelProtocol)) {
+				accountPool.idle.addFirst(irodsMidLevelProtocol);
+				accountPool.available.signal();
+				pooled = true;
+			}
+		} finally {
+			accountPool.lock.unlock();
+		}
+
+		if (!pooled) {
+			log.debug("returned connection is not reusable, shutting down");
+			try {
+				irodsMidLevelProtocol.shutdown();
+			} finally {
+				releaseSlot(accountPool);
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.irods.jargon.core.connection.IRODSProtocolManager#returnWithForce
+	 * (org.irods.jargon.core.connection.AbstractIRODSMidLevelProtocol)
+	 */
+	@Override
+	protected void returnWithForce(
+			final AbstractIRODSMidLevelProtocol irodsMidLevelProtocol) {
+		super.returnWithForce(irodsMidLevelProtocol);
+		if (irodsMidLevelProtocol == null) {
+			return;
+		}
+
+		AccountPool accountPool = leasedProtocols.remove(irodsMidLevelProtocol);
+		if (accountPool != null) {
+			releaseSlot(accountPool);
+		}
+	}
+
+	/**
+	 * Close any idle connections that are no longer connected, or that are
+	 * older than the socket renewal interval. This is done periodically when a
+	 * socket renewal interval is configured, and may also be called directly.
+	 *
+	 * @return <code>int</code> with the number of connections that were closed
+	 */
+	public int evictIdleConnections() {
+		List<AbstractIRODSMidLevelProtocol> stale = new ArrayList<AbstractIRODSMidLevelProtocol>();
+		for (AccountPool accountPool : accountPools.values()) {
+			int evicted = 0;
+			accountPool.lock.lock();
+			try {
+				Iterator<AbstractIRODSMidLevelProtocol> iter = accountPool.idle
+						.iterator();
+				while (iter.hasNext()) {
+					AbstractIRODSMidLevelProtocol candidate = iter.next();
+					if (!isReusable(candidate)) {
+						iter.remove();
+						accountPool.total--;
+						stale.add(candidate);
+						evicted++;
+					}
+				}
+				if (evicted > 0) {
+					accountPool.available.signalAll();
+				}
+			} finally {
+				accountPool.lock.unlock();
+			}
+		}
+		evict(stale);
+		return stale.size();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.connection.IRODSProtocolManager#destroy()
+	 */
+	@Override
+	protected synchronized void destroy() throws JargonException {
+		log.info("destroy called, closing idle pooled connections");
+		if (evictionService != null) {
+			evictionService.shutdownNow();
+			evictionService = null;
+		}
+
+		for (AccountPool accountPool : accountPools.values()) {
+			List<AbstractIRODSMidLevelProtocol> idle = new ArrayList<AbstractIRODSMidLevelProtocol>();
+			accountPool.lock.lock();
+			try {
+				idle.addAll(accountPool.idle);
+				accountPool.total -= accountPool.idle.size();
+				accountPool.idle.clear();
+				accountPool.available.signalAll();
+			} finally {
+				accountPool.lock.unlock();
+			}
+			for (AbstractIRODSMidLevelProtocol irodsMidLevelProtocol : idle) {
+				irodsMidLevelProtocol.obliterateConnectionAndDiscardErrors();
+			}
+		}
+	}
+
+	/**
+	 * @return {@link ConnectionPoolMetrics} with running counters for this
+	 *         pool
+	 */
+	public ConnectionPoolMetrics getConnectionPoolMetrics() {
+		return connectionPoolMetrics;
+	}
+
+	/**
+	 * @return <code>int</code> with the number of connections currently leased
+	 *         from the pool across all accounts
+	 */
+	public int getLeasedConnectionCount() {
+		return leasedProtocols.size();
+	}
+
+	/**
+	 * @return <code>int</code> with the number of idle connections currently
+	 *         held in the pool across all accounts
+	 */
+	public int getIdleConnectionCount() {
+		int count = 0;
+		for (AccountPool accountPool : accountPools.values()) {
+			accountPool.lock.lock();
+			try {
+				count += accountPool.idle.size();
+			} finally {
+				accountPool.lock.unlock();
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Build the key that identifies the pool for an account. The key covers
+	 * every credential used to log in, with the password included only as a
+	 * digest, so that connections are never shared between different
+	 * credentials for the same user.
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} that will be pooled
+	 * @return <code>String</code> with the pool key
+	 * @throws JargonException
+	 */
+	static String buildPoolKey(final IRODSAccount irodsAccount)
+			throws JargonException {
+		StringBuilder sb = new StringBuilder();
+		sb.append(irodsAccount.getAuthenticationScheme());
+		sb.append('\u0000');
+		sb.append(irodsAccount.getHost());
+		sb.append('\u0000');
+		sb.append(irodsAccount.getPort());
+		sb.append('\u0000');
+		sb.append(irodsAccount.getZone());
+		sb.append('\u0000');
+		sb.append(irodsAccount.getUserName());
+		sb.append('\u0000');
+		sb.append(irodsAccount.getProxyName());
+		sb.append('\u0000');
+		sb.append(irodsAccount.getProxyZone());
+		sb.append('\u0000');
+		sb.append(irodsAccount.getDefaultStorageResource());
+		sb.append('\u0000');
+		if (irodsAccount instanceof GSIIRODSAccount) {
+			sb.append(((GSIIRODSAccount) irodsAccount).getDistinguishedName());
+		} else {
+			sb.append(digest(irodsAccount.getPassword()));
+		}
+		return sb.toString();
+	}
+
+	private static String digest(final String password) throws JargonException {
+		if (password == null) {
+			return "";
+		}
+
+		try {
+			MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+			byte[] hash = messageDigest.digest(password.getBytes("UTF-8"));
+			StringBuilder sb = new StringBuilder(hash.length * 2);
+			for (byte b : hash) {
+				sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+				sb.append(Character.forDigit(b & 0xF, 16));
+			}
+			return sb.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new JargonException("no SHA-256 digest available", e);
+		} catch (UnsupportedEncodingException e) {
+			throw new JargonException("unsupported encoding", e);
+		}
+	}
+
+	private AccountPool accountPoolFor(final IRODSAccount irodsAccount)
+			throws JargonException {
+		String key = buildPoolKey(irodsAccount);
+		AccountPool accountPool = accountPools.get(key);
+		if (accountPool == null) {
+			AccountPool newPool = new AccountPool();
+			accountPool = accountPools.putIfAbsent(key, newPool);
+			if (accountPool == null) {
+				accountPool = newPool;
+			}
+		}
+		return accountPool;
+	}
+
+	/**
+	 * Check whether a connection may be leased, it must still be connected,
+	 * and not be past the socket renewal interval
+	 */
+	private boolean isReusable(
+			final AbstractIRODSMidLevelProtocol irodsMidLevelProtocol) {
+		if (!irodsMidLevelProtocol.isConnected()) {
+			return false;
+		}
+
+		int renewalInterval = irodsMidLevelProtocol.getPipelineConfiguration()
+				.getSocketRenewalIntervalInSeconds();
+		// 0 means ignore
+		if (renewalInterval <= 0) {
+			return true;
+		}
+		long renewalWindow = irodsMidLevelProtocol.getConnectTimeInMillis()
+				+ renewalInterval * 1000L;
+		return System.currentTimeMillis() <= renewalWindow;
+	}
+
+	private void releaseSlot(final AccountPool accountPool) {
+		accountPool.lock.lock();
+		try {
+			accountPool.total--;
+			accountPool.available.signal();
+		} finally {
+			accountPool.lock.unlock();
+		}
+	}
+
+	/**
+	 * Shut down connections removed from the pool, outside of any pool lock
+	 */
+	private void evict(final List<AbstractIRODSMidLevelProtocol> stale) {
+		if (stale.isEmpty()) {
+			return;
+		}
+
+		connectionPoolMetrics.recordEvictions(stale.size());
+		for (AbstractIRODSMidLevelProtocol irodsMidLevelProtocol : stale) {
+			log.debug("evicting pooled connection:{}", irodsMidLevelProtocol);
+			try {
+				irodsMidLevelProtocol.shutdown();
+			} catch (Exception e) {
+				log.warn("error shutting down evicted connection, will obliterate", e);
+				irodsMidLevelProtocol.obliterateConnectionAndDiscardErrors();
+			}
+		}
+	}
+
+	private synchronized void checkEvictionService(
+			final PipelineConfiguration pipelineConfiguration) {
+		if (evictionService != null) {
+			return;
+		}
+
+		int renewalInterval = pipelineConfiguration
+				.getSocketRenewalIntervalInSeconds();
+		if (renewalInterval <= 0) {
+			return;
+		}
+
+		log.info("starting idle connection eviction every {} seconds",
+				renewalInterval);
+		evictionService = Executors
+				.newSingleThreadScheduledExecutor(new ThreadFactory() {
+					@Override
+					public Thread newThread(final Runnable runnable) {
+						Thread thread = new Thread(runnable,
+								"jargon-connection-pool-evictor");
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+		evictionService.scheduleWithFixedDelay(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					evictIdleConnections();
+				} catch (Exception e) {
+					log.error("error evicting idle connections", e);
+				}
+			}
+		}, renewalInterval, renewalInterval, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * This is an interim fix to initialize the mid level protocol factory
+	 *
+	 * @throws JargonException
+	 */
+	private synchronized void checkMidLevelProtocolFactory(
+			final IRODSSession irodsSession) throws JargonException {
+		if (getIrodsMidLevelProtocolFactory() == null) {
+			IRODSConnectionFactory irodsConnectionFactory = getIrodsConnectionFactoryProducingFactory()
+					.instance(irodsSession.getJargonProperties());
+
+			setIrodsMidLevelProtocolFactory(new IRODSMidLevelProtocolFactory(
+					irodsConnectionFactory, getAuthenticationFactory()));
+		}
+	}
+
+	/**
+	 * Connections for one account, guarded by a lock private to that account
+	 */
+	private static final class AccountPool {
+		private final ReentrantLock lock = new ReentrantLock();
+		private final Condition available = lock.newCondition();
+		private final ArrayDeque<AbstractIRODSMidLevelProtocol> idle = new ArrayDeque<AbstractIRODSMidLevelProtocol>();
+		/**
+		 * Connections leased plus idle, plus those being created
+		 */
+		private int total = 0;
+	}
+
+}
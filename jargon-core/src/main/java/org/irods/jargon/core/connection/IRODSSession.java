@@ -3,12 +3,18 @@
  */
 package org.irods.jargon.core.connection;
 
+import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 import javax.net.ssl.X509TrustManager;
 
@@ -47,7 +53,9 @@ import org.slf4j.LoggerFactory;
  * Connections are returned to the particular <code>IRODSProtocolManager</code>
  * for disposal or return to cache or pool. See the comments for
  * {@link IRODSMidLevelProtocol} for details on connection creation and
- * disposal.
+ * disposal. When an {@link IRODSPooledProtocolManager} is used, the
+ * connection held in the <code>ThreadLocal</code> is leased from a pool shared
+ * by all threads, and closing the session returns it to that pool.
  * <p/>
  * <code>IRODSSession</code> is also the place where shared, expensive objects
  * are kept. Note that IRODSSession is not coded as a singleton. It is up to the
@@ -131,14 +139,57 @@ public class IRODSSession {
 
 	/**
 	 * General configuration properties for operation of jargon, buffer sizes,
-	 * thread counts, etc.
+	 * thread counts, etc. This is volatile so that it can be read without
+	 * holding a monitor on the session.
 	 */
-	private JargonProperties jargonProperties;
+	private volatile JargonProperties jargonProperties;
+
+	/**
+	 * Guards the lazy creation of the parallel transfer thread pool
+	 */
+	private final ReentrantLock parallelTransferThreadPoolLock = new ReentrantLock();
+
+	/**
+	 * Replacement connections being opened in the background, keyed by the
+	 * connection they will replace
+	 */
+	private final Map<AbstractIRODSMidLevelProtocol, PendingConnectionRenewal> pendingRenewals = new ConcurrentHashMap<AbstractIRODSMidLevelProtocol, PendingConnectionRenewal>();
+
+	/**
+	 * Helper threads that open replacement connections, lazily created on the
+	 * first background renewal
+	 */
+	private ExecutorService connectionRenewalExecutor = null;
+
+	/**
+	 * Guards the lazy creation of the connection renewal executor
+	 */
+	private final ReentrantLock connectionRenewalExecutorLock = new ReentrantLock();
+
+	private final ConnectionRenewalMetrics connectionRenewalMetrics = new ConnectionRenewalMetrics();
+
+	/**
+	 * Cache of the <code>ObjStat</code> of paths looked up on this session,
+	 * used when configured in the jargon properties
+	 */
+	private final ObjStatCache objStatCache = new ObjStatCache();
+
+	/**
+	 * Helper threads that fetch the next page of a query being iterated,
+	 * lazily created on the first prefetch
+	 */
+	private ExecutorService queryPrefetchExecutor = null;
+
+	/**
+	 * Guards the lazy creation of the query prefetch executor
+	 */
+	private final ReentrantLock queryPrefetchExecutorLock = new ReentrantLock();
 
 	/**
 	 * Factory to return a checksum computation strategy
 	 */
-	private final LocalChecksumComputerFactory localChecksumComputerFactory = new LocalChecksumComputerFactoryImpl();
+	private final LocalChecksumComputerFactory localChecksumComputerFactory = new LocalChecksumComputerFactoryImpl(
+			this);
 
 	/**
 	 * Simple cache (tolerating concurrent access) for name/value props. This
@@ -164,9 +215,7 @@ public class IRODSSession {
 	 * @return {@link JargonProperties} with configuration metadata.
 	 */
 	public JargonProperties getJargonProperties() {
-		synchronized (this) {
-			return jargonProperties;
-		}
+		return jargonProperties;
 	}
 
 	/**
@@ -181,10 +230,7 @@ public class IRODSSession {
 	 */
 	public TransferControlBlock buildDefaultTransferControlBlockBasedOnJargonProperties() throws JargonException {
 		TransferControlBlock transferControlBlock = DefaultTransferControlBlock.instance();
-		synchronized (this) {
-
-			transferControlBlock.setTransferOptions(buildTransferOptionsBasedOnJargonProperties());
-		}
+		transferControlBlock.setTransferOptions(buildTransferOptionsBasedOnJargonProperties());
 		return transferControlBlock;
 	}
 
@@ -196,11 +242,7 @@ public class IRODSSession {
 	 *         properties to control i/o behavior of Jargon
 	 */
 	public PipelineConfiguration buildPipelineConfigurationBasedOnJargonProperties() {
-
-		synchronized (this) {
-			return PipelineConfiguration.instance(jargonProperties);
-		}
-
+		return PipelineConfiguration.instance(jargonProperties);
 	}
 
 	/**
@@ -214,21 +256,22 @@ public class IRODSSession {
 	public TransferOptions buildTransferOptionsBasedOnJargonProperties() {
 
 		TransferOptions transferOptions = new TransferOptions();
-		synchronized (this) {
-			transferOptions.setMaxThreads(jargonProperties.getMaxParallelThreads());
-			transferOptions.setUseParallelTransfer(jargonProperties.isUseParallelTransfer());
-			transferOptions.setAllowPutGetResourceRedirects(jargonProperties.isAllowPutGetResourceRedirects());
-			transferOptions.setComputeAndVerifyChecksumAfterTransfer(
-					jargonProperties.isComputeAndVerifyChecksumAfterTransfer());
-			transferOptions.setComputeChecksumAfterTransfer(jargonProperties.isComputeChecksumAfterTransfer());
-			transferOptions.setIntraFileStatusCallbacks(jargonProperties.isIntraFileStatusCallbacks());
-			transferOptions.setIntraFileStatusCallbacksNumberCallsInterval(
-					jargonProperties.getIntraFileStatusCallbacksNumberCallsInterval());
-			transferOptions.setIntraFileStatusCallbacksTotalBytesInterval(
-					jargonProperties.getIntraFileStatusCallbacksTotalBytesInterval());
-			transferOptions.setChecksumEncoding(jargonProperties.getChecksumEncoding());
-
-		}
+		final JargonProperties jargonProperties = getJargonProperties();
+		transferOptions.setMaxThreads(jargonProperties.getMaxParallelThreads());
+		transferOptions.setUseParallelTransfer(jargonProperties.isUseParallelTransfer());
+		transferOptions.setAllowPutGetResourceRedirects(jargonProperties.isAllowPutGetResourceRedirects());
+		transferOptions.setComputeAndVerifyChecksumAfterTransfer(
+				jargonProperties.isComputeAndVerifyChecksumAfterTransfer());
+		transferOptions.setComputeChecksumAfterTransfer(jargonProperties.isComputeChecksumAfterTransfer());
+		transferOptions.setIntraFileStatusCallbacks(jargonProperties.isIntraFileStatusCallbacks());
+		transferOptions.setIntraFileStatusCallbacksNumberCallsInterval(
+				jargonProperties.getIntraFileStatusCallbacksNumberCallsInterval());
+		transferOptions.setIntraFileStatusCallbacksTotalBytesInterval(
+				jargonProperties.getIntraFileStatusCallbacksTotalBytesInterval());
+		transferOptions.setChecksumEncoding(jargonProperties.getChecksumEncoding());
+		transferOptions.setRecursiveTransferConcurrency(jargonProperties.getRecursiveTransferConcurrency());
+		transferOptions.setBundleSmallFilesOnPut(jargonProperties.isBundleSmallFilesOnPut());
+		transferOptions.setSegmentedGetThreads(jargonProperties.getSegmentedGetThreads());
 
 		log.debug("transfer options based on properties:{}", transferOptions);
 
@@ -254,6 +297,7 @@ public class IRODSSession {
 		for (AbstractIRODSMidLevelProtocol irodsMidLevelProtocol : irodsProtocols.values()) {
 			log.debug("found and am closing connection to : {}", irodsMidLevelProtocol.getIrodsAccount().toString());
 			// irodsMidLevelProtocol.disconnect();
+			abandonPendingRenewal(irodsMidLevelProtocol);
 			getIrodsProtocolManager().returnIRODSProtocol(irodsMidLevelProtocol);
 			// I don't remove from the map because the map is just going to be
 			// set to null in the ThreadLocal below
@@ -392,6 +436,7 @@ public class IRODSSession {
 			log.warn(
 					"***************** session has a connection marked closed, create a new one and put back into the cache:{}",
 					irodsProtocol);
+			abandonPendingRenewal(irodsProtocol);
 			irodsProtocol = connectAndAddToProtocolsMap(irodsAccount, irodsProtocols);
 		}
 
@@ -403,6 +448,13 @@ public class IRODSSession {
 	 * using the existing credentials. This is used to seamlessly renew a socket
 	 * during operations 'under the covers', for operations like long running
 	 * transfers that may time out.
+	 * <p/>
+	 * When background renewal is configured, a connection past the renewal
+	 * interval keeps being returned while a replacement is opened on a helper
+	 * thread. Once the replacement is connected and authenticated, the next
+	 * call swaps it into the session for this thread and returns the old
+	 * connection, which is not in use between calls, to the protocol manager.
+	 * If the replacement cannot be opened, the connection is renewed inline.
 	 *
 	 * @param irodsAccount
 	 *            {@link IRODSAccount}
@@ -423,28 +475,33 @@ public class IRODSSession {
 
 		log.info("evaluate conn for renewal:{}", irodsAccount);
 
-		boolean shutdown = evaluateConnectionForRenewal(irodsMidLevelProtocol);
-		if (!shutdown) {
+		if (!isDueForRenewal(irodsMidLevelProtocol)) {
 			return irodsMidLevelProtocol;
-		} else {
-			log.info("return a refreshed connection");
-			return currentConnection(irodsAccount);
 		}
 
+		if (getJargonProperties().isBackgroundConnectionRenewal()) {
+			AbstractIRODSMidLevelProtocol renewed = renewConnectionInBackground(irodsAccount, irodsMidLevelProtocol);
+			if (renewed != null) {
+				return renewed;
+			}
+		}
+
+		log.debug("renewing:{}", irodsMidLevelProtocol);
+		closeSession(irodsAccount);
+		log.info("return a refreshed connection");
+		return currentConnection(irodsAccount);
+
 	}
 
 	/**
 	 * Based on the configured properties, evaluate the age of the current
-	 * connection and potentially renew the connection if necessary.
+	 * connection
 	 *
 	 * @param irodsMidLevelProtocol
 	 * @return <code>boolean</code> that will be <code>true</code> if the conn
-	 *         was shut down
-	 * @throws AuthenticationException
-	 * @throws JargonException
+	 *         is past the renewal interval
 	 */
-	private boolean evaluateConnectionForRenewal(final AbstractIRODSMidLevelProtocol irodsMidLevelProtocol)
-			throws AuthenticationException, JargonException {
+	private boolean isDueForRenewal(final AbstractIRODSMidLevelProtocol irodsMidLevelProtocol) {
 
 		int renewalInterval = irodsMidLevelProtocol.getPipelineConfiguration().getSocketRenewalIntervalInSeconds();
 		// 0 means ignore
@@ -454,43 +511,202 @@ public class IRODSSession {
 		// compute a window based on time of connection...restart?
 		long renewalWindow = irodsMidLevelProtocol.getConnectTimeInMillis() + renewalInterval * 1000;
 		long currTime = System.currentTimeMillis();
-		if (currTime > renewalWindow) {
-			log.debug("renewing:{}", irodsMidLevelProtocol);
-			this.closeSession(irodsMidLevelProtocol.getIrodsAccount());
-			return true;
-		} else {
-			return false;
+		return currTime > renewalWindow;
+	}
+
+	/**
+	 * Start, check on, or complete the background renewal of a connection
+	 * past the renewal interval.
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} that is the key for the connection
+	 * @param irodsMidLevelProtocol
+	 *            {@link AbstractIRODSMidLevelProtocol} due for renewal
+	 * @return {@link AbstractIRODSMidLevelProtocol} to use for this call,
+	 *         either the old connection or its replacement, or
+	 *         <code>null</code> if the connection should be renewed inline
+	 * @throws JargonException
+	 */
+	private AbstractIRODSMidLevelProtocol renewConnectionInBackground(final IRODSAccount irodsAccount,
+			final AbstractIRODSMidLevelProtocol irodsMidLevelProtocol) throws JargonException {
+
+		PendingConnectionRenewal pendingRenewal = pendingRenewals.get(irodsMidLevelProtocol);
+
+		if (pendingRenewal == null) {
+			log.debug("starting background renewal of:{}", irodsMidLevelProtocol);
+			pendingRenewal = new PendingConnectionRenewal(this, irodsAccount);
+			try {
+				getConnectionRenewalExecutor().execute(pendingRenewal);
+			} catch (RejectedExecutionException e) {
+				log.warn("background renewal rejected, renew inline", e);
+				return null;
+			}
+			pendingRenewals.put(irodsMidLevelProtocol, pendingRenewal);
+			return irodsMidLevelProtocol;
+		}
+
+		if (!pendingRenewal.isDone()) {
+			log.debug("replacement not ready, continue with current connection");
+			return irodsMidLevelProtocol;
+		}
+
+		pendingRenewals.remove(irodsMidLevelProtocol);
+		AbstractIRODSMidLevelProtocol replacement = pendingRenewal.getReplacement();
+		if (replacement == null) {
+			log.warn("background renewal failed, renew inline", pendingRenewal.getFailure());
+			connectionRenewalMetrics.recordFailure();
+			return null;
+		}
+
+		log.debug("swapping in renewed connection:{}", replacement);
+		Map<String, AbstractIRODSMidLevelProtocol> irodsProtocols = sessionMap.get();
+		irodsProtocols.put(irodsAccount.toString(), replacement);
+		connectionRenewalMetrics.recordRenewal(pendingRenewal.getRenewalNanos());
+
+		try {
+			getIrodsProtocolManager().returnIRODSProtocol(irodsMidLevelProtocol);
+		} catch (JargonException e) {
+			log.warn("error returning renewed connection, ignored", e);
+		}
+
+		return replacement;
+	}
+
+	/**
+	 * Abandon any background renewal of the given connection, as it is being
+	 * closed
+	 *
+	 * @param irodsMidLevelProtocol
+	 *            {@link AbstractIRODSMidLevelProtocol} being closed
+	 */
+	private void abandonPendingRenewal(final AbstractIRODSMidLevelProtocol irodsMidLevelProtocol) {
+		PendingConnectionRenewal pendingRenewal = pendingRenewals.remove(irodsMidLevelProtocol);
+		if (pendingRenewal != null) {
+			log.debug("abandoning background renewal of:{}", irodsMidLevelProtocol);
+			pendingRenewal.abandon();
+		}
+	}
+
+	/**
+	 * Lazily create the executor for background connection renewal
+	 *
+	 * @return <code>ExecutorService</code> of daemon helper threads
+	 */
+	private ExecutorService getConnectionRenewalExecutor() {
+		connectionRenewalExecutorLock.lock();
+		try {
+			if (connectionRenewalExecutor == null) {
+				log.info("creating the connection renewal executor");
+				connectionRenewalExecutor = Executors.newCachedThreadPool(new ThreadFactory() {
+					@Override
+					public Thread newThread(final Runnable runnable) {
+						Thread thread = new Thread(runnable, "jargon-connection-renewal");
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+			}
+			return connectionRenewalExecutor;
+		} finally {
+			connectionRenewalExecutorLock.unlock();
 		}
 	}
 
 	/**
+	 * Get the counters describing background connection renewal
+	 *
+	 * @return {@link ConnectionRenewalMetrics}
+	 */
+	public ConnectionRenewalMetrics getConnectionRenewalMetrics() {
+		return connectionRenewalMetrics;
+	}
+
+	/**
+	 * Get the cache of the <code>ObjStat</code> of paths looked up on this
+	 * session. It is only used when <code>use.objstat.cache</code> is set in
+	 * the jargon properties, and holds its hit and miss counters.
+	 *
+	 * @return {@link ObjStatCache}
+	 */
+	public ObjStatCache getObjStatCache() {
+		return objStatCache;
+	}
+
+	/**
+	 * Get the executor whose daemon threads fetch the next page of a GenQuery
+	 * while a <code>GenQueryResultIterator</code> hands out the current one.
+	 * It is lazily created on first use.
+	 *
+	 * @return <code>ExecutorService</code> of daemon helper threads
+	 */
+	public ExecutorService getQueryPrefetchExecutor() {
+		queryPrefetchExecutorLock.lock();
+		try {
+			if (queryPrefetchExecutor == null) {
+				log.info("creating the query prefetch executor");
+				queryPrefetchExecutor = Executors.newCachedThreadPool(new ThreadFactory() {
+					@Override
+					public Thread newThread(final Runnable runnable) {
+						Thread thread = new Thread(runnable, "jargon-query-prefetch");
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+			}
+			return queryPrefetchExecutor;
+		} finally {
+			queryPrefetchExecutorLock.unlock();
+		}
+	}
+
+	/**
+	 * Open a connection for the given account from the protocol manager,
+	 * without adding it to the session. This may be called from any thread.
+	 *
 	 * @param irodsAccount
-	 * @param irodsProtocols
-	 * @return
+	 *            {@link IRODSAccount} for the connection
+	 * @return {@link AbstractIRODSMidLevelProtocol} that is connected and
+	 *         authenticated
 	 * @throws JargonException
 	 */
-	private AbstractIRODSMidLevelProtocol connectAndAddToProtocolsMap(final IRODSAccount irodsAccount,
-			final Map<String, AbstractIRODSMidLevelProtocol> irodsProtocols) throws JargonException {
-		AbstractIRODSMidLevelProtocol irodsProtocol;
-		irodsProtocol = irodsProtocolManager.getIRODSProtocol(irodsAccount,
+	AbstractIRODSMidLevelProtocol openIRODSProtocol(final IRODSAccount irodsAccount) throws JargonException {
+		AbstractIRODSMidLevelProtocol irodsProtocol = irodsProtocolManager.getIRODSProtocol(irodsAccount,
 				buildPipelineConfigurationBasedOnJargonProperties(), this);
 		if (irodsProtocol == null) {
 			log.error("no connection returned from connection manager");
 			throw new JargonRuntimeException("null connection returned from connection manager");
 		}
 
-		// irodsProtocol.setIrodsSession(this);
-		irodsProtocols.put(irodsAccount.toString(), irodsProtocol);
-
 		/*
 		 * check for GSI and add user info, consider factoring out to a 'post
 		 * processor' MC
 		 */
 		if (irodsAccount.getAuthenticationScheme() == AuthScheme.GSI) {
 			log.debug("adding user information to iRODS account for GSI");
-			addUserInfoForGSIAccount(irodsAccount, irodsProtocol);
+			try {
+				addUserInfoForGSIAccount(irodsAccount, irodsProtocol);
+			} catch (JargonException e) {
+				getIrodsProtocolManager().returnWithForce(irodsProtocol);
+				throw e;
+			}
 		}
 
+		return irodsProtocol;
+	}
+
+	/**
+	 * @param irodsAccount
+	 * @param irodsProtocols
+	 * @return
+	 * @throws JargonException
+	 */
+	private AbstractIRODSMidLevelProtocol connectAndAddToProtocolsMap(final IRODSAccount irodsAccount,
+			final Map<String, AbstractIRODSMidLevelProtocol> irodsProtocols) throws JargonException {
+		AbstractIRODSMidLevelProtocol irodsProtocol = openIRODSProtocol(irodsAccount);
+
+		// irodsProtocol.setIrodsSession(this);
+		irodsProtocols.put(irodsAccount.toString(), irodsProtocol);
+
 		log.debug("put a reference to a new connection for account: {}", irodsAccount.toString());
 		sessionMap.set(irodsProtocols);
 		log.debug("returned new connection:{}", irodsProtocol);
@@ -587,6 +803,7 @@ public class IRODSSession {
 		}
 		log.debug("found and am closing connection to : {}", irodsAccount.toString());
 
+		abandonPendingRenewal(irodsMidLevelProtocol);
 		getIrodsProtocolManager().returnIRODSProtocol(irodsMidLevelProtocol);
 
 		irodsProtocols.remove(irodsAccount.toString());
@@ -618,6 +835,7 @@ public class IRODSSession {
 		AbstractIRODSMidLevelProtocol badConnection;
 		badConnection = irodsProtocols.get(irodsAccount.toString());
 		if (badConnection != null) {
+			abandonPendingRenewal(badConnection);
 			getIrodsProtocolManager().returnWithForce(badConnection);
 			irodsProtocols.remove(irodsAccount.toString());
 		}
@@ -663,18 +881,29 @@ public class IRODSSession {
 	 */
 	public ExecutorService getParallelTransferThreadPool() throws JargonException {
 		log.debug("getting the ParallelTransferThreadPool");
-		synchronized (this) {
+		final JargonProperties jargonProperties = getJargonProperties();
 
-			if (!jargonProperties.isUseTransferThreadsPool()) {
-				log.debug("I am not using the parallel transfer threads pool, return null");
-				return null;
-			}
+		if (!jargonProperties.isUseTransferThreadsPool()) {
+			log.debug("I am not using the parallel transfer threads pool, return null");
+			return null;
+		}
+
+		parallelTransferThreadPoolLock.lock();
+		try {
 
 			if (parallelTransferThreadPool != null) {
 				log.debug("returning already created ParallelTransferThreadPool");
 				return parallelTransferThreadPool;
 			}
 
+			if (jargonProperties.isUseVirtualThreadsForTransferThreadsPool()) {
+				parallelTransferThreadPool = createVirtualThreadPerTaskExecutor();
+				if (parallelTransferThreadPool != null) {
+					log.debug("parallelTransferThreadPool created with virtual threads");
+					return parallelTransferThreadPool;
+				}
+			}
+
 			int poolSize = jargonProperties.getTransferThreadPoolMaxSimultaneousTransfers()
 					* jargonProperties.getMaxParallelThreads();
 			int maxParallelThreads = jargonProperties.getMaxParallelThreads();
@@ -690,6 +919,29 @@ public class IRODSSession {
 
 			log.debug("parallelTransferThreadPool created");
 			return parallelTransferThreadPool;
+		} finally {
+			parallelTransferThreadPoolLock.unlock();
+		}
+	}
+
+	/**
+	 * Create an executor that starts a new virtual thread for each task. Jargon
+	 * is built for Java 8, so the JDK 21 factory method is looked up
+	 * reflectively.
+	 *
+	 * @return {@link ExecutorService} using virtual threads, or
+	 *         <code>null</code> if the JVM does not support virtual threads
+	 */
+	static ExecutorService createVirtualThreadPerTaskExecutor() {
+		try {
+			Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) method.invoke(null);
+		} catch (NoSuchMethodException e) {
+			log.warn("virtual threads are not supported by this JVM, using platform threads for transfers");
+			return null;
+		} catch (Exception e) {
+			log.warn("unable to create virtual thread executor, using platform threads for transfers", e);
+			return null;
 		}
 	}
 
@@ -700,9 +952,7 @@ public class IRODSSession {
 	 *            the jargonProperties to set
 	 */
 	public void setJargonProperties(final JargonProperties jargonProperties) {
-		synchronized (this) {
-			this.jargonProperties = jargonProperties;
-		}
+		this.jargonProperties = jargonProperties;
 	}
 
 	/**
@@ -4,6 +4,7 @@ import org.irods.jargon.core.connection.ClientServerNegotiationPolicy.SslNegotia
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.protovalues.ChecksumEncodingEnum;
 import org.irods.jargon.core.protovalues.EncryptionAlgorithmEnum;
+import org.irods.jargon.core.transfer.ParallelLocalIOStrategyEnum;
 import org.irods.jargon.core.pub.CollectionAndDataObjectListAndSearchAO;
 
 /**
@@ -482,8 +483,9 @@ public interface JargonProperties {
 
 	/**
 	 * Get the type of networking layer that will be used in the low level
-	 * connections to iRODS (currently the values are limited to 'tcp'). If no
-	 * property is found, then 'tcp' will be defaulted.
+	 * connections to iRODS, either 'tcp' for the default socket layer or 'nio'
+	 * for a <code>SocketChannel</code> layer that uses gathering writes and
+	 * scattering reads. If no property is found, then 'tcp' will be defaulted.
 	 *
 	 * @return <code>String</code>
 	 */
@@ -559,4 +561,316 @@ public interface JargonProperties {
 	 */
 	boolean isBypassSslCertChecks();
 
-}
\ No newline at end of file
+	/**
+	 * Indicates whether packing instructions are serialized, along with their
+	 * header, directly into a reusable per-connection buffer, rather than
+	 * rendered as a <code>String</code> and then encoded. Setting this to
+	 * <code>false</code> restores the original behavior.
+	 *
+	 * @return <code>boolean</code> that is <code>true</code> if direct
+	 *         serialization is used
+	 */
+	boolean isDirectPackingInstructionSerialization();
+
+	/**
+	 * Get the maximum number of requests in a batch that will be written to a
+	 * connection before their responses are read. A value of 1 or less sends
+	 * each request of a batch as a normal round trip.
+	 *
+	 * @return <code>int</code> with the number of pipelined requests in flight
+	 */
+	int getPipelinedRequestWindowSize();
+
+	/**
+	 * Indicates whether an <code>IRODSFileSystem</code> created with default
+	 * settings leases connections from a shared pool rather than opening a
+	 * connection per thread. See {@link IRODSPooledProtocolManager}
+	 *
+	 * @return <code>boolean</code> that is <code>true</code> if connections are
+	 *         pooled
+	 */
+	boolean isUseConnectionPool();
+
+	/**
+	 * Get the maximum number of connections, leased and idle, that the
+	 * connection pool will hold for one <code>IRODSAccount</code>
+	 *
+	 * @return <code>int</code> with the maximum number of pooled connections
+	 *         per account
+	 */
+	int getConnectionPoolMaxPerAccount();
+
+	/**
+	 * Get the time to wait for a connection to be returned to a saturated
+	 * pool before failing, in milliseconds
+	 *
+	 * @return <code>long</code> with the maximum wait in milliseconds
+	 */
+	long getConnectionPoolMaxWaitMillis();
+
+	/**
+	 * Indicates whether the parallel transfer executor in the
+	 * {@link IRODSSession} runs each transfer thread on a virtual thread. This
+	 * is honored only when the pool is in use and the JVM supports virtual
+	 * threads, otherwise the bounded platform thread pool is used.
+	 *
+	 * @return <code>boolean</code> that is <code>true</code> if virtual threads
+	 *         should be used for parallel transfer threads
+	 */
+	boolean isUseVirtualThreadsForTransferThreadsPool();
+
+	/**
+	 * Indicates whether a connection that has passed the socket renewal interval
+	 * is replaced by a connection opened on a helper thread, rather than being
+	 * closed and reopened inline by the request that notices it. See
+	 * {@link IRODSSession#currentConnectionCheckRenewalOfSocket(IRODSAccount)}
+	 *
+	 * @return <code>boolean</code> that is <code>true</code> if renewal is done
+	 *         in the background
+	 */
+	boolean isBackgroundConnectionRenewal();
+
+	/**
+	 * Get the number of files of a recursive get or put that may be in flight
+	 * at the same time, each on its own connection. A value of 1 (the default)
+	 * keeps the sequential, depth-first behavior. This is the default for
+	 * {@link org.irods.jargon.core.packinstr.TransferOptions}, and may be
+	 * overridden for an individual transfer there.
+	 *
+	 * @return <code>int</code> with the number of concurrent file transfers in a
+	 *         recursive get or put
+	 */
+	int getRecursiveTransferConcurrency();
+
+	/**
+	 * Indicates whether a recursive put packs the small files of each directory
+	 * into a tar bundle that is sent as one data object and extracted on the
+	 * server, rather than putting each small file on its own. This is the default
+	 * for {@link org.irods.jargon.core.packinstr.TransferOptions}, and may be
+	 * overridden for an individual transfer there.
+	 *
+	 * @return <code>boolean</code> that is <code>true</code> if small files are
+	 *         bundled in a recursive put
+	 */
+	boolean isBundleSmallFilesOnPut();
+
+	/**
+	 * Get the size in bytes at or below which a file is bundled when
+	 * {@link #isBundleSmallFilesOnPut()} is set. Larger files are put on their
+	 * own.
+	 *
+	 * @return <code>long</code> with the largest file size that is bundled
+	 */
+	long getBundleSmallFileMaxSize();
+
+	/**
+	 * Get the size in bytes of file data after which a bundle of small files is
+	 * closed and sent, and a new bundle started.
+	 *
+	 * @return <code>long</code> with the target size of a bundle
+	 */
+	long getBundleMaxSize();
+
+	/**
+	 * Get the least number of small files in a directory worth bundling. Fewer
+	 * small files than this are put on their own, as the bundle and extraction
+	 * cost more than the puts saved.
+	 *
+	 * @return <code>int</code> with the minimum number of files in a bundle
+	 */
+	int getBundleMinFiles();
+
+	/**
+	 * Get the way the threads of a parallel transfer read and write the local
+	 * file.
+	 *
+	 * @return {@link ParallelLocalIOStrategyEnum} for local file i/o in parallel
+	 *         transfers
+	 */
+	ParallelLocalIOStrategyEnum getParallelLocalIOStrategy();
+
+	/**
+	 * Get the number of connections used by a client driven segmented get
+	 * of a large data object. Each connection opens the data object and reads
+	 * ranges of it with seek and read calls, independent of the number of
+	 * threads the server offers for a parallel transfer. A value of 0 leaves
+	 * large gets to the server driven parallel transfer.
+	 *
+	 * @return <code>int</code> with the number of connections for a segmented
+	 *         get, or 0 if segmented gets are not done
+	 */
+	int getSegmentedGetThreads();
+
+	/**
+	 * Get the size in bytes at or above which a data object is fetched with a
+	 * segmented get when {@link #getSegmentedGetThreads()} is more than 1
+	 *
+	 * @return <code>long</code> with the smallest data object size fetched with
+	 *         a segmented get
+	 */
+	long getSegmentedGetMinLength();
+
+	/**
+	 * Get the size in bytes of the ranges of a data object that the connections
+	 * of a segmented get take in turn. Smaller ranges spread the work more
+	 * evenly between connections of differing speed.
+	 *
+	 * @return <code>long</code> with the size of a segment
+	 */
+	long getSegmentedGetSegmentSize();
+
+	/**
+	 * Get whether the number of threads requested for a parallel transfer,
+	 * and the buffer size each thread copies with, are tuned from the throughput
+	 * of earlier parallel transfers to the same host and resource. Learned
+	 * settings are kept in the {@link DiscoveredServerPropertiesCache}, so this
+	 * requires {@link #isUsingDiscoveredServerPropertiesCache()}.
+	 *
+	 * @return <code>boolean</code> that is <code>true</code> if parallel transfers
+	 *         are tuned adaptively
+	 */
+	boolean isAdaptiveParallelTransfer();
+
+	/**
+	 * Get the most threads adaptive tuning will request for a parallel
+	 * transfer. Tuning starts from {@link #getMaxParallelThreads()}.
+	 *
+	 * @return <code>int</code> with the upper bound on tuned threads
+	 */
+	int getAdaptiveParallelMaxThreads();
+
+	/**
+	 * Get the largest copy buffer, in bytes, adaptive tuning will use for a
+	 * parallel transfer thread. Tuning starts from
+	 * {@link #getParallelCopyBufferSize()}.
+	 *
+	 * @return <code>int</code> with the upper bound on the tuned buffer size
+	 */
+	int getAdaptiveParallelMaxBufferSize();
+
+	/**
+	 * Get the bytes a parallel transfer thread moves before its progress is
+	 * saved to the restart manager, when long file restart is on. Progress is
+	 * also saved at the end of each segment and after
+	 * {@link #getRestartCheckpointIntervalMillis()}.
+	 *
+	 * @return <code>long</code> with the bytes moved between restart checkpoints
+	 */
+	long getRestartCheckpointBytes();
+
+	/**
+	 * Get the longest time, in milliseconds, a parallel transfer thread holds
+	 * progress before saving it to the restart manager, when long file restart
+	 * is on
+	 *
+	 * @return <code>int</code> with the milliseconds between restart checkpoints
+	 */
+	int getRestartCheckpointIntervalMillis();
+
+	/**
+	 * Should the local checksum verified after a transfer be computed from the
+	 * data as it passes through the transfer, rather than by reading the local
+	 * file again once the transfer is done
+	 *
+	 * @return <code>boolean</code> of <code>true</code> if the checksum is
+	 *         computed during the transfer
+	 */
+	boolean isChecksumDuringTransfer();
+
+	/**
+	 * Get the most bytes held in memory by a checksum computed during a parallel
+	 * transfer while it waits for earlier parts of the file. Data arriving out of
+	 * order beyond this is read back from the local file at the end.
+	 *
+	 * @return <code>long</code> with the bytes that may be held
+	 */
+	long getChecksumDuringTransferPendingBytes();
+
+	/**
+	 * Longest time, in milliseconds, that a file returned by
+	 * <code>IRODSFile.listFilesWithObjStat()</code> answers
+	 * <code>exists()</code>, <code>isDirectory()</code>, <code>isFile()</code>,
+	 * <code>length()</code> and <code>lastModified()</code> from the
+	 * <code>ObjStat</code> built from the listing, rather than asking iRODS.
+	 * After this the file asks iRODS as any other file does. 0 means always ask
+	 * iRODS.
+	 *
+	 * @return <code>long</code> with the age in milliseconds
+	 */
+	long getListingObjStatMaxAgeMillis();
+
+	/**
+	 * Size in bytes of the pages of a data object an
+	 * <code>IRODSRandomAccessFile</code> reads from iRODS and keeps, so that
+	 * small reads near each other are answered without a call to iRODS. Reads of
+	 * at least this size go straight to iRODS.
+	 *
+	 * @return <code>int</code> with the page size in bytes
+	 */
+	int getRandomAccessPageSize();
+
+	/**
+	 * Number of pages each <code>IRODSRandomAccessFile</code> keeps, the least
+	 * recently used page being dropped to make room for another. 0 turns off the
+	 * read cache.
+	 *
+	 * @return <code>int</code> with the number of pages
+	 */
+	int getRandomAccessCachePages();
+
+	/**
+	 * Bytes of consecutive small writes an <code>IRODSRandomAccessFile</code>
+	 * gathers before sending them to iRODS in one call. They are also sent before
+	 * a read of the data, when writing moves elsewhere in the file, and on
+	 * <code>flush()</code> and <code>close()</code>. 0 sends each write as it is
+	 * made.
+	 *
+	 * @return <code>int</code> with the size in bytes
+	 */
+	int getRandomAccessWriteBehindSize();
+
+	/**
+	 * Remember the <code>ObjStat</code> looked up for each path, per account, in
+	 * the <code>IRODSSession</code>, instead of asking iRODS each time. Changes
+	 * made through Jargon on the same session drop the entries they affect, while
+	 * changes made elsewhere are only seen once an entry expires.
+	 *
+	 * @return <code>boolean</code> of <code>true</code> if the cache is used
+	 */
+	boolean isUsingObjStatCache();
+
+	/**
+	 * Most paths the <code>ObjStat</code> cache remembers for each account, the
+	 * least recently used being dropped to make room for another.
+	 *
+	 * @return <code>int</code> with the number of entries
+	 */
+	int getObjStatCacheMaxEntries();
+
+	/**
+	 * Longest time, in milliseconds, the <code>ObjStat</code> cache answers for
+	 * a path before asking iRODS again.
+	 *
+	 * @return <code>long</code> with the time to live in milliseconds
+	 */
+	long getObjStatCacheTimeToLiveMillis();
+
+	/**
+	 * Indicates whether a <code>GenQueryResultIterator</code> fetches the next
+	 * page of results on a background thread while the current page is read.
+	 *
+	 * @return <code>boolean</code> of <code>true</code> if pages are prefetched
+	 */
+	boolean isPrefetchingGenQueryPages();
+
+	/**
+	 * Indicates whether local MD5 and SHA256 checksums are computed with the
+	 * file read on a separate thread ahead of the digest, rather than read and
+	 * digested on the calling thread.
+	 *
+	 * @return <code>boolean</code> of <code>true</code> if the file is read ahead
+	 *         of the digest
+	 */
+	boolean isLocalChecksumReadAhead();
+
+}
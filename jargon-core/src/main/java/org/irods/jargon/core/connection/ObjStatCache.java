@@ -0,0 +1,288 @@
+package org.irods.jargon.core.connection;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.irods.jargon.core.pub.domain.ObjStat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of the <code>ObjStat</code> of iRODS paths, kept by the
+ * {@link IRODSSession} and used when <code>use.objstat.cache</code> is set in
+ * the {@link JargonProperties}. Each account has its own entries, as what an
+ * account may see of a path depends on its permissions. Each account keeps at
+ * most a given number of entries, dropping the least recently used, and an
+ * entry is only answered for a given time after it was looked up.
+ * <p/>
+ * Jargon access objects invalidate a path when they change it in iRODS, which
+ * drops the entries for that path, for anything under it, and for its parent,
+ * for every account on the session. Changes made in iRODS by other clients,
+ * or on other sessions, are only seen once the entries expire.
+ * <p/>
+ * Entries are copies, so that changes made by a caller to an
+ * <code>ObjStat</code> it was given do not show in the cache.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class ObjStatCache {
+
+	public static final Logger log = LoggerFactory
+			.getLogger(ObjStatCache.class);
+
+	private final ConcurrentHashMap<String, LinkedHashMap<String, CachedObjStat>> objStatsByAccount = new ConcurrentHashMap<String, LinkedHashMap<String, CachedObjStat>>(
+			8, 0.9f, 1);
+
+	/**
+	 * Counts invalidations, so that a lookup that raced an invalidation does
+	 * not cache what it found
+	 */
+	private final AtomicLong generation = new AtomicLong();
+
+	private final ObjStatCacheMetrics objStatCacheMetrics = new ObjStatCacheMetrics();
+
+	/**
+	 * Get the cached <code>ObjStat</code> of a path, if it has not expired
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} that looked the path up
+	 * @param irodsAbsolutePath
+	 *            <code>String</code> with the absolute path
+	 * @return {@link ObjStat} or <code>null</code> if not cached
+	 */
+	public ObjStat retrieve(final IRODSAccount irodsAccount,
+			final String irodsAbsolutePath) {
+
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		if (irodsAbsolutePath == null || irodsAbsolutePath.isEmpty()) {
+			throw new IllegalArgumentException(
+					"null or empty irodsAbsolutePath");
+		}
+
+		Map<String, CachedObjStat> objStats = objStatsByAccount
+				.get(buildAccountKey(irodsAccount));
+		if (objStats == null) {
+			objStatCacheMetrics.recordMiss();
+			return null;
+		}
+
+		String path = normalizePath(irodsAbsolutePath);
+		CachedObjStat cachedObjStat;
+		synchronized (objStats) {
+			cachedObjStat = objStats.get(path);
+			if (cachedObjStat != null
+					&& cachedObjStat.expiresAt <= System.currentTimeMillis()) {
+				objStats.remove(path);
+				objStatCacheMetrics.recordExpired();
+				cachedObjStat = null;
+			}
+		}
+
+		if (cachedObjStat == null) {
+			objStatCacheMetrics.recordMiss();
+			return null;
+		}
+
+		log.debug("objStat cache hit for:{}", path);
+		objStatCacheMetrics.recordHit();
+		return copy(cachedObjStat.objStat);
+	}
+
+	/**
+	 * Get the current generation of the cache, to be passed to
+	 * {@link #cache(IRODSAccount, ObjStat, long, int, long)} once iRODS has
+	 * answered a lookup. Take this before asking iRODS.
+	 *
+	 * @return <code>long</code> with the generation
+	 */
+	public long currentGeneration() {
+		return generation.get();
+	}
+
+	/**
+	 * Cache the <code>ObjStat</code> of a path, unless a path was invalidated
+	 * since the given generation, in which case what iRODS answered may
+	 * already be out of date
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} that looked the path up
+	 * @param objStat
+	 *            {@link ObjStat} returned by iRODS
+	 * @param lookupGeneration
+	 *            <code>long</code> from {@link #currentGeneration()} taken
+	 *            before asking iRODS
+	 * @param maxEntries
+	 *            <code>int</code> with the most entries kept for the account
+	 * @param timeToLiveMillis
+	 *            <code>long</code> with the time the entry is answered for
+	 */
+	public void cache(final IRODSAccount irodsAccount, final ObjStat objStat,
+			final long lookupGeneration, final int maxEntries,
+			final long timeToLiveMillis) {
+
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		if (objStat == null) {
+			throw new IllegalArgumentException("null objStat");
+		}
+
+		if (maxEntries <= 0 || timeToLiveMillis <= 0) {
+			return;
+		}
+
+		String accountKey = buildAccountKey(irodsAccount);
+		objStatsByAccount.putIfAbsent(accountKey,
+				new LinkedHashMap<String, CachedObjStat>(16, 0.75f, true));
+		LinkedHashMap<String, CachedObjStat> objStats = objStatsByAccount
+				.get(accountKey);
+
+		String path = normalizePath(objStat.getAbsolutePath());
+		synchronized (objStats) {
+			if (generation.get() != lookupGeneration) {
+				log.debug("path invalidated during lookup, not caching:{}",
+						path);
+				return;
+			}
+
+			objStats.put(path, new CachedObjStat(copy(objStat),
+					System.currentTimeMillis() + timeToLiveMillis));
+
+			Iterator<CachedObjStat> iterator = objStats.values().iterator();
+			while (objStats.size() > maxEntries && iterator.hasNext()) {
+				iterator.next();
+				iterator.remove();
+				objStatCacheMetrics.recordEviction();
+			}
+		}
+	}
+
+	/**
+	 * Drop the entries for a path, for anything under it, and for its parent,
+	 * for every account. Jargon calls this when it changes a path in iRODS,
+	 * and it may also be called when a path is known to have been changed
+	 * elsewhere.
+	 *
+	 * @param irodsAbsolutePath
+	 *            <code>String</code> with the absolute path changed
+	 */
+	public void invalidate(final String irodsAbsolutePath) {
+
+		if (irodsAbsolutePath == null || irodsAbsolutePath.isEmpty()) {
+			throw new IllegalArgumentException(
+					"null or empty irodsAbsolutePath");
+		}
+
+		String path = normalizePath(irodsAbsolutePath);
+		String pathPrefix = path.equals("/") ? path : path + "/";
+		int lastSlash = path.lastIndexOf('/');
+		String parentPath = lastSlash <= 0 ? "/" : path.substring(0,
+				lastSlash);
+
+		generation.incrementAndGet();
+		int invalidations = 0;
+		for (LinkedHashMap<String, CachedObjStat> objStats : objStatsByAccount
+				.values()) {
+			synchronized (objStats) {
+				Iterator<String> iterator = objStats.keySet().iterator();
+				while (iterator.hasNext()) {
+					String cachedPath = iterator.next();
+					if (cachedPath.equals(path)
+							|| cachedPath.startsWith(pathPrefix)
+							|| cachedPath.equals(parentPath)) {
+						iterator.remove();
+						invalidations++;
+					}
+				}
+			}
+		}
+
+		if (invalidations > 0) {
+			log.debug("invalidated {} cached objStats for:{}", invalidations,
+					path);
+			objStatCacheMetrics.recordInvalidations(invalidations);
+		}
+	}
+
+	/**
+	 * Drop every entry
+	 */
+	public void clear() {
+		generation.incrementAndGet();
+		objStatsByAccount.clear();
+	}
+
+	/**
+	 * Get the counters describing how well the cache answers lookups
+	 *
+	 * @return {@link ObjStatCacheMetrics}
+	 */
+	public ObjStatCacheMetrics getObjStatCacheMetrics() {
+		return objStatCacheMetrics;
+	}
+
+	private String buildAccountKey(final IRODSAccount irodsAccount) {
+		StringBuilder sb = new StringBuilder();
+		sb.append(irodsAccount.getHost());
+		sb.append(':');
+		sb.append(irodsAccount.getPort());
+		sb.append('/');
+		sb.append(irodsAccount.getZone());
+		sb.append('/');
+		sb.append(irodsAccount.getUserName());
+		return sb.toString();
+	}
+
+	private String normalizePath(final String irodsAbsolutePath) {
+		String path = irodsAbsolutePath.trim();
+		while (path.length() > 1 && path.endsWith("/")) {
+			path = path.substring(0, path.length() - 1);
+		}
+		return path;
+	}
+
+	private static ObjStat copy(final ObjStat objStat) {
+		ObjStat copy = new ObjStat();
+		copy.setAbsolutePath(objStat.getAbsolutePath());
+		copy.setObjectPath(objStat.getObjectPath());
+		copy.setObjectType(objStat.getObjectType());
+		copy.setDataId(objStat.getDataId());
+		copy.setChecksum(objStat.getChecksum());
+		copy.setOwnerName(objStat.getOwnerName());
+		copy.setOwnerZone(objStat.getOwnerZone());
+		copy.setObjSize(objStat.getObjSize());
+		if (objStat.getCreatedAt() != null) {
+			copy.setCreatedAt(new Date(objStat.getCreatedAt().getTime()));
+		}
+		if (objStat.getModifiedAt() != null) {
+			copy.setModifiedAt(new Date(objStat.getModifiedAt().getTime()));
+		}
+		copy.setSpecColType(objStat.getSpecColType());
+		copy.setCollectionPath(objStat.getCollectionPath());
+		copy.setCacheDir(objStat.getCacheDir());
+		copy.setCacheDirty(objStat.isCacheDirty());
+		copy.setReplNumber(objStat.getReplNumber());
+		copy.setStandInGeneratedObjStat(objStat.isStandInGeneratedObjStat());
+		return copy;
+	}
+
+	private static class CachedObjStat {
+		private final ObjStat objStat;
+		private final long expiresAt;
+
+		CachedObjStat(final ObjStat objStat, final long expiresAt) {
+			this.objStat = objStat;
+			this.expiresAt = expiresAt;
+		}
+	}
+
+}
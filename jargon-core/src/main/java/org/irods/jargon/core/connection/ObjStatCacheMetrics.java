@@ -0,0 +1,108 @@
+package org.irods.jargon.core.connection;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Running counters kept by the {@link ObjStatCache} of an
+ * {@link IRODSSession}. A hit is a lookup answered from the cache, a miss one
+ * that had to ask iRODS, including lookups of entries that had expired. The
+ * counters are updated concurrently and may be read at any time.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class ObjStatCacheMetrics {
+
+	private final AtomicLong hitCount = new AtomicLong();
+	private final AtomicLong missCount = new AtomicLong();
+	private final AtomicLong expiredCount = new AtomicLong();
+	private final AtomicLong evictionCount = new AtomicLong();
+	private final AtomicLong invalidationCount = new AtomicLong();
+
+	void recordHit() {
+		hitCount.incrementAndGet();
+	}
+
+	void recordMiss() {
+		missCount.incrementAndGet();
+	}
+
+	void recordExpired() {
+		expiredCount.incrementAndGet();
+	}
+
+	void recordEviction() {
+		evictionCount.incrementAndGet();
+	}
+
+	void recordInvalidations(final int invalidations) {
+		invalidationCount.addAndGet(invalidations);
+	}
+
+	/**
+	 * @return <code>long</code> with the number of lookups answered from the
+	 *         cache
+	 */
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * @return <code>long</code> with the number of lookups that asked iRODS
+	 */
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	/**
+	 * @return <code>long</code> with the number of misses that found an entry
+	 *         past its time to live
+	 */
+	public long getExpiredCount() {
+		return expiredCount.get();
+	}
+
+	/**
+	 * @return <code>long</code> with the number of entries dropped to keep
+	 *         within the most entries allowed for an account
+	 */
+	public long getEvictionCount() {
+		return evictionCount.get();
+	}
+
+	/**
+	 * @return <code>long</code> with the number of entries dropped because
+	 *         Jargon changed the path, or something above or below it
+	 */
+	public long getInvalidationCount() {
+		return invalidationCount.get();
+	}
+
+	/**
+	 * @return <code>double</code> with the fraction of lookups answered from
+	 *         the cache, or 0 if there have been none
+	 */
+	public double getHitRatio() {
+		long hits = getHitCount();
+		long lookups = hits + getMissCount();
+		return lookups == 0 ? 0.0 : (double) hits / lookups;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("ObjStatCacheMetrics");
+		sb.append("\n\thitCount:");
+		sb.append(getHitCount());
+		sb.append("\n\tmissCount:");
+		sb.append(getMissCount());
+		sb.append("\n\texpiredCount:");
+		sb.append(getExpiredCount());
+		sb.append("\n\tevictionCount:");
+		sb.append(getEvictionCount());
+		sb.append("\n\tinvalidationCount:");
+		sb.append(getInvalidationCount());
+		return sb.toString();
+	}
+
+}
@@ -0,0 +1,131 @@
+package org.irods.jargon.core.connection;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A replacement connection being opened on a helper thread by the
+ * {@link IRODSSession}, for a connection that has passed the socket renewal
+ * interval. The thread that owns the old connection keeps using it until the
+ * replacement is ready, and then swaps the replacement in between calls.
+ * <p/>
+ * If the owning thread closes its session before the replacement is taken,
+ * the renewal is abandoned and the replacement is returned to the protocol
+ * manager as soon as it is available.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+class PendingConnectionRenewal implements Runnable {
+
+	private static final Logger log = LoggerFactory
+			.getLogger(PendingConnectionRenewal.class);
+
+	private final IRODSSession irodsSession;
+	private final IRODSAccount irodsAccount;
+	private AbstractIRODSMidLevelProtocol replacement = null;
+	private Exception failure = null;
+	private long renewalNanos = 0L;
+	private boolean done = false;
+	private boolean abandoned = false;
+
+	PendingConnectionRenewal(final IRODSSession irodsSession,
+			final IRODSAccount irodsAccount) {
+		this.irodsSession = irodsSession;
+		this.irodsAccount = irodsAccount;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.lang.Runnable#run()
+	 */
+	@Override
+	public void run() {
+		log.debug("opening replacement connection for:{}", irodsAccount);
+		long start = System.nanoTime();
+		AbstractIRODSMidLevelProtocol connection = null;
+		Exception error = null;
+		try {
+			connection = irodsSession.openIRODSProtocol(irodsAccount);
+		} catch (Exception e) {
+			log.warn("unable to open replacement connection", e);
+			error = e;
+		}
+
+		boolean discard;
+		synchronized (this) {
+			replacement = connection;
+			failure = error;
+			renewalNanos = System.nanoTime() - start;
+			done = true;
+			discard = abandoned;
+		}
+
+		if (discard) {
+			returnReplacementAndEatExceptions(connection);
+		}
+	}
+
+	/**
+	 * @return <code>boolean</code> that is <code>true</code> once the attempt
+	 *         to open the replacement has finished
+	 */
+	synchronized boolean isDone() {
+		return done;
+	}
+
+	/**
+	 * @return {@link AbstractIRODSMidLevelProtocol} with the replacement, or
+	 *         <code>null</code> if not done or the attempt failed
+	 */
+	synchronized AbstractIRODSMidLevelProtocol getReplacement() {
+		return replacement;
+	}
+
+	/**
+	 * @return <code>Exception</code> if the attempt to open the replacement
+	 *         failed, otherwise <code>null</code>
+	 */
+	synchronized Exception getFailure() {
+		return failure;
+	}
+
+	/**
+	 * @return <code>long</code> with the time taken to open the replacement,
+	 *         in nanoseconds
+	 */
+	synchronized long getRenewalNanos() {
+		return renewalNanos;
+	}
+
+	/**
+	 * Give up on the renewal, returning the replacement to the protocol
+	 * manager now if it is available, or when it becomes available
+	 */
+	void abandon() {
+		AbstractIRODSMidLevelProtocol connection;
+		synchronized (this) {
+			abandoned = true;
+			connection = replacement;
+			replacement = null;
+		}
+		returnReplacementAndEatExceptions(connection);
+	}
+
+	private void returnReplacementAndEatExceptions(
+			final AbstractIRODSMidLevelProtocol connection) {
+		if (connection == null) {
+			return;
+		}
+
+		log.debug("returning abandoned replacement connection");
+		try {
+			irodsSession.getIrodsProtocolManager().returnIRODSProtocol(
+					connection);
+		} catch (Exception e) {
+			log.warn("error returning abandoned replacement connection", e);
+		}
+	}
+
+}
@@ -5,6 +5,7 @@ package org.irods.jargon.core.connection;
 
 import org.irods.jargon.core.connection.ClientServerNegotiationPolicy.SslNegotiationPolicy;
 import org.irods.jargon.core.protovalues.EncryptionAlgorithmEnum;
+import org.irods.jargon.core.transfer.ParallelLocalIOStrategyEnum;
 
 /**
  * Immutable object represents the options controlling the behavior of the io
@@ -70,6 +71,26 @@ public class PipelineConfiguration {
 	 */
 	private final int encryptionNumberHashRounds;
 
+	/**
+	 * Indicates whether packing instructions are serialized, along with their
+	 * header, directly into a reusable per-connection buffer, rather than
+	 * rendered as a <code>String</code> and then encoded. Setting this to
+	 * <code>false</code> restores the original behavior.
+	 */
+	private final boolean directPackingInstructionSerialization;
+
+	/**
+	 * Maximum number of requests in a batch that will be written to a
+	 * connection before their responses are read. A value of 1 or less sends
+	 * each request of a batch as a normal round trip.
+	 */
+	private final int pipelinedRequestWindowSize;
+
+	/**
+	 * How parallel transfer threads read and write the local file
+	 */
+	private final ParallelLocalIOStrategyEnum parallelLocalIOStrategy;
+
 	/**
 	 * Static initializer method will derive an immutable
 	 * <code>PipelineConfiguration</code> based on the prevailing
@@ -141,6 +162,11 @@ public class PipelineConfiguration {
 		encryptionNumberHashRounds = jargonProperties
 				.getEncryptionNumberHashRounds();
 		encryptionSaltSize = jargonProperties.getEncryptionSaltSize();
+		directPackingInstructionSerialization = jargonProperties
+				.isDirectPackingInstructionSerialization();
+		pipelinedRequestWindowSize = jargonProperties
+				.getPipelinedRequestWindowSize();
+		parallelLocalIOStrategy = jargonProperties.getParallelLocalIOStrategy();
 
 	}
 
@@ -352,6 +378,12 @@ public class PipelineConfiguration {
 		builder.append(primaryTcpPerformancePrefsBandwidth);
 		builder.append(", socketRenewalIntervalInSeconds=");
 		builder.append(socketRenewalIntervalInSeconds);
+		builder.append(", directPackingInstructionSerialization=");
+		builder.append(directPackingInstructionSerialization);
+		builder.append(", pipelinedRequestWindowSize=");
+		builder.append(pipelinedRequestWindowSize);
+		builder.append(", parallelLocalIOStrategy=");
+		builder.append(parallelLocalIOStrategy);
 		builder.append("]");
 		return builder.toString();
 	}
@@ -383,4 +415,25 @@ public class PipelineConfiguration {
 		return encryptionNumberHashRounds;
 	}
 
+	/**
+	 * @return the directPackingInstructionSerialization
+	 */
+	public boolean isDirectPackingInstructionSerialization() {
+		return directPackingInstructionSerialization;
+	}
+
+	/**
+	 * @return the pipelinedRequestWindowSize
+	 */
+	public int getPipelinedRequestWindowSize() {
+		return pipelinedRequestWindowSize;
+	}
+
+	/**
+	 * @return the parallelLocalIOStrategy
+	 */
+	public ParallelLocalIOStrategyEnum getParallelLocalIOStrategy() {
+		return parallelLocalIOStrategy;
+	}
+
 }
@@ -0,0 +1,123 @@
+package org.irods.jargon.core.connection;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.packinstr.IRodsPI;
+import org.irods.jargon.core.packinstr.Tag;
+
+/**
+ * Represents the response to one request in a pipelined batch, holding either
+ * the iRODS response or the exception that the response was mapped to by the
+ * {@link IRODSErrorScanner}. Responses are returned in the same order as the
+ * requests in the batch.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class PipelinedResponse {
+
+	private final IRodsPI request;
+	private final Tag response;
+	private final JargonException exception;
+
+	/**
+	 * Create a response for a request that completed normally
+	 *
+	 * @param request
+	 *            {@link IRodsPI} that was sent
+	 * @param response
+	 *            {@link Tag} with the iRODS response, which may be
+	 *            <code>null</code> if iRODS returned no message
+	 * @return {@link PipelinedResponse}
+	 */
+	public static PipelinedResponse instance(final IRodsPI request, final Tag response) {
+		return new PipelinedResponse(request, response, null);
+	}
+
+	/**
+	 * Create a response for a request that iRODS reported an error for
+	 *
+	 * @param request
+	 *            {@link IRodsPI} that was sent
+	 * @param exception
+	 *            {@link JargonException} describing the iRODS error
+	 * @return {@link PipelinedResponse}
+	 */
+	public static PipelinedResponse instanceForException(final IRodsPI request, final JargonException exception) {
+		if (exception == null) {
+			throw new IllegalArgumentException("null exception");
+		}
+		return new PipelinedResponse(request, null, exception);
+	}
+
+	private PipelinedResponse(final IRodsPI request, final Tag response, final JargonException exception) {
+		if (request == null) {
+			throw new IllegalArgumentException("null request");
+		}
+
+		this.request = request;
+		this.response = response;
+		this.exception = exception;
+	}
+
+	/**
+	 * @return <code>boolean</code> that is <code>true</code> if iRODS did not
+	 *         report an error for the request
+	 */
+	public boolean isSuccess() {
+		return exception == null;
+	}
+
+	/**
+	 * Get the iRODS response, throwing the mapped exception if the request
+	 * failed
+	 *
+	 * @return {@link Tag} with the iRODS response, which may be
+	 *         <code>null</code>
+	 * @throws JargonException
+	 *             the exception mapped from the iRODS error for this request
+	 */
+	public Tag getResponseOrThrow() throws JargonException {
+		if (exception != null) {
+			throw exception;
+		}
+		return response;
+	}
+
+	/**
+	 * @return the request
+	 */
+	public IRodsPI getRequest() {
+		return request;
+	}
+
+	/**
+	 * @return the response, or <code>null</code> if the request failed or no
+	 *         message was returned
+	 */
+	public Tag getResponse() {
+		return response;
+	}
+
+	/**
+	 * @return the exception, or <code>null</code> if the request succeeded
+	 */
+	public JargonException getException() {
+		return exception;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("PipelinedResponse");
+		sb.append("\n\trequest:");
+		sb.append(request);
+		sb.append("\n\tsuccess:");
+		sb.append(isSuccess());
+		if (exception != null) {
+			sb.append("\n\texception:");
+			sb.append(exception.getMessage());
+		}
+		return sb.toString();
+	}
+
+}
@@ -0,0 +1,139 @@
+package org.irods.jargon.core.connection;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ScatteringByteChannel;
+
+/**
+ * Input stream over a channel used by the NIO connection layer. When no
+ * read-ahead is available, a read fills the caller's array and the read-ahead
+ * buffer in one scattering read, so reading the 4-byte length of a reply also
+ * pulls in as much of the following <code>MsgHeader</code> and message as has
+ * arrived, and large reads go straight into the caller's array.
+ * <p/>
+ * Reads use the blocking mode of the channel and do not apply a socket
+ * timeout. Like the other connection streams this class is not thread safe.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+class ScatteringChannelInputStream extends InputStream {
+
+	private final ScatteringByteChannel channel;
+	private final ByteBuffer readAheadBuffer;
+	private final ByteBuffer[] scatterBuffers = new ByteBuffer[2];
+
+	/**
+	 * Constructor
+	 *
+	 * @param channel
+	 *            {@link ScatteringByteChannel} in blocking mode that will be
+	 *            read from
+	 * @param readAheadBufferSize
+	 *            <code>int</code> with the size of the read-ahead buffer
+	 */
+	ScatteringChannelInputStream(final ScatteringByteChannel channel,
+			final int readAheadBufferSize) {
+		if (channel == null) {
+			throw new IllegalArgumentException("null channel");
+		}
+
+		if (readAheadBufferSize <= 0) {
+			throw new IllegalArgumentException(
+					"readAheadBufferSize must be > 0");
+		}
+
+		this.channel = channel;
+		readAheadBuffer = ByteBuffer.allocate(readAheadBufferSize);
+		readAheadBuffer.flip();
+		scatterBuffers[1] = readAheadBuffer;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.io.InputStream#read()
+	 */
+	@Override
+	public int read() throws IOException {
+		if (!readAheadBuffer.hasRemaining()) {
+			readAheadBuffer.clear();
+			int count = 0;
+			try {
+				while (count == 0) {
+					count = channel.read(readAheadBuffer);
+				}
+			} finally {
+				readAheadBuffer.flip();
+			}
+
+			if (count == -1) {
+				return -1;
+			}
+		}
+		return readAheadBuffer.get() & 0xff;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.io.InputStream#read(byte[], int, int)
+	 */
+	@Override
+	public int read(final byte[] b, final int off, final int len)
+			throws IOException {
+		if (off < 0 || len < 0 || len > b.length - off) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		if (len == 0) {
+			return 0;
+		}
+
+		if (readAheadBuffer.hasRemaining()) {
+			int count = Math.min(len, readAheadBuffer.remaining());
+			readAheadBuffer.get(b, off, count);
+			return count;
+		}
+
+		ByteBuffer target = ByteBuffer.wrap(b, off, len);
+		scatterBuffers[0] = target;
+		readAheadBuffer.clear();
+		long count = 0;
+		try {
+			while (count == 0) {
+				count = channel.read(scatterBuffers);
+			}
+		} finally {
+			scatterBuffers[0] = null;
+			readAheadBuffer.flip();
+		}
+
+		if (count == -1) {
+			return -1;
+		}
+		return target.position() - off;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.io.InputStream#available()
+	 */
+	@Override
+	public int available() throws IOException {
+		return readAheadBuffer.remaining();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.io.InputStream#close()
+	 */
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+}
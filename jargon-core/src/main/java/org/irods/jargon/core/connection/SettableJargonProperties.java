@@ -4,6 +4,7 @@ import org.irods.jargon.core.connection.ClientServerNegotiationPolicy.SslNegotia
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.protovalues.ChecksumEncodingEnum;
 import org.irods.jargon.core.protovalues.EncryptionAlgorithmEnum;
+import org.irods.jargon.core.transfer.ParallelLocalIOStrategyEnum;
 
 /**
  * Implementation of the <code>JargonProperties</code> interface that is
@@ -115,6 +116,185 @@ public class SettableJargonProperties implements JargonProperties {
 	 */
 	private boolean bypassSslCertChecks;
 
+	/**
+	 * Indicates whether packing instructions are serialized, along with their
+	 * header, directly into a reusable per-connection buffer, rather than
+	 * rendered as a <code>String</code> and then encoded. Setting this to
+	 * <code>false</code> restores the original behavior.
+	 */
+	private boolean directPackingInstructionSerialization;
+
+	/**
+	 * Maximum number of requests in a batch that will be written to a
+	 * connection before their responses are read. A value of 1 or less sends
+	 * each request of a batch as a normal round trip.
+	 */
+	private int pipelinedRequestWindowSize;
+
+	/**
+	 * Indicates whether an <code>IRODSFileSystem</code> created with default
+	 * settings leases connections from a shared pool rather than opening a
+	 * connection per thread. See {@link IRODSPooledProtocolManager}
+	 */
+	private boolean useConnectionPool;
+
+	/**
+	 * Maximum number of connections, leased and idle, that the connection
+	 * pool will hold for one <code>IRODSAccount</code>
+	 */
+	private int connectionPoolMaxPerAccount;
+
+	/**
+	 * Time to wait for a connection to be returned to a saturated pool before
+	 * failing, in milliseconds
+	 */
+	private long connectionPoolMaxWaitMillis;
+
+	/**
+	 * Indicates whether the parallel transfer executor in the
+	 * {@link IRODSSession} runs each transfer thread on a virtual thread. This
+	 * is honored only when the pool is in use and the JVM supports virtual
+	 * threads, otherwise the bounded platform thread pool is used.
+	 */
+	private boolean useVirtualThreadsForTransferThreadsPool;
+
+	/**
+	 * Indicates whether a connection that has passed the socket renewal interval
+	 * is replaced by a connection opened on a helper thread, rather than being
+	 * closed and reopened inline by the request that notices it. See
+	 * {@link IRODSSession#currentConnectionCheckRenewalOfSocket(IRODSAccount)}
+	 */
+	private boolean backgroundConnectionRenewal;
+
+	/**
+	 * Number of files of a recursive get or put that may be in flight at the
+	 * same time
+	 */
+	private int recursiveTransferConcurrency;
+
+	/**
+	 * Indicates whether a recursive put bundles the small files of each
+	 * directory
+	 */
+	private boolean bundleSmallFilesOnPut;
+
+	/**
+	 * Size in bytes at or below which a file is bundled
+	 */
+	private long bundleSmallFileMaxSize;
+
+	/**
+	 * Bytes of file data collected in a bundle before it is sent
+	 */
+	private long bundleMaxSize;
+
+	/**
+	 * Least number of small files in a directory worth bundling
+	 */
+	private int bundleMinFiles;
+
+	/**
+	 * How parallel transfer threads read and write the local file
+	 */
+	private ParallelLocalIOStrategyEnum parallelLocalIOStrategy = ParallelLocalIOStrategyEnum.CHANNEL;
+
+	/**
+	 * Connections used by a client driven segmented get, 0 if not done
+	 */
+	private int segmentedGetThreads;
+
+	/**
+	 * Smallest data object fetched with a segmented get
+	 */
+	private long segmentedGetMinLength;
+
+	/**
+	 * Size of the ranges claimed by the connections of a segmented get
+	 */
+	private long segmentedGetSegmentSize;
+
+	/**
+	 * Tune parallel transfer threads and buffer size from observed throughput
+	 */
+	private boolean adaptiveParallelTransfer;
+
+	/**
+	 * Upper bound on the threads requested by adaptive tuning
+	 */
+	private int adaptiveParallelMaxThreads;
+
+	/**
+	 * Upper bound on the copy buffer size used by adaptive tuning
+	 */
+	private int adaptiveParallelMaxBufferSize;
+
+	/**
+	 * Bytes moved by a parallel transfer thread between restart checkpoints
+	 */
+	private long restartCheckpointBytes;
+
+	/**
+	 * Longest time in milliseconds between restart checkpoints
+	 */
+	private int restartCheckpointIntervalMillis;
+
+	/**
+	 * Compute the verified local checksum from the data as it is transferred
+	 */
+	private boolean checksumDuringTransfer;
+
+	/**
+	 * Bytes held out of order by a checksum computed during a transfer
+	 */
+	private long checksumDuringTransferPendingBytes;
+
+	/**
+	 * Longest time a listed file answers from the listing's object stat
+	 */
+	private long listingObjStatMaxAgeMillis;
+
+	/**
+	 * Size of the pages a random access file reads and caches
+	 */
+	private int randomAccessPageSize;
+
+	/**
+	 * Pages a random access file keeps
+	 */
+	private int randomAccessCachePages;
+
+	/**
+	 * Bytes of small writes a random access file gathers
+	 */
+	private int randomAccessWriteBehindSize;
+
+	/**
+	 * Whether the session caches <code>ObjStat</code> lookups
+	 */
+	private boolean usingObjStatCache;
+
+	/**
+	 * Most paths the <code>ObjStat</code> cache remembers per account
+	 */
+	private int objStatCacheMaxEntries;
+
+	/**
+	 * Time to live in milliseconds of an <code>ObjStat</code> cache entry
+	 */
+	private long objStatCacheTimeToLiveMillis;
+
+	/**
+	 * Whether GenQuery result iterators prefetch the next page
+	 */
+	private boolean prefetchingGenQueryPages;
+
+	/**
+	 * Indicates whether local MD5 and SHA256 checksums are computed with the
+	 * file read on a separate thread ahead of the digest, rather than read and
+	 * digested on the calling thread.
+	 */
+	private boolean localChecksumReadAhead;
+
 	/**
 	 * Construct a default properties set based on the provided initial set of
 	 * <code>JargonProperties</code>. This can be used to wire in properties via
@@ -227,6 +407,54 @@ public class SettableJargonProperties implements JargonProperties {
 				.getEncryptionNumberHashRounds();
 		encryptionSaltSize = jargonProperties.getEncryptionSaltSize();
 		bypassSslCertChecks = jargonProperties.isBypassSslCertChecks();
+		directPackingInstructionSerialization = jargonProperties
+				.isDirectPackingInstructionSerialization();
+		pipelinedRequestWindowSize = jargonProperties
+				.getPipelinedRequestWindowSize();
+		useConnectionPool = jargonProperties.isUseConnectionPool();
+		connectionPoolMaxPerAccount = jargonProperties
+				.getConnectionPoolMaxPerAccount();
+		connectionPoolMaxWaitMillis = jargonProperties
+				.getConnectionPoolMaxWaitMillis();
+		useVirtualThreadsForTransferThreadsPool = jargonProperties
+				.isUseVirtualThreadsForTransferThreadsPool();
+		backgroundConnectionRenewal = jargonProperties
+				.isBackgroundConnectionRenewal();
+		recursiveTransferConcurrency = jargonProperties
+				.getRecursiveTransferConcurrency();
+		bundleSmallFilesOnPut = jargonProperties.isBundleSmallFilesOnPut();
+		bundleSmallFileMaxSize = jargonProperties.getBundleSmallFileMaxSize();
+		bundleMaxSize = jargonProperties.getBundleMaxSize();
+		bundleMinFiles = jargonProperties.getBundleMinFiles();
+		parallelLocalIOStrategy = jargonProperties.getParallelLocalIOStrategy();
+		segmentedGetThreads = jargonProperties.getSegmentedGetThreads();
+		segmentedGetMinLength = jargonProperties.getSegmentedGetMinLength();
+		segmentedGetSegmentSize = jargonProperties.getSegmentedGetSegmentSize();
+		adaptiveParallelTransfer = jargonProperties
+				.isAdaptiveParallelTransfer();
+		adaptiveParallelMaxThreads = jargonProperties
+				.getAdaptiveParallelMaxThreads();
+		adaptiveParallelMaxBufferSize = jargonProperties
+				.getAdaptiveParallelMaxBufferSize();
+		restartCheckpointBytes = jargonProperties.getRestartCheckpointBytes();
+		restartCheckpointIntervalMillis = jargonProperties
+				.getRestartCheckpointIntervalMillis();
+		checksumDuringTransfer = jargonProperties.isChecksumDuringTransfer();
+		checksumDuringTransferPendingBytes = jargonProperties
+				.getChecksumDuringTransferPendingBytes();
+		listingObjStatMaxAgeMillis = jargonProperties
+				.getListingObjStatMaxAgeMillis();
+		randomAccessPageSize = jargonProperties.getRandomAccessPageSize();
+		randomAccessCachePages = jargonProperties.getRandomAccessCachePages();
+		randomAccessWriteBehindSize = jargonProperties
+				.getRandomAccessWriteBehindSize();
+		usingObjStatCache = jargonProperties.isUsingObjStatCache();
+		objStatCacheMaxEntries = jargonProperties.getObjStatCacheMaxEntries();
+		objStatCacheTimeToLiveMillis = jargonProperties
+				.getObjStatCacheTimeToLiveMillis();
+		prefetchingGenQueryPages = jargonProperties
+				.isPrefetchingGenQueryPages();
+		localChecksumReadAhead = jargonProperties.isLocalChecksumReadAhead();
 
 	}
 
@@ -1349,4 +1577,618 @@ public class SettableJargonProperties implements JargonProperties {
 		this.bypassSslCertChecks = bypassSslCertChecks;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.core.connection.JargonProperties#isDirectPackingInstructionSerialization()
+	 */
+	@Override
+	public synchronized boolean isDirectPackingInstructionSerialization() {
+		return directPackingInstructionSerialization;
+	}
+
+	/**
+	 * @param directPackingInstructionSerialization
+	 *            the directPackingInstructionSerialization to set
+	 */
+	public synchronized void setDirectPackingInstructionSerialization(
+			final boolean directPackingInstructionSerialization) {
+		this.directPackingInstructionSerialization = directPackingInstructionSerialization;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.core.connection.JargonProperties#getPipelinedRequestWindowSize()
+	 */
+	@Override
+	public synchronized int getPipelinedRequestWindowSize() {
+		return pipelinedRequestWindowSize;
+	}
+
+	/**
+	 * @param pipelinedRequestWindowSize
+	 *            the pipelinedRequestWindowSize to set
+	 */
+	public synchronized void setPipelinedRequestWindowSize(
+			final int pipelinedRequestWindowSize) {
+		this.pipelinedRequestWindowSize = pipelinedRequestWindowSize;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.core.connection.JargonProperties#isUseConnectionPool()
+	 */
+	@Override
+	public synchronized boolean isUseConnectionPool() {
+		return useConnectionPool;
+	}
+
+	/**
+	 * @param useConnectionPool
+	 *            the useConnectionPool to set
+	 */
+	public synchronized void setUseConnectionPool(
+			final boolean useConnectionPool) {
+		this.useConnectionPool = useConnectionPool;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.core.connection.JargonProperties#getConnectionPoolMaxPerAccount()
+	 */
+	@Override
+	public synchronized int getConnectionPoolMaxPerAccount() {
+		return connectionPoolMaxPerAccount;
+	}
+
+	/**
+	 * @param connectionPoolMaxPerAccount
+	 *            the connectionPoolMaxPerAccount to set
+	 */
+	public synchronized void setConnectionPoolMaxPerAccount(
+			final int connectionPoolMaxPerAccount) {
+		this.connectionPoolMaxPerAccount = connectionPoolMaxPerAccount;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.core.connection.JargonProperties#getConnectionPoolMaxWaitMillis()
+	 */
+	@Override
+	public synchronized long getConnectionPoolMaxWaitMillis() {
+		return connectionPoolMaxWaitMillis;
+	}
+
+	/**
+	 * @param connectionPoolMaxWaitMillis
+	 *            the connectionPoolMaxWaitMillis to set
+	 */
+	public synchronized void setConnectionPoolMaxWaitMillis(
+			final long connectionPoolMaxWaitMillis) {
+		this.connectionPoolMaxWaitMillis = connectionPoolMaxWaitMillis;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.core.connection.JargonProperties#isUseVirtualThreadsForTransferThreadsPool()
+	 */
+	@Override
+	public synchronized boolean isUseVirtualThreadsForTransferThreadsPool() {
+		return useVirtualThreadsForTransferThreadsPool;
+	}
+
+	/**
+	 * @param useVirtualThreadsForTransferThreadsPool
+	 *            the useVirtualThreadsForTransferThreadsPool to set
+	 */
+	public synchronized void setUseVirtualThreadsForTransferThreadsPool(
+			final boolean useVirtualThreadsForTransferThreadsPool) {
+		this.useVirtualThreadsForTransferThreadsPool = useVirtualThreadsForTransferThreadsPool;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.core.connection.JargonProperties#isBackgroundConnectionRenewal()
+	 */
+	@Override
+	public synchronized boolean isBackgroundConnectionRenewal() {
+		return backgroundConnectionRenewal;
+	}
+
+	/**
+	 * @param backgroundConnectionRenewal
+	 *            the backgroundConnectionRenewal to set
+	 */
+	public synchronized void setBackgroundConnectionRenewal(
+			final boolean backgroundConnectionRenewal) {
+		this.backgroundConnectionRenewal = backgroundConnectionRenewal;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.core.connection.JargonProperties#getRecursiveTransferConcurrency()
+	 */
+	@Override
+	public synchronized int getRecursiveTransferConcurrency() {
+		return recursiveTransferConcurrency;
+	}
+
+	/**
+	 * @param recursiveTransferConcurrency
+	 *            the recursiveTransferConcurrency to set
+	 */
+	public synchronized void setRecursiveTransferConcurrency(
+			final int recursiveTransferConcurrency) {
+		this.recursiveTransferConcurrency = recursiveTransferConcurrency;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.core.connection.JargonProperties#isBundleSmallFilesOnPut()
+	 */
+	@Override
+	public synchronized boolean isBundleSmallFilesOnPut() {
+		return bundleSmallFilesOnPut;
+	}
+
+	/**
+	 * @param bundleSmallFilesOnPut
+	 *            the bundleSmallFilesOnPut to set
+	 */
+	public synchronized void setBundleSmallFilesOnPut(
+			final boolean bundleSmallFilesOnPut) {
+		this.bundleSmallFilesOnPut = bundleSmallFilesOnPut;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.core.connection.JargonProperties#getBundleSmallFileMaxSize()
+	 */
+	@Override
+	public synchronized long getBundleSmallFileMaxSize() {
+		return bundleSmallFileMaxSize;
+	}
+
+	/**
+	 * @param bundleSmallFileMaxSize
+	 *            the bundleSmallFileMaxSize to set
+	 */
+	public synchronized void setBundleSmallFileMaxSize(
+			final long bundleSmallFileMaxSize) {
+		this.bundleSmallFileMaxSize = bundleSmallFileMaxSize;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.core.connection.JargonProperties#getBundleMaxSize()
+	 */
+	@Override
+	public synchronized long getBundleMaxSize() {
+		return bundleMaxSize;
+	}
+
+	/**
+	 * @param bundleMaxSize
+	 *            the bundleMaxSize to set
+	 */
+	public synchronized void setBundleMaxSize(final long bundleMaxSize) {
+		this.bundleMaxSize = bundleMaxSize;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.core.connection.JargonProperties#getBundleMinFiles()
+	 */
+	@Override
+	public synchronized int getBundleMinFiles() {
+		return bundleMinFiles;
+	}
+
+	/**
+	 * @param bundleMinFiles
+	 *            the bundleMinFiles to set
+	 */
+	public synchronized void setBundleMinFiles(final int bundleMinFiles) {
+		this.bundleMinFiles = bundleMinFiles;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.irods.jargon.core.connection.JargonProperties#getParallelLocalIOStrategy
+	 * ()
+	 */
+	@Override
+	public synchronized ParallelLocalIOStrategyEnum getParallelLocalIOStrategy() {
+		return parallelLocalIOStrategy;
+	}
+
+	/**
+	 * Set how parallel transfer threads read and write the local file
+	 *
+	 * @param parallelLocalIOStrategy
+	 *            {@link ParallelLocalIOStrategyEnum} for local file i/o
+	 */
+	public synchronized void setParallelLocalIOStrategy(
+			final ParallelLocalIOStrategyEnum parallelLocalIOStrategy) {
+		if (parallelLocalIOStrategy == null) {
+			throw new IllegalArgumentException("null parallelLocalIOStrategy");
+		}
+
+		this.parallelLocalIOStrategy = parallelLocalIOStrategy;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.core.connection.JargonProperties#getSegmentedGetThreads()
+	 */
+	@Override
+	public synchronized int getSegmentedGetThreads() {
+		return segmentedGetThreads;
+	}
+
+	/**
+	 * @param segmentedGetThreads
+	 *            the segmentedGetThreads to set
+	 */
+	public synchronized void setSegmentedGetThreads(
+			final int segmentedGetThreads) {
+		this.segmentedGetThreads = segmentedGetThreads;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.core.connection.JargonProperties#getSegmentedGetMinLength()
+	 */
+	@Override
+	public synchronized long getSegmentedGetMinLength() {
+		return segmentedGetMinLength;
+	}
+
+	/**
+	 * @param segmentedGetMinLength
+	 *            the segmentedGetMinLength to set
+	 */
+	public synchronized void setSegmentedGetMinLength(
+			final long segmentedGetMinLength) {
+		this.segmentedGetMinLength = segmentedGetMinLength;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.core.connection.JargonProperties#getSegmentedGetSegmentSize()
+	 */
+	@Override
+	public synchronized long getSegmentedGetSegmentSize() {
+		return segmentedGetSegmentSize;
+	}
+
+	/**
+	 * @param segmentedGetSegmentSize
+	 *            the segmentedGetSegmentSize to set
+	 */
+	public synchronized void setSegmentedGetSegmentSize(
+			final long segmentedGetSegmentSize) {
+		this.segmentedGetSegmentSize = segmentedGetSegmentSize;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.core.connection.JargonProperties#isAdaptiveParallelTransfer()
+	 */
+	@Override
+	public synchronized boolean isAdaptiveParallelTransfer() {
+		return adaptiveParallelTransfer;
+	}
+
+	/**
+	 * @param adaptiveParallelTransfer
+	 *            the adaptiveParallelTransfer to set
+	 */
+	public synchronized void setAdaptiveParallelTransfer(
+			final boolean adaptiveParallelTransfer) {
+		this.adaptiveParallelTransfer = adaptiveParallelTransfer;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.core.connection.JargonProperties#getAdaptiveParallelMaxThreads()
+	 */
+	@Override
+	public synchronized int getAdaptiveParallelMaxThreads() {
+		return adaptiveParallelMaxThreads;
+	}
+
+	/**
+	 * @param adaptiveParallelMaxThreads
+	 *            the adaptiveParallelMaxThreads to set
+	 */
+	public synchronized void setAdaptiveParallelMaxThreads(
+			final int adaptiveParallelMaxThreads) {
+		this.adaptiveParallelMaxThreads = adaptiveParallelMaxThreads;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.core.connection.JargonProperties#getAdaptiveParallelMaxBufferSize()
+	 */
+	@Override
+	public synchronized int getAdaptiveParallelMaxBufferSize() {
+		return adaptiveParallelMaxBufferSize;
+	}
+
+	/**
+	 * @param adaptiveParallelMaxBufferSize
+	 *            the adaptiveParallelMaxBufferSize to set
+	 */
+	public synchronized void setAdaptiveParallelMaxBufferSize(
+			final int adaptiveParallelMaxBufferSize) {
+		this.adaptiveParallelMaxBufferSize = adaptiveParallelMaxBufferSize;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.core.connection.JargonProperties#getRestartCheckpointBytes()
+	 */
+	@Override
+	public synchronized long getRestartCheckpointBytes() {
+		return restartCheckpointBytes;
+	}
+
+	/**
+	 * @param restartCheckpointBytes
+	 *            the restartCheckpointBytes to set
+	 */
+	public synchronized void setRestartCheckpointBytes(
+			final long restartCheckpointBytes) {
+		this.restartCheckpointBytes = restartCheckpointBytes;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.core.connection.JargonProperties#getRestartCheckpointIntervalMillis()
+	 */
+	@Override
+	public synchronized int getRestartCheckpointIntervalMillis() {
+		return restartCheckpointIntervalMillis;
+	}
+
+	/**
+	 * @param restartCheckpointIntervalMillis
+	 *            the restartCheckpointIntervalMillis to set
+	 */
+	public synchronized void setRestartCheckpointIntervalMillis(
+			final int restartCheckpointIntervalMillis) {
+		this.restartCheckpointIntervalMillis = restartCheckpointIntervalMillis;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.core.connection.JargonProperties#isChecksumDuringTransfer()
+	 */
+	@Override
+	public synchronized boolean isChecksumDuringTransfer() {
+		return checksumDuringTransfer;
+	}
+
+	/**
+	 * @param checksumDuringTransfer
+	 *            the checksumDuringTransfer to set
+	 */
+	public synchronized void setChecksumDuringTransfer(
+			final boolean checksumDuringTransfer) {
+		this.checksumDuringTransfer = checksumDuringTransfer;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.core.connection.JargonProperties#getChecksumDuringTransferPendingBytes()
+	 */
+	@Override
+	public synchronized long getChecksumDuringTransferPendingBytes() {
+		return checksumDuringTransferPendingBytes;
+	}
+
+	/**
+	 * @param checksumDuringTransferPendingBytes
+	 *            the checksumDuringTransferPendingBytes to set
+	 */
+	public synchronized void setChecksumDuringTransferPendingBytes(
+			final long checksumDuringTransferPendingBytes) {
+		this.checksumDuringTransferPendingBytes = checksumDuringTransferPendingBytes;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.core.connection.JargonProperties#getListingObjStatMaxAgeMillis()
+	 */
+	@Override
+	public synchronized long getListingObjStatMaxAgeMillis() {
+		return listingObjStatMaxAgeMillis;
+	}
+
+	/**
+	 * @param listingObjStatMaxAgeMillis
+	 *            the listingObjStatMaxAgeMillis to set
+	 */
+	public synchronized void setListingObjStatMaxAgeMillis(
+			final long listingObjStatMaxAgeMillis) {
+		this.listingObjStatMaxAgeMillis = listingObjStatMaxAgeMillis;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.core.connection.JargonProperties#getRandomAccessPageSize()
+	 */
+	@Override
+	public synchronized int getRandomAccessPageSize() {
+		return randomAccessPageSize;
+	}
+
+	/**
+	 * @param randomAccessPageSize
+	 *            the randomAccessPageSize to set
+	 */
+	public synchronized void setRandomAccessPageSize(
+			final int randomAccessPageSize) {
+		this.randomAccessPageSize = randomAccessPageSize;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.core.connection.JargonProperties#getRandomAccessCachePages()
+	 */
+	@Override
+	public synchronized int getRandomAccessCachePages() {
+		return randomAccessCachePages;
+	}
+
+	/**
+	 * @param randomAccessCachePages
+	 *            the randomAccessCachePages to set
+	 */
+	public synchronized void setRandomAccessCachePages(
+			final int randomAccessCachePages) {
+		this.randomAccessCachePages = randomAccessCachePages;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.core.connection.JargonProperties#getRandomAccessWriteBehindSize()
+	 */
+	@Override
+	public synchronized int getRandomAccessWriteBehindSize() {
+		return randomAccessWriteBehindSize;
+	}
+
+	/**
+	 * @param randomAccessWriteBehindSize
+	 *            the randomAccessWriteBehindSize to set
+	 */
+	public synchronized void setRandomAccessWriteBehindSize(
+			final int randomAccessWriteBehindSize) {
+		this.randomAccessWriteBehindSize = randomAccessWriteBehindSize;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.core.connection.JargonProperties#isUsingObjStatCache()
+	 */
+	@Override
+	public synchronized boolean isUsingObjStatCache() {
+		return usingObjStatCache;
+	}
+
+	/**
+	 * @param usingObjStatCache
+	 *            the usingObjStatCache to set
+	 */
+	public synchronized void setUsingObjStatCache(
+			final boolean usingObjStatCache) {
+		this.usingObjStatCache = usingObjStatCache;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.core.connection.JargonProperties#getObjStatCacheMaxEntries()
+	 */
+	@Override
+	public synchronized int getObjStatCacheMaxEntries() {
+		return objStatCacheMaxEntries;
+	}
+
+	/**
+	 * @param objStatCacheMaxEntries
+	 *            the objStatCacheMaxEntries to set
+	 */
+	public synchronized void setObjStatCacheMaxEntries(
+			final int objStatCacheMaxEntries) {
+		this.objStatCacheMaxEntries = objStatCacheMaxEntries;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.core.connection.JargonProperties#getObjStatCacheTimeToLiveMillis()
+	 */
+	@Override
+	public synchronized long getObjStatCacheTimeToLiveMillis() {
+		return objStatCacheTimeToLiveMillis;
+	}
+
+	/**
+	 * @param objStatCacheTimeToLiveMillis
+	 *            the objStatCacheTimeToLiveMillis to set
+	 */
+	public synchronized void setObjStatCacheTimeToLiveMillis(
+			final long objStatCacheTimeToLiveMillis) {
+		this.objStatCacheTimeToLiveMillis = objStatCacheTimeToLiveMillis;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.core.connection.JargonProperties#isPrefetchingGenQueryPages()
+	 */
+	@Override
+	public synchronized boolean isPrefetchingGenQueryPages() {
+		return prefetchingGenQueryPages;
+	}
+
+	/**
+	 * @param prefetchingGenQueryPages
+	 *            the prefetchingGenQueryPages to set
+	 */
+	public synchronized void setPrefetchingGenQueryPages(
+			final boolean prefetchingGenQueryPages) {
+		this.prefetchingGenQueryPages = prefetchingGenQueryPages;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.core.connection.JargonProperties#isLocalChecksumReadAhead()
+	 */
+	@Override
+	public synchronized boolean isLocalChecksumReadAhead() {
+		return localChecksumReadAhead;
+	}
+
+	/**
+	 * @param localChecksumReadAhead
+	 *            the localChecksumReadAhead to set
+	 */
+	public synchronized void setLocalChecksumReadAhead(
+			final boolean localChecksumReadAhead) {
+		this.localChecksumReadAhead = localChecksumReadAhead;
+	}
+
 }
@@ -88,11 +88,38 @@ public class CollInp extends AbstractIRODSPackingInstruction {
 		return new CollInp(collectionName, true, true);
 	}
 
+	/**
+	 * Create the packing instruction to create a collection
+	 *
+	 * @param collectionName
+	 *            <code>String</code> with the absolute path to the iRODS
+	 *            collection to be created
+	 * @param recursiveOperation
+	 *            <code>boolean</code> that indicates whether parent
+	 *            collections are also created
+	 * @return <code>CollInp</code> packing instruction.
+	 * @throws JargonException
+	 */
 	public static final CollInp instance(final String collectionName,
 			final boolean recursiveOperation) throws JargonException {
 		return new CollInp(collectionName, recursiveOperation);
 	}
 
+	/**
+	 * Create the packing instruction to delete a collection
+	 *
+	 * @param collectionName
+	 *            <code>String</code> with the absolute path to the iRODS
+	 *            collection to be deleted
+	 * @param recursiveOperation
+	 *            <code>boolean</code> that indicates whether to delete the
+	 *            contents
+	 * @param forceOperation
+	 *            <code>boolean</code> that indicates whether to delete without
+	 *            moving to the trash
+	 * @return <code>CollInp</code> packing instruction.
+	 * @throws JargonException
+	 */
 	public static final CollInp instance(final String collectionName,
 			final boolean recursiveOperation, final boolean forceOperation)
 			throws JargonException {
@@ -109,6 +136,7 @@ public class CollInp extends AbstractIRODSPackingInstruction {
 		this.recursiveOperation = recursiveOperation;
 		forceOperation = false;
 		unregister = false;
+		setApiNumber(MKDIR_API_NBR);
 	}
 
 	private CollInp(final String collectionName,
@@ -122,6 +150,7 @@ public class CollInp extends AbstractIRODSPackingInstruction {
 		this.recursiveOperation = recursiveOperation;
 		this.forceOperation = forceOperation;
 		unregister = false;
+		setApiNumber(RMDIR_API_NBR);
 
 	}
 
@@ -136,6 +165,7 @@ public class CollInp extends AbstractIRODSPackingInstruction {
 		this.recursiveOperation = recursiveOperation;
 		this.forceOperation = forceOperation;
 		this.unregister = unregister;
+		setApiNumber(RMDIR_API_NBR);
 
 	}
 
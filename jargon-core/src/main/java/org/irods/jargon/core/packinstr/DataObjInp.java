@@ -146,7 +146,7 @@ public class DataObjInp extends AbstractIRODSPackingInstruction {
 	 * Generic instance creation method with all constructor parameters. In this
 	 * class are <code>instance()</code> methods that are specific to the
 	 * desired operation, and are recommended. Some of these values are not used
-	 * in certain protocol operations.
+	 * in certain protocol operations. The API number is that of a create.
 	 *
 	 * @param fileAbsolutePath
 	 *            <code>String</code> with the file absolute path.
@@ -173,8 +173,10 @@ public class DataObjInp extends AbstractIRODSPackingInstruction {
 			final int createMode, final OpenFlags openFlags, final long offset,
 			final long dataSize, final String resource,
 			final TransferOptions transferOptions) throws JargonException {
-		return new DataObjInp(fileAbsolutePath, createMode, openFlags, offset,
-				dataSize, resource, transferOptions);
+		DataObjInp dataObjInp = new DataObjInp(fileAbsolutePath, createMode,
+				openFlags, offset, dataSize, resource, transferOptions);
+		dataObjInp.setApiNumber(CREATE_FILE_API_NBR);
+		return dataObjInp;
 	}
 
 	/**
@@ -212,6 +214,7 @@ public class DataObjInp extends AbstractIRODSPackingInstruction {
 				DEFAULT_CREATE_MODE, OpenFlags.READ, 0L, 0L, "", null);
 		dataObjInp.forceOption = DataObjInp.ForceOptions.FORCE;
 		dataObjInp.operationType = DEFAULT_OPERATION_TYPE;
+		dataObjInp.setApiNumber(DELETE_FILE_API_NBR);
 		return dataObjInp;
 	}
 
@@ -394,6 +397,7 @@ public class DataObjInp extends AbstractIRODSPackingInstruction {
 				|| openFlags == OpenFlags.WRITE_TRUNCATE) {
 			dataObjInp.setOperationType(PUT_OPERATION_TYPE);
 		}
+		dataObjInp.setApiNumber(OPEN_FILE_API_NBR);
 		return dataObjInp;
 	}
 
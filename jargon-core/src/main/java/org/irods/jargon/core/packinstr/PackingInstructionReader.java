@@ -0,0 +1,449 @@
+package org.irods.jargon.core.packinstr;
+
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Pull parser over the raw bytes of an iRODS packing instruction as read off
+ * of the socket. The reader walks the message as a series of start and end
+ * tag events without decoding the full message into a <code>String</code>,
+ * and only materializes a value when asked for it.
+ * <p/>
+ * Packing instructions are a restricted XML dialect: no attributes, no
+ * comments, and a tag either holds a value or other tags, never both. A tag
+ * is a leaf if the first markup after its start tag is its own end tag,
+ * consistent with the original <code>Tag</code> parsing.
+ * <p/>
+ * When entity decoding is requested, entities in leaf values are decoded in
+ * place in the provided byte array. The array is therefore modified by this
+ * reader and should not be re-parsed or re-used by the caller afterwards.
+ * <p/>
+ * This class is not thread safe.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class PackingInstructionReader {
+
+	/**
+	 * Events produced by the reader
+	 */
+	public enum Event {
+		START_TAG, END_TAG, END_DOCUMENT
+	}
+
+	private static final byte LT = '<';
+	private static final byte GT = '>';
+	private static final byte SLASH = '/';
+	private static final byte AMP = '&';
+	private static final byte NEWLINE = '\n';
+
+	private final byte[] data;
+	private final int limit;
+	private final String encoding;
+	private final boolean decode;
+
+	private int position;
+	private int depth = 0;
+	private Event event = null;
+
+	private int nameStart;
+	private int nameLength;
+
+	private boolean leaf;
+	private int valueStart;
+	private int valueLength;
+	/**
+	 * end of the raw leaf value in the buffer, which may be past
+	 * <code>valueStart + valueLength</code> once entities are decoded
+	 */
+	private int valueEnd;
+
+	/**
+	 * Create a reader over the given bytes
+	 *
+	 * @param data
+	 *            <code>byte[]</code> with the packing instruction, which will
+	 *            be modified in place if <code>decode</code> is
+	 *            <code>true</code>
+	 * @param offset
+	 *            <code>int</code> with the offset of the message in the array
+	 * @param length
+	 *            <code>int</code> with the length of the message in the array
+	 * @param decode
+	 *            <code>boolean</code> indicating whether XML entities in values
+	 *            should be decoded
+	 * @param encoding
+	 *            <code>String</code> with the character encoding used for
+	 *            values
+	 */
+	public PackingInstructionReader(final byte[] data, final int offset,
+			final int length, final boolean decode, final String encoding) {
+
+		if (data == null) {
+			throw new IllegalArgumentException("null data");
+		}
+
+		if (offset < 0 || length < 0 || offset + length > data.length) {
+			throw new IllegalArgumentException("offset or length out of range");
+		}
+
+		if (encoding == null || encoding.isEmpty()) {
+			throw new IllegalArgumentException("null or empty encoding");
+		}
+
+		this.data = data;
+		position = offset;
+		limit = offset + length;
+		this.decode = decode;
+		this.encoding = encoding;
+	}
+
+	/**
+	 * Create a reader over the entire given byte array
+	 *
+	 * @param data
+	 *            <code>byte[]</code> with the packing instruction
+	 * @param decode
+	 *            <code>boolean</code> indicating whether XML entities in values
+	 *            should be decoded
+	 * @param encoding
+	 *            <code>String</code> with the character encoding used for
+	 *            values
+	 */
+	public PackingInstructionReader(final byte[] data, final boolean decode,
+			final String encoding) {
+		this(data, 0, data == null ? 0 : data.length, decode, encoding);
+	}
+
+	/**
+	 * Advance to the next start or end tag.
+	 *
+	 * @return {@link Event} at the new position. Once the outermost tag is
+	 *         closed, or the data is exhausted, <code>END_DOCUMENT</code> is
+	 *         returned
+	 */
+	public Event next() {
+		if (event == Event.END_DOCUMENT) {
+			return event;
+		}
+
+		if (event == Event.END_TAG && depth == 0) {
+			event = Event.END_DOCUMENT;
+			return event;
+		}
+
+		if (event == Event.START_TAG && leaf) {
+			// leaf value was already scanned, its end tag follows directly
+			position = valueEnd;
+		}
+
+		int start = indexOf(LT, position);
+		if (start < 0) {
+			event = Event.END_DOCUMENT;
+			return event;
+		}
+
+		int close = indexOf(GT, start + 1);
+		if (close < 0) {
+			event = Event.END_DOCUMENT;
+			return event;
+		}
+
+		position = skipNewline(close + 1);
+
+		if (data[start + 1] == SLASH) {
+			nameStart = start + 2;
+			nameLength = close - nameStart;
+			depth--;
+			leaf = false;
+			event = Event.END_TAG;
+			return event;
+		}
+
+		nameStart = start + 1;
+		nameLength = close - nameStart;
+		depth++;
+		event = Event.START_TAG;
+		scanForValue();
+		return event;
+	}
+
+	/**
+	 * Get the current event without advancing
+	 *
+	 * @return {@link Event} or <code>null</code> if <code>next()</code> has
+	 *         not been called
+	 */
+	public Event getEvent() {
+		return event;
+	}
+
+	/**
+	 * Get the nesting depth of the current tag, where the outermost tag is at
+	 * depth 1
+	 *
+	 * @return <code>int</code> with the depth
+	 */
+	public int getDepth() {
+		return event == Event.END_TAG ? depth + 1 : depth;
+	}
+
+	/**
+	 * Get the name of the tag at the current start or end tag event
+	 *
+	 * @return <code>String</code> with the tag name
+	 */
+	public String getTagName() {
+		checkOnTag();
+		return new String(data, nameStart, nameLength, StandardCharsets.US_ASCII);
+	}
+
+	/**
+	 * Check the name of the current tag without creating a <code>String</code>
+	 *
+	 * @param tagName
+	 *            <code>String</code> with the tag name to compare
+	 * @return <code>boolean</code> that is <code>true</code> if the current
+	 *         tag has the given name
+	 */
+	public boolean isTagNamed(final String tagName) {
+		checkOnTag();
+		if (tagName.length() != nameLength) {
+			return false;
+		}
+		for (int i = 0; i < nameLength; i++) {
+			if (data[nameStart + i] != tagName.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Indicates whether the current start tag holds a value rather than
+	 * nested tags
+	 *
+	 * @return <code>boolean</code>
+	 */
+	public boolean isLeaf() {
+		return event == Event.START_TAG && leaf;
+	}
+
+	/**
+	 * Get the value of the current leaf tag
+	 *
+	 * @return <code>String</code> with the value, decoded per the settings of
+	 *         this reader
+	 * @throws UnsupportedEncodingException
+	 */
+	public String getValue() throws UnsupportedEncodingException {
+		checkOnLeaf();
+		return new String(data, valueStart, valueLength, encoding);
+	}
+
+	/**
+	 * Get the value of the current leaf tag as an <code>int</code>, parsed
+	 * directly from the bytes
+	 *
+	 * @return <code>int</code> with the value
+	 */
+	public int getIntValue() {
+		long value = getLongValue();
+		if (value > Integer.MAX_VALUE || value < Integer.MIN_VALUE) {
+			throw new NumberFormatException("value out of range for int");
+		}
+		return (int) value;
+	}
+
+	/**
+	 * Get the value of the current leaf tag as a <code>long</code>, parsed
+	 * directly from the bytes
+	 *
+	 * @return <code>long</code> with the value
+	 */
+	public long getLongValue() {
+		checkOnLeaf();
+		int i = valueStart;
+		int end = valueStart + valueLength;
+		boolean negative = false;
+
+		if (i < end && (data[i] == '-' || data[i] == '+')) {
+			negative = data[i] == '-';
+			i++;
+		}
+
+		if (i == end) {
+			throw new NumberFormatException("no digits in value");
+		}
+
+		long value = 0;
+		for (; i < end; i++) {
+			int digit = data[i] - '0';
+			if (digit < 0 || digit > 9) {
+				throw new NumberFormatException("invalid character in numeric value");
+			}
+			value = value * 10 + digit;
+		}
+
+		return negative ? -value : value;
+	}
+
+	/**
+	 * Skip over the children of the current start tag, leaving the reader
+	 * positioned on its matching end tag
+	 */
+	public void skipChildren() {
+		if (event != Event.START_TAG) {
+			throw new IllegalStateException("not positioned on a start tag");
+		}
+
+		int targetDepth = depth - 1;
+		while (next() != Event.END_DOCUMENT) {
+			if (event == Event.END_TAG && depth == targetDepth) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Build a {@link Tag} tree for the element at the current start tag,
+	 * leaving the reader positioned on its matching end tag. This allows a
+	 * caller to materialize only the part of a message it needs.
+	 *
+	 * @return {@link Tag} for the current element
+	 * @throws UnsupportedEncodingException
+	 */
+	public Tag readTag() throws UnsupportedEncodingException {
+		if (event != Event.START_TAG) {
+			throw new IllegalStateException("not positioned on a start tag");
+		}
+
+		Tag tag = new Tag(getTagName());
+		if (leaf) {
+			tag.value = getValue();
+			next();
+			return tag;
+		}
+
+		while (next() == Event.START_TAG) {
+			tag.addTag(readTag());
+		}
+		return tag;
+	}
+
+	/**
+	 * Determine whether the tag just opened is a leaf, and if so, locate (and
+	 * optionally decode) its value
+	 */
+	private void scanForValue() {
+		int nextMarkup = indexOf(LT, position);
+		if (nextMarkup < 0 || nextMarkup + 1 >= limit
+				|| data[nextMarkup + 1] != SLASH) {
+			leaf = false;
+			return;
+		}
+
+		leaf = true;
+		valueStart = position;
+		valueEnd = nextMarkup;
+		if (decode) {
+			valueLength = decodeInPlace(valueStart, valueEnd);
+		} else {
+			valueLength = valueEnd - valueStart;
+		}
+	}
+
+	/**
+	 * Decode XML entities between <code>start</code> and <code>end</code>,
+	 * compacting the result at <code>start</code>
+	 *
+	 * @return <code>int</code> with the decoded length
+	 */
+	private int decodeInPlace(final int start, final int end) {
+		int read = indexOf(AMP, start, end);
+		if (read < 0) {
+			return end - start;
+		}
+
+		int write = read;
+		while (read < end) {
+			byte b = data[read];
+			if (b == AMP) {
+				int consumed = 0;
+				byte replacement = 0;
+				if (matches(read, end, Tag.AMP)) {
+					consumed = Tag.AMP.length();
+					replacement = '&';
+				} else if (matches(read, end, Tag.LT)) {
+					consumed = Tag.LT.length();
+					replacement = '<';
+				} else if (matches(read, end, Tag.GT)) {
+					consumed = Tag.GT.length();
+					replacement = '>';
+				} else if (matches(read, end, Tag.QUOTE)) {
+					consumed = Tag.QUOTE.length();
+					replacement = '"';
+				} else if (matches(read, end, Tag.APOS)) {
+					consumed = Tag.APOS.length();
+					replacement = '`';
+				}
+
+				if (consumed > 0) {
+					data[write++] = replacement;
+					read += consumed;
+					continue;
+				}
+			}
+			data[write++] = b;
+			read++;
+		}
+		return write - start;
+	}
+
+	private boolean matches(final int at, final int end, final String entity) {
+		int length = entity.length();
+		if (at + length > end) {
+			return false;
+		}
+		for (int i = 1; i < length; i++) {
+			if (data[at + i] != entity.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private int skipNewline(final int at) {
+		if (at < limit && data[at] == NEWLINE) {
+			return at + 1;
+		}
+		return at;
+	}
+
+	private int indexOf(final byte b, final int from) {
+		return indexOf(b, from, limit);
+	}
+
+	private int indexOf(final byte b, final int from, final int to) {
+		for (int i = from; i < to; i++) {
+			if (data[i] == b) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private void checkOnTag() {
+		if (event != Event.START_TAG && event != Event.END_TAG) {
+			throw new IllegalStateException("not positioned on a tag");
+		}
+	}
+
+	private void checkOnLeaf() {
+		if (event != Event.START_TAG || !leaf) {
+			throw new IllegalStateException("not positioned on a leaf tag");
+		}
+	}
+
+}
@@ -0,0 +1,375 @@
+package org.irods.jargon.core.packinstr;
+
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Serializes packing instructions, along with the <code>MsgHeader_PI</code>
+ * framing, directly into a reusable byte buffer, producing the same bytes as
+ * {@link Tag#parseTag()} followed by encoding of the resulting
+ * <code>String</code>, without creating those intermediate objects.
+ * <p/>
+ * A writer is meant to be owned by one connection and re-used for each
+ * message sent. After a message is written, the framed bytes are available
+ * from {@link #getArray()}, starting at {@link #getMessageOffset()} for
+ * {@link #getMessageLength()} bytes, and consist of the 4 byte header length
+ * in network order, the header, and the packing instruction.
+ * <p/>
+ * This class is not thread safe.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class PackingInstructionWriter {
+
+	/**
+	 * Default initial size of the buffer
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+	/**
+	 * Once a very large message has grown the buffer past this size, the
+	 * buffer is released after use rather than kept for the life of the
+	 * connection
+	 */
+	public static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+
+	/**
+	 * Space reserved at the front of the buffer for the header length and the
+	 * header, which are only known once the body is written
+	 */
+	static final int HEADER_RESERVE = 256;
+
+	private static final byte[] HEADER_OPEN = ascii("<MsgHeader_PI><type>");
+	private static final byte[] MSG_LEN_OPEN = ascii("</type><msgLen>");
+	private static final byte[] ERROR_LEN_OPEN = ascii("</msgLen><errorLen>");
+	private static final byte[] BS_LEN_OPEN = ascii("</errorLen><bsLen>");
+	private static final byte[] INT_INFO_OPEN = ascii("</bsLen><intInfo>");
+	private static final byte[] HEADER_CLOSE = ascii("</intInfo></MsgHeader_PI>");
+
+	private static final int HEADER_FIXED_LENGTH = HEADER_OPEN.length
+			+ MSG_LEN_OPEN.length + ERROR_LEN_OPEN.length + BS_LEN_OPEN.length
+			+ INT_INFO_OPEN.length + HEADER_CLOSE.length;
+
+	private static final byte[] NULL_VALUE = ascii("null");
+
+	private final Charset charset;
+	private final boolean utf8;
+	private final int initialSize;
+	private ByteBuffer buffer;
+	private int messageOffset = 0;
+
+	/**
+	 * Create a writer for the given character encoding
+	 *
+	 * @param encoding
+	 *            <code>String</code> with the encoding used for values
+	 * @throws UnsupportedEncodingException
+	 */
+	public PackingInstructionWriter(final String encoding)
+			throws UnsupportedEncodingException {
+		this(encoding, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Create a writer for the given character encoding and initial buffer size
+	 *
+	 * @param encoding
+	 *            <code>String</code> with the encoding used for values
+	 * @param initialSize
+	 *            <code>int</code> with the initial size of the buffer
+	 * @throws UnsupportedEncodingException
+	 */
+	public PackingInstructionWriter(final String encoding, final int initialSize)
+			throws UnsupportedEncodingException {
+
+		if (encoding == null || encoding.isEmpty()) {
+			throw new IllegalArgumentException("null or empty encoding");
+		}
+
+		if (initialSize <= HEADER_RESERVE) {
+			throw new IllegalArgumentException("initial size too small");
+		}
+
+		if (!Charset.isSupported(encoding)) {
+			throw new UnsupportedEncodingException(encoding);
+		}
+
+		charset = Charset.forName(encoding);
+		if (!isAsciiCompatible(charset)) {
+			throw new UnsupportedEncodingException(
+					"encoding does not encode markup as ASCII:" + encoding);
+		}
+
+		utf8 = charset.equals(StandardCharsets.UTF_8);
+		this.initialSize = initialSize;
+	}
+
+	/**
+	 * Serialize a complete API request, including the header framing
+	 *
+	 * @param type
+	 *            <code>String</code> with the header type
+	 * @param message
+	 *            {@link Tag} with the packing instruction, or
+	 *            <code>null</code> if no message is sent
+	 * @param errorLength
+	 *            <code>int</code> with the length of error data that follows
+	 * @param byteStringLength
+	 *            <code>long</code> with the length of binary data that
+	 *            follows
+	 * @param intInfo
+	 *            <code>int</code> with the API number
+	 * @return <code>int</code> with the number of packing instruction bytes
+	 *         (the msgLen sent in the header)
+	 */
+	public int writeMessage(final String type, final Tag message,
+			final int errorLength, final long byteStringLength,
+			final int intInfo) {
+
+		if (type == null || type.isEmpty()) {
+			throw new IllegalArgumentException("null or empty type");
+		}
+
+		if (buffer == null) {
+			buffer = ByteBuffer.allocate(initialSize);
+		}
+
+		buffer.clear();
+		buffer.position(HEADER_RESERVE);
+
+		if (message != null) {
+			writeTag(message);
+		}
+
+		int messageLength = buffer.position() - HEADER_RESERVE;
+		int end = buffer.position();
+
+		int headerLength = HEADER_FIXED_LENGTH + type.length()
+				+ digits(messageLength) + digits(errorLength)
+				+ digits(byteStringLength) + digits(intInfo);
+
+		messageOffset = HEADER_RESERVE - headerLength - 4;
+		if (messageOffset < 0) {
+			throw new IllegalArgumentException("header too long");
+		}
+
+		buffer.position(messageOffset);
+		buffer.putInt(headerLength);
+		buffer.put(HEADER_OPEN);
+		putAscii(type);
+		buffer.put(MSG_LEN_OPEN);
+		putNumber(messageLength);
+		buffer.put(ERROR_LEN_OPEN);
+		putNumber(errorLength);
+		buffer.put(BS_LEN_OPEN);
+		putNumber(byteStringLength);
+		buffer.put(INT_INFO_OPEN);
+		putNumber(intInfo);
+		buffer.put(HEADER_CLOSE);
+		buffer.position(end);
+
+		return messageLength;
+	}
+
+	/**
+	 * Serialize a tag and its children exactly as {@link Tag#parseTag()}
+	 * would render it
+	 *
+	 * @param tag
+	 *            {@link Tag} to write
+	 */
+	void writeTag(final Tag tag) {
+		ensureCapacity(tag.tagName.length() * 2 + 5);
+		buffer.put((byte) Tag.OPEN_START_TAG);
+		putAscii(tag.tagName);
+		buffer.put((byte) Tag.CLOSE_START_TAG);
+
+		if (tag.tags != null) {
+			for (Tag child : tag.tags) {
+				writeTag(child);
+			}
+		} else if (tag.value == null) {
+			ensureCapacity(NULL_VALUE.length);
+			buffer.put(NULL_VALUE);
+		} else {
+			putEscapedValue(tag.value);
+		}
+
+		ensureCapacity(tag.tagName.length() + 4);
+		buffer.put((byte) '<');
+		buffer.put((byte) '/');
+		putAscii(tag.tagName);
+		buffer.put((byte) Tag.CLOSE_END_TAG);
+		buffer.put((byte) '\n');
+	}
+
+	/**
+	 * Release the buffer if a large message has grown it beyond the size
+	 * worth keeping for the connection
+	 */
+	public void trim() {
+		if (buffer != null && buffer.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+			buffer = null;
+		}
+	}
+
+	/**
+	 * @return <code>byte[]</code> backing the buffer, holding the framed
+	 *         message from the last call to <code>writeMessage</code>
+	 */
+	public byte[] getArray() {
+		return buffer.array();
+	}
+
+	/**
+	 * @return <code>int</code> with the offset of the framed message in the
+	 *         array
+	 */
+	public int getMessageOffset() {
+		return messageOffset;
+	}
+
+	/**
+	 * @return <code>int</code> with the total length of the framed message,
+	 *         including the header length and header
+	 */
+	public int getMessageLength() {
+		return buffer.position() - messageOffset;
+	}
+
+	/**
+	 * @return <code>int</code> with the current capacity of the buffer, or 0
+	 *         if not yet allocated
+	 */
+	public int getCapacity() {
+		return buffer == null ? 0 : buffer.capacity();
+	}
+
+	private void putEscapedValue(final String value) {
+		int length = value.length();
+		// worst case of an escape per char, or three bytes per char
+		ensureCapacity(length * 6);
+
+		if (!utf8) {
+			for (int i = 0; i < length; i++) {
+				char c = value.charAt(i);
+				if (c >= 0x80) {
+					putEscapedValueWithEncoder(value);
+					return;
+				}
+			}
+		}
+
+		for (int i = 0; i < length; i++) {
+			char c = value.charAt(i);
+			if (c == '&') {
+				putAscii(Tag.AMP);
+			} else if (c == '<') {
+				putAscii(Tag.LT);
+			} else if (c == '>') {
+				putAscii(Tag.GT);
+			} else if (c == '"') {
+				putAscii(Tag.QUOTE);
+			} else if (c == '`') {
+				putAscii(Tag.APOS);
+			} else if (c < 0x80) {
+				buffer.put((byte) c);
+			} else if (c < 0x800) {
+				buffer.put((byte) (0xc0 | (c >> 6)));
+				buffer.put((byte) (0x80 | (c & 0x3f)));
+			} else if (Character.isHighSurrogate(c) && i + 1 < length
+					&& Character.isLowSurrogate(value.charAt(i + 1))) {
+				int codePoint = Character.toCodePoint(c, value.charAt(++i));
+				buffer.put((byte) (0xf0 | (codePoint >> 18)));
+				buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3f)));
+				buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3f)));
+				buffer.put((byte) (0x80 | (codePoint & 0x3f)));
+			} else if (Character.isSurrogate(c)) {
+				// unpaired surrogate, same replacement as String.getBytes()
+				buffer.put((byte) '?');
+			} else {
+				buffer.put((byte) (0xe0 | (c >> 12)));
+				buffer.put((byte) (0x80 | ((c >> 6) & 0x3f)));
+				buffer.put((byte) (0x80 | (c & 0x3f)));
+			}
+		}
+	}
+
+	/**
+	 * Slow path for values outside of ASCII in encodings other than UTF-8
+	 */
+	private void putEscapedValueWithEncoder(final String value) {
+		byte[] encoded = Tag.escapeChars(value).getBytes(charset);
+		ensureCapacity(encoded.length);
+		buffer.put(encoded);
+	}
+
+	private void putAscii(final String value) {
+		int length = value.length();
+		ensureCapacity(length);
+		for (int i = 0; i < length; i++) {
+			buffer.put((byte) value.charAt(i));
+		}
+	}
+
+	private void putNumber(final long value) {
+		if (value < 0) {
+			buffer.put((byte) '-');
+		}
+		int digits = digits(Math.abs(value));
+		int end = buffer.position() + digits;
+		long remaining = Math.abs(value);
+		for (int i = end - 1; i >= end - digits; i--) {
+			buffer.put(i, (byte) ('0' + remaining % 10));
+			remaining /= 10;
+		}
+		buffer.position(end);
+	}
+
+	/**
+	 * Number of characters needed to render the value, including any sign
+	 */
+	static int digits(final long value) {
+		if (value == Long.MIN_VALUE) {
+			return 20;
+		}
+		long remaining = Math.abs(value);
+		int digits = value < 0 ? 2 : 1;
+		while (remaining >= 10) {
+			remaining /= 10;
+			digits++;
+		}
+		return digits;
+	}
+
+	private void ensureCapacity(final int needed) {
+		if (buffer.remaining() >= needed) {
+			return;
+		}
+
+		int newCapacity = Math.max(buffer.capacity() * 2, buffer.position()
+				+ needed);
+		ByteBuffer grown = ByteBuffer.allocate(newCapacity);
+		buffer.flip();
+		grown.put(buffer);
+		buffer = grown;
+	}
+
+	/**
+	 * Tag names and markup are written as ASCII, which is only valid if the
+	 * encoding renders them the same way
+	 */
+	private static boolean isAsciiCompatible(final Charset charset) {
+		String markup = "<aZ09_>&;/\n";
+		return Arrays.equals(ascii(markup), markup.getBytes(charset));
+	}
+
+	private static byte[] ascii(final String value) {
+		return value.getBytes(StandardCharsets.US_ASCII);
+	}
+
+}
@@ -378,7 +378,7 @@ public class Tag implements Cloneable {
 		return parsed.toString();
 	}
 
-	String escapeChars(final String out) {
+	static String escapeChars(final String out) {
 		if (out == null) {
 			return null;
 		}
@@ -428,83 +428,29 @@ public class Tag implements Cloneable {
 		return readNextTag(data, true, encoding);
 	}
 
+	/**
+	 * Read the data buffer to discover the first tag, building the full tag
+	 * tree. The bytes are parsed directly by a
+	 * {@link PackingInstructionReader}, and when <code>decode</code> is
+	 * <code>true</code> entities are decoded in place, so the provided array
+	 * is modified.
+	 *
+	 * @throws UnsupportedEncodingException
+	 *             shouldn't throw, already tested for
+	 */
 	public static Tag readNextTag(final byte[] data, final boolean decode,
 			final String encoding) throws UnsupportedEncodingException {
 		if (data == null) {
 			return null;
 		}
 
-		String d = new String(data, encoding);
-
-		// remove the random '\n'
-		// had to find the end, sometimes '\n' is there, sometimes not.
-		// d = d.replaceAll(CLOSE_END_TAG + "\n", "" + CLOSE_END_TAG);
-		d = d.replaceAll(CLOSE_END_TAG_WITH_CR, CLOSE_END_TAG_STR);
-		int start = d.indexOf(OPEN_START_TAG), end = d.indexOf(CLOSE_START_TAG,
-				start);
-		int offset = 0;
-		if (start < 0) {
+		PackingInstructionReader reader = new PackingInstructionReader(data,
+				decode, encoding);
+		if (reader.next() != PackingInstructionReader.Event.START_TAG) {
 			return null;
 		}
 
-		String tagName = d.substring(start + 1, end);
-		StringBuilder sb = new StringBuilder();
-		sb.append(OPEN_END_TAG);
-		sb.append(tagName);
-		sb.append(CLOSE_END_TAG);
-		end = d.lastIndexOf(sb.toString());
-
-		Tag tag = new Tag(tagName);
-		offset = start + tagName.length() + 2;
-
-		while (d.indexOf(OPEN_START_TAG, offset) >= 0 && offset >= 0
-				&& offset < end) {
-			// send the rest of the bytes read
-			offset = readSubTag(tag, d, offset, decode);
-		}
-
-		return tag;
-	}
-
-	/**
-	 * Read the data buffer to discover a sub tag. Fill the values of that tag
-	 * according to the above defined static final values.
-	 *
-	 * @throws UnsupportedEncodingException
-	 *             shouldn't throw, already tested for
-	 */
-	private static int readSubTag(final Tag tag, final String data, int offset,
-			final boolean decode) throws UnsupportedEncodingException {
-		// easier to just write a second slightly modified method
-		// instead of try to mix the two together,
-		// even though they are very similar.
-		int start = data.indexOf(OPEN_START_TAG, offset);
-		if (start < 0) {
-			return 1;
-		}
-		int closeStart = data.indexOf(CLOSE_START_TAG, start);
-		String tagName = data.substring(start + 1, closeStart);
-		StringBuilder sb = new StringBuilder();
-		sb.append(OPEN_END_TAG);
-		sb.append(tagName);
-		sb.append(CLOSE_END_TAG);
-		int end = data.indexOf(sb.toString(), closeStart);
-		int subTagStart = data.indexOf(OPEN_START_TAG, closeStart);
-
-		Tag subTag = new Tag(tagName);
-		tag.addTag(subTag);
-		offset = start + tagName.length() + 2;
-		if (subTagStart == end) {
-			subTag.setValue(data.substring(offset, end), decode);
-			return end + tagName.length() + 3; // endTagLocation + </endTag>
-		} else {
-			while (data.indexOf(OPEN_START_TAG, offset) >= 0 && offset >= 0
-					&& offset < end) {
-				// read the subTag, get new offset
-				offset = readSubTag(subTag, data, offset, decode);
-			}
-			return offset + tagName.length() + 3; // endTagLocation + </endTag>
-		}
+		return reader.readTag();
 	}
 
 	/**
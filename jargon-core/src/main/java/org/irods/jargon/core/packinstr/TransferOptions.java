@@ -71,6 +71,26 @@ public class TransferOptions {
 	 */
 	private boolean computeAndVerifyChecksumAfterTransfer = false;
 
+	/**
+	 * Number of files of a recursive get or put that may be transferred at the
+	 * same time, each on its own connection. A value of 1 transfers one file
+	 * at a time
+	 */
+	private int recursiveTransferConcurrency = 1;
+
+	/**
+	 * Pack the small files of each directory in a recursive put into a tar
+	 * bundle that is extracted on the server
+	 */
+	private boolean bundleSmallFilesOnPut = false;
+
+	/**
+	 * Number of connections that read ranges of a large data object in a
+	 * client driven segmented get. A value of 0 or 1 leaves large gets to the
+	 * server driven parallel transfer
+	 */
+	private int segmentedGetThreads = 0;
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -117,6 +137,12 @@ public class TransferOptions {
 		builder.append(computeChecksumAfterTransfer);
 		builder.append(", computeAndVerifyChecksumAfterTransfer=");
 		builder.append(computeAndVerifyChecksumAfterTransfer);
+		builder.append(", recursiveTransferConcurrency=");
+		builder.append(recursiveTransferConcurrency);
+		builder.append(", bundleSmallFilesOnPut=");
+		builder.append(bundleSmallFilesOnPut);
+		builder.append(", segmentedGetThreads=");
+		builder.append(segmentedGetThreads);
 		builder.append("]");
 		return builder.toString();
 	}
@@ -152,6 +178,11 @@ public class TransferOptions {
 						.getIntraFileStatusCallbacksNumberCallsInterval());
 				setIntraFileStatusCallbacksTotalBytesInterval(transferOptions
 						.getIntraFileStatusCallbacksTotalBytesInterval());
+				setRecursiveTransferConcurrency(transferOptions
+						.getRecursiveTransferConcurrency());
+				setBundleSmallFilesOnPut(transferOptions
+						.isBundleSmallFilesOnPut());
+				setSegmentedGetThreads(transferOptions.getSegmentedGetThreads());
 			}
 		}
 	}
@@ -406,4 +437,82 @@ public class TransferOptions {
 			final long intraFileStatusCallbacksTotalBytesInterval) {
 		this.intraFileStatusCallbacksTotalBytesInterval = intraFileStatusCallbacksTotalBytesInterval;
 	}
+
+	/**
+	 * Get the number of files of a recursive get or put that may be
+	 * transferred at the same time
+	 *
+	 * @return <code>int</code> with the number of concurrent file transfers,
+	 *         where 1 means the files are transferred one at a time
+	 */
+	public synchronized int getRecursiveTransferConcurrency() {
+		return recursiveTransferConcurrency;
+	}
+
+	/**
+	 * Set the number of files of a recursive get or put that may be
+	 * transferred at the same time, each on its own connection
+	 *
+	 * @param recursiveTransferConcurrency
+	 *            <code>int</code> with the number of concurrent file
+	 *            transfers, a value less than 1 is treated as 1
+	 */
+	public synchronized void setRecursiveTransferConcurrency(
+			final int recursiveTransferConcurrency) {
+		this.recursiveTransferConcurrency = Math.max(1,
+				recursiveTransferConcurrency);
+	}
+
+	/**
+	 * Check whether a recursive put packs the small files of each directory
+	 * into a tar bundle that is extracted on the server
+	 *
+	 * @return <code>boolean</code> that is <code>true</code> if small files
+	 *         are bundled
+	 */
+	public synchronized boolean isBundleSmallFilesOnPut() {
+		return bundleSmallFilesOnPut;
+	}
+
+	/**
+	 * Set whether a recursive put packs the small files of each directory into
+	 * a tar bundle that is extracted on the server. The size limits are taken
+	 * from the jargon properties. Bundling is not done when a checksum is to
+	 * be computed after the transfer.
+	 *
+	 * @param bundleSmallFilesOnPut
+	 *            <code>boolean</code> that is <code>true</code> if small files
+	 *            are bundled
+	 */
+	public synchronized void setBundleSmallFilesOnPut(
+			final boolean bundleSmallFilesOnPut) {
+		this.bundleSmallFilesOnPut = bundleSmallFilesOnPut;
+	}
+
+	/**
+	 * Get the number of connections that read ranges of a large data object
+	 * in a client driven segmented get
+	 *
+	 * @return <code>int</code> with the number of connections, where a value
+	 *         of 0 or 1 means segmented gets are not done
+	 */
+	public synchronized int getSegmentedGetThreads() {
+		return segmentedGetThreads;
+	}
+
+	/**
+	 * Set the number of connections that read ranges of a large data object in
+	 * a client driven segmented get, rather than using the threads offered by
+	 * the server for a parallel transfer. The smallest data object this
+	 * applies to and the size of the ranges are taken from the jargon
+	 * properties.
+	 *
+	 * @param segmentedGetThreads
+	 *            <code>int</code> with the number of connections, 0 or 1 to
+	 *            leave large gets to the server driven parallel transfer
+	 */
+	public synchronized void setSegmentedGetThreads(
+			final int segmentedGetThreads) {
+		this.segmentedGetThreads = segmentedGetThreads;
+	}
 }
@@ -7,7 +7,14 @@ package org.irods.jargon.core.protovalues;
  */
 public enum ChecksumEncodingEnum {
 
-	DEFAULT("DEFAULT"), MD5("MD5"), SHA256("SHA256"), STRONG("STRONG");
+	DEFAULT("DEFAULT"), MD5("MD5"), SHA256("SHA256"), STRONG("STRONG"),
+
+	/**
+	 * SHA256 tree hash computed by Jargon for its own integrity checks of
+	 * local files. iRODS does not compute this checksum, so it cannot be
+	 * compared with a checksum from the server.
+	 */
+	SHA256_TREE("SHA256_TREE");
 
 	private String textValue;
 
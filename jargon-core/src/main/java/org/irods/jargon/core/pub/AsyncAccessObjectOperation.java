@@ -0,0 +1,34 @@
+package org.irods.jargon.core.pub;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+
+/**
+ * An operation against iRODS that is run by an
+ * {@link AsyncIRODSAccessObjectFactory} on one of its worker threads. The
+ * operation obtains whatever access objects it needs from the given factory,
+ * and the connection used is returned when the operation completes.
+ *
+ * @param <T>
+ *            type of the result of the operation
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public interface AsyncAccessObjectOperation<T> {
+
+	/**
+	 * Run the operation
+	 *
+	 * @param irodsAccessObjectFactory
+	 *            {@link IRODSAccessObjectFactory} used to obtain access objects
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} the operation runs as
+	 * @return <code>T</code> with the result of the operation, which completes
+	 *         the future returned for it
+	 * @throws Exception
+	 *             any exception completes the future exceptionally
+	 */
+	T execute(IRODSAccessObjectFactory irodsAccessObjectFactory,
+			IRODSAccount irodsAccount) throws Exception;
+
+}
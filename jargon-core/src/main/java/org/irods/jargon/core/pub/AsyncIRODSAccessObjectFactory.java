@@ -0,0 +1,128 @@
+package org.irods.jargon.core.pub;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.pub.domain.DataObject;
+import org.irods.jargon.core.pub.domain.ObjStat;
+import org.irods.jargon.core.query.AbstractIRODSGenQuery;
+import org.irods.jargon.core.query.CollectionAndDataObjectListingEntry;
+import org.irods.jargon.core.query.IRODSQueryResultSet;
+
+/**
+ * Asynchronous facade over the {@link IRODSAccessObjectFactory}. Operations
+ * are run on a bounded pool of worker threads and return a
+ * <code>CompletableFuture</code>, so that callers can fan out many independent
+ * requests, such as stat-ing every path shown on a page, and combine the
+ * results without managing threads themselves.
+ * <p/>
+ * Connections in Jargon are bound to the thread that uses them, so each
+ * operation runs with the connection of its worker thread and that connection
+ * is closed when the operation completes. This is intended to be used with an
+ * <code>IRODSFileSystem</code> configured to use the connection pool, so that
+ * closing a connection returns it to the pool rather than disconnecting.
+ * <p/>
+ * Failures complete the future exceptionally with the exception thrown by the
+ * underlying access object.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public interface AsyncIRODSAccessObjectFactory {
+
+	/**
+	 * Run an arbitrary operation using the access objects of the underlying
+	 * factory
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} the operation runs as
+	 * @param operation
+	 *            {@link AsyncAccessObjectOperation} to run
+	 * @return <code>CompletableFuture</code> with the result of the operation
+	 */
+	<T> CompletableFuture<T> submit(IRODSAccount irodsAccount,
+			AsyncAccessObjectOperation<T> operation);
+
+	/**
+	 * Retrieve the <code>ObjStat</code> for the given path, as in
+	 * {@link CollectionAndDataObjectListAndSearchAO#retrieveObjectStatForPath(String)}
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} the operation runs as
+	 * @param irodsAbsolutePath
+	 *            <code>String</code> with the absolute path to a collection or
+	 *            data object
+	 * @return <code>CompletableFuture</code> with the {@link ObjStat}
+	 */
+	CompletableFuture<ObjStat> retrieveObjectStatForPath(
+			IRODSAccount irodsAccount, String irodsAbsolutePath);
+
+	/**
+	 * Retrieve the <code>ObjStat</code> for each of the given paths, running
+	 * the stats concurrently. The returned future completes exceptionally if
+	 * any one of the stats fails.
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} the operation runs as
+	 * @param irodsAbsolutePaths
+	 *            <code>List</code> of <code>String</code> with absolute paths
+	 * @return <code>CompletableFuture</code> with a <code>List</code> of
+	 *         {@link ObjStat} in the order of the given paths
+	 */
+	CompletableFuture<List<ObjStat>> retrieveObjectStatForPaths(
+			IRODSAccount irodsAccount, List<String> irodsAbsolutePaths);
+
+	/**
+	 * Find the data object at the given path, as in
+	 * {@link DataObjectAO#findByAbsolutePath(String)}
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} the operation runs as
+	 * @param absolutePath
+	 *            <code>String</code> with the absolute path to the data object
+	 * @return <code>CompletableFuture</code> with the {@link DataObject}
+	 */
+	CompletableFuture<DataObject> findDataObjectByAbsolutePath(
+			IRODSAccount irodsAccount, String absolutePath);
+
+	/**
+	 * List the collections and data objects under the given parent, as in
+	 * {@link CollectionAndDataObjectListAndSearchAO#listDataObjectsAndCollectionsUnderPath(String)}
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} the operation runs as
+	 * @param absolutePathToParent
+	 *            <code>String</code> with the absolute path to the parent
+	 *            collection
+	 * @return <code>CompletableFuture</code> with a <code>List</code> of
+	 *         {@link CollectionAndDataObjectListingEntry}
+	 */
+	CompletableFuture<List<CollectionAndDataObjectListingEntry>> listDataObjectsAndCollectionsUnderPath(
+			IRODSAccount irodsAccount, String absolutePathToParent);
+
+	/**
+	 * Execute a GenQuery and close the result on the server, as in
+	 * {@link IRODSGenQueryExecutor#executeIRODSQueryAndCloseResult(AbstractIRODSGenQuery, int)}
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} the operation runs as
+	 * @param irodsQuery
+	 *            {@link AbstractIRODSGenQuery} to run
+	 * @param partialStartIndex
+	 *            <code>int</code> with the offset of the first result
+	 * @return <code>CompletableFuture</code> with the
+	 *         {@link IRODSQueryResultSet}
+	 */
+	CompletableFuture<IRODSQueryResultSet> executeIRODSQueryAndCloseResult(
+			IRODSAccount irodsAccount, AbstractIRODSGenQuery irodsQuery,
+			int partialStartIndex);
+
+	/**
+	 * Shut down the worker threads once the queued operations are finished, if
+	 * they were created by this factory. A caller supplied executor is left
+	 * running.
+	 */
+	void shutdown();
+
+}
@@ -0,0 +1,336 @@
+package org.irods.jargon.core.pub;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.pub.domain.DataObject;
+import org.irods.jargon.core.pub.domain.ObjStat;
+import org.irods.jargon.core.query.AbstractIRODSGenQuery;
+import org.irods.jargon.core.query.CollectionAndDataObjectListingEntry;
+import org.irods.jargon.core.query.IRODSQueryResultSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Default implementation of the {@link AsyncIRODSAccessObjectFactory}.
+ * <p/>
+ * By default operations run on a fixed pool of daemon threads sized by
+ * <code>JargonProperties.getConnectionPoolMaxPerAccount()</code>, so that the
+ * worker threads of one account do not wait on the connection pool. A caller
+ * supplied <code>ExecutorService</code> may be used instead, in which case it
+ * is not shut down by this factory. Operations should not block waiting on
+ * other operations submitted to the same factory, as this may exhaust the
+ * worker threads.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class AsyncIRODSAccessObjectFactoryImpl implements
+		AsyncIRODSAccessObjectFactory {
+
+	private static final Logger log = LoggerFactory
+			.getLogger(AsyncIRODSAccessObjectFactoryImpl.class);
+
+	private final IRODSAccessObjectFactory irodsAccessObjectFactory;
+	private final ExecutorService executorService;
+	private final boolean ownsExecutorService;
+
+	/**
+	 * Create an async factory with its own bounded pool of worker threads
+	 *
+	 * @param irodsAccessObjectFactory
+	 *            {@link IRODSAccessObjectFactory} that will provide access
+	 *            objects
+	 * @return {@link AsyncIRODSAccessObjectFactory}
+	 * @throws JargonException
+	 */
+	public static AsyncIRODSAccessObjectFactory instance(
+			final IRODSAccessObjectFactory irodsAccessObjectFactory)
+			throws JargonException {
+		if (irodsAccessObjectFactory == null) {
+			throw new IllegalArgumentException("null irodsAccessObjectFactory");
+		}
+
+		int threads = irodsAccessObjectFactory.getJargonProperties()
+				.getConnectionPoolMaxPerAccount();
+		if (threads <= 0) {
+			throw new JargonException(
+					"connection pool max per account must be > 0");
+		}
+
+		log.info("creating async access object factory with {} threads",
+				threads);
+		final AtomicInteger threadCount = new AtomicInteger(0);
+		ExecutorService executorService = Executors.newFixedThreadPool(
+				threads, new ThreadFactory() {
+					@Override
+					public Thread newThread(final Runnable runnable) {
+						Thread thread = new Thread(runnable,
+								"jargon-async-ao-"
+										+ threadCount.incrementAndGet());
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+
+		return new AsyncIRODSAccessObjectFactoryImpl(irodsAccessObjectFactory,
+				executorService, true);
+	}
+
+	/**
+	 * Create an async factory that runs operations on the given executor,
+	 * which remains owned by the caller
+	 *
+	 * @param irodsAccessObjectFactory
+	 *            {@link IRODSAccessObjectFactory} that will provide access
+	 *            objects
+	 * @param executorService
+	 *            <code>ExecutorService</code> that will run operations
+	 */
+	public AsyncIRODSAccessObjectFactoryImpl(
+			final IRODSAccessObjectFactory irodsAccessObjectFactory,
+			final ExecutorService executorService) {
+		this(irodsAccessObjectFactory, executorService, false);
+	}
+
+	private AsyncIRODSAccessObjectFactoryImpl(
+			final IRODSAccessObjectFactory irodsAccessObjectFactory,
+			final ExecutorService executorService,
+			final boolean ownsExecutorService) {
+		if (irodsAccessObjectFactory == null) {
+			throw new IllegalArgumentException("null irodsAccessObjectFactory");
+		}
+
+		if (executorService == null) {
+			throw new IllegalArgumentException("null executorService");
+		}
+
+		this.irodsAccessObjectFactory = irodsAccessObjectFactory;
+		this.executorService = executorService;
+		this.ownsExecutorService = ownsExecutorService;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.irods.jargon.core.pub.AsyncIRODSAccessObjectFactory#submit(org.irods
+	 * .jargon.core.connection.IRODSAccount,
+	 * org.irods.jargon.core.pub.AsyncAccessObjectOperation)
+	 */
+	@Override
+	public <T> CompletableFuture<T> submit(final IRODSAccount irodsAccount,
+			final AsyncAccessObjectOperation<T> operation) {
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		if (operation == null) {
+			throw new IllegalArgumentException("null operation");
+		}
+
+		final CompletableFuture<T> future = new CompletableFuture<T>();
+		try {
+			executorService.execute(new Runnable() {
+				@Override
+				public void run() {
+					if (future.isDone()) {
+						// cancelled while queued
+						return;
+					}
+
+					try {
+						future.complete(operation.execute(
+								irodsAccessObjectFactory, irodsAccount));
+					} catch (Throwable e) {
+						log.debug("async operation failed", e);
+						future.completeExceptionally(e);
+					} finally {
+						irodsAccessObjectFactory
+								.closeSessionAndEatExceptions(irodsAccount);
+					}
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			log.error("async operation rejected", e);
+			future.completeExceptionally(new JargonException(
+					"async operation rejected, factory may be shut down", e));
+		}
+		return future;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.pub.AsyncIRODSAccessObjectFactory#
+	 * retrieveObjectStatForPath(org.irods.jargon.core.connection.IRODSAccount,
+	 * java.lang.String)
+	 */
+	@Override
+	public CompletableFuture<ObjStat> retrieveObjectStatForPath(
+			final IRODSAccount irodsAccount, final String irodsAbsolutePath) {
+		if (irodsAbsolutePath == null || irodsAbsolutePath.isEmpty()) {
+			throw new IllegalArgumentException(
+					"null or empty irodsAbsolutePath");
+		}
+
+		return submit(irodsAccount, new AsyncAccessObjectOperation<ObjStat>() {
+			@Override
+			public ObjStat execute(
+					final IRODSAccessObjectFactory irodsAccessObjectFactory,
+					final IRODSAccount irodsAccount) throws Exception {
+				return irodsAccessObjectFactory
+						.getCollectionAndDataObjectListAndSearchAO(
+								irodsAccount).retrieveObjectStatForPath(
+								irodsAbsolutePath);
+			}
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.pub.AsyncIRODSAccessObjectFactory#
+	 * retrieveObjectStatForPaths(org.irods.jargon.core.connection.IRODSAccount,
+	 * java.util.List)
+	 */
+	@Override
+	public CompletableFuture<List<ObjStat>> retrieveObjectStatForPaths(
+			final IRODSAccount irodsAccount,
+			final List<String> irodsAbsolutePaths) {
+		if (irodsAbsolutePaths == null) {
+			throw new IllegalArgumentException("null irodsAbsolutePaths");
+		}
+
+		final List<CompletableFuture<ObjStat>> futures = new ArrayList<CompletableFuture<ObjStat>>(
+				irodsAbsolutePaths.size());
+		for (String irodsAbsolutePath : irodsAbsolutePaths) {
+			futures.add(retrieveObjectStatForPath(irodsAccount,
+					irodsAbsolutePath));
+		}
+
+		return CompletableFuture.allOf(
+				futures.toArray(new CompletableFuture<?>[futures.size()]))
+				.thenApply(new Function<Void, List<ObjStat>>() {
+					@Override
+					public List<ObjStat> apply(final Void ignored) {
+						List<ObjStat> objStats = new ArrayList<ObjStat>(
+								futures.size());
+						for (CompletableFuture<ObjStat> future : futures) {
+							objStats.add(future.join());
+						}
+						return objStats;
+					}
+				});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.pub.AsyncIRODSAccessObjectFactory#
+	 * findDataObjectByAbsolutePath
+	 * (org.irods.jargon.core.connection.IRODSAccount, java.lang.String)
+	 */
+	@Override
+	public CompletableFuture<DataObject> findDataObjectByAbsolutePath(
+			final IRODSAccount irodsAccount, final String absolutePath) {
+		if (absolutePath == null || absolutePath.isEmpty()) {
+			throw new IllegalArgumentException("null or empty absolutePath");
+		}
+
+		return submit(irodsAccount,
+				new AsyncAccessObjectOperation<DataObject>() {
+					@Override
+					public DataObject execute(
+							final IRODSAccessObjectFactory irodsAccessObjectFactory,
+							final IRODSAccount irodsAccount) throws Exception {
+						return irodsAccessObjectFactory.getDataObjectAO(
+								irodsAccount).findByAbsolutePath(absolutePath);
+					}
+				});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.pub.AsyncIRODSAccessObjectFactory#
+	 * listDataObjectsAndCollectionsUnderPath
+	 * (org.irods.jargon.core.connection.IRODSAccount, java.lang.String)
+	 */
+	@Override
+	public CompletableFuture<List<CollectionAndDataObjectListingEntry>> listDataObjectsAndCollectionsUnderPath(
+			final IRODSAccount irodsAccount, final String absolutePathToParent) {
+		if (absolutePathToParent == null || absolutePathToParent.isEmpty()) {
+			throw new IllegalArgumentException(
+					"null or empty absolutePathToParent");
+		}
+
+		return submit(
+				irodsAccount,
+				new AsyncAccessObjectOperation<List<CollectionAndDataObjectListingEntry>>() {
+					@Override
+					public List<CollectionAndDataObjectListingEntry> execute(
+							final IRODSAccessObjectFactory irodsAccessObjectFactory,
+							final IRODSAccount irodsAccount) throws Exception {
+						return irodsAccessObjectFactory
+								.getCollectionAndDataObjectListAndSearchAO(
+										irodsAccount)
+								.listDataObjectsAndCollectionsUnderPath(
+										absolutePathToParent);
+					}
+				});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.pub.AsyncIRODSAccessObjectFactory#
+	 * executeIRODSQueryAndCloseResult
+	 * (org.irods.jargon.core.connection.IRODSAccount,
+	 * org.irods.jargon.core.query.AbstractIRODSGenQuery, int)
+	 */
+	@Override
+	public CompletableFuture<IRODSQueryResultSet> executeIRODSQueryAndCloseResult(
+			final IRODSAccount irodsAccount,
+			final AbstractIRODSGenQuery irodsQuery, final int partialStartIndex) {
+		if (irodsQuery == null) {
+			throw new IllegalArgumentException("null irodsQuery");
+		}
+
+		return submit(irodsAccount,
+				new AsyncAccessObjectOperation<IRODSQueryResultSet>() {
+					@Override
+					public IRODSQueryResultSet execute(
+							final IRODSAccessObjectFactory irodsAccessObjectFactory,
+							final IRODSAccount irodsAccount) throws Exception {
+						return irodsAccessObjectFactory
+								.getIRODSGenQueryExecutor(irodsAccount)
+								.executeIRODSQueryAndCloseResult(irodsQuery,
+										partialStartIndex);
+					}
+				});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.pub.AsyncIRODSAccessObjectFactory#shutdown()
+	 */
+	@Override
+	public void shutdown() {
+		if (ownsExecutorService) {
+			log.info("shutting down async access object executor");
+			executorService.shutdown();
+		}
+	}
+
+}
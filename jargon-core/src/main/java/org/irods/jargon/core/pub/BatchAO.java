@@ -0,0 +1,45 @@
+package org.irods.jargon.core.pub;
+
+import java.util.List;
+
+import org.irods.jargon.core.connection.PipelineConfiguration;
+import org.irods.jargon.core.connection.PipelinedResponse;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.packinstr.IRodsPI;
+
+/**
+ * Access object that sends batches of independent iRODS API requests on one
+ * connection, pipelining the requests rather than waiting for each reply
+ * before sending the next. This avoids a network round trip per request for
+ * bulk operations such as adding many AVUs or stat-ing many paths over a high
+ * latency link.
+ * <p/>
+ * The number of requests sent before their replies are read is controlled by
+ * {@link PipelineConfiguration#getPipelinedRequestWindowSize()}.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public interface BatchAO extends IRODSAccessObject {
+
+	/**
+	 * Send the given requests as a pipelined batch and return the replies in
+	 * request order. Requests must not send or receive binary data (as in a
+	 * data object read or write), and must not depend on the results of one
+	 * another.
+	 * <p/>
+	 * iRODS errors for an individual request are mapped to the appropriate
+	 * <code>JargonException</code> and returned in the
+	 * {@link PipelinedResponse} for that request, while errors in the
+	 * connection itself are thrown.
+	 *
+	 * @param irodsPIs
+	 *            <code>List</code> of {@link IRodsPI} with the requests to
+	 *            send
+	 * @return <code>List</code> of {@link PipelinedResponse} in request order
+	 * @throws JargonException
+	 */
+	List<PipelinedResponse> executeBatch(List<? extends IRodsPI> irodsPIs)
+			throws JargonException;
+
+}
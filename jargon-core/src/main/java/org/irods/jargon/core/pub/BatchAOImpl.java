@@ -0,0 +1,65 @@
+package org.irods.jargon.core.pub;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.connection.PipelinedResponse;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.packinstr.IRodsPI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends batches of independent iRODS API requests on one connection using
+ * request pipelining.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class BatchAOImpl extends IRODSGenericAO implements BatchAO {
+
+	public static final Logger log = LoggerFactory.getLogger(BatchAOImpl.class);
+
+	/**
+	 * Constructor as called by the <code>IRODSAccessObjectFactory</code>, which
+	 * is properly used to construct this access object.
+	 *
+	 * @param irodsSession
+	 * @param irodsAccount
+	 * @throws JargonException
+	 */
+	BatchAOImpl(final IRODSSession irodsSession,
+			final IRODSAccount irodsAccount) throws JargonException {
+		super(irodsSession, irodsAccount);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.pub.BatchAO#executeBatch(java.util.List)
+	 */
+	@Override
+	public List<PipelinedResponse> executeBatch(
+			final List<? extends IRodsPI> irodsPIs) throws JargonException {
+
+		log.info("executeBatch()");
+
+		if (irodsPIs == null) {
+			throw new IllegalArgumentException("null irodsPIs");
+		}
+
+		if (irodsPIs.isEmpty()) {
+			log.info("no requests in batch");
+			return new ArrayList<PipelinedResponse>();
+		}
+
+		log.info("sending batch of {} requests", irodsPIs.size());
+		List<PipelinedResponse> responses = getIRODSProtocol()
+				.irodsFunctionPipelined(irodsPIs);
+		log.info("...complete");
+		return responses;
+	}
+
+}
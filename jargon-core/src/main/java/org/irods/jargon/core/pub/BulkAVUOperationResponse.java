@@ -3,6 +3,15 @@
  */
 package org.irods.jargon.core.pub;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.irods.jargon.core.connection.PipelinedResponse;
+import org.irods.jargon.core.exception.DataNotFoundException;
+import org.irods.jargon.core.exception.DuplicateDataException;
+import org.irods.jargon.core.exception.FileNotFoundException;
+import org.irods.jargon.core.exception.InvalidUserException;
+import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.pub.domain.AvuData;
 
 /**
@@ -28,6 +37,54 @@ public class BulkAVUOperationResponse {
 		return new BulkAVUOperationResponse(resultStatus, avuData, message);
 	}
 
+	/**
+	 * Translate the responses to a pipelined batch of AVU requests, treating a
+	 * missing metadata target or a duplicate AVU as a result for that AVU
+	 * rather than a failure of the whole bulk operation
+	 *
+	 * @param pipelinedResponses
+	 *            <code>List</code> of {@link PipelinedResponse} for the AVU
+	 *            requests
+	 * @param avuData
+	 *            <code>List</code> of {@link AvuData} that were the subject of
+	 *            the requests, in the same order
+	 * @return <code>List</code> of {@link BulkAVUOperationResponse}
+	 * @throws JargonException
+	 *             if a request failed for any other reason
+	 */
+	static List<BulkAVUOperationResponse> instancesForPipelinedResponses(
+			final List<PipelinedResponse> pipelinedResponses,
+			final List<AvuData> avuData) throws JargonException {
+
+		List<BulkAVUOperationResponse> responses = new ArrayList<BulkAVUOperationResponse>(
+				avuData.size());
+
+		for (int i = 0; i < avuData.size(); i++) {
+			PipelinedResponse pipelinedResponse = pipelinedResponses.get(i);
+			AvuData value = avuData.get(i);
+
+			if (pipelinedResponse.isSuccess()) {
+				responses.add(instance(ResultStatus.OK, value, ""));
+				continue;
+			}
+
+			JargonException exception = pipelinedResponse.getException();
+			if (exception instanceof DuplicateDataException) {
+				responses.add(instance(ResultStatus.DUPLICATE_AVU, value,
+						exception.getMessage()));
+			} else if (exception instanceof FileNotFoundException
+					|| exception instanceof DataNotFoundException
+					|| exception instanceof InvalidUserException) {
+				responses.add(instance(ResultStatus.MISSING_METADATA_TARGET,
+						value, exception.getMessage()));
+			} else {
+				throw exception;
+			}
+		}
+
+		return responses;
+	}
+
 	/**
 	 *
 	 */
@@ -5,6 +5,7 @@ import java.util.List;
 
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.connection.PipelinedResponse;
 import org.irods.jargon.core.exception.DataNotFoundException;
 import org.irods.jargon.core.exception.DuplicateDataException;
 import org.irods.jargon.core.exception.FileNotFoundException;
@@ -13,7 +14,6 @@ import org.irods.jargon.core.packinstr.ModAccessControlInp;
 import org.irods.jargon.core.packinstr.ModAvuMetadataInp;
 import org.irods.jargon.core.protovalues.FilePermissionEnum;
 import org.irods.jargon.core.protovalues.UserTypeEnum;
-import org.irods.jargon.core.pub.BulkAVUOperationResponse.ResultStatus;
 import org.irods.jargon.core.pub.RuleProcessingAO.RuleProcessingType;
 import org.irods.jargon.core.pub.aohelper.CollectionAOHelper;
 import org.irods.jargon.core.pub.domain.AvuData;
@@ -409,36 +409,22 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements
 			throw new IllegalArgumentException("null or empty avuData");
 		}
 
-		List<BulkAVUOperationResponse> responses = new ArrayList<BulkAVUOperationResponse>();
+		String myPath = MiscIRODSUtils.checkPathSizeForMax(absolutePath);
 
+		List<ModAvuMetadataInp> requests = new ArrayList<ModAvuMetadataInp>(
+				avuData.size());
 		for (AvuData value : avuData) {
-			try {
-				addAVUMetadata(absolutePath, value);
-			} catch (FileNotFoundException dnf) {
-				log.error(
-						"FileNotFoundException when adding an AVU, catch and add to response data",
-						dnf);
-				responses.add(BulkAVUOperationResponse.instance(
-						ResultStatus.MISSING_METADATA_TARGET, value,
-						dnf.getMessage()));
-				continue;
-			} catch (DuplicateDataException dde) {
-				log.error(
-						"DuplicateDataException when adding an AVU, catch and add to response data",
-						dde);
-				responses.add(BulkAVUOperationResponse.instance(
-						ResultStatus.DUPLICATE_AVU, value, dde.getMessage()));
-				continue;
-
-			}
-
-			log.info("treat as success...", value);
-			responses.add(BulkAVUOperationResponse.instance(ResultStatus.OK,
-					value, ""));
+			requests.add(ModAvuMetadataInp.instanceForAddCollectionMetadata(
+					myPath, value));
 		}
 
+		log.debug("sending {} avu requests as a batch", requests.size());
+		List<PipelinedResponse> pipelinedResponses = getIRODSAccessObjectFactory()
+				.getBatchAO(getIRODSAccount()).executeBatch(requests);
+
 		log.info("...complete");
-		return responses;
+		return BulkAVUOperationResponse.instancesForPipelinedResponses(
+				pipelinedResponses, avuData);
 	}
 
 	/*
@@ -455,33 +441,30 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements
 
 		log.info("deleteBulkAVUMetadataToCollection()");
 
+		if (absolutePath == null || absolutePath.isEmpty()) {
+			throw new IllegalArgumentException("null or empty absolutePath");
+		}
+
 		if (avuData == null || avuData.isEmpty()) {
 			throw new IllegalArgumentException("null or empty avuData");
 		}
 
-		List<BulkAVUOperationResponse> responses = new ArrayList<BulkAVUOperationResponse>();
+		String myPath = MiscIRODSUtils.checkPathSizeForMax(absolutePath);
 
+		List<ModAvuMetadataInp> requests = new ArrayList<ModAvuMetadataInp>(
+				avuData.size());
 		for (AvuData value : avuData) {
-			try {
-				deleteAVUMetadata(absolutePath, value);
-			} catch (FileNotFoundException dnf) {
-				log.error(
-						"FileNotFoundException when deleti an AVU, catch and add to response data",
-						dnf);
-				responses.add(BulkAVUOperationResponse.instance(
-						ResultStatus.MISSING_METADATA_TARGET, value,
-						dnf.getMessage()));
-				continue;
-
-			}
-
-			log.info("treat as success...", value);
-			responses.add(BulkAVUOperationResponse.instance(ResultStatus.OK,
-					value, ""));
+			requests.add(ModAvuMetadataInp
+					.instanceForDeleteCollectionMetadata(myPath, value));
 		}
 
+		log.debug("sending {} avu requests as a batch", requests.size());
+		List<PipelinedResponse> pipelinedResponses = getIRODSAccessObjectFactory()
+				.getBatchAO(getIRODSAccount()).executeBatch(requests);
+
 		log.info("...complete");
-		return responses;
+		return BulkAVUOperationResponse.instancesForPipelinedResponses(
+				pipelinedResponses, avuData);
 	}
 
 	/*
@@ -1219,6 +1202,7 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements
 				.instanceForSetInheritOnACollection(collNeedsRecursive, zone,
 						effectiveAbsPath);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		invalidateCachedObjStats(modAccessControlInp.getAbsolutePath());
 
 	}
 
@@ -1253,6 +1237,7 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements
 				.instanceForSetInheritOnACollectionInAdminMode(
 						collNeedsRecursive, zone, effectiveAbsPath);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		invalidateCachedObjStats(modAccessControlInp.getAbsolutePath());
 
 	}
 
@@ -1288,6 +1273,7 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements
 				.instanceForSetNoInheritOnACollection(collNeedsRecursive, zone,
 						effectiveAbsPath);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		invalidateCachedObjStats(modAccessControlInp.getAbsolutePath());
 
 	}
 
@@ -1323,6 +1309,7 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements
 				.instanceForSetNoInheritOnACollectionInAdminMode(
 						collNeedsRecursive, zone, effectiveAbsPath);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		invalidateCachedObjStats(modAccessControlInp.getAbsolutePath());
 
 	}
 
@@ -1360,6 +1347,7 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements
 						effectiveAbsPath, userName,
 						ModAccessControlInp.READ_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		invalidateCachedObjStats(modAccessControlInp.getAbsolutePath());
 
 	}
 
@@ -1400,6 +1388,7 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements
 						effectiveAbsPath, userName,
 						ModAccessControlInp.READ_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		invalidateCachedObjStats(modAccessControlInp.getAbsolutePath());
 
 	}
 
@@ -1482,6 +1471,7 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements
 						effectiveAbsPath, userName,
 						ModAccessControlInp.WRITE_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		invalidateCachedObjStats(modAccessControlInp.getAbsolutePath());
 
 	}
 
@@ -1523,6 +1513,7 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements
 						effectiveAbsPath, userName,
 						ModAccessControlInp.WRITE_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		invalidateCachedObjStats(modAccessControlInp.getAbsolutePath());
 
 	}
 
@@ -1565,6 +1556,7 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements
 						effectiveAbsPath, userName,
 						ModAccessControlInp.OWN_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		invalidateCachedObjStats(modAccessControlInp.getAbsolutePath());
 
 	}
 
@@ -1606,6 +1598,7 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements
 						effectiveAbsPath, userName,
 						ModAccessControlInp.OWN_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		invalidateCachedObjStats(modAccessControlInp.getAbsolutePath());
 
 	}
 
@@ -1648,6 +1641,7 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements
 						effectiveAbsPath, userName,
 						ModAccessControlInp.NULL_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		invalidateCachedObjStats(modAccessControlInp.getAbsolutePath());
 
 	}
 
@@ -1690,6 +1684,7 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements
 						effectiveAbsPath, userName,
 						ModAccessControlInp.NULL_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		invalidateCachedObjStats(modAccessControlInp.getAbsolutePath());
 
 	}
 
@@ -5,6 +5,8 @@ import java.util.List;
 
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.connection.JargonProperties;
+import org.irods.jargon.core.connection.ObjStatCache;
 import org.irods.jargon.core.exception.DataNotFoundException;
 import org.irods.jargon.core.exception.FileNotFoundException;
 import org.irods.jargon.core.exception.JargonException;
@@ -24,6 +26,7 @@ import org.irods.jargon.core.query.CollectionAndDataObjectListingEntry;
 import org.irods.jargon.core.query.CollectionAndDataObjectListingEntry.ObjectType;
 import org.irods.jargon.core.query.GenQueryBuilderException;
 import org.irods.jargon.core.query.GenQueryField.SelectFieldTypes;
+import org.irods.jargon.core.query.IRODSColumnarQueryResultSet;
 import org.irods.jargon.core.query.IRODSGenQueryBuilder;
 import org.irods.jargon.core.query.IRODSGenQueryFromBuilder;
 import org.irods.jargon.core.query.IRODSQueryResultRow;
@@ -674,7 +677,7 @@ public class CollectionAndDataObjectListAndSearchAOImpl extends IRODSGenericAO
 				getIRODSSession(), getIRODSAccount());
 
 		IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true, null);
-		IRODSQueryResultSet resultSet;
+		IRODSColumnarQueryResultSet resultSet;
 
 		try {
 			CollectionAOHelper
@@ -684,8 +687,9 @@ public class CollectionAndDataObjectListAndSearchAOImpl extends IRODSGenericAO
 			IRODSGenQueryFromBuilder irodsQuery = builder
 					.exportIRODSQueryFromBuilder(getJargonProperties()
 							.getMaxFilesAndDirsQueryMax());
-			resultSet = irodsGenQueryExecutor.executeIRODSQueryAndCloseResult(
-					irodsQuery, partialStartIndex);
+			resultSet = irodsGenQueryExecutor
+					.executeColumnarIRODSQueryAndCloseResultInZone(irodsQuery,
+							partialStartIndex, null);
 		} catch (JargonQueryException e) {
 			log.error(CollectionListingUtils.QUERY_EXCEPTION_FOR_QUERY, e);
 			throw new JargonException("error in exists query", e);
@@ -695,10 +699,10 @@ public class CollectionAndDataObjectListAndSearchAOImpl extends IRODSGenericAO
 		}
 
 		List<CollectionAndDataObjectListingEntry> entries = new ArrayList<CollectionAndDataObjectListingEntry>();
-		for (IRODSQueryResultRow row : resultSet.getResults()) {
+		for (int row = 0; row < resultSet.getRowCount(); row++) {
 			entries.add(CollectionAOHelper
-					.buildCollectionListEntryFromResultSetRowForCollectionQuery(
-							row, resultSet.getTotalRecords()));
+					.buildCollectionListEntryFromColumnarResultSetForCollectionQuery(
+							resultSet, row));
 		}
 
 		return entries;
@@ -1358,7 +1362,7 @@ public class CollectionAndDataObjectListAndSearchAOImpl extends IRODSGenericAO
 		IRODSGenQueryExecutor irodsGenQueryExecutor = new IRODSGenQueryExecutorImpl(
 				getIRODSSession(), getIRODSAccount());
 
-		IRODSQueryResultSet resultSet;
+		IRODSColumnarQueryResultSet resultSet;
 
 		try {
 			IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true, null);
@@ -1377,8 +1381,9 @@ public class CollectionAndDataObjectListAndSearchAOImpl extends IRODSGenericAO
 			IRODSGenQueryFromBuilder irodsQuery = builder
 					.exportIRODSQueryFromBuilder(getJargonProperties()
 							.getMaxFilesAndDirsQueryMax());
-			resultSet = irodsGenQueryExecutor.executeIRODSQueryWithPaging(
-					irodsQuery, partialStartIndex);
+			resultSet = irodsGenQueryExecutor
+					.executeColumnarIRODSQueryAndCloseResultInZone(irodsQuery,
+							partialStartIndex, null);
 		} catch (JargonQueryException e) {
 			log.error(CollectionListingUtils.QUERY_EXCEPTION_FOR_QUERY, e);
 			throw new JargonException("error in exists query", e);
@@ -1388,20 +1393,17 @@ public class CollectionAndDataObjectListAndSearchAOImpl extends IRODSGenericAO
 		}
 
 		List<CollectionAndDataObjectListingEntry> entries = new ArrayList<CollectionAndDataObjectListingEntry>();
-		for (IRODSQueryResultRow row : resultSet.getResults()) {
+		for (int row = 0; row < resultSet.getRowCount(); row++) {
 			CollectionAndDataObjectListingEntry entry = new CollectionAndDataObjectListingEntry();
-			entry.setParentPath(row.getColumn(0));
+			entry.setParentPath(resultSet.getString(row, 0));
 			entry.setObjectType(ObjectType.DATA_OBJECT);
-			entry.setPathOrName(row.getColumn(1));
-			entry.setCreatedAt(IRODSDataConversionUtil
-					.getDateFromIRODSValue(row.getColumn(2)));
-			entry.setModifiedAt(IRODSDataConversionUtil
-					.getDateFromIRODSValue(row.getColumn(3)));
-			entry.setDataSize(IRODSDataConversionUtil
-					.getLongOrZeroFromIRODSValue(row.getColumn(4)));
-			entry.setOwnerName(row.getColumn(5));
-			entry.setCount(row.getRecordCount());
-			entry.setLastResult(row.isLastResult());
+			entry.setPathOrName(resultSet.getString(row, 1));
+			entry.setCreatedAt(resultSet.getDateOrNull(row, 2));
+			entry.setModifiedAt(resultSet.getDateOrNull(row, 3));
+			entry.setDataSize(resultSet.getLongOrZero(row, 4));
+			entry.setOwnerName(resultSet.getString(row, 5));
+			entry.setCount(resultSet.getRecordCount(row));
+			entry.setLastResult(resultSet.isLastResult());
 
 			log.info("listing entry built {}", entry.toString());
 			entries.add(entry);
@@ -1613,6 +1615,19 @@ public class CollectionAndDataObjectListAndSearchAOImpl extends IRODSGenericAO
 		}
 
 		String myPath = MiscIRODSUtils.checkPathSizeForMax(irodsAbsolutePath);
+
+		JargonProperties jargonProperties = getJargonProperties();
+		ObjStatCache objStatCache = getIRODSSession().getObjStatCache();
+		long lookupGeneration = 0L;
+		if (jargonProperties.isUsingObjStatCache()) {
+			ObjStat cachedObjStat = objStatCache.retrieve(getIRODSAccount(),
+					myPath);
+			if (cachedObjStat != null) {
+				return cachedObjStat;
+			}
+			lookupGeneration = objStatCache.currentGeneration();
+		}
+
 		DataObjInpForObjStat dataObjInp = DataObjInpForObjStat.instance(myPath);
 		Tag response;
 		try {
@@ -1732,6 +1747,13 @@ public class CollectionAndDataObjectListAndSearchAOImpl extends IRODSGenericAO
 		 */
 
 		log.info(objStat.toString());
+
+		if (jargonProperties.isUsingObjStatCache()) {
+			objStatCache.cache(getIRODSAccount(), objStat, lookupGeneration,
+					jargonProperties.getObjStatCacheMaxEntries(),
+					jargonProperties.getObjStatCacheTimeToLiveMillis());
+		}
+
 		return objStat;
 
 	}
@@ -23,6 +23,7 @@ import org.irods.jargon.core.pub.io.IRODSFileSystemAOHelper;
 import org.irods.jargon.core.query.CollectionAndDataObjectListingEntry;
 import org.irods.jargon.core.query.CollectionAndDataObjectListingEntry.ObjectType;
 import org.irods.jargon.core.query.GenQueryBuilderException;
+import org.irods.jargon.core.query.IRODSColumnarQueryResultSet;
 import org.irods.jargon.core.query.IRODSGenQueryBuilder;
 import org.irods.jargon.core.query.IRODSGenQueryFromBuilder;
 import org.irods.jargon.core.query.IRODSQueryResultRow;
@@ -680,17 +681,17 @@ class CollectionListingUtils {
 			throw new JargonException("error building query", e);
 		}
 
-		IRODSQueryResultSet resultSet = queryForPathAndReturnResultSet(
-				objStat.getAbsolutePath(), builder, partialStartIndex, objStat);
+		IRODSColumnarQueryResultSet resultSet = queryForPathAndReturnColumnarResultSet(
+				objStat.getAbsolutePath(), builder, partialStartIndex);
 
-		subdirs = new ArrayList<CollectionAndDataObjectListingEntry>(resultSet
-				.getResults().size());
+		subdirs = new ArrayList<CollectionAndDataObjectListingEntry>(
+				resultSet.getRowCount());
 		CollectionAndDataObjectListingEntry collectionAndDataObjectListingEntry = null;
 
-		for (IRODSQueryResultRow row : resultSet.getResults()) {
+		for (int row = 0; row < resultSet.getRowCount(); row++) {
 			collectionAndDataObjectListingEntry = CollectionAOHelper
-					.buildCollectionListEntryFromResultSetRowForCollectionQuery(
-							row, resultSet.getTotalRecords());
+					.buildCollectionListEntryFromColumnarResultSetForCollectionQuery(
+							resultSet, row);
 
 			adjustEntryFromRowInCaseOfSpecialCollection(objStat,
 					effectiveAbsolutePath, collectionAndDataObjectListingEntry);
@@ -743,6 +744,48 @@ class CollectionListingUtils {
 		return resultSet;
 	}
 
+	/**
+	 * Query for a listing under a path, returning the page of results held
+	 * column by column, which takes much less memory than rows for large pages
+	 *
+	 * @param absolutePath
+	 *            <code>String</code> with the path listed, which gives the
+	 *            zone of the query
+	 * @param builder
+	 *            {@link IRODSGenQueryBuilder} with the listing query
+	 * @param partialStartIndex
+	 *            <code>int</code> with the offset into the results
+	 * @return {@link IRODSColumnarQueryResultSet}
+	 * @throws JargonException
+	 */
+	IRODSColumnarQueryResultSet queryForPathAndReturnColumnarResultSet(
+			final String absolutePath, final IRODSGenQueryBuilder builder,
+			final int partialStartIndex) throws JargonException {
+
+		log.info("queryForPathAndReturnColumnarResultSet for: {}",
+				absolutePath);
+		IRODSGenQueryExecutor irodsGenQueryExecutor = collectionAndDataObjectListAndSearchAO
+				.getIRODSAccessObjectFactory().getIRODSGenQueryExecutor(
+						collectionAndDataObjectListAndSearchAO
+								.getIRODSAccount());
+
+		try {
+			IRODSGenQueryFromBuilder irodsQuery = builder
+					.exportIRODSQueryFromBuilder(collectionAndDataObjectListAndSearchAO
+							.getJargonProperties().getMaxFilesAndDirsQueryMax());
+			return irodsGenQueryExecutor
+					.executeColumnarIRODSQueryAndCloseResultInZone(irodsQuery,
+							partialStartIndex,
+							MiscIRODSUtils.getZoneInPath(absolutePath));
+		} catch (JargonQueryException e) {
+			log.error(QUERY_EXCEPTION_FOR_QUERY, e);
+			throw new JargonException(e);
+		} catch (GenQueryBuilderException e) {
+			log.error(QUERY_EXCEPTION_FOR_QUERY, e);
+			throw new JargonException(e);
+		}
+	}
+
 	/**
 	 * For a collection based on a row from a collection query, evaluate against
 	 * the provided objStat and decide whether to modify the resulting listing
@@ -835,18 +878,18 @@ class CollectionListingUtils {
 		IRODSFileSystemAOHelper
 				.buildQueryListAllDataObjectsWithSizeAndDateInfo(
 						effectiveAbsolutePath, builder);
-		IRODSQueryResultSet resultSet;
+		IRODSColumnarQueryResultSet resultSet;
 
 		try {
-			resultSet = queryForPathAndReturnResultSet(effectiveAbsolutePath,
-					builder, partialStartIndex, objStat);
+			resultSet = queryForPathAndReturnColumnarResultSet(
+					effectiveAbsolutePath, builder, partialStartIndex);
 		} catch (JargonException e) {
 			log.error("exception querying for data objects:{}", builder, e);
 			throw new JargonException("error in query", e);
 		}
 
 		List<CollectionAndDataObjectListingEntry> files = new ArrayList<CollectionAndDataObjectListingEntry>(
-				resultSet.getResults().size());
+				resultSet.getRowCount());
 
 		/*
 		 * the query that gives the necessary data will cause duplication when
@@ -856,10 +899,10 @@ class CollectionListingUtils {
 		String lastPath = "";
 		String currentPath = "";
 		CollectionAndDataObjectListingEntry entry;
-		for (IRODSQueryResultRow row : resultSet.getResults()) {
+		for (int row = 0; row < resultSet.getRowCount(); row++) {
 			entry = CollectionAOHelper
-					.buildCollectionListEntryFromResultSetRowForDataObjectQuery(
-							row, resultSet.getTotalRecords());
+					.buildCollectionListEntryFromColumnarResultSetForDataObjectQuery(
+							resultSet, row);
 
 			/**
 			 * Use the data in the objStat, in the case of special collections,
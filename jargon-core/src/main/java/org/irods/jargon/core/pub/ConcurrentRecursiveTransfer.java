@@ -0,0 +1,788 @@
+package org.irods.jargon.core.pub;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.pub.io.IRODSFile;
+import org.irods.jargon.core.pub.io.IRODSFileFactory;
+import org.irods.jargon.core.query.CollectionAndDataObjectListingEntry;
+import org.irods.jargon.core.transfer.TransferControlBlock;
+import org.irods.jargon.core.transfer.TransferStatus;
+import org.irods.jargon.core.transfer.TransferStatusCallbackListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Carries out a recursive get or put with several files in flight at once.
+ * This is used internally by the {@link TransferOperationsHelper} when the
+ * <code>recursiveTransferConcurrency</code> in the
+ * {@link org.irods.jargon.core.packinstr.TransferOptions} is greater than 1.
+ * <p/>
+ * The calling thread walks the source tree, creating each target directory or
+ * collection before any of its files are queued, and lists iRODS collections a
+ * page at a time so that the first files start moving before the listing is
+ * complete. The files are placed on a bounded queue shared by a set of worker
+ * threads, so a worker that finishes a small file immediately takes the next
+ * one, and a slow listing or a full queue applies backpressure in either
+ * direction. Each worker transfers through the same single file methods of the
+ * {@link TransferOperationsHelper} as a sequential transfer, on its own
+ * connection from the {@link IRODSSession}, which is leased from the pool when
+ * connection pooling is in use, and closes that connection when done.
+ * <p/>
+ * The {@link TransferControlBlock} counters are already thread safe. Callbacks
+ * to the {@link TransferStatusCallbackListener} are serialized, so a listener
+ * written for sequential transfers sees one callback at a time. A pause or
+ * cancel stops the walk and the workers, and is reported with a single
+ * callback, as in a sequential transfer. With no listener, the first error
+ * stops the transfer and is thrown to the caller once the workers are done.
+ * <p/>
+ * When small file bundling is on, the small files of each directory of a put
+ * are queued together and sent by a worker as a bundle through the
+ * {@link SmallFileBundler}.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+final class ConcurrentRecursiveTransfer {
+
+	private static final Logger log = LoggerFactory
+			.getLogger(ConcurrentRecursiveTransfer.class);
+
+	/**
+	 * Number of queued files allowed per worker before the walk of the source
+	 * tree waits for the workers to catch up
+	 */
+	static final int QUEUE_DEPTH_PER_WORKER = 64;
+
+	/**
+	 * Time in milliseconds that a worker or the walk waits on the queue before
+	 * checking again whether the transfer is over
+	 */
+	private static final long QUEUE_WAIT_MILLIS = 100;
+
+	private static final AtomicInteger threadCount = new AtomicInteger(0);
+
+	private final TransferOperationsHelper transferOperationsHelper;
+	private final IRODSAccessObjectFactory irodsAccessObjectFactory;
+	private final IRODSAccount irodsAccount;
+	private final TransferStatusCallbackListener transferStatusCallbackListener;
+	private final TransferControlBlock transferControlBlock;
+	private final int concurrency;
+	private final BlockingQueue<FileTransfer> queue;
+	private final AtomicBoolean walkComplete = new AtomicBoolean(false);
+	private final AtomicBoolean stopped = new AtomicBoolean(false);
+	private final AtomicBoolean interruptNotified = new AtomicBoolean(false);
+	private final AtomicReference<JargonException> firstFailure = new AtomicReference<JargonException>();
+
+	/**
+	 * A file queued for transfer by one of the workers
+	 */
+	private abstract class FileTransfer {
+
+		/**
+		 * Transfer the file on the connection of the calling worker
+		 *
+		 * @throws JargonException
+		 */
+		abstract void transfer() throws JargonException;
+
+		/**
+		 * Send the callback for a pause or cancel noticed before this file
+		 *
+		 * @throws JargonException
+		 */
+		abstract void notifyPauseOrCancel() throws JargonException;
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param transferOperationsHelper
+	 *            {@link TransferOperationsHelper} whose single file methods
+	 *            will do each transfer
+	 * @param irodsAccessObjectFactory
+	 *            {@link IRODSAccessObjectFactory} for the session
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} for the transfer
+	 * @param transferStatusCallbackListener
+	 *            {@link TransferStatusCallbackListener}, or <code>null</code>
+	 *            if no callbacks are desired
+	 * @param transferControlBlock
+	 *            {@link TransferControlBlock} for the transfer, required
+	 * @param concurrency
+	 *            <code>int</code> with the number of worker threads
+	 */
+	ConcurrentRecursiveTransfer(
+			final TransferOperationsHelper transferOperationsHelper,
+			final IRODSAccessObjectFactory irodsAccessObjectFactory,
+			final IRODSAccount irodsAccount,
+			final TransferStatusCallbackListener transferStatusCallbackListener,
+			final TransferControlBlock transferControlBlock,
+			final int concurrency) {
+
+		if (transferOperationsHelper == null) {
+			throw new IllegalArgumentException("null transferOperationsHelper");
+		}
+
+		if (irodsAccessObjectFactory == null) {
+			throw new IllegalArgumentException("null irodsAccessObjectFactory");
+		}
+
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		if (transferControlBlock == null) {
+			throw new IllegalArgumentException("null transferControlBlock");
+		}
+
+		if (concurrency < 1) {
+			throw new IllegalArgumentException("concurrency must be >= 1");
+		}
+
+		this.transferOperationsHelper = transferOperationsHelper;
+		this.irodsAccessObjectFactory = irodsAccessObjectFactory;
+		this.irodsAccount = irodsAccount;
+		this.transferControlBlock = transferControlBlock;
+		this.concurrency = concurrency;
+
+		if (transferStatusCallbackListener == null) {
+			this.transferStatusCallbackListener = null;
+		} else {
+			this.transferStatusCallbackListener = new SerializedCallbackListener(
+					transferStatusCallbackListener);
+		}
+
+		queue = new LinkedBlockingQueue<FileTransfer>(concurrency
+				* QUEUE_DEPTH_PER_WORKER);
+	}
+
+	/**
+	 * Recursively get the contents of an iRODS collection into a local
+	 * directory
+	 *
+	 * @param irodsSourceCollection
+	 *            {@link IRODSFile} that is the collection to get
+	 * @param targetLocalDirectory
+	 *            <code>File</code> that is the existing local directory that
+	 *            will receive the contents of the collection
+	 * @throws JargonException
+	 */
+	void get(final IRODSFile irodsSourceCollection,
+			final File targetLocalDirectory) throws JargonException {
+
+		log.info("concurrent recursive get of:{}",
+				irodsSourceCollection.getAbsolutePath());
+		log.info("   into local directory:{}",
+				targetLocalDirectory.getAbsolutePath());
+		log.info("   with concurrency:{}", concurrency);
+
+		ExecutorService executorService = startWorkers();
+
+		try {
+			walkIRODSCollection(irodsSourceCollection, targetLocalDirectory);
+		} catch (JargonException je) {
+			recordFailure(je);
+		} finally {
+			awaitWorkers(executorService);
+		}
+
+		throwAnyFailure();
+	}
+
+	/**
+	 * Recursively put the contents of a local directory into an iRODS
+	 * collection
+	 *
+	 * @param sourceDirectory
+	 *            <code>File</code> that is the local directory to put
+	 * @param targetIrodsCollection
+	 *            {@link IRODSFile} that is the existing collection that will
+	 *            receive the contents of the directory
+	 * @throws JargonException
+	 */
+	void put(final File sourceDirectory, final IRODSFile targetIrodsCollection)
+			throws JargonException {
+
+		log.info("concurrent recursive put of:{}",
+				sourceDirectory.getAbsolutePath());
+		log.info("   into iRODS collection:{}",
+				targetIrodsCollection.getAbsolutePath());
+		log.info("   with concurrency:{}", concurrency);
+
+		ExecutorService executorService = startWorkers();
+
+		try {
+			walkLocalDirectory(sourceDirectory, targetIrodsCollection);
+		} catch (JargonException je) {
+			recordFailure(je);
+		} finally {
+			awaitWorkers(executorService);
+		}
+
+		throwAnyFailure();
+	}
+
+	/**
+	 * Walk the iRODS collection, creating local directories and queueing each
+	 * data object as it is listed
+	 *
+	 * @param irodsSourceCollection
+	 *            {@link IRODSFile} at the top of the walk
+	 * @param targetLocalDirectory
+	 *            <code>File</code> that receives the top collection
+	 * @throws JargonException
+	 */
+	private void walkIRODSCollection(final IRODSFile irodsSourceCollection,
+			final File targetLocalDirectory) throws JargonException {
+
+		CollectionAndDataObjectListAndSearchAO listAndSearchAO = irodsAccessObjectFactory
+				.getCollectionAndDataObjectListAndSearchAO(irodsAccount);
+		IRODSFileFactory irodsFileFactory = irodsAccessObjectFactory
+				.getIRODSFileFactory(irodsAccount);
+		final String resource = irodsSourceCollection.getResource();
+
+		Deque<IRODSFile> collections = new ArrayDeque<IRODSFile>();
+		Deque<File> localDirectories = new ArrayDeque<File>();
+		collections.add(irodsSourceCollection);
+		localDirectories.add(targetLocalDirectory);
+
+		while (!collections.isEmpty()) {
+			IRODSFile collection = collections.pop();
+			final File localDirectory = localDirectories.pop();
+
+			int offset = 0;
+			boolean complete = false;
+			while (!complete) {
+				List<CollectionAndDataObjectListingEntry> entries = listAndSearchAO
+						.listDataObjectsUnderPath(
+								collection.getAbsolutePath(), offset);
+				if (entries.isEmpty()) {
+					break;
+				}
+
+				for (CollectionAndDataObjectListingEntry entry : entries) {
+					final IRODSFile dataObject = irodsFileFactory
+							.instanceIRODSFile(entry.getFormattedAbsolutePath());
+					dataObject.setResource(resource);
+
+					boolean queued = enqueue(new FileTransfer() {
+
+						@Override
+						void transfer() throws JargonException {
+							transferOperationsHelper.processGetOfSingleFile(
+									dataObject, localDirectory,
+									transferStatusCallbackListener,
+									transferControlBlock);
+						}
+
+						@Override
+						void notifyPauseOrCancel() throws JargonException {
+							transferOperationsHelper
+									.notifyPauseOrCancelCallbackForGet(
+											localDirectory,
+											transferStatusCallbackListener,
+											transferControlBlock,
+											(File) dataObject);
+						}
+					});
+
+					if (!queued) {
+						return;
+					}
+				}
+
+				CollectionAndDataObjectListingEntry last = entries.get(entries
+						.size() - 1);
+				complete = last.isLastResult();
+				offset = last.getCount();
+			}
+
+			offset = 0;
+			complete = false;
+			while (!complete) {
+				List<CollectionAndDataObjectListingEntry> entries = listAndSearchAO
+						.listCollectionsUnderPath(collection.getAbsolutePath(),
+								offset);
+				if (entries.isEmpty()) {
+					break;
+				}
+
+				for (CollectionAndDataObjectListingEntry entry : entries) {
+					IRODSFile subCollection = irodsFileFactory
+							.instanceIRODSFile(entry.getFormattedAbsolutePath());
+					subCollection.setResource(resource);
+
+					if (checkForPauseOrCancel(null)) {
+						return;
+					}
+
+					File newLocalDirectory = new File(localDirectory,
+							subCollection.getName());
+					log.info(
+							"recursively creating parent directory in local file system at: {}",
+							newLocalDirectory.getAbsolutePath());
+					if (!newLocalDirectory.mkdirs()) {
+						log.warn("unable to make directories in local file system, log and proceed");
+					}
+
+					collections.add(subCollection);
+					localDirectories.add(newLocalDirectory);
+				}
+
+				CollectionAndDataObjectListingEntry last = entries.get(entries
+						.size() - 1);
+				complete = last.isLastResult();
+				offset = last.getCount();
+			}
+		}
+	}
+
+	/**
+	 * Walk the local directory, creating collections in iRODS and queueing
+	 * each file as it is read from the directory
+	 *
+	 * @param sourceDirectory
+	 *            <code>File</code> at the top of the walk
+	 * @param targetIrodsCollection
+	 *            {@link IRODSFile} that receives the top directory
+	 * @throws JargonException
+	 */
+	private void walkLocalDirectory(final File sourceDirectory,
+			final IRODSFile targetIrodsCollection) throws JargonException {
+
+		IRODSFileFactory irodsFileFactory = irodsAccessObjectFactory
+				.getIRODSFileFactory(irodsAccount);
+		final String resource = targetIrodsCollection.getResource();
+		SmallFileBundler smallFileBundler = SmallFileBundler
+				.instanceForTransfer(transferOperationsHelper,
+						irodsAccessObjectFactory, irodsAccount,
+						transferControlBlock);
+
+		Deque<File> directories = new ArrayDeque<File>();
+		Deque<IRODSFile> irodsCollections = new ArrayDeque<IRODSFile>();
+		directories.add(sourceDirectory);
+		irodsCollections.add(targetIrodsCollection);
+
+		while (!directories.isEmpty()) {
+			File directory = directories.pop();
+			final IRODSFile irodsCollection = irodsCollections.pop();
+			List<File> smallFiles = new ArrayList<File>();
+			long smallFileBytes = 0;
+
+			DirectoryStream<Path> directoryStream = null;
+			try {
+				directoryStream = Files.newDirectoryStream(directory.toPath());
+				for (Path path : directoryStream) {
+					final File file = path.toFile();
+
+					if (file.isDirectory()) {
+						if (checkForPauseOrCancel(null)) {
+							return;
+						}
+
+						IRODSFile newCollection = irodsFileFactory
+								.instanceIRODSFile(
+										irodsCollection.getAbsolutePath(),
+										file.getName());
+						newCollection.setResource(resource);
+						if (makeCollection(file, newCollection)) {
+							directories.add(file);
+							irodsCollections.add(newCollection);
+						}
+						continue;
+					}
+
+					if (smallFileBundler != null
+							&& smallFileBundler.isBundleable(file)) {
+						smallFiles.add(file);
+						smallFileBytes += file.length();
+						if (smallFileBundler.isBundleFull(smallFileBytes)) {
+							if (!enqueueBundle(smallFileBundler, smallFiles,
+									irodsCollection)) {
+								return;
+							}
+							smallFiles = new ArrayList<File>();
+							smallFileBytes = 0;
+						}
+						continue;
+					}
+
+					if (!enqueuePut(file, irodsCollection)) {
+						return;
+					}
+				}
+
+				if (!smallFiles.isEmpty()
+						&& !enqueueBundle(smallFileBundler, smallFiles,
+								irodsCollection)) {
+					return;
+				}
+			} catch (IOException ioe) {
+				log.error("unable to list local directory:{}",
+						directory.getAbsolutePath(), ioe);
+				throw new JargonException("unable to list local directory", ioe);
+			} finally {
+				if (directoryStream != null) {
+					try {
+						directoryStream.close();
+					} catch (IOException e) {
+						// ignore
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Queue the put of a single local file
+	 *
+	 * @return <code>boolean</code> that is <code>false</code> if the transfer
+	 *         has stopped and the walk should end
+	 */
+	private boolean enqueuePut(final File file, final IRODSFile irodsCollection)
+			throws JargonException {
+		return enqueue(new FileTransfer() {
+
+			@Override
+			void transfer() throws JargonException {
+				transferOperationsHelper.processPutOfSingleFile(file,
+						irodsCollection, transferStatusCallbackListener,
+						transferControlBlock);
+			}
+
+			@Override
+			void notifyPauseOrCancel() throws JargonException {
+				transferOperationsHelper.notifyPauseOrCancelCallbackForPut(
+						irodsCollection, transferStatusCallbackListener,
+						transferControlBlock, file);
+			}
+		});
+	}
+
+	/**
+	 * Queue the put of small files of one directory as a bundle
+	 *
+	 * @return <code>boolean</code> that is <code>false</code> if the transfer
+	 *         has stopped and the walk should end
+	 */
+	private boolean enqueueBundle(final SmallFileBundler smallFileBundler,
+			final List<File> files, final IRODSFile irodsCollection)
+			throws JargonException {
+		return enqueue(new FileTransfer() {
+
+			@Override
+			void transfer() throws JargonException {
+				smallFileBundler.putFiles(files, irodsCollection,
+						transferStatusCallbackListener, transferControlBlock);
+			}
+
+			@Override
+			void notifyPauseOrCancel() throws JargonException {
+				transferOperationsHelper.notifyPauseOrCancelCallbackForPut(
+						irodsCollection, transferStatusCallbackListener,
+						transferControlBlock, files.get(0));
+			}
+		});
+	}
+
+	/**
+	 * Create a collection in iRODS for a local directory. A failure is reported
+	 * to the listener as it is in a sequential put, and that directory is then
+	 * skipped.
+	 *
+	 * @param directory
+	 *            <code>File</code> that is the local directory
+	 * @param newCollection
+	 *            {@link IRODSFile} that is the collection to create
+	 * @return <code>boolean</code> that is <code>true</code> if the collection
+	 *         was created and the directory should be walked
+	 * @throws JargonException
+	 *             if the collection could not be created and there is no
+	 *             listener
+	 */
+	private boolean makeCollection(final File directory,
+			final IRODSFile newCollection) throws JargonException {
+		log.info("recursively creating parent directory in irods at: {}",
+				newCollection.getAbsolutePath());
+		try {
+			newCollection.mkdirs();
+			return true;
+		} catch (Exception e) {
+			if (!transferControlBlock.isCancelled()) {
+				JargonException je = e instanceof JargonException ? (JargonException) e
+						: new JargonException(e);
+				transferOperationsHelper.processRecursivePutException(
+						directory, transferStatusCallbackListener,
+						newCollection, transferControlBlock, je);
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Place a file on the queue, waiting for room if the workers are behind
+	 *
+	 * @param fileTransfer
+	 *            {@link FileTransfer} to queue
+	 * @return <code>boolean</code> that is <code>false</code> if the transfer
+	 *         has stopped and the walk should end
+	 * @throws JargonException
+	 */
+	private boolean enqueue(final FileTransfer fileTransfer)
+			throws JargonException {
+		if (checkForPauseOrCancel(fileTransfer)) {
+			return false;
+		}
+
+		try {
+			while (!queue.offer(fileTransfer, QUEUE_WAIT_MILLIS,
+					TimeUnit.MILLISECONDS)) {
+				if (stopped.get()) {
+					return false;
+				}
+			}
+		} catch (InterruptedException e) {
+			log.info("cancellation detected, set cancelled in tcb");
+			transferControlBlock.setCancelled(true);
+			return !checkForPauseOrCancel(fileTransfer);
+		}
+		return true;
+	}
+
+	/**
+	 * See whether the transfer has stopped, or has been interrupted, paused or
+	 * cancelled. The first thread to notice a pause or cancel sends the
+	 * callback.
+	 *
+	 * @param fileTransfer
+	 *            {@link FileTransfer} about to be started, or <code>null</code>
+	 *            if no callback should be sent on a pause or cancel noticed
+	 *            here
+	 * @return <code>boolean</code> that is <code>true</code> if the transfer
+	 *         should not go on
+	 * @throws JargonException
+	 */
+	private boolean checkForPauseOrCancel(final FileTransfer fileTransfer)
+			throws JargonException {
+
+		if (Thread.interrupted()) {
+			log.info("cancellation detected, set cancelled in tcb");
+			transferControlBlock.setCancelled(true);
+		}
+
+		if (transferControlBlock.isCancelled()
+				|| transferControlBlock.isPaused()) {
+			stopped.set(true);
+			if (fileTransfer != null && transferStatusCallbackListener != null
+					&& interruptNotified.compareAndSet(false, true)) {
+				log.info("transfer cancelled or paused, signal with a callback");
+				fileTransfer.notifyPauseOrCancel();
+			}
+			return true;
+		}
+
+		return stopped.get();
+	}
+
+	/**
+	 * Record an error that ends the transfer, keeping the first one to be
+	 * thrown to the caller. Errors after a cancel are ignored, as in a
+	 * sequential transfer.
+	 *
+	 * @param je
+	 *            {@link JargonException} that occurred
+	 */
+	private void recordFailure(final JargonException je) {
+		if (transferControlBlock.isCancelled()) {
+			log.info("exception after cancel is ignored", je);
+			return;
+		}
+
+		log.error("exception in concurrent transfer, transfer will stop", je);
+		firstFailure.compareAndSet(null, je);
+		stopped.set(true);
+	}
+
+	private void throwAnyFailure() throws JargonException {
+		JargonException je = firstFailure.get();
+		if (je != null) {
+			throw je;
+		}
+	}
+
+	private ExecutorService startWorkers() {
+		ExecutorService executorService = Executors.newFixedThreadPool(
+				concurrency, new ThreadFactory() {
+					@Override
+					public Thread newThread(final Runnable runnable) {
+						Thread thread = new Thread(runnable,
+								"jargon-recursive-transfer-"
+										+ threadCount.incrementAndGet());
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+
+		for (int i = 0; i < concurrency; i++) {
+			executorService.execute(new Worker());
+		}
+
+		return executorService;
+	}
+
+	/**
+	 * Signal the end of the walk and wait for the workers to empty the queue.
+	 * An interrupt of the calling thread while waiting cancels the transfer.
+	 */
+	private void awaitWorkers(final ExecutorService executorService) {
+		walkComplete.set(true);
+		executorService.shutdown();
+
+		boolean terminated = false;
+		while (!terminated) {
+			try {
+				terminated = executorService.awaitTermination(
+						QUEUE_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				log.info("cancellation detected, set cancelled in tcb");
+				transferControlBlock.setCancelled(true);
+				stopped.set(true);
+			}
+		}
+
+		log.info("workers complete");
+	}
+
+	/**
+	 * Takes files from the queue until the walk is complete and the queue is
+	 * empty. Once the transfer has stopped the remaining files are drained
+	 * without being transferred.
+	 */
+	private class Worker implements Runnable {
+
+		@Override
+		public void run() {
+			IRODSSession irodsSession = irodsAccessObjectFactory
+					.getIrodsSession();
+			int renewalInterval = irodsSession.getJargonProperties()
+					.getSocketRenewalIntervalInSeconds();
+
+			try {
+				while (true) {
+					FileTransfer fileTransfer;
+					try {
+						fileTransfer = queue.poll(QUEUE_WAIT_MILLIS,
+								TimeUnit.MILLISECONDS);
+					} catch (InterruptedException e) {
+						log.info("cancellation detected, set cancelled in tcb");
+						transferControlBlock.setCancelled(true);
+						continue;
+					}
+
+					if (fileTransfer == null) {
+						if (walkComplete.get()) {
+							break;
+						}
+						continue;
+					}
+
+					try {
+						if (checkForPauseOrCancel(fileTransfer)) {
+							continue;
+						}
+
+						if (renewalInterval > 0) {
+							irodsSession
+									.currentConnectionCheckRenewalOfSocket(irodsAccount);
+						}
+
+						fileTransfer.transfer();
+					} catch (JargonException je) {
+						recordFailure(je);
+					} catch (Exception e) {
+						log.info(
+								"unanticipated exception will be transformed into a Jargon exception",
+								e);
+						recordFailure(new JargonException(e));
+					}
+				}
+			} finally {
+				irodsAccessObjectFactory
+						.closeSessionAndEatExceptions(irodsAccount);
+			}
+		}
+	}
+
+	/**
+	 * Wraps the caller's listener so that callbacks from the workers reach it
+	 * one at a time
+	 */
+	private static class SerializedCallbackListener implements
+			TransferStatusCallbackListener {
+
+		private final TransferStatusCallbackListener delegate;
+
+		SerializedCallbackListener(final TransferStatusCallbackListener delegate) {
+			this.delegate = delegate;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see
+		 * org.irods.jargon.core.transfer.TransferStatusCallbackListener#statusCallback
+		 * (org.irods.jargon.core.transfer.TransferStatus)
+		 */
+		@Override
+		public synchronized FileStatusCallbackResponse statusCallback(
+				final TransferStatus transferStatus) throws JargonException {
+			return delegate.statusCallback(transferStatus);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see org.irods.jargon.core.transfer.TransferStatusCallbackListener#
+		 * overallStatusCallback(org.irods.jargon.core.transfer.TransferStatus)
+		 */
+		@Override
+		public synchronized void overallStatusCallback(
+				final TransferStatus transferStatus) throws JargonException {
+			delegate.overallStatusCallback(transferStatus);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see org.irods.jargon.core.transfer.TransferStatusCallbackListener#
+		 * transferAsksWhetherToForceOperation(java.lang.String, boolean)
+		 */
+		@Override
+		public synchronized CallbackResponse transferAsksWhetherToForceOperation(
+				final String irodsAbsolutePath, final boolean isCollection) {
+			return delegate.transferAsksWhetherToForceOperation(
+					irodsAbsolutePath, isCollection);
+		}
+	}
+
+}
@@ -8,6 +8,7 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -15,6 +16,7 @@ import org.irods.jargon.core.checksum.AbstractChecksumComputeStrategy;
 import org.irods.jargon.core.checksum.ChecksumManager;
 import org.irods.jargon.core.checksum.ChecksumManagerImpl;
 import org.irods.jargon.core.checksum.ChecksumValue;
+import org.irods.jargon.core.checksum.TransferChecksumDigester;
 import org.irods.jargon.core.connection.AbstractIRODSMidLevelProtocol;
 import org.irods.jargon.core.connection.ConnectionProgressStatusListener;
 import org.irods.jargon.core.connection.IRODSAccount;
@@ -26,9 +28,10 @@ import org.irods.jargon.core.protovalues.ChecksumEncodingEnum;
 import org.irods.jargon.core.pub.aohelper.AOHelper;
 import org.irods.jargon.core.pub.domain.DataObject;
 import org.irods.jargon.core.pub.io.ByteCountingCallbackInputStreamWrapper;
+import org.irods.jargon.core.pub.io.ChecksumDigestingInputStreamWrapper;
+import org.irods.jargon.core.pub.io.ChecksumDigestingOutputStreamWrapper;
 import org.irods.jargon.core.pub.io.IRODSFile;
 import org.irods.jargon.core.pub.io.IRODSFileFactory;
-import org.irods.jargon.core.pub.io.IRODSFileInputStream;
 import org.irods.jargon.core.query.AVUQueryElement;
 import org.irods.jargon.core.query.BuilderQueryUtils;
 import org.irods.jargon.core.query.CollectionAndDataObjectListingEntry;
@@ -274,6 +277,9 @@ public final class DataAOHelper extends AOHelper {
 	 * @param transferOptions
 	 * @param transferStatusCallbackListener
 	 * @param transferControlBlock
+	 * @param transferChecksumDigester
+	 *            {@link TransferChecksumDigester} given the data as it is
+	 *            written, or <code>null</code>
 	 * @throws JargonException
 	 */
 	void processNormalGetTransfer(final File localFileToHoldData,
@@ -281,7 +287,8 @@ public final class DataAOHelper extends AOHelper {
 			final AbstractIRODSMidLevelProtocol irodsProtocol,
 			final TransferOptions transferOptions,
 			final TransferControlBlock transferControlBlock,
-			final TransferStatusCallbackListener transferStatusCallbackListener)
+			final TransferStatusCallbackListener transferStatusCallbackListener,
+			final TransferChecksumDigester transferChecksumDigester)
 			throws JargonException {
 
 		log.info("normal file transfer started, get output stream for local destination file");
@@ -338,8 +345,15 @@ public final class DataAOHelper extends AOHelper {
 							transferStatusCallbackListener);
 		}
 
+		OutputStream transferOutputStream = localFileOutputStream;
+		if (transferChecksumDigester != null) {
+			log.info("computing checksum as data is written");
+			transferOutputStream = new ChecksumDigestingOutputStreamWrapper(
+					transferChecksumDigester, localFileOutputStream);
+		}
+
 		// read the message byte stream into the local file
-		irodsProtocol.read(localFileOutputStream, length,
+		irodsProtocol.read(transferOutputStream, length,
 				intraFileStatusListener);
 		log.info("transfer is complete");
 		try {
@@ -379,6 +393,11 @@ public final class DataAOHelper extends AOHelper {
 	 *            {@link StatusCallbackListener} implementation to receive
 	 *            status callbacks, this can be set to <code>null</code> if
 	 *            desired
+	 * @param transferChecksumDigester
+	 *            {@link TransferChecksumDigester} given the data as it is
+	 *            read, or <code>null</code>. When given, a checksum to verify
+	 *            is not computed before the put, and the caller verifies the
+	 *            put afterwards.
 	 * @throws JargonException
 	 * @throws FileNotFoundException
 	 */
@@ -386,7 +405,8 @@ public final class DataAOHelper extends AOHelper {
 			final boolean overwrite, final IRODSFile targetFile,
 			final AbstractIRODSMidLevelProtocol irodsProtocol,
 			final TransferControlBlock transferControlBlock,
-			final TransferStatusCallbackListener transferStatusCallbackListener)
+			final TransferStatusCallbackListener transferStatusCallbackListener,
+			final TransferChecksumDigester transferChecksumDigester)
 			throws JargonException, FileNotFoundException {
 
 		if (localFile == null) {
@@ -423,9 +443,9 @@ public final class DataAOHelper extends AOHelper {
 				targetFile.getResource(), overwrite, myTransferOptions,
 				execFlag);
 
-		// see if checksum is required
+		// see if checksum is required, unless computed as the data is sent
 
-		if (myTransferOptions != null) {
+		if (myTransferOptions != null && transferChecksumDigester == null) {
 			if (myTransferOptions.isComputeAndVerifyChecksumAfterTransfer()
 					|| myTransferOptions.isComputeChecksumAfterTransfer()) {
 				log.info("computing a checksum on the file at:{}",
@@ -468,6 +488,12 @@ public final class DataAOHelper extends AOHelper {
 					inputStreamBuffSize);
 		}
 
+		if (transferChecksumDigester != null) {
+			log.info("computing checksum as data is sent");
+			fileInputStream = new ChecksumDigestingInputStreamWrapper(
+					transferChecksumDigester, fileInputStream);
+		}
+
 		irodsProtocol.irodsFunctionIncludingAllDataInStream(dataObjInp,
 				localFile.length(), fileInputStream, intraFileStatusListener);
 
@@ -527,6 +553,55 @@ public final class DataAOHelper extends AOHelper {
 
 	}
 
+	/**
+	 * Create a digester to compute the checksum of a local file as it is
+	 * transferred, if so configured
+	 *
+	 * @param localFile
+	 *            <code>File</code> that is read or written by the transfer
+	 * @param length
+	 *            <code>long</code> with the length of the transfer
+	 * @param overrideChecksumEncoding
+	 *            {@link ChecksumEncodingEnum} to use explicitly, otherwise will
+	 *            use a default and <code>null</code> can be passed here
+	 * @return {@link TransferChecksumDigester}, or <code>null</code> if
+	 *         checksums are not computed during transfers, or the encoding
+	 *         cannot be
+	 * @throws JargonException
+	 */
+	TransferChecksumDigester instanceTransferChecksumDigesterIfConfigured(
+			final File localFile, final long length,
+			final ChecksumEncodingEnum overrideChecksumEncoding)
+			throws JargonException {
+
+		if (localFile == null) {
+			throw new IllegalArgumentException("null localFile");
+		}
+
+		if (!irodsAccessObjectFactory.getJargonProperties()
+				.isChecksumDuringTransfer()) {
+			return null;
+		}
+
+		ChecksumEncodingEnum checksumEncoding;
+		if (overrideChecksumEncoding == null) {
+			checksumEncoding = checksumManager
+					.determineChecksumEncodingForTargetServer();
+		} else {
+			checksumEncoding = overrideChecksumEncoding;
+		}
+
+		if (!TransferChecksumDigester.isSupported(checksumEncoding)) {
+			log.info("cannot compute {} checksum during transfer",
+					checksumEncoding);
+			return null;
+		}
+
+		return new TransferChecksumDigester(checksumEncoding, localFile,
+				length, irodsAccessObjectFactory.getJargonProperties()
+						.getChecksumDuringTransferPendingBytes());
+	}
+
 	/**
 	 * Given a checksum value coming back from iRODS, compute the checksum value
 	 *
@@ -547,7 +622,8 @@ public final class DataAOHelper extends AOHelper {
 			final IRODSFile targetFile, final int fd,
 			final AbstractIRODSMidLevelProtocol irodsProtocol,
 			final TransferControlBlock transferControlBlock,
-			final ConnectionProgressStatusListener intraFileStatusListener)
+			final ConnectionProgressStatusListener intraFileStatusListener,
+			final TransferChecksumDigester transferChecksumDigester)
 			throws JargonException, FileNotFoundException {
 
 		log.info("put read/write loop");
@@ -588,6 +664,12 @@ public final class DataAOHelper extends AOHelper {
 					inputStreamBuffSize);
 		}
 
+		if (transferChecksumDigester != null) {
+			log.info("computing checksum as data is sent");
+			fileInputStream = new ChecksumDigestingInputStreamWrapper(
+					transferChecksumDigester, fileInputStream);
+		}
+
 		try {
 
 			log.info("starting read/write loop to send data to iRODS");
@@ -735,13 +817,17 @@ public final class DataAOHelper extends AOHelper {
 	 * @param fd
 	 * @param transferStatusCallbackListener
 	 * @param transferControlBlock
+	 * @param transferChecksumDigester
+	 *            {@link TransferChecksumDigester} given the data as it is
+	 *            read, or <code>null</code>
 	 * @throws JargonException
 	 */
 	void processGetTransferViaRead(final IRODSFile irodsFile,
 			final File localFileToHoldData, final long irodsFileLength,
 			final TransferOptions transferOptions, final int fd,
 			final TransferControlBlock transferControlBlock,
-			final TransferStatusCallbackListener transferStatusCallbackListener)
+			final TransferStatusCallbackListener transferStatusCallbackListener,
+			final TransferChecksumDigester transferChecksumDigester)
 			throws JargonException {
 		log.info("processGetTransferViaRead()");
 
@@ -760,9 +846,15 @@ public final class DataAOHelper extends AOHelper {
 		log.info("streaming file transfer started, get output stream for local destination file");
 
 		try {
-			IRODSFileInputStream ifis = irodsAccessObjectFactory
-					.getIRODSFileFactory(irodsAccount)
-					.instanceIRODSFileInputStreamGivingFD(irodsFile, fd);
+			InputStream ifis = irodsAccessObjectFactory.getIRODSFileFactory(
+					irodsAccount).instanceIRODSFileInputStreamGivingFD(
+					irodsFile, fd);
+
+			if (transferChecksumDigester != null) {
+				log.info("computing checksum as data is read");
+				ifis = new ChecksumDigestingInputStreamWrapper(
+						transferChecksumDigester, ifis);
+			}
 
 			Stream2StreamAO stream2StreamAO = irodsAccessObjectFactory
 					.getStream2StreamAO(irodsAccount);
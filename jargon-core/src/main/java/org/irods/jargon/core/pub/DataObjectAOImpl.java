@@ -10,11 +10,14 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.irods.jargon.core.checksum.ChecksumValue;
+import org.irods.jargon.core.checksum.TransferChecksumDigester;
 import org.irods.jargon.core.connection.ConnectionConstants;
+import org.irods.jargon.core.connection.JargonProperties;
 import org.irods.jargon.core.connection.ConnectionProgressStatus;
 import org.irods.jargon.core.connection.ConnectionProgressStatusListener;
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.connection.PipelinedResponse;
 import org.irods.jargon.core.exception.CatNoAccessException;
 import org.irods.jargon.core.exception.DataNotFoundException;
 import org.irods.jargon.core.exception.DuplicateDataException;
@@ -61,6 +64,7 @@ import org.irods.jargon.core.query.SpecificQuery;
 import org.irods.jargon.core.query.SpecificQueryResultSet;
 import org.irods.jargon.core.rule.IRODSRuleExecResult;
 import org.irods.jargon.core.rule.IRODSRuleParameter;
+import org.irods.jargon.core.transfer.AbstractParallelFileTransferStrategy;
 import org.irods.jargon.core.transfer.AbstractRestartManager;
 import org.irods.jargon.core.transfer.DefaultTransferControlBlock;
 import org.irods.jargon.core.transfer.FileRestartInfo;
@@ -70,6 +74,8 @@ import org.irods.jargon.core.transfer.FileRestartManagementException;
 import org.irods.jargon.core.transfer.GetTransferRestartProcessor;
 import org.irods.jargon.core.transfer.ParallelGetFileTransferStrategy;
 import org.irods.jargon.core.transfer.ParallelPutFileTransferStrategy;
+import org.irods.jargon.core.transfer.ParallelTransferTuner;
+import org.irods.jargon.core.transfer.ParallelTransferTuning;
 import org.irods.jargon.core.transfer.PutTransferRestartProcessor;
 import org.irods.jargon.core.transfer.RestartFailedException;
 import org.irods.jargon.core.transfer.TransferControlBlock;
@@ -622,10 +628,13 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements
 		if (localFileLength < ConnectionConstants.MAX_SZ_FOR_SINGLE_BUF) {
 
 			log.info("processing transfer as normal, length below max");
+			TransferChecksumDigester transferChecksumDigester = instanceTransferChecksumDigesterForPutIfConfigured(
+					localFile, transferControlBlock.getTransferOptions());
 			try {
 				dataAOHelper.processNormalPutTransfer(localFile, force,
 						targetFile, getIRODSProtocol(), transferControlBlock,
-						transferStatusCallbackListener);
+						transferStatusCallbackListener,
+						transferChecksumDigester);
 			} catch (FileNotFoundException e) {
 				log.error("iRODS file missing in put operation:{}",
 						targetFile.getAbsolutePath());
@@ -634,6 +643,12 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements
 				throw new DataNotFoundException(
 						"local file not found in put to irods", e);
 			}
+
+			if (transferChecksumDigester != null
+					&& !transferControlBlock.isCancelled()) {
+				verifyPutAgainstChecksumComputedDuringTransfer(localFile,
+						targetFile, transferChecksumDigester);
+			}
 		} else {
 
 			log.info("processing as a parallel transfer, length above max");
@@ -839,6 +854,10 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements
 		if (!myTransferOptions.isUseParallelTransfer()) {
 			log.info("no parallel transfer set in transferOptions");
 			myTransferOptions.setMaxThreads(-1);
+		} else if (localFile.length() > ConnectionConstants.MAX_SZ_FOR_SINGLE_BUF) {
+			requestTunedParallelThreads(myTransferOptions,
+					targetFile.getResource(),
+					AbstractParallelFileTransferStrategy.TransferType.PUT_TRANSFER);
 		}
 
 		ConnectionProgressStatusListener intraFileStatusListener = null;
@@ -860,9 +879,15 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements
 				targetFile.getResource(), overwrite, myTransferOptions,
 				execFlag);
 
+		TransferChecksumDigester transferChecksumDigester = instanceTransferChecksumDigesterForPutIfConfigured(
+				localFile, myTransferOptions);
+
 		try {
 
-			if (myTransferOptions.isComputeAndVerifyChecksumAfterTransfer()
+			if (transferChecksumDigester != null) {
+				log.info("checksum will be computed as the file is sent, and verified after the put");
+			} else if (myTransferOptions
+					.isComputeAndVerifyChecksumAfterTransfer()
 					|| myTransferOptions.isComputeChecksumAfterTransfer()) {
 				log.info(
 						"before generating parallel transfer threads, computing a checksum on the file at:{}",
@@ -897,7 +922,8 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements
 				parallelPutTransfer(localFile, targetFile.getAbsolutePath(),
 						responseToInitialCallForPut, numberOfThreads,
 						localFile.length(), transferControlBlock,
-						transferStatusCallbackListener);
+						transferStatusCallbackListener,
+						targetFile.getResource(), transferChecksumDigester);
 			} else {
 				log.info("parallel operation deferred by server sending 0 threads back in PortalOperOut, revert to single thread transfer");
 				if (transferStatusCallbackListener != null
@@ -910,7 +936,13 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements
 				}
 				dataAOHelper.putReadWriteLoop(localFile, overwrite, targetFile,
 						fd, getIRODSProtocol(), transferControlBlock,
-						intraFileStatusListener);
+						intraFileStatusListener, transferChecksumDigester);
+			}
+
+			if (transferChecksumDigester != null
+					&& !transferControlBlock.isCancelled()) {
+				verifyPutAgainstChecksumComputedDuringTransfer(localFile,
+						targetFile, transferChecksumDigester);
 			}
 
 		} catch (DataNotFoundException dnf) {
@@ -943,13 +975,21 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements
 	 * @param transferLength
 	 * @param transferControlBlock
 	 * @param transferStatusCallbackListener
+	 * @param resource
+	 *            <code>String</code> with the resource of the put, may be
+	 *            blank
+	 * @param transferChecksumDigester
+	 *            {@link TransferChecksumDigester} given the data as it is
+	 *            sent, or <code>null</code>
 	 */
 	private void parallelPutTransfer(final File localFile,
 			final String irodsAbsolutePath,
 			final Tag responseToInitialCallForPut, final int numberOfThreads,
 			final long transferLength,
 			final TransferControlBlock transferControlBlock,
-			final TransferStatusCallbackListener transferStatusCallbackListener)
+			final TransferStatusCallbackListener transferStatusCallbackListener,
+			final String resource,
+			final TransferChecksumDigester transferChecksumDigester)
 			throws DataNotFoundException, OverwriteException, JargonException {
 
 		/*
@@ -982,9 +1022,31 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements
 				"getting ready to initiate parallel file transfer strategy:{}",
 				parallelPutFileStrategy);
 
+		parallelPutFileStrategy
+				.setTransferChecksumDigester(transferChecksumDigester);
+
+		ParallelTransferTuner parallelTransferTuner = getParallelTransferTunerIfConfigured();
+		ParallelTransferTuning parallelTransferTuning = null;
+		if (parallelTransferTuner != null) {
+			parallelTransferTuning = parallelTransferTuner.retrieveTuning(
+					getIRODSAccount(), resource,
+					AbstractParallelFileTransferStrategy.TransferType.PUT_TRANSFER);
+			parallelPutFileStrategy.setParallelCopyBufferSize(parallelTransferTuning
+					.getBufferSize());
+		}
+
 		try {
 			parallelPutFileStrategy.transfer();
 			log.info("transfer process is complete");
+
+			if (parallelTransferTuner != null) {
+				parallelTransferTuner.recordTransfer(getIRODSAccount(),
+						resource,
+						AbstractParallelFileTransferStrategy.TransferType.PUT_TRANSFER,
+						parallelTransferTuning, numberOfThreads,
+						parallelPutFileStrategy.getBytesTransferred(),
+						parallelPutFileStrategy.getElapsedNanos());
+			}
 			int statusForComplete = responseToInitialCallForPut.getTag(
 					IRODSConstants.L1_DESC_INX).getIntValue();
 			log.debug("status for complete:{}", statusForComplete);
@@ -1139,6 +1201,11 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements
 				if (!thisFileTransferOptions.isUseParallelTransfer()) {
 					log.info("no parallel transfer set in transferOptions");
 					thisFileTransferOptions.setMaxThreads(-1);
+				} else {
+					requestTunedParallelThreads(
+							thisFileTransferOptions,
+							irodsFileToGet.getResource(),
+							AbstractParallelFileTransferStrategy.TransferType.GET_TRANSFER);
 				}
 			} else {
 				thisFileTransferOptions.setMaxThreads(0);
@@ -1147,6 +1214,15 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements
 			log.info("target local file: {}", localFile.getAbsolutePath());
 			log.info("from source file: {}", irodsFileToGet.getAbsolutePath());
 
+			if (SegmentedParallelGet.isSegmentedGet(thisFileTransferOptions,
+					getJargonProperties(), irodsFileToGet, irodsFileLength)) {
+				processSegmentedGet(irodsFileToGet, localFile,
+						thisFileTransferOptions, irodsFileLength,
+						operativeTransferControlBlock,
+						transferStatusCallbackListener);
+				return;
+			}
+
 			final DataObjInp dataObjInp;
 			if (irodsFileToGet.getResource().isEmpty()) {
 				dataObjInp = DataObjInp.instanceForGet(
@@ -1468,6 +1544,26 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements
 			throw new IllegalArgumentException("null transfer options");
 		}
 
+		/*
+		 * The algorithm of the iRODS checksum is needed before the transfer to
+		 * compute the local checksum as the data arrives. This is not done for
+		 * client-side rule actions, where no other call may come between the
+		 * rule and the get.
+		 */
+		ChecksumValue irodsChecksum = null;
+		TransferChecksumDigester transferChecksumDigester = null;
+		if (!clientSideAction
+				&& irodsFileLength > 0
+				&& thisFileTransferOptions
+						.isComputeAndVerifyChecksumAfterTransfer()
+				&& getJargonProperties().isChecksumDuringTransfer()) {
+			irodsChecksum = computeChecksumOnDataObject(irodsFileToGet);
+			transferChecksumDigester = dataAOHelper
+					.instanceTransferChecksumDigesterIfConfigured(
+							localFileToHoldData, irodsFileLength,
+							irodsChecksum.getChecksumEncoding());
+		}
+
 		LocalFileUtils.createLocalFileIfNotExists(localFileToHoldData);
 		Tag message;
 		try {
@@ -1529,7 +1625,8 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements
 							thisFileTransferOptions, message,
 							lengthFromIrodsResponse, irodsFileLength,
 							transferControlBlock,
-							transferStatusCallbackListener, clientSideAction);
+							transferStatusCallbackListener, clientSideAction,
+							transferChecksumDigester);
 
 					if (!getIRODSServerProperties()
 							.isTheIrodsServerAtLeastAtTheGivenReleaseVersion(
@@ -1562,6 +1659,8 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements
 						getRestartRetryTillMaxLoop(transferControlBlock,
 								irodsFileToGet, fileRestartInfo,
 								transferStatusCallbackListener);
+						// the restart does not give its data to the digester
+						transferChecksumDigester = null;
 					}
 
 				}
@@ -1569,68 +1668,267 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements
 				dataAOHelper.processNormalGetTransfer(localFileToHoldData,
 						lengthFromIrodsResponse, getIRODSProtocol(),
 						thisFileTransferOptions, transferControlBlock,
-						transferStatusCallbackListener);
+						transferStatusCallbackListener,
+						transferChecksumDigester);
 			}
 
-			/*
-			 * Send a final 100% callback if intra-file callbacks are desired
-			 */
-
-			if (transferStatusCallbackListener != null
-					&& transferControlBlock.getTransferOptions()
-							.isIntraFileStatusCallbacks()
-					&& !transferControlBlock.isCancelled()) {
-				ConnectionProgressStatusListener intraFileStatusListener = DefaultIntraFileProgressCallbackListener
-						.instanceSettingTransferOptions(TransferType.GET,
-								irodsFileLength, transferControlBlock,
-								transferStatusCallbackListener,
-								transferControlBlock.getTransferOptions());
-				ConnectionProgressStatus status = ConnectionProgressStatus
-						.instanceForSend(irodsFileLength);
-				intraFileStatusListener
-						.finalConnectionProgressStatusCallback(status);
-			}
+			completeGet(irodsFileToGet, localFileToHoldData,
+					thisFileTransferOptions, irodsFileLength,
+					transferControlBlock, transferStatusCallbackListener,
+					clientSideAction, irodsChecksum, transferChecksumDigester);
 
-			if (thisFileTransferOptions != null
-					&& thisFileTransferOptions
-							.isComputeAndVerifyChecksumAfterTransfer()) {
+		} catch (Throwable e) {
+			log.error(ERROR_IN_PARALLEL_TRANSFER, e);
+			throw new JargonException(ERROR_IN_PARALLEL_TRANSFER, e);
+		}
 
-				// compute iRODS first, use algorithm from iRODS to compute the
-				// local checksum that should match
+		return l1descInx;
+	}
 
-				ChecksumValue irodsChecksum = computeChecksumOnDataObject(irodsFileToGet);
+	/**
+	 * Get a large data object with a {@link SegmentedParallelGet}, reading
+	 * ranges of it over several connections chosen by the client rather than
+	 * a parallel transfer set up by the server
+	 *
+	 * @param irodsFileToGet
+	 * @param localFileToHoldData
+	 * @param thisFileTransferOptions
+	 * @param irodsFileLength
+	 * @param transferControlBlock
+	 * @param transferStatusCallbackListener
+	 * @throws JargonException
+	 */
+	private void processSegmentedGet(final IRODSFile irodsFileToGet,
+			final File localFileToHoldData,
+			final TransferOptions thisFileTransferOptions,
+			final long irodsFileLength,
+			final TransferControlBlock transferControlBlock,
+			final TransferStatusCallbackListener transferStatusCallbackListener)
+			throws JargonException {
 
-				log.info("computing a checksum on the file at:{}",
-						localFileToHoldData.getAbsolutePath());
+		log.info("process as a segmented get with {} threads",
+				thisFileTransferOptions.getSegmentedGetThreads());
 
-				ChecksumValue localFileChecksum = dataAOHelper
-						.computeLocalFileChecksum(localFileToHoldData,
-								irodsChecksum.getChecksumEncoding());
+		ChecksumValue irodsChecksum = null;
+		TransferChecksumDigester transferChecksumDigester = null;
+		if (thisFileTransferOptions.isComputeAndVerifyChecksumAfterTransfer()
+				&& getJargonProperties().isChecksumDuringTransfer()) {
+			irodsChecksum = computeChecksumOnDataObject(irodsFileToGet);
+			transferChecksumDigester = dataAOHelper
+					.instanceTransferChecksumDigesterIfConfigured(
+							localFileToHoldData, irodsFileLength,
+							irodsChecksum.getChecksumEncoding());
+		}
 
-				log.info("local file checksum is:{}", localFileChecksum);
-				log.info("irods checksum:{}", irodsChecksum);
-				if (!(irodsChecksum.getChecksumStringValue()
-						.equals(localFileChecksum.getChecksumStringValue()))) {
-					throw new FileIntegrityException(
-							"checksum verification after get fails");
-				}
-			}
+		LocalFileUtils.createLocalFileIfNotExists(localFileToHoldData);
 
-			if (!clientSideAction) {
-				log.info("looking for executable to set flag on local file");
+		ConnectionProgressStatusListener intraFileStatusListener = null;
+		if (transferStatusCallbackListener != null
+				&& thisFileTransferOptions.isIntraFileStatusCallbacks()) {
+			intraFileStatusListener = DefaultIntraFileProgressCallbackListener
+					.instanceSettingTransferOptions(TransferType.GET,
+							irodsFileLength, transferControlBlock,
+							transferStatusCallbackListener,
+							thisFileTransferOptions);
+		}
 
-				if (irodsFileToGet.canExecute()) {
-					log.info("execute set on local file");
-					localFileToHoldData.setExecutable(true);
-				}
-			}
+		SegmentedParallelGet segmentedParallelGet = new SegmentedParallelGet(
+				getIRODSAccessObjectFactory(), getIRODSAccount(),
+				irodsFileToGet.getAbsolutePath(), localFileToHoldData,
+				irodsFileLength,
+				thisFileTransferOptions.getSegmentedGetThreads(),
+				transferControlBlock, intraFileStatusListener,
+				transferChecksumDigester);
 
+		try {
+			segmentedParallelGet.transfer();
+			completeGet(irodsFileToGet, localFileToHoldData,
+					thisFileTransferOptions, irodsFileLength,
+					transferControlBlock, transferStatusCallbackListener,
+					false, irodsChecksum, transferChecksumDigester);
 		} catch (Throwable e) {
 			log.error(ERROR_IN_PARALLEL_TRANSFER, e);
 			throw new JargonException(ERROR_IN_PARALLEL_TRANSFER, e);
 		}
+	}
 
-		return l1descInx;
+	/**
+	 * Steps common to all gets once the data is in the local file: a final
+	 * intra-file callback, checksum verification, and setting the executable
+	 * flag
+	 *
+	 * @param irodsFileToGet
+	 * @param localFileToHoldData
+	 * @param thisFileTransferOptions
+	 * @param irodsFileLength
+	 * @param transferControlBlock
+	 * @param transferStatusCallbackListener
+	 * @param clientSideAction
+	 *            <code>boolean</code> that is <code>true</code> if this is a
+	 *            client-side action in rule processing
+	 * @param irodsChecksum
+	 *            {@link ChecksumValue} computed by iRODS before the transfer,
+	 *            or <code>null</code> to compute it now if verifying
+	 * @param transferChecksumDigester
+	 *            {@link TransferChecksumDigester} given the data during the
+	 *            transfer, or <code>null</code> to read the local file to
+	 *            verify
+	 * @throws JargonException
+	 */
+	private void completeGet(final IRODSFile irodsFileToGet,
+			final File localFileToHoldData,
+			final TransferOptions thisFileTransferOptions,
+			final long irodsFileLength,
+			final TransferControlBlock transferControlBlock,
+			final TransferStatusCallbackListener transferStatusCallbackListener,
+			final boolean clientSideAction, final ChecksumValue irodsChecksum,
+			final TransferChecksumDigester transferChecksumDigester)
+			throws JargonException {
+
+		/*
+		 * Send a final 100% callback if intra-file callbacks are desired
+		 */
+
+		if (transferStatusCallbackListener != null
+				&& transferControlBlock.getTransferOptions()
+						.isIntraFileStatusCallbacks()
+				&& !transferControlBlock.isCancelled()) {
+			ConnectionProgressStatusListener intraFileStatusListener = DefaultIntraFileProgressCallbackListener
+					.instanceSettingTransferOptions(TransferType.GET,
+							irodsFileLength, transferControlBlock,
+							transferStatusCallbackListener,
+							transferControlBlock.getTransferOptions());
+			ConnectionProgressStatus status = ConnectionProgressStatus
+					.instanceForSend(irodsFileLength);
+			intraFileStatusListener
+					.finalConnectionProgressStatusCallback(status);
+		}
+
+		if (thisFileTransferOptions != null
+				&& thisFileTransferOptions
+						.isComputeAndVerifyChecksumAfterTransfer()) {
+
+			// compute iRODS first, use algorithm from iRODS to compute the
+			// local checksum that should match
+
+			ChecksumValue expectedChecksum = irodsChecksum;
+			if (expectedChecksum == null) {
+				expectedChecksum = computeChecksumOnDataObject(irodsFileToGet);
+			}
+
+			ChecksumValue localFileChecksum = computeLocalFileChecksumForVerification(
+					localFileToHoldData, expectedChecksum,
+					transferChecksumDigester);
+
+			log.info("local file checksum is:{}", localFileChecksum);
+			log.info("irods checksum:{}", expectedChecksum);
+			if (!(expectedChecksum.getChecksumStringValue()
+					.equals(localFileChecksum.getChecksumStringValue()))) {
+				throw new FileIntegrityException(
+						"checksum verification after get fails");
+			}
+		}
+
+		if (!clientSideAction) {
+			log.info("looking for executable to set flag on local file");
+
+			if (irodsFileToGet.canExecute()) {
+				log.info("execute set on local file");
+				localFileToHoldData.setExecutable(true);
+			}
+		}
+	}
+
+	/**
+	 * Create a digester to compute the checksum of a local file as it is put,
+	 * if the put is to be verified and checksums are computed during
+	 * transfers. The put is then verified against the checksum iRODS computes
+	 * once the data is stored, rather than sending iRODS a checksum computed
+	 * by reading the file before the put.
+	 *
+	 * @param localFile
+	 *            <code>File</code> to put
+	 * @param transferOptions
+	 *            {@link TransferOptions} of the put, may be <code>null</code>
+	 * @return {@link TransferChecksumDigester} or <code>null</code>
+	 * @throws JargonException
+	 */
+	private TransferChecksumDigester instanceTransferChecksumDigesterForPutIfConfigured(
+			final File localFile, final TransferOptions transferOptions)
+			throws JargonException {
+
+		if (transferOptions == null
+				|| !transferOptions.isComputeAndVerifyChecksumAfterTransfer()) {
+			return null;
+		}
+
+		return dataAOHelper.instanceTransferChecksumDigesterIfConfigured(
+				localFile, localFile.length(), null);
+	}
+
+	/**
+	 * Verify a put by comparing the checksum computed by iRODS on the stored
+	 * data object with the checksum computed as the local file was sent
+	 *
+	 * @param localFile
+	 *            <code>File</code> that was put
+	 * @param targetFile
+	 *            {@link IRODSFile} that was the target of the put
+	 * @param transferChecksumDigester
+	 *            {@link TransferChecksumDigester} given the data of the put
+	 * @throws FileIntegrityException
+	 *             if the checksums do not match
+	 * @throws JargonException
+	 */
+	private void verifyPutAgainstChecksumComputedDuringTransfer(
+			final File localFile, final IRODSFile targetFile,
+			final TransferChecksumDigester transferChecksumDigester)
+			throws JargonException {
+
+		ChecksumValue irodsChecksum = computeChecksumOnDataObject(targetFile);
+		ChecksumValue localFileChecksum = computeLocalFileChecksumForVerification(
+				localFile, irodsChecksum, transferChecksumDigester);
+
+		log.info("local file checksum is:{}", localFileChecksum);
+		log.info("irods checksum:{}", irodsChecksum);
+		if (!(irodsChecksum.getChecksumStringValue().equals(localFileChecksum
+				.getChecksumStringValue()))) {
+			throw new FileIntegrityException(
+					"checksum verification after put fails");
+		}
+	}
+
+	/**
+	 * Get the local checksum to compare with a checksum from iRODS, taken from
+	 * the digester of the transfer when it used the same algorithm, otherwise
+	 * computed by reading the local file
+	 *
+	 * @param localFile
+	 *            <code>File</code> that was transferred
+	 * @param irodsChecksum
+	 *            {@link ChecksumValue} from iRODS
+	 * @param transferChecksumDigester
+	 *            {@link TransferChecksumDigester} given the data of the
+	 *            transfer, or <code>null</code>
+	 * @return {@link ChecksumValue} of the local file
+	 * @throws JargonException
+	 */
+	private ChecksumValue computeLocalFileChecksumForVerification(
+			final File localFile, final ChecksumValue irodsChecksum,
+			final TransferChecksumDigester transferChecksumDigester)
+			throws JargonException {
+
+		if (transferChecksumDigester != null
+				&& transferChecksumDigester.getChecksumEncoding() == irodsChecksum
+						.getChecksumEncoding()) {
+			log.info("using checksum computed during transfer");
+			return transferChecksumDigester.computeChecksumValue();
+		}
+
+		log.info("computing a checksum on the file at:{}",
+				localFile.getAbsolutePath());
+		return dataAOHelper.computeLocalFileChecksum(localFile,
+				irodsChecksum.getChecksumEncoding());
 	}
 
 	/**
@@ -1647,6 +1945,9 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements
 	 * @param irodsFileLength
 	 * @param transferControlBlock
 	 * @param transferStatusCallbackListener
+	 * @param transferChecksumDigester
+	 *            {@link TransferChecksumDigester} given the data as it is
+	 *            written, or <code>null</code>
 	 * @throws JargonException
 	 */
 	private void checkNbrThreadsAndProcessAsParallelIfMoreThanZeroThreads(
@@ -1658,7 +1959,9 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements
 			final long irodsFileLength,
 			final TransferControlBlock transferControlBlock,
 			final TransferStatusCallbackListener transferStatusCallbackListener,
-			final boolean clientSideAction) throws JargonException {
+			final boolean clientSideAction,
+			final TransferChecksumDigester transferChecksumDigester)
+			throws JargonException {
 
 		final String host = message.getTag(IRODSConstants.PortList_PI)
 				.getTag(IRODSConstants.hostAddr).getStringValue();
@@ -1689,7 +1992,8 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements
 			int fd = message.getTag(IRODSConstants.L1_DESC_INX).getIntValue();
 			dataAOHelper.processGetTransferViaRead(irodsSourceFile,
 					localFileToHoldData, irodsFileLength, transferOptions, fd,
-					transferControlBlock, transferStatusCallbackListener);
+					transferControlBlock, transferStatusCallbackListener,
+					transferChecksumDigester);
 		} else {
 			log.info("process as a parallel transfer");
 			if (transferStatusCallbackListener == null) {
@@ -1705,10 +2009,36 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements
 							transferStatusCallbackListener, fileRestartInfo,
 							getIRODSProtocol().getStartupResponseData()
 									.getNegotiatedClientServerConfiguration());
+			parallelGetTransferStrategy
+					.setTransferChecksumDigester(transferChecksumDigester);
+
+			ParallelTransferTuner parallelTransferTuner = getParallelTransferTunerIfConfigured();
+			ParallelTransferTuning parallelTransferTuning = null;
+			if (parallelTransferTuner != null) {
+				parallelTransferTuning = parallelTransferTuner.retrieveTuning(
+						getIRODSAccount(), irodsSourceFile.getResource(),
+						AbstractParallelFileTransferStrategy.TransferType.GET_TRANSFER);
+				parallelGetTransferStrategy
+						.setParallelCopyBufferSize(parallelTransferTuning
+								.getBufferSize());
+			}
 
 			try {
 				parallelGetTransferStrategy.transfer();
 
+				if (parallelTransferTuner != null) {
+					parallelTransferTuner
+							.recordTransfer(
+									getIRODSAccount(),
+									irodsSourceFile.getResource(),
+									AbstractParallelFileTransferStrategy.TransferType.GET_TRANSFER,
+									parallelTransferTuning, numberOfThreads,
+									parallelGetTransferStrategy
+											.getBytesTransferred(),
+									parallelGetTransferStrategy
+											.getElapsedNanos());
+				}
+
 			} catch (Throwable e) {
 
 				log.error(
@@ -1721,6 +2051,52 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements
 		}
 	}
 
+	/**
+	 * Get a tuner for parallel transfers if adaptive tuning is configured.
+	 * Learned settings are kept in the discovered server properties cache, so
+	 * that must also be in use.
+	 *
+	 * @return {@link ParallelTransferTuner} or <code>null</code> if parallel
+	 *         transfers are not tuned
+	 */
+	private ParallelTransferTuner getParallelTransferTunerIfConfigured() {
+		JargonProperties jargonProperties = getIRODSSession()
+				.getJargonProperties();
+		if (!jargonProperties.isAdaptiveParallelTransfer()
+				|| !jargonProperties.isUsingDiscoveredServerPropertiesCache()) {
+			return null;
+		}
+
+		return new ParallelTransferTuner(getIRODSSession()
+				.getDiscoveredServerPropertiesCache(), jargonProperties);
+	}
+
+	/**
+	 * If adaptive tuning is configured, request from the server the number of
+	 * threads learned for transfers to this resource
+	 *
+	 * @param transferOptions
+	 *            {@link TransferOptions} for this file that will be updated
+	 * @param resource
+	 *            <code>String</code> with the resource of the transfer, may be
+	 *            blank
+	 * @param transferType
+	 *            {@link AbstractParallelFileTransferStrategy.TransferType}
+	 */
+	private void requestTunedParallelThreads(
+			final TransferOptions transferOptions, final String resource,
+			final AbstractParallelFileTransferStrategy.TransferType transferType) {
+		ParallelTransferTuner parallelTransferTuner = getParallelTransferTunerIfConfigured();
+		if (parallelTransferTuner == null) {
+			return;
+		}
+
+		int threads = parallelTransferTuner.retrieveTuning(getIRODSAccount(),
+				resource, transferType).getNumberOfThreads();
+		log.info("requesting {} threads from adaptive tuning", threads);
+		transferOptions.setMaxThreads(threads);
+	}
+
 	/**
 	 * See if jargon props say to do long file restarts, and a restart manager
 	 * is configured
@@ -1988,36 +2364,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements
 			throw new IllegalArgumentException("null or empty avuData");
 		}
 
-		List<BulkAVUOperationResponse> responses = new ArrayList<BulkAVUOperationResponse>();
-
-		for (AvuData value : avuData) {
-			try {
-				addAVUMetadata(absolutePath, value);
-			} catch (DataNotFoundException dnf) {
-				log.error(
-						"dataNotFoundException when adding an AVU, catch and add to response data",
-						dnf);
-				responses.add(BulkAVUOperationResponse.instance(
-						ResultStatus.MISSING_METADATA_TARGET, value,
-						dnf.getMessage()));
-				continue;
-			} catch (DuplicateDataException dde) {
-				log.error(
-						"DuplicateDataException when adding an AVU, catch and add to response data",
-						dde);
-				responses.add(BulkAVUOperationResponse.instance(
-						ResultStatus.DUPLICATE_AVU, value, dde.getMessage()));
-				continue;
-
-			}
-
-			log.info("treat as success...", value);
-			responses.add(BulkAVUOperationResponse.instance(ResultStatus.OK,
-					value, ""));
-		}
-
-		log.info("...complete");
-		return responses;
+		return processBulkAVUMetadata(absolutePath, avuData, true);
 	}
 
 	/*
@@ -2034,33 +2381,82 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements
 
 		log.info("deleteBulkAVUMetadataFromDataObject()");
 
+		if (absolutePath == null || absolutePath.isEmpty()) {
+			throw new IllegalArgumentException(NULL_OR_EMPTY_ABSOLUTE_PATH);
+		}
+
 		if (avuData == null || avuData.isEmpty()) {
 			throw new IllegalArgumentException("null or empty avuData");
 		}
 
-		List<BulkAVUOperationResponse> responses = new ArrayList<BulkAVUOperationResponse>();
+		return processBulkAVUMetadata(absolutePath, avuData, false);
+	}
 
-		for (AvuData value : avuData) {
-			try {
-				deleteAVUMetadata(absolutePath, value);
-			} catch (DataNotFoundException dnf) {
-				log.error(
-						"dataNotFoundException when deleti an AVU, catch and add to response data",
-						dnf);
+	/**
+	 * Add or delete a set of AVUs on a data object, resolving the data object
+	 * once and sending the AVU requests as one pipelined batch
+	 *
+	 * @param absolutePath
+	 *            <code>String</code> with the absolute path to the data object
+	 * @param avuData
+	 *            <code>List</code> of {@link AvuData} to add or delete
+	 * @param add
+	 *            <code>boolean</code> that is <code>true</code> to add the
+	 *            AVUs, <code>false</code> to delete them
+	 * @return <code>List</code> of {@link BulkAVUOperationResponse}
+	 * @throws JargonException
+	 */
+	private List<BulkAVUOperationResponse> processBulkAVUMetadata(
+			final String absolutePath, final List<AvuData> avuData,
+			final boolean add) throws JargonException {
+
+		MiscIRODSUtils.checkPathSizeForMax(absolutePath);
+
+		ObjStat objStat;
+		try {
+			objStat = this.retrieveObjStat(absolutePath);
+		} catch (FileNotFoundException fnf) {
+			log.error(
+					"FileNotFoundException for bulk AVU operation, catch and add to response data",
+					fnf);
+			List<BulkAVUOperationResponse> responses = new ArrayList<BulkAVUOperationResponse>();
+			for (AvuData value : avuData) {
 				responses.add(BulkAVUOperationResponse.instance(
 						ResultStatus.MISSING_METADATA_TARGET, value,
-						dnf.getMessage()));
-				continue;
-
+						fnf.getMessage()));
 			}
+			return responses;
+		}
 
-			log.info("treat as success...", value);
-			responses.add(BulkAVUOperationResponse.instance(ResultStatus.OK,
-					value, ""));
+		if (objStat.getSpecColType() == SpecColType.MOUNTED_COLL) {
+			log.info(
+					"objStat indicates collection type that does not support this operation:{}",
+					objStat);
+			throw new OperationNotSupportedForCollectionTypeException(
+					"The special collection type does not support this operation");
+		}
+
+		String absPath = resolveAbsolutePathGivenObjStat(objStat);
+
+		List<ModAvuMetadataInp> requests = new ArrayList<ModAvuMetadataInp>(
+				avuData.size());
+		for (AvuData value : avuData) {
+			if (add) {
+				requests.add(ModAvuMetadataInp
+						.instanceForAddDataObjectMetadata(absPath, value));
+			} else {
+				requests.add(ModAvuMetadataInp
+						.instanceForDeleteDataObjectMetadata(absPath, value));
+			}
 		}
 
+		log.debug("sending {} avu requests as a batch", requests.size());
+		List<PipelinedResponse> pipelinedResponses = getIRODSAccessObjectFactory()
+				.getBatchAO(getIRODSAccount()).executeBatch(requests);
+
 		log.info("...complete");
-		return responses;
+		return BulkAVUOperationResponse.instancesForPipelinedResponses(
+				pipelinedResponses, avuData);
 	}
 
 	/*
@@ -2554,6 +2950,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements
 			log.error("error replicating irods file", je);
 			throw je;
 		}
+		invalidateCachedObjStats(irodsFileAbsolutePath);
 		log.info("replication complete");
 	}
 
@@ -2729,6 +3126,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements
 			log.error("error copying irods file", je);
 			throw je;
 		}
+		invalidateCachedObjStats(myTargetFile.getAbsolutePath());
 		log.info("copy complete");
 
 	}
@@ -2770,6 +3168,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements
 			log.error("error replicating irods file to resource group", je);
 			throw je;
 		}
+		invalidateCachedObjStats(irodsFileAbsolutePath);
 		log.info("replication complete");
 	}
 
@@ -3056,6 +3455,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements
 		DataObjInp dataObjInp = DataObjInp
 				.instanceForDataObjectChecksum(irodsFile.getAbsolutePath());
 		Tag response = getIRODSProtocol().irodsFunction(dataObjInp);
+		invalidateCachedObjStats(irodsFile.getAbsolutePath());
 
 		if (response == null) {
 			log.error("invalid response to checksum call, response was null, expected checksum value");
@@ -3138,6 +3538,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements
 		DataObjInp dataObjInp = DataObjInp
 				.instanceForDataObjectChecksum(irodsFile.getAbsolutePath());
 		Tag response = getIRODSProtocol().irodsFunction(dataObjInp);
+		invalidateCachedObjStats(irodsFile.getAbsolutePath());
 
 		if (response == null) {
 			log.error("invalid response to checksum call, response was null, expected checksum value");
@@ -3198,6 +3599,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements
 				.instanceForSetPermission(false, zone, absPath, userName,
 						ModAccessControlInp.READ_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		invalidateCachedObjStats(modAccessControlInp.getAbsolutePath());
 	}
 
 	/*
@@ -3246,6 +3648,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements
 				.instanceForSetPermissionInAdminMode(false, zone, absPath,
 						userName, ModAccessControlInp.READ_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		invalidateCachedObjStats(modAccessControlInp.getAbsolutePath());
 	}
 
 	/*
@@ -3290,6 +3693,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements
 				.instanceForSetPermission(false, zone, absPath, userName,
 						ModAccessControlInp.WRITE_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		invalidateCachedObjStats(modAccessControlInp.getAbsolutePath());
 	}
 
 	/*
@@ -3381,6 +3785,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements
 				.instanceForSetPermissionInAdminMode(false, zone, absPath,
 						userName, ModAccessControlInp.WRITE_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		invalidateCachedObjStats(modAccessControlInp.getAbsolutePath());
 	}
 
 	/*
@@ -3424,6 +3829,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements
 				.instanceForSetPermission(false, zone, absPath, userName,
 						ModAccessControlInp.OWN_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		invalidateCachedObjStats(modAccessControlInp.getAbsolutePath());
 	}
 
 	/*
@@ -3471,6 +3877,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements
 				.instanceForSetPermissionInAdminMode(false, zone, absPath,
 						userName, ModAccessControlInp.OWN_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		invalidateCachedObjStats(modAccessControlInp.getAbsolutePath());
 	}
 
 	/*
@@ -3517,6 +3924,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements
 				.instanceForSetPermission(false, zone, absPath, userName,
 						ModAccessControlInp.NULL_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		invalidateCachedObjStats(modAccessControlInp.getAbsolutePath());
 	}
 
 	/*
@@ -3561,6 +3969,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements
 				.instanceForSetPermissionInAdminMode(false, zone, absPath,
 						userName, ModAccessControlInp.NULL_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		invalidateCachedObjStats(modAccessControlInp.getAbsolutePath());
 	}
 
 	/*
@@ -4554,6 +4963,8 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements
 					.executeRuleFromResource("/rules/trimDataObject.r",
 							irodsRuleParameters, RuleProcessingType.EXTERNAL);
 			log.info("result of action:{}", result.getRuleExecOut().trim());
+			invalidateCachedObjStats(irodsCollectionAbsolutePath + "/"
+					+ fileName);
 		} catch (ResourceDoesNotExistException e) {
 			log.error(
 					"resource does not exist, rethrow as datanotfound for method contract post 4.1",
@@ -144,6 +144,8 @@ public final class DataTransferOperationsImpl extends IRODSGenericAO implements
 			log.error("jargon exception in move operation", je);
 			throw je;
 		}
+		invalidateCachedObjStats(irodsSourceFile.getAbsolutePath());
+		invalidateCachedObjStats(actualTargetFile.getAbsolutePath());
 	}
 
 	/*
@@ -832,6 +834,7 @@ public final class DataTransferOperationsImpl extends IRODSGenericAO implements
 					transferStatusCallbackListener,
 					operativeTransferControlBlock, new JargonException(e));
 		} finally {
+			invalidateCachedObjStats(targetIrodsFile.getAbsolutePath());
 			if (reroutedAccount != null) {
 				log.info("closing re-routed account");
 				getIRODSAccessObjectFactory().closeSessionAndEatExceptions(
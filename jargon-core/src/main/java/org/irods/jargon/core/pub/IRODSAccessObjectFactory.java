@@ -279,6 +279,17 @@ public interface IRODSAccessObjectFactory {
 	BulkFileOperationsAO getBulkFileOperationsAO(IRODSAccount irodsAccount)
 			throws JargonException;
 
+	/**
+	 * Returns a <code>BatchAO</code> that can send batches of independent
+	 * requests to iRODS on one connection without a round trip per request.
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} that describes the connection to iRODS.
+	 * @return {@link BatchAO}
+	 * @throws JargonException
+	 */
+	BatchAO getBatchAO(IRODSAccount irodsAccount) throws JargonException;
+
 	/**
 	 * Get the access object that can manage quota information and settings.
 	 *
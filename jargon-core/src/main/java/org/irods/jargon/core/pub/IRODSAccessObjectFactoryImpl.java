@@ -445,6 +445,18 @@ public final class IRODSAccessObjectFactoryImpl implements IRODSAccessObjectFact
 		return new BulkFileOperationsAOImpl(irodsSession, irodsAccount);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.core.pub.IRODSAccessObjectFactory#getBatchAO
+	 * (org.irods.jargon.core.connection.IRODSAccount)
+	 */
+	@Override
+	public BatchAO getBatchAO(final IRODSAccount irodsAccount) throws JargonException {
+		checkIrodsSessionSet();
+		return new BatchAOImpl(irodsSession, irodsAccount);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
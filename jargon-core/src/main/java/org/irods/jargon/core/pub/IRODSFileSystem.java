@@ -7,6 +7,7 @@ import java.util.Map;
 
 import org.irods.jargon.core.connection.AbstractIRODSMidLevelProtocol;
 import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.IRODSPooledProtocolManager;
 import org.irods.jargon.core.connection.IRODSProtocolManager;
 import org.irods.jargon.core.connection.IRODSSession;
 import org.irods.jargon.core.connection.IRODSSimpleProtocolManager;
@@ -21,9 +22,12 @@ import org.slf4j.LoggerFactory;
  * This class is a simplified way of obtaining a connection and getting
  * references to the key factory classes. This class encapsulates a default
  * <code>IRODSProtocolManager</code> responsible for creating connections. This
- * default manager will create a new connection for each requested connection.
- * For other behaviors, such as pooling or cacheing of connections, use other
- * implementations of <code>IRODSProtocolManager</code> directly.
+ * default manager will create a new connection for each requested connection,
+ * unless <code>connection.pool.use</code> is set in the
+ * <code>JargonProperties</code>, in which case connections are shared between
+ * threads from a bounded pool per account. For other behaviors, such as
+ * cacheing of connections, use other implementations of
+ * <code>IRODSProtocolManager</code> directly.
  * <p/>
  * Typical usage would be to create an instance of this object, then use the
  * <code>IRODSFileSystem</code> class to obtain a reference of an
@@ -83,9 +87,24 @@ public final class IRODSFileSystem {
 		return new IRODSFileSystem();
 	}
 
+	/**
+	 * Create a default IRODSFileSystem. If the <code>JargonProperties</code>
+	 * indicate that the connection pool is used, an
+	 * {@link IRODSPooledProtocolManager} will share connections between
+	 * threads, otherwise a new connection is created for each requested
+	 * connection.
+	 *
+	 * @throws JargonException
+	 */
 	public IRODSFileSystem() throws JargonException {
-		irodsProtocolManager = IRODSSimpleProtocolManager.instance();
-		irodsSession = IRODSSession.instance(irodsProtocolManager);
+		irodsSession = new IRODSSession();
+		if (irodsSession.getJargonProperties().isUseConnectionPool()) {
+			log.info("using pooled protocol manager");
+			irodsProtocolManager = IRODSPooledProtocolManager.instance();
+		} else {
+			irodsProtocolManager = IRODSSimpleProtocolManager.instance();
+		}
+		irodsSession.setIrodsProtocolManager(irodsProtocolManager);
 		log.info("IRODSfileSystem is initialized");
 	}
 
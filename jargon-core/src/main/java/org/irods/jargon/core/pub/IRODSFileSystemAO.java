@@ -79,6 +79,25 @@ public interface IRODSFileSystemAO extends IRODSAccessObject {
 	List<String> getListInDir(IRODSFile irodsFile)
 			throws FileNotFoundException, JargonException;
 
+	/**
+	 * Get an <code>ObjStat</code> for each collection and data object in the
+	 * collection, built from the size, type, modify time and checksum returned
+	 * by the listing queries, so the entries can be examined without an object
+	 * stat call for each. All pages of the listing are read. A data object with
+	 * several replicas is given once, described by its most recently modified
+	 * replica.
+	 *
+	 * @param irodsFile
+	 *            <code>IRODSFile</code> that is the parent collection
+	 * @return <code>List</code> of {@link ObjStat}, collections first, then
+	 *         data objects, each with its absolute path
+	 * @throws FileNotFoundException
+	 *             Thrown if the file does not exist in iRODS
+	 * @throws JargonException
+	 */
+	List<ObjStat> getListInDirWithObjStats(IRODSFile irodsFile)
+			throws FileNotFoundException, JargonException;
+
 	/**
 	 * Apply a filter implementation that will select result files.
 	 *
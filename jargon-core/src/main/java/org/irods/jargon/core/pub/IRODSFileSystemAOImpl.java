@@ -8,7 +8,9 @@ import java.io.FileFilter;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.connection.IRODSSession;
@@ -28,6 +30,7 @@ import org.irods.jargon.core.packinstr.OpenedDataObjInp;
 import org.irods.jargon.core.packinstr.Tag;
 import org.irods.jargon.core.protovalues.FilePermissionEnum;
 import org.irods.jargon.core.pub.domain.ObjStat;
+import org.irods.jargon.core.pub.domain.ObjStat.SpecColType;
 import org.irods.jargon.core.pub.domain.Resource;
 import org.irods.jargon.core.pub.io.IRODSFile;
 import org.irods.jargon.core.pub.io.IRODSFileSystemAOHelper;
@@ -42,6 +45,7 @@ import org.irods.jargon.core.query.JargonQueryException;
 import org.irods.jargon.core.query.QueryConditionOperators;
 import org.irods.jargon.core.query.RodsGenQueryEnum;
 import org.irods.jargon.core.utils.IRODSConstants;
+import org.irods.jargon.core.utils.IRODSDataConversionUtil;
 import org.irods.jargon.core.utils.MiscIRODSUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -487,6 +491,166 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 		return subdirs;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.irods.jargon.core.pub.IRODSFileSystemAO#getListInDirWithObjStats(org
+	 * .irods.jargon.core.pub.io.IRODSFile)
+	 */
+	@Override
+	public List<ObjStat> getListInDirWithObjStats(final IRODSFile irodsFile)
+			throws FileNotFoundException, JargonException {
+
+		log.info("getListInDirWithObjStats()");
+		if (irodsFile == null) {
+			throw new JargonException("irods file is null");
+		}
+
+		String path = irodsFile.getAbsolutePath();
+		ObjStat parentObjStat = getObjStat(path);
+		List<ObjStat> objStats = new ArrayList<>();
+
+		if (!parentObjStat.isSomeTypeOfCollection()) {
+			log.info("not a collection, nothing listed:{}", path);
+			return objStats;
+		}
+
+		if (parentObjStat.getSpecColType() != SpecColType.NORMAL) {
+			/*
+			 * Special collections are not listed by the catalog queries, so
+			 * stat each entry of the usual listing
+			 */
+			log.info("special collection, stat each entry:{}", path);
+			for (String name : getListInDir(irodsFile)) {
+				objStats.add(getObjStat(path + "/" + name));
+			}
+			return objStats;
+		}
+
+		IRODSQueryResultSet resultSet = null;
+
+		try {
+			IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true, null);
+			IRODSFileSystemAOHelper.buildQueryListAllCollections(path, builder);
+			IRODSGenQueryFromBuilder irodsQuery = builder
+					.exportIRODSQueryFromBuilder(getJargonProperties().getMaxFilesAndDirsQueryMax());
+			resultSet = irodsGenQueryExecutor.executeIRODSQuery(irodsQuery, 0);
+			while (true) {
+				for (IRODSQueryResultRow row : resultSet.getResults()) {
+					objStats.add(buildObjStatFromCollectionRow(row));
+				}
+				if (!resultSet.isHasMoreRecords()) {
+					break;
+				}
+				log.debug("more collections to get for listing, requerying");
+				resultSet = irodsGenQueryExecutor.getMoreResults(resultSet);
+			}
+		} catch (JargonQueryException e) {
+			log.error("query exception for  query", e);
+			throw new JargonException("error in listing query", e);
+		} catch (GenQueryBuilderException e) {
+			log.error("query exception for  query", e);
+			throw new JargonException("error in listing query", e);
+		} finally {
+			if (resultSet != null) {
+				irodsGenQueryExecutor.closeResults(resultSet);
+			}
+		}
+
+		resultSet = null;
+
+		/*
+		 * a row comes back for each replica, keep the most recently modified
+		 */
+		Map<String, ObjStat> dataObjectObjStats = new LinkedHashMap<>();
+
+		try {
+			IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true, null);
+			IRODSFileSystemAOHelper.buildQueryListAllDataObjectsWithObjStatInfo(path, builder);
+			IRODSGenQueryFromBuilder irodsQuery = builder
+					.exportIRODSQueryFromBuilder(getJargonProperties().getMaxFilesAndDirsQueryMax());
+			resultSet = irodsGenQueryExecutor.executeIRODSQuery(irodsQuery, 0);
+			while (true) {
+				for (IRODSQueryResultRow row : resultSet.getResults()) {
+					ObjStat objStat = buildObjStatFromDataObjectRow(row);
+					ObjStat previous = dataObjectObjStats.get(objStat.getAbsolutePath());
+					if (previous == null || previous.getModifiedAt().before(objStat.getModifiedAt())) {
+						dataObjectObjStats.put(objStat.getAbsolutePath(), objStat);
+					}
+				}
+				if (!resultSet.isHasMoreRecords()) {
+					break;
+				}
+				log.debug("more data objects to get for listing, requerying");
+				resultSet = irodsGenQueryExecutor.getMoreResults(resultSet);
+			}
+		} catch (JargonQueryException e) {
+			log.error("query exception for  query", e);
+			throw new JargonException("error in listing query", e);
+		} catch (GenQueryBuilderException e) {
+			log.error("query exception for  query", e);
+			throw new JargonException("error in listing query", e);
+		} finally {
+			if (resultSet != null) {
+				irodsGenQueryExecutor.closeResults(resultSet);
+			}
+		}
+
+		objStats.addAll(dataObjectObjStats.values());
+		return objStats;
+	}
+
+	/**
+	 * Build an <code>ObjStat</code> from a row of the collection listing query
+	 * 
+	 * @param row
+	 *            {@link IRODSQueryResultRow} with the selects of
+	 *            {@link IRODSFileSystemAOHelper#buildQueryListAllCollections}
+	 * @return {@link ObjStat}
+	 * @throws JargonException
+	 */
+	private ObjStat buildObjStatFromCollectionRow(final IRODSQueryResultRow row) throws JargonException {
+		ObjStat objStat = new ObjStat();
+		objStat.setAbsolutePath(row.getColumn(1));
+		objStat.setCollectionPath(row.getColumn(1));
+		objStat.setObjectPath(row.getColumn(1));
+		objStat.setObjectType(ObjectType.COLLECTION);
+		objStat.setCreatedAt(IRODSDataConversionUtil.getDateFromIRODSValue(row.getColumn(2)));
+		objStat.setModifiedAt(IRODSDataConversionUtil.getDateFromIRODSValue(row.getColumn(3)));
+		objStat.setDataId(IRODSDataConversionUtil.getIntOrZeroFromIRODSValue(row.getColumn(4)));
+		objStat.setOwnerName(row.getColumn(5));
+		objStat.setOwnerZone(row.getColumn(6));
+		objStat.setSpecColType(IRODSDataConversionUtil.getCollectionTypeFromIRODSValue(row.getColumn(7)));
+		return objStat;
+	}
+
+	/**
+	 * Build an <code>ObjStat</code> from a row of the data object listing query
+	 * 
+	 * @param row
+	 *            {@link IRODSQueryResultRow} with the selects of
+	 *            {@link IRODSFileSystemAOHelper#buildQueryListAllDataObjectsWithObjStatInfo}
+	 * @return {@link ObjStat}
+	 * @throws JargonException
+	 */
+	private ObjStat buildObjStatFromDataObjectRow(final IRODSQueryResultRow row) throws JargonException {
+		ObjStat objStat = new ObjStat();
+		objStat.setAbsolutePath(row.getColumn(0) + "/" + row.getColumn(1));
+		objStat.setCollectionPath(row.getColumn(0));
+		objStat.setObjectPath(objStat.getAbsolutePath());
+		objStat.setObjectType(ObjectType.DATA_OBJECT);
+		objStat.setCreatedAt(IRODSDataConversionUtil.getDateFromIRODSValue(row.getColumn(2)));
+		objStat.setModifiedAt(IRODSDataConversionUtil.getDateFromIRODSValue(row.getColumn(3)));
+		objStat.setDataId(IRODSDataConversionUtil.getIntOrZeroFromIRODSValue(row.getColumn(4)));
+		objStat.setObjSize(IRODSDataConversionUtil.getLongOrZeroFromIRODSValue(row.getColumn(5)));
+		objStat.setReplNumber(IRODSDataConversionUtil.getIntOrZeroFromIRODSValue(row.getColumn(6)));
+		objStat.setOwnerName(row.getColumn(7));
+		objStat.setOwnerZone(row.getColumn(8));
+		objStat.setChecksum(row.getColumn(9));
+		return objStat;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -847,8 +1011,7 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 			log.info("opening file:" + absPath);
 		}
 
-		Tag response = getIRODSProtocol().irodsFunction(IRODSConstants.RODS_API_REQ, dataObjInp.getParsedTags(),
-				DataObjInp.OPEN_FILE_API_NBR);
+		Tag response = getIRODSProtocol().irodsFunction(dataObjInp);
 
 		if (response == null) {
 			String msg = "null response from IRODS call";
@@ -912,8 +1075,8 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 			dataObjInp.setOperationType(DataObjInp.PUT_OPERATION_TYPE);
 		}
 
-		Tag response = getIRODSProtocol().irodsFunction(IRODSConstants.RODS_API_REQ, dataObjInp.getParsedTags(),
-				DataObjInp.CREATE_FILE_API_NBR);
+		Tag response = getIRODSProtocol().irodsFunction(dataObjInp);
+		invalidateCachedObjStats(absolutePath);
 		if (response == null) {
 			String msg = "null response from IRODS call";
 			log.error(msg);
@@ -948,8 +1111,7 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 		CollInp collInp = CollInp.instance(irodsFile.getAbsolutePath(), recursiveOpr);
 
 		try {
-			Tag response = getIRODSProtocol().irodsFunction(IRODSConstants.RODS_API_REQ, collInp.getParsedTags(),
-					CollInp.MKDIR_API_NBR);
+			Tag response = getIRODSProtocol().irodsFunction(collInp);
 
 			if (response != null) {
 				log.warn("expected null response to mkdir, logged but not an error, received:{}", response.parseTag());
@@ -958,6 +1120,8 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 			log.info("directory already exists in mkdir, log and ignore");
 		}
 
+		invalidateCachedObjStats(irodsFile.getAbsolutePath());
+
 		log.debug("mkdir succesful");
 	}
 
@@ -983,8 +1147,7 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 			openedDataObjInp = OpenedDataObjInp.instanceForFileClose(fileDescriptor);
 		}
 
-		Tag response = getIRODSProtocol().irodsFunction(IRODSConstants.RODS_API_REQ, openedDataObjInp.getParsedTags(),
-				openedDataObjInp.getApiNumber());
+		Tag response = getIRODSProtocol().irodsFunction(openedDataObjInp);
 
 		if (response != null) {
 			log.warn("expected null response to close, logged but not an error, received:{}", response.parseTag());
@@ -1017,8 +1180,8 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 		}
 
 		DataObjInp dataObjInp = DataObjInp.instanceForDeleteWithForce(irodsFile.getAbsolutePath());
-		Tag response = getIRODSProtocol().irodsFunction(IRODSConstants.RODS_API_REQ, dataObjInp.getParsedTags(),
-				DataObjInp.DELETE_FILE_API_NBR);
+		Tag response = getIRODSProtocol().irodsFunction(dataObjInp);
+		invalidateCachedObjStats(irodsFile.getAbsolutePath());
 
 		if (response != null) {
 			String msg = "unexpected response from irods, expected null message - logged and ignored ";
@@ -1062,6 +1225,8 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 					"duplicate data exception logged and ignored, see GForge: [#639] 809000 errors on delete operations when trash file already exists");
 		}
 
+		invalidateCachedObjStats(irodsFile.getAbsolutePath());
+
 	}
 
 	/*
@@ -1091,8 +1256,8 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 		CollInp collInp = CollInp.instance(irodsFile.getAbsolutePath(), CollInp.RECURSIVE_OPERATION,
 				CollInp.FORCE_OPERATION);
 
-		Tag response = getIRODSProtocol().irodsFunction(IRODSConstants.RODS_API_REQ, collInp.getParsedTags(),
-				CollInp.RMDIR_API_NBR);
+		Tag response = getIRODSProtocol().irodsFunction(collInp);
+		invalidateCachedObjStats(irodsFile.getAbsolutePath());
 
 		processClientStatusMessages(response);
 
@@ -1123,10 +1288,10 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 			throw new JargonException(msg);
 		}
 
-		CollInp collInp = CollInp.instance(irodsFile.getAbsolutePath(), CollInp.RECURSIVE_OPERATION);
+		CollInp collInp = CollInp.instanceForRecursiveDeleteCollectionNoForce(irodsFile.getAbsolutePath());
 
-		Tag response = getIRODSProtocol().irodsFunction(IRODSConstants.RODS_API_REQ, collInp.getParsedTags(),
-				CollInp.RMDIR_API_NBR);
+		Tag response = getIRODSProtocol().irodsFunction(collInp);
+		invalidateCachedObjStats(irodsFile.getAbsolutePath());
 
 		processClientStatusMessages(response);
 
@@ -1179,8 +1344,9 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 
 		DataObjCopyInp dataObjCopyInp = DataObjCopyInp.instanceForRenameCollection(fromFile.getAbsolutePath(),
 				toFile.getAbsolutePath());
-		Tag response = getIRODSProtocol().irodsFunction(IRODSConstants.RODS_API_REQ, dataObjCopyInp.getParsedTags(),
-				DataObjCopyInp.RENAME_FILE_API_NBR);
+		Tag response = getIRODSProtocol().irodsFunction(dataObjCopyInp);
+		invalidateCachedObjStats(fromFile.getAbsolutePath());
+		invalidateCachedObjStats(toFile.getAbsolutePath());
 
 		if (response != null) {
 			log.warn("unexpected response from irods, expected null message - logged and ignored ");
@@ -1209,8 +1375,9 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 
 		DataObjCopyInp dataObjCopyInp = DataObjCopyInp.instanceForRenameFile(fromFile.getAbsolutePath(),
 				toFile.getAbsolutePath());
-		Tag response = getIRODSProtocol().irodsFunction(IRODSConstants.RODS_API_REQ, dataObjCopyInp.getParsedTags(),
-				DataObjCopyInp.RENAME_FILE_API_NBR);
+		Tag response = getIRODSProtocol().irodsFunction(dataObjCopyInp);
+		invalidateCachedObjStats(fromFile.getAbsolutePath());
+		invalidateCachedObjStats(toFile.getAbsolutePath());
 
 		if (response != null) {
 			log.warn("unexpected response from irods, expected null message - logged and ignored ");
@@ -1324,6 +1491,7 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 
 		Tag response = getIRODSProtocol().irodsFunction(IRODSConstants.RODS_API_REQ, dataObjCopyInp.getParsedTags(),
 				apiNbr);
+		invalidateCachedObjStats(absolutePathToSourceFile);
 
 		if (response != null) {
 			log.warn("unexpected response from irods, expected null message - logged and ignored ");
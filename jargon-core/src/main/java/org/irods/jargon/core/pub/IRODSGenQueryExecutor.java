@@ -5,6 +5,8 @@ package org.irods.jargon.core.pub;
 
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.query.AbstractIRODSGenQuery;
+import org.irods.jargon.core.query.GenQueryResultIterator;
+import org.irods.jargon.core.query.IRODSColumnarQueryResultSet;
 import org.irods.jargon.core.query.IRODSQueryResultSet;
 import org.irods.jargon.core.query.JargonQueryException;
 
@@ -212,4 +214,73 @@ public interface IRODSGenQueryExecutor extends IRODSAccessObject {
 	IRODSQueryResultSet getMoreResults(IRODSQueryResultSet irodsQueryResultSet)
 			throws JargonException, JargonQueryException;
 
+	/**
+	 * Execute an iquest-like query and return an iterator over its rows that
+	 * gets each page of results from iRODS as it is needed, so that only a
+	 * page or two of results are held in memory however many rows match. When
+	 * <code>query.iterator.prefetch</code> is set in the jargon properties, the
+	 * next page is fetched on a background thread while the current one is
+	 * read.
+	 * <p/>
+	 * The query is closed in iRODS once its last row has been read. The
+	 * iterator must be closed when stopping before then, and is best used in a
+	 * <code>try</code>-with-resources block. Its <code>stream()</code> method
+	 * gives the rows as a <code>Stream</code>.
+	 *
+	 * @param irodsQuery
+	 *            {@link org.irods.jargon.core.query.AbstractIRODSGenQuery} that
+	 *            will wrap the given query
+	 * @return {@link GenQueryResultIterator} over the rows of the query
+	 * @throws JargonException
+	 * @throws JargonQueryException
+	 */
+	GenQueryResultIterator iterateIRODSQuery(AbstractIRODSGenQuery irodsQuery)
+			throws JargonException, JargonQueryException;
+
+	/**
+	 * Execute an iquest-like query and return an iterator over its rows that
+	 * gets each page of results from iRODS as it is needed. See
+	 * {@link #iterateIRODSQuery(AbstractIRODSGenQuery)}.
+	 * <p/>
+	 * This method allows optional specification of a target zone for the query.
+	 *
+	 * @param irodsQuery
+	 *            {@link org.irods.jargon.core.query.AbstractIRODSGenQuery} that
+	 *            will wrap the given query
+	 * @param zoneName
+	 *            <code>String</code> (<code>null</code> or blank if not used)
+	 *            that indicates an optional zone for the query
+	 * @return {@link GenQueryResultIterator} over the rows of the query
+	 * @throws JargonException
+	 * @throws JargonQueryException
+	 */
+	GenQueryResultIterator iterateIRODSQueryInZone(
+			AbstractIRODSGenQuery irodsQuery, String zoneName)
+			throws JargonException, JargonQueryException;
+
+	/**
+	 * Execute an iquest-like query and return results held column by column,
+	 * with numbers stored as <code>long</code> values and repeated strings
+	 * stored once, which takes much less memory than rows for large pages.
+	 * This method allows partial starts to do paging of large query results,
+	 * and will send a close to iRODS if more results are available.
+	 *
+	 * @param irodsQuery
+	 *            {@link org.irods.jargon.core.query.AbstractIRODSGenQuery} that
+	 *            will wrap the given query
+	 * @param partialStartIndex
+	 *            <code>int</code> that indicates an offset within the results
+	 *            from which to build the returned result set.
+	 * @param zoneName
+	 *            <code>String</code> (<code>null</code> or blank if not used)
+	 *            that indicates an optional zone for the query
+	 * @return {@link IRODSColumnarQueryResultSet} that contains the results of
+	 *         the query
+	 * @throws JargonException
+	 * @throws JargonQueryException
+	 */
+	IRODSColumnarQueryResultSet executeColumnarIRODSQueryAndCloseResultInZone(
+			AbstractIRODSGenQuery irodsQuery, int partialStartIndex,
+			String zoneName) throws JargonException, JargonQueryException;
+
 }
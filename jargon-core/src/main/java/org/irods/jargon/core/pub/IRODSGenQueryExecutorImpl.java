@@ -1,10 +1,14 @@
 package org.irods.jargon.core.pub;
 
+import java.util.concurrent.ExecutorService;
+
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.connection.IRODSSession;
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.query.AbstractIRODSGenQuery;
 import org.irods.jargon.core.query.GenQueryProcessor;
+import org.irods.jargon.core.query.GenQueryResultIterator;
+import org.irods.jargon.core.query.IRODSColumnarQueryResultSet;
 import org.irods.jargon.core.query.IRODSQueryResultSet;
 import org.irods.jargon.core.query.JargonQueryException;
 import org.irods.jargon.core.query.TranslatedIRODSGenQuery;
@@ -286,4 +290,112 @@ IRODSGenQueryExecutor {
 		genQueryProcessor.closeResults(irodsQueryResultSet);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.pub.IRODSGenQueryExecutor#
+	 * executeColumnarIRODSQueryAndCloseResultInZone
+	 * (org.irods.jargon.core.query.AbstractIRODSGenQuery, int,
+	 * java.lang.String)
+	 */
+	@Override
+	public IRODSColumnarQueryResultSet executeColumnarIRODSQueryAndCloseResultInZone(
+			final AbstractIRODSGenQuery irodsQuery,
+			final int partialStartIndex, final String zoneName)
+			throws JargonException, JargonQueryException {
+
+		log.info("executeColumnarIRODSQueryAndCloseResultInZone()");
+
+		if (irodsQuery == null) {
+			throw new IllegalArgumentException("null irodsQuery");
+		}
+
+		if (partialStartIndex < 0) {
+			throw new IllegalArgumentException("partialStartIndex is < 0");
+		}
+
+		log.info("query: {}", irodsQuery);
+		GenQueryProcessor genQueryProcessor = new GenQueryProcessor(
+				getIRODSProtocol());
+		TranslatedIRODSGenQuery translatedIRODSQuery = genQueryProcessor
+				.translateProvidedQuery(irodsQuery);
+
+		return genQueryProcessor.executeTranslatedIRODSQueryColumnar(
+				translatedIRODSQuery, 0, partialStartIndex,
+				QueryCloseBehavior.AUTO_CLOSE, zoneName);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.irods.jargon.core.pub.IRODSGenQueryExecutor#iterateIRODSQuery(org
+	 * .irods.jargon.core.query.AbstractIRODSGenQuery)
+	 */
+	@Override
+	public GenQueryResultIterator iterateIRODSQuery(
+			final AbstractIRODSGenQuery irodsQuery) throws JargonException,
+			JargonQueryException {
+		log.info("iterateIRODSQuery()");
+		return iterateIRODSQueryInZone(irodsQuery, null);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.irods.jargon.core.pub.IRODSGenQueryExecutor#iterateIRODSQueryInZone
+	 * (org.irods.jargon.core.query.AbstractIRODSGenQuery, java.lang.String)
+	 */
+	@Override
+	public GenQueryResultIterator iterateIRODSQueryInZone(
+			final AbstractIRODSGenQuery irodsQuery, final String zoneName)
+			throws JargonException, JargonQueryException {
+
+		log.info("iterateIRODSQueryInZone()");
+
+		if (irodsQuery == null) {
+			throw new IllegalArgumentException("null irodsQuery");
+		}
+
+		log.info("query: {}", irodsQuery);
+
+		/*
+		 * the protocol is that of the calling thread, pages prefetched on
+		 * another thread are fetched on it too, as iRODS only knows the query on
+		 * this connection
+		 */
+		final GenQueryProcessor genQueryProcessor = new GenQueryProcessor(
+				getIRODSProtocol());
+		TranslatedIRODSGenQuery translatedIRODSQuery = genQueryProcessor
+				.translateProvidedQuery(irodsQuery);
+		IRODSQueryResultSet firstPage = genQueryProcessor
+				.executeTranslatedIRODSQuery(translatedIRODSQuery, 0, 0,
+						QueryCloseBehavior.MANUAL_CLOSE, zoneName);
+
+		ExecutorService prefetchExecutor = null;
+		if (getJargonProperties().isPrefetchingGenQueryPages()) {
+			prefetchExecutor = getIRODSSession().getQueryPrefetchExecutor();
+		}
+
+		return new GenQueryResultIterator(firstPage, prefetchExecutor) {
+
+			@Override
+			protected IRODSQueryResultSet fetchNextPage(
+					final IRODSQueryResultSet previousPage)
+					throws JargonException {
+				return genQueryProcessor.executeTranslatedIRODSQuery(
+						previousPage.getTranslatedIRODSQuery(),
+						previousPage.getContinuationIndex(), 0,
+						QueryCloseBehavior.MANUAL_CLOSE, zoneName);
+			}
+
+			@Override
+			protected void closeResults(final IRODSQueryResultSet lastPage)
+					throws JargonException {
+				genQueryProcessor.closeResults(lastPage);
+			}
+		};
+	}
+
 }
@@ -8,6 +8,7 @@ import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.connection.IRODSServerProperties;
 import org.irods.jargon.core.connection.IRODSSession;
 import org.irods.jargon.core.connection.JargonProperties;
+import org.irods.jargon.core.connection.ObjStatCache;
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.packinstr.OperationComplete;
 import org.irods.jargon.core.packinstr.Tag;
@@ -136,6 +137,20 @@ public abstract class IRODSGenericAO implements IRODSAccessObject {
 		return getIRODSSession().getJargonProperties();
 	}
 
+	/**
+	 * Drop any cached <code>ObjStat</code> for a path this access object has
+	 * changed in iRODS, along with those for anything under it and for its
+	 * parent. See {@link ObjStatCache}.
+	 *
+	 * @param irodsAbsolutePath
+	 *            <code>String</code> with the absolute path changed
+	 */
+	protected void invalidateCachedObjStats(final String irodsAbsolutePath) {
+		if (irodsAbsolutePath != null && !irodsAbsolutePath.isEmpty()) {
+			getIRODSSession().getObjStatCache().invalidate(irodsAbsolutePath);
+		}
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
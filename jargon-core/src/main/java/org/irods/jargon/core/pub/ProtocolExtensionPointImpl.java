@@ -5,7 +5,6 @@ import org.irods.jargon.core.connection.IRODSSession;
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.packinstr.IRodsPI;
 import org.irods.jargon.core.packinstr.Tag;
-import org.irods.jargon.core.utils.IRODSConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,8 +48,7 @@ ProtocolExtensionPoint {
 			throw new IllegalArgumentException(err);
 		}
 
-		return getIRODSProtocol().irodsFunction(IRODSConstants.RODS_API_REQ,
-				irodsPI.getParsedTags(), irodsPI.getApiNumber());
+		return getIRODSProtocol().irodsFunction(irodsPI);
 	}
 
 }
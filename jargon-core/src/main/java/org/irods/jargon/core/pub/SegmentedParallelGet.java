@@ -0,0 +1,388 @@
+package org.irods.jargon.core.pub;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.irods.jargon.core.checksum.TransferChecksumDigester;
+import org.irods.jargon.core.connection.ConnectionProgressStatus;
+import org.irods.jargon.core.connection.ConnectionProgressStatusListener;
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.JargonProperties;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.packinstr.DataObjInp.OpenFlags;
+import org.irods.jargon.core.packinstr.TransferOptions;
+import org.irods.jargon.core.pub.io.FileIOOperations.SeekWhenceType;
+import org.irods.jargon.core.pub.io.IRODSFile;
+import org.irods.jargon.core.pub.io.IRODSRandomAccessFile;
+import org.irods.jargon.core.transfer.TransferControlBlock;
+import org.irods.jargon.core.utils.ThreadLocalBufferCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Gets a large data object over several connections that each open the data
+ * object and read ranges of it with seek and read calls, writing each range to
+ * its place in the local file. Unlike the parallel transfer set up by the
+ * server in response to a get, the number of connections is chosen by the
+ * client, so a single large get can use more of a fast link when the server
+ * offers few or no parallel transfer threads.
+ * <p/>
+ * The data object is divided into segments of a size given by the jargon
+ * properties. Each connection claims the next unread segment when it finishes
+ * one, so faster connections read more of the data object. The connections
+ * come from the {@link org.irods.jargon.core.connection.IRODSSession} for each
+ * reading thread, so they are leased from the pool when connection pooling is
+ * in use, and are closed when the thread is done.
+ * <p/>
+ * Restart of a failed segmented get is not supported, and a get of a specific
+ * replica by resource is left to the normal get.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+final class SegmentedParallelGet {
+
+	private static final Logger log = LoggerFactory
+			.getLogger(SegmentedParallelGet.class);
+
+	private final IRODSAccessObjectFactory irodsAccessObjectFactory;
+	private final IRODSAccount irodsAccount;
+	private final String irodsAbsolutePath;
+	private final File localFile;
+	private final long length;
+	private final int threads;
+	private final long segmentSize;
+	private final int readSize;
+	private final TransferControlBlock transferControlBlock;
+	private final ConnectionProgressStatusListener connectionProgressStatusListener;
+	private final TransferChecksumDigester transferChecksumDigester;
+
+	/**
+	 * Offset of the next segment to be claimed by a reading thread
+	 */
+	private final AtomicLong nextSegmentOffset = new AtomicLong(0L);
+	private final AtomicReference<JargonException> firstFailure = new AtomicReference<JargonException>();
+
+	/**
+	 * Check whether a get of a data object should be done as a segmented get
+	 *
+	 * @param transferOptions
+	 *            {@link TransferOptions} for the get
+	 * @param jargonProperties
+	 *            {@link JargonProperties} with the segmented get sizes
+	 * @param irodsFile
+	 *            {@link IRODSFile} that is the data object to get
+	 * @param length
+	 *            <code>long</code> with the length of the data object
+	 * @return <code>boolean</code> that is <code>true</code> if the get
+	 *         should be segmented
+	 * @throws JargonException
+	 */
+	static boolean isSegmentedGet(final TransferOptions transferOptions,
+			final JargonProperties jargonProperties, final IRODSFile irodsFile,
+			final long length) throws JargonException {
+		return transferOptions.isUseParallelTransfer()
+				&& transferOptions.getSegmentedGetThreads() > 1
+				&& length > 0
+				&& length >= jargonProperties.getSegmentedGetMinLength()
+				&& irodsFile.getResource().isEmpty();
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param irodsAccessObjectFactory
+	 *            {@link IRODSAccessObjectFactory}
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} for the connections
+	 * @param irodsAbsolutePath
+	 *            <code>String</code> with the path of the data object
+	 * @param localFile
+	 *            <code>File</code> that will hold the data
+	 * @param length
+	 *            <code>long</code> with the length of the data object
+	 * @param threads
+	 *            <code>int</code> with the number of connections to read with
+	 * @param transferControlBlock
+	 *            {@link TransferControlBlock} that is checked for a cancel
+	 * @param connectionProgressStatusListener
+	 *            {@link ConnectionProgressStatusListener} for intra-file
+	 *            progress, or <code>null</code>
+	 * @param transferChecksumDigester
+	 *            {@link TransferChecksumDigester} given the data as it is
+	 *            written, or <code>null</code>
+	 */
+	SegmentedParallelGet(
+			final IRODSAccessObjectFactory irodsAccessObjectFactory,
+			final IRODSAccount irodsAccount,
+			final String irodsAbsolutePath,
+			final File localFile,
+			final long length,
+			final int threads,
+			final TransferControlBlock transferControlBlock,
+			final ConnectionProgressStatusListener connectionProgressStatusListener,
+			final TransferChecksumDigester transferChecksumDigester) {
+
+		if (irodsAccessObjectFactory == null) {
+			throw new IllegalArgumentException("null irodsAccessObjectFactory");
+		}
+
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		if (irodsAbsolutePath == null || irodsAbsolutePath.isEmpty()) {
+			throw new IllegalArgumentException("null or empty irodsAbsolutePath");
+		}
+
+		if (localFile == null) {
+			throw new IllegalArgumentException("null localFile");
+		}
+
+		if (threads < 1) {
+			throw new IllegalArgumentException("threads must be at least 1");
+		}
+
+		if (transferControlBlock == null) {
+			throw new IllegalArgumentException("null transferControlBlock");
+		}
+
+		JargonProperties jargonProperties = irodsAccessObjectFactory
+				.getIrodsSession().getJargonProperties();
+
+		this.irodsAccessObjectFactory = irodsAccessObjectFactory;
+		this.irodsAccount = irodsAccount;
+		this.irodsAbsolutePath = irodsAbsolutePath;
+		this.localFile = localFile;
+		this.length = length;
+		segmentSize = Math.max(1L,
+				jargonProperties.getSegmentedGetSegmentSize());
+		readSize = Math.max(1, jargonProperties.getGetBufferSize());
+		this.transferControlBlock = transferControlBlock;
+		this.connectionProgressStatusListener = connectionProgressStatusListener;
+		this.transferChecksumDigester = transferChecksumDigester;
+
+		long segments = (length + segmentSize - 1) / segmentSize;
+		this.threads = (int) Math.max(1L, Math.min(threads, segments));
+	}
+
+	/**
+	 * Read the data object into the local file, returning when all segments
+	 * are read, the transfer is cancelled, or a segment fails
+	 *
+	 * @throws JargonException
+	 *             with the first failure of any reading thread
+	 */
+	void transfer() throws JargonException {
+		log.info("segmented get of:{}", irodsAbsolutePath);
+		log.info("length:{}", length);
+		log.info("threads:{}", threads);
+
+		sizeLocalFile();
+
+		ExecutorService executor = irodsAccessObjectFactory.getIrodsSession()
+				.getParallelTransferThreadPool();
+		if (executor == null) {
+			ExecutorService executorService = null;
+			try {
+				log.info("no pool available, transfer using single executor");
+				executorService = Executors.newFixedThreadPool(threads);
+				transferWithExecutor(executorService);
+			} finally {
+				if (executorService != null) {
+					executorService.shutdown();
+				}
+			}
+		} else {
+			log.info("transfer via executor");
+			transferWithExecutor(executor);
+		}
+
+		JargonException je = firstFailure.get();
+		if (je != null) {
+			throw je;
+		}
+
+		log.info("segmented get complete");
+	}
+
+	/**
+	 * Set the local file to the length of the data object up front, so each
+	 * thread writes into its place and any longer old file is truncated
+	 */
+	private void sizeLocalFile() throws JargonException {
+		RandomAccessFile randomAccessFile = null;
+		try {
+			randomAccessFile = new RandomAccessFile(localFile, "rw");
+			randomAccessFile.setLength(length);
+		} catch (IOException e) {
+			log.error("unable to size local file:{}", localFile, e);
+			throw new JargonException("unable to size local file", e);
+		} finally {
+			closeLocalFile(randomAccessFile);
+		}
+	}
+
+	private void transferWithExecutor(final ExecutorService executor)
+			throws JargonException {
+		List<SegmentReader> segmentReaders = new ArrayList<SegmentReader>();
+		for (int i = 0; i < threads; i++) {
+			segmentReaders.add(new SegmentReader());
+		}
+
+		try {
+			List<Future<Void>> results = executor.invokeAll(segmentReaders);
+			for (Future<Void> result : results) {
+				try {
+					result.get();
+				} catch (ExecutionException e) {
+					recordFailure(new JargonException(e.getCause()));
+				}
+			}
+		} catch (InterruptedException e) {
+			log.info("cancellation detected, set cancelled in tcb");
+			transferControlBlock.setCancelled(true);
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private boolean isStopped() {
+		return firstFailure.get() != null
+				|| transferControlBlock.isCancelled();
+	}
+
+	private void recordFailure(final JargonException je) {
+		log.error("exception in segmented get, transfer will stop", je);
+		firstFailure.compareAndSet(null, je);
+	}
+
+	private void closeLocalFile(final RandomAccessFile randomAccessFile) {
+		if (randomAccessFile == null) {
+			return;
+		}
+
+		try {
+			randomAccessFile.close();
+		} catch (IOException e) {
+			log.warn("error closing local file, ignored", e);
+		}
+	}
+
+	/**
+	 * Opens the data object on the connection for its thread, and reads
+	 * segments until none are left
+	 */
+	private class SegmentReader implements Callable<Void> {
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see java.util.concurrent.Callable#call()
+		 */
+		@Override
+		public Void call() {
+			IRODSRandomAccessFile irodsRandomAccessFile = null;
+			RandomAccessFile localRandomAccessFile = null;
+			byte[] buffer = null;
+
+			try {
+				irodsRandomAccessFile = irodsAccessObjectFactory
+						.getIRODSFileFactory(irodsAccount)
+						.instanceIRODSRandomAccessFile(irodsAbsolutePath,
+								OpenFlags.READ);
+				localRandomAccessFile = new RandomAccessFile(localFile, "rw");
+				FileChannel localChannel = localRandomAccessFile.getChannel();
+				buffer = ThreadLocalBufferCache.borrow(readSize);
+
+				while (!isStopped()) {
+					long segmentOffset = nextSegmentOffset
+							.getAndAdd(segmentSize);
+					if (segmentOffset >= length) {
+						break;
+					}
+
+					readSegment(irodsRandomAccessFile, localChannel, buffer,
+							segmentOffset,
+							Math.min(length, segmentOffset + segmentSize));
+				}
+
+			} catch (JargonException je) {
+				recordFailure(je);
+			} catch (IOException e) {
+				recordFailure(new JargonException(
+						"io exception in segmented get", e));
+			} finally {
+				ThreadLocalBufferCache.release(buffer);
+				closeLocalFile(localRandomAccessFile);
+				if (irodsRandomAccessFile != null) {
+					try {
+						irodsRandomAccessFile.close();
+					} catch (IOException e) {
+						log.warn("error closing data object, ignored", e);
+					}
+				}
+				irodsAccessObjectFactory
+						.closeSessionAndEatExceptions(irodsAccount);
+			}
+
+			return null;
+		}
+
+		private void readSegment(
+				final IRODSRandomAccessFile irodsRandomAccessFile,
+				final FileChannel localChannel, final byte[] buffer,
+				final long segmentOffset, final long segmentEnd)
+				throws IOException, JargonException {
+
+			log.debug("reading segment at:{}", segmentOffset);
+			irodsRandomAccessFile.seek(segmentOffset,
+					SeekWhenceType.SEEK_START);
+
+			long position = segmentOffset;
+			while (position < segmentEnd) {
+				if (isStopped()) {
+					log.info("segmented get stopped");
+					return;
+				}
+
+				int read = irodsRandomAccessFile.read(buffer, 0,
+						(int) Math.min(readSize, segmentEnd - position));
+				if (read <= 0) {
+					throw new JargonException(
+							"unexpected end of data object in segmented get at:"
+									+ position);
+				}
+
+				ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, read);
+				long writePosition = position;
+				while (byteBuffer.hasRemaining()) {
+					writePosition += localChannel.write(byteBuffer,
+							writePosition);
+				}
+				if (transferChecksumDigester != null) {
+					transferChecksumDigester.update(position, buffer, 0, read);
+				}
+				position += read;
+
+				if (connectionProgressStatusListener != null) {
+					connectionProgressStatusListener
+							.connectionProgressStatusCallback(ConnectionProgressStatus
+									.instanceForReceive(read));
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,406 @@
+package org.irods.jargon.core.pub;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.JargonProperties;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.packinstr.TransferOptions;
+import org.irods.jargon.core.packinstr.TransferOptions.ForceOption;
+import org.irods.jargon.core.packinstr.TransferOptions.PutOptions;
+import org.irods.jargon.core.pub.io.IRODSFile;
+import org.irods.jargon.core.transfer.TransferControlBlock;
+import org.irods.jargon.core.transfer.TransferStatus;
+import org.irods.jargon.core.transfer.TransferStatus.TransferState;
+import org.irods.jargon.core.transfer.TransferStatus.TransferType;
+import org.irods.jargon.core.transfer.TransferStatusCallbackListener;
+import org.irods.jargon.core.transfer.TransferStatusCallbackListener.FileStatusCallbackResponse;
+import org.irods.jargon.core.utils.TarArchiveWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Puts the small files of a directory in a recursive put as a tar bundle. The
+ * files are written to a local tar, the tar is put to the target collection
+ * as a single data object, extracted there with the bulk extraction of the
+ * {@link BulkFileOperationsAO}, and then removed. This replaces an open,
+ * write and close round trip per file with one put and one extraction.
+ * <p/>
+ * Each bundled file still gets its start and complete callbacks and is
+ * counted in the {@link TransferControlBlock}, and the restart filter and a
+ * skip response from the listener are honored. If the bundle cannot be built,
+ * sent or extracted, for instance because the server does not support bulk
+ * extraction or a file exists and the force option is not in use, the files
+ * are put one at a time, which reports them again through the normal single
+ * file callbacks and overwrite handling.
+ * <p/>
+ * Instances hold only configuration and may be used by several threads.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+final class SmallFileBundler {
+
+	private static final Logger log = LoggerFactory
+			.getLogger(SmallFileBundler.class);
+
+	/**
+	 * Prefix of the name of the bundle data object placed in the target
+	 * collection while it is extracted
+	 */
+	static final String BUNDLE_NAME_PREFIX = ".jargon-bundle-";
+
+	private final TransferOperationsHelper transferOperationsHelper;
+	private final IRODSAccessObjectFactory irodsAccessObjectFactory;
+	private final IRODSAccount irodsAccount;
+	private final long maxFileSize;
+	private final long maxBundleSize;
+	private final int minFiles;
+
+	/**
+	 * Get a bundler for the given transfer, if bundling applies to it
+	 *
+	 * @param transferOperationsHelper
+	 *            {@link TransferOperationsHelper} used to put files that are
+	 *            not bundled
+	 * @param irodsAccessObjectFactory
+	 *            {@link IRODSAccessObjectFactory} for the session
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} for the transfer
+	 * @param transferControlBlock
+	 *            {@link TransferControlBlock} with the options for the
+	 *            transfer
+	 * @return {@link SmallFileBundler}, or <code>null</code> if the transfer
+	 *         options do not call for bundling, or ask for a checksum or a
+	 *         special put that a bundle cannot provide
+	 * @throws JargonException
+	 */
+	static SmallFileBundler instanceForTransfer(
+			final TransferOperationsHelper transferOperationsHelper,
+			final IRODSAccessObjectFactory irodsAccessObjectFactory,
+			final IRODSAccount irodsAccount,
+			final TransferControlBlock transferControlBlock)
+			throws JargonException {
+
+		if (transferControlBlock == null
+				|| transferControlBlock.getTransferOptions() == null) {
+			return null;
+		}
+
+		TransferOptions transferOptions = transferControlBlock
+				.getTransferOptions();
+		if (!transferOptions.isBundleSmallFilesOnPut()) {
+			return null;
+		}
+
+		if (transferOptions.isComputeChecksumAfterTransfer()
+				|| transferOptions.isComputeAndVerifyChecksumAfterTransfer()
+				|| transferOptions.getPutOption() != PutOptions.NORMAL) {
+			log.info("transfer options require individual puts, small files will not be bundled");
+			return null;
+		}
+
+		JargonProperties jargonProperties = irodsAccessObjectFactory
+				.getJargonProperties();
+		return new SmallFileBundler(transferOperationsHelper,
+				irodsAccessObjectFactory, irodsAccount,
+				jargonProperties.getBundleSmallFileMaxSize(),
+				jargonProperties.getBundleMaxSize(),
+				jargonProperties.getBundleMinFiles());
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param transferOperationsHelper
+	 *            {@link TransferOperationsHelper} used to put files that are
+	 *            not bundled
+	 * @param irodsAccessObjectFactory
+	 *            {@link IRODSAccessObjectFactory} for the session
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} for the transfer
+	 * @param maxFileSize
+	 *            <code>long</code> with the largest file that is bundled
+	 * @param maxBundleSize
+	 *            <code>long</code> with the file bytes after which a bundle is
+	 *            sent
+	 * @param minFiles
+	 *            <code>int</code> with the fewest files worth bundling
+	 */
+	SmallFileBundler(final TransferOperationsHelper transferOperationsHelper,
+			final IRODSAccessObjectFactory irodsAccessObjectFactory,
+			final IRODSAccount irodsAccount, final long maxFileSize,
+			final long maxBundleSize, final int minFiles) {
+
+		if (transferOperationsHelper == null) {
+			throw new IllegalArgumentException("null transferOperationsHelper");
+		}
+
+		if (irodsAccessObjectFactory == null) {
+			throw new IllegalArgumentException("null irodsAccessObjectFactory");
+		}
+
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		this.transferOperationsHelper = transferOperationsHelper;
+		this.irodsAccessObjectFactory = irodsAccessObjectFactory;
+		this.irodsAccount = irodsAccount;
+		this.maxFileSize = maxFileSize;
+		this.maxBundleSize = maxBundleSize;
+		this.minFiles = Math.max(1, minFiles);
+	}
+
+	/**
+	 * Check whether a local file may go in a bundle
+	 *
+	 * @param file
+	 *            <code>File</code> in the directory being put
+	 * @return <code>boolean</code> that is <code>true</code> if the file is a
+	 *         small regular file with a name a tar entry can hold
+	 */
+	boolean isBundleable(final File file) {
+		return file.isFile() && file.length() <= maxFileSize
+				&& TarArchiveWriter.isEntryNameSupported(file.getName());
+	}
+
+	/**
+	 * Check whether the collected files make a full bundle that should be
+	 * sent before more are added
+	 *
+	 * @param bytesCollected
+	 *            <code>long</code> with the size of the files collected
+	 * @return <code>boolean</code> that is <code>true</code> if the bundle is
+	 *         full
+	 */
+	boolean isBundleFull(final long bytesCollected) {
+		return bytesCollected >= maxBundleSize;
+	}
+
+	/**
+	 * Put small files of one directory into the target collection, as a
+	 * bundle if there are enough of them, otherwise one at a time
+	 *
+	 * @param files
+	 *            <code>List</code> of <code>File</code> from one local
+	 *            directory, each accepted by {@link #isBundleable(File)}
+	 * @param targetIrodsCollection
+	 *            {@link IRODSFile} that is the existing target collection
+	 * @param transferStatusCallbackListener
+	 *            {@link TransferStatusCallbackListener}, or <code>null</code>
+	 * @param transferControlBlock
+	 *            {@link TransferControlBlock} for the transfer
+	 * @throws JargonException
+	 */
+	void putFiles(final List<File> files,
+			final IRODSFile targetIrodsCollection,
+			final TransferStatusCallbackListener transferStatusCallbackListener,
+			final TransferControlBlock transferControlBlock)
+			throws JargonException {
+
+		if (files.size() < minFiles) {
+			log.info("too few small files to bundle, put individually");
+			putIndividually(files, targetIrodsCollection,
+					transferStatusCallbackListener, transferControlBlock);
+			return;
+		}
+
+		List<File> bundledFiles = new ArrayList<File>(files.size());
+		for (File file : files) {
+			if (startFile(file, targetIrodsCollection,
+					transferStatusCallbackListener, transferControlBlock)) {
+				bundledFiles.add(file);
+			}
+		}
+
+		if (bundledFiles.isEmpty()) {
+			return;
+		}
+
+		if (transferControlBlock.isCancelled()
+				|| transferControlBlock.isPaused()) {
+			log.info("transfer cancelled or paused before the bundle was sent");
+			return;
+		}
+
+		try {
+			putBundle(bundledFiles, targetIrodsCollection, transferControlBlock);
+		} catch (JargonException je) {
+			log.warn(
+					"unable to put files as a bundle, will put them individually",
+					je);
+			putIndividually(bundledFiles, targetIrodsCollection,
+					transferStatusCallbackListener, transferControlBlock);
+			return;
+		}
+
+		for (File file : bundledFiles) {
+			transferControlBlock.incrementFilesTransferredSoFar();
+			if (transferStatusCallbackListener != null) {
+				transferStatusCallbackListener.statusCallback(buildStatus(
+						file, targetIrodsCollection, file.length(),
+						transferControlBlock,
+						TransferState.IN_PROGRESS_COMPLETE_FILE));
+			}
+		}
+	}
+
+	/**
+	 * Apply the restart filter and send the start callback for a file about
+	 * to be bundled
+	 *
+	 * @return <code>boolean</code> that is <code>true</code> if the file
+	 *         should go in the bundle
+	 */
+	private boolean startFile(final File file,
+			final IRODSFile targetIrodsCollection,
+			final TransferStatusCallbackListener transferStatusCallbackListener,
+			final TransferControlBlock transferControlBlock)
+			throws JargonException {
+
+		if (!transferControlBlock.filter(file.getAbsolutePath())) {
+			log.debug("file filtered and not transferred");
+			transferControlBlock.incrementFilesSkippedSoFar();
+			if (transferStatusCallbackListener != null) {
+				transferStatusCallbackListener.statusCallback(buildStatus(
+						file, targetIrodsCollection, 0, transferControlBlock,
+						TransferState.RESTARTING));
+			}
+			return false;
+		}
+
+		if (transferStatusCallbackListener == null) {
+			return true;
+		}
+
+		FileStatusCallbackResponse response = transferStatusCallbackListener
+				.statusCallback(buildStatus(file, targetIrodsCollection, 0,
+						transferControlBlock,
+						TransferState.IN_PROGRESS_START_FILE));
+		if (response == FileStatusCallbackResponse.SKIP) {
+			log.info("file signalled as skipped in callback response:{}",
+					file.getAbsolutePath());
+			transferControlBlock.incrementFilesSkippedSoFar();
+			transferStatusCallbackListener.statusCallback(buildStatus(file,
+					targetIrodsCollection, 0, transferControlBlock,
+					TransferState.SKIPPING));
+			return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Build the tar, put it, extract it into the target collection, and remove
+	 * the tar in iRODS and locally
+	 */
+	private void putBundle(final List<File> files,
+			final IRODSFile targetIrodsCollection,
+			final TransferControlBlock transferControlBlock)
+			throws JargonException {
+
+		String resource = targetIrodsCollection.getResource() == null ? ""
+				: targetIrodsCollection.getResource();
+		File localBundle = null;
+		IRODSFile irodsBundle = null;
+
+		try {
+			localBundle = File.createTempFile(BUNDLE_NAME_PREFIX, ".tar");
+			TarArchiveWriter tarArchiveWriter = new TarArchiveWriter(
+					new BufferedOutputStream(new FileOutputStream(localBundle)));
+			try {
+				for (File file : files) {
+					tarArchiveWriter.addFile(file, file.getName());
+				}
+			} finally {
+				tarArchiveWriter.close();
+			}
+			log.info("bundled {} files into tar of {} bytes", files.size(),
+					localBundle.length());
+
+			irodsBundle = irodsAccessObjectFactory.getIRODSFileFactory(
+					irodsAccount).instanceIRODSFile(
+					targetIrodsCollection.getAbsolutePath(),
+					BUNDLE_NAME_PREFIX + UUID.randomUUID().toString() + ".tar");
+			irodsBundle.setResource(resource);
+
+			DataObjectAOImpl dataObjectAO = (DataObjectAOImpl) irodsAccessObjectFactory
+					.getDataObjectAO(irodsAccount);
+			dataObjectAO.putLocalDataObjectToIRODS(localBundle, irodsBundle,
+					true);
+
+			BulkFileOperationsAO bulkFileOperationsAO = irodsAccessObjectFactory
+					.getBulkFileOperationsAO(irodsAccount);
+			if (transferControlBlock.getTransferOptions().getForceOption() == ForceOption.USE_FORCE) {
+				bulkFileOperationsAO
+						.extractABundleIntoAnIrodsCollectionWithForceOption(
+								irodsBundle.getAbsolutePath(),
+								targetIrodsCollection.getAbsolutePath(),
+								resource);
+			} else {
+				bulkFileOperationsAO
+						.extractABundleIntoAnIrodsCollectionWithBulkOperationOptimization(
+								irodsBundle.getAbsolutePath(),
+								targetIrodsCollection.getAbsolutePath(),
+								resource);
+			}
+			log.info("bundle extracted into:{}",
+					targetIrodsCollection.getAbsolutePath());
+
+		} catch (IOException ioe) {
+			log.error("io exception building bundle", ioe);
+			throw new JargonException("io exception building bundle", ioe);
+		} finally {
+			if (irodsBundle != null) {
+				try {
+					irodsBundle.deleteWithForceOption();
+				} catch (Exception e) {
+					log.warn("unable to remove bundle:{}",
+							irodsBundle.getAbsolutePath(), e);
+				}
+			}
+			if (localBundle != null && !localBundle.delete()) {
+				log.warn("unable to delete local bundle:{}",
+						localBundle.getAbsolutePath());
+			}
+		}
+	}
+
+	private void putIndividually(final List<File> files,
+			final IRODSFile targetIrodsCollection,
+			final TransferStatusCallbackListener transferStatusCallbackListener,
+			final TransferControlBlock transferControlBlock)
+			throws JargonException {
+		for (File file : files) {
+			if (transferControlBlock.isCancelled()
+					|| transferControlBlock.isPaused()) {
+				return;
+			}
+			transferOperationsHelper.processPutOfSingleFile(file,
+					targetIrodsCollection, transferStatusCallbackListener,
+					transferControlBlock);
+		}
+	}
+
+	private TransferStatus buildStatus(final File file,
+			final IRODSFile targetIrodsCollection, final long bytesSoFar,
+			final TransferControlBlock transferControlBlock,
+			final TransferState transferState) throws JargonException {
+		return TransferStatus.instance(TransferType.PUT,
+				file.getAbsolutePath(), targetIrodsCollection.getAbsolutePath()
+						+ "/" + file.getName(),
+				targetIrodsCollection.getResource(), file.length(),
+				bytesSoFar, transferControlBlock.getTotalFilesTransferredSoFar(),
+				transferControlBlock.getTotalFilesSkippedSoFar(),
+				transferControlBlock.getTotalFilesToTransfer(), transferState,
+				irodsAccount.getHost(), irodsAccount.getZone());
+	}
+
+}
@@ -1,6 +1,8 @@
 package org.irods.jargon.core.pub;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.connection.IRODSSession;
@@ -59,6 +61,24 @@ final class TransferOperationsHelper {
 
 	}
 
+	/**
+	 * Get the number of files of a recursive get or put that may be in flight
+	 * at once, from the options in the control block
+	 *
+	 * @param transferControlBlock
+	 *            {@link TransferControlBlock} for the transfer
+	 * @return <code>int</code> with the concurrency, at least 1
+	 */
+	static int recursiveTransferConcurrency(
+			final TransferControlBlock transferControlBlock) {
+		if (transferControlBlock == null
+				|| transferControlBlock.getTransferOptions() == null) {
+			return 1;
+		}
+		return Math.max(1, transferControlBlock.getTransferOptions()
+				.getRecursiveTransferConcurrency());
+	}
+
 	/**
 	 * Recursively get a file from iRODS. This utility method is used
 	 * internally, and can process call-backs as well as filtering and
@@ -95,6 +115,16 @@ final class TransferOperationsHelper {
 				irodsSourceFile.getAbsolutePath());
 		log.info("    into iRODS file: {}", targetLocalFile.getAbsolutePath());
 
+		int concurrency = recursiveTransferConcurrency(transferControlBlock);
+		if (concurrency > 1) {
+			new ConcurrentRecursiveTransfer(this,
+					dataObjectAO.getIRODSAccessObjectFactory(),
+					dataObjectAO.getIRODSAccount(),
+					transferStatusCallbackListener, transferControlBlock,
+					concurrency).get(irodsSourceFile, targetLocalFile);
+			return;
+		}
+
 		for (File fileInSourceCollection : irodsSourceFile.listFiles()) {
 
 			if (Thread.interrupted()) {
@@ -123,30 +153,9 @@ final class TransferOperationsHelper {
 					|| transferControlBlock.isPaused()) {
 				log.info("transfer cancelled or paused");
 				if (transferStatusCallbackListener != null) {
-					TransferState interruptStatus;
-					if (transferControlBlock
-							.shouldTransferBeAbandonedDueToNumberOfErrors()) {
-						interruptStatus = TransferState.FAILURE;
-					} else if (transferControlBlock.isCancelled()) {
-						interruptStatus = TransferState.CANCELLED;
-					} else {
-						interruptStatus = TransferState.PAUSED;
-					}
-
-					TransferStatus status = TransferStatus.instance(
-							TransferType.GET, fileInSourceCollection
-							.getAbsolutePath(), targetLocalFile
-							.getAbsolutePath(), "",
-							fileInSourceCollection.length(),
-							fileInSourceCollection.length(),
-							transferControlBlock
-							.getTotalFilesTransferredSoFar(),
-							transferControlBlock.getTotalFilesSkippedSoFar(),
-							transferControlBlock.getTotalFilesToTransfer(),
-							interruptStatus, dataObjectAO.getIRODSAccount()
-							.getHost(), dataObjectAO.getIRODSAccount()
-							.getZone());
-					transferStatusCallbackListener.statusCallback(status);
+					notifyPauseOrCancelCallbackForGet(targetLocalFile,
+							transferStatusCallbackListener,
+							transferControlBlock, fileInSourceCollection);
 					return;
 				}
 			}
@@ -197,6 +206,49 @@ final class TransferOperationsHelper {
 		}
 	}
 
+	/**
+	 * A get operation has been cancelled or paused, give the appropriate
+	 * callback
+	 *
+	 * @param targetLocalFile
+	 *            <code>File</code> that is the local target of the get
+	 * @param transferStatusCallbackListener
+	 *            {@link TransferStatusCallbackListener} that receives the
+	 *            call-back
+	 * @param transferControlBlock
+	 *            {@link TransferControlBlock} that contains information about
+	 *            the transfer
+	 * @param fileInSourceCollection
+	 *            <code>File</code> that was the current source of the get
+	 * @throws JargonException
+	 */
+	void notifyPauseOrCancelCallbackForGet(final File targetLocalFile,
+			final TransferStatusCallbackListener transferStatusCallbackListener,
+			final TransferControlBlock transferControlBlock,
+			final File fileInSourceCollection) throws JargonException {
+
+		TransferState interruptStatus;
+		if (transferControlBlock.shouldTransferBeAbandonedDueToNumberOfErrors()) {
+			interruptStatus = TransferState.FAILURE;
+		} else if (transferControlBlock.isCancelled()) {
+			interruptStatus = TransferState.CANCELLED;
+		} else {
+			interruptStatus = TransferState.PAUSED;
+		}
+
+		TransferStatus status = TransferStatus.instance(TransferType.GET,
+				fileInSourceCollection.getAbsolutePath(),
+				targetLocalFile.getAbsolutePath(), "",
+				fileInSourceCollection.length(),
+				fileInSourceCollection.length(),
+				transferControlBlock.getTotalFilesTransferredSoFar(),
+				transferControlBlock.getTotalFilesSkippedSoFar(),
+				transferControlBlock.getTotalFilesToTransfer(),
+				interruptStatus, dataObjectAO.getIRODSAccount().getHost(),
+				dataObjectAO.getIRODSAccount().getZone());
+		transferStatusCallbackListener.statusCallback(status);
+	}
+
 	/**
 	 * In a transfer operation, process the given iRODS file as a data object to
 	 * be retrieved.
@@ -457,6 +509,23 @@ final class TransferOperationsHelper {
 				targetIrodsCollection.getAbsolutePath());
 		log.info("     to resource:{}", targetIrodsCollection.getResource());
 
+		int concurrency = recursiveTransferConcurrency(transferControlBlock);
+		if (concurrency > 1) {
+			new ConcurrentRecursiveTransfer(this,
+					dataObjectAO.getIRODSAccessObjectFactory(),
+					dataObjectAO.getIRODSAccount(),
+					transferStatusCallbackListener, transferControlBlock,
+					concurrency).put(sourceFile, targetIrodsCollection);
+			return;
+		}
+
+		SmallFileBundler smallFileBundler = SmallFileBundler
+				.instanceForTransfer(this,
+						dataObjectAO.getIRODSAccessObjectFactory(),
+						dataObjectAO.getIRODSAccount(), transferControlBlock);
+		List<File> smallFiles = new ArrayList<File>();
+		long smallFileBytes = 0;
+
 		try {
 			File[] files = sourceFile.listFiles();
 			if (files != null) {
@@ -494,6 +563,21 @@ final class TransferOperationsHelper {
 								transferStatusCallbackListener,
 								transferControlBlock, fileInSourceCollection);
 
+					} else if (smallFileBundler != null
+							&& smallFileBundler
+							.isBundleable(fileInSourceCollection)) {
+
+						smallFiles.add(fileInSourceCollection);
+						smallFileBytes += fileInSourceCollection.length();
+						if (smallFileBundler.isBundleFull(smallFileBytes)) {
+							smallFileBundler.putFiles(smallFiles,
+									targetIrodsCollection,
+									transferStatusCallbackListener,
+									transferControlBlock);
+							smallFiles.clear();
+							smallFileBytes = 0;
+						}
+
 					} else {
 
 						processPutOfSingleFile(fileInSourceCollection,
@@ -503,6 +587,12 @@ final class TransferOperationsHelper {
 					}
 				}
 			}
+
+			if (!smallFiles.isEmpty() && !transferControlBlock.isCancelled()
+					&& !transferControlBlock.isPaused()) {
+				smallFileBundler.putFiles(smallFiles, targetIrodsCollection,
+						transferStatusCallbackListener, transferControlBlock);
+			}
 		} catch (Exception e) {
 			if (!transferControlBlock.isCancelled()) {
 				log.info(
@@ -514,7 +604,7 @@ final class TransferOperationsHelper {
 	}
 
 	/**
-	 * A put operation has been cancelled or paused, give the appropraite
+	 * A put operation has been cancelled or paused, give the appropriate
 	 * callback
 	 *
 	 * @param targetIrodsCollection
@@ -529,7 +619,7 @@ final class TransferOperationsHelper {
 	 *            {@link File} that was the current source of the put
 	 * @throws JargonException
 	 */
-	private void notifyPauseOrCancelCallbackForPut(
+	void notifyPauseOrCancelCallbackForPut(
 			final IRODSFile targetIrodsCollection,
 			final TransferStatusCallbackListener transferStatusCallbackListener,
 			final TransferControlBlock transferControlBlock,
@@ -572,7 +662,7 @@ final class TransferOperationsHelper {
 	 * @param je
 	 * @throws JargonException
 	 */
-	private void processRecursivePutException(
+	void processRecursivePutException(
 			final File fileInSourceCollection,
 			final TransferStatusCallbackListener transferStatusCallbackListener,
 			final IRODSFile newIrodsFile,
@@ -219,6 +219,43 @@ public interface UserAO extends IRODSAccessObject {
 	void deleteAVUMetadata(String userName, AvuData avuData)
 			throws DataNotFoundException, JargonException;
 
+	/**
+	 * Given a list of avu metadata, add all to the user. This is only possible
+	 * when a rods admin. A response will be returned giving individual
+	 * success/failure information. For example, an attempt to add a duplicate
+	 * AVU will result in an error entry in the response versus a thrown
+	 * exception.
+	 *
+	 * @param userName
+	 *            <code>String</code> with the user name to whom the AVU
+	 *            metadata will be added
+	 * @param avuData
+	 *            <code>List</code> of {@link AvuData} for each AVU to be added.
+	 * @return {@link BulkAVUOperationResponse} with details on the success or
+	 *         failure of the add of each AVU.
+	 * @throws JargonException
+	 */
+	List<BulkAVUOperationResponse> addBulkAVUMetadataToUser(String userName,
+			List<AvuData> avuData) throws JargonException;
+
+	/**
+	 * Given a list of avu metadata, delete all from the user. This is only
+	 * possible when a rods admin. A response will be returned giving individual
+	 * success/failure information.
+	 *
+	 * @param userName
+	 *            <code>String</code> with the user name from whom the AVU
+	 *            metadata will be removed
+	 * @param avuData
+	 *            <code>List</code> of {@link AvuData} for each AVU to be
+	 *            deleted.
+	 * @return {@link BulkAVUOperationResponse} with details on the success or
+	 *         failure of the delete of each AVU.
+	 * @throws JargonException
+	 */
+	List<BulkAVUOperationResponse> deleteBulkAVUMetadataFromUser(
+			String userName, List<AvuData> avuData) throws JargonException;
+
 	/**
 	 * Modify the given AVU metadata from the user. This is only possible when a
 	 * rods admin.
@@ -8,6 +8,7 @@ import java.util.List;
 
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.connection.PipelinedResponse;
 import org.irods.jargon.core.exception.DataNotFoundException;
 import org.irods.jargon.core.exception.DuplicateDataException;
 import org.irods.jargon.core.exception.InvalidUserException;
@@ -874,6 +875,82 @@ public final class UserAOImpl extends IRODSGenericAO implements UserAO {
 
 	}
 
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.irods.jargon.core.pub.UserAO#addBulkAVUMetadataToUser(java.lang.String
+	 * , java.util.List)
+	 */
+	@Override
+	public List<BulkAVUOperationResponse> addBulkAVUMetadataToUser(
+			final String userName, final List<AvuData> avuData)
+			throws JargonException {
+
+		log.info("addBulkAVUMetadataToUser()");
+
+		if (userName == null || userName.isEmpty()) {
+			throw new IllegalArgumentException("null or empty userName");
+		}
+
+		if (avuData == null || avuData.isEmpty()) {
+			throw new IllegalArgumentException("null or empty avuData");
+		}
+
+		List<ModAvuMetadataInp> requests = new ArrayList<ModAvuMetadataInp>(
+				avuData.size());
+		for (AvuData value : avuData) {
+			requests.add(ModAvuMetadataInp.instanceForAddUserMetadata(userName,
+					value));
+		}
+
+		log.debug("sending {} avu requests as a batch", requests.size());
+		List<PipelinedResponse> pipelinedResponses = getIRODSAccessObjectFactory()
+				.getBatchAO(getIRODSAccount()).executeBatch(requests);
+
+		log.info("...complete");
+		return BulkAVUOperationResponse.instancesForPipelinedResponses(
+				pipelinedResponses, avuData);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.irods.jargon.core.pub.UserAO#deleteBulkAVUMetadataFromUser(java.lang
+	 * .String, java.util.List)
+	 */
+	@Override
+	public List<BulkAVUOperationResponse> deleteBulkAVUMetadataFromUser(
+			final String userName, final List<AvuData> avuData)
+			throws JargonException {
+
+		log.info("deleteBulkAVUMetadataFromUser()");
+
+		if (userName == null || userName.isEmpty()) {
+			throw new IllegalArgumentException("null or empty userName");
+		}
+
+		if (avuData == null || avuData.isEmpty()) {
+			throw new IllegalArgumentException("null or empty avuData");
+		}
+
+		List<ModAvuMetadataInp> requests = new ArrayList<ModAvuMetadataInp>(
+				avuData.size());
+		for (AvuData value : avuData) {
+			requests.add(ModAvuMetadataInp.instanceForDeleteUserMetadata(
+					userName, value));
+		}
+
+		log.debug("sending {} avu requests as a batch", requests.size());
+		List<PipelinedResponse> pipelinedResponses = getIRODSAccessObjectFactory()
+				.getBatchAO(getIRODSAccount()).executeBatch(requests);
+
+		log.info("...complete");
+		return BulkAVUOperationResponse.instancesForPipelinedResponses(
+				pipelinedResponses, avuData);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
@@ -17,6 +17,7 @@ import org.irods.jargon.core.query.BuilderQueryUtils;
 import org.irods.jargon.core.query.CollectionAndDataObjectListingEntry;
 import org.irods.jargon.core.query.CollectionAndDataObjectListingEntry.ObjectType;
 import org.irods.jargon.core.query.GenQueryBuilderException;
+import org.irods.jargon.core.query.IRODSColumnarQueryResultSet;
 import org.irods.jargon.core.query.IRODSGenQueryBuilder;
 import org.irods.jargon.core.query.IRODSQueryResultRow;
 import org.irods.jargon.core.query.IRODSQueryResultSetInterface;
@@ -349,6 +350,78 @@ public class CollectionAOHelper extends AOHelper {
 		return entry;
 	}
 
+	/**
+	 * for a row of a columnar result set from a query for collections, create
+	 * a <code>CollectionAndDataObjectListingEntry</code>. Ids and times are
+	 * read from the result set without parsing.
+	 *
+	 * @param resultSet
+	 *            {@link IRODSColumnarQueryResultSet} with the selects of a
+	 *            collection listing query
+	 * @param row
+	 *            <code>int</code> with the row within the result set
+	 * @return {@link org.irods.jargon.core.query.CollectionAndDataObjectListingEntry}
+	 * @throws JargonException
+	 */
+	public static CollectionAndDataObjectListingEntry buildCollectionListEntryFromColumnarResultSetForCollectionQuery(
+			final IRODSColumnarQueryResultSet resultSet, final int row)
+			throws JargonException {
+		CollectionAndDataObjectListingEntry entry = new CollectionAndDataObjectListingEntry();
+		entry.setParentPath(resultSet.getString(row, 0));
+		entry.setObjectType(ObjectType.COLLECTION);
+		entry.setPathOrName(resultSet.getString(row, 1));
+		entry.setCreatedAt(resultSet.getDateOrNull(row, 2));
+		entry.setModifiedAt(resultSet.getDateOrNull(row, 3));
+		entry.setId(resultSet.getIntOrZero(row, 4));
+		entry.setOwnerName(resultSet.getString(row, 5));
+		entry.setOwnerZone(resultSet.getString(row, 6));
+		entry.setSpecColType(IRODSDataConversionUtil
+				.getCollectionTypeFromIRODSValue(resultSet.getString(row, 7)));
+
+		entry.setCount(resultSet.getRecordCount(row));
+		entry.setTotalRecords(resultSet.getTotalRecords());
+		entry.setLastResult(resultSet.isLastResult());
+
+		log.debug("listing entry built {}", entry.toString());
+
+		return entry;
+	}
+
+	/**
+	 * for a row of a columnar result set from a query for data objects in a
+	 * collection, create a <code>CollectionAndDataObjectListingEntry</code>.
+	 * Ids, sizes and times are read from the result set without parsing.
+	 *
+	 * @param resultSet
+	 *            {@link IRODSColumnarQueryResultSet} with the selects of a
+	 *            data object listing query
+	 * @param row
+	 *            <code>int</code> with the row within the result set
+	 * @return {@link org.irods.jargon.core.query.CollectionAndDataObjectListingEntry}
+	 * @throws JargonException
+	 */
+	public static CollectionAndDataObjectListingEntry buildCollectionListEntryFromColumnarResultSetForDataObjectQuery(
+			final IRODSColumnarQueryResultSet resultSet, final int row)
+			throws JargonException {
+		CollectionAndDataObjectListingEntry entry = new CollectionAndDataObjectListingEntry();
+		entry.setParentPath(resultSet.getString(row, 0));
+		entry.setObjectType(ObjectType.DATA_OBJECT);
+		entry.setPathOrName(resultSet.getString(row, 1));
+		entry.setCreatedAt(resultSet.getDateOrNull(row, 2));
+		entry.setModifiedAt(resultSet.getDateOrNull(row, 3));
+		entry.setId(resultSet.getIntOrZero(row, 4));
+		entry.setDataSize(resultSet.getLongOrZero(row, 5));
+		entry.setOwnerName(resultSet.getString(row, 7));
+		entry.setOwnerZone(resultSet.getString(row, 8));
+		entry.setCount(resultSet.getRecordCount(row));
+		entry.setLastResult(resultSet.isLastResult());
+		entry.setTotalRecords(resultSet.getTotalRecords());
+
+		log.debug("listing entry built {}", entry.toString());
+
+		return entry;
+	}
+
 	/**
 	 * Append selects to the provided builder for collection queries
 	 *
@@ -0,0 +1,137 @@
+package org.irods.jargon.core.pub.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.irods.jargon.core.checksum.TransferChecksumDigester;
+
+/**
+ * Wrapper for an input stream of a transfer that gives the data read to a
+ * {@link TransferChecksumDigester}, so the checksum of the transfer is
+ * computed as it is read. The stream is expected to start at the beginning of
+ * the file.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class ChecksumDigestingInputStreamWrapper extends InputStream {
+
+	private final TransferChecksumDigester transferChecksumDigester;
+	private final InputStream inputStream;
+	private long position = 0L;
+
+	/**
+	 * Default constructor gives the digester fed by the stream
+	 *
+	 * @param transferChecksumDigester
+	 *            {@link TransferChecksumDigester} that is given the data as it
+	 *            is read. This is required.
+	 * @param inputStream
+	 *            <code>InputStream</code> to be wrapped
+	 */
+	public ChecksumDigestingInputStreamWrapper(
+			final TransferChecksumDigester transferChecksumDigester,
+			final InputStream inputStream) {
+
+		if (transferChecksumDigester == null) {
+			throw new IllegalArgumentException("null transferChecksumDigester");
+		}
+
+		if (inputStream == null) {
+			throw new IllegalArgumentException("null inputStream");
+		}
+
+		this.transferChecksumDigester = transferChecksumDigester;
+		this.inputStream = inputStream;
+
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.io.InputStream#read()
+	 */
+	@Override
+	public int read() throws IOException {
+		int read = inputStream.read();
+		if (read >= 0) {
+			transferChecksumDigester.update(position,
+					new byte[] { (byte) read }, 0, 1);
+			position++;
+		}
+		return read;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.io.InputStream#read(byte[], int, int)
+	 */
+	@Override
+	public int read(final byte[] b, final int off, final int len)
+			throws IOException {
+
+		int read = inputStream.read(b, off, len);
+
+		if (read > 0) {
+			transferChecksumDigester.update(position, b, off, read);
+			position += read;
+		}
+
+		return read;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.io.InputStream#read(byte[])
+	 */
+	@Override
+	public int read(final byte[] b) throws IOException {
+		return read(b, 0, b.length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.io.InputStream#available()
+	 */
+	@Override
+	public int available() throws IOException {
+		return inputStream.available();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.io.InputStream#close()
+	 */
+	@Override
+	public void close() throws IOException {
+		inputStream.close();
+	}
+
+	/**
+	 * Mark is not supported, as data read again after a reset would be given
+	 * to the digester at the wrong position
+	 */
+	@Override
+	public boolean markSupported() {
+		return false;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.io.InputStream#skip(long)
+	 */
+	@Override
+	public long skip(final long n) throws IOException {
+		long skipped = inputStream.skip(n);
+		if (skipped > 0) {
+			position += skipped;
+		}
+		return skipped;
+	}
+
+}
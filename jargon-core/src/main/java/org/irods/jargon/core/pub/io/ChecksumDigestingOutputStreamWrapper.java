@@ -0,0 +1,105 @@
+package org.irods.jargon.core.pub.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.irods.jargon.core.checksum.TransferChecksumDigester;
+
+/**
+ * Wrapper for an output stream of a transfer that gives the data written to a
+ * {@link TransferChecksumDigester}, so the checksum of the transfer is
+ * computed as it is written. The stream is expected to start at the beginning
+ * of the file.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class ChecksumDigestingOutputStreamWrapper extends OutputStream {
+
+	private final TransferChecksumDigester transferChecksumDigester;
+	private final OutputStream outputStream;
+	private long position = 0L;
+
+	/**
+	 * Default constructor gives the digester fed by the stream
+	 *
+	 * @param transferChecksumDigester
+	 *            {@link TransferChecksumDigester} that is given the data as it
+	 *            is written. This is required.
+	 * @param outputStream
+	 *            <code>OutputStream</code> to be wrapped
+	 */
+	public ChecksumDigestingOutputStreamWrapper(
+			final TransferChecksumDigester transferChecksumDigester,
+			final OutputStream outputStream) {
+
+		if (transferChecksumDigester == null) {
+			throw new IllegalArgumentException("null transferChecksumDigester");
+		}
+
+		if (outputStream == null) {
+			throw new IllegalArgumentException("null outputStream");
+		}
+
+		this.transferChecksumDigester = transferChecksumDigester;
+		this.outputStream = outputStream;
+
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.io.OutputStream#write(int)
+	 */
+	@Override
+	public void write(final int b) throws IOException {
+		outputStream.write(b);
+		transferChecksumDigester.update(position, new byte[] { (byte) b }, 0,
+				1);
+		position++;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.io.OutputStream#write(byte[], int, int)
+	 */
+	@Override
+	public void write(final byte[] b, final int off, final int len)
+			throws IOException {
+		outputStream.write(b, off, len);
+		transferChecksumDigester.update(position, b, off, len);
+		position += len;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.io.OutputStream#write(byte[])
+	 */
+	@Override
+	public void write(final byte[] b) throws IOException {
+		write(b, 0, b.length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.io.OutputStream#flush()
+	 */
+	@Override
+	public void flush() throws IOException {
+		outputStream.flush();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.io.OutputStream#close()
+	 */
+	@Override
+	public void close() throws IOException {
+		outputStream.close();
+	}
+
+}
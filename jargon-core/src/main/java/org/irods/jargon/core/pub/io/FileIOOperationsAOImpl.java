@@ -92,10 +92,8 @@ final class FileIOOperationsAOImpl extends IRODSGenericAO implements
 		// DataObjWriteInp dataObjWriteInp = DataObjWriteInp.instance(fd,
 		// length);
 
-		Tag message = getIRODSProtocol().irodsFunction(
-				IRODSConstants.RODS_API_REQ, openedDataObjInp.getParsedTags(),
-				null, 0, 0, buffer, offset, length,
-				openedDataObjInp.getApiNumber());
+		Tag message = getIRODSProtocol().irodsFunction(openedDataObjInp, null,
+				0, 0, buffer, offset, length);
 
 		return message.getTag(IRODSConstants.MsgHeader_PI)
 				.getTag(IRODSConstants.intInfo).getIntValue();
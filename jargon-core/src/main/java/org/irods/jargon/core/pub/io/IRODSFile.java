@@ -10,6 +10,7 @@ import java.net.URL;
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.exception.NoResourceDefinedException;
 import org.irods.jargon.core.packinstr.DataObjInp.OpenFlags;
+import org.irods.jargon.core.pub.domain.ObjStat;
 
 /**
  * Interface followed by {@link org.irods.jargon.core.pub.io.IRODSFileImpl}. The
@@ -114,6 +115,35 @@ public interface IRODSFile {
 
 	File[] listFiles(FilenameFilter filter);
 
+	/**
+	 * List the files in this collection as <code>listFiles()</code> does,
+	 * giving each file the {@link ObjStat} built from the listing, with its
+	 * size, type, modify time and checksum. Until the object stat is older
+	 * than the <code>listing.objstat.max.age.millis</code> jargon property,
+	 * the <code>exists()</code>, <code>isDirectory()</code>,
+	 * <code>isFile()</code>, <code>length()</code> and
+	 * <code>lastModified()</code> methods of each file are answered from it
+	 * without a call to iRODS, so walking a collection costs only the listing
+	 * queries. This particular method is not part of the standard
+	 * <code>java.io.File</code> contracts.
+	 *
+	 * @return <code>File[]</code> of <code>IRODSFile</code>, empty if this is
+	 *         not a collection
+	 */
+	File[] listFilesWithObjStat();
+
+	/**
+	 * List the files in this collection accepted by a filter, as
+	 * {@link #listFilesWithObjStat()} does. The filter is given files that
+	 * already have their object stat, so it may examine them without calls to
+	 * iRODS.
+	 *
+	 * @param filter
+	 *            <code>FileFilter</code> that accepts the files listed
+	 * @return <code>File[]</code> of <code>IRODSFile</code>
+	 */
+	File[] listFilesWithObjStat(FileFilter filter);
+
 	boolean mkdir();
 
 	boolean mkdirs();
@@ -249,11 +279,11 @@ public interface IRODSFile {
 	boolean deleteWithForceOption();
 
 	/**
-	 * Note: the caching behavior has been removed and deprecated, this method
-	 * can be removed and has no effect Reset cached data about the file
-	 * (exists, type, length) so it can be accessed again
+	 * Discard the object stat given to this file by
+	 * {@link #listFilesWithObjStat()}, so that exists, type, length and
+	 * modify time are asked of iRODS again. Files not from such a listing hold
+	 * no data about the file, and this has no effect on them.
 	 */
-	@Deprecated
 	void reset();
 
 	/**
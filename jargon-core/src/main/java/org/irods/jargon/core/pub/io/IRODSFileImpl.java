@@ -58,6 +58,13 @@ public class IRODSFileImpl extends File implements IRODSFile {
 	private List<String> directory = new ArrayList<String>();
 	private OpenFlags openFlags = null;
 
+	/**
+	 * Object stat from the listing that created this file, and when it is too
+	 * old to be used in place of a call to iRODS
+	 */
+	private transient ObjStat listingObjStat = null;
+	private transient long listingObjStatExpiresAt = 0L;
+
 	private static final long serialVersionUID = -6986662136294659059L;
 
 	/*
@@ -66,7 +73,9 @@ public class IRODSFileImpl extends File implements IRODSFile {
 	 * @see org.irods.jargon.core.pub.io.IRODSFile#reset()
 	 */
 	@Override
-	public void reset() {
+	public synchronized void reset() {
+		listingObjStat = null;
+		listingObjStatExpiresAt = 0L;
 	}
 
 	protected IRODSFileImpl(final String pathName,
@@ -366,6 +375,7 @@ public class IRODSFileImpl extends File implements IRODSFile {
 	 */
 	@Override
 	public synchronized boolean createNewFile() throws IOException {
+		reset();
 		try {
 			fileDescriptor = irodsFileSystemAO.createFile(getAbsolutePath(),
 					DataObjInp.OpenFlags.READ_WRITE,
@@ -390,6 +400,7 @@ public class IRODSFileImpl extends File implements IRODSFile {
 	public synchronized boolean createNewFileCheckNoResourceFound(
 			final OpenFlags openFlags) throws NoResourceDefinedException,
 			JargonException {
+		reset();
 		try {
 			fileDescriptor = irodsFileSystemAO.createFile(getAbsolutePath(),
 					openFlags, DataObjInp.DEFAULT_CREATE_MODE);
@@ -409,6 +420,7 @@ public class IRODSFileImpl extends File implements IRODSFile {
 	 */
 	@Override
 	public synchronized boolean delete() {
+		reset();
 		boolean successful = true;
 		if (!exists()) {
 			successful = true;
@@ -450,6 +462,7 @@ public class IRODSFileImpl extends File implements IRODSFile {
 	 */
 	@Override
 	public synchronized boolean deleteWithForceOption() {
+		reset();
 		boolean successful = true;
 		try {
 			if (isFile()) {
@@ -506,6 +519,10 @@ public class IRODSFileImpl extends File implements IRODSFile {
 	@Override
 	public synchronized boolean exists() {
 
+		if (currentListingObjStat() != null) {
+			return true;
+		}
+
 		boolean isExists = false;
 
 		try {
@@ -709,7 +726,7 @@ public class IRODSFileImpl extends File implements IRODSFile {
 		boolean isDir = false;
 		try {
 
-			ObjStat objStat = irodsFileSystemAO.getObjStat(getAbsolutePath());
+			ObjStat objStat = retrieveObjStat();
 
 			if (objStat.getObjectType() == ObjectType.COLLECTION
 					|| objStat.getObjectType() == ObjectType.LOCAL_DIR) {
@@ -737,7 +754,7 @@ public class IRODSFileImpl extends File implements IRODSFile {
 		boolean isFile = false;
 
 		try {
-			ObjStat objStat = irodsFileSystemAO.getObjStat(getAbsolutePath());
+			ObjStat objStat = retrieveObjStat();
 
 			if (objStat == null) {
 
@@ -789,7 +806,7 @@ public class IRODSFileImpl extends File implements IRODSFile {
 		log.info("lastModified() for path:{}", getAbsolutePath());
 		long lastMod = 0L;
 		try {
-			ObjStat objStat = irodsFileSystemAO.getObjStat(getAbsolutePath());
+			ObjStat objStat = retrieveObjStat();
 			lastMod = objStat.getModifiedAt().getTime();
 		} catch (FileNotFoundException e) {
 			log.warn("file not found exception, return 0L", e);
@@ -814,7 +831,7 @@ public class IRODSFileImpl extends File implements IRODSFile {
 		long length = 0L;
 
 		try {
-			ObjStat objStat = irodsFileSystemAO.getObjStat(getAbsolutePath());
+			ObjStat objStat = retrieveObjStat();
 			length = objStat.getObjSize();
 		} catch (FileNotFoundException e) {
 			log.warn("file not found exception, return length of 0", e);
@@ -937,6 +954,107 @@ public class IRODSFileImpl extends File implements IRODSFile {
 		}
 	}
 
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.pub.io.IRODSFile#listFilesWithObjStat()
+	 */
+	@Override
+	public synchronized File[] listFilesWithObjStat() {
+		return listFilesWithObjStatAcceptedBy(null);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.irods.jargon.core.pub.io.IRODSFile#listFilesWithObjStat(java.io.
+	 * FileFilter)
+	 */
+	@Override
+	public synchronized File[] listFilesWithObjStat(final FileFilter filter) {
+		if (filter == null) {
+			throw new IllegalArgumentException("null filter");
+		}
+		return listFilesWithObjStatAcceptedBy(filter);
+	}
+
+	private File[] listFilesWithObjStatAcceptedBy(final FileFilter filter) {
+		try {
+			List<ObjStat> objStats = irodsFileSystemAO
+					.getListInDirWithObjStats(this);
+			long maxAgeMillis = irodsFileSystemAO.getJargonProperties()
+					.getListingObjStatMaxAgeMillis();
+			List<File> files = new ArrayList<File>(objStats.size());
+			IRODSFileImpl irodsFile;
+			for (ObjStat objStat : objStats) {
+				irodsFile = new IRODSFileImpl(getAbsolutePath(),
+						MiscIRODSUtils
+								.getLastPathComponentForGiveAbsolutePath(objStat
+										.getAbsolutePath()), irodsFileSystemAO);
+				irodsFile.setListingObjStat(objStat, maxAgeMillis);
+				if (filter == null || filter.accept(irodsFile)) {
+					files.add(irodsFile);
+				}
+			}
+			return files.toArray(new File[files.size()]);
+		} catch (FileNotFoundException e) {
+			return new IRODSFileImpl[] {};
+		} catch (DataNotFoundException e) {
+			return new IRODSFileImpl[] {};
+		} catch (JargonException e) {
+			log.error("jargon exception, rethrow as unchecked", e);
+			throw new JargonRuntimeException(e);
+		}
+	}
+
+	/**
+	 * Give this file the object stat from a listing, used in place of a call to
+	 * iRODS until it is older than the given age
+	 *
+	 * @param objStat
+	 *            {@link ObjStat} built from the listing
+	 * @param maxAgeMillis
+	 *            <code>long</code> with the age in milliseconds after which
+	 *            the object stat is discarded, 0 to not use it at all
+	 */
+	private synchronized void setListingObjStat(final ObjStat objStat,
+			final long maxAgeMillis) {
+		if (maxAgeMillis <= 0) {
+			reset();
+			return;
+		}
+		listingObjStat = objStat;
+		listingObjStatExpiresAt = System.currentTimeMillis() + maxAgeMillis;
+	}
+
+	/**
+	 * @return {@link ObjStat} from the listing that created this file, or
+	 *         <code>null</code> if there is none or it is too old
+	 */
+	private ObjStat currentListingObjStat() {
+		if (listingObjStat != null
+				&& System.currentTimeMillis() >= listingObjStatExpiresAt) {
+			log.debug("listing objStat too old for:{}", getAbsolutePath());
+			reset();
+		}
+		return listingObjStat;
+	}
+
+	/**
+	 * Get the object stat for this file, from the listing that created it
+	 * while that is recent enough, otherwise from iRODS
+	 */
+	private ObjStat retrieveObjStat() throws FileNotFoundException,
+			JargonException {
+		ObjStat objStat = currentListingObjStat();
+		if (objStat != null) {
+			log.debug("objStat from listing for:{}", getAbsolutePath());
+			return objStat;
+		}
+		return irodsFileSystemAO.getObjStat(getAbsolutePath());
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
@@ -944,7 +1062,7 @@ public class IRODSFileImpl extends File implements IRODSFile {
 	 */
 	@Override
 	public boolean mkdir() {
-
+		reset();
 		try {
 			irodsFileSystemAO.mkdir(this, false);
 		} catch (DuplicateDataException e) {
@@ -974,6 +1092,7 @@ public class IRODSFileImpl extends File implements IRODSFile {
 	 */
 	@Override
 	public boolean mkdirs() {
+		reset();
 		try {
 			irodsFileSystemAO.mkdir(this, true);
 		} catch (CatNoAccessException e) {
@@ -999,6 +1118,7 @@ public class IRODSFileImpl extends File implements IRODSFile {
 	 */
 	@Override
 	public synchronized boolean renameTo(final IRODSFile dest) {
+		reset();
 		boolean success = false;
 		if (dest == null) {
 			String msg = "dest file is null";
@@ -1356,6 +1476,11 @@ public class IRODSFileImpl extends File implements IRODSFile {
 
 		}
 
+		if (openFlags != null && openFlags != OpenFlags.READ) {
+			irodsFileSystemAO.getIRODSSession().getObjStatCache()
+					.invalidate(getAbsolutePath());
+		}
+
 		setFileDescriptor(-1);
 
 	}
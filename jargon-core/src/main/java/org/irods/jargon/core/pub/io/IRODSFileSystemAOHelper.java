@@ -89,6 +89,33 @@ public class IRODSFileSystemAOHelper extends AOHelper {
 
 	}
 
+	/**
+	 * Build a query for all data objects under a path with the information
+	 * needed for an <code>ObjStat</code>. This is the query of
+	 * {@link #buildQueryListAllDataObjectsWithSizeAndDateInfo} with the data
+	 * checksum added as the last column. Note that this query will return a
+	 * row for each replica.
+	 *
+	 * @param path
+	 *            <code>String</code> with the absolute path to the iRODS parent
+	 *            collection.
+	 * @param builder
+	 *            {@link IRODSGenQueryBuilder} that will be augmented with
+	 *            necessary conditions and selects
+	 * @throws JargonException
+	 */
+	public static void buildQueryListAllDataObjectsWithObjStatInfo(
+			final String path, final IRODSGenQueryBuilder builder)
+					throws JargonException {
+
+		buildQueryListAllDataObjectsWithSizeAndDateInfo(path, builder);
+		try {
+			builder.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_D_DATA_CHECKSUM);
+		} catch (GenQueryBuilderException e) {
+			throw new JargonException("exception building query", e);
+		}
+	}
+
 	/**
 	 * Build the gen query to list all data objects, including user access
 	 * information. The selects and conditions are appended to the provided
@@ -8,7 +8,11 @@ import java.io.DataOutput;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.UTFDataFormatException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
+import org.irods.jargon.core.connection.JargonProperties;
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.pub.io.FileIOOperations.SeekWhenceType;
 import org.irods.jargon.core.utils.BinaryDataFormat;
@@ -51,6 +55,16 @@ import org.slf4j.LoggerFactory;
  * java.io.RandomAccessFile. However, it <I>is not</I> a subclass, due to the
  * unfortunate use of final methods in java.io.RandomAccessFile. </DIV>
  * <P>
+ * Reads smaller than a page are answered from a cache of pages of the data
+ * object, read from iRODS as needed and dropped least recently used first, and
+ * reads that follow on from the last page read bring in the next pages in the
+ * same call. Consecutive small writes are gathered and sent to iRODS in one
+ * call, before any read of the data they cover, when writing moves elsewhere,
+ * and on {@link #flush()} and {@link #close()}. The page size, number of pages
+ * and write size are set in the {@link JargonProperties}, and either may be
+ * turned off. As with <code>java.io.RandomAccessFile</code>, an instance
+ * should not be shared between threads.
+ * <P>
  *
  * @author Mike Conway - DICE (www.irods.org) adopted from original Jargon
  *         implementation by Lucas Gilbert
@@ -64,6 +78,28 @@ public class IRODSRandomAccessFile implements DataInput, DataOutput {
 	private long filePointer = 0;
 	private BinaryDataFormat fileFormat = new BinaryDataFormat();
 
+	/**
+	 * Holds the bytes of a single value as it is read or written
+	 */
+	private final byte[] valueBytes = new byte[Host.MAX_TYPE_SIZE];
+
+	private final int pageSize;
+	private final int cachePages;
+	private final int maxReadAheadPages;
+	private final Map<Long, byte[]> pages;
+	private long nextSequentialPage = -1L;
+	private int readAheadPages = 1;
+
+	private final byte[] writeBehind;
+	private long writeBehindStart = 0L;
+	private int writeBehindLength = 0;
+
+	/**
+	 * Position of the data object in iRODS, when reads and writes are not
+	 * passed straight through. -1 if not known.
+	 */
+	private long irodsPosition = -1L;
+
 	/**
 	 * Create an instance of the IRODS implementation of a random access file
 	 *
@@ -101,6 +137,38 @@ public class IRODSRandomAccessFile implements DataInput, DataOutput {
 		this.irodsFile = irodsFile;
 		this.fileIOOperations = fileIOOperations;
 
+		JargonProperties jargonProperties = fileIOOperations
+				.getJargonProperties();
+		if (jargonProperties.getRandomAccessPageSize() > 0
+				&& jargonProperties.getRandomAccessCachePages() > 0) {
+			pageSize = jargonProperties.getRandomAccessPageSize();
+			cachePages = jargonProperties.getRandomAccessCachePages();
+			maxReadAheadPages = Math.max(1, cachePages / 4);
+			pages = new LinkedHashMap<Long, byte[]>(cachePages * 2, 0.75f,
+					true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(
+						final Map.Entry<Long, byte[]> eldest) {
+					return size() > cachePages;
+				}
+			};
+		} else {
+			pageSize = 0;
+			cachePages = 0;
+			maxReadAheadPages = 0;
+			pages = null;
+		}
+
+		if (jargonProperties.getRandomAccessWriteBehindSize() > 0) {
+			writeBehind = new byte[jargonProperties
+					.getRandomAccessWriteBehindSize()];
+		} else {
+			writeBehind = null;
+		}
+
+		log.info("page size:{} cache pages:{}", pageSize, cachePages);
 	}
 
 	/**
@@ -203,7 +271,7 @@ public class IRODSRandomAccessFile implements DataInput, DataOutput {
 	 */
 	@Override
 	public double readDouble() throws EOFException, IOException {
-		byte bytes[] = new byte[Host.MAX_TYPE_SIZE];
+		byte bytes[] = valueBytes;
 		readFully(bytes, 0, fileFormat.getDoubleSize());
 		return fileFormat.doubleValue(bytes);
 	}
@@ -228,7 +296,7 @@ public class IRODSRandomAccessFile implements DataInput, DataOutput {
 	 */
 	@Override
 	public float readFloat() throws EOFException, IOException {
-		byte bytes[] = new byte[Host.MAX_TYPE_SIZE];
+		byte bytes[] = valueBytes;
 		readFully(bytes, 0, fileFormat.getFloatSize());
 		return fileFormat.floatValue(bytes);
 	}
@@ -305,7 +373,7 @@ public class IRODSRandomAccessFile implements DataInput, DataOutput {
 	 */
 	@Override
 	public int readInt() throws EOFException, IOException {
-		byte bytes[] = new byte[Host.MAX_TYPE_SIZE];
+		byte bytes[] = valueBytes;
 		readFully(bytes, 0, fileFormat.getIntSize());
 		return fileFormat.intValue(bytes);
 	}
@@ -374,7 +442,7 @@ public class IRODSRandomAccessFile implements DataInput, DataOutput {
 	 */
 	@Override
 	public long readLong() throws EOFException, IOException {
-		byte bytes[] = new byte[Host.MAX_TYPE_SIZE];
+		byte bytes[] = valueBytes;
 		readFully(bytes, 0, fileFormat.getLongSize());
 		return fileFormat.longValue(bytes);
 	}
@@ -399,7 +467,7 @@ public class IRODSRandomAccessFile implements DataInput, DataOutput {
 	 */
 	@Override
 	public short readShort() throws EOFException, IOException {
-		byte bytes[] = new byte[Host.MAX_TYPE_SIZE];
+		byte bytes[] = valueBytes;
 		readFully(bytes, 0, fileFormat.getShortSize());
 		return fileFormat.shortValue(bytes);
 	}
@@ -482,7 +550,7 @@ public class IRODSRandomAccessFile implements DataInput, DataOutput {
 	 */
 	@Override
 	public int readUnsignedShort() throws IOException, EOFException {
-		byte bytes[] = new byte[Host.MAX_TYPE_SIZE];
+		byte bytes[] = valueBytes;
 		readFully(bytes, 0, fileFormat.getShortSize());
 		return fileFormat.unsignedShortValue(bytes);
 	}
@@ -517,7 +585,7 @@ public class IRODSRandomAccessFile implements DataInput, DataOutput {
 			newPosition = length;
 		}
 
-		seek(newPosition, SeekWhenceType.SEEK_CURRENT);
+		seek(newPosition, SeekWhenceType.SEEK_START);
 
 		return (int) (newPosition - position);
 	}
@@ -637,7 +705,7 @@ public class IRODSRandomAccessFile implements DataInput, DataOutput {
 	 */
 	@Override
 	public void writeChar(final int v) throws IOException {
-		byte bytes[] = new byte[Host.MAX_TYPE_SIZE];
+		byte bytes[] = valueBytes;
 		int nBytes = fileFormat.encodeShort(v, bytes);
 		write(bytes, 0, nBytes);
 	}
@@ -681,7 +749,7 @@ public class IRODSRandomAccessFile implements DataInput, DataOutput {
 	 */
 	@Override
 	public void writeDouble(final double v) throws IOException {
-		byte bytes[] = new byte[Host.MAX_TYPE_SIZE];
+		byte bytes[] = valueBytes;
 		int nBytes = fileFormat.encodeDouble(v, bytes);
 		write(bytes, 0, nBytes);
 	}
@@ -707,7 +775,7 @@ public class IRODSRandomAccessFile implements DataInput, DataOutput {
 	 */
 	@Override
 	public void writeFloat(final float v) throws IOException {
-		byte bytes[] = new byte[Host.MAX_TYPE_SIZE];
+		byte bytes[] = valueBytes;
 		int nBytes = fileFormat.encodeFloat(v, bytes);
 		write(bytes, 0, nBytes);
 	}
@@ -732,7 +800,7 @@ public class IRODSRandomAccessFile implements DataInput, DataOutput {
 	 */
 	@Override
 	public void writeInt(final int v) throws IOException {
-		byte bytes[] = new byte[Host.MAX_TYPE_SIZE];
+		byte bytes[] = valueBytes;
 		int nBytes = fileFormat.encodeInt(v, bytes);
 		write(bytes, 0, nBytes);
 	}
@@ -758,7 +826,7 @@ public class IRODSRandomAccessFile implements DataInput, DataOutput {
 	 */
 	@Override
 	public void writeLong(final long v) throws IOException {
-		byte bytes[] = new byte[Host.MAX_TYPE_SIZE];
+		byte bytes[] = valueBytes;
 		int nBytes = fileFormat.encodeLong(v, bytes);
 		write(bytes, 0, nBytes);
 	}
@@ -784,7 +852,7 @@ public class IRODSRandomAccessFile implements DataInput, DataOutput {
 	 */
 	@Override
 	public void writeShort(final int v) throws IOException {
-		byte bytes[] = new byte[Host.MAX_TYPE_SIZE];
+		byte bytes[] = valueBytes;
 		int nBytes = fileFormat.encodeShort(v, bytes);
 		write(bytes, 0, nBytes);
 	}
@@ -868,20 +936,10 @@ public class IRODSRandomAccessFile implements DataInput, DataOutput {
 	 *             reached.
 	 */
 	public int read() throws IOException {
-		byte buffer[] = new byte[1];
-		int offset = 0;
-		int read;
-		try {
-			read = fileIOOperations.fileRead(irodsFile.getFileDescriptor(),
-					buffer, offset, 1);
-		} catch (JargonException e) {
-			log.error("JargonException reading file", e);
-			throw new IOException(e);
-		}
-		if (read == 1 && buffer != null) {
-			filePointer += 1;
-
-			return buffer[0];
+		byte buffer[] = valueBytes;
+		int read = readBytes(buffer, 0, 1);
+		if (read == 1) {
+			return buffer[0] & 0xff;
 		}
 		return -1;
 
@@ -901,17 +959,141 @@ public class IRODSRandomAccessFile implements DataInput, DataOutput {
 	 */
 	protected int readBytes(final byte buffer[], final int offset, final int len)
 			throws IOException {
-		int read;
+
+		if (!isManagingPosition()) {
+			int read;
+			try {
+				read = fileIOOperations.fileRead(irodsFile.getFileDescriptor(),
+						buffer, offset, len);
+			} catch (JargonException e) {
+				log.error("JargonException reading file", e);
+				throw new IOException(e);
+			}
+			filePointer += read;
+
+			return read;
+		}
+
+		if (len == 0) {
+			return 0;
+		}
+
 		try {
-			read = fileIOOperations.fileRead(irodsFile.getFileDescriptor(),
-					buffer, offset, len);
+			if (writeBehindLength > 0 && filePointer < writeBehindStart
+					+ writeBehindLength
+					&& filePointer + len > writeBehindStart) {
+				flushWriteBehind();
+			}
+
+			int read;
+			if (pages == null || len >= pageSize) {
+				moveIrodsPositionTo(filePointer);
+				read = fileIOOperations.fileRead(irodsFile.getFileDescriptor(),
+						buffer, offset, len);
+				if (read > 0) {
+					irodsPosition += read;
+				} else {
+					irodsPosition = -1L;
+				}
+			} else {
+				read = readFromPages(buffer, offset, len);
+			}
+
+			if (read > 0) {
+				filePointer += read;
+			}
+			return read;
+
 		} catch (JargonException e) {
 			log.error("JargonException reading file", e);
 			throw new IOException(e);
 		}
-		filePointer += read;
+	}
 
-		return read;
+	/**
+	 * Copy data at the file pointer from the cached pages, reading the pages
+	 * not cached from iRODS
+	 *
+	 * @return <code>int</code> with the bytes copied, or -1 at the end of the
+	 *         file
+	 */
+	private int readFromPages(final byte buffer[], final int offset,
+			final int len) throws JargonException {
+		long position = filePointer;
+		int copied = 0;
+		while (copied < len) {
+			long pageNumber = position / pageSize;
+			byte[] page = pages.get(pageNumber);
+			if (page == null) {
+				page = readPages(pageNumber);
+			}
+			int inPage = (int) (position - pageNumber * pageSize);
+			if (inPage >= page.length) {
+				break;
+			}
+			int count = Math.min(len - copied, page.length - inPage);
+			System.arraycopy(page, inPage, buffer, offset + copied, count);
+			copied += count;
+			position += count;
+			if (page.length < pageSize) {
+				break;
+			}
+		}
+		return copied == 0 ? -1 : copied;
+	}
+
+	/**
+	 * Read a page from iRODS into the cache, along with the pages after it if
+	 * reading has been going through the file in order
+	 *
+	 * @return <code>byte[]</code> with the page asked for, shorter than a page
+	 *         at the end of the file
+	 */
+	private byte[] readPages(final long pageNumber) throws JargonException {
+		if (pageNumber == nextSequentialPage) {
+			readAheadPages = Math.min(readAheadPages * 2, maxReadAheadPages);
+		} else {
+			readAheadPages = 1;
+		}
+
+		byte[] data = new byte[pageSize * readAheadPages];
+		long start = pageNumber * pageSize;
+		if (writeBehindLength > 0 && writeBehindStart < start + data.length
+				&& writeBehindStart + writeBehindLength > start) {
+			flushWriteBehind();
+		}
+
+		moveIrodsPositionTo(start);
+		int total = 0;
+		while (total < data.length) {
+			int read = fileIOOperations.fileRead(irodsFile.getFileDescriptor(),
+					data, total, data.length - total);
+			if (read <= 0) {
+				break;
+			}
+			total += read;
+		}
+		irodsPosition += total;
+
+		log.debug("read {} pages from page {}", readAheadPages, pageNumber);
+
+		byte[] first = null;
+		for (int i = 0; i < readAheadPages; i++) {
+			int pageStart = i * pageSize;
+			int length = Math.max(0, Math.min(pageSize, total - pageStart));
+			byte[] page = new byte[length];
+			System.arraycopy(data, pageStart, page, 0, length);
+			pages.put(pageNumber + i, page);
+			if (i == 0) {
+				first = page;
+			}
+			if (length < pageSize) {
+				break;
+			}
+		}
+
+		nextSequentialPage = pageNumber + readAheadPages;
+		return first;
 	}
 
 	/**
@@ -928,15 +1110,125 @@ public class IRODSRandomAccessFile implements DataInput, DataOutput {
 	 */
 	protected void writeBytes(final byte buffer[], final int offset,
 			final int len) throws IOException {
+
+		if (!isManagingPosition()) {
+			try {
+				filePointer += fileIOOperations.write(
+						irodsFile.getFileDescriptor(), buffer, offset, len);
+			} catch (JargonException e) {
+				log.error("JargonException reading file", e);
+				throw new IOException(e);
+			}
+			return;
+		}
+
+		if (len == 0) {
+			return;
+		}
+
 		try {
-			filePointer += fileIOOperations.write(
-					irodsFile.getFileDescriptor(), buffer, offset, len);
+			dropPages(filePointer, len);
+
+			if (writeBehindLength > 0
+					&& (filePointer != writeBehindStart + writeBehindLength || writeBehindLength
+							+ len > writeBehind.length)) {
+				flushWriteBehind();
+			}
+
+			if (writeBehind == null || len >= writeBehind.length) {
+				moveIrodsPositionTo(filePointer);
+				int written = fileIOOperations.write(
+						irodsFile.getFileDescriptor(), buffer, offset, len);
+				irodsPosition += written;
+				filePointer += written;
+				return;
+			}
+
+			if (writeBehindLength == 0) {
+				writeBehindStart = filePointer;
+			}
+			System.arraycopy(buffer, offset, writeBehind, writeBehindLength,
+					len);
+			writeBehindLength += len;
+			filePointer += len;
+
 		} catch (JargonException e) {
-			log.error("JargonException reading file", e);
+			log.error("JargonException writing file", e);
+			throw new IOException(e);
+		}
+	}
+
+	/**
+	 * Send any writes gathered and not yet sent to iRODS
+	 *
+	 * @throws IOException
+	 *             if an I/O error occurs.
+	 */
+	public void flush() throws IOException {
+		try {
+			flushWriteBehind();
+		} catch (JargonException e) {
+			log.error("JargonException writing file", e);
 			throw new IOException(e);
 		}
 	}
 
+	/**
+	 * @return <code>true</code> if this file caches reads or gathers writes, so
+	 *         keeps its own position in iRODS rather than passing each call
+	 *         straight through
+	 */
+	private boolean isManagingPosition() {
+		return pages != null || writeBehind != null;
+	}
+
+	private void flushWriteBehind() throws JargonException {
+		if (writeBehindLength == 0) {
+			return;
+		}
+		log.debug("writing {} gathered bytes", writeBehindLength);
+		moveIrodsPositionTo(writeBehindStart);
+		int written = fileIOOperations.write(irodsFile.getFileDescriptor(),
+				writeBehind, 0, writeBehindLength);
+		irodsPosition += written;
+		writeBehindLength = 0;
+	}
+
+	/**
+	 * Drop the cached pages that a write changes, including a page that ends
+	 * the file before the write, as the file will now go on past it
+	 */
+	private void dropPages(final long position, final int len) {
+		if (pages == null) {
+			return;
+		}
+		long lastPage = (position + len - 1) / pageSize;
+		for (long pageNumber = position / pageSize; pageNumber <= lastPage; pageNumber++) {
+			pages.remove(pageNumber);
+		}
+		Iterator<Map.Entry<Long, byte[]>> iterator = pages.entrySet()
+				.iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<Long, byte[]> entry = iterator.next();
+			if (entry.getValue().length < pageSize
+					&& entry.getKey() * pageSize <= position) {
+				iterator.remove();
+			}
+		}
+		if (nextSequentialPage > position / pageSize) {
+			nextSequentialPage = -1L;
+		}
+	}
+
+	private void moveIrodsPositionTo(final long position)
+			throws JargonException {
+		if (irodsPosition != position) {
+			fileIOOperations.seek(irodsFile.getFileDescriptor(), position,
+					SeekWhenceType.SEEK_START);
+			irodsPosition = position;
+		}
+	}
+
 	/**
 	 * Returns the current offset in this file.
 	 *
@@ -976,6 +1268,25 @@ public class IRODSRandomAccessFile implements DataInput, DataOutput {
 			throw new IllegalArgumentException();
 		}
 
+		if (isManagingPosition()) {
+			long newPosition;
+			if (origin == SeekWhenceType.SEEK_CURRENT) {
+				newPosition = filePointer + position;
+			} else if (origin == SeekWhenceType.SEEK_END) {
+				newPosition = length() + position;
+			} else {
+				newPosition = position;
+			}
+			if (pages != null && !pages.containsKey(newPosition / pageSize)) {
+				/*
+				 * moving out of the cached pages starts read ahead over
+				 */
+				nextSequentialPage = -1L;
+			}
+			filePointer = newPosition;
+			return;
+		}
+
 		try {
 			fileIOOperations.seek(irodsFile.getFileDescriptor(), position,
 					origin);
@@ -1020,6 +1331,7 @@ public class IRODSRandomAccessFile implements DataInput, DataOutput {
 	 *             if an I/O error occurs.
 	 */
 	public long length() throws IOException {
+		flush();
 		return irodsFile.length();
 	}
 
@@ -1083,12 +1395,30 @@ public class IRODSRandomAccessFile implements DataInput, DataOutput {
 	 * This method closes the underlying IRODSFileImpl
 	 */
 	public void close() throws IOException {
+		log.debug("closing: {}", irodsFile.getAbsolutePath());
+		JargonException failure = null;
+		try {
+			flushWriteBehind();
+		} catch (JargonException e) {
+			log.error("JargonException writing gathered bytes on close", e);
+			failure = e;
+		}
+
+		if (pages != null) {
+			pages.clear();
+		}
+
 		try {
-			log.debug("closing: {}", irodsFile.getAbsolutePath());
 			irodsFile.close();
 		} catch (JargonException e) {
-			log.error("JargonException reading file", e);
-			throw new IOException(e);
+			log.error("JargonException closing file", e);
+			if (failure == null) {
+				failure = e;
+			}
+		}
+
+		if (failure != null) {
+			throw new IOException(failure);
 		}
 
 	}
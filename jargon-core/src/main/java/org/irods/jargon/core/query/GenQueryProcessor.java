@@ -12,7 +12,6 @@ import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.packinstr.GenQueryInp;
 import org.irods.jargon.core.packinstr.Tag;
 import org.irods.jargon.core.pub.IRODSGenQueryExecutorImpl.QueryCloseBehavior;
-import org.irods.jargon.core.utils.IRODSConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -128,6 +127,83 @@ public class GenQueryProcessor {
 		}
 	}
 
+	/**
+	 * Execute a translated query, returning the results held column by column
+	 * in an {@link IRODSColumnarQueryResultSet}, which takes less memory for
+	 * large pages than a result set of rows
+	 *
+	 * @param translatedIRODSQuery
+	 *            {@link TranslatedIRODSGenQuery}
+	 * @param continueIndex
+	 *            <code>int</code> with the continuation of a previous page, or
+	 *            0
+	 * @param partialStartIndex
+	 *            <code>int</code> with the offset into the results, or 0
+	 * @param queryCloseBehavior
+	 *            {@link QueryCloseBehavior}
+	 * @param zoneName
+	 *            <code>String</code> (<code>null</code> or blank if not used)
+	 *            that indicates an optional zone for the query
+	 * @return {@link IRODSColumnarQueryResultSet}
+	 * @throws JargonException
+	 */
+	public IRODSColumnarQueryResultSet executeTranslatedIRODSQueryColumnar(
+			final TranslatedIRODSGenQuery translatedIRODSQuery,
+			final int continueIndex, final int partialStartIndex,
+			final QueryCloseBehavior queryCloseBehavior, final String zoneName)
+			throws JargonException {
+
+		if (continueIndex < 0) {
+			throw new JargonException("continue index must be >= 0");
+		}
+
+		if (partialStartIndex < 0) {
+			throw new JargonException(
+					"partial start index cannot be less than zero");
+		}
+
+		GenQueryInp genQueryInp;
+
+		if (partialStartIndex == 0) {
+			genQueryInp = GenQueryInp.instance(translatedIRODSQuery,
+					continueIndex, zoneName);
+		} else {
+			genQueryInp = GenQueryInp.instanceWithPartialStart(
+					translatedIRODSQuery, partialStartIndex, zoneName);
+		}
+
+		IRODSColumnarQueryResultSet resultSet;
+		try {
+			Tag response = sendGenQueryAndReturnResponse(genQueryInp);
+
+			int continuation = QueryResultProcessingUtils
+					.getContinuationValue(response);
+			log.info("continuation value: {}", continuation);
+
+			int totalRecords = response.getTag("totalRowCount").getIntValue();
+			log.info("total records:{}", totalRecords);
+
+			resultSet = QueryResultProcessingUtils
+					.translateResponseIntoColumnarResultSet(response,
+							translatedIRODSQuery, continuation, totalRecords,
+							partialStartIndex);
+		} catch (DataNotFoundException dnf) {
+			log.info("response from IRODS call indicates no rows found");
+			return QueryResultProcessingUtils
+					.translateResponseIntoColumnarResultSet(null,
+							translatedIRODSQuery, 0, 0, partialStartIndex);
+		}
+
+		if (resultSet.isHasMoreRecords()
+				&& queryCloseBehavior == QueryCloseBehavior.AUTO_CLOSE) {
+			log.info("auto closing result set");
+			closeResults(resultSet.getTranslatedIRODSQuery(),
+					resultSet.getContinuationIndex());
+		}
+
+		return resultSet;
+	}
+
 	/**
 	 * Send the query
 	 * 
@@ -139,8 +215,7 @@ public class GenQueryProcessor {
 	public Tag sendGenQueryAndReturnResponse(final GenQueryInp genQueryInp)
 			throws JargonException, DataNotFoundException {
 
-		Tag response = irodsCommands.irodsFunction(IRODSConstants.RODS_API_REQ,
-				genQueryInp.getParsedTags(), GenQueryInp.API_NBR);
+		Tag response = irodsCommands.irodsFunction(genQueryInp);
 
 		return response;
 	}
@@ -164,13 +239,42 @@ public class GenQueryProcessor {
 			return;
 		}
 
-		GenQueryInp genQueryInp = GenQueryInp.instanceForCloseQuery(
-				irodsQueryResultSet.getTranslatedIRODSQuery(),
+		closeResults(irodsQueryResultSet.getTranslatedIRODSQuery(),
 				irodsQueryResultSet.getContinuationIndex());
-		sendGenQueryAndReturnResponse(genQueryInp);
 
 	}
 
+	/**
+	 * send the notification to iRODS to close the query result set.
+	 *
+	 * @param irodsColumnarQueryResultSet
+	 * @throws JargonException
+	 */
+	public void closeResults(
+			final IRODSColumnarQueryResultSet irodsColumnarQueryResultSet)
+			throws JargonException {
+
+		if (irodsColumnarQueryResultSet == null) {
+			throw new JargonException("null irodsColumnarQueryResultSet");
+		}
+
+		if (!irodsColumnarQueryResultSet.isHasMoreRecords()) {
+			log.info("no results to close, ignore");
+			return;
+		}
+
+		closeResults(irodsColumnarQueryResultSet.getTranslatedIRODSQuery(),
+				irodsColumnarQueryResultSet.getContinuationIndex());
+	}
+
+	private void closeResults(
+			final TranslatedIRODSGenQuery translatedIRODSQuery,
+			final int continuationIndex) throws JargonException {
+		GenQueryInp genQueryInp = GenQueryInp.instanceForCloseQuery(
+				translatedIRODSQuery, continuationIndex);
+		sendGenQueryAndReturnResponse(genQueryInp);
+	}
+
 	/**
 	 * translate the given query
 	 * 
@@ -0,0 +1,256 @@
+package org.irods.jargon.core.query;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.exception.JargonRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Iterates over the rows of a GenQuery a page at a time, asking iRODS for the
+ * next page once the rows of the current one have been handed out, so that
+ * only the current page, and the next one if it is prefetched, is held in
+ * memory however many rows the query returns.
+ * <p/>
+ * When given an <code>ExecutorService</code>, the next page is fetched on one
+ * of its threads while the rows of the current page are read. Calls to iRODS
+ * on a connection are serialized, so the caller may make other calls on the
+ * same connection in the meantime.
+ * <p/>
+ * The query stays open in iRODS until its last page has been read. Call
+ * {@link #close()} when done, in particular when stopping before the end, to
+ * close the query in iRODS. This is meant to be used in a
+ * <code>try</code>-with-resources block, from a single thread.
+ * <p/>
+ * <code>Iterator</code> methods may not throw a <code>JargonException</code>,
+ * so an error getting a page is thrown as a {@link JargonRuntimeException}
+ * wrapping it.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public abstract class GenQueryResultIterator implements
+		Iterator<IRODSQueryResultRow>, AutoCloseable {
+
+	public static final Logger log = LoggerFactory
+			.getLogger(GenQueryResultIterator.class);
+
+	private final ExecutorService prefetchExecutor;
+	private IRODSQueryResultSet currentPage;
+	private List<IRODSQueryResultRow> currentRows;
+	private int nextRow = 0;
+	private Future<IRODSQueryResultSet> nextPage = null;
+	private boolean closed = false;
+
+	/**
+	 * Create an iterator starting with the first page of results of a query
+	 * executed without closing its results
+	 *
+	 * @param firstPage
+	 *            {@link IRODSQueryResultSet} with the first page of results
+	 * @param prefetchExecutor
+	 *            <code>ExecutorService</code> that fetches the next page
+	 *            while the current one is read, or <code>null</code> to fetch
+	 *            each page when it is needed
+	 */
+	protected GenQueryResultIterator(final IRODSQueryResultSet firstPage,
+			final ExecutorService prefetchExecutor) {
+
+		if (firstPage == null) {
+			throw new IllegalArgumentException("null firstPage");
+		}
+
+		this.prefetchExecutor = prefetchExecutor;
+		startPage(firstPage);
+	}
+
+	/**
+	 * Get the page of results that follows the given one
+	 *
+	 * @param previousPage
+	 *            {@link IRODSQueryResultSet} with more records
+	 * @return {@link IRODSQueryResultSet} with the next page
+	 * @throws JargonException
+	 */
+	protected abstract IRODSQueryResultSet fetchNextPage(
+			IRODSQueryResultSet previousPage) throws JargonException;
+
+	/**
+	 * Close the query in iRODS, which still holds more results than the given
+	 * page
+	 *
+	 * @param lastPage
+	 *            {@link IRODSQueryResultSet} with more records
+	 * @throws JargonException
+	 */
+	protected abstract void closeResults(IRODSQueryResultSet lastPage)
+			throws JargonException;
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.util.Iterator#hasNext()
+	 */
+	@Override
+	public boolean hasNext() {
+		if (closed) {
+			return false;
+		}
+
+		while (nextRow >= currentRows.size()) {
+			if (!currentPage.isHasMoreRecords()) {
+				closed = true;
+				currentRows = null;
+				return false;
+			}
+			startPage(takeNextPage());
+		}
+
+		return true;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.util.Iterator#next()
+	 */
+	@Override
+	public IRODSQueryResultRow next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException("no more query results");
+		}
+		return currentRows.get(nextRow++);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.util.Iterator#remove()
+	 */
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException("query results are read only");
+	}
+
+	/**
+	 * Stop iterating, closing the query in iRODS if it still holds results.
+	 * A page being prefetched is waited for, so that the query is closed after
+	 * it. Calling this more than once has no further effect.
+	 *
+	 * @throws JargonException
+	 */
+	@Override
+	public void close() throws JargonException {
+		if (closed) {
+			return;
+		}
+
+		log.debug("closing query results iterator");
+		closed = true;
+		currentRows = null;
+		IRODSQueryResultSet lastPage = currentPage;
+		if (nextPage != null && !nextPage.cancel(false)) {
+			try {
+				lastPage = waitForNextPage();
+			} catch (JargonException e) {
+				log.warn("prefetch failed, query results not closed", e);
+				return;
+			}
+		}
+		nextPage = null;
+
+		if (lastPage.isHasMoreRecords()) {
+			closeResults(lastPage);
+		}
+	}
+
+	/**
+	 * @return <code>boolean</code> of <code>true</code> if the iterator was
+	 *         closed, or has handed out every row
+	 */
+	public boolean isClosed() {
+		return closed;
+	}
+
+	/**
+	 * Get a sequential <code>Stream</code> of the remaining rows. Closing the
+	 * stream closes this iterator, so it is also meant to be used in a
+	 * <code>try</code>-with-resources block.
+	 *
+	 * @return <code>Stream</code> of {@link IRODSQueryResultRow}
+	 */
+	public Stream<IRODSQueryResultRow> stream() {
+		return StreamSupport.stream(
+				Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED
+						| Spliterator.NONNULL), false).onClose(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					close();
+				} catch (JargonException e) {
+					throw new JargonRuntimeException(e);
+				}
+			}
+		});
+	}
+
+	private void startPage(final IRODSQueryResultSet page) {
+		currentPage = page;
+		currentRows = page.getResults();
+		nextRow = 0;
+		nextPage = null;
+
+		if (prefetchExecutor != null && page.isHasMoreRecords()) {
+			nextPage = prefetchExecutor
+					.submit(new Callable<IRODSQueryResultSet>() {
+						@Override
+						public IRODSQueryResultSet call() throws Exception {
+							return fetchNextPage(page);
+						}
+					});
+		}
+	}
+
+	private IRODSQueryResultSet takeNextPage() {
+		try {
+			if (nextPage != null) {
+				return waitForNextPage();
+			}
+			return fetchNextPage(currentPage);
+		} catch (JargonException e) {
+			closed = true;
+			currentRows = null;
+			throw new JargonRuntimeException(e);
+		}
+	}
+
+	private IRODSQueryResultSet waitForNextPage() throws JargonException {
+		try {
+			return nextPage.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JargonException("interrupted waiting for query results",
+					e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof JargonException) {
+				throw (JargonException) e.getCause();
+			}
+			throw new JargonException("error getting query results",
+					e.getCause());
+		} finally {
+			nextPage = null;
+		}
+	}
+
+}
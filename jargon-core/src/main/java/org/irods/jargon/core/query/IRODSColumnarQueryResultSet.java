@@ -0,0 +1,522 @@
+package org.irods.jargon.core.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.utils.IRODSDataConversionUtil;
+
+/**
+ * A page of GenQuery results held column by column, rather than as a
+ * <code>List</code> of {@link IRODSQueryResultRow}. Each column is stored in
+ * the most compact form its values allow:
+ * <ul>
+ * <li>numbers, such as sizes, ids and times, in a <code>long[]</code></li>
+ * <li>strings that repeat, such as owners, zones, resources and the parent
+ * collection of a listing, as an <code>int[]</code> of codes into a table
+ * holding each distinct value once</li>
+ * <li>other strings in a <code>String[]</code></li>
+ * </ul>
+ * The encoding is lossless, {@link #getString(int, int)} gives back the value
+ * iRODS sent. Typed accessors read numeric columns without parsing, and parse
+ * the others as {@link IRODSQueryResultRow} does.
+ * <p/>
+ * Rows are numbered from 0 within the page. A result set built from a query
+ * with a partial start gives the position of each row in the whole query
+ * through {@link #getRecordCount(int)}.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class IRODSColumnarQueryResultSet {
+
+	/**
+	 * How the values of a column are stored
+	 */
+	public enum ColumnEncoding {
+		NUMERIC, DICTIONARY, STRING
+	}
+
+	/**
+	 * Longest run of digits stored as a number, so that it fits a
+	 * <code>long</code>
+	 */
+	private static final int MAX_NUMERIC_DIGITS = 18;
+
+	private final TranslatedIRODSGenQuery translatedIRODSQuery;
+	private final List<String> columnNames;
+	private final ResultColumn[] columns;
+	private final int rowCount;
+	private final int continuationIndex;
+	private final int totalRecords;
+	private final int partialStartIndex;
+
+	/**
+	 * Create a result set from the values of each column
+	 *
+	 * @param translatedIRODSQuery
+	 *            {@link TranslatedIRODSGenQuery} that had been sent to get
+	 *            these results.
+	 * @param columnValues
+	 *            <code>List</code> with a <code>String[]</code> of the values
+	 *            of each column, in the order of the selects, each holding a
+	 *            value per row
+	 * @param rowCount
+	 *            <code>int</code> with the number of rows
+	 * @param continuationIndex
+	 *            <code>int</code> that indicates the continuation sent by
+	 *            iRODS, more results are available if it is greater than 0
+	 * @param totalRecords
+	 *            <code>int</code> with the total records, corresponding to
+	 *            totalRowCount in the genQueryOut_t structure
+	 * @param partialStartIndex
+	 *            <code>int</code> with the offset into the query results of
+	 *            the first row
+	 * @return {@link IRODSColumnarQueryResultSet}
+	 * @throws JargonException
+	 */
+	public static IRODSColumnarQueryResultSet instance(
+			final TranslatedIRODSGenQuery translatedIRODSQuery,
+			final List<String[]> columnValues, final int rowCount,
+			final int continuationIndex, final int totalRecords,
+			final int partialStartIndex) throws JargonException {
+
+		if (translatedIRODSQuery == null) {
+			throw new JargonException("translated IRODS query is null");
+		}
+
+		if (columnValues == null) {
+			throw new JargonException("columnValues is null");
+		}
+
+		if (rowCount < 0) {
+			throw new JargonException("rowCount is < 0");
+		}
+
+		List<String> columnNames = new ArrayList<String>();
+		for (GenQuerySelectField selectField : translatedIRODSQuery
+				.getSelectFields()) {
+			columnNames.add(selectField.getSelectFieldColumnName());
+		}
+
+		if (rowCount > 0 && columnValues.size() != columnNames.size()) {
+			throw new JargonException(
+					"number of columns does not match the selects");
+		}
+
+		ResultColumn[] columns = new ResultColumn[columnNames.size()];
+		for (int i = 0; i < columns.length; i++) {
+			if (rowCount == 0) {
+				columns[i] = new StringColumn(new String[0]);
+				continue;
+			}
+			String[] values = columnValues.get(i);
+			if (values == null || values.length < rowCount) {
+				throw new JargonException("missing values for column:"
+						+ columnNames.get(i));
+			}
+			columns[i] = encodeColumn(values, rowCount);
+		}
+
+		return new IRODSColumnarQueryResultSet(translatedIRODSQuery,
+				Collections.unmodifiableList(columnNames), columns, rowCount,
+				continuationIndex, totalRecords, partialStartIndex);
+	}
+
+	private IRODSColumnarQueryResultSet(
+			final TranslatedIRODSGenQuery translatedIRODSQuery,
+			final List<String> columnNames, final ResultColumn[] columns,
+			final int rowCount, final int continuationIndex,
+			final int totalRecords, final int partialStartIndex) {
+		this.translatedIRODSQuery = translatedIRODSQuery;
+		this.columnNames = columnNames;
+		this.columns = columns;
+		this.rowCount = rowCount;
+		this.continuationIndex = continuationIndex;
+		this.totalRecords = totalRecords;
+		this.partialStartIndex = partialStartIndex;
+	}
+
+	/**
+	 * Get the value of a column as iRODS sent it
+	 *
+	 * @param row
+	 *            <code>int</code> with the row within this page
+	 * @param column
+	 *            <code>int</code> with the position of the column
+	 * @return <code>String</code> with the value
+	 * @throws JargonException
+	 *             if the row or column is out of range
+	 */
+	public String getString(final int row, final int column)
+			throws JargonException {
+		return checkColumn(row, column).getString(row);
+	}
+
+	/**
+	 * Get the value of a column as a <code>long</code>, or <code>0</code> if
+	 * it is empty
+	 *
+	 * @param row
+	 *            <code>int</code> with the row within this page
+	 * @param column
+	 *            <code>int</code> with the position of the column
+	 * @return <code>long</code> with the value
+	 * @throws JargonException
+	 *             if the row or column is out of range
+	 */
+	public long getLongOrZero(final int row, final int column)
+			throws JargonException {
+		ResultColumn resultColumn = checkColumn(row, column);
+		if (resultColumn instanceof NumericColumn) {
+			return ((NumericColumn) resultColumn).values[row];
+		}
+		return IRODSDataConversionUtil
+				.getLongOrZeroFromIRODSValue(resultColumn.getString(row));
+	}
+
+	/**
+	 * Get the value of a column as an <code>int</code>, or <code>0</code> if
+	 * it is empty
+	 *
+	 * @param row
+	 *            <code>int</code> with the row within this page
+	 * @param column
+	 *            <code>int</code> with the position of the column
+	 * @return <code>int</code> with the value
+	 * @throws JargonException
+	 *             if the row or column is out of range
+	 */
+	public int getIntOrZero(final int row, final int column)
+			throws JargonException {
+		ResultColumn resultColumn = checkColumn(row, column);
+		if (resultColumn instanceof NumericColumn) {
+			long value = ((NumericColumn) resultColumn).values[row];
+			if (value > Integer.MAX_VALUE) {
+				throw new IllegalArgumentException("cannot format number:"
+						+ value);
+			}
+			return (int) value;
+		}
+		return IRODSDataConversionUtil
+				.getIntOrZeroFromIRODSValue(resultColumn.getString(row));
+	}
+
+	/**
+	 * Get the value of a column holding an iRODS time, in seconds, as a
+	 * <code>Date</code>, or <code>null</code> if it is empty
+	 *
+	 * @param row
+	 *            <code>int</code> with the row within this page
+	 * @param column
+	 *            <code>int</code> with the position of the column
+	 * @return {@link Date} or <code>null</code>
+	 * @throws JargonException
+	 *             if the row or column is out of range
+	 */
+	public Date getDateOrNull(final int row, final int column)
+			throws JargonException {
+		ResultColumn resultColumn = checkColumn(row, column);
+		if (resultColumn instanceof NumericColumn) {
+			return new Date(((NumericColumn) resultColumn).values[row] * 1000L);
+		}
+		return IRODSDataConversionUtil.getDateFromIRODSValue(resultColumn
+				.getString(row));
+	}
+
+	/**
+	 * Get a row as an {@link IRODSQueryResultRow}, for code that works on rows
+	 *
+	 * @param row
+	 *            <code>int</code> with the row within this page
+	 * @return {@link IRODSQueryResultRow}
+	 * @throws JargonException
+	 *             if the row is out of range
+	 */
+	public IRODSQueryResultRow getRow(final int row) throws JargonException {
+		if (row < 0 || row >= rowCount) {
+			throw new JargonException("row out of range");
+		}
+		List<String> values = new ArrayList<String>(columns.length);
+		for (ResultColumn resultColumn : columns) {
+			values.add(resultColumn.getString(row));
+		}
+		return IRODSQueryResultRow.instance(values, columnNames,
+				getRecordCount(row), isLastResult(), totalRecords);
+	}
+
+	/**
+	 * Get the position of the column with the given name
+	 *
+	 * @param columnName
+	 *            <code>String</code> with the name of the column
+	 * @return <code>int</code> with the position of the column
+	 * @throws JargonException
+	 *             if no column has the name
+	 */
+	public int getColumnIndex(final String columnName) throws JargonException {
+		if (columnName == null || columnName.isEmpty()) {
+			throw new JargonException("columnName is null or empty");
+		}
+
+		int idx = columnNames.indexOf(columnName);
+		if (idx == -1) {
+			throw new JargonException("column name not found in result set:"
+					+ columnName);
+		}
+		return idx;
+	}
+
+	/**
+	 * Get how the values of a column are stored
+	 *
+	 * @param column
+	 *            <code>int</code> with the position of the column
+	 * @return {@link ColumnEncoding}
+	 */
+	public ColumnEncoding getColumnEncoding(final int column) {
+		if (column < 0 || column >= columns.length) {
+			throw new IllegalArgumentException("column out of range");
+		}
+		return columns[column].getEncoding();
+	}
+
+	/**
+	 * Get the position of a row in the results of the whole query, counting
+	 * from 1
+	 *
+	 * @param row
+	 *            <code>int</code> with the row within this page
+	 * @return <code>int</code> with the record count of the row
+	 */
+	public int getRecordCount(final int row) {
+		return partialStartIndex + row + 1;
+	}
+
+	/**
+	 * @return <code>boolean</code> of <code>true</code> if this page holds the
+	 *         last of the results
+	 */
+	public boolean isLastResult() {
+		return continuationIndex == 0;
+	}
+
+	/**
+	 * @return <code>int</code> with the number of rows in this page
+	 */
+	public int getRowCount() {
+		return rowCount;
+	}
+
+	public TranslatedIRODSGenQuery getTranslatedIRODSQuery() {
+		return translatedIRODSQuery;
+	}
+
+	public List<String> getColumnNames() {
+		return columnNames;
+	}
+
+	public int getNumberOfResultColumns() {
+		return columnNames.size();
+	}
+
+	public boolean isHasMoreRecords() {
+		return continuationIndex > 0;
+	}
+
+	public int getContinuationIndex() {
+		return continuationIndex;
+	}
+
+	public int getTotalRecords() {
+		return totalRecords;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("IRODSColumnarQueryResultSet [");
+		builder.append("columnNames=").append(columnNames).append(", ");
+		builder.append("rowCount=").append(rowCount).append(", ");
+		builder.append("continuationIndex=").append(continuationIndex)
+				.append(", ");
+		builder.append("totalRecords=").append(totalRecords);
+		builder.append("]");
+		return builder.toString();
+	}
+
+	private ResultColumn checkColumn(final int row, final int column)
+			throws JargonException {
+		if (column < 0 || column >= columns.length) {
+			throw new JargonException("column out of range");
+		}
+		if (row < 0 || row >= rowCount) {
+			throw new JargonException("row out of range");
+		}
+		return columns[column];
+	}
+
+	/**
+	 * Store values as numbers if each is a run of digits that is given back
+	 * unchanged, either without leading zeros or all zero padded to the same
+	 * width, as iRODS times are. Otherwise store them in a table of distinct
+	 * values if at most half of them are distinct.
+	 */
+	private static ResultColumn encodeColumn(final String[] values,
+			final int rowCount) {
+
+		int width = numericWidth(values[0]);
+		if (width >= 0) {
+			long[] numbers = new long[rowCount];
+			int i = 0;
+			for (; i < rowCount; i++) {
+				if (!isNumericOfWidth(values[i], width)) {
+					break;
+				}
+				numbers[i] = Long.parseLong(values[i]);
+			}
+			if (i == rowCount) {
+				return new NumericColumn(numbers, width);
+			}
+		}
+
+		int maxDistinct = rowCount / 2;
+		Map<String, Integer> codesByValue = new HashMap<String, Integer>();
+		int[] codes = new int[rowCount];
+		for (int i = 0; i < rowCount; i++) {
+			Integer code = codesByValue.get(values[i]);
+			if (code == null) {
+				if (codesByValue.size() == maxDistinct) {
+					String[] strings = new String[rowCount];
+					System.arraycopy(values, 0, strings, 0, rowCount);
+					return new StringColumn(strings);
+				}
+				code = codesByValue.size();
+				codesByValue.put(values[i], code);
+			}
+			codes[i] = code;
+		}
+
+		String[] dictionary = new String[codesByValue.size()];
+		for (Map.Entry<String, Integer> entry : codesByValue.entrySet()) {
+			dictionary[entry.getValue()] = entry.getKey();
+		}
+		return new DictionaryColumn(codes, dictionary);
+	}
+
+	/**
+	 * Get the width a value is zero padded to, <code>0</code> if it is not
+	 * padded, or <code>-1</code> if it is not stored as a number
+	 */
+	private static int numericWidth(final String value) {
+		int length = value.length();
+		if (length == 0 || length > MAX_NUMERIC_DIGITS) {
+			return -1;
+		}
+		for (int i = 0; i < length; i++) {
+			char c = value.charAt(i);
+			if (c < '0' || c > '9') {
+				return -1;
+			}
+		}
+		if (length > 1 && value.charAt(0) == '0') {
+			return length;
+		}
+		return 0;
+	}
+
+	/**
+	 * Check that a value is given back unchanged by a numeric column of the
+	 * given width
+	 */
+	private static boolean isNumericOfWidth(final String value, final int width) {
+		int valueWidth = numericWidth(value);
+		if (width == 0) {
+			return valueWidth == 0;
+		}
+		return valueWidth >= 0 && value.length() == width;
+	}
+
+	private static abstract class ResultColumn {
+		abstract ColumnEncoding getEncoding();
+
+		abstract String getString(int row);
+	}
+
+	private static final class NumericColumn extends ResultColumn {
+		private final long[] values;
+		private final int width;
+
+		NumericColumn(final long[] values, final int width) {
+			this.values = values;
+			this.width = width;
+		}
+
+		@Override
+		ColumnEncoding getEncoding() {
+			return ColumnEncoding.NUMERIC;
+		}
+
+		@Override
+		String getString(final int row) {
+			String value = Long.toString(values[row]);
+			if (value.length() >= width) {
+				return value;
+			}
+			StringBuilder sb = new StringBuilder(width);
+			for (int i = value.length(); i < width; i++) {
+				sb.append('0');
+			}
+			sb.append(value);
+			return sb.toString();
+		}
+	}
+
+	private static final class DictionaryColumn extends ResultColumn {
+		private final int[] codes;
+		private final String[] dictionary;
+
+		DictionaryColumn(final int[] codes, final String[] dictionary) {
+			this.codes = codes;
+			this.dictionary = dictionary;
+		}
+
+		@Override
+		ColumnEncoding getEncoding() {
+			return ColumnEncoding.DICTIONARY;
+		}
+
+		@Override
+		String getString(final int row) {
+			return dictionary[codes[row]];
+		}
+	}
+
+	private static final class StringColumn extends ResultColumn {
+		private final String[] values;
+
+		StringColumn(final String[] values) {
+			this.values = values;
+		}
+
+		@Override
+		ColumnEncoding getEncoding() {
+			return ColumnEncoding.STRING;
+		}
+
+		@Override
+		String getString(final int row) {
+			return values[row];
+		}
+	}
+
+}
@@ -76,13 +76,21 @@ public class QueryResultProcessingUtils {
 		int attributes = queryResponse.getTag(GenQueryOut.ATTRIB_CNT)
 				.getIntValue();
 
+		/*
+		 * results are laid out column-wise, one SqlResult_PI per attribute,
+		 * each holding a value per row after the attribute index and length
+		 * tags, so look up each column once rather than per cell
+		 */
+		List<Tag> columns = new ArrayList<Tag>(attributes);
+		for (int j = 0; j < attributes; j++) {
+			columns.add(queryResponse.tags.get(4 + j));
+		}
+
 		for (int i = 0; i < rows; i++) {
 			// new row
-			row = new ArrayList<String>();
+			row = new ArrayList<String>(attributes);
 			for (int j = 0; j < attributes; j++) {
-
-				row.add(queryResponse.getTags()[4 + j].getTags()[2 + i]
-						.getStringValue());
+				row.add(columns.get(j).tags.get(2 + i).getStringValue());
 			}
 
 			resultSet.add(IRODSQueryResultRow.instance(row, columnNames,
@@ -93,6 +101,61 @@ public class QueryResultProcessingUtils {
 
 	}
 
+	/**
+	 * Given the raw response from iRODS, translate into a result set that
+	 * holds the values column by column. iRODS lays the response out by
+	 * column, so each column is read in one pass.
+	 *
+	 * @param queryResponse
+	 *            <code>Tag</code> set with the raw GenQuery response from
+	 *            iRODS, or <code>null</code> if no rows were found
+	 * @param translatedIRODSQuery
+	 *            {@link TranslatedIRODSGenQuery} that produced the response
+	 * @param continuation
+	 *            <code>int</code>
+	 * @param totalRecords
+	 *            <code>int</code> with the total records reported by iRODS
+	 * @param partialStartIndex
+	 *            <code>int</code> with the offset into the query results for
+	 *            the query generating this response
+	 * @return {@link IRODSColumnarQueryResultSet}
+	 * @throws JargonException
+	 */
+	public static IRODSColumnarQueryResultSet translateResponseIntoColumnarResultSet(
+			final Tag queryResponse,
+			final TranslatedIRODSGenQuery translatedIRODSQuery,
+			final int continuation, final int totalRecords,
+			final int partialStartIndex) throws JargonException {
+
+		List<String[]> columnValues = new ArrayList<String[]>();
+
+		if (queryResponse == null) {
+			log.info("empty result set from query, returning as an empty result set ( no rows found)");
+			return IRODSColumnarQueryResultSet.instance(translatedIRODSQuery,
+					columnValues, 0, continuation, totalRecords,
+					partialStartIndex);
+		}
+
+		int rows = queryResponse.getTag(GenQueryOut.ROW_CNT).getIntValue();
+		log.info("rows returned from iRODS query: {}", rows);
+
+		int attributes = queryResponse.getTag(GenQueryOut.ATTRIB_CNT)
+				.getIntValue();
+
+		for (int j = 0; j < attributes; j++) {
+			Tag column = queryResponse.tags.get(4 + j);
+			String[] values = new String[rows];
+			for (int i = 0; i < rows; i++) {
+				values[i] = column.tags.get(2 + i).getStringValue();
+			}
+			columnValues.add(values);
+		}
+
+		return IRODSColumnarQueryResultSet.instance(translatedIRODSQuery,
+				columnValues, rows, continuation, totalRecords,
+				partialStartIndex);
+	}
+
 	/**
 	 * Get the continuation value from the query response
 	 *
@@ -25,6 +25,11 @@ public class AbstractNIOParallelTransferThread {
 	public static final int DONE_OPR = 9999;
 	public static final int PUT_OPR = 1;
 	public static final int GET_OPR = 2;
+	/**
+	 * Reused for reading the ints and longs in transfer headers
+	 */
+	private final ByteBuffer headerBuffer = ByteBuffer.allocate(8);
+	private final byte[] headerBytes = new byte[8];
 
 	public static final Logger log = LoggerFactory
 			.getLogger(AbstractNIOParallelTransferThread.class);
@@ -35,7 +40,9 @@ public class AbstractNIOParallelTransferThread {
 
 	private ByteBuffer readLenFromSocket(final int length)
 			throws JargonException {
-		final ByteBuffer b = ByteBuffer.allocate(length);
+		final ByteBuffer b = headerBuffer;
+		b.clear();
+		b.limit(length);
 
 		int read;
 		int tot = 0;
@@ -65,19 +72,19 @@ public class AbstractNIOParallelTransferThread {
 
 	protected int readInt() throws JargonException {
 		int len = 4;
-		final byte[] bAsByte = new byte[len];
+		final byte[] bAsByte = headerBytes;
 		ByteBuffer b = readLenFromSocket(len);
 		b.flip();
-		b.get(bAsByte);
+		b.get(bAsByte, 0, len);
 		return Host.castToInt(bAsByte);
 	}
 
 	protected long readLong() throws JargonException {
 		int len = 8;
-		final byte[] bAsByte = new byte[len];
+		final byte[] bAsByte = headerBytes;
 		ByteBuffer b = readLenFromSocket(len);
 		b.flip();
-		b.get(bAsByte);
+		b.get(bAsByte, 0, len);
 		return Host.castToLong(bAsByte);
 	}
 
@@ -1,7 +1,9 @@
 package org.irods.jargon.core.transfer;
 
 import java.io.File;
+import java.util.List;
 
+import org.irods.jargon.core.checksum.TransferChecksumDigester;
 import org.irods.jargon.core.connection.ConnectionProgressStatusListener;
 import org.irods.jargon.core.connection.JargonProperties;
 import org.irods.jargon.core.connection.NegotiatedClientServerConfiguration;
@@ -42,6 +44,7 @@ public abstract class AbstractParallelFileTransferStrategy {
 	protected final long transferLength;
 	private final PipelineConfiguration pipelineConfiguration;
 	private final FileRestartInfo fileRestartInfo;
+	private final RestartCheckpointer restartCheckpointer;
 
 	/**
 	 * Negotiated encryption configuration for transport security, and any other
@@ -53,8 +56,11 @@ public abstract class AbstractParallelFileTransferStrategy {
 	private final TransferControlBlock transferControlBlock;
 	private final TransferStatusCallbackListener transferStatusCallbackListener;
 	private ConnectionProgressStatusListener connectionProgressStatusListener = null;
+	private TransferChecksumDigester transferChecksumDigester = null;
 	private final int parallelSocketTimeoutInSecs;
-	private final JargonProperties jargonProperties;
+	private final SettableJargonProperties jargonProperties;
+	private long bytesTransferred = 0L;
+	private long elapsedNanos = 0L;
 
 	/**
 	 * Constructor for a parallel file transfer runner. This runner will create
@@ -163,6 +169,15 @@ public abstract class AbstractParallelFileTransferStrategy {
 				.buildPipelineConfigurationBasedOnJargonProperties();
 		this.fileRestartInfo = fileRestartInfo;
 
+		if (fileRestartInfo != null && getRestartManager() != null) {
+			restartCheckpointer = new RestartCheckpointer(getRestartManager(),
+					fileRestartInfo.identifierFromThisInfo(), numberOfThreads,
+					Math.max(1L, jargonProperties.getRestartCheckpointBytes()),
+					jargonProperties.getRestartCheckpointIntervalMillis());
+		} else {
+			restartCheckpointer = null;
+		}
+
 		parallelSocketTimeoutInSecs = jargonProperties
 				.getIRODSParallelTransferSocketTimeout();
 		this.negotiatedClientServerConfiguration = negotiatedClientServerConfiguration;
@@ -322,6 +337,87 @@ public abstract class AbstractParallelFileTransferStrategy {
 		return jargonProperties;
 	}
 
+	/**
+	 * Override the size of the buffer each thread copies data with, as when
+	 * tuned by a {@link ParallelTransferTuner}. This must be called before
+	 * {@link #transfer()}.
+	 *
+	 * @param parallelCopyBufferSize
+	 *            <code>int</code> with the buffer size in bytes
+	 */
+	public void setParallelCopyBufferSize(final int parallelCopyBufferSize) {
+		if (parallelCopyBufferSize <= 0) {
+			throw new IllegalArgumentException(
+					"parallelCopyBufferSize must be > 0");
+		}
+		jargonProperties.setParallelCopyBufferSize(parallelCopyBufferSize);
+	}
+
+	/**
+	 * Get the digester the transfer threads give their data to, so the
+	 * checksum of the local file is computed during the transfer. This is
+	 * <code>null</code> unless one was set.
+	 *
+	 * @return {@link TransferChecksumDigester}
+	 */
+	public TransferChecksumDigester getTransferChecksumDigester() {
+		return transferChecksumDigester;
+	}
+
+	/**
+	 * Set a digester that the transfer threads give their data to, so the
+	 * checksum of the local file is computed during the transfer. This must be
+	 * called before {@link #transfer()}.
+	 *
+	 * @param transferChecksumDigester
+	 *            {@link TransferChecksumDigester}, or <code>null</code>
+	 */
+	public void setTransferChecksumDigester(
+			final TransferChecksumDigester transferChecksumDigester) {
+		this.transferChecksumDigester = transferChecksumDigester;
+	}
+
+	/**
+	 * Total the results of the transfer threads, for the throughput reported
+	 * by {@link #getBytesTransferred()} and {@link #getElapsedNanos()}
+	 *
+	 * @param results
+	 *            <code>List</code> of {@link ParallelTransferResult} from each
+	 *            thread
+	 * @param startNanos
+	 *            <code>long</code> with the <code>System.nanoTime()</code> at
+	 *            which the threads were started
+	 */
+	protected void recordTransferResults(
+			final List<ParallelTransferResult> results, final long startNanos) {
+		elapsedNanos = System.nanoTime() - startNanos;
+		long total = 0L;
+		for (ParallelTransferResult result : results) {
+			total += result.getBytesTransferred();
+		}
+		bytesTransferred = total;
+		if (elapsedNanos > 0) {
+			log.info("parallel transfer of {} bytes at {} bytes/sec", total,
+					total * 1000000000L / elapsedNanos);
+		}
+	}
+
+	/**
+	 * @return <code>long</code> with the bytes moved by all threads of the
+	 *         completed transfer
+	 */
+	public long getBytesTransferred() {
+		return bytesTransferred;
+	}
+
+	/**
+	 * @return <code>long</code> with the nanoseconds from starting the
+	 *         transfer threads until all had finished
+	 */
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
 	public FileRestartInfo getFileRestartInfo() {
 		return fileRestartInfo;
 	}
@@ -338,6 +434,16 @@ public abstract class AbstractParallelFileTransferStrategy {
 				.getRestartManager();
 	}
 
+	/**
+	 * Get the checkpointer the transfer threads save their progress through.
+	 * This is <code>null</code> unless the transfer is restartable.
+	 *
+	 * @return {@link RestartCheckpointer}
+	 */
+	public RestartCheckpointer getRestartCheckpointer() {
+		return restartCheckpointer;
+	}
+
 	/**
 	 * Handy method for threads to determine whether encryption should be done
 	 *
@@ -27,10 +27,21 @@ public class AbstractParallelTransferThread {
 	public static final int DONE_OPR = 9999;
 	public static final int PUT_OPR = 1;
 	public static final int GET_OPR = 2;
+	/**
+	 * Reused for reading the ints and longs in transfer headers
+	 */
+	private final byte[] headerBytes = new byte[8];
 	/**
 	 * Index of the given thread. 0 based index
 	 */
 	private final int threadNumber;
+	/**
+	 * Bytes moved, and time spent moving them, over the segments handled so
+	 * far, for throughput measurement
+	 */
+	private long bytesTransferred = 0L;
+	private long transferNanos = 0L;
+	private long segmentStartNanos = 0L;
 
 	public static final Logger log = LoggerFactory
 			.getLogger(AbstractParallelTransferThread.class);
@@ -41,10 +52,10 @@ public class AbstractParallelTransferThread {
 	}
 
 	protected int readInt() throws JargonException {
-		final byte[] b = new byte[4];
+		final byte[] b = headerBytes;
 		int read;
 		try {
-			read = in.read(b);
+			read = in.read(b, 0, 4);
 		} catch (Exception e) {
 			log.error(IO_EXEPTION_IN_PARALLEL_TRANSFER, e);
 			throw new JargonException(
@@ -60,11 +71,11 @@ public class AbstractParallelTransferThread {
 	protected long readLong() throws JargonException {
 		// length comes down the wire as an signed long long in network
 		// order
-		final byte[] b = new byte[8];
+		final byte[] b = headerBytes;
 
 		int read;
 		try {
-			read = in.read(b);
+			read = in.read(b, 0, 8);
 		} catch (Exception e) {
 			log.error(IO_EXEPTION_IN_PARALLEL_TRANSFER);
 			throw new JargonException(
@@ -79,6 +90,44 @@ public class AbstractParallelTransferThread {
 		return Host.castToLong(b);
 	}
 
+	/**
+	 * Note the start of the data for a segment, for throughput measurement
+	 */
+	protected void startSegmentMeasurement() {
+		segmentStartNanos = System.nanoTime();
+	}
+
+	/**
+	 * Note the end of the data for a segment started with
+	 * {@link #startSegmentMeasurement()}
+	 *
+	 * @param segmentLength
+	 *            <code>long</code> with the bytes in the segment
+	 */
+	protected void endSegmentMeasurement(final long segmentLength) {
+		long elapsed = System.nanoTime() - segmentStartNanos;
+		bytesTransferred += segmentLength;
+		transferNanos += elapsed;
+		if (log.isDebugEnabled() && elapsed > 0) {
+			log.debug("thread {} segment of {} bytes at {} bytes/sec",
+					new Object[] { threadNumber, segmentLength,
+							segmentLength * 1000000000L / elapsed });
+		}
+	}
+
+	/**
+	 * Build the result of this thread, carrying the measured throughput
+	 *
+	 * @return {@link ParallelTransferResult}
+	 */
+	protected ParallelTransferResult buildTransferResult() {
+		ParallelTransferResult result = new ParallelTransferResult();
+		result.transferException = getExceptionInTransfer();
+		result.bytesTransferred = bytesTransferred;
+		result.transferNanos = transferNanos;
+		return result;
+	}
+
 	public void close() throws JargonException {
 		// garbage collector can be too slow
 		if (out != null) {
@@ -0,0 +1,898 @@
+/**
+ *
+ */
+package org.irods.jargon.core.transfer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.irods.jargon.core.connection.ConnectionConstants;
+import org.irods.jargon.core.transfer.FileRestartInfo.RestartStatus;
+import org.irods.jargon.core.transfer.FileRestartInfo.RestartType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Restart manager that keeps restart information in a journal file, so that a
+ * long transfer cut short by a crash of the JVM can be restarted when the
+ * application comes back up.
+ * <p/>
+ * The journal is memory mapped and only appended to. Storing a
+ * {@link FileRestartInfo} appends a record with all of it, while the frequent
+ * segment updates of the parallel transfer threads each append a small record
+ * with the new offset and length of the one segment. Each record carries a
+ * CRC-32, and when the journal is opened it is replayed up to the first record
+ * that is incomplete or does not match its checksum, which is how a write cut
+ * short by a crash looks.
+ * <p/>
+ * The journal is compacted when opened and whenever the mapped region fills,
+ * by rewriting it from the current restart information. The rewrite is first
+ * saved to a file next to the journal with a <code>.compact</code> extension,
+ * which is used in place of the journal if a crash interrupts the rewrite.
+ * <p/>
+ * Records reach the operating system as soon as they are written, and so
+ * survive the JVM going down. {@link #flush()} forces them to disk as well.
+ * Only one manager at a time may use a journal, which is enforced with a file
+ * lock, and the manager should be closed with {@link #close()} when done.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class FileBasedTransferRestartManager extends AbstractRestartManager {
+
+	private static final Logger log = LoggerFactory
+			.getLogger(FileBasedTransferRestartManager.class);
+
+	/**
+	 * Default size of the mapped region of the journal, which is doubled when
+	 * the restart information outgrows it
+	 */
+	public static final int DEFAULT_REGION_SIZE = 1024 * 1024;
+
+	/**
+	 * Smallest mapped region allowed
+	 */
+	public static final int MIN_REGION_SIZE = 1024;
+
+	static final int JOURNAL_MAGIC = 0x4A524A4C;
+	static final int JOURNAL_VERSION = 1;
+	static final int HEADER_LENGTH = 8;
+	/**
+	 * Each record is preceded by its length and CRC-32
+	 */
+	static final int RECORD_HEADER_LENGTH = 8;
+
+	static final byte STORE_RECORD = 1;
+	static final byte SEGMENT_RECORD = 2;
+	static final byte DELETE_RECORD = 3;
+	/**
+	 * Closes a complete compaction file
+	 */
+	static final byte END_RECORD = 4;
+
+	private static final int SEGMENT_RECORD_LENGTH = 1 + 4 + 4 + 8 + 8;
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	private final File journalFile;
+	private final File compactionFile;
+	private final int initialRegionSize;
+
+	private final Map<FileRestartInfoIdentifier, FileRestartInfo> cacheOfRestartInfo = new HashMap<FileRestartInfoIdentifier, FileRestartInfo>();
+	/**
+	 * Short ids standing for the identifiers in the records of the journal
+	 */
+	private final Map<FileRestartInfoIdentifier, Integer> journalIds = new HashMap<FileRestartInfoIdentifier, Integer>();
+	private int nextJournalId = 0;
+
+	private final CRC32 crc = new CRC32();
+	private final ByteBuffer segmentRecord = ByteBuffer
+			.allocate(SEGMENT_RECORD_LENGTH);
+
+	private FileChannel journalChannel = null;
+	private FileLock journalLock = null;
+	private MappedByteBuffer journal = null;
+	/**
+	 * Furthest point of the journal file written to since it was opened
+	 */
+	private int journalHighWater = 0;
+
+	/**
+	 * Open or create a journal with the default region size
+	 *
+	 * @param journalFile
+	 *            <code>File</code> with the journal, which is created along
+	 *            with its parent directories if it does not exist
+	 * @throws FileRestartManagementException
+	 *             if the journal cannot be opened, is not a restart journal, or
+	 *             is in use by another manager
+	 */
+	public FileBasedTransferRestartManager(final File journalFile)
+			throws FileRestartManagementException {
+		this(journalFile, DEFAULT_REGION_SIZE);
+	}
+
+	/**
+	 * Open or create a journal
+	 *
+	 * @param journalFile
+	 *            <code>File</code> with the journal, which is created along
+	 *            with its parent directories if it does not exist
+	 * @param regionSize
+	 *            <code>int</code> with the initial size of the mapped region
+	 *            of the journal
+	 * @throws FileRestartManagementException
+	 *             if the journal cannot be opened, is not a restart journal, or
+	 *             is in use by another manager
+	 */
+	public FileBasedTransferRestartManager(final File journalFile,
+			final int regionSize) throws FileRestartManagementException {
+
+		if (journalFile == null) {
+			throw new IllegalArgumentException("null journalFile");
+		}
+
+		if (regionSize < MIN_REGION_SIZE) {
+			throw new IllegalArgumentException("regionSize must be at least "
+					+ MIN_REGION_SIZE);
+		}
+
+		this.journalFile = journalFile.getAbsoluteFile();
+		compactionFile = new File(this.journalFile.getPath() + ".compact");
+		initialRegionSize = regionSize;
+		open();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.irods.jargon.core.transfer.AbstractRestartManager#storeRestart(org
+	 * .irods.jargon.core.transfer.FileRestartInfo)
+	 */
+	@Override
+	public FileRestartInfoIdentifier storeRestart(
+			final FileRestartInfo fileRestartInfo)
+			throws FileRestartManagementException {
+
+		log.info("storeRestart()");
+		if (fileRestartInfo == null) {
+			throw new IllegalArgumentException("null fileRestartInfo");
+		}
+
+		FileRestartInfoIdentifier identifier = FileRestartInfoIdentifier
+				.instanceFromFileRestartInfo(fileRestartInfo);
+
+		synchronized (this) {
+			checkOpen();
+			Integer journalId = journalIds.get(identifier);
+			if (journalId == null) {
+				journalId = nextJournalId++;
+				journalIds.put(identifier, journalId);
+			}
+			cacheOfRestartInfo.put(identifier, fileRestartInfo);
+			appendRecord(buildStoreRecord(journalId, fileRestartInfo));
+		}
+		return identifier;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.irods.jargon.core.transfer.AbstractRestartManager#deleteRestart(org
+	 * .irods.jargon.core.transfer.FileRestartInfoIdentifier)
+	 */
+	@Override
+	public void deleteRestart(
+			final FileRestartInfoIdentifier fileRestartInfoIdentifier)
+			throws FileRestartManagementException {
+
+		log.info("deleteRestart()");
+		if (fileRestartInfoIdentifier == null) {
+			throw new IllegalArgumentException("null fileRestartInfoIdentifier");
+		}
+
+		synchronized (this) {
+			checkOpen();
+			cacheOfRestartInfo.remove(fileRestartInfoIdentifier);
+			Integer journalId = journalIds.remove(fileRestartInfoIdentifier);
+			if (journalId != null) {
+				ByteBuffer record = ByteBuffer.allocate(5);
+				record.put(DELETE_RECORD);
+				record.putInt(journalId);
+				record.flip();
+				appendRecord(record);
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.irods.jargon.core.transfer.AbstractRestartManager#retrieveRestart
+	 * (org.irods.jargon.core.transfer.FileRestartInfoIdentifier)
+	 */
+	@Override
+	public FileRestartInfo retrieveRestart(
+			final FileRestartInfoIdentifier fileRestartInfoIdentifier)
+			throws FileRestartManagementException {
+
+		log.info("retrieveRestart()");
+		if (fileRestartInfoIdentifier == null) {
+			throw new IllegalArgumentException("null fileRestartInfoIdentifier");
+		}
+
+		synchronized (this) {
+			return cacheOfRestartInfo.get(fileRestartInfoIdentifier);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.irods.jargon.core.transfer.AbstractRestartManager#updateSegment(org
+	 * .irods.jargon.core.transfer.FileRestartInfo,
+	 * org.irods.jargon.core.transfer.FileRestartDataSegment)
+	 */
+	@Override
+	public void updateSegment(final FileRestartInfo fileRestartInfo,
+			final FileRestartDataSegment fileRestartDataSegment)
+			throws FileRestartManagementException {
+
+		log.info("updateSegment()");
+
+		if (fileRestartInfo == null) {
+			throw new IllegalArgumentException("null fileRestartInfo");
+		}
+
+		if (fileRestartDataSegment == null) {
+			throw new IllegalArgumentException("null fileRestartDataSegment");
+		}
+
+		FileRestartInfoIdentifier identifier = fileRestartInfo
+				.identifierFromThisInfo();
+
+		synchronized (this) {
+			checkOpen();
+			FileRestartInfo actualRestartInfo = findRestart(identifier);
+			findSegment(actualRestartInfo,
+					fileRestartDataSegment.getThreadNumber());
+			actualRestartInfo.getFileRestartDataSegments().set(
+					fileRestartDataSegment.getThreadNumber(),
+					fileRestartDataSegment);
+			appendSegmentRecord(identifier, fileRestartDataSegment);
+		}
+	}
+
+	/**
+	 * Add to the length of a segment, appending only the segment to the
+	 * journal
+	 *
+	 * @see org.irods.jargon.core.transfer.AbstractRestartManager#updateLengthForSegment(org.irods.jargon.core.transfer.FileRestartInfoIdentifier,
+	 *      int, long)
+	 */
+	@Override
+	public void updateLengthForSegment(
+			final FileRestartInfoIdentifier fileRestartInfoIdentifier,
+			final int threadNumber, final long length)
+			throws FileRestartManagementException {
+
+		if (fileRestartInfoIdentifier == null) {
+			throw new IllegalArgumentException("null identifier");
+		}
+
+		synchronized (this) {
+			checkOpen();
+			FileRestartDataSegment dataSegment = findSegment(
+					findRestart(fileRestartInfoIdentifier), threadNumber);
+			dataSegment.setLength(dataSegment.getLength() + length);
+			appendSegmentRecord(fileRestartInfoIdentifier, dataSegment);
+		}
+	}
+
+	/**
+	 * Set the offset of a segment and zero its length, appending only the
+	 * segment to the journal
+	 *
+	 * @see org.irods.jargon.core.transfer.AbstractRestartManager#updateOffsetForSegment(org.irods.jargon.core.transfer.FileRestartInfoIdentifier,
+	 *      int, long)
+	 */
+	@Override
+	public void updateOffsetForSegment(
+			final FileRestartInfoIdentifier fileRestartInfoIdentifier,
+			final int threadNumber, final long offset)
+			throws FileRestartManagementException {
+
+		if (fileRestartInfoIdentifier == null) {
+			throw new IllegalArgumentException("null identifier");
+		}
+
+		synchronized (this) {
+			checkOpen();
+			FileRestartDataSegment dataSegment = findSegment(
+					findRestart(fileRestartInfoIdentifier), threadNumber);
+			dataSegment.setOffset(offset);
+			dataSegment.setLength(0);
+			appendSegmentRecord(fileRestartInfoIdentifier, dataSegment);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.transfer.AbstractRestartManager#
+	 * incrementRestartAttempts(org.irods.jargon.core.transfer.FileRestartInfo)
+	 */
+	@Override
+	public FileRestartInfo incrementRestartAttempts(
+			final FileRestartInfo fileRestartInfo)
+			throws RestartFailedException, FileRestartManagementException {
+
+		log.info("incrementRestartAttempts()");
+		if (fileRestartInfo == null) {
+			log.info("no restart to increment, returning null");
+			return null;
+		}
+		log.info("fileRestartInfo:{}", fileRestartInfo);
+
+		synchronized (this) {
+			FileRestartInfo actualRestartInfo = retrieveRestart(fileRestartInfo
+					.identifierFromThisInfo());
+			if (actualRestartInfo == null) {
+				log.error("nothing to increment!");
+				return null;
+			}
+			int currentRestarts = actualRestartInfo.getNumberRestarts();
+			currentRestarts++;
+			if (currentRestarts > ConnectionConstants.MAX_FILE_RESTART_ATTEMPTS) {
+				log.error("violates max restart attempts, go ahead and fail the restart attempt");
+				throw new RestartFailedException(
+						"restart failed with too many attempts");
+			}
+			actualRestartInfo.setNumberRestarts(currentRestarts);
+			storeRestart(actualRestartInfo);
+			return fileRestartInfo;
+		}
+	}
+
+	/**
+	 * Force the records written so far to disk
+	 *
+	 * @throws FileRestartManagementException
+	 */
+	public synchronized void flush() throws FileRestartManagementException {
+		checkOpen();
+		journal.force();
+	}
+
+	/**
+	 * Rewrite the journal with only the current restart information. This is
+	 * done as needed, and need not be called otherwise.
+	 *
+	 * @throws FileRestartManagementException
+	 */
+	public synchronized void compact() throws FileRestartManagementException {
+		checkOpen();
+		try {
+			compact(0);
+		} catch (IOException e) {
+			log.error("unable to compact restart journal", e);
+			throw new FileRestartManagementException(
+					"unable to compact restart journal", e);
+		}
+	}
+
+	/**
+	 * Force the journal to disk and release it. The manager may not be used
+	 * afterwards.
+	 *
+	 * @throws FileRestartManagementException
+	 */
+	public synchronized void close() throws FileRestartManagementException {
+		log.info("close()");
+		if (journalChannel == null) {
+			return;
+		}
+
+		try {
+			journal.force();
+			journalLock.release();
+			journalChannel.close();
+		} catch (IOException e) {
+			log.error("error closing restart journal", e);
+			throw new FileRestartManagementException(
+					"error closing restart journal", e);
+		} finally {
+			journal = null;
+			journalLock = null;
+			journalChannel = null;
+		}
+	}
+
+	/**
+	 * Get the journal file
+	 *
+	 * @return <code>File</code> with the journal
+	 */
+	public File getJournalFile() {
+		return journalFile;
+	}
+
+	/**
+	 * Lock and replay the journal, or the compaction file if a rewrite was
+	 * interrupted, then compact
+	 */
+	private void open() throws FileRestartManagementException {
+		log.info("opening restart journal:{}", journalFile);
+		File parent = journalFile.getParentFile();
+		if (parent != null && !parent.exists()) {
+			parent.mkdirs();
+		}
+
+		try {
+			journalChannel = FileChannel.open(journalFile.toPath(),
+					StandardOpenOption.CREATE, StandardOpenOption.READ,
+					StandardOpenOption.WRITE);
+			try {
+				journalLock = journalChannel.tryLock();
+			} catch (OverlappingFileLockException e) {
+				journalLock = null;
+			}
+
+			if (journalLock == null) {
+				journalChannel.close();
+				journalChannel = null;
+				throw new FileRestartManagementException(
+						"restart journal is in use:" + journalFile);
+			}
+
+			int validLength = -1;
+			if (compactionFile.exists()) {
+				validLength = replay(readFully(compactionFile), true);
+				if (validLength < 0) {
+					log.warn("incomplete compaction file ignored:{}",
+							compactionFile);
+					cacheOfRestartInfo.clear();
+					journalIds.clear();
+					nextJournalId = 0;
+				} else {
+					log.warn("restart journal restored from compaction file:{}",
+							compactionFile);
+					validLength = 0;
+				}
+			}
+
+			if (validLength < 0) {
+				validLength = replay(readFully(journalFile), false);
+			}
+
+			/*
+			 * Nothing past the replayed records is wanted, and nothing is
+			 * mapped yet, so the file may be cut back
+			 */
+			journalChannel.truncate(validLength);
+			journalHighWater = validLength;
+			compact(0);
+			log.info("restart journal opened with {} restarts",
+					cacheOfRestartInfo.size());
+		} catch (IOException e) {
+			log.error("unable to open restart journal", e);
+			closeAfterFailedOpen();
+			throw new FileRestartManagementException(
+					"unable to open restart journal", e);
+		} catch (FileRestartManagementException e) {
+			closeAfterFailedOpen();
+			throw e;
+		}
+	}
+
+	private void closeAfterFailedOpen() {
+		try {
+			if (journalChannel != null) {
+				journalChannel.close();
+			}
+		} catch (IOException e) {
+			log.warn("error closing restart journal", e);
+		}
+		journalChannel = null;
+		journalLock = null;
+		journal = null;
+	}
+
+	private ByteBuffer readFully(final File file) throws IOException,
+			FileRestartManagementException {
+		FileChannel channel = FileChannel.open(file.toPath(),
+				StandardOpenOption.READ);
+		try {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				throw new FileRestartManagementException(
+						"restart journal is too large:" + file);
+			}
+			ByteBuffer buffer = ByteBuffer.allocate((int) size);
+			while (buffer.hasRemaining()) {
+				if (channel.read(buffer) < 0) {
+					break;
+				}
+			}
+			buffer.flip();
+			return buffer;
+		} finally {
+			channel.close();
+		}
+	}
+
+	/**
+	 * Apply the records in a journal to the restart information
+	 *
+	 * @param buffer
+	 *            <code>ByteBuffer</code> with the contents of the journal
+	 * @param requireEnd
+	 *            <code>boolean</code> that is <code>true</code> if the records
+	 *            must be closed by an end record
+	 * @return <code>int</code> with the length of the journal up to the last
+	 *         good record, or -1 if an end record was required and not found
+	 */
+	private int replay(final ByteBuffer buffer, final boolean requireEnd)
+			throws FileRestartManagementException {
+
+		if (buffer.remaining() < HEADER_LENGTH) {
+			log.warn("journal shorter than its header, treated as empty");
+			return requireEnd ? -1 : 0;
+		}
+
+		if (buffer.getInt() != JOURNAL_MAGIC
+				|| buffer.getInt() != JOURNAL_VERSION) {
+			throw new FileRestartManagementException(
+					"not a restart journal or unsupported version:"
+							+ journalFile);
+		}
+
+		Map<Integer, FileRestartInfoIdentifier> identifiers = new HashMap<Integer, FileRestartInfoIdentifier>();
+		for (Map.Entry<FileRestartInfoIdentifier, Integer> entry : journalIds
+				.entrySet()) {
+			identifiers.put(entry.getValue(), entry.getKey());
+		}
+
+		int records = 0;
+		while (buffer.remaining() >= RECORD_HEADER_LENGTH) {
+			int recordStart = buffer.position();
+			int length = buffer.getInt();
+			int checksum = buffer.getInt();
+			if (length == 0) {
+				buffer.position(recordStart);
+				break;
+			}
+
+			if (length < 0 || length > buffer.remaining()) {
+				log.warn("incomplete record at {} ignored", recordStart);
+				buffer.position(recordStart);
+				break;
+			}
+
+			ByteBuffer record = buffer.slice();
+			record.limit(length);
+			if (checksum(record) != checksum) {
+				log.warn("record at {} does not match its checksum, ignored",
+						recordStart);
+				buffer.position(recordStart);
+				break;
+			}
+			buffer.position(recordStart + RECORD_HEADER_LENGTH + length);
+
+			if (record.get(0) == END_RECORD) {
+				log.info("replayed {} records", records);
+				return buffer.position();
+			}
+
+			applyRecord(record, identifiers);
+			records++;
+		}
+
+		log.info("replayed {} records", records);
+		return requireEnd ? -1 : buffer.position();
+	}
+
+	private void applyRecord(final ByteBuffer record,
+			final Map<Integer, FileRestartInfoIdentifier> identifiers) {
+
+		byte type = record.get();
+		int journalId = record.getInt();
+		if (type == STORE_RECORD) {
+			FileRestartInfo info = readStoreRecord(record);
+			FileRestartInfoIdentifier identifier = info
+					.identifierFromThisInfo();
+			FileRestartInfoIdentifier previous = identifiers.put(journalId,
+					identifier);
+			if (previous != null && !previous.equals(identifier)) {
+				journalIds.remove(previous);
+				cacheOfRestartInfo.remove(previous);
+			}
+			journalIds.put(identifier, journalId);
+			cacheOfRestartInfo.put(identifier, info);
+			nextJournalId = Math.max(nextJournalId, journalId + 1);
+		} else if (type == SEGMENT_RECORD) {
+			FileRestartInfo info = cacheOfRestartInfo.get(identifiers
+					.get(journalId));
+			int threadNumber = record.getInt();
+			if (info == null
+					|| threadNumber < 0
+					|| threadNumber >= info.getFileRestartDataSegments()
+							.size()) {
+				log.warn("segment record with no matching restart ignored");
+				return;
+			}
+			FileRestartDataSegment segment = info.getFileRestartDataSegments()
+					.get(threadNumber);
+			segment.setOffset(record.getLong());
+			segment.setLength(record.getLong());
+		} else if (type == DELETE_RECORD) {
+			FileRestartInfoIdentifier identifier = identifiers
+					.remove(journalId);
+			if (identifier != null) {
+				journalIds.remove(identifier);
+				cacheOfRestartInfo.remove(identifier);
+			}
+		} else {
+			log.warn("unknown record type {} ignored", type);
+		}
+	}
+
+	private FileRestartInfo readStoreRecord(final ByteBuffer record) {
+		FileRestartInfo info = new FileRestartInfo();
+		info.setIrodsAccountIdentifier(getString(record));
+		info.setIrodsAbsolutePath(getString(record));
+		info.setLocalAbsolutePath(getString(record));
+		info.setRestartType(RestartType.values()[record.get()]);
+		info.setRestartStatus(RestartStatus.values()[record.get()]);
+		info.setNumberRestarts(record.getInt());
+		int segments = record.getInt();
+		for (int i = 0; i < segments; i++) {
+			FileRestartDataSegment segment = new FileRestartDataSegment(
+					record.getInt());
+			segment.setOffset(record.getLong());
+			segment.setLength(record.getLong());
+			info.getFileRestartDataSegments().add(segment);
+		}
+		return info;
+	}
+
+	private ByteBuffer buildStoreRecord(final int journalId,
+			final FileRestartInfo info) {
+		byte[] accountIdentifier = stringBytes(info.getIrodsAccountIdentifier());
+		byte[] irodsAbsolutePath = stringBytes(info.getIrodsAbsolutePath());
+		byte[] localAbsolutePath = stringBytes(info.getLocalAbsolutePath());
+		List<FileRestartDataSegment> segments = info
+				.getFileRestartDataSegments();
+
+		int length = 1 + 4 + stringLength(accountIdentifier)
+				+ stringLength(irodsAbsolutePath)
+				+ stringLength(localAbsolutePath) + 1 + 1 + 4 + 4
+				+ segments.size() * (4 + 8 + 8);
+		ByteBuffer record = ByteBuffer.allocate(length);
+		record.put(STORE_RECORD);
+		record.putInt(journalId);
+		putString(record, accountIdentifier);
+		putString(record, irodsAbsolutePath);
+		putString(record, localAbsolutePath);
+		record.put((byte) info.getRestartType().ordinal());
+		record.put((byte) info.getRestartStatus().ordinal());
+		record.putInt(info.getNumberRestarts());
+		record.putInt(segments.size());
+		for (FileRestartDataSegment segment : segments) {
+			record.putInt(segment.getThreadNumber());
+			record.putLong(segment.getOffset());
+			record.putLong(segment.getLength());
+		}
+		record.flip();
+		return record;
+	}
+
+	private void appendSegmentRecord(
+			final FileRestartInfoIdentifier identifier,
+			final FileRestartDataSegment segment)
+			throws FileRestartManagementException {
+		Integer journalId = journalIds.get(identifier);
+		if (journalId == null) {
+			throw new FileRestartManagementException(
+					"unable to find restart info");
+		}
+		segmentRecord.clear();
+		segmentRecord.put(SEGMENT_RECORD);
+		segmentRecord.putInt(journalId);
+		segmentRecord.putInt(segment.getThreadNumber());
+		segmentRecord.putLong(segment.getOffset());
+		segmentRecord.putLong(segment.getLength());
+		segmentRecord.flip();
+		appendRecord(segmentRecord);
+	}
+
+	private void appendRecord(final ByteBuffer record)
+			throws FileRestartManagementException {
+		try {
+			int needed = RECORD_HEADER_LENGTH + record.remaining();
+			if (journal.remaining() < needed) {
+				compact(needed);
+			}
+			writeRecord(journal, record);
+			journalHighWater = Math.max(journalHighWater, journal.position());
+		} catch (IOException e) {
+			log.error("unable to write to restart journal", e);
+			throw new FileRestartManagementException(
+					"unable to write to restart journal", e);
+		}
+	}
+
+	private void writeRecord(final ByteBuffer target, final ByteBuffer record) {
+		target.putInt(record.remaining());
+		target.putInt(checksum(record));
+		target.put(record);
+	}
+
+	/**
+	 * Rewrite the journal from the restart information, making sure there is
+	 * room for a record of the given size after it. The rewrite is saved to
+	 * the compaction file and forced to disk before the journal is
+	 * overwritten, and the compaction file deleted once the journal is on
+	 * disk.
+	 */
+	private void compact(final int roomNeeded) throws IOException,
+			FileRestartManagementException {
+
+		List<ByteBuffer> records = new ArrayList<ByteBuffer>();
+		long length = HEADER_LENGTH;
+		for (Map.Entry<FileRestartInfoIdentifier, FileRestartInfo> entry : cacheOfRestartInfo
+				.entrySet()) {
+			ByteBuffer record = buildStoreRecord(
+					journalIds.get(entry.getKey()), entry.getValue());
+			length += RECORD_HEADER_LENGTH + record.remaining();
+			records.add(record);
+		}
+
+		long regionSize = Math.max(initialRegionSize,
+				journal == null ? 0 : journal.capacity());
+		while (regionSize < 2 * (length + roomNeeded)) {
+			regionSize *= 2;
+		}
+		if (regionSize > Integer.MAX_VALUE) {
+			regionSize = Integer.MAX_VALUE;
+			if (length + roomNeeded > regionSize) {
+				throw new FileRestartManagementException(
+						"restart information is too large for the journal");
+			}
+		}
+
+		ByteBuffer compacted = ByteBuffer.allocate((int) length
+				+ RECORD_HEADER_LENGTH + 1);
+		compacted.putInt(JOURNAL_MAGIC);
+		compacted.putInt(JOURNAL_VERSION);
+		for (ByteBuffer record : records) {
+			writeRecord(compacted, record);
+		}
+		ByteBuffer end = ByteBuffer.allocate(1);
+		end.put(END_RECORD);
+		end.flip();
+		writeRecord(compacted, end);
+		compacted.flip();
+
+		FileChannel compactionChannel = FileChannel.open(
+				compactionFile.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+		try {
+			while (compacted.hasRemaining()) {
+				compactionChannel.write(compacted);
+			}
+			compactionChannel.force(true);
+		} finally {
+			compactionChannel.close();
+		}
+
+		if (journal == null || journal.capacity() < regionSize) {
+			journal = journalChannel.map(FileChannel.MapMode.READ_WRITE, 0,
+					regionSize);
+		}
+
+		compacted.rewind();
+		compacted.limit((int) length);
+		journal.clear();
+		journal.put(compacted);
+		int compactedLength = journal.position();
+		for (int i = compactedLength; i < journalHighWater; i++) {
+			journal.put(i, (byte) 0);
+		}
+		journal.force();
+		journalHighWater = compactedLength;
+
+		if (!compactionFile.delete()) {
+			log.warn("unable to delete compaction file:{}", compactionFile);
+		}
+		log.debug("compacted restart journal to {} bytes", compactedLength);
+	}
+
+	private FileRestartInfo findRestart(
+			final FileRestartInfoIdentifier identifier)
+			throws FileRestartManagementException {
+		FileRestartInfo info = cacheOfRestartInfo.get(identifier);
+		if (info == null) {
+			throw new FileRestartManagementException(
+					"unable to find restart info");
+		}
+		return info;
+	}
+
+	private FileRestartDataSegment findSegment(final FileRestartInfo info,
+			final int threadNumber) throws FileRestartManagementException {
+		if (threadNumber < 0
+				|| threadNumber >= info.getFileRestartDataSegments().size()) {
+			log.error("fileRestartInfo does not contain the given segment:{}",
+					info);
+			throw new FileRestartManagementException(
+					"unable to locate thread number");
+		}
+
+		FileRestartDataSegment dataSegment = info.getFileRestartDataSegments()
+				.get(threadNumber);
+		if (dataSegment.getThreadNumber() != threadNumber) {
+			log.error("thread number in segment does not match requested:{}",
+					threadNumber);
+			throw new FileRestartManagementException("thread number mismatch");
+		}
+		return dataSegment;
+	}
+
+	private void checkOpen() throws FileRestartManagementException {
+		if (journalChannel == null) {
+			throw new FileRestartManagementException(
+					"restart journal is closed");
+		}
+	}
+
+	private int checksum(final ByteBuffer record) {
+		crc.reset();
+		crc.update(record.duplicate());
+		return (int) crc.getValue();
+	}
+
+	private static byte[] stringBytes(final String value) {
+		return value == null ? null : value.getBytes(UTF8);
+	}
+
+	private static int stringLength(final byte[] bytes) {
+		return 4 + (bytes == null ? 0 : bytes.length);
+	}
+
+	private static void putString(final ByteBuffer buffer, final byte[] bytes) {
+		if (bytes == null) {
+			buffer.putInt(-1);
+		} else {
+			buffer.putInt(bytes.length);
+			buffer.put(bytes);
+		}
+	}
+
+	private static String getString(final ByteBuffer buffer) {
+		int length = buffer.getInt();
+		if (length < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		return new String(bytes, UTF8);
+	}
+
+}
@@ -170,17 +170,20 @@ public final class ParallelGetFileTransferStrategy extends
 			}
 			log.info("invoking executor threads for get");
 			log.info("invoking executor threads for put");
+			long startNanos = System.nanoTime();
 			List<Future<ParallelTransferResult>> transferThreadStates = executor
 					.invokeAll(parallelGetTransferThreads);
 
+			List<ParallelTransferResult> results = new ArrayList<ParallelTransferResult>();
 			for (Future<ParallelTransferResult> transferState : transferThreadStates) {
 				try {
-					transferState.get();
+					results.add(transferState.get());
 				} catch (ExecutionException e) {
 					throw new JargonException(e.getCause());
 				}
 
 			}
+			recordTransferResults(results, startNanos);
 
 			log.info("executor completed");
 		} catch (InterruptedException e) {
@@ -7,17 +7,18 @@ import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.RandomAccessFile;
 import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.UnknownHostException;
 import java.util.concurrent.Callable;
 
+import org.irods.jargon.core.checksum.TransferChecksumDigester;
 import org.irods.jargon.core.connection.ConnectionProgressStatus;
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.exception.JargonRuntimeException;
 import org.irods.jargon.core.transfer.encrypt.ParallelDecryptionCipherWrapper;
 import org.irods.jargon.core.utils.Host;
+import org.irods.jargon.core.utils.ThreadLocalBufferCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -160,9 +161,7 @@ public final class ParallelGetTransferThread extends
 
 			get();
 			log.info("exiting get and returning the finish object");
-			ParallelTransferResult result = new ParallelTransferResult();
-			result.transferException = getExceptionInTransfer();
-			return result;
+			return buildTransferResult();
 
 		} catch (UnknownHostException e) {
 			log.error("Unknown host: {}",
@@ -187,13 +186,16 @@ public final class ParallelGetTransferThread extends
 			log.info("connection listener configured, will produce callbacks");
 		}
 
-		RandomAccessFile local = null;
+		ParallelLocalFile local = null;
 
 		try {
-			log.info("opening local randomAccessFile");
-			local = new RandomAccessFile(
-					parallelGetFileTransferStrategy.getLocalFile(), "rw");
-			log.info("random access file opened rw mode");
+			ParallelLocalIOStrategyEnum strategy = parallelGetFileTransferStrategy
+					.getPipelineConfiguration().getParallelLocalIOStrategy();
+			log.info("opening local file with strategy:{}", strategy);
+			local = ParallelLocalFile.instance(
+					parallelGetFileTransferStrategy.getLocalFile(), true,
+					strategy);
+			log.info("local file opened for write");
 			processingLoopForGetData(local);
 
 		} catch (JargonException je) {
@@ -221,7 +223,7 @@ public final class ParallelGetTransferThread extends
 	 * @param local
 	 * @throws JargonException
 	 */
-	private void processingLoopForGetData(final RandomAccessFile local)
+	private void processingLoopForGetData(final ParallelLocalFile local)
 			throws JargonException {
 		// log.info("reading header info...");
 
@@ -240,7 +242,13 @@ public final class ParallelGetTransferThread extends
 		log.info(">>>new offset:{}", offset);
 		log.info(">>>new length:{}", length);
 
-		// Holds all the data for transfer
+		/*
+		 * Holds all the data for transfer, reused across reads. When
+		 * decrypting, the encrypted block is read into encryptedBuffer and
+		 * decrypted into copyBuffer
+		 */
+		byte[] copyBuffer = null;
+		byte[] encryptedBuffer = null;
 		byte[] buffer = null;
 		int read = 0;
 
@@ -255,9 +263,14 @@ public final class ParallelGetTransferThread extends
 		log.info("seeking to offset: {}", offset);
 		try {
 
-			seekToOffset(local, offset);
+			long position = startSegment(local, 0L, offset, length);
+			long segmentLength = length;
+			startSegmentMeasurement();
 
-			long totalWrittenSinceLastRestartUpdate = 0;
+			RestartCheckpointer restartCheckpointer = parallelGetFileTransferStrategy
+					.getRestartCheckpointer();
+			TransferChecksumDigester transferChecksumDigester = parallelGetFileTransferStrategy
+					.getTransferChecksumDigester();
 
 			while (length > 0) {
 
@@ -291,10 +304,27 @@ public final class ParallelGetTransferThread extends
 
 				if (newSize <= 0) {
 					return;
+				} else if (parallelGetFileTransferStrategy.doEncryption()) {
+					if (encryptedBuffer == null
+							|| encryptedBuffer.length < newSize) {
+						encryptedBuffer = new byte[newSize];
+					}
+					if (copyBuffer == null || copyBuffer.length < newSize) {
+						ThreadLocalBufferCache.release(copyBuffer);
+						copyBuffer = ThreadLocalBufferCache.borrow(newSize);
+					}
+					buffer = encryptedBuffer;
 				} else {
 					// c code - size_t buf_size = ( 2 * TRANS_BUF_SZ ) * sizeof(
 					// unsigned char );
-					buffer = new byte[newSize];
+					if (copyBuffer == null || copyBuffer.length < newSize) {
+						ThreadLocalBufferCache.release(copyBuffer);
+						copyBuffer = ThreadLocalBufferCache
+								.borrow(parallelGetFileTransferStrategy
+										.getJargonProperties()
+										.getParallelCopyBufferSize());
+					}
+					buffer = copyBuffer;
 				}
 
 				read = myRead(getIn(), buffer, newSize);
@@ -304,19 +334,22 @@ public final class ParallelGetTransferThread extends
 				 */
 
 				if (parallelGetFileTransferStrategy.doEncryption()) {
-					buffer = this.parallelDecryptionCipherWrapper
-							.decrypt(buffer);
-					read = buffer.length;
+					read = this.parallelDecryptionCipherWrapper.decrypt(
+							encryptedBuffer, read, copyBuffer);
+					buffer = copyBuffer;
 
 				}
 
-				totalWrittenSinceLastRestartUpdate += read;
-
 				if (read > 0) {
 					length -= read;
 					if (length == 0) {
 
-						local.write(buffer, 0, read);
+						local.write(position, buffer, read);
+						if (transferChecksumDigester != null) {
+							transferChecksumDigester.update(position, buffer,
+									0, read);
+						}
+						position += read;
 
 						/*
 						 * Make an intra-file status call-back if a listener is
@@ -331,21 +364,13 @@ public final class ParallelGetTransferThread extends
 													.instanceForReceive(read));
 						}
 
-						if (parallelGetFileTransferStrategy
-								.getFileRestartInfo() != null) {
-
-							parallelGetFileTransferStrategy.getRestartManager()
-									.updateLengthForSegment(
-											parallelGetFileTransferStrategy
-													.getFileRestartInfo()
-													.identifierFromThisInfo(),
-											getThreadNumber(),
-											totalWrittenSinceLastRestartUpdate);
-							totalWrittenSinceLastRestartUpdate = 0;
-							log.debug("signal storage of new info");
-
+						if (restartCheckpointer != null) {
+							restartCheckpointer.addBytes(getThreadNumber(), read);
+							restartCheckpointer.checkpoint(getThreadNumber());
 						}
 
+						endSegmentMeasurement(segmentLength);
+
 						// read the next header
 						operation = readInt();
 						readInt();
@@ -363,7 +388,9 @@ public final class ParallelGetTransferThread extends
 						 * If restarting, maintain a reference to the offset
 						 */
 
-						seekToOffset(local, offset);
+						position = startSegment(local, position, offset, length);
+						segmentLength = length;
+						startSegmentMeasurement();
 
 					} else if (length < 0) {
 						String msg = "length < 0 passed in header from iRODS during parallel get operation";
@@ -371,7 +398,12 @@ public final class ParallelGetTransferThread extends
 						throw new JargonException(msg);
 					} else {
 
-						local.write(buffer, 0, read);
+						local.write(position, buffer, read);
+						if (transferChecksumDigester != null) {
+							transferChecksumDigester.update(position, buffer,
+									0, read);
+						}
+						position += read;
 						/*
 						 * Make an intra-file status call-back if a listener is
 						 * configured
@@ -385,6 +417,10 @@ public final class ParallelGetTransferThread extends
 													.instanceForReceive(read));
 						}
 
+						if (restartCheckpointer != null) {
+							restartCheckpointer.addBytes(getThreadNumber(), read);
+						}
+
 					}
 				} else {
 					log.warn("intercepted a loop condition on parallel file get, length is > 0 but I just read and got nothing...breaking...");
@@ -405,6 +441,8 @@ public final class ParallelGetTransferThread extends
 			log.error("exception in parallel transfer", e);
 			throw new JargonException(
 					"unexpected exception in parallel transfer", e);
+		} finally {
+			ThreadLocalBufferCache.release(copyBuffer);
 		}
 	}
 
@@ -463,40 +501,38 @@ public final class ParallelGetTransferThread extends
 	}
 
 	/**
+	 * Note the start of a new segment given in a header from iRODS
+	 *
 	 * @param local
+	 * @param position
+	 *            <code>long</code> with the current write position
 	 * @param offset
+	 *            <code>long</code> with the offset of the segment
+	 * @param length
+	 *            <code>long</code> with the length of the segment
+	 * @return <code>long</code> with the position to write the segment at
 	 * @throws JargonRuntimeException
 	 */
-	private void seekToOffset(final RandomAccessFile local, final long offset)
+	private long startSegment(final ParallelLocalFile local,
+			final long position, final long offset, final long length)
 			throws JargonException {
 		if (offset < 0) {
 			log.error("offset < 0 in transfer get() operation, return from get method");
-			return;
+			return position;
 
-		} else if (offset > 0) {
+		}
 
-			if (parallelGetFileTransferStrategy.getFileRestartInfo() != null) {
-				parallelGetFileTransferStrategy.getRestartManager()
-						.updateOffsetForSegment(
-								parallelGetFileTransferStrategy
-										.getFileRestartInfo()
-										.identifierFromThisInfo(),
-								getThreadNumber(), offset);
-			}
+		local.startSegment(offset, length);
 
-			try {
-				if (offset == local.getFilePointer()) {
-					return; // at current location
-				}
-				local.seek(offset);
+		if (offset > 0) {
 
-				// log.debug("seek completed");
-			} catch (Exception e) {
-				log.error(IO_EXEPTION_IN_PARALLEL_TRANSFER,
-						parallelGetFileTransferStrategy.toString());
-				throw new JargonException(
-						IO_EXCEPTION_OCCURRED_DURING_PARALLEL_FILE_TRANSFER, e);
+			if (parallelGetFileTransferStrategy.getRestartCheckpointer() != null) {
+				parallelGetFileTransferStrategy.getRestartCheckpointer()
+						.startSegment(getThreadNumber(), offset);
 			}
+
 		}
+
+		return offset;
 	}
 }
@@ -0,0 +1,294 @@
+package org.irods.jargon.core.transfer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * The local file as seen by one thread of a parallel transfer, reading or
+ * writing at absolute positions given by the segment headers sent by iRODS.
+ * The way the file is accessed is chosen by a
+ * {@link ParallelLocalIOStrategyEnum}.
+ * <p/>
+ * Each transfer thread has its own instance, which is not thread safe.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+abstract class ParallelLocalFile {
+
+	/**
+	 * Largest window of a segment mapped at one time by the
+	 * <code>MAPPED</code> strategy
+	 */
+	static final long MAPPED_WINDOW_SIZE = 64L * 1024L * 1024L;
+
+	protected final RandomAccessFile randomAccessFile;
+
+	/**
+	 * Open the local file for a parallel transfer thread
+	 *
+	 * @param localFile
+	 *            <code>File</code> to read or write
+	 * @param write
+	 *            <code>boolean</code> that is <code>true</code> to open the
+	 *            file for writing, as in a get
+	 * @param strategy
+	 *            {@link ParallelLocalIOStrategyEnum} that selects how the file
+	 *            is accessed
+	 * @return {@link ParallelLocalFile}
+	 * @throws IOException
+	 */
+	static ParallelLocalFile instance(final File localFile,
+			final boolean write, final ParallelLocalIOStrategyEnum strategy)
+			throws IOException {
+
+		if (localFile == null) {
+			throw new IllegalArgumentException("null localFile");
+		}
+
+		if (strategy == null) {
+			throw new IllegalArgumentException("null strategy");
+		}
+
+		RandomAccessFile randomAccessFile = new RandomAccessFile(localFile,
+				write ? "rw" : "r");
+
+		switch (strategy) {
+		case CHANNEL:
+			return new ChannelParallelLocalFile(randomAccessFile);
+		case MAPPED:
+			return new MappedParallelLocalFile(randomAccessFile, write);
+		default:
+			return new StreamParallelLocalFile(randomAccessFile);
+		}
+	}
+
+	ParallelLocalFile(final RandomAccessFile randomAccessFile) {
+		this.randomAccessFile = randomAccessFile;
+	}
+
+	/**
+	 * Note the segment that the following reads or writes fall in. Writes
+	 * past the end of the segment are still allowed, but may be slower.
+	 *
+	 * @param offset
+	 *            <code>long</code> with the position of the segment
+	 * @param length
+	 *            <code>long</code> with the length of the segment
+	 */
+	void startSegment(final long offset, final long length) {
+	}
+
+	/**
+	 * Read up to <code>length</code> bytes at the given position
+	 *
+	 * @return <code>int</code> with the bytes read, or -1 at end of file
+	 * @throws IOException
+	 */
+	abstract int read(long position, byte[] buffer, int length)
+			throws IOException;
+
+	/**
+	 * Write <code>length</code> bytes at the given position
+	 *
+	 * @throws IOException
+	 */
+	abstract void write(long position, byte[] buffer, int length)
+			throws IOException;
+
+	/**
+	 * Check whether {@link #transferTo(long, long, WritableByteChannel)} can
+	 * be used to send file data without copying it through the heap
+	 *
+	 * @return <code>boolean</code>
+	 */
+	boolean isChannelTransferSupported() {
+		return false;
+	}
+
+	/**
+	 * Send up to <code>count</code> bytes from the given position to a
+	 * channel, see <code>FileChannel.transferTo()</code>
+	 *
+	 * @return <code>long</code> with the bytes sent
+	 * @throws IOException
+	 */
+	long transferTo(final long position, final long count,
+			final WritableByteChannel target) throws IOException {
+		throw new UnsupportedOperationException(
+				"channel transfer not supported by this strategy");
+	}
+
+	void close() throws IOException {
+		randomAccessFile.close();
+	}
+
+	/**
+	 * The original i/o, a seek when a read or write is not at the current
+	 * position of the file
+	 */
+	static class StreamParallelLocalFile extends ParallelLocalFile {
+
+		StreamParallelLocalFile(final RandomAccessFile randomAccessFile) {
+			super(randomAccessFile);
+		}
+
+		@Override
+		int read(final long position, final byte[] buffer, final int length)
+				throws IOException {
+			seek(position);
+			return randomAccessFile.read(buffer, 0, length);
+		}
+
+		@Override
+		void write(final long position, final byte[] buffer, final int length)
+				throws IOException {
+			seek(position);
+			randomAccessFile.write(buffer, 0, length);
+		}
+
+		private void seek(final long position) throws IOException {
+			if (position != randomAccessFile.getFilePointer()) {
+				randomAccessFile.seek(position);
+			}
+		}
+	}
+
+	/**
+	 * Positional reads and writes on the file channel, which need no seek
+	 */
+	static class ChannelParallelLocalFile extends ParallelLocalFile {
+
+		protected final FileChannel fileChannel;
+
+		ChannelParallelLocalFile(final RandomAccessFile randomAccessFile) {
+			super(randomAccessFile);
+			fileChannel = randomAccessFile.getChannel();
+		}
+
+		@Override
+		int read(final long position, final byte[] buffer, final int length)
+				throws IOException {
+			return fileChannel.read(ByteBuffer.wrap(buffer, 0, length),
+					position);
+		}
+
+		@Override
+		void write(final long position, final byte[] buffer, final int length)
+				throws IOException {
+			ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, length);
+			long writePosition = position;
+			while (byteBuffer.hasRemaining()) {
+				writePosition += fileChannel.write(byteBuffer, writePosition);
+			}
+		}
+
+		@Override
+		boolean isChannelTransferSupported() {
+			return true;
+		}
+
+		@Override
+		long transferTo(final long position, final long count,
+				final WritableByteChannel target) throws IOException {
+			return fileChannel.transferTo(position, count, target);
+		}
+	}
+
+	/**
+	 * Copies through memory mapped windows of at most
+	 * {@link ParallelLocalFile#MAPPED_WINDOW_SIZE} bytes. When writing, windows
+	 * are kept inside the current segment, as mapping past the end of the file
+	 * would grow it.
+	 */
+	static class MappedParallelLocalFile extends ChannelParallelLocalFile {
+
+		private final boolean write;
+		private MappedByteBuffer window = null;
+		private long windowPosition = 0L;
+		private long segmentEnd = -1L;
+
+		MappedParallelLocalFile(final RandomAccessFile randomAccessFile,
+				final boolean write) {
+			super(randomAccessFile);
+			this.write = write;
+		}
+
+		@Override
+		void startSegment(final long offset, final long length) {
+			segmentEnd = offset + length;
+		}
+
+		@Override
+		int read(final long position, final byte[] buffer, final int length)
+				throws IOException {
+			long fileSize = fileChannel.size();
+			if (position >= fileSize) {
+				return -1;
+			}
+
+			int readLength = (int) Math.min(length, fileSize - position);
+			if (!mapWindow(position, readLength, fileSize)) {
+				return super.read(position, buffer, readLength);
+			}
+
+			window.position((int) (position - windowPosition));
+			window.get(buffer, 0, readLength);
+			return readLength;
+		}
+
+		@Override
+		void write(final long position, final byte[] buffer, final int length)
+				throws IOException {
+			if (!mapWindow(position, length, segmentEnd)) {
+				super.write(position, buffer, length);
+				return;
+			}
+
+			window.position((int) (position - windowPosition));
+			window.put(buffer, 0, length);
+		}
+
+		/**
+		 * Make sure the window covers the given range, mapping a new window
+		 * that ends no later than <code>limit</code> if needed
+		 *
+		 * @return <code>boolean</code> that is <code>false</code> if the range
+		 *         cannot be mapped and should use the channel instead
+		 */
+		private boolean mapWindow(final long position, final int length,
+				final long limit) throws IOException {
+			if (window != null && position >= windowPosition
+					&& position + length <= windowPosition + window.capacity()) {
+				return true;
+			}
+
+			if (position + length > limit) {
+				return false;
+			}
+
+			long windowSize = Math.min(MAPPED_WINDOW_SIZE, limit - position);
+			if (windowSize < length) {
+				return false;
+			}
+
+			window = fileChannel.map(write ? MapMode.READ_WRITE
+					: MapMode.READ_ONLY, position, windowSize);
+			windowPosition = position;
+			return true;
+		}
+
+		@Override
+		void close() throws IOException {
+			window = null;
+			super.close();
+		}
+	}
+
+}
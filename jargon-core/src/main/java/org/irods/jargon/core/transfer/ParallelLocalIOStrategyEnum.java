@@ -0,0 +1,48 @@
+package org.irods.jargon.core.transfer;
+
+/**
+ * How the threads of a parallel transfer read and write the local file
+ * <p/>
+ * <code>STREAM</code> uses a <code>RandomAccessFile</code> per thread that
+ * seeks to each segment and copies through a byte buffer.
+ * <code>CHANNEL</code> uses <code>FileChannel</code> positional reads and
+ * writes, and for puts without encryption sends file data straight to the
+ * socket with <code>FileChannel.transferTo()</code>. <code>MAPPED</code> is
+ * like <code>CHANNEL</code>, but where data is copied through the heap it is
+ * copied to or from memory mapped windows of each segment rather than with
+ * positional reads and writes.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ */
+public enum ParallelLocalIOStrategyEnum {
+
+	STREAM("STREAM"), CHANNEL("CHANNEL"), MAPPED("MAPPED");
+
+	private String textValue;
+
+	ParallelLocalIOStrategyEnum(final String textValue) {
+		this.textValue = textValue;
+	}
+
+	public String getTextValue() {
+		return textValue;
+	}
+
+	/**
+	 * Given a text value resolve the strategy, defaulting to
+	 * <code>STREAM</code> if the value is not recognized
+	 *
+	 * @param strategy
+	 * @return {@link ParallelLocalIOStrategyEnum}
+	 */
+	public static ParallelLocalIOStrategyEnum findTypeByString(
+			final String strategy) {
+		for (ParallelLocalIOStrategyEnum strategyValue : ParallelLocalIOStrategyEnum
+				.values()) {
+			if (strategyValue.getTextValue().equalsIgnoreCase(strategy)) {
+				return strategyValue;
+			}
+		}
+		return STREAM;
+	}
+}
@@ -178,16 +178,19 @@ public final class ParallelPutFileTransferStrategy extends
 
 		try {
 			log.info("invoking executor threads for put");
+			long startNanos = System.nanoTime();
 			List<Future<ParallelTransferResult>> transferThreadStates = executor
 					.invokeAll(parallelPutTransferThreads);
 
+			List<ParallelTransferResult> results = new ArrayList<ParallelTransferResult>();
 			for (Future<ParallelTransferResult> transferState : transferThreadStates) {
 				try {
-					transferState.get();
+					results.add(transferState.get());
 				} catch (ExecutionException e) {
 					throw new JargonException(e.getCause());
 				}
 			}
+			recordTransferResults(results, startNanos);
 
 			log.info("executor completed");
 		} catch (InterruptedException e) {
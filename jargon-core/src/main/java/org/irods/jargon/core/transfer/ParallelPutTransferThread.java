@@ -2,20 +2,19 @@ package org.irods.jargon.core.transfer;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.RandomAccessFile;
 import java.net.InetSocketAddress;
 import java.net.Socket;
-import java.util.Arrays;
+import java.nio.channels.SocketChannel;
 import java.util.concurrent.Callable;
 
+import org.irods.jargon.core.checksum.TransferChecksumDigester;
 import org.irods.jargon.core.connection.ConnectionConstants;
 import org.irods.jargon.core.connection.ConnectionProgressStatus;
 import org.irods.jargon.core.exception.JargonException;
-import org.irods.jargon.core.transfer.encrypt.EncryptionBuffer;
 import org.irods.jargon.core.transfer.encrypt.ParallelEncryptionCipherWrapper;
 import org.irods.jargon.core.utils.Host;
+import org.irods.jargon.core.utils.ThreadLocalBufferCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -33,8 +32,25 @@ AbstractParallelTransferThread implements
 Callable<ParallelTransferResult> {
 
 	private final ParallelPutFileTransferStrategy parallelPutFileTransferStrategy;
-	private RandomAccessFile localRandomAccessFile = null;
+	private ParallelLocalFile localFile = null;
+	/**
+	 * Channel of the socket, set when file data is sent with
+	 * <code>FileChannel.transferTo()</code> rather than through the output
+	 * stream
+	 */
+	private SocketChannel socketChannel = null;
 	private ParallelEncryptionCipherWrapper parallelEncryptionCipherWrapper = null;
+	/**
+	 * Sends encrypted buffers while the next is encrypted, set during a put
+	 * when encryption was negotiated
+	 */
+	private PipelinedEncryptionWriter encryptionWriter = null;
+
+	/**
+	 * Most bytes sent by one <code>transferTo()</code> call, so progress and
+	 * restart information are still updated during large segments
+	 */
+	static final int CHANNEL_TRANSFER_CHUNK_SIZE = 4 * 1024 * 1024;
 
 	public static final Logger log = LoggerFactory
 			.getLogger(ParallelPutTransferThread.class);
@@ -75,7 +91,15 @@ Callable<ParallelTransferResult> {
 			log.info(
 					"opening socket to parallel transfer (high) port at port:{}",
 					parallelPutFileTransferStrategy.getPort());
-			Socket s = new Socket();
+			Socket s;
+			if (isChannelTransfer()) {
+				log.info("unencrypted put with channel i/o, file data is sent with transferTo()");
+				socketChannel = SocketChannel.open();
+				s = socketChannel.socket();
+			} else {
+				s = new Socket();
+			}
+
 			if (parallelPutFileTransferStrategy.getPipelineConfiguration()
 					.getParallelTcpSendWindowSize() > 0) {
 				s.setSendBufferSize(parallelPutFileTransferStrategy
@@ -155,7 +179,9 @@ Callable<ParallelTransferResult> {
 
 		try {
 
-			log.info("getting random access file for local file");
+			ParallelLocalIOStrategyEnum strategy = parallelPutFileTransferStrategy
+					.getPipelineConfiguration().getParallelLocalIOStrategy();
+			log.info("opening local file with strategy:{}", strategy);
 			/*
 			 * int bufferSize = parallelPutFileTransferStrategy
 			 * .getJargonProperties().getLocalFileInputStreamBufferSize(); if
@@ -168,8 +194,9 @@ Callable<ParallelTransferResult> {
 			 * parallelPutFileTransferStrategy.getLocalFile()), bufferSize); }
 			 */
 
-			localRandomAccessFile = new RandomAccessFile(
-					parallelPutFileTransferStrategy.getLocalFile(), "r");
+			localFile = ParallelLocalFile.instance(
+					parallelPutFileTransferStrategy.getLocalFile(), false,
+					strategy);
 
 			log.info("writing the cookie (password) for the output thread");
 
@@ -182,8 +209,7 @@ Callable<ParallelTransferResult> {
 			log.debug("cookie written for output thread...calling put() to start read/write loop");
 			put();
 			log.debug("put operation completed");
-			ParallelTransferResult result = new ParallelTransferResult();
-			return result;
+			return buildTransferResult();
 
 		} catch (Throwable e) {
 			log.error(
@@ -196,7 +222,9 @@ Callable<ParallelTransferResult> {
 			log.info("socket conns for parallel transfer closed, now close the file stream");
 			// close file stream
 			try {
-				localRandomAccessFile.close();
+				if (localFile != null) {
+					localFile.close();
+				}
 				log.info("streams and files closed");
 			} catch (IOException e) {
 			}
@@ -205,18 +233,19 @@ Callable<ParallelTransferResult> {
 	}
 
 	/**
-	 * @throws IOException
-	 * @throws JargonException
+	 * Check whether file data is sent straight from the file channel to the
+	 * socket channel, which is done for unencrypted puts when the local i/o
+	 * strategy is not <code>STREAM</code>. Data is read into a buffer instead
+	 * when the checksum is computed during the put, so it can be digested.
+	 *
+	 * @return <code>boolean</code>
 	 */
-	private void seekToStartingPoint(final long offset) throws JargonException {
-
-		try {
-			localRandomAccessFile.seek(offset);
-		} catch (IOException e) {
-			log.error("IOException in seek", e);
-			throw new JargonException(e);
-		}
-
+	private boolean isChannelTransfer() {
+		return !parallelPutFileTransferStrategy.doEncryption()
+				&& parallelPutFileTransferStrategy
+						.getTransferChecksumDigester() == null
+				&& parallelPutFileTransferStrategy.getPipelineConfiguration()
+						.getParallelLocalIOStrategy() != ParallelLocalIOStrategyEnum.STREAM;
 	}
 
 	private void put() throws JargonException {
@@ -226,9 +255,17 @@ Callable<ParallelTransferResult> {
 		boolean done = false;
 		// c code - size_t buf_size = 2 * TRANS_BUF_SZ * sizeof( unsigned char
 		// );
-		buffer = new byte[parallelPutFileTransferStrategy.getJargonProperties()
-		                  .getParallelCopyBufferSize()];
-		long currentOffset = 0;
+		buffer = ThreadLocalBufferCache.borrow(parallelPutFileTransferStrategy
+				.getJargonProperties().getParallelCopyBufferSize());
+
+		if (parallelPutFileTransferStrategy.doEncryption()) {
+			encryptionWriter = new PipelinedEncryptionWriter(getOut(),
+					ConnectionConstants.INT_LENGTH
+							+ parallelEncryptionCipherWrapper
+									.getEncryptedLength(parallelPutFileTransferStrategy
+											.getJargonProperties()
+											.getParallelCopyBufferSize()));
+		}
 
 		try {
 			while (!done) {
@@ -272,13 +309,9 @@ Callable<ParallelTransferResult> {
 				 * If restarting, maintain a reference to the offset
 				 */
 
-				if (parallelPutFileTransferStrategy.getFileRestartInfo() != null) {
-					parallelPutFileTransferStrategy.getRestartManager()
-					.updateOffsetForSegment(
-							parallelPutFileTransferStrategy
-							.getFileRestartInfo()
-							.identifierFromThisInfo(),
-							getThreadNumber(), offset);
+				if (parallelPutFileTransferStrategy.getRestartCheckpointer() != null) {
+					parallelPutFileTransferStrategy.getRestartCheckpointer()
+					.startSegment(getThreadNumber(), offset);
 				}
 
 				// How much to read/write
@@ -287,13 +320,6 @@ Callable<ParallelTransferResult> {
 					log.info("   length:" + length);
 				}
 
-				if (offset != currentOffset) {
-					// seekToStartingPoint(offset - currentOffset); // FIXME:
-					// test!
-					seekToStartingPoint(offset);
-					currentOffset = offset;
-				}
-
 				log.info("buffer length for put is: {}", buffer.length);
 
 				/*
@@ -301,8 +327,9 @@ Callable<ParallelTransferResult> {
 				 * the socket until the anticipated transfer length is consumed.
 				 */
 
-				readWriteLoopForCurrentHeaderDirective(buffer, length);
-				currentOffset += length;
+				startSegmentMeasurement();
+				readWriteLoopForCurrentHeaderDirective(buffer, offset, length);
+				endSegmentMeasurement(length);
 
 			}
 
@@ -311,22 +338,35 @@ Callable<ParallelTransferResult> {
 					"An IO exception occurred during a parallel file put operation",
 					e);
 			throw new JargonException("IOException during parallel file put", e);
+		} finally {
+			ThreadLocalBufferCache.release(buffer);
+			if (encryptionWriter != null) {
+				encryptionWriter.close();
+				encryptionWriter = null;
+			}
 		}
 	}
 
 	/**
 	 * @param buffer
+	 * @param offset
+	 *            <code>long</code> with the position in the file to send from
 	 * @param length
 	 * @throws IOException
 	 * @throws JargonException
 	 */
 	private void readWriteLoopForCurrentHeaderDirective(final byte[] buffer,
-			final long length) throws IOException, JargonException {
+			final long offset, final long length) throws IOException,
+			JargonException {
 		int read = 0;
+		long position = offset;
 		long totalRead = 0;
 		long transferLength = length;
 		long totalWritten = 0;
-		long totalWrittenSinceLastRestartUpdate = 0;
+		RestartCheckpointer restartCheckpointer = parallelPutFileTransferStrategy
+				.getRestartCheckpointer();
+		TransferChecksumDigester transferChecksumDigester = parallelPutFileTransferStrategy
+				.getTransferChecksumDigester();
 		log.debug("readWriteLoopForCurrentHeaderDirective()");
 		try {
 			while (transferLength > 0) {
@@ -338,15 +378,28 @@ Callable<ParallelTransferResult> {
 
 				log.debug("read/write loop at top");
 
-				read = localRandomAccessFile.read(buffer, 0, (int) Math.min(
-						parallelPutFileTransferStrategy.getJargonProperties()
-						.getParallelCopyBufferSize(), transferLength));
+				if (socketChannel != null) {
+					read = (int) localFile.transferTo(position, Math.min(
+							CHANNEL_TRANSFER_CHUNK_SIZE, transferLength),
+							socketChannel);
+				} else {
+					read = localFile.read(position, buffer, (int) Math.min(
+							parallelPutFileTransferStrategy
+							.getJargonProperties()
+							.getParallelCopyBufferSize(), transferLength));
+				}
 
 				log.debug("bytes read: {}", read);
 
 				if (read > 0) {
 
+					if (transferChecksumDigester != null) {
+						transferChecksumDigester.update(position, buffer, 0,
+								read);
+					}
+
 					totalRead += read;
+					position += read;
 					transferLength -= read;
 					log.debug(
 							"getting ready to write to iRODS, new txfr length:{}",
@@ -358,31 +411,22 @@ Callable<ParallelTransferResult> {
 
 					if (parallelPutFileTransferStrategy.doEncryption()) {
 						log.debug("put with encryption, encrypt this buffer");
-						EncryptionBuffer encryptedBuff = parallelEncryptionCipherWrapper
-								.encrypt(Arrays.copyOf(buffer, read));
-						log.debug("iv length:{}",
-								encryptedBuff.getInitializationVector().length);
-						// sendInNetworkOrder(encryptedBuff.getEncryptedData().length
-						// + encryptedBuff.getInitializationVector().length);
-						sendInLittleEndian(encryptedBuff.getEncryptedData().length
-								+ encryptedBuff.getInitializationVector().length);
-						log.debug(
-								"computed length:{}",
-								encryptedBuff.getEncryptedData().length
-								+ encryptedBuff
-								.getInitializationVector().length);
-						// this encryptedBuff has the data and the iv
-						ByteArrayOutputStream buffOut = new ByteArrayOutputStream(
-								encryptedBuff.getEncryptedData().length
-								+ encryptedBuff
-								.getInitializationVector().length);
-						buffOut.write(encryptedBuff.getInitializationVector());
-						buffOut.write(encryptedBuff.getEncryptedData());
-						// getOut().write(buffOut.toByteArray());
-						buffOut.writeTo(getOut());
-						// getOut().write(encryptedBuff.getInitializationVector());
-						// getOut().write(encryptedBuff.getEncryptedData());
-					} else {
+						/*
+						 * the little endian length of the encrypted data and
+						 * iv, then the iv and the encrypted data, are sent in
+						 * one write by the encryption writer thread
+						 */
+						byte[] encrypted = encryptionWriter.takeBuffer();
+						int encryptedLength = parallelEncryptionCipherWrapper
+								.encrypt(buffer, read, encrypted,
+										ConnectionConstants.INT_LENGTH);
+						log.debug("computed length:{}", encryptedLength);
+						Host.copyInt(Integer.reverseBytes(encryptedLength),
+								encrypted);
+						encryptionWriter.write(encrypted,
+								ConnectionConstants.INT_LENGTH
+										+ encryptedLength);
+					} else if (socketChannel == null) {
 						getOut().write(buffer, 0, read);
 					}
 
@@ -401,28 +445,14 @@ Callable<ParallelTransferResult> {
 
 					log.debug("wrote data to the buffer");
 					totalWritten += read;
-					totalWrittenSinceLastRestartUpdate += read;
 
 					/*
-					 * See if I need to do restart stuff, see if restart is on
-					 * by checking null, and then see if I have written enough
-					 * to save the restart info
+					 * If restart is on, hold the progress, which is saved once
+					 * enough has been written or enough time has passed
 					 */
 
-					if (parallelPutFileTransferStrategy.getFileRestartInfo() != null) {
-						log.debug("checking total written for this thread");
-						if (totalWrittenSinceLastRestartUpdate >= ConnectionConstants.MIN_FILE_RESTART_SIZE) {
-							parallelPutFileTransferStrategy.getRestartManager()
-							.updateLengthForSegment(
-									parallelPutFileTransferStrategy
-									.getFileRestartInfo()
-									.identifierFromThisInfo(),
-									getThreadNumber(),
-									totalWrittenSinceLastRestartUpdate);
-							totalWrittenSinceLastRestartUpdate = 0;
-							log.debug("signal storage of new info");
-						}
-
+					if (restartCheckpointer != null) {
+						restartCheckpointer.addBytes(getThreadNumber(), read);
 					}
 
 				} else {
@@ -436,25 +466,18 @@ Callable<ParallelTransferResult> {
 			}
 
 			log.info("final flush of output buffer");
-			getOut().flush();
+			if (encryptionWriter != null) {
+				encryptionWriter.flush();
+			} else {
+				getOut().flush();
+			}
 
 			log.info("for thread, total read: {}", totalRead);
 			log.info("   total written: {}", totalWritten);
 			log.info("   transferLength: {}", transferLength);
 
-			if (parallelPutFileTransferStrategy.getFileRestartInfo() != null) {
-				log.debug("checking total written for this thread");
-				if (totalWrittenSinceLastRestartUpdate > 0) {
-					parallelPutFileTransferStrategy.getRestartManager()
-					.updateLengthForSegment(
-							parallelPutFileTransferStrategy
-							.getFileRestartInfo()
-							.identifierFromThisInfo(),
-							getThreadNumber(),
-							totalWrittenSinceLastRestartUpdate);
-					log.debug("signal storage of new info");
-				}
-
+			if (restartCheckpointer != null) {
+				restartCheckpointer.checkpoint(getThreadNumber());
 			}
 
 		} catch (Throwable e) {
@@ -1,14 +1,16 @@
 package org.irods.jargon.core.transfer;
 
 /**
- * represents a return value from a parallel transfer operation. Currently, this
- * is a place holder, but could grow to include performance stats, etc.
+ * represents a return value from a parallel transfer operation, with the
+ * exception, if any, and the throughput of the thread that produced it.
  *
  * @author Mike Conway - DICE (www.irods.org)
  *
  */
 public class ParallelTransferResult {
 	Exception transferException = null;
+	long bytesTransferred = 0L;
+	long transferNanos = 0L;
 
 	/**
 	 * @return the transferException
@@ -17,4 +19,20 @@ public class ParallelTransferResult {
 		return transferException;
 	}
 
+	/**
+	 * @return <code>long</code> with the bytes moved by this thread over all
+	 *         of its segments
+	 */
+	public long getBytesTransferred() {
+		return bytesTransferred;
+	}
+
+	/**
+	 * @return <code>long</code> with the nanoseconds spent moving the bytes of
+	 *         the segments, not counting time waiting for segment headers
+	 */
+	public long getTransferNanos() {
+		return transferNanos;
+	}
+
 }
@@ -0,0 +1,233 @@
+package org.irods.jargon.core.transfer;
+
+import org.irods.jargon.core.connection.DiscoveredServerPropertiesCache;
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.JargonProperties;
+import org.irods.jargon.core.transfer.AbstractParallelFileTransferStrategy.TransferType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Adjusts the number of threads requested for a parallel transfer, and the
+ * copy buffer size of each thread, from the throughput of earlier parallel
+ * transfers to the same host, zone, and resource.
+ * <p/>
+ * Adjustment is additive increase, multiplicative decrease. While throughput
+ * holds or improves, one thread and one increment of buffer are added for the
+ * next transfer, up to the bounds in the <code>JargonProperties</code>. When
+ * throughput drops by more than {@link #DECREASE_TOLERANCE}, both are halved.
+ * Settings start from <code>getMaxParallelThreads()</code> and
+ * <code>getParallelCopyBufferSize()</code>, and what is learned is kept in
+ * the {@link DiscoveredServerPropertiesCache}, separately for gets and puts.
+ * <p/>
+ * The server has the final say on the threads of a transfer, and may grant
+ * fewer than requested. Adjustment starts from the threads actually used.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class ParallelTransferTuner {
+
+	public static final Logger log = LoggerFactory
+			.getLogger(ParallelTransferTuner.class);
+
+	/**
+	 * Prefix of the properties in the {@link DiscoveredServerPropertiesCache}
+	 * holding learned settings, followed by the transfer type and resource
+	 */
+	public static final String PARALLEL_TRANSFER_TUNING = "parallelTransferTuning";
+
+	/**
+	 * Fraction by which throughput may fall short of the last observed before
+	 * settings are decreased, so that ordinary variation is not taken as
+	 * congestion
+	 */
+	public static final double DECREASE_TOLERANCE = 0.1;
+
+	/**
+	 * Smallest copy buffer a decrease will go to
+	 */
+	public static final int MIN_BUFFER_SIZE = 64 * 1024;
+
+	private final DiscoveredServerPropertiesCache discoveredServerPropertiesCache;
+	private final int initialThreads;
+	private final int maxThreads;
+	private final int bufferIncrement;
+	private final int maxBufferSize;
+
+	/**
+	 * Create a tuner with bounds from the given properties
+	 *
+	 * @param discoveredServerPropertiesCache
+	 *            {@link DiscoveredServerPropertiesCache} where learned
+	 *            settings are kept
+	 * @param jargonProperties
+	 *            {@link JargonProperties} with the starting and maximum
+	 *            settings
+	 */
+	public ParallelTransferTuner(
+			final DiscoveredServerPropertiesCache discoveredServerPropertiesCache,
+			final JargonProperties jargonProperties) {
+
+		if (discoveredServerPropertiesCache == null) {
+			throw new IllegalArgumentException(
+					"null discoveredServerPropertiesCache");
+		}
+
+		if (jargonProperties == null) {
+			throw new IllegalArgumentException("null jargonProperties");
+		}
+
+		this.discoveredServerPropertiesCache = discoveredServerPropertiesCache;
+		maxThreads = Math.max(1, jargonProperties.getAdaptiveParallelMaxThreads());
+		initialThreads = Math.max(1,
+				Math.min(maxThreads, jargonProperties.getMaxParallelThreads()));
+		bufferIncrement = Math.max(MIN_BUFFER_SIZE,
+				jargonProperties.getParallelCopyBufferSize());
+		maxBufferSize = Math.max(bufferIncrement,
+				jargonProperties.getAdaptiveParallelMaxBufferSize());
+	}
+
+	/**
+	 * Get the settings to use for the next parallel transfer to a resource
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} giving the host and zone
+	 * @param resource
+	 *            <code>String</code> with the resource of the transfer, if
+	 *            blank the default resource of the account is used
+	 * @param transferType
+	 *            {@link TransferType} of the transfer
+	 * @return {@link ParallelTransferTuning} learned earlier, or the starting
+	 *         settings
+	 */
+	public ParallelTransferTuning retrieveTuning(
+			final IRODSAccount irodsAccount, final String resource,
+			final TransferType transferType) {
+
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		if (transferType == null) {
+			throw new IllegalArgumentException("null transferType");
+		}
+
+		ParallelTransferTuning tuning = ParallelTransferTuning
+				.fromCacheValue(discoveredServerPropertiesCache.retrieveValue(
+						irodsAccount.getHost(), irodsAccount.getZone(),
+						buildPropertyName(irodsAccount, resource, transferType)));
+
+		if (tuning == null) {
+			tuning = new ParallelTransferTuning(initialThreads,
+					bufferIncrement, 0L);
+		}
+
+		log.debug("tuning for {} to resource {}:{}", new Object[] {
+				transferType, resource, tuning });
+		return tuning;
+	}
+
+	/**
+	 * Record the throughput of a completed parallel transfer, and keep the
+	 * adjusted settings for the next transfer
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} giving the host and zone
+	 * @param resource
+	 *            <code>String</code> with the resource of the transfer, if
+	 *            blank the default resource of the account is used
+	 * @param transferType
+	 *            {@link TransferType} of the transfer
+	 * @param tuningUsed
+	 *            {@link ParallelTransferTuning} that was retrieved for the
+	 *            transfer
+	 * @param threadsUsed
+	 *            <code>int</code> with the threads granted by the server
+	 * @param bytesTransferred
+	 *            <code>long</code> with the bytes moved
+	 * @param elapsedNanos
+	 *            <code>long</code> with the time taken
+	 * @return {@link ParallelTransferTuning} for the next transfer
+	 */
+	public ParallelTransferTuning recordTransfer(
+			final IRODSAccount irodsAccount, final String resource,
+			final TransferType transferType,
+			final ParallelTransferTuning tuningUsed, final int threadsUsed,
+			final long bytesTransferred, final long elapsedNanos) {
+
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		if (transferType == null) {
+			throw new IllegalArgumentException("null transferType");
+		}
+
+		if (tuningUsed == null) {
+			throw new IllegalArgumentException("null tuningUsed");
+		}
+
+		if (bytesTransferred <= 0 || elapsedNanos <= 0 || threadsUsed < 1) {
+			log.debug("nothing measured, settings are unchanged");
+			return tuningUsed;
+		}
+
+		long bytesPerSecond = (long) (bytesTransferred * 1000000000.0 / elapsedNanos);
+		ParallelTransferTuning next = adjust(tuningUsed, threadsUsed,
+				bytesPerSecond);
+		log.info("transfer at {} bytes/sec with {}, next transfer uses {}",
+				new Object[] { bytesPerSecond, tuningUsed, next });
+
+		discoveredServerPropertiesCache.cacheAProperty(irodsAccount.getHost(),
+				irodsAccount.getZone(),
+				buildPropertyName(irodsAccount, resource, transferType),
+				next.toCacheValue());
+		return next;
+	}
+
+	/**
+	 * Compute the settings following a transfer
+	 *
+	 * @param previous
+	 *            {@link ParallelTransferTuning} used for the transfer, with
+	 *            the throughput observed before it
+	 * @param threadsUsed
+	 *            <code>int</code> with the threads granted by the server
+	 * @param bytesPerSecond
+	 *            <code>long</code> with the throughput of the transfer
+	 * @return {@link ParallelTransferTuning} for the next transfer
+	 */
+	ParallelTransferTuning adjust(final ParallelTransferTuning previous,
+			final int threadsUsed, final long bytesPerSecond) {
+
+		int threads = Math.min(previous.getNumberOfThreads(), threadsUsed);
+
+		if (bytesPerSecond >= previous.getBytesPerSecond()
+				* (1.0 - DECREASE_TOLERANCE)) {
+			return new ParallelTransferTuning(Math.min(maxThreads, threads + 1),
+					Math.min(maxBufferSize, previous.getBufferSize()
+							+ bufferIncrement), bytesPerSecond);
+		}
+
+		return new ParallelTransferTuning(Math.max(1, threads / 2), Math.max(
+				MIN_BUFFER_SIZE, previous.getBufferSize() / 2), bytesPerSecond);
+	}
+
+	private String buildPropertyName(final IRODSAccount irodsAccount,
+			final String resource, final TransferType transferType) {
+		String myResource = resource;
+		if (myResource == null || myResource.isEmpty()) {
+			myResource = irodsAccount.getDefaultStorageResource();
+		}
+
+		StringBuilder sb = new StringBuilder();
+		sb.append(PARALLEL_TRANSFER_TUNING);
+		sb.append('.');
+		sb.append(transferType);
+		sb.append('.');
+		sb.append(myResource == null ? "" : myResource.trim());
+		return sb.toString();
+	}
+
+}
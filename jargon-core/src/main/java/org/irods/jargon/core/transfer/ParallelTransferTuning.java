@@ -0,0 +1,130 @@
+package org.irods.jargon.core.transfer;
+
+/**
+ * Settings for a parallel transfer learned by a {@link ParallelTransferTuner},
+ * along with the throughput seen the last time they were adjusted. This is
+ * immutable, and is kept in the
+ * <code>DiscoveredServerPropertiesCache</code> as a plain
+ * <code>String</code>.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public final class ParallelTransferTuning {
+
+	private final int numberOfThreads;
+	private final int bufferSize;
+	private final long bytesPerSecond;
+
+	/**
+	 * Create tuned settings
+	 *
+	 * @param numberOfThreads
+	 *            <code>int</code> with the threads to request, at least 1
+	 * @param bufferSize
+	 *            <code>int</code> with the copy buffer size, in bytes, for
+	 *            each thread
+	 * @param bytesPerSecond
+	 *            <code>long</code> with the throughput last observed, or 0 if
+	 *            no transfer has been observed
+	 */
+	public ParallelTransferTuning(final int numberOfThreads,
+			final int bufferSize, final long bytesPerSecond) {
+
+		if (numberOfThreads < 1) {
+			throw new IllegalArgumentException("numberOfThreads must be >= 1");
+		}
+
+		if (bufferSize < 1) {
+			throw new IllegalArgumentException("bufferSize must be >= 1");
+		}
+
+		if (bytesPerSecond < 0) {
+			throw new IllegalArgumentException("bytesPerSecond must be >= 0");
+		}
+
+		this.numberOfThreads = numberOfThreads;
+		this.bufferSize = bufferSize;
+		this.bytesPerSecond = bytesPerSecond;
+	}
+
+	/**
+	 * Parse settings cached with {@link #toCacheValue()}
+	 *
+	 * @param cacheValue
+	 *            <code>String</code> with the cached value, may be
+	 *            <code>null</code>
+	 * @return {@link ParallelTransferTuning} or <code>null</code> if the value
+	 *         is <code>null</code> or cannot be parsed
+	 */
+	public static ParallelTransferTuning fromCacheValue(final String cacheValue) {
+		if (cacheValue == null) {
+			return null;
+		}
+
+		String[] parts = cacheValue.split(",");
+		if (parts.length != 3) {
+			return null;
+		}
+
+		try {
+			return new ParallelTransferTuning(Integer.parseInt(parts[0]),
+					Integer.parseInt(parts[1]), Long.parseLong(parts[2]));
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * @return <code>String</code> form of these settings for the cache
+	 */
+	public String toCacheValue() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(numberOfThreads);
+		sb.append(',');
+		sb.append(bufferSize);
+		sb.append(',');
+		sb.append(bytesPerSecond);
+		return sb.toString();
+	}
+
+	/**
+	 * @return the numberOfThreads
+	 */
+	public int getNumberOfThreads() {
+		return numberOfThreads;
+	}
+
+	/**
+	 * @return the bufferSize
+	 */
+	public int getBufferSize() {
+		return bufferSize;
+	}
+
+	/**
+	 * @return the bytesPerSecond
+	 */
+	public long getBytesPerSecond() {
+		return bytesPerSecond;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("ParallelTransferTuning [numberOfThreads=");
+		builder.append(numberOfThreads);
+		builder.append(", bufferSize=");
+		builder.append(bufferSize);
+		builder.append(", bytesPerSecond=");
+		builder.append(bytesPerSecond);
+		builder.append("]");
+		return builder.toString();
+	}
+
+}
@@ -0,0 +1,212 @@
+package org.irods.jargon.core.transfer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends the encrypted buffers of a parallel put to the socket on a thread of
+ * its own, so that the transfer thread can read and encrypt the next buffer
+ * while the last one is being written. A fixed set of output buffers is
+ * handed back and forth, so nothing is allocated per buffer.
+ * <p/>
+ * The transfer thread takes a free buffer with {@link #takeBuffer()}, fills
+ * it, and hands it over with {@link #write(byte[], int)}. Before reading the
+ * next segment header from iRODS it must call {@link #flush()}, which waits
+ * for everything handed over to be sent. An error in the writer thread is
+ * thrown from the next call by the transfer thread.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+final class PipelinedEncryptionWriter {
+
+	public static final Logger log = LoggerFactory
+			.getLogger(PipelinedEncryptionWriter.class);
+
+	/**
+	 * Buffers in use, one being filled while one is written
+	 */
+	static final int BUFFER_COUNT = 2;
+
+	private static final long POLL_MILLIS = 100L;
+
+	/**
+	 * Numbers the writer threads
+	 */
+	private static final AtomicInteger WRITER_COUNT = new AtomicInteger();
+
+	/**
+	 * Marks the end of the data to the writer thread
+	 */
+	private static final PendingBuffer END = new PendingBuffer(new byte[0], 0);
+
+	private final OutputStream out;
+	private final BlockingQueue<byte[]> freeBuffers = new ArrayBlockingQueue<byte[]>(
+			BUFFER_COUNT);
+	private final BlockingQueue<PendingBuffer> pendingBuffers = new ArrayBlockingQueue<PendingBuffer>(
+			BUFFER_COUNT + 1);
+	private final ExecutorService writerExecutor;
+	private final Future<Void> writer;
+
+	/**
+	 * Start a writer thread for the given stream
+	 *
+	 * @param out
+	 *            <code>OutputStream</code> of the parallel transfer socket,
+	 *            which only the writer thread uses until {@link #flush()}
+	 *            returns
+	 * @param bufferSize
+	 *            <code>int</code> with the size of each buffer
+	 */
+	PipelinedEncryptionWriter(final OutputStream out, final int bufferSize) {
+		if (out == null) {
+			throw new IllegalArgumentException("null out");
+		}
+
+		if (bufferSize <= 0) {
+			throw new IllegalArgumentException("bufferSize must be > 0");
+		}
+
+		this.out = out;
+		for (int i = 0; i < BUFFER_COUNT; i++) {
+			freeBuffers.add(new byte[bufferSize]);
+		}
+
+		writerExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+			@Override
+			public Thread newThread(final Runnable runnable) {
+				Thread thread = new Thread(runnable,
+						"jargon-encryption-writer-"
+								+ WRITER_COUNT.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		writer = writerExecutor.submit(new Callable<Void>() {
+			@Override
+			public Void call() throws Exception {
+				writeLoop();
+				return null;
+			}
+		});
+	}
+
+	/**
+	 * Get a free buffer, waiting while both are in use
+	 *
+	 * @return <code>byte[]</code> to fill and pass to
+	 *         {@link #write(byte[], int)}
+	 * @throws IOException
+	 *             if the writer thread has failed
+	 */
+	byte[] takeBuffer() throws IOException {
+		try {
+			while (true) {
+				byte[] buffer = freeBuffers.poll(POLL_MILLIS,
+						TimeUnit.MILLISECONDS);
+				if (buffer != null) {
+					return buffer;
+				}
+				checkWriter();
+			}
+		} catch (InterruptedException e) {
+			throw new IOException(
+					"interrupted, consider connection corrupted and return IOException to clear");
+		}
+	}
+
+	/**
+	 * Hand a filled buffer to the writer thread
+	 *
+	 * @param buffer
+	 *            <code>byte[]</code> from {@link #takeBuffer()}
+	 * @param length
+	 *            <code>int</code> with the bytes of the buffer to send
+	 * @throws IOException
+	 *             if the writer thread has failed
+	 */
+	void write(final byte[] buffer, final int length) throws IOException {
+		checkWriter();
+		pendingBuffers.add(new PendingBuffer(buffer, length));
+	}
+
+	/**
+	 * Wait until all buffers handed over have been written, then flush the
+	 * stream
+	 *
+	 * @throws IOException
+	 *             if the writer thread has failed
+	 */
+	void flush() throws IOException {
+		byte[][] buffers = new byte[BUFFER_COUNT][];
+		for (int i = 0; i < BUFFER_COUNT; i++) {
+			buffers[i] = takeBuffer();
+		}
+		for (byte[] buffer : buffers) {
+			freeBuffers.add(buffer);
+		}
+		out.flush();
+	}
+
+	/**
+	 * Stop the writer thread. Buffers not yet written are discarded, so
+	 * {@link #flush()} should be called first when the data is wanted.
+	 */
+	void close() {
+		pendingBuffers.clear();
+		pendingBuffers.add(END);
+		writerExecutor.shutdown();
+	}
+
+	private void writeLoop() throws IOException, InterruptedException {
+		while (true) {
+			PendingBuffer pending = pendingBuffers.take();
+			if (pending == END) {
+				return;
+			}
+			out.write(pending.buffer, 0, pending.length);
+			freeBuffers.add(pending.buffer);
+		}
+	}
+
+	private void checkWriter() throws IOException {
+		if (!writer.isDone()) {
+			return;
+		}
+
+		try {
+			writer.get();
+		} catch (ExecutionException e) {
+			log.error("error writing encrypted data", e.getCause());
+			throw new IOException("error writing encrypted data", e.getCause());
+		} catch (InterruptedException e) {
+			throw new IOException(
+					"interrupted, consider connection corrupted and return IOException to clear");
+		}
+		throw new IOException("encrypted data writer is closed");
+	}
+
+	private static final class PendingBuffer {
+		private final byte[] buffer;
+		private final int length;
+
+		PendingBuffer(final byte[] buffer, final int length) {
+			this.buffer = buffer;
+			this.length = length;
+		}
+	}
+
+}
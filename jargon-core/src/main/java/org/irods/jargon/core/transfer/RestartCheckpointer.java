@@ -0,0 +1,236 @@
+package org.irods.jargon.core.transfer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects the progress of each thread of a parallel transfer and saves it to
+ * the {@link AbstractRestartManager} in batches, rather than on every buffer.
+ * <p/>
+ * Each thread adds the bytes it moves to a slot of its own, without locking,
+ * and saves them to the restart manager once a byte budget or a time budget
+ * is used up, as well as when it starts a new segment. Calls into the restart
+ * manager, which is synchronized across all threads, are then a small fraction
+ * of the transfer. At most the byte budget, or the time budget's worth of
+ * transfer, is redone by each thread after a restart.
+ * <p/>
+ * To keep additions cheap, the clock is read only on every
+ * {@link #CLOCK_CHECK_INTERVAL}th addition by a thread.
+ * <p/>
+ * Slots are spread a cache line apart so threads do not contend on them.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class RestartCheckpointer {
+
+	private static final Logger log = LoggerFactory
+			.getLogger(RestartCheckpointer.class);
+
+	/**
+	 * Additions by a thread between checks of the time budget
+	 */
+	public static final int CLOCK_CHECK_INTERVAL = 16;
+
+	/**
+	 * Longs between the slots of two threads, so each is on its own cache line
+	 */
+	private static final int SLOT_STRIDE = 8;
+
+	/*
+	 * Positions in a slot of the bytes held, the time of the last checkpoint,
+	 * and the additions since the clock was last read
+	 */
+	private static final int PENDING_BYTES = 0;
+	private static final int LAST_CHECKPOINT_NANOS = 1;
+	private static final int ADDITIONS = 2;
+
+	private final AbstractRestartManager restartManager;
+	private final FileRestartInfoIdentifier fileRestartInfoIdentifier;
+	private final int numberOfThreads;
+	private final long checkpointBytes;
+	private final long checkpointIntervalNanos;
+	private final AtomicLongArray slots;
+	private final AtomicLong checkpoints = new AtomicLong();
+	private final AtomicLong checkpointNanos = new AtomicLong();
+
+	/**
+	 * Create a checkpointer for the threads of one transfer
+	 *
+	 * @param restartManager
+	 *            {@link AbstractRestartManager} that progress is saved to
+	 * @param fileRestartInfoIdentifier
+	 *            {@link FileRestartInfoIdentifier} of the transfer
+	 * @param numberOfThreads
+	 *            <code>int</code> with the threads of the transfer, numbered
+	 *            from zero
+	 * @param checkpointBytes
+	 *            <code>long</code> with the bytes a thread moves between
+	 *            checkpoints
+	 * @param checkpointIntervalMillis
+	 *            <code>long</code> with the longest time a thread holds
+	 *            progress before saving it
+	 */
+	public RestartCheckpointer(final AbstractRestartManager restartManager,
+			final FileRestartInfoIdentifier fileRestartInfoIdentifier,
+			final int numberOfThreads, final long checkpointBytes,
+			final long checkpointIntervalMillis) {
+
+		if (restartManager == null) {
+			throw new IllegalArgumentException("null restartManager");
+		}
+
+		if (fileRestartInfoIdentifier == null) {
+			throw new IllegalArgumentException("null fileRestartInfoIdentifier");
+		}
+
+		if (numberOfThreads < 1) {
+			throw new IllegalArgumentException("numberOfThreads must be > 0");
+		}
+
+		if (checkpointBytes < 1) {
+			throw new IllegalArgumentException("checkpointBytes must be > 0");
+		}
+
+		if (checkpointIntervalMillis < 0) {
+			throw new IllegalArgumentException(
+					"checkpointIntervalMillis must be >= 0");
+		}
+
+		this.restartManager = restartManager;
+		this.fileRestartInfoIdentifier = fileRestartInfoIdentifier;
+		this.numberOfThreads = numberOfThreads;
+		this.checkpointBytes = checkpointBytes;
+		checkpointIntervalNanos = TimeUnit.MILLISECONDS
+				.toNanos(checkpointIntervalMillis);
+		slots = new AtomicLongArray(numberOfThreads * SLOT_STRIDE);
+		long now = System.nanoTime();
+		for (int i = 0; i < numberOfThreads; i++) {
+			slots.set(i * SLOT_STRIDE + LAST_CHECKPOINT_NANOS, now);
+		}
+	}
+
+	/**
+	 * Note the start of a segment by a thread. Progress held for the previous
+	 * segment is saved first.
+	 *
+	 * @param threadNumber
+	 *            <code>int</code> with the thread
+	 * @param offset
+	 *            <code>long</code> with the offset of the segment in the file
+	 * @throws FileRestartManagementException
+	 */
+	public void startSegment(final int threadNumber, final long offset)
+			throws FileRestartManagementException {
+		checkpoint(threadNumber);
+		long start = System.nanoTime();
+		restartManager.updateOffsetForSegment(fileRestartInfoIdentifier,
+				threadNumber, offset);
+		recordCheckpoint(threadNumber, start);
+	}
+
+	/**
+	 * Add bytes moved by a thread in its current segment, saving progress if
+	 * the byte or time budget is used up
+	 *
+	 * @param threadNumber
+	 *            <code>int</code> with the thread
+	 * @param bytes
+	 *            <code>long</code> with the bytes moved
+	 * @throws FileRestartManagementException
+	 */
+	public void addBytes(final int threadNumber, final long bytes)
+			throws FileRestartManagementException {
+		int slot = slot(threadNumber);
+		long pending = slots.addAndGet(slot + PENDING_BYTES, bytes);
+		if (pending >= checkpointBytes) {
+			checkpoint(threadNumber);
+			return;
+		}
+
+		/*
+		 * Only the owning thread counts its additions, so no atomic increment
+		 * is needed
+		 */
+		long additions = slots.get(slot + ADDITIONS) + 1;
+		if (additions < CLOCK_CHECK_INTERVAL) {
+			slots.lazySet(slot + ADDITIONS, additions);
+			return;
+		}
+
+		slots.lazySet(slot + ADDITIONS, 0L);
+		if (System.nanoTime() - slots.get(slot
+				+ LAST_CHECKPOINT_NANOS) >= checkpointIntervalNanos) {
+			checkpoint(threadNumber);
+		}
+	}
+
+	/**
+	 * Save the progress held for a thread
+	 *
+	 * @param threadNumber
+	 *            <code>int</code> with the thread
+	 * @throws FileRestartManagementException
+	 */
+	public void checkpoint(final int threadNumber)
+			throws FileRestartManagementException {
+		long pending = slots.getAndSet(slot(threadNumber) + PENDING_BYTES, 0L);
+		if (pending == 0) {
+			return;
+		}
+
+		long start = System.nanoTime();
+		log.debug("checkpoint of {} bytes for thread {}", pending,
+				threadNumber);
+		restartManager.updateLengthForSegment(fileRestartInfoIdentifier,
+				threadNumber, pending);
+		recordCheckpoint(threadNumber, start);
+	}
+
+	/**
+	 * Save the progress held for all threads
+	 *
+	 * @throws FileRestartManagementException
+	 */
+	public void checkpointAll() throws FileRestartManagementException {
+		for (int i = 0; i < numberOfThreads; i++) {
+			checkpoint(i);
+		}
+	}
+
+	/**
+	 * @return <code>long</code> with the number of calls made to the restart
+	 *         manager
+	 */
+	public long getCheckpoints() {
+		return checkpoints.get();
+	}
+
+	/**
+	 * @return <code>long</code> with the total nanoseconds spent in calls to
+	 *         the restart manager, across all threads
+	 */
+	public long getCheckpointNanos() {
+		return checkpointNanos.get();
+	}
+
+	private void recordCheckpoint(final int threadNumber, final long start) {
+		long end = System.nanoTime();
+		slots.set(slot(threadNumber) + LAST_CHECKPOINT_NANOS, end);
+		checkpoints.incrementAndGet();
+		checkpointNanos.addAndGet(end - start);
+	}
+
+	private int slot(final int threadNumber) {
+		if (threadNumber < 0 || threadNumber >= numberOfThreads) {
+			throw new IllegalArgumentException("threadNumber out of range:"
+					+ threadNumber);
+		}
+		return threadNumber * SLOT_STRIDE;
+	}
+
+}
@@ -3,6 +3,7 @@
  */
 package org.irods.jargon.core.transfer.encrypt;
 
+import java.nio.ByteBuffer;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
@@ -12,6 +13,7 @@ import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
+import javax.crypto.ShortBufferException;
 import javax.crypto.spec.IvParameterSpec;
 
 import org.irods.jargon.core.connection.NegotiatedClientServerConfiguration;
@@ -142,6 +144,44 @@ class AesCipherDecryptWrapper extends ParallelDecryptionCipherWrapper {
 
 	}
 
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.transfer.encrypt.ParallelDecryptionCipherWrapper#
+	 * doDecrypt(byte[], int, byte[])
+	 */
+	@Override
+	protected int doDecrypt(final byte[] fullBuffer, final int length,
+			final byte[] output) {
+		log.debug("doDecrypt() into buffer");
+
+		if (length < 32) {
+			log.error("unusable data in buffer, less than 32 bytes");
+			throw new JargonRuntimeException("unusable data in data buffer");
+		}
+
+		if (length == 32) {
+			log.warn("no data in buffer to decrypt");
+			return 0;
+		}
+
+		try {
+			getCipher().init(Cipher.DECRYPT_MODE,
+					getNegotiatedClientServerConfiguration().getSecretKey(),
+					new IvParameterSpec(fullBuffer, 0, 16));
+			return getCipher().doFinal(
+					ByteBuffer.wrap(fullBuffer, 32, length - 32),
+					ByteBuffer.wrap(output));
+
+		} catch (IllegalBlockSizeException | BadPaddingException
+				| ShortBufferException | InvalidKeyException
+				| InvalidAlgorithmParameterException e) {
+			log.error("error during decryption", e);
+			throw new JargonRuntimeException(
+					"Unable to decrypt given negotiated settings", e);
+		}
+	}
+
 	private byte[] extractEncryptedData(final byte[] fullBuffer) {
 		byte[] returned = new byte[fullBuffer.length - 32];
 		System.arraycopy(fullBuffer, 32, returned, 0, fullBuffer.length - 32);
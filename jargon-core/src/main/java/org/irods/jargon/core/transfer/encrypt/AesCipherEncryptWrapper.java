@@ -3,18 +3,18 @@
  */
 package org.irods.jargon.core.transfer.encrypt;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.security.AlgorithmParameters;
+import java.nio.ByteBuffer;
+import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
-import java.security.spec.InvalidParameterSpecException;
+import java.security.SecureRandom;
 
 import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
 import javax.crypto.SecretKey;
+import javax.crypto.ShortBufferException;
 import javax.crypto.spec.IvParameterSpec;
 
 import org.irods.jargon.core.connection.NegotiatedClientServerConfiguration;
@@ -44,6 +44,14 @@ class AesCipherEncryptWrapper extends ParallelEncryptionCipherWrapper {
 			.getLogger(AesCipherEncryptWrapper.class);
 	public static byte[] ivPad = new byte[16];
 
+	/**
+	 * Length of the initialization vector, the AES block size
+	 */
+	static final int IV_LENGTH = 16;
+
+	private final SecureRandom secureRandom = new SecureRandom();
+	private final byte[] initializationVector = new byte[IV_LENGTH];
+
 	/**
 	 * Default constructor with configuration information needed to set up the
 	 * algorithm
@@ -91,40 +99,96 @@ class AesCipherEncryptWrapper extends ParallelEncryptionCipherWrapper {
 
 	}
 
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.transfer.encrypt.ParallelEncryptionCipherWrapper#
+	 * getEncryptedLength(int)
+	 */
+	@Override
+	public int getEncryptedLength(final int length) {
+		return IV_LENGTH + ivPad.length + getCipher().getOutputSize(length);
+	}
+
 	@Override
 	protected EncryptionBuffer doEncrypt(final byte[] input)
 			throws EncryptionException {
 
-		log.info("encrypt");
+		log.debug("encrypt");
 		if (input == null) {
 			throw new IllegalArgumentException("null input");
 		}
 
 		try {
 
-			AlgorithmParameters params = getCipher().getParameters();
-			byte[] mInitVec = params.getParameterSpec(IvParameterSpec.class)
-					.getIV();
-			ByteArrayOutputStream bos = new ByteArrayOutputStream();
-			bos.write(mInitVec);
+			byte[] mInitVec = initWithNewInitializationVector();
+			byte[] iv = new byte[IV_LENGTH + ivPad.length];
+			System.arraycopy(mInitVec, 0, iv, 0, IV_LENGTH);
 			// TODO: add version checking
-			bos.write(ivPad);
-
-			// get the initialization vector and store as member var
-			// byte[] mInitVec = getCipher().getIV();
+			System.arraycopy(ivPad, 0, iv, IV_LENGTH, ivPad.length);
 
 			log.debug("encrypting");
 			byte[] encrypted;
 
 			encrypted = getCipher().doFinal(input);
 			log.debug("encrypted length:{}", encrypted.length);
-			return new EncryptionBuffer(bos.toByteArray(), encrypted);
+			return new EncryptionBuffer(iv, encrypted);
+
+		} catch (IllegalBlockSizeException | BadPaddingException
+				| InvalidKeyException | InvalidAlgorithmParameterException e) {
+			log.error("encryption exception", e);
+			throw new EncryptionException("encryption exception", e);
+		}
+
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.transfer.encrypt.ParallelEncryptionCipherWrapper#
+	 * doEncrypt(byte[], int, byte[], int)
+	 */
+	@Override
+	protected int doEncrypt(final byte[] input, final int length,
+			final byte[] output, final int outputOffset)
+			throws EncryptionException {
+
+		try {
+			byte[] mInitVec = initWithNewInitializationVector();
+			System.arraycopy(mInitVec, 0, output, outputOffset, IV_LENGTH);
+			System.arraycopy(ivPad, 0, output, outputOffset + IV_LENGTH,
+					ivPad.length);
+			int dataOffset = outputOffset + IV_LENGTH + ivPad.length;
+			int encryptedLength = getCipher().doFinal(
+					ByteBuffer.wrap(input, 0, length),
+					ByteBuffer.wrap(output, dataOffset, output.length
+							- dataOffset));
+			return IV_LENGTH + ivPad.length + encryptedLength;
 
 		} catch (IllegalBlockSizeException | BadPaddingException
-				| InvalidParameterSpecException | IOException e) {
+				| ShortBufferException | InvalidKeyException
+				| InvalidAlgorithmParameterException e) {
 			log.error("encryption exception", e);
 			throw new EncryptionException("encryption exception", e);
 		}
+	}
 
+	/**
+	 * Re-initialize the cipher, which is kept for the life of this wrapper,
+	 * with a fresh random initialization vector so that no two buffers are
+	 * encrypted with the same one
+	 *
+	 * @return <code>byte[]</code> with the initialization vector, which is
+	 *         overwritten by the next call
+	 * @throws InvalidKeyException
+	 * @throws InvalidAlgorithmParameterException
+	 */
+	private byte[] initWithNewInitializationVector()
+			throws InvalidKeyException, InvalidAlgorithmParameterException {
+		secureRandom.nextBytes(initializationVector);
+		getCipher().init(Cipher.ENCRYPT_MODE,
+				getNegotiatedClientServerConfiguration().getSecretKey(),
+				new IvParameterSpec(initializationVector));
+		return initializationVector;
 	}
 }
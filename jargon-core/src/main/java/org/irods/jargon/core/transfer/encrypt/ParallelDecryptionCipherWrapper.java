@@ -3,6 +3,8 @@
  */
 package org.irods.jargon.core.transfer.encrypt;
 
+import java.util.Arrays;
+
 import org.irods.jargon.core.connection.NegotiatedClientServerConfiguration;
 import org.irods.jargon.core.connection.PipelineConfiguration;
 import org.irods.jargon.core.exception.EncryptionException;
@@ -59,8 +61,65 @@ ParallelCipherWrapper {
 		return doDecrypt(fullBuffer);
 	}
 
+	/**
+	 * Decrypt part of a complete buffer from iRODS into an output buffer that
+	 * can be reused, avoiding the copies and allocation of
+	 * {@link #decrypt(byte[])}
+	 *
+	 * @param fullBuffer
+	 *            <code>byte[]</code> with the buffer from iRODS, including any
+	 *            encryption related payload
+	 * @param length
+	 *            <code>int</code> with the bytes of <code>fullBuffer</code>
+	 *            that were received
+	 * @param output
+	 *            <code>byte[]</code> for the plaintext, which is never longer
+	 *            than <code>length</code>
+	 * @return <code>int</code> with the bytes of plaintext written to
+	 *         <code>output</code>
+	 * @throws EncryptionException
+	 */
+	public int decrypt(final byte[] fullBuffer, final int length,
+			final byte[] output) throws EncryptionException {
+		if (fullBuffer == null) {
+			throw new IllegalArgumentException("null fullBuffer");
+		}
+
+		if (output == null) {
+			throw new IllegalArgumentException("null output");
+		}
+
+		if (length < 0 || length > fullBuffer.length) {
+			throw new IllegalArgumentException("invalid length");
+		}
+
+		if (output.length < length) {
+			throw new IllegalArgumentException(
+					"output too small for decrypted data");
+		}
+
+		return doDecrypt(fullBuffer, length, output);
+	}
+
 	protected abstract byte[] doDecrypt(byte[] fullBuffer);
 
+	/**
+	 * Decrypt into a caller supplied buffer, arguments have been checked. This
+	 * default copies through {@link #doDecrypt(byte[])}, and should be
+	 * overridden where the algorithm can do better.
+	 *
+	 * @param fullBuffer
+	 * @param length
+	 * @param output
+	 * @return <code>int</code> with the bytes written to <code>output</code>
+	 */
+	protected int doDecrypt(final byte[] fullBuffer, final int length,
+			final byte[] output) {
+		byte[] plaintext = doDecrypt(Arrays.copyOf(fullBuffer, length));
+		System.arraycopy(plaintext, 0, output, 0, plaintext.length);
+		return plaintext.length;
+	}
+
 	/**
 	 * Decryption method that will be overriden by the particular algo, and will
 	 * happen after any init is checked
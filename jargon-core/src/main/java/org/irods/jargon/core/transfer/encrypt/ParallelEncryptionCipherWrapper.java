@@ -3,6 +3,8 @@
  */
 package org.irods.jargon.core.transfer.encrypt;
 
+import java.util.Arrays;
+
 import org.irods.jargon.core.connection.NegotiatedClientServerConfiguration;
 import org.irods.jargon.core.connection.PipelineConfiguration;
 import org.irods.jargon.core.exception.EncryptionException;
@@ -43,6 +45,62 @@ public abstract class ParallelEncryptionCipherWrapper extends
 		return doEncrypt(input);
 	}
 
+	/**
+	 * Encrypt part of a buffer into an output buffer that can be reused, with
+	 * no copying of the plaintext and no allocation per call. The output
+	 * holds the initialization vector and any padding that goes with it,
+	 * followed by the encrypted data, which is the layout sent to iRODS.
+	 *
+	 * @param input
+	 *            <code>byte[]</code> with plaintext data
+	 * @param length
+	 *            <code>int</code> with the bytes of <code>input</code> to
+	 *            encrypt
+	 * @param output
+	 *            <code>byte[]</code> to hold the result, with room for
+	 *            {@link #getEncryptedLength(int)} bytes after
+	 *            <code>outputOffset</code>
+	 * @param outputOffset
+	 *            <code>int</code> with the position in <code>output</code>
+	 *            where the result starts
+	 * @return <code>int</code> with the bytes written to <code>output</code>
+	 * @throws EncryptionException
+	 */
+	public int encrypt(final byte[] input, final int length,
+			final byte[] output, final int outputOffset)
+			throws EncryptionException {
+		if (input == null) {
+			throw new IllegalArgumentException("null input");
+		}
+
+		if (output == null) {
+			throw new IllegalArgumentException("null output");
+		}
+
+		if (length < 0 || length > input.length) {
+			throw new IllegalArgumentException("invalid length");
+		}
+
+		if (outputOffset < 0
+				|| output.length - outputOffset < getEncryptedLength(length)) {
+			throw new IllegalArgumentException(
+					"output too small for encrypted data");
+		}
+
+		return doEncrypt(input, length, output, outputOffset);
+	}
+
+	/**
+	 * Get the most bytes that {@link #encrypt(byte[], int, byte[], int)} can
+	 * write for the given plaintext length, including the initialization
+	 * vector
+	 *
+	 * @param length
+	 *            <code>int</code> with the plaintext length
+	 * @return <code>int</code> with the encrypted length
+	 */
+	public abstract int getEncryptedLength(int length);
+
 	/**
 	 * Encrypt the given data
 	 *
@@ -54,4 +112,29 @@ public abstract class ParallelEncryptionCipherWrapper extends
 	protected abstract EncryptionBuffer doEncrypt(byte[] input)
 			throws EncryptionException;
 
+	/**
+	 * Encrypt into a caller supplied buffer, arguments have been checked. This
+	 * default copies through {@link #doEncrypt(byte[])}, and should be
+	 * overridden where the algorithm can do better.
+	 *
+	 * @param input
+	 * @param length
+	 * @param output
+	 * @param outputOffset
+	 * @return <code>int</code> with the bytes written to <code>output</code>
+	 * @throws EncryptionException
+	 */
+	protected int doEncrypt(final byte[] input, final int length,
+			final byte[] output, final int outputOffset)
+			throws EncryptionException {
+		EncryptionBuffer encryptionBuffer = doEncrypt(Arrays.copyOf(input,
+				length));
+		byte[] iv = encryptionBuffer.getInitializationVector();
+		byte[] data = encryptionBuffer.getEncryptedData();
+		System.arraycopy(iv, 0, output, outputOffset, iv.length);
+		System.arraycopy(data, 0, output, outputOffset + iv.length,
+				data.length);
+		return iv.length + data.length;
+	}
+
 }
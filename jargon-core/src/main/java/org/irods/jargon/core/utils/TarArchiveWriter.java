@@ -0,0 +1,246 @@
+package org.irods.jargon.core.utils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Minimal writer of POSIX ustar archives holding plain files, used to bundle
+ * small files so they can be sent to iRODS as one data object and extracted
+ * on the server. Only regular file entries with names of up to
+ * {@link #MAX_NAME_LENGTH} bytes are written, which is all a bundle of the
+ * files of a single directory needs, so no dependency on an archiving library
+ * is required in the core.
+ * <p/>
+ * This class is not thread safe.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class TarArchiveWriter implements Closeable {
+
+	/**
+	 * Size of a tar header and of the blocks that entry data is padded to
+	 */
+	public static final int BLOCK_SIZE = 512;
+
+	/**
+	 * Size of a tar record, the archive is padded to a whole number of records
+	 */
+	public static final int RECORD_SIZE = 20 * BLOCK_SIZE;
+
+	/**
+	 * Longest entry name, in UTF-8 bytes, that can be held in the name field
+	 * of a header
+	 */
+	public static final int MAX_NAME_LENGTH = 100;
+
+	/**
+	 * Largest entry size that can be held in the size field of a header
+	 */
+	public static final long MAX_ENTRY_SIZE = 077777777777L;
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+	private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+	private final OutputStream outputStream;
+	private final byte[] header = new byte[BLOCK_SIZE];
+	private long bytesWritten = 0L;
+	private boolean closed = false;
+
+	/**
+	 * Constructor
+	 *
+	 * @param outputStream
+	 *            <code>OutputStream</code> that will receive the archive. It
+	 *            is closed when this writer is closed
+	 */
+	public TarArchiveWriter(final OutputStream outputStream) {
+		if (outputStream == null) {
+			throw new IllegalArgumentException("null outputStream");
+		}
+		this.outputStream = outputStream;
+	}
+
+	/**
+	 * Check whether a name can be stored as an entry name
+	 *
+	 * @param entryName
+	 *            <code>String</code> with the entry name
+	 * @return <code>boolean</code> that is <code>true</code> if the name is
+	 *         not empty and fits in the name field of a header
+	 */
+	public static boolean isEntryNameSupported(final String entryName) {
+		if (entryName == null || entryName.isEmpty()) {
+			return false;
+		}
+		return entryName.getBytes(UTF8).length <= MAX_NAME_LENGTH;
+	}
+
+	/**
+	 * Add a local file to the archive as a regular file entry
+	 *
+	 * @param file
+	 *            <code>File</code> that is a regular file to add
+	 * @param entryName
+	 *            <code>String</code> with the name of the entry, see
+	 *            {@link #isEntryNameSupported(String)}
+	 * @throws IOException
+	 *             if the file cannot be read, or changes size while it is
+	 *             being added
+	 */
+	public void addFile(final File file, final String entryName)
+			throws IOException {
+
+		if (file == null) {
+			throw new IllegalArgumentException("null file");
+		}
+
+		if (!isEntryNameSupported(entryName)) {
+			throw new IllegalArgumentException(
+					"entry name is empty or too long for a tar header:"
+							+ entryName);
+		}
+
+		if (closed) {
+			throw new IOException("archive is closed");
+		}
+
+		long size = file.length();
+		if (size > MAX_ENTRY_SIZE) {
+			throw new IOException("file too large for a tar entry:" + file);
+		}
+
+		InputStream inputStream = new FileInputStream(file);
+		try {
+			writeHeader(entryName, size, file.lastModified() / 1000);
+			copyEntryData(inputStream, size, file);
+		} finally {
+			inputStream.close();
+		}
+	}
+
+	/**
+	 * Get the number of bytes of archive written so far
+	 *
+	 * @return <code>long</code> with the bytes written
+	 */
+	public long getBytesWritten() {
+		return bytesWritten;
+	}
+
+	/**
+	 * Write the end of archive blocks, pad the archive to a whole record, and
+	 * close the underlying stream
+	 *
+	 * @throws IOException
+	 */
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+
+		try {
+			Arrays.fill(header, (byte) 0);
+			write(header, BLOCK_SIZE);
+			write(header, BLOCK_SIZE);
+			while (bytesWritten % RECORD_SIZE != 0) {
+				write(header, BLOCK_SIZE);
+			}
+			outputStream.flush();
+		} finally {
+			outputStream.close();
+		}
+	}
+
+	private void writeHeader(final String entryName, final long size,
+			final long modifiedSeconds) throws IOException {
+		Arrays.fill(header, (byte) 0);
+
+		byte[] nameBytes = entryName.getBytes(UTF8);
+		System.arraycopy(nameBytes, 0, header, 0, nameBytes.length);
+		putOctal(0644, 100, 8);
+		putOctal(0, 108, 8);
+		putOctal(0, 116, 8);
+		putOctal(size, 124, 12);
+		putOctal(Math.max(0L, modifiedSeconds), 136, 12);
+		header[156] = '0';
+		putAscii("ustar", 257);
+		putAscii("00", 263);
+
+		// checksum is computed with the checksum field set to spaces
+		Arrays.fill(header, 148, 156, (byte) ' ');
+		long checksum = 0;
+		for (byte b : header) {
+			checksum += b & 0xff;
+		}
+		putOctal(checksum, 148, 7);
+		header[155] = ' ';
+
+		write(header, BLOCK_SIZE);
+	}
+
+	private void copyEntryData(final InputStream inputStream, final long size,
+			final File file) throws IOException {
+		byte[] buffer = ThreadLocalBufferCache.borrow(COPY_BUFFER_SIZE);
+		try {
+			long remaining = size;
+			while (remaining > 0) {
+				int read = inputStream.read(buffer, 0,
+						(int) Math.min(buffer.length, remaining));
+				if (read == -1) {
+					throw new IOException(
+							"file became shorter while being added to archive:"
+									+ file);
+				}
+				write(buffer, read);
+				remaining -= read;
+			}
+
+			int padding = (int) ((BLOCK_SIZE - size % BLOCK_SIZE) % BLOCK_SIZE);
+			if (padding > 0) {
+				Arrays.fill(buffer, 0, padding, (byte) 0);
+				write(buffer, padding);
+			}
+		} finally {
+			ThreadLocalBufferCache.release(buffer);
+		}
+	}
+
+	/**
+	 * Store a value as zero padded octal digits followed by a NUL, filling
+	 * the given field length
+	 */
+	private void putOctal(final long value, final int offset, final int length) {
+		String octal = Long.toOctalString(value);
+		int digits = length - 1;
+		int pad = digits - octal.length();
+		for (int i = 0; i < pad; i++) {
+			header[offset + i] = '0';
+		}
+		for (int i = 0; i < octal.length(); i++) {
+			header[offset + pad + i] = (byte) octal.charAt(i);
+		}
+		header[offset + digits] = 0;
+	}
+
+	private void putAscii(final String value, final int offset) {
+		for (int i = 0; i < value.length(); i++) {
+			header[offset + i] = (byte) value.charAt(i);
+		}
+	}
+
+	private void write(final byte[] bytes, final int length)
+			throws IOException {
+		outputStream.write(bytes, 0, length);
+		bytesWritten += length;
+	}
+
+}
@@ -0,0 +1,131 @@
+package org.irods.jargon.core.utils;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Keeps one i/o buffer per thread so that the copy loops used when streaming
+ * data to and from iRODS, on the primary connection and in parallel transfer
+ * threads, can reuse a buffer rather than allocate one on every call.
+ * <p/>
+ * A buffer is borrowed for the duration of one operation and then released.
+ * While it is borrowed the thread holds no cached buffer, so a nested borrow
+ * on the same thread simply allocates a new one, and buffers are never shared
+ * between threads. Buffers larger than {@link #MAX_RETAINED_BUFFER_SIZE} are
+ * not retained after release.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public final class ThreadLocalBufferCache {
+
+	/**
+	 * Largest buffer that will be kept for a thread, large enough to hold the
+	 * default parallel copy buffer
+	 */
+	public static final int MAX_RETAINED_BUFFER_SIZE = 8 * 1024 * 1024;
+
+	private static final ThreadLocal<byte[]> cachedByteArray = new ThreadLocal<byte[]>();
+	private static final ThreadLocal<ByteBuffer> cachedHeapByteBuffer = new ThreadLocal<ByteBuffer>();
+	private static final ThreadLocal<ByteBuffer> cachedDirectByteBuffer = new ThreadLocal<ByteBuffer>();
+
+	private ThreadLocalBufferCache() {
+	}
+
+	/**
+	 * Borrow a byte array of at least the given size for use by the current
+	 * thread. The array may be larger than requested and its contents are
+	 * undefined.
+	 *
+	 * @param minimumSize
+	 *            <code>int</code> with the minimum length of the array
+	 * @return <code>byte[]</code> that should be returned with
+	 *         {@link #release(byte[])} when no longer in use
+	 */
+	public static byte[] borrow(final int minimumSize) {
+		if (minimumSize < 0) {
+			throw new IllegalArgumentException("negative minimumSize");
+		}
+
+		byte[] buffer = cachedByteArray.get();
+		if (buffer != null && buffer.length >= minimumSize) {
+			cachedByteArray.set(null);
+			return buffer;
+		}
+		return new byte[minimumSize];
+	}
+
+	/**
+	 * Release a byte array obtained from {@link #borrow(int)} so that it may be
+	 * reused by the current thread. The caller must not use the array after
+	 * it is released.
+	 *
+	 * @param buffer
+	 *            <code>byte[]</code> to release, may be <code>null</code>
+	 */
+	public static void release(final byte[] buffer) {
+		if (buffer == null || buffer.length > MAX_RETAINED_BUFFER_SIZE) {
+			return;
+		}
+
+		byte[] cached = cachedByteArray.get();
+		if (cached == null || cached.length < buffer.length) {
+			cachedByteArray.set(buffer);
+		}
+	}
+
+	/**
+	 * Borrow a <code>ByteBuffer</code> with at least the given capacity for
+	 * use by the current thread. The buffer is cleared, with its limit set to
+	 * the requested size.
+	 *
+	 * @param minimumSize
+	 *            <code>int</code> with the minimum capacity of the buffer
+	 * @param direct
+	 *            <code>boolean</code> that is <code>true</code> if a direct
+	 *            buffer is desired, for use with NIO channels
+	 * @return <code>ByteBuffer</code> that should be returned with
+	 *         {@link #release(ByteBuffer)} when no longer in use
+	 */
+	public static ByteBuffer borrowByteBuffer(final int minimumSize,
+			final boolean direct) {
+		if (minimumSize < 0) {
+			throw new IllegalArgumentException("negative minimumSize");
+		}
+
+		ThreadLocal<ByteBuffer> cache = direct ? cachedDirectByteBuffer
+				: cachedHeapByteBuffer;
+		ByteBuffer buffer = cache.get();
+		if (buffer != null && buffer.capacity() >= minimumSize) {
+			cache.set(null);
+		} else if (direct) {
+			buffer = ByteBuffer.allocateDirect(minimumSize);
+		} else {
+			buffer = ByteBuffer.allocate(minimumSize);
+		}
+		buffer.clear();
+		buffer.limit(minimumSize);
+		return buffer;
+	}
+
+	/**
+	 * Release a <code>ByteBuffer</code> obtained from
+	 * {@link #borrowByteBuffer(int, boolean)} so that it may be reused by the
+	 * current thread. The caller must not use the buffer after it is released.
+	 *
+	 * @param buffer
+	 *            <code>ByteBuffer</code> to release, may be <code>null</code>
+	 */
+	public static void release(final ByteBuffer buffer) {
+		if (buffer == null || buffer.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+			return;
+		}
+
+		ThreadLocal<ByteBuffer> cache = buffer.isDirect() ? cachedDirectByteBuffer
+				: cachedHeapByteBuffer;
+		ByteBuffer cached = cache.get();
+		if (cached == null || cached.capacity() < buffer.capacity()) {
+			cache.set(buffer);
+		}
+	}
+
+}
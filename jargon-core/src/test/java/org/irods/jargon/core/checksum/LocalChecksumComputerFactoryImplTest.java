@@ -2,6 +2,8 @@ package org.irods.jargon.core.checksum;
 
 import junit.framework.Assert;
 
+import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.connection.SettableJargonProperties;
 import org.irods.jargon.core.protovalues.ChecksumEncodingEnum;
 import org.junit.Test;
 
@@ -23,6 +25,39 @@ public class LocalChecksumComputerFactoryImplTest {
 		Assert.assertNotNull(actual);
 	}
 
+	@Test
+	public void testInstanceForSessionDefault() throws Exception {
+		LocalChecksumComputerFactory factory = new LocalChecksumComputerFactoryImpl(
+				new IRODSSession(new SettableJargonProperties()));
+		MD5LocalChecksumComputerStrategy actual = (MD5LocalChecksumComputerStrategy) factory
+				.instance(ChecksumEncodingEnum.MD5);
+		Assert.assertNotNull(actual);
+	}
+
+	@Test
+	public void testInstanceForReadAhead() throws Exception {
+		SettableJargonProperties jargonProperties = new SettableJargonProperties();
+		jargonProperties.setLocalChecksumReadAhead(true);
+		LocalChecksumComputerFactory factory = new LocalChecksumComputerFactoryImpl(
+				new IRODSSession(jargonProperties));
+		ReadAheadLocalChecksumComputerStrategy actual = (ReadAheadLocalChecksumComputerStrategy) factory
+				.instance(ChecksumEncodingEnum.MD5);
+		Assert.assertEquals(ChecksumEncodingEnum.MD5,
+				actual.getChecksumEncoding());
+		actual = (ReadAheadLocalChecksumComputerStrategy) factory
+				.instance(ChecksumEncodingEnum.SHA256);
+		Assert.assertEquals(ChecksumEncodingEnum.SHA256,
+				actual.getChecksumEncoding());
+	}
+
+	@Test
+	public void testInstanceForSHA256Tree() throws Exception {
+		LocalChecksumComputerFactory factory = new LocalChecksumComputerFactoryImpl();
+		TreeHashLocalChecksumComputerStrategy actual = (TreeHashLocalChecksumComputerStrategy) factory
+				.instance(ChecksumEncodingEnum.SHA256_TREE);
+		Assert.assertNotNull(actual);
+	}
+
 	@Test(expected = ChecksumMethodUnavailableException.class)
 	public void testInstanceForStrong() throws Exception {
 		LocalChecksumComputerFactory factory = new LocalChecksumComputerFactoryImpl();
@@ -0,0 +1,117 @@
+package org.irods.jargon.core.checksum;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.util.Random;
+
+import junit.framework.Assert;
+
+import org.irods.jargon.core.protovalues.ChecksumEncodingEnum;
+import org.junit.Test;
+
+/**
+ * Tests of {@link ReadAheadLocalChecksumComputerStrategy}, comparing its
+ * checksums with those of the strategies that read the file through a stream
+ */
+public class ReadAheadLocalChecksumComputerStrategyTest {
+
+	private static final int BUFFER_SIZE = 4096;
+
+	@Test
+	public void testEmptyFile() throws Exception {
+		assertSameAsStreamStrategies(0);
+	}
+
+	@Test
+	public void testSmallFile() throws Exception {
+		assertSameAsStreamStrategies(17);
+	}
+
+	@Test
+	public void testFileOfTwoBuffers() throws Exception {
+		assertSameAsStreamStrategies(2 * BUFFER_SIZE);
+	}
+
+	@Test
+	public void testFileOfExactBufferMultiple() throws Exception {
+		assertSameAsStreamStrategies(12 * BUFFER_SIZE);
+	}
+
+	@Test
+	public void testLargeFileReadAhead() throws Exception {
+		assertSameAsStreamStrategies(300 * BUFFER_SIZE + 123);
+	}
+
+	@Test
+	public void testDefaultBuffers() throws Exception {
+		File localFile = createFile(1024 * 1024 + 5);
+		ChecksumValue actual = new ReadAheadLocalChecksumComputerStrategy(
+				ChecksumEncodingEnum.SHA256)
+				.computeChecksumValueForLocalFile(localFile.getAbsolutePath());
+		ChecksumValue expected = new SHA256LocalChecksumComputerStrategy()
+				.computeChecksumValueForLocalFile(localFile.getAbsolutePath());
+		assertChecksum(expected, actual);
+	}
+
+	@Test(expected = FileNotFoundException.class)
+	public void testMissingFile() throws Exception {
+		new ReadAheadLocalChecksumComputerStrategy(ChecksumEncodingEnum.MD5)
+				.computeChecksumValueForLocalFile("/no/such/file/here.dat");
+	}
+
+	@Test(expected = ChecksumMethodUnavailableException.class)
+	public void testUnsupportedEncoding() throws Exception {
+		new ReadAheadLocalChecksumComputerStrategy(ChecksumEncodingEnum.STRONG);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testTooFewBuffers() throws Exception {
+		new ReadAheadLocalChecksumComputerStrategy(ChecksumEncodingEnum.MD5,
+				BUFFER_SIZE, 1);
+	}
+
+	private void assertSameAsStreamStrategies(final int length)
+			throws Exception {
+		File localFile = createFile(length);
+		String path = localFile.getAbsolutePath();
+
+		ChecksumValue actual = new ReadAheadLocalChecksumComputerStrategy(
+				ChecksumEncodingEnum.MD5, BUFFER_SIZE, 3)
+				.computeChecksumValueForLocalFile(path);
+		assertChecksum(new MD5LocalChecksumComputerStrategy()
+				.computeChecksumValueForLocalFile(path), actual);
+
+		actual = new ReadAheadLocalChecksumComputerStrategy(
+				ChecksumEncodingEnum.SHA256, BUFFER_SIZE, 3)
+				.computeChecksumValueForLocalFile(path);
+		assertChecksum(new SHA256LocalChecksumComputerStrategy()
+				.computeChecksumValueForLocalFile(path), actual);
+	}
+
+	private File createFile(final int length) throws Exception {
+		byte[] data = new byte[length];
+		new Random(length).nextBytes(data);
+		File localFile = File.createTempFile("readAheadChecksum", ".dat");
+		localFile.deleteOnExit();
+		FileOutputStream fileOutputStream = new FileOutputStream(localFile);
+		try {
+			fileOutputStream.write(data);
+		} finally {
+			fileOutputStream.close();
+		}
+		return localFile;
+	}
+
+	private void assertChecksum(final ChecksumValue expected,
+			final ChecksumValue actual) {
+		Assert.assertEquals("wrong encoding", expected.getChecksumEncoding(),
+				actual.getChecksumEncoding());
+		Assert.assertEquals("wrong checksum", expected.getChecksumStringValue(),
+				actual.getChecksumStringValue());
+		Assert.assertEquals("wrong transmission format",
+				expected.getChecksumTransmissionFormat(),
+				actual.getChecksumTransmissionFormat());
+	}
+
+}
@@ -0,0 +1,227 @@
+package org.irods.jargon.core.checksum;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+
+import junit.framework.Assert;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.protovalues.ChecksumEncodingEnum;
+import org.irods.jargon.core.pub.io.ChecksumDigestingInputStreamWrapper;
+import org.irods.jargon.core.pub.io.ChecksumDigestingOutputStreamWrapper;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of {@link TransferChecksumDigester}, comparing the checksum computed
+ * from the data of a transfer with the checksum the local checksum strategies
+ * compute by reading the file
+ */
+public class TransferChecksumDigesterTest {
+
+	private static final int FILE_LENGTH = 1024 * 1024 + 17;
+	private static final int CHUNK_SIZE = 64 * 1024;
+
+	private File localFile;
+	private byte[] data;
+
+	@Before
+	public void setUp() throws Exception {
+		data = new byte[FILE_LENGTH];
+		new Random(42).nextBytes(data);
+		localFile = File.createTempFile("transferChecksumDigester", ".dat");
+		localFile.deleteOnExit();
+		FileOutputStream fileOutputStream = new FileOutputStream(localFile);
+		try {
+			fileOutputStream.write(data);
+		} finally {
+			fileOutputStream.close();
+		}
+	}
+
+	@Test
+	public void testInOrderMD5() throws Exception {
+		TransferChecksumDigester digester = digester(ChecksumEncodingEnum.MD5,
+				0L);
+		for (int offset = 0; offset < FILE_LENGTH; offset += CHUNK_SIZE) {
+			give(digester, offset);
+		}
+
+		ChecksumValue actual = digester.computeChecksumValue();
+		ChecksumValue expected = new MD5LocalChecksumComputerStrategy()
+				.computeChecksumValueForLocalFile(localFile.getAbsolutePath());
+		assertChecksum(expected, actual);
+		Assert.assertEquals("data should not be read back", 0L,
+				digester.getBytesReadBack());
+	}
+
+	@Test
+	public void testInOrderSHA256() throws Exception {
+		TransferChecksumDigester digester = digester(
+				ChecksumEncodingEnum.SHA256, 0L);
+		for (int offset = 0; offset < FILE_LENGTH; offset += CHUNK_SIZE) {
+			give(digester, offset);
+		}
+
+		ChecksumValue actual = digester.computeChecksumValue();
+		ChecksumValue expected = new SHA256LocalChecksumComputerStrategy()
+				.computeChecksumValueForLocalFile(localFile.getAbsolutePath());
+		assertChecksum(expected, actual);
+		Assert.assertEquals("data should not be read back", 0L,
+				digester.getBytesReadBack());
+	}
+
+	@Test
+	public void testOutOfOrderHeld() throws Exception {
+		TransferChecksumDigester digester = digester(ChecksumEncodingEnum.MD5,
+				FILE_LENGTH);
+		int lastOffset = (FILE_LENGTH - 1) / CHUNK_SIZE * CHUNK_SIZE;
+		for (int offset = lastOffset; offset >= 0; offset -= CHUNK_SIZE) {
+			give(digester, offset);
+		}
+
+		assertChecksum(expectedMD5(), digester.computeChecksumValue());
+		Assert.assertEquals("held data should not be read back", 0L,
+				digester.getBytesReadBack());
+	}
+
+	@Test
+	public void testOutOfOrderBeyondLimitReadBack() throws Exception {
+		TransferChecksumDigester digester = digester(ChecksumEncodingEnum.MD5,
+				CHUNK_SIZE);
+		int lastOffset = (FILE_LENGTH - 1) / CHUNK_SIZE * CHUNK_SIZE;
+		for (int offset = lastOffset; offset >= 0; offset -= CHUNK_SIZE) {
+			give(digester, offset);
+		}
+
+		assertChecksum(expectedMD5(), digester.computeChecksumValue());
+		Assert.assertTrue("data beyond the limit should be read back",
+				digester.getBytesReadBack() > 0);
+		Assert.assertTrue("held data should not be read back",
+				digester.getBytesReadBack() < FILE_LENGTH - CHUNK_SIZE);
+	}
+
+	@Test
+	public void testGapsReadBack() throws Exception {
+		TransferChecksumDigester digester = digester(ChecksumEncodingEnum.MD5,
+				FILE_LENGTH);
+		int given = 0;
+		for (int offset = 0; offset < FILE_LENGTH; offset += 2 * CHUNK_SIZE) {
+			given += give(digester, offset);
+		}
+
+		assertChecksum(expectedMD5(), digester.computeChecksumValue());
+		Assert.assertEquals("only the gaps should be read back", FILE_LENGTH
+				- given, digester.getBytesReadBack());
+	}
+
+	@Test
+	public void testDataGivenAgainIgnored() throws Exception {
+		TransferChecksumDigester digester = digester(ChecksumEncodingEnum.MD5,
+				FILE_LENGTH);
+		give(digester, 0);
+		give(digester, 0);
+		give(digester, 2 * CHUNK_SIZE);
+		give(digester, 2 * CHUNK_SIZE);
+		digester.update(CHUNK_SIZE / 2, data, CHUNK_SIZE / 2, CHUNK_SIZE);
+		for (int offset = CHUNK_SIZE; offset < FILE_LENGTH; offset += CHUNK_SIZE) {
+			give(digester, offset);
+		}
+
+		assertChecksum(expectedMD5(), digester.computeChecksumValue());
+		Assert.assertEquals("data should not be read back", 0L,
+				digester.getBytesReadBack());
+	}
+
+	@Test
+	public void testNothingGivenReadsFile() throws Exception {
+		TransferChecksumDigester digester = digester(ChecksumEncodingEnum.MD5,
+				FILE_LENGTH);
+
+		assertChecksum(expectedMD5(), digester.computeChecksumValue());
+		Assert.assertEquals("whole file should be read back", FILE_LENGTH,
+				digester.getBytesReadBack());
+	}
+
+	@Test(expected = JargonException.class)
+	public void testLocalFileShorterThanTransfer() throws Exception {
+		TransferChecksumDigester digester = new TransferChecksumDigester(
+				ChecksumEncodingEnum.MD5, localFile, FILE_LENGTH + 1, 0L);
+		digester.computeChecksumValue();
+	}
+
+	@Test(expected = ChecksumMethodUnavailableException.class)
+	public void testUnsupportedEncoding() throws Exception {
+		new TransferChecksumDigester(ChecksumEncodingEnum.STRONG, localFile,
+				FILE_LENGTH, 0L);
+	}
+
+	@Test
+	public void testStreamWrappers() throws Exception {
+		TransferChecksumDigester readDigester = digester(
+				ChecksumEncodingEnum.SHA256, 0L);
+		InputStream inputStream = new ChecksumDigestingInputStreamWrapper(
+				readDigester, new ByteArrayInputStream(data));
+		ByteArrayOutputStream copy = new ByteArrayOutputStream();
+		TransferChecksumDigester writeDigester = digester(
+				ChecksumEncodingEnum.SHA256, 0L);
+		OutputStream outputStream = new ChecksumDigestingOutputStreamWrapper(
+				writeDigester, copy);
+		byte[] buffer = new byte[CHUNK_SIZE - 1];
+		outputStream.write(inputStream.read());
+		int read;
+		while ((read = inputStream.read(buffer)) > 0) {
+			outputStream.write(buffer, 0, read);
+		}
+		inputStream.close();
+		outputStream.close();
+
+		ChecksumValue expected = new SHA256LocalChecksumComputerStrategy()
+				.computeChecksumValueForLocalFile(localFile.getAbsolutePath());
+		assertChecksum(expected, readDigester.computeChecksumValue());
+		assertChecksum(expected, writeDigester.computeChecksumValue());
+		Assert.assertEquals("data should not be read back", 0L,
+				readDigester.getBytesReadBack() + writeDigester.getBytesReadBack());
+	}
+
+	private TransferChecksumDigester digester(
+			final ChecksumEncodingEnum checksumEncoding,
+			final long maxPendingBytes) throws Exception {
+		return new TransferChecksumDigester(checksumEncoding, localFile,
+				FILE_LENGTH, maxPendingBytes);
+	}
+
+	/**
+	 * Give the digester the chunk at an offset, from a buffer of its own as a
+	 * transfer thread would
+	 */
+	private int give(final TransferChecksumDigester digester, final int offset) {
+		int length = Math.min(CHUNK_SIZE, FILE_LENGTH - offset);
+		byte[] buffer = new byte[length + 3];
+		System.arraycopy(data, offset, buffer, 3, length);
+		digester.update(offset, buffer, 3, length);
+		return length;
+	}
+
+	private ChecksumValue expectedMD5() throws Exception {
+		return new MD5LocalChecksumComputerStrategy()
+				.computeChecksumValueForLocalFile(localFile.getAbsolutePath());
+	}
+
+	private void assertChecksum(final ChecksumValue expected,
+			final ChecksumValue actual) {
+		Assert.assertEquals("wrong encoding", expected.getChecksumEncoding(),
+				actual.getChecksumEncoding());
+		Assert.assertEquals("wrong checksum", expected.getChecksumStringValue(),
+				actual.getChecksumStringValue());
+		Assert.assertEquals("wrong transmission format",
+				expected.getChecksumTransmissionFormat(),
+				actual.getChecksumTransmissionFormat());
+	}
+
+}
@@ -0,0 +1,124 @@
+package org.irods.jargon.core.checksum;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.security.MessageDigest;
+import java.util.Random;
+
+import junit.framework.Assert;
+
+import org.apache.commons.codec.binary.Base64;
+import org.irods.jargon.core.protovalues.ChecksumEncodingEnum;
+import org.junit.Test;
+
+/**
+ * Tests of {@link TreeHashLocalChecksumComputerStrategy}
+ */
+public class TreeHashLocalChecksumComputerStrategyTest {
+
+	private static final int LEAF_SIZE = 1024;
+
+	@Test
+	public void testSameForAnyThreadCount() throws Exception {
+		File localFile = createFile(37 * LEAF_SIZE + 11, 1);
+		String expected = treeHash(localFile, 1);
+		for (int threads = 2; threads <= 8; threads++) {
+			Assert.assertEquals("checksum depends on threads:" + threads,
+					expected, treeHash(localFile, threads));
+		}
+	}
+
+	@Test
+	public void testThreeLeavesComputedByHand() throws Exception {
+		byte[] data = new byte[2 * LEAF_SIZE + 100];
+		new Random(3).nextBytes(data);
+		File localFile = writeFile(data);
+
+		MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+		byte[] leaf0 = leafHash(messageDigest, data, 0, LEAF_SIZE);
+		byte[] leaf1 = leafHash(messageDigest, data, LEAF_SIZE, LEAF_SIZE);
+		byte[] leaf2 = leafHash(messageDigest, data, 2 * LEAF_SIZE, 100);
+		byte[] node01 = nodeHash(messageDigest, leaf0, leaf1);
+		byte[] root = nodeHash(messageDigest, node01, leaf2);
+
+		ChecksumValue actual = new TreeHashLocalChecksumComputerStrategy(
+				LEAF_SIZE, 2).computeChecksumValueForLocalFile(localFile
+				.getAbsolutePath());
+		Assert.assertEquals("wrong encoding", ChecksumEncodingEnum.SHA256_TREE,
+				actual.getChecksumEncoding());
+		Assert.assertEquals("wrong checksum", Base64
+				.encodeBase64String(root).trim(),
+				actual.getChecksumStringValue());
+		Assert.assertEquals("wrong transmission format", "sha2tree:"
+				+ actual.getChecksumStringValue(),
+				actual.getChecksumTransmissionFormat());
+	}
+
+	@Test
+	public void testEmptyFileIsOneEmptyLeaf() throws Exception {
+		File localFile = writeFile(new byte[0]);
+		MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+		byte[] expected = leafHash(messageDigest, new byte[0], 0, 0);
+		Assert.assertEquals("wrong checksum", Base64
+				.encodeBase64String(expected).trim(), treeHash(localFile, 4));
+	}
+
+	@Test
+	public void testChangedByteChangesChecksum() throws Exception {
+		byte[] data = new byte[10 * LEAF_SIZE];
+		new Random(5).nextBytes(data);
+		String before = treeHash(writeFile(data), 3);
+		data[7 * LEAF_SIZE + 3] ^= 1;
+		Assert.assertFalse("checksum should change",
+				before.equals(treeHash(writeFile(data), 3)));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testZeroThreads() throws Exception {
+		new TreeHashLocalChecksumComputerStrategy(LEAF_SIZE, 0);
+	}
+
+	private String treeHash(final File localFile, final int threads)
+			throws Exception {
+		return new TreeHashLocalChecksumComputerStrategy(LEAF_SIZE, threads)
+				.computeChecksumValueForLocalFile(localFile.getAbsolutePath())
+				.getChecksumStringValue();
+	}
+
+	private byte[] leafHash(final MessageDigest messageDigest,
+			final byte[] data, final int offset, final int length) {
+		messageDigest.reset();
+		messageDigest.update((byte) 0x00);
+		messageDigest.update(data, offset, length);
+		return messageDigest.digest();
+	}
+
+	private byte[] nodeHash(final MessageDigest messageDigest,
+			final byte[] left, final byte[] right) {
+		messageDigest.reset();
+		messageDigest.update((byte) 0x01);
+		messageDigest.update(left);
+		messageDigest.update(right);
+		return messageDigest.digest();
+	}
+
+	private File createFile(final int length, final long seed)
+			throws Exception {
+		byte[] data = new byte[length];
+		new Random(seed).nextBytes(data);
+		return writeFile(data);
+	}
+
+	private File writeFile(final byte[] data) throws Exception {
+		File localFile = File.createTempFile("treeHashChecksum", ".dat");
+		localFile.deleteOnExit();
+		FileOutputStream fileOutputStream = new FileOutputStream(localFile);
+		try {
+			fileOutputStream.write(data);
+		} finally {
+			fileOutputStream.close();
+		}
+		return localFile;
+	}
+
+}
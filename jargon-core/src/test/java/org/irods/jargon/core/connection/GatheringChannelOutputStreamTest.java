@@ -0,0 +1,132 @@
+package org.irods.jargon.core.connection;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+public class GatheringChannelOutputStreamTest {
+
+	@Test
+	public void testSmallWritesStagedUntilFlush() throws Exception {
+		RecordingChannel channel = new RecordingChannel();
+		GatheringChannelOutputStream stream = new GatheringChannelOutputStream(
+				channel, 64);
+		stream.write(new byte[] { 0, 0, 0, 3 }, 0, 4);
+		stream.write('a');
+		stream.write("bc".getBytes(), 0, 2);
+		Assert.assertEquals("wrote before flush", 0, channel.writeCalls);
+		stream.flush();
+		Assert.assertEquals(1, channel.writeCalls);
+		Assert.assertEquals("\u0000\u0000\u0000\u0003abc",
+				new String(channel.written.toByteArray()));
+	}
+
+	@Test
+	public void testLargeWriteGatheredWithStagedBytes() throws Exception {
+		RecordingChannel channel = new RecordingChannel();
+		GatheringChannelOutputStream stream = new GatheringChannelOutputStream(
+				channel, 16);
+		stream.write("header".getBytes(), 0, 6);
+		byte[] bulk = new byte[100];
+		for (int i = 0; i < bulk.length; i++) {
+			bulk[i] = (byte) i;
+		}
+		stream.write(bulk, 10, 50);
+		Assert.assertEquals("should be one gathering write", 1,
+				channel.gatheringWriteCalls);
+		Assert.assertEquals(0, channel.writeCalls);
+		byte[] actual = channel.written.toByteArray();
+		Assert.assertEquals(56, actual.length);
+		Assert.assertEquals("header", new String(actual, 0, 6));
+		Assert.assertEquals(10, actual[6]);
+		Assert.assertEquals(59, actual[55]);
+
+		// caller array not retained
+		bulk[10] = 99;
+		stream.flush();
+		Assert.assertEquals(56, channel.written.toByteArray().length);
+	}
+
+	@Test
+	public void testPartialChannelWritesCompleted() throws Exception {
+		RecordingChannel channel = new RecordingChannel();
+		channel.maxPerCall = 7;
+		GatheringChannelOutputStream stream = new GatheringChannelOutputStream(
+				channel, 8);
+		stream.write("abc".getBytes(), 0, 3);
+		stream.write("defghijklmnopqrstuvwxyz".getBytes(), 0, 23);
+		Assert.assertEquals("abcdefghijklmnopqrstuvwxyz", new String(
+				channel.written.toByteArray()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNullChannel() throws Exception {
+		new GatheringChannelOutputStream(null, 8);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testZeroStagingSize() throws Exception {
+		new GatheringChannelOutputStream(new RecordingChannel(), 0);
+	}
+
+	/**
+	 * Channel that records what is written, optionally limiting the bytes
+	 * accepted by each call
+	 */
+	private static class RecordingChannel implements GatheringByteChannel {
+		private final ByteArrayOutputStream written = new ByteArrayOutputStream();
+		private int writeCalls = 0;
+		private int gatheringWriteCalls = 0;
+		private int maxPerCall = Integer.MAX_VALUE;
+		private boolean open = true;
+
+		@Override
+		public int write(final ByteBuffer src) throws IOException {
+			writeCalls++;
+			return take(src, maxPerCall);
+		}
+
+		@Override
+		public long write(final ByteBuffer[] srcs, final int offset,
+				final int length) throws IOException {
+			gatheringWriteCalls++;
+			int budget = maxPerCall;
+			long total = 0;
+			for (int i = offset; i < offset + length && budget > 0; i++) {
+				int count = take(srcs[i], budget);
+				budget -= count;
+				total += count;
+			}
+			return total;
+		}
+
+		@Override
+		public long write(final ByteBuffer[] srcs) throws IOException {
+			return write(srcs, 0, srcs.length);
+		}
+
+		private int take(final ByteBuffer src, final int budget) {
+			int count = Math.min(budget, src.remaining());
+			for (int i = 0; i < count; i++) {
+				written.write(src.get());
+			}
+			return count;
+		}
+
+		@Override
+		public boolean isOpen() {
+			return open;
+		}
+
+		@Override
+		public void close() throws IOException {
+			open = false;
+		}
+	}
+
+}
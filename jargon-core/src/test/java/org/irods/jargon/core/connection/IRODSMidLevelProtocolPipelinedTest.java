@@ -0,0 +1,123 @@
+package org.irods.jargon.core.connection;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.Assert;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.packinstr.DataObjInpForObjStat;
+import org.irods.jargon.core.packinstr.IRodsPI;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the handling of a bad request in a pipelined batch, over a socket
+ * that records what is written. No iRODS server is needed.
+ */
+public class IRODSMidLevelProtocolPipelinedTest {
+
+	private RecordingSocket socket;
+	private IRODSMidLevelProtocol irodsMidLevelProtocol;
+
+	@Before
+	public void setUp() throws Exception {
+		SettableJargonProperties jargonProperties = new SettableJargonProperties();
+		jargonProperties.setPipelinedRequestWindowSize(4);
+		// write straight to the socket, so anything sent is seen
+		jargonProperties.setInternalOutputStreamBufferSize(-1);
+		IRODSSimpleProtocolManager irodsProtocolManager = IRODSSimpleProtocolManager
+				.instance();
+		IRODSSession irodsSession = new IRODSSession(jargonProperties);
+		irodsSession.setIrodsProtocolManager(irodsProtocolManager);
+		IRODSAccount irodsAccount = IRODSAccount.instance("host", 1247,
+				"user", "password", "/zone/home/user", "zone", "");
+		socket = new RecordingSocket();
+		IRODSBasicTCPConnection irodsConnection = new IRODSBasicTCPConnection(
+				irodsAccount, PipelineConfiguration.instance(jargonProperties),
+				irodsProtocolManager, socket, irodsSession);
+		irodsMidLevelProtocol = new IRODSMidLevelProtocol(irodsConnection,
+				irodsProtocolManager);
+	}
+
+	@Test
+	public void testNullInMiddleOfWindowSendsNothing() throws Exception {
+		List<IRodsPI> irodsPIs = new ArrayList<IRodsPI>();
+		irodsPIs.add(DataObjInpForObjStat.instance("/zone/home/user/a"));
+		irodsPIs.add(null);
+		irodsPIs.add(DataObjInpForObjStat.instance("/zone/home/user/b"));
+		try {
+			irodsMidLevelProtocol.irodsFunctionPipelined(irodsPIs);
+			Assert.fail("should reject null request");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+		Assert.assertEquals("nothing should be sent", 0,
+				socket.output.size());
+		Assert.assertTrue("connection should still be usable",
+				irodsMidLevelProtocol.isConnected());
+	}
+
+	@Test
+	public void testFailureInMiddleOfWindowDisconnects() throws Exception {
+		List<IRodsPI> irodsPIs = new ArrayList<IRodsPI>();
+		irodsPIs.add(DataObjInpForObjStat.instance("/zone/home/user/a"));
+		irodsPIs.add(new IRodsPI() {
+
+			@Override
+			public int getApiNumber() {
+				return DataObjInpForObjStat.OBJ_STAT_API_NBR;
+			}
+
+			@Override
+			public String getParsedTags() throws JargonException {
+				throw new JargonException("cannot serialize");
+			}
+		});
+		irodsPIs.add(DataObjInpForObjStat.instance("/zone/home/user/b"));
+		try {
+			irodsMidLevelProtocol.irodsFunctionPipelined(irodsPIs);
+			Assert.fail("should throw serialization failure");
+		} catch (JargonException e) {
+			Assert.assertEquals("wrong exception", "cannot serialize",
+					e.getMessage());
+		}
+		Assert.assertFalse("connection with unread replies should be closed",
+				irodsMidLevelProtocol.isConnected());
+		Assert.assertTrue("socket should be closed", socket.closed);
+	}
+
+	/**
+	 * Socket that keeps what is written and has nothing to read
+	 */
+	private static class RecordingSocket extends Socket {
+		private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		private boolean closed = false;
+
+		@Override
+		public InputStream getInputStream() {
+			return new ByteArrayInputStream(new byte[0]);
+		}
+
+		@Override
+		public OutputStream getOutputStream() {
+			return output;
+		}
+
+		@Override
+		public synchronized void close() {
+			closed = true;
+		}
+
+		@Override
+		public boolean isClosed() {
+			return closed;
+		}
+	}
+
+}
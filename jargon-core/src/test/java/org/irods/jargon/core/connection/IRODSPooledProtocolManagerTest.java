@@ -0,0 +1,193 @@
+package org.irods.jargon.core.connection;
+
+import java.util.Properties;
+
+import junit.framework.Assert;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.pub.IRODSFileSystem;
+import org.irods.jargon.testutils.TestingPropertiesHelper;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class IRODSPooledProtocolManagerTest {
+	private static Properties testingProperties = new Properties();
+	private static TestingPropertiesHelper testingPropertiesHelper = new TestingPropertiesHelper();
+	private static IRODSFileSystem irodsFileSystem = null;
+	private static IRODSPooledProtocolManager irodsPooledProtocolManager = null;
+	private static SettableJargonProperties jargonOriginalProperties;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		TestingPropertiesHelper testingPropertiesLoader = new TestingPropertiesHelper();
+		testingProperties = testingPropertiesLoader.getTestProperties();
+		irodsPooledProtocolManager = IRODSPooledProtocolManager.instance();
+		irodsFileSystem = new IRODSFileSystem(irodsPooledProtocolManager);
+		jargonOriginalProperties = new SettableJargonProperties(
+				irodsFileSystem.getJargonProperties());
+	}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {
+		irodsFileSystem.closeAndEatExceptions();
+		irodsPooledProtocolManager.destroy();
+	}
+
+	@Before
+	public void before() throws Exception {
+		irodsFileSystem.getIrodsSession().setJargonProperties(
+				jargonOriginalProperties);
+	}
+
+	@Test
+	public void testPoolKeySameForEqualAccounts() throws Exception {
+		IRODSAccount account1 = IRODSAccount.instance("localhost", 1247,
+				"client", "password", "/zone/home/client", "zone", "");
+		IRODSAccount account2 = IRODSAccount.instance("localhost", 1247,
+				"client", "password", "/zone/home/client", "zone", "");
+		Assert.assertEquals(
+				IRODSPooledProtocolManager.buildPoolKey(account1),
+				IRODSPooledProtocolManager.buildPoolKey(account2));
+	}
+
+	@Test
+	public void testPoolKeyDiffersByPassword() throws Exception {
+		IRODSAccount account1 = IRODSAccount.instance("localhost", 1247,
+				"client", "password", "/zone/home/client", "zone", "");
+		IRODSAccount account2 = IRODSAccount.instance("localhost", 1247,
+				"client", "other", "/zone/home/client", "zone", "");
+		Assert.assertFalse(IRODSPooledProtocolManager.buildPoolKey(account1)
+				.equals(IRODSPooledProtocolManager.buildPoolKey(account2)));
+	}
+
+	@Test
+	public void testPoolKeyDiffersByResourceAndZone() throws Exception {
+		IRODSAccount account1 = IRODSAccount.instance("localhost", 1247,
+				"client", "password", "/zone/home/client", "zone", "");
+		IRODSAccount account2 = IRODSAccount.instance("localhost", 1247,
+				"client", "password", "/zone/home/client", "zone", "resc");
+		IRODSAccount account3 = IRODSAccount.instance("localhost", 1247,
+				"client", "password", "/zone/home/client", "zone2", "");
+		String key1 = IRODSPooledProtocolManager.buildPoolKey(account1);
+		Assert.assertFalse(key1.equals(IRODSPooledProtocolManager
+				.buildPoolKey(account2)));
+		Assert.assertFalse(key1.equals(IRODSPooledProtocolManager
+				.buildPoolKey(account3)));
+	}
+
+	@Test
+	public void testPoolKeyDoesNotContainPassword() throws Exception {
+		IRODSAccount account = IRODSAccount.instance("localhost", 1247,
+				"client", "secretpassword", "/zone/home/client", "zone", "");
+		Assert.assertFalse(IRODSPooledProtocolManager.buildPoolKey(account)
+				.contains("secretpassword"));
+	}
+
+	@Test
+	public void testConnectionReusedAfterClose() throws Exception {
+		IRODSAccount irodsAccount = testingPropertiesHelper
+				.buildIRODSAccountFromTestProperties(testingProperties);
+		AbstractIRODSMidLevelProtocol irodsProtocol = irodsFileSystem
+				.getIrodsSession().currentConnection(irodsAccount);
+		Assert.assertTrue("this connection is not connected",
+				irodsProtocol.isConnected());
+		irodsFileSystem.close(irodsAccount);
+		Assert.assertTrue("pooled connection should remain connected",
+				irodsProtocol.isConnected());
+
+		AbstractIRODSMidLevelProtocol secondProtocol = irodsFileSystem
+				.getIrodsSession().currentConnection(irodsAccount);
+		Assert.assertSame("did not reuse pooled connection", irodsProtocol,
+				secondProtocol);
+		irodsFileSystem.close(irodsAccount);
+	}
+
+	@Test
+	public void testDisconnectWithForceNotReused() throws Exception {
+		IRODSAccount irodsAccount = testingPropertiesHelper
+				.buildIRODSAccountFromTestProperties(testingProperties);
+		AbstractIRODSMidLevelProtocol irodsProtocol = irodsFileSystem
+				.getIrodsSession().currentConnection(irodsAccount);
+		irodsProtocol.disconnectWithForce();
+		Assert.assertFalse("the connection is not closed after disconnect",
+				irodsProtocol.isConnected());
+
+		AbstractIRODSMidLevelProtocol secondProtocol = irodsFileSystem
+				.getIrodsSession().currentConnection(irodsAccount);
+		Assert.assertTrue(secondProtocol.isConnected());
+		Assert.assertFalse(irodsProtocol == secondProtocol);
+		irodsFileSystem.close(irodsAccount);
+	}
+
+	@Test(expected = JargonException.class)
+	public void testPoolExhausted() throws Exception {
+		SettableJargonProperties settableJargonProperties = new SettableJargonProperties(
+				jargonOriginalProperties);
+		settableJargonProperties.setConnectionPoolMaxPerAccount(1);
+		settableJargonProperties.setConnectionPoolMaxWaitMillis(100);
+		irodsFileSystem.getIrodsSession().setJargonProperties(
+				settableJargonProperties);
+
+		IRODSAccount irodsAccount = testingPropertiesHelper
+				.buildIRODSAccountFromTestProperties(testingProperties);
+		irodsFileSystem.getIrodsSession().currentConnection(irodsAccount);
+		try {
+			// a session is per thread, so lease directly from the manager
+			irodsPooledProtocolManager.getIRODSProtocol(irodsAccount,
+					irodsFileSystem.getIrodsSession()
+							.buildPipelineConfigurationBasedOnJargonProperties(),
+					irodsFileSystem.getIrodsSession());
+		} finally {
+			irodsFileSystem.close(irodsAccount);
+		}
+	}
+
+	@Test
+	public void testLeaseFrom3Threads() throws Exception {
+		final IRODSAccount irodsAccount = testingPropertiesHelper
+				.buildIRODSAccountFromTestProperties(testingProperties);
+		final int iterations = 20;
+		final Exception[] caught = new Exception[3];
+		Thread[] threads = new Thread[3];
+
+		for (int i = 0; i < threads.length; i++) {
+			final int index = i;
+			threads[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						for (int j = 0; j < iterations; j++) {
+							irodsFileSystem.getIRODSAccessObjectFactory()
+									.getEnvironmentalInfoAO(irodsAccount)
+									.getIRODSServerCurrentTime();
+							irodsFileSystem.close(irodsAccount);
+						}
+					} catch (Exception e) {
+						caught[index] = e;
+					}
+				}
+			});
+			threads[i].start();
+		}
+
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		for (Exception e : caught) {
+			if (e != null) {
+				throw e;
+			}
+		}
+
+		ConnectionPoolMetrics metrics = irodsPooledProtocolManager
+				.getConnectionPoolMetrics();
+		Assert.assertTrue("should reuse connections",
+				metrics.getCreateCount() < metrics.getLeaseCount());
+		Assert.assertEquals(0, irodsPooledProtocolManager
+				.getLeasedConnectionCount());
+	}
+
+}
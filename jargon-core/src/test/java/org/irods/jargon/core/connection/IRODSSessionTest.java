@@ -1,7 +1,9 @@
 package org.irods.jargon.core.connection;
 
 import java.util.Properties;
+import java.util.concurrent.Callable;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 
 import junit.framework.Assert;
 
@@ -133,6 +135,36 @@ public class IRODSSessionTest {
 
 	}
 
+	@Test
+	public void testBuildTransferThreadPoolWithVirtualThreads() throws Exception {
+		IRODSProtocolManager irodsConnectionManager = IRODSSimpleProtocolManager
+				.instance();
+		IRODSSession irodsSession = IRODSSession
+				.instance(irodsConnectionManager);
+
+		SettableJargonProperties overrideJargonProperties = new SettableJargonProperties();
+		overrideJargonProperties.setMaxParallelThreads(4);
+		overrideJargonProperties.setUseTransferThreadsPool(true);
+		overrideJargonProperties.setUseVirtualThreadsForTransferThreadsPool(true);
+		overrideJargonProperties
+				.setTransferThreadPoolMaxSimultaneousTransfers(4);
+		overrideJargonProperties.setTransferThreadPoolTimeoutMillis(60000);
+		irodsSession.setJargonProperties(overrideJargonProperties);
+		ExecutorService executor = irodsSession.getParallelTransferThreadPool();
+		// falls back to platform threads if the JVM has no virtual threads
+		Assert.assertNotNull("executor was null", executor);
+		Assert.assertSame("should return the same executor", executor,
+				irodsSession.getParallelTransferThreadPool());
+		Assert.assertEquals(Boolean.TRUE, executor.submit(
+				new Callable<Boolean>() {
+					@Override
+					public Boolean call() throws Exception {
+						return Boolean.TRUE;
+					}
+				}).get());
+		executor.shutdown();
+	}
+
 	@Test
 	public void testBuildTransferThreadPoolNotInProps() throws Exception {
 		IRODSProtocolManager irodsConnectionManager = IRODSSimpleProtocolManager
@@ -323,4 +355,49 @@ public class IRODSSessionTest {
 
 	}
 
+	@Test
+	public void testCurrentConnectionCheckRenewalOfSocketInBackground()
+			throws Exception {
+		IRODSProtocolManager irodsConnectionManager = IRODSSimpleProtocolManager
+				.instance();
+		IRODSAccount irodsAccount = testingPropertiesHelper
+				.buildIRODSAccountFromTestProperties(testingProperties);
+		IRODSSession irodsSession = IRODSSession
+				.instance(irodsConnectionManager);
+		SettableJargonProperties overrideJargonProperties = new SettableJargonProperties();
+		overrideJargonProperties.setSocketRenewalIntervalInSeconds(1);
+		overrideJargonProperties.setBackgroundConnectionRenewal(true);
+		irodsSession.setJargonProperties(overrideJargonProperties);
+
+		try {
+			AbstractIRODSMidLevelProtocol original = irodsSession
+					.currentConnection(irodsAccount);
+			Thread.sleep(1500);
+
+			AbstractIRODSMidLevelProtocol current = irodsSession
+					.currentConnectionCheckRenewalOfSocket(irodsAccount);
+			Assert.assertSame("should keep using connection while renewing",
+					original, current);
+
+			for (int i = 0; i < 100 && current == original; i++) {
+				Thread.sleep(100);
+				current = irodsSession
+						.currentConnectionCheckRenewalOfSocket(irodsAccount);
+			}
+
+			Assert.assertNotSame("connection was not renewed", original,
+					current);
+			Assert.assertTrue(current.isConnected());
+			Assert.assertFalse("old connection not retired",
+					original.isConnected());
+			Assert.assertSame(current,
+					irodsSession.currentConnection(irodsAccount));
+			Assert.assertEquals(1, irodsSession.getConnectionRenewalMetrics()
+					.getRenewalCount());
+		} finally {
+			irodsSession.closeSession();
+		}
+
+	}
+
 }
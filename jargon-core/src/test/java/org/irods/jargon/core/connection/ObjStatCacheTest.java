@@ -0,0 +1,181 @@
+package org.irods.jargon.core.connection;
+
+import junit.framework.Assert;
+
+import org.irods.jargon.core.pub.domain.ObjStat;
+import org.irods.jargon.core.query.CollectionAndDataObjectListingEntry.ObjectType;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ObjStatCacheTest {
+
+	private static final int MAX_ENTRIES = 100;
+	private static final long TIME_TO_LIVE = 60000L;
+
+	private ObjStatCache target;
+	private IRODSAccount account;
+
+	@Before
+	public void setUp() throws Exception {
+		target = new ObjStatCache();
+		account = IRODSAccount.instance("localhost", 1247, "client",
+				"password", "/zone/home/client", "zone", "");
+	}
+
+	@Test
+	public void testRetrieveNotCached() {
+		Assert.assertNull("should not be cached",
+				target.retrieve(account, "/zone/home/client/a"));
+		Assert.assertEquals("should count a miss", 1, target
+				.getObjStatCacheMetrics().getMissCount());
+	}
+
+	@Test
+	public void testCacheAndRetrieve() {
+		cache("/zone/home/client/a");
+		ObjStat actual = target.retrieve(account, "/zone/home/client/a");
+		Assert.assertNotNull("should be cached", actual);
+		Assert.assertEquals("wrong path", "/zone/home/client/a",
+				actual.getAbsolutePath());
+		Assert.assertEquals("wrong size", 10L, actual.getObjSize());
+		Assert.assertEquals("should count a hit", 1, target
+				.getObjStatCacheMetrics().getHitCount());
+	}
+
+	@Test
+	public void testRetrieveWithTrailingSlash() {
+		cache("/zone/home/client/coll");
+		Assert.assertNotNull("should be cached",
+				target.retrieve(account, "/zone/home/client/coll/"));
+	}
+
+	@Test
+	public void testRetrieveIsACopy() {
+		cache("/zone/home/client/a");
+		target.retrieve(account, "/zone/home/client/a").setObjSize(99L);
+		Assert.assertEquals("cached entry changed", 10L,
+				target.retrieve(account, "/zone/home/client/a").getObjSize());
+	}
+
+	@Test
+	public void testRetrieveOtherAccount() throws Exception {
+		cache("/zone/home/client/a");
+		IRODSAccount other = IRODSAccount.instance("localhost", 1247,
+				"other", "password", "/zone/home/other", "zone", "");
+		Assert.assertNull("should not be cached for another account",
+				target.retrieve(other, "/zone/home/client/a"));
+	}
+
+	@Test
+	public void testRetrieveExpired() throws Exception {
+		target.cache(account, objStat("/zone/home/client/a"),
+				target.currentGeneration(), MAX_ENTRIES, 1L);
+		Thread.sleep(10);
+		Assert.assertNull("should have expired",
+				target.retrieve(account, "/zone/home/client/a"));
+		Assert.assertEquals("should count an expired entry", 1, target
+				.getObjStatCacheMetrics().getExpiredCount());
+	}
+
+	@Test
+	public void testLeastRecentlyUsedEvicted() {
+		for (int i = 0; i < 3; i++) {
+			target.cache(account, objStat("/zone/home/client/" + i),
+					target.currentGeneration(), 3, TIME_TO_LIVE);
+		}
+		target.retrieve(account, "/zone/home/client/0");
+		target.cache(account, objStat("/zone/home/client/3"),
+				target.currentGeneration(), 3, TIME_TO_LIVE);
+		Assert.assertNotNull("recently used entry should be kept",
+				target.retrieve(account, "/zone/home/client/0"));
+		Assert.assertNull("least recently used entry should be evicted",
+				target.retrieve(account, "/zone/home/client/1"));
+		Assert.assertNotNull("newest entry should be kept",
+				target.retrieve(account, "/zone/home/client/3"));
+		Assert.assertEquals("should count an eviction", 1, target
+				.getObjStatCacheMetrics().getEvictionCount());
+	}
+
+	@Test
+	public void testInvalidate() {
+		cache("/zone/home/client");
+		cache("/zone/home/client/coll");
+		cache("/zone/home/client/coll/a");
+		cache("/zone/home/client/coll/sub/b");
+		cache("/zone/home/client/coll2");
+		cache("/zone/home/client/other");
+
+		target.invalidate("/zone/home/client/coll");
+
+		Assert.assertNull("parent should be invalidated",
+				target.retrieve(account, "/zone/home/client"));
+		Assert.assertNull("path should be invalidated",
+				target.retrieve(account, "/zone/home/client/coll"));
+		Assert.assertNull("child should be invalidated",
+				target.retrieve(account, "/zone/home/client/coll/a"));
+		Assert.assertNull("descendant should be invalidated",
+				target.retrieve(account, "/zone/home/client/coll/sub/b"));
+		Assert.assertNotNull("path with same prefix should be kept",
+				target.retrieve(account, "/zone/home/client/coll2"));
+		Assert.assertNotNull("sibling should be kept",
+				target.retrieve(account, "/zone/home/client/other"));
+		Assert.assertEquals("wrong invalidation count", 4, target
+				.getObjStatCacheMetrics().getInvalidationCount());
+	}
+
+	@Test
+	public void testInvalidateAllAccounts() throws Exception {
+		IRODSAccount other = IRODSAccount.instance("localhost", 1247,
+				"other", "password", "/zone/home/other", "zone", "");
+		cache("/zone/home/client/a");
+		target.cache(other, objStat("/zone/home/client/a"),
+				target.currentGeneration(), MAX_ENTRIES, TIME_TO_LIVE);
+		target.invalidate("/zone/home/client/a");
+		Assert.assertNull("should be invalidated",
+				target.retrieve(account, "/zone/home/client/a"));
+		Assert.assertNull("should be invalidated for other account",
+				target.retrieve(other, "/zone/home/client/a"));
+	}
+
+	@Test
+	public void testNotCachedWhenInvalidatedDuringLookup() {
+		long generation = target.currentGeneration();
+		target.invalidate("/zone/home/client/a");
+		target.cache(account, objStat("/zone/home/client/a"), generation,
+				MAX_ENTRIES, TIME_TO_LIVE);
+		Assert.assertNull("lookup raced an invalidation",
+				target.retrieve(account, "/zone/home/client/a"));
+	}
+
+	@Test
+	public void testClear() {
+		cache("/zone/home/client/a");
+		target.clear();
+		Assert.assertNull("should be cleared",
+				target.retrieve(account, "/zone/home/client/a"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRetrieveBlankPath() {
+		target.retrieve(account, "");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidateNullPath() {
+		target.invalidate(null);
+	}
+
+	private void cache(final String path) {
+		target.cache(account, objStat(path), target.currentGeneration(),
+				MAX_ENTRIES, TIME_TO_LIVE);
+	}
+
+	private ObjStat objStat(final String path) {
+		ObjStat objStat = new ObjStat();
+		objStat.setAbsolutePath(path);
+		objStat.setObjectType(ObjectType.DATA_OBJECT);
+		objStat.setObjSize(10L);
+		return objStat;
+	}
+
+}
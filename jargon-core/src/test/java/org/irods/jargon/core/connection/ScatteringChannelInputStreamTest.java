@@ -0,0 +1,112 @@
+package org.irods.jargon.core.connection;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ScatteringByteChannel;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+public class ScatteringChannelInputStreamTest {
+
+	@Test
+	public void testSmallReadFillsReadAhead() throws Exception {
+		SourceChannel channel = new SourceChannel(
+				"\u0000\u0000\u0000\u0005hello".getBytes());
+		ScatteringChannelInputStream stream = new ScatteringChannelInputStream(
+				channel, 64);
+		byte[] length = new byte[4];
+		Assert.assertEquals(4, stream.read(length, 0, 4));
+		Assert.assertEquals(5, length[3]);
+		Assert.assertEquals(5, stream.available());
+		byte[] message = new byte[5];
+		Assert.assertEquals(5, stream.read(message, 0, 5));
+		Assert.assertEquals("hello", new String(message));
+		Assert.assertEquals("should be one scattering read", 1,
+				channel.readCalls);
+	}
+
+	@Test
+	public void testLargeReadGoesToCallerArray() throws Exception {
+		byte[] data = new byte[200];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (byte) i;
+		}
+		SourceChannel channel = new SourceChannel(data);
+		ScatteringChannelInputStream stream = new ScatteringChannelInputStream(
+				channel, 16);
+		byte[] target = new byte[210];
+		Assert.assertEquals(150, stream.read(target, 10, 150));
+		Assert.assertEquals(0, target[10]);
+		Assert.assertEquals((byte) 149, target[159]);
+		Assert.assertEquals(16, stream.available());
+		Assert.assertEquals(150, stream.read());
+	}
+
+	@Test
+	public void testEndOfStream() throws Exception {
+		SourceChannel channel = new SourceChannel("a".getBytes());
+		ScatteringChannelInputStream stream = new ScatteringChannelInputStream(
+				channel, 8);
+		Assert.assertEquals('a', stream.read());
+		Assert.assertEquals(-1, stream.read());
+		Assert.assertEquals(-1, stream.read(new byte[4], 0, 4));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNullChannel() throws Exception {
+		new ScatteringChannelInputStream(null, 8);
+	}
+
+	/**
+	 * Channel that supplies the given bytes and then end of stream
+	 */
+	private static class SourceChannel implements ScatteringByteChannel {
+		private final ByteBuffer source;
+		private int readCalls = 0;
+		private boolean open = true;
+
+		SourceChannel(final byte[] data) {
+			source = ByteBuffer.wrap(data);
+		}
+
+		@Override
+		public int read(final ByteBuffer dst) throws IOException {
+			return (int) read(new ByteBuffer[] { dst }, 0, 1);
+		}
+
+		@Override
+		public long read(final ByteBuffer[] dsts, final int offset,
+				final int length) throws IOException {
+			readCalls++;
+			if (!source.hasRemaining()) {
+				return -1;
+			}
+			long total = 0;
+			for (int i = offset; i < offset + length; i++) {
+				while (dsts[i].hasRemaining() && source.hasRemaining()) {
+					dsts[i].put(source.get());
+					total++;
+				}
+			}
+			return total;
+		}
+
+		@Override
+		public long read(final ByteBuffer[] dsts) throws IOException {
+			return read(dsts, 0, dsts.length);
+		}
+
+		@Override
+		public boolean isOpen() {
+			return open;
+		}
+
+		@Override
+		public void close() throws IOException {
+			open = false;
+		}
+	}
+
+}
@@ -21,6 +21,23 @@ public class CollInpTest {
 	public final void testInstance() throws Exception {
 		CollInp collInp = CollInp.instance("testcollname", true);
 		Assert.assertNotNull("null coll inp object", collInp);
+		Assert.assertEquals("did not get expected API number",
+				CollInp.MKDIR_API_NBR, collInp.getApiNumber());
+	}
+
+	@Test
+	public final void testInstanceForDeleteApiNumber() throws Exception {
+		Assert.assertEquals("did not get expected API number",
+				CollInp.RMDIR_API_NBR,
+				CollInp.instance("testcollname", true, true).getApiNumber());
+		Assert.assertEquals("did not get expected API number",
+				CollInp.RMDIR_API_NBR, CollInp
+						.instanceForRecursiveDeleteCollectionNoForce(
+								"testcollname").getApiNumber());
+		Assert.assertEquals("did not get expected API number",
+				CollInp.RMDIR_API_NBR, CollInp
+						.instanceForUnregisterCollection("testcollname",
+								false, true).getApiNumber());
 	}
 
 	@Test(expected = JargonException.class)
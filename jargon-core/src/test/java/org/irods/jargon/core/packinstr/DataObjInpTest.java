@@ -55,6 +55,20 @@ public class DataObjInpTest {
 		DataObjInp dataObjInp = DataObjInp.instanceForOpen("/abspath",
 				DataObjInp.OpenFlags.READ_WRITE);
 		Assert.assertNotNull("data obj inp returned was null", dataObjInp);
+		Assert.assertEquals("did not get expected API number",
+				DataObjInp.OPEN_FILE_API_NBR, dataObjInp.getApiNumber());
+	}
+
+	@Test
+	public final void testInstanceApiNumbers() throws Exception {
+		Assert.assertEquals("did not get expected API number",
+				DataObjInp.CREATE_FILE_API_NBR, DataObjInp.instance("/abspath",
+						DataObjInp.DEFAULT_CREATE_MODE,
+						DataObjInp.OpenFlags.WRITE, 0L, 0L, "", null)
+						.getApiNumber());
+		Assert.assertEquals("did not get expected API number",
+				DataObjInp.DELETE_FILE_API_NBR, DataObjInp
+						.instanceForDeleteWithForce("/abspath").getApiNumber());
 	}
 
 	@Test
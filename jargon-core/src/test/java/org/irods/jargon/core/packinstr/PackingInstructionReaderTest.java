@@ -0,0 +1,162 @@
+package org.irods.jargon.core.packinstr;
+
+import junit.framework.Assert;
+
+import org.irods.jargon.core.packinstr.PackingInstructionReader.Event;
+import org.junit.Test;
+
+public class PackingInstructionReaderTest {
+
+	private static final String ENCODING = "UTF-8";
+
+	@Test
+	public void testReadHeaderValues() throws Exception {
+		String header = "<MsgHeader_PI><type>RODS_API_REPLY</type><msgLen>123</msgLen><errorLen>0</errorLen><bsLen>4096</bsLen><intInfo>-808000</intInfo></MsgHeader_PI>";
+		PackingInstructionReader reader = new PackingInstructionReader(
+				header.getBytes(ENCODING), true, ENCODING);
+
+		Assert.assertEquals(Event.START_TAG, reader.next());
+		Assert.assertTrue(reader.isTagNamed("MsgHeader_PI"));
+		Assert.assertFalse(reader.isLeaf());
+
+		Assert.assertEquals(Event.START_TAG, reader.next());
+		Assert.assertEquals("type", reader.getTagName());
+		Assert.assertTrue(reader.isLeaf());
+		Assert.assertEquals("RODS_API_REPLY", reader.getValue());
+		Assert.assertEquals(Event.END_TAG, reader.next());
+
+		reader.next();
+		Assert.assertEquals(123, reader.getIntValue());
+		reader.next();
+		reader.next();
+		Assert.assertEquals(0, reader.getIntValue());
+		reader.next();
+		reader.next();
+		Assert.assertEquals(4096L, reader.getLongValue());
+		reader.next();
+		reader.next();
+		Assert.assertEquals(-808000, reader.getIntValue());
+		Assert.assertEquals(2, reader.getDepth());
+		Assert.assertEquals(Event.END_TAG, reader.next());
+		Assert.assertEquals(Event.END_TAG, reader.next());
+		Assert.assertEquals(1, reader.getDepth());
+		Assert.assertEquals(Event.END_DOCUMENT, reader.next());
+	}
+
+	@Test
+	public void testDecodeEntitiesInPlace() throws Exception {
+		String message = "<STR_PI><myStr>a &amp; b &lt;c&gt; &quot;d&quot; &apos;e&apos; &foo; &amp</myStr></STR_PI>";
+		PackingInstructionReader reader = new PackingInstructionReader(
+				message.getBytes(ENCODING), true, ENCODING);
+		reader.next();
+		reader.next();
+		Assert.assertEquals("a & b <c> \"d\" `e` &foo; &amp",
+				reader.getValue());
+		Assert.assertEquals(Event.END_TAG, reader.next());
+		Assert.assertTrue(reader.isTagNamed("myStr"));
+	}
+
+	@Test
+	public void testNoDecode() throws Exception {
+		String message = "<STR_PI><myStr>a &amp; b</myStr></STR_PI>";
+		PackingInstructionReader reader = new PackingInstructionReader(
+				message.getBytes(ENCODING), false, ENCODING);
+		reader.next();
+		reader.next();
+		Assert.assertEquals("a &amp; b", reader.getValue());
+	}
+
+	@Test
+	public void testMultiByteValue() throws Exception {
+		String message = "<STR_PI>\n<myStr>héllo wörld &amp; 日本</myStr>\n</STR_PI>\n";
+		Tag tag = Tag.readNextTag(message.getBytes(ENCODING), ENCODING);
+		Assert.assertEquals("héllo wörld & 日本",
+				tag.getTag("myStr").getStringValue());
+	}
+
+	@Test
+	public void testReadNextTagNestedWithNewlines() throws Exception {
+		StringBuilder sb = new StringBuilder();
+		sb.append("<GenQueryOut_PI><rowCnt>2</rowCnt>\n");
+		sb.append("<attriCnt>2</attriCnt>\n");
+		sb.append("<continueInx>0</continueInx>\n");
+		sb.append("<totalRowCount>0</totalRowCount>\n");
+		sb.append("<SqlResult_PI><attriInx>403</attriInx>\n");
+		sb.append("<reslen>10</reslen>\n");
+		sb.append("<value>a</value>\n");
+		sb.append("<value></value>\n");
+		sb.append("</SqlResult_PI>\n");
+		sb.append("<SqlResult_PI><attriInx>407</attriInx>\n");
+		sb.append("<reslen>10</reslen>\n");
+		sb.append("<value>\nx</value>\n");
+		sb.append("<value>y</value>\n");
+		sb.append("</SqlResult_PI>\n");
+		sb.append("</GenQueryOut_PI>\n");
+
+		Tag tag = Tag.readNextTag(sb.toString().getBytes(ENCODING), ENCODING);
+		Assert.assertEquals("GenQueryOut_PI", tag.getName());
+		Assert.assertEquals(6, tag.getLength());
+		Assert.assertEquals(2, tag.getTag(GenQueryOut.ROW_CNT).getIntValue());
+		Tag second = tag.getTag("SqlResult_PI", 1);
+		Assert.assertEquals(407, second.getTag("attriInx").getIntValue());
+		Assert.assertEquals("x", second.getTags()[2].getStringValue());
+		Assert.assertEquals("",
+				tag.getTag("SqlResult_PI").getTags()[3].getStringValue());
+
+		// round trip through the serializer
+		Assert.assertEquals(sb.toString().replace("<value>\nx", "<value>x"),
+				tag.parseTag());
+	}
+
+	@Test
+	public void testReadNextTagIgnoresLeadingAndTrailingBytes()
+			throws Exception {
+		byte[] data = "junk<a><b>1</b></a>\n\u0000\u0000".getBytes(ENCODING);
+		Tag tag = Tag.readNextTag(data, ENCODING);
+		Assert.assertEquals("a", tag.getName());
+		Assert.assertEquals(1, tag.getTag("b").getIntValue());
+	}
+
+	@Test
+	public void testReadNextTagNoTag() throws Exception {
+		Assert.assertNull(Tag.readNextTag(new byte[10], ENCODING));
+	}
+
+	@Test
+	public void testSkipChildren() throws Exception {
+		String message = "<a><b><c>1</c><d><e>2</e></d></b><f>3</f></a>";
+		PackingInstructionReader reader = new PackingInstructionReader(
+				message.getBytes(ENCODING), true, ENCODING);
+		reader.next();
+		reader.next();
+		Assert.assertTrue(reader.isTagNamed("b"));
+		reader.skipChildren();
+		Assert.assertEquals(Event.END_TAG, reader.getEvent());
+		Assert.assertTrue(reader.isTagNamed("b"));
+		reader.next();
+		Assert.assertTrue(reader.isTagNamed("f"));
+		Assert.assertEquals(3, reader.getIntValue());
+	}
+
+	@Test(expected = NumberFormatException.class)
+	public void testNonNumericValue() throws Exception {
+		PackingInstructionReader reader = new PackingInstructionReader(
+				"<a>12x</a>".getBytes(ENCODING), true, ENCODING);
+		reader.next();
+		reader.getIntValue();
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testValueOnNonLeaf() throws Exception {
+		PackingInstructionReader reader = new PackingInstructionReader(
+				"<a><b>1</b></a>".getBytes(ENCODING), true, ENCODING);
+		reader.next();
+		reader.getValue();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNullData() throws Exception {
+		new PackingInstructionReader(null, true, ENCODING);
+	}
+
+}
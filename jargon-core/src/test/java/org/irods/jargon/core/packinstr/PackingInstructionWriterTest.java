@@ -0,0 +1,187 @@
+package org.irods.jargon.core.packinstr;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import junit.framework.Assert;
+
+import org.irods.jargon.core.connection.AbstractIRODSMidLevelProtocol;
+import org.irods.jargon.core.connection.IRODSServerProperties;
+import org.irods.jargon.core.pub.domain.AvuData;
+import org.irods.jargon.core.query.IRODSGenQuery;
+import org.irods.jargon.core.query.IRODSGenQueryTranslator;
+import org.irods.jargon.core.query.RodsGenQueryEnum;
+import org.irods.jargon.core.query.TranslatedIRODSGenQuery;
+import org.irods.jargon.core.utils.IRODSConstants;
+import org.junit.Test;
+
+public class PackingInstructionWriterTest {
+
+	private static final String ENCODING = "UTF-8";
+
+	@Test
+	public void testWriteDataObjInpSameAsParseTag() throws Exception {
+		DataObjInp dataObjInp = DataObjInp.instanceForDeleteWithForce("/zone/home/test/file<&>.txt");
+		assertSameAsString(dataObjInp, ENCODING);
+	}
+
+	@Test
+	public void testWriteModAvuMetadataInpSameAsParseTag() throws Exception {
+		AvuData avuData = AvuData.instance("attr`quoted`", "värde \"日本\" 😀", "unit");
+		ModAvuMetadataInp modAvuMetadataInp = ModAvuMetadataInp
+				.instanceForAddDataObjectMetadata("/zone/home/test/a & b", avuData);
+		assertSameAsString(modAvuMetadataInp, ENCODING);
+	}
+
+	@Test
+	public void testWriteModAccessControlInpSameAsParseTag() throws Exception {
+		ModAccessControlInp modAccessControlInp = ModAccessControlInp.instanceForSetPermission(true, "zone",
+				"/zone/home/test", "test", ModAccessControlInp.READ_PERMISSION);
+		assertSameAsString(modAccessControlInp, ENCODING);
+	}
+
+	@Test
+	public void testWriteGenQueryInpSameAsParseTag() throws Exception {
+		TranslatedIRODSGenQuery translatedIRODSQuery = translateQuery();
+		assertSameAsString(GenQueryInp.instance(translatedIRODSQuery, 0, "zone"), ENCODING);
+		assertSameAsString(GenQueryInp.instance(translatedIRODSQuery, 3, ""), ENCODING);
+	}
+
+	@Test
+	public void testWriteGenQueryInpPartialStartSameAsParseTag() throws Exception {
+		assertSameAsString(GenQueryInp.instanceWithPartialStart(translateQuery(), 1000, "zone"), ENCODING);
+	}
+
+	@Test
+	public void testWriteGenQueryInpCloseSameAsParseTag() throws Exception {
+		assertSameAsString(GenQueryInp.instanceForCloseQuery(translateQuery(), 2), ENCODING);
+	}
+
+	@Test
+	public void testWriteCollInpSameAsParseTag() throws Exception {
+		assertSameAsString(CollInp.instance("/zone/home/test/a & b", true), ENCODING);
+		assertSameAsString(CollInp.instanceForRecursiveDeleteCollectionWithForce("/zone/home/test/a & b"), ENCODING);
+	}
+
+	@Test
+	public void testWriteDataObjInpForOpenSameAsParseTag() throws Exception {
+		assertSameAsString(DataObjInp.instanceForOpen("/zone/home/test/<file>", DataObjInp.OpenFlags.READ_WRITE),
+				ENCODING);
+	}
+
+	@Test
+	public void testWriteNonUtf8EncodingSameAsParseTag() throws Exception {
+		DataObjInp dataObjInp = DataObjInp.instanceForDeleteWithForce("/zone/home/test/fïlé");
+		assertSameAsString(dataObjInp, "ISO-8859-1");
+	}
+
+	@Test
+	public void testWriteNullValue() throws Exception {
+		Tag tag = new Tag("a", new Tag[] { new Tag("b"), new Tag("c", "") });
+		PackingInstructionWriter writer = new PackingInstructionWriter(ENCODING);
+		writer.writeMessage(IRODSConstants.RODS_API_REQ, tag, 0, 0, 1);
+		Assert.assertEquals(tag.parseTag(), bodyAsString(writer, tag.parseTag().getBytes(ENCODING).length));
+	}
+
+	@Test
+	public void testWriteNoMessage() throws Exception {
+		PackingInstructionWriter writer = new PackingInstructionWriter(ENCODING);
+		int messageLength = writer.writeMessage(IRODSConstants.RODS_DISCONNECT, null, 0, 0, 0);
+		Assert.assertEquals(0, messageLength);
+		byte[] header = AbstractIRODSMidLevelProtocol.createHeaderBytesFromData(IRODSConstants.RODS_DISCONNECT, 0, 0,
+				0, 0, ENCODING);
+		Assert.assertEquals(header.length + 4, writer.getMessageLength());
+	}
+
+	@Test
+	public void testBufferGrowsForLargeMessage() throws Exception {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 5000; i++) {
+			sb.append("ü&");
+		}
+		Tag tag = new Tag("STR_PI", new Tag[] { new Tag("myStr", sb.toString()) });
+		PackingInstructionWriter writer = new PackingInstructionWriter(ENCODING, 512);
+		int messageLength = writer.writeMessage(IRODSConstants.RODS_API_REQ, tag, 0, 100L, 700);
+		Assert.assertEquals(tag.parseTag().getBytes(ENCODING).length, messageLength);
+		Assert.assertTrue(writer.getCapacity() > 512);
+		Assert.assertEquals(tag.parseTag(), bodyAsString(writer, messageLength));
+	}
+
+	@Test
+	public void testTrimReleasesLargeBuffer() throws Exception {
+		Tag tag = new Tag("STR_PI",
+				new Tag[] { new Tag("myStr", new String(new char[PackingInstructionWriter.MAX_RETAINED_BUFFER_SIZE])) });
+		PackingInstructionWriter writer = new PackingInstructionWriter(ENCODING);
+		writer.writeMessage(IRODSConstants.RODS_API_REQ, tag, 0, 0, 700);
+		writer.trim();
+		Assert.assertEquals(0, writer.getCapacity());
+	}
+
+	@Test
+	public void testDigits() {
+		Assert.assertEquals(1, PackingInstructionWriter.digits(0));
+		Assert.assertEquals(2, PackingInstructionWriter.digits(-1));
+		Assert.assertEquals(4, PackingInstructionWriter.digits(1000));
+		Assert.assertEquals(String.valueOf(Long.MAX_VALUE).length(), PackingInstructionWriter.digits(Long.MAX_VALUE));
+		Assert.assertEquals(String.valueOf(Long.MIN_VALUE).length(), PackingInstructionWriter.digits(Long.MIN_VALUE));
+	}
+
+	@Test(expected = UnsupportedEncodingException.class)
+	public void testNonAsciiCompatibleEncoding() throws Exception {
+		new PackingInstructionWriter("UTF-16");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNullEncoding() throws Exception {
+		new PackingInstructionWriter(null);
+	}
+
+	/**
+	 * Translate a query with a quoted, escaped condition, as the GenQuery
+	 * processor does before sending it
+	 */
+	private TranslatedIRODSGenQuery translateQuery() throws Exception {
+		String queryString = "select " + RodsGenQueryEnum.COL_COLL_NAME.getName() + " ,"
+				+ RodsGenQueryEnum.COL_DATA_NAME.getName() + " ," + RodsGenQueryEnum.COL_DATA_SIZE.getName()
+				+ " where " + RodsGenQueryEnum.COL_COLL_NAME.getName() + " = '/zone/home/test/a & <b>'" + " and "
+				+ RodsGenQueryEnum.COL_DATA_NAME.getName() + " like 'fïlé%'";
+		IRODSServerProperties props = IRODSServerProperties.instance(IRODSServerProperties.IcatEnabled.ICAT_ENABLED,
+				100, "rods4.1.8", "d", "zone");
+		IRODSGenQueryTranslator irodsQueryTranslator = new IRODSGenQueryTranslator(props);
+		return irodsQueryTranslator.getTranslatedQuery(IRODSGenQuery.instance(queryString, 500));
+	}
+
+	/**
+	 * Compare the framed bytes from the writer with the header and encoded
+	 * <code>String</code> as sent by the protocol
+	 */
+	private void assertSameAsString(final AbstractIRODSPackingInstruction irodsPI, final String encoding)
+			throws Exception {
+		byte[] message = irodsPI.getParsedTags().getBytes(encoding);
+		byte[] header = AbstractIRODSMidLevelProtocol.createHeaderBytesFromData(IRODSConstants.RODS_API_REQ,
+				message.length, 0, 42L, irodsPI.getApiNumber(), encoding);
+
+		ByteArrayOutputStream expected = new ByteArrayOutputStream();
+		expected.write(ByteBuffer.allocate(4).putInt(header.length).array());
+		expected.write(header);
+		expected.write(message);
+
+		PackingInstructionWriter writer = new PackingInstructionWriter(encoding);
+		int messageLength = writer.writeMessage(IRODSConstants.RODS_API_REQ, irodsPI.getTagValue(), 0, 42L,
+				irodsPI.getApiNumber());
+		Assert.assertEquals(message.length, messageLength);
+
+		ByteArrayOutputStream actual = new ByteArrayOutputStream();
+		actual.write(writer.getArray(), writer.getMessageOffset(), writer.getMessageLength());
+		Assert.assertEquals(new String(expected.toByteArray(), encoding), new String(actual.toByteArray(), encoding));
+		Assert.assertTrue(Arrays.equals(expected.toByteArray(), actual.toByteArray()));
+	}
+
+	private String bodyAsString(final PackingInstructionWriter writer, final int messageLength) throws Exception {
+		int end = writer.getMessageOffset() + writer.getMessageLength();
+		return new String(writer.getArray(), end - messageLength, messageLength, ENCODING);
+	}
+
+}
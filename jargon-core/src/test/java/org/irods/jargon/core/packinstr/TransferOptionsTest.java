@@ -46,4 +46,47 @@ public class TransferOptionsTest {
 				actual.isIntraFileStatusCallbacks());
 	}
 
+	@Test
+	public final void testCopyConstructorRecursiveTransferConcurrency()
+			throws Exception {
+		TransferOptions expected = new TransferOptions();
+		expected.setRecursiveTransferConcurrency(4);
+		TransferOptions actual = new TransferOptions(expected);
+		Assert.assertEquals(
+				"did not properly set recursiveTransferConcurrency",
+				expected.getRecursiveTransferConcurrency(),
+				actual.getRecursiveTransferConcurrency());
+	}
+
+	@Test
+	public final void testRecursiveTransferConcurrencyLessThanOne()
+			throws Exception {
+		TransferOptions transferOptions = new TransferOptions();
+		transferOptions.setRecursiveTransferConcurrency(0);
+		Assert.assertEquals("should treat 0 as 1", 1,
+				transferOptions.getRecursiveTransferConcurrency());
+	}
+
+	@Test
+	public final void testCopyConstructorBundleSmallFilesOnPut()
+			throws Exception {
+		TransferOptions expected = new TransferOptions();
+		expected.setBundleSmallFilesOnPut(true);
+		TransferOptions actual = new TransferOptions(expected);
+		Assert.assertEquals("did not properly set bundleSmallFilesOnPut",
+				expected.isBundleSmallFilesOnPut(),
+				actual.isBundleSmallFilesOnPut());
+	}
+
+	@Test
+	public final void testCopyConstructorSegmentedGetThreads()
+			throws Exception {
+		TransferOptions expected = new TransferOptions();
+		expected.setSegmentedGetThreads(4);
+		TransferOptions actual = new TransferOptions(expected);
+		Assert.assertEquals("did not properly set segmentedGetThreads",
+				expected.getSegmentedGetThreads(),
+				actual.getSegmentedGetThreads());
+	}
+
 }
@@ -0,0 +1,152 @@
+package org.irods.jargon.core.pub;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.Assert;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.SettableJargonProperties;
+import org.irods.jargon.core.exception.FileNotFoundException;
+import org.irods.jargon.core.pub.domain.ObjStat;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class AsyncIRODSAccessObjectFactoryImplTest {
+
+	private static IRODSAccount irodsAccount = null;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		irodsAccount = IRODSAccount.instance("host", 1247, "user", "password",
+				"/zone/home/user", "zone", "");
+	}
+
+	@Test
+	public void testRetrieveObjectStatForPaths() throws Exception {
+		IRODSAccessObjectFactory irodsAccessObjectFactory = Mockito
+				.mock(IRODSAccessObjectFactory.class);
+		CollectionAndDataObjectListAndSearchAO listAndSearchAO = Mockito
+				.mock(CollectionAndDataObjectListAndSearchAO.class);
+		Mockito.when(
+				irodsAccessObjectFactory
+						.getCollectionAndDataObjectListAndSearchAO(irodsAccount))
+				.thenReturn(listAndSearchAO);
+
+		List<String> paths = new ArrayList<String>();
+		for (int i = 0; i < 20; i++) {
+			String path = "/zone/home/user/file" + i;
+			ObjStat objStat = new ObjStat();
+			objStat.setAbsolutePath(path);
+			Mockito.when(listAndSearchAO.retrieveObjectStatForPath(path))
+					.thenReturn(objStat);
+			paths.add(path);
+		}
+
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		AsyncIRODSAccessObjectFactory asyncFactory = new AsyncIRODSAccessObjectFactoryImpl(
+				irodsAccessObjectFactory, executorService);
+		try {
+			List<ObjStat> objStats = asyncFactory
+					.retrieveObjectStatForPaths(irodsAccount, paths)
+					.get(10, TimeUnit.SECONDS);
+			Assert.assertEquals(paths.size(), objStats.size());
+			for (int i = 0; i < paths.size(); i++) {
+				Assert.assertEquals("results out of order", paths.get(i),
+						objStats.get(i).getAbsolutePath());
+			}
+		} finally {
+			asyncFactory.shutdown();
+			Assert.assertFalse("should not shut down caller executor",
+					executorService.isShutdown());
+			executorService.shutdown();
+		}
+	}
+
+	@Test
+	public void testFailureCompletesExceptionally() throws Exception {
+		IRODSAccessObjectFactory irodsAccessObjectFactory = Mockito
+				.mock(IRODSAccessObjectFactory.class);
+		CollectionAndDataObjectListAndSearchAO listAndSearchAO = Mockito
+				.mock(CollectionAndDataObjectListAndSearchAO.class);
+		Mockito.when(
+				irodsAccessObjectFactory
+						.getCollectionAndDataObjectListAndSearchAO(irodsAccount))
+				.thenReturn(listAndSearchAO);
+		Mockito.when(listAndSearchAO.retrieveObjectStatForPath("/missing"))
+				.thenThrow(new FileNotFoundException("not found"));
+
+		ExecutorService executorService = Executors.newSingleThreadExecutor();
+		AsyncIRODSAccessObjectFactory asyncFactory = new AsyncIRODSAccessObjectFactoryImpl(
+				irodsAccessObjectFactory, executorService);
+		try {
+			asyncFactory.retrieveObjectStatForPath(irodsAccount, "/missing")
+					.get(10, TimeUnit.SECONDS);
+			Assert.fail("should have thrown");
+		} catch (ExecutionException e) {
+			Assert.assertTrue(e.getCause() instanceof FileNotFoundException);
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	@Test
+	public void testOperationRunsOffCallerThread() throws Exception {
+		IRODSAccessObjectFactory irodsAccessObjectFactory = Mockito
+				.mock(IRODSAccessObjectFactory.class);
+		SettableJargonProperties jargonProperties = new SettableJargonProperties();
+		jargonProperties.setConnectionPoolMaxPerAccount(2);
+		Mockito.when(irodsAccessObjectFactory.getJargonProperties())
+				.thenReturn(jargonProperties);
+
+		AsyncIRODSAccessObjectFactory asyncFactory = AsyncIRODSAccessObjectFactoryImpl
+				.instance(irodsAccessObjectFactory);
+		try {
+			CompletableFuture<String> future = asyncFactory.submit(
+					irodsAccount, new AsyncAccessObjectOperation<String>() {
+						@Override
+						public String execute(
+								final IRODSAccessObjectFactory irodsAccessObjectFactory,
+								final IRODSAccount irodsAccount)
+								throws Exception {
+							return Thread.currentThread().getName();
+						}
+					});
+			Assert.assertTrue(future.get(10, TimeUnit.SECONDS).startsWith(
+					"jargon-async-ao-"));
+		} finally {
+			asyncFactory.shutdown();
+		}
+
+		CompletableFuture<String> rejected = asyncFactory.submit(irodsAccount,
+				new AsyncAccessObjectOperation<String>() {
+					@Override
+					public String execute(
+							final IRODSAccessObjectFactory irodsAccessObjectFactory,
+							final IRODSAccount irodsAccount) throws Exception {
+						return "";
+					}
+				});
+		Assert.assertTrue(rejected.isCompletedExceptionally());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNullOperation() throws Exception {
+		IRODSAccessObjectFactory irodsAccessObjectFactory = Mockito
+				.mock(IRODSAccessObjectFactory.class);
+		ExecutorService executorService = Executors.newSingleThreadExecutor();
+		try {
+			new AsyncIRODSAccessObjectFactoryImpl(irodsAccessObjectFactory,
+					executorService).submit(irodsAccount, null);
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+}
@@ -0,0 +1,192 @@
+package org.irods.jargon.core.pub;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import junit.framework.Assert;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.PipelinedResponse;
+import org.irods.jargon.core.connection.SettableJargonProperties;
+import org.irods.jargon.core.exception.DuplicateDataException;
+import org.irods.jargon.core.exception.FileNotFoundException;
+import org.irods.jargon.core.packinstr.DataObjInpForObjStat;
+import org.irods.jargon.core.packinstr.ModAvuMetadataInp;
+import org.irods.jargon.core.pub.BulkAVUOperationResponse.ResultStatus;
+import org.irods.jargon.core.pub.domain.AvuData;
+import org.irods.jargon.core.pub.io.IRODSFile;
+import org.irods.jargon.core.query.MetaDataAndDomainData;
+import org.irods.jargon.testutils.IRODSTestSetupUtilities;
+import org.irods.jargon.testutils.TestingPropertiesHelper;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class BatchAOImplTest {
+
+	private static Properties testingProperties = new Properties();
+	private static TestingPropertiesHelper testingPropertiesHelper = new TestingPropertiesHelper();
+	public static final String IRODS_TEST_SUBDIR_PATH = "BatchAOImplTest";
+	private static IRODSTestSetupUtilities irodsTestSetupUtilities = null;
+	private static IRODSFileSystem irodsFileSystem;
+	private static SettableJargonProperties jargonOriginalProperties;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		TestingPropertiesHelper testingPropertiesLoader = new TestingPropertiesHelper();
+		testingProperties = testingPropertiesLoader.getTestProperties();
+		irodsTestSetupUtilities = new IRODSTestSetupUtilities();
+		irodsTestSetupUtilities.initializeIrodsScratchDirectory();
+		irodsTestSetupUtilities
+				.initializeDirectoryForTest(IRODS_TEST_SUBDIR_PATH);
+		irodsFileSystem = IRODSFileSystem.instance();
+		jargonOriginalProperties = new SettableJargonProperties(
+				irodsFileSystem.getJargonProperties());
+	}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {
+		irodsFileSystem.closeAndEatExceptions();
+	}
+
+	@Before
+	public void before() throws Exception {
+		irodsFileSystem.getIrodsSession().setJargonProperties(
+				jargonOriginalProperties);
+	}
+
+	@Test
+	public void testGetAOFromFactory() throws Exception {
+		IRODSAccount irodsAccount = testingPropertiesHelper
+				.buildIRODSAccountFromTestProperties(testingProperties);
+
+		BatchAO batchAO = irodsFileSystem.getIRODSAccessObjectFactory()
+				.getBatchAO(irodsAccount);
+		Assert.assertNotNull("null batchAO from factory", batchAO);
+	}
+
+	@Test
+	public void testExecuteBatchAddAVUsWithDuplicateAndMissingTarget()
+			throws Exception {
+		String testCollection = "testExecuteBatchAddAVUsWithDuplicateAndMissingTarget";
+		String expectedAttribName = "testExecuteBatchAddAVUsWithDuplicateAndMissingTarget";
+
+		SettableJargonProperties settableJargonProperties = new SettableJargonProperties(
+				jargonOriginalProperties);
+		// force several windows for the batch
+		settableJargonProperties.setPipelinedRequestWindowSize(2);
+		irodsFileSystem.getIrodsSession().setJargonProperties(
+				settableJargonProperties);
+
+		String targetIrodsCollection = testingPropertiesHelper
+				.buildIRODSCollectionAbsolutePathFromTestProperties(
+						testingProperties, IRODS_TEST_SUBDIR_PATH + "/"
+								+ testCollection);
+
+		IRODSAccount irodsAccount = testingPropertiesHelper
+				.buildIRODSAccountFromTestProperties(testingProperties);
+		IRODSFile targetIrodsFile = irodsFileSystem.getIRODSFileFactory(
+				irodsAccount).instanceIRODSFile(targetIrodsCollection);
+		targetIrodsFile.deleteWithForceOption();
+		targetIrodsFile.mkdirs();
+
+		List<ModAvuMetadataInp> requests = new ArrayList<ModAvuMetadataInp>();
+		for (int i = 0; i < 5; i++) {
+			requests.add(ModAvuMetadataInp.instanceForAddCollectionMetadata(
+					targetIrodsCollection,
+					AvuData.instance(expectedAttribName, "val" + i, "")));
+		}
+		// duplicate of the first AVU
+		requests.add(ModAvuMetadataInp.instanceForAddCollectionMetadata(
+				targetIrodsCollection,
+				AvuData.instance(expectedAttribName, "val0", "")));
+		requests.add(ModAvuMetadataInp.instanceForAddCollectionMetadata(
+				targetIrodsCollection + "/doesnotexist",
+				AvuData.instance(expectedAttribName, "val0", "")));
+		requests.add(ModAvuMetadataInp.instanceForAddCollectionMetadata(
+				targetIrodsCollection,
+				AvuData.instance(expectedAttribName, "val5", "")));
+
+		BatchAO batchAO = irodsFileSystem.getIRODSAccessObjectFactory()
+				.getBatchAO(irodsAccount);
+		List<PipelinedResponse> responses = batchAO.executeBatch(requests);
+
+		Assert.assertEquals(requests.size(), responses.size());
+		for (int i = 0; i < 5; i++) {
+			Assert.assertTrue(responses.get(i).isSuccess());
+			Assert.assertSame(requests.get(i), responses.get(i).getRequest());
+		}
+		Assert.assertTrue(responses.get(5).getException() instanceof DuplicateDataException);
+		Assert.assertTrue(responses.get(6).getException() instanceof FileNotFoundException);
+		Assert.assertTrue(responses.get(7).isSuccess());
+
+		CollectionAO collectionAO = irodsFileSystem
+				.getIRODSAccessObjectFactory().getCollectionAO(irodsAccount);
+		List<MetaDataAndDomainData> metadata = collectionAO
+				.findMetadataValuesForCollection(targetIrodsCollection);
+		Assert.assertEquals(6, metadata.size());
+	}
+
+	@Test
+	public void testExecuteBatchObjStat() throws Exception {
+		IRODSAccount irodsAccount = testingPropertiesHelper
+				.buildIRODSAccountFromTestProperties(testingProperties);
+
+		String targetIrodsCollection = testingPropertiesHelper
+				.buildIRODSCollectionAbsolutePathFromTestProperties(
+						testingProperties, IRODS_TEST_SUBDIR_PATH);
+
+		List<DataObjInpForObjStat> requests = new ArrayList<DataObjInpForObjStat>();
+		requests.add(DataObjInpForObjStat.instance(targetIrodsCollection));
+		requests.add(DataObjInpForObjStat.instance(targetIrodsCollection
+				+ "/doesnotexist"));
+		requests.add(DataObjInpForObjStat.instance(targetIrodsCollection));
+
+		BatchAO batchAO = irodsFileSystem.getIRODSAccessObjectFactory()
+				.getBatchAO(irodsAccount);
+		List<PipelinedResponse> responses = batchAO.executeBatch(requests);
+
+		Assert.assertEquals(3, responses.size());
+		Assert.assertNotNull(responses.get(0).getResponseOrThrow());
+		Assert.assertFalse(responses.get(1).isSuccess());
+		Assert.assertNotNull(responses.get(2).getResponseOrThrow());
+	}
+
+	@Test
+	public void testBulkAddAVUMetadataToCollectionReportsDuplicates()
+			throws Exception {
+		String testCollection = "testBulkAddAVUMetadataToCollectionReportsDuplicates";
+		String expectedAttribName = "testBulkAddAVUMetadataToCollectionReportsDuplicates";
+
+		String targetIrodsCollection = testingPropertiesHelper
+				.buildIRODSCollectionAbsolutePathFromTestProperties(
+						testingProperties, IRODS_TEST_SUBDIR_PATH + "/"
+								+ testCollection);
+
+		IRODSAccount irodsAccount = testingPropertiesHelper
+				.buildIRODSAccountFromTestProperties(testingProperties);
+		IRODSFile targetIrodsFile = irodsFileSystem.getIRODSFileFactory(
+				irodsAccount).instanceIRODSFile(targetIrodsCollection);
+		targetIrodsFile.deleteWithForceOption();
+		targetIrodsFile.mkdirs();
+
+		List<AvuData> avuData = new ArrayList<AvuData>();
+		avuData.add(AvuData.instance(expectedAttribName, "val1", ""));
+		avuData.add(AvuData.instance(expectedAttribName, "val1", ""));
+		avuData.add(AvuData.instance(expectedAttribName, "val2", ""));
+
+		CollectionAO collectionAO = irodsFileSystem
+				.getIRODSAccessObjectFactory().getCollectionAO(irodsAccount);
+		List<BulkAVUOperationResponse> responses = collectionAO
+				.addBulkAVUMetadataToCollection(targetIrodsCollection, avuData);
+
+		Assert.assertEquals(3, responses.size());
+		Assert.assertEquals(ResultStatus.OK, responses.get(0).getResultStatus());
+		Assert.assertEquals(ResultStatus.DUPLICATE_AVU, responses.get(1)
+				.getResultStatus());
+		Assert.assertEquals(ResultStatus.OK, responses.get(2).getResultStatus());
+	}
+
+}
@@ -2027,6 +2027,69 @@ public class CollectionAndDataObjectListAndSearchAOImplTest {
 		Assert.assertEquals("wrong file size", fileSize, objStat.getObjSize());
 	}
 
+	@Test
+	public void testObjStatForDataObjectCachedUntilDeleted() throws Exception {
+
+		String testFileName = "testObjStatForDataObjectCachedUntilDeleted.txt";
+		String absPath = scratchFileUtils
+				.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH);
+		String fileNameOrig = FileGenerator.generateFileOfFixedLengthGivenName(
+				absPath, testFileName, 2);
+
+		String targetIrodsCollection = testingPropertiesHelper
+				.buildIRODSCollectionAbsolutePathFromTestProperties(
+						testingProperties, IRODS_TEST_SUBDIR_PATH);
+
+		IRODSAccount irodsAccount = testingPropertiesHelper
+				.buildIRODSAccountFromTestProperties(testingProperties);
+
+		SettableJargonProperties props = new SettableJargonProperties(
+				irodsFileSystem.getJargonProperties());
+		SettableJargonProperties cachingProps = new SettableJargonProperties(
+				props);
+		cachingProps.setUsingObjStatCache(true);
+		cachingProps.setObjStatCacheTimeToLiveMillis(60000L);
+		irodsFileSystem.getIrodsSession().setJargonProperties(cachingProps);
+
+		try {
+			DataObjectAOImpl dataObjectAO = (DataObjectAOImpl) irodsFileSystem
+					.getIRODSAccessObjectFactory().getDataObjectAO(irodsAccount);
+			IRODSFile irodsFile = irodsFileSystem.getIRODSFileFactory(
+					irodsAccount).instanceIRODSFile(targetIrodsCollection);
+			dataObjectAO.putLocalDataObjectToIRODS(new File(fileNameOrig),
+					irodsFile, true);
+			CollectionAndDataObjectListAndSearchAO listAndSearchAO = irodsFileSystem
+					.getIRODSAccessObjectFactory()
+					.getCollectionAndDataObjectListAndSearchAO(irodsAccount);
+			String dataObjectPath = targetIrodsCollection + "/"
+					+ testFileName;
+
+			long hits = irodsFileSystem.getIrodsSession().getObjStatCache()
+					.getObjStatCacheMetrics().getHitCount();
+			listAndSearchAO.retrieveObjectStatForPath(dataObjectPath);
+			ObjStat objStat = listAndSearchAO
+					.retrieveObjectStatForPath(dataObjectPath);
+			Assert.assertEquals("did not get correct path", dataObjectPath,
+					objStat.getAbsolutePath());
+			Assert.assertEquals("second lookup should be cached", hits + 1,
+					irodsFileSystem.getIrodsSession().getObjStatCache()
+							.getObjStatCacheMetrics().getHitCount());
+
+			IRODSFile dataObjectFile = irodsFileSystem.getIRODSFileFactory(
+					irodsAccount).instanceIRODSFile(dataObjectPath);
+			dataObjectFile.deleteWithForceOption();
+
+			try {
+				listAndSearchAO.retrieveObjectStatForPath(dataObjectPath);
+				Assert.fail("delete should have invalidated cached objStat");
+			} catch (FileNotFoundException e) {
+				// expected
+			}
+		} finally {
+			irodsFileSystem.getIrodsSession().setJargonProperties(props);
+		}
+	}
+
 	/**
 	 * Bug reported in idrop as https://github.com/DICE-UNC/idrop/issues/56
 	 *
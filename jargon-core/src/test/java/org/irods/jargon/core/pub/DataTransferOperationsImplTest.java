@@ -1415,6 +1415,145 @@ public class DataTransferOperationsImplTest {
 				localFile, returnCompareLocalFile);
 	}
 
+	@Test
+	public void testPutAndGetCollectionConcurrently() throws Exception {
+
+		String rootCollection = "testPutAndGetCollectionConcurrently";
+		String returnedLocalCollection = "testPutAndGetCollectionConcurrentlyReturnedLocalFiles";
+
+		String localCollectionAbsolutePath = scratchFileUtils
+				.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH
+						+ '/' + rootCollection);
+
+		String irodsCollectionRootAbsolutePath = testingPropertiesHelper
+				.buildIRODSCollectionAbsolutePathFromTestProperties(
+						testingProperties, IRODS_TEST_SUBDIR_PATH);
+
+		FileGenerator
+		.generateManyFilesAndCollectionsInParentCollectionByAbsolutePath(
+				localCollectionAbsolutePath,
+				"testPutAndGetCollectionConcurrently", 2, 3, 2,
+				"testFile", ".txt", 10, 5, 1, 1024);
+
+		IRODSAccount irodsAccount = testingPropertiesHelper
+				.buildIRODSAccountFromTestProperties(testingProperties);
+
+		IRODSFileFactory irodsFileFactory = irodsFileSystem
+				.getIRODSFileFactory(irodsAccount);
+		IRODSFile destFile = irodsFileFactory
+				.instanceIRODSFile(irodsCollectionRootAbsolutePath);
+		DataTransferOperations dataTransferOperationsAO = irodsFileSystem
+				.getIRODSAccessObjectFactory().getDataTransferOperations(
+						irodsAccount);
+		File localFile = new File(localCollectionAbsolutePath);
+
+		TransferControlBlock putTcb = irodsFileSystem.getIrodsSession()
+				.buildDefaultTransferControlBlockBasedOnJargonProperties();
+		putTcb.getTransferOptions().setRecursiveTransferConcurrency(4);
+		TransferStatusCallbackListenerTestingImplementation putListener = new TransferStatusCallbackListenerTestingImplementation();
+
+		dataTransferOperationsAO.putOperation(localFile, destFile,
+				putListener, putTcb);
+
+		destFile = irodsFileFactory
+				.instanceIRODSFile(irodsCollectionRootAbsolutePath + "/"
+						+ rootCollection);
+
+		assertionHelper.assertTwoFilesAreEqualByRecursiveTreeComparison(
+				localFile, (File) destFile);
+		Assert.assertEquals("callbacks do not match files transferred",
+				putTcb.getTotalFilesTransferredSoFar(),
+				putListener.getPutCallbackCtr());
+
+		IRODSFile getIrodsFile = irodsFileFactory
+				.instanceIRODSFile(irodsCollectionRootAbsolutePath + "/"
+						+ rootCollection);
+		String returnLocalCollectionAbsolutePath = scratchFileUtils
+				.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH
+						+ '/' + returnedLocalCollection);
+		File returnLocalFile = new File(returnLocalCollectionAbsolutePath);
+
+		TransferControlBlock getTcb = irodsFileSystem.getIrodsSession()
+				.buildDefaultTransferControlBlockBasedOnJargonProperties();
+		getTcb.getTransferOptions().setRecursiveTransferConcurrency(4);
+		TransferStatusCallbackListenerTestingImplementation getListener = new TransferStatusCallbackListenerTestingImplementation();
+
+		dataTransferOperationsAO.getOperation(getIrodsFile, returnLocalFile,
+				getListener, getTcb);
+
+		File returnCompareLocalFile = new File(
+				scratchFileUtils
+				.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH
+						+ '/' + returnedLocalCollection + '/'
+						+ rootCollection));
+
+		assertionHelper.assertTwoFilesAreEqualByRecursiveTreeComparison(
+				localFile, returnCompareLocalFile);
+		Assert.assertEquals("did not get all files that were put",
+				putListener.getPutCallbackCtr(),
+				getListener.getGetCallbackCtr());
+		Assert.assertEquals("callbacks do not match files transferred",
+				getTcb.getTotalFilesTransferredSoFar(),
+				getListener.getGetCallbackCtr());
+	}
+
+	@Test
+	public void testPutCollectionWithSmallFileBundling() throws Exception {
+
+		String rootCollection = "testPutCollectionWithSmallFileBundling";
+		int fileCount = 20;
+
+		String localCollectionAbsolutePath = scratchFileUtils
+				.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH
+						+ '/' + rootCollection);
+		for (int i = 0; i < fileCount; i++) {
+			FileGenerator.generateFileOfFixedLengthGivenName(
+					localCollectionAbsolutePath, "smallFile" + i + ".txt",
+					100 + i);
+		}
+		FileGenerator.generateFileOfFixedLengthGivenName(
+				localCollectionAbsolutePath, "largeFile.txt", 1024 * 1024);
+
+		String irodsCollectionRootAbsolutePath = testingPropertiesHelper
+				.buildIRODSCollectionAbsolutePathFromTestProperties(
+						testingProperties, IRODS_TEST_SUBDIR_PATH);
+
+		IRODSAccount irodsAccount = testingPropertiesHelper
+				.buildIRODSAccountFromTestProperties(testingProperties);
+
+		IRODSFileFactory irodsFileFactory = irodsFileSystem
+				.getIRODSFileFactory(irodsAccount);
+		IRODSFile destFile = irodsFileFactory
+				.instanceIRODSFile(irodsCollectionRootAbsolutePath);
+		DataTransferOperations dataTransferOperationsAO = irodsFileSystem
+				.getIRODSAccessObjectFactory().getDataTransferOperations(
+						irodsAccount);
+		File localFile = new File(localCollectionAbsolutePath);
+
+		TransferControlBlock tcb = irodsFileSystem.getIrodsSession()
+				.buildDefaultTransferControlBlockBasedOnJargonProperties();
+		tcb.getTransferOptions().setBundleSmallFilesOnPut(true);
+		TransferStatusCallbackListenerTestingImplementation listener = new TransferStatusCallbackListenerTestingImplementation();
+
+		dataTransferOperationsAO.putOperation(localFile, destFile, listener,
+				tcb);
+
+		destFile = irodsFileFactory
+				.instanceIRODSFile(irodsCollectionRootAbsolutePath + "/"
+						+ rootCollection);
+
+		assertionHelper.assertTwoFilesAreEqualByRecursiveTreeComparison(
+				localFile, (File) destFile);
+		Assert.assertEquals("did not get a callback for each file",
+				fileCount + 1, listener.getPutCallbackCtr());
+		Assert.assertEquals(fileCount + 1,
+				tcb.getTotalFilesTransferredSoFar());
+		for (String name : destFile.list()) {
+			Assert.assertFalse("bundle left in target collection",
+					name.startsWith(".jargon-bundle-"));
+		}
+	}
+
 	/**
 	 * Test ref issue: https://github.com/DICE-UNC/jargon/issues/30
 	 *
@@ -5,6 +5,7 @@ package org.irods.jargon.core.pub;
 
 import java.io.File;
 import java.util.Properties;
+import java.util.stream.Stream;
 
 import junit.framework.Assert;
 
@@ -13,6 +14,7 @@ import org.irods.jargon.core.pub.io.IRODSFile;
 import org.irods.jargon.core.pub.io.IRODSFileFactory;
 import org.irods.jargon.core.query.AbstractIRODSQueryResultSet;
 import org.irods.jargon.core.query.GenQueryOrderByField;
+import org.irods.jargon.core.query.GenQueryResultIterator;
 import org.irods.jargon.core.query.IRODSGenQuery;
 import org.irods.jargon.core.query.IRODSGenQueryBuilder;
 import org.irods.jargon.core.query.IRODSGenQueryFromBuilder;
@@ -521,6 +523,97 @@ public class IRODSGenQueryExecutorImplTest {
 		Assert.assertTrue(true);
 	}
 
+	@Test
+	public final void testIterateIRODSQueryAllRows() throws Exception {
+
+		String targetIrodsCollection = testingPropertiesHelper
+				.buildIRODSCollectionAbsolutePathFromTestProperties(
+						testingProperties, IRODS_TEST_SUBDIR_PATH + "/"
+								+ collDir);
+
+		String queryString = "select "
+				+ RodsGenQueryEnum.COL_COLL_NAME.getName() + " ,"
+				+ RodsGenQueryEnum.COL_DATA_NAME.getName() + " where "
+				+ RodsGenQueryEnum.COL_COLL_NAME.getName() + " = '"
+				+ targetIrodsCollection + "'";
+
+		IRODSAccount irodsAccount = testingPropertiesHelper
+				.buildIRODSAccountFromTestProperties(testingProperties);
+
+		IRODSAccessObjectFactory accessObjectFactory = irodsFileSystem
+				.getIRODSAccessObjectFactory();
+		IRODSGenQueryExecutor irodsGenQueryExecutor = accessObjectFactory
+				.getIRODSGenQueryExecutor(irodsAccount);
+
+		int expectedCount = 0;
+		IRODSQueryResultSet resultSet = irodsGenQueryExecutor
+				.executeIRODSQuery(IRODSGenQuery.instance(queryString, 1000), 0);
+		expectedCount += resultSet.getResults().size();
+		while (resultSet.isHasMoreRecords()) {
+			resultSet = irodsGenQueryExecutor.getMoreResults(resultSet);
+			expectedCount += resultSet.getResults().size();
+		}
+
+		int count = 0;
+		GenQueryResultIterator iterator = irodsGenQueryExecutor
+				.iterateIRODSQuery(IRODSGenQuery.instance(queryString, 100));
+		try {
+			while (iterator.hasNext()) {
+				Assert.assertEquals("wrong collection", targetIrodsCollection,
+						iterator.next().getColumn(0));
+				count++;
+			}
+		} finally {
+			iterator.close();
+		}
+
+		Assert.assertTrue("no results, some expected", count > 100);
+		Assert.assertEquals("did not iterate every row", expectedCount, count);
+	}
+
+	@Test
+	public final void testIterateIRODSQueryStreamCloseBeforeFinished()
+			throws Exception {
+
+		String targetIrodsCollection = testingPropertiesHelper
+				.buildIRODSCollectionAbsolutePathFromTestProperties(
+						testingProperties, IRODS_TEST_SUBDIR_PATH + "/"
+								+ collDir);
+
+		String queryString = "select "
+				+ RodsGenQueryEnum.COL_COLL_NAME.getName() + " ,"
+				+ RodsGenQueryEnum.COL_DATA_NAME.getName() + " where "
+				+ RodsGenQueryEnum.COL_COLL_NAME.getName() + " = '"
+				+ targetIrodsCollection + "'";
+
+		IRODSAccount irodsAccount = testingPropertiesHelper
+				.buildIRODSAccountFromTestProperties(testingProperties);
+
+		IRODSAccessObjectFactory accessObjectFactory = irodsFileSystem
+				.getIRODSAccessObjectFactory();
+		IRODSGenQueryExecutor irodsGenQueryExecutor = accessObjectFactory
+				.getIRODSGenQueryExecutor(irodsAccount);
+
+		long count;
+		Stream<IRODSQueryResultRow> stream = irodsGenQueryExecutor
+				.iterateIRODSQuery(IRODSGenQuery.instance(queryString, 10))
+				.stream();
+		try {
+			count = stream.limit(15).count();
+		} finally {
+			stream.close();
+		}
+
+		Assert.assertEquals("did not limit rows", 15, count);
+
+		// the connection is still usable once the query is closed
+		IRODSQueryResultSet resultSet = irodsGenQueryExecutor
+				.executeIRODSQueryAndCloseResult(
+						IRODSGenQuery.instance(queryString, 10), 0);
+		Assert.assertFalse("no results, some expected", resultSet
+				.getResults().isEmpty());
+	}
+
 	/*
 	 * [#125] 80600 sql error
 	 */
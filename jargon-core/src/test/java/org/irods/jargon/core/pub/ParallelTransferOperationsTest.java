@@ -14,6 +14,7 @@ import org.irods.jargon.core.connection.SettableJargonProperties;
 import org.irods.jargon.core.packinstr.TransferOptions.ForceOption;
 import org.irods.jargon.core.pub.io.IRODSFile;
 import org.irods.jargon.core.pub.io.IRODSFileFactory;
+import org.irods.jargon.core.transfer.ParallelLocalIOStrategyEnum;
 import org.irods.jargon.core.transfer.TransferControlBlock;
 import org.irods.jargon.testutils.AssertionHelper;
 import org.irods.jargon.testutils.IRODSTestSetupUtilities;
@@ -270,6 +271,117 @@ public class ParallelTransferOperationsTest {
 
 	}
 
+	@Test
+	public final void testParallelFilePutThenGetEachLocalIOStrategy()
+			throws Exception {
+		String testFileName = "testParallelFilePutThenGetEachLocalIOStrategy.txt";
+		long testFileLength = 40000 * 1024;
+
+		String absPath = scratchFileUtils
+				.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH);
+		String localFileName = FileGenerator
+				.generateFileOfFixedLengthGivenName(absPath, testFileName,
+						testFileLength);
+		File localSourceFile = new File(localFileName);
+
+		IRODSAccount irodsAccount = testingPropertiesHelper
+				.buildIRODSAccountFromTestProperties(testingProperties);
+
+		for (ParallelLocalIOStrategyEnum strategy : ParallelLocalIOStrategyEnum
+				.values()) {
+			SettableJargonProperties jargonProperties = new SettableJargonProperties();
+			jargonProperties.setMaxParallelThreads(4);
+			jargonProperties.setLongTransferRestart(false);
+			jargonProperties.setParallelLocalIOStrategy(strategy);
+			irodsFileSystem.getIrodsSession().setJargonProperties(
+					jargonProperties);
+
+			String targetIrodsFile = testingPropertiesHelper
+					.buildIRODSCollectionAbsolutePathFromTestProperties(
+							testingProperties, IRODS_TEST_SUBDIR_PATH + '/'
+									+ strategy + testFileName);
+			IRODSFileFactory irodsFileFactory = irodsFileSystem
+					.getIRODSFileFactory(irodsAccount);
+			IRODSFile destFile = irodsFileFactory
+					.instanceIRODSFile(targetIrodsFile);
+			destFile.deleteWithForceOption();
+			DataTransferOperations dataTransferOperationsAO = irodsFileSystem
+					.getIRODSAccessObjectFactory().getDataTransferOperations(
+							irodsAccount);
+
+			dataTransferOperationsAO.putOperation(localSourceFile, destFile,
+					null, null);
+
+			File localDestFile = new File(absPath + "/" + strategy
+					+ "Retrieved" + testFileName);
+			localDestFile.delete();
+			dataTransferOperationsAO.getOperation(destFile, localDestFile,
+					null, null);
+
+			DataObjectAO dataObjectAO = irodsFileSystem
+					.getIRODSAccessObjectFactory()
+					.getDataObjectAO(irodsAccount);
+			Assert.assertEquals("did not get equal file lengths for "
+					+ strategy, testFileLength, localDestFile.length());
+			Assert.assertTrue("checksums do not match for " + strategy,
+					dataObjectAO.verifyChecksumBetweenLocalAndIrods(destFile,
+							localDestFile));
+		}
+	}
+
+	@Test
+	public final void testPutThenSegmentedGet() throws Exception {
+		String testFileName = "testPutThenSegmentedGet.txt";
+		long testFileLength = 20000 * 1024 + 17;
+
+		String absPath = scratchFileUtils
+				.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH);
+		String localFileName = FileGenerator
+				.generateFileOfFixedLengthGivenName(absPath, testFileName,
+						testFileLength);
+		File localSourceFile = new File(localFileName);
+
+		IRODSAccount irodsAccount = testingPropertiesHelper
+				.buildIRODSAccountFromTestProperties(testingProperties);
+
+		SettableJargonProperties jargonProperties = new SettableJargonProperties();
+		jargonProperties.setLongTransferRestart(false);
+		jargonProperties.setSegmentedGetThreads(4);
+		jargonProperties.setSegmentedGetMinLength(1024 * 1024);
+		jargonProperties.setSegmentedGetSegmentSize(3 * 1024 * 1024);
+		irodsFileSystem.getIrodsSession().setJargonProperties(jargonProperties);
+
+		String targetIrodsFile = testingPropertiesHelper
+				.buildIRODSCollectionAbsolutePathFromTestProperties(
+						testingProperties, IRODS_TEST_SUBDIR_PATH + '/'
+								+ testFileName);
+		IRODSFileFactory irodsFileFactory = irodsFileSystem
+				.getIRODSFileFactory(irodsAccount);
+		IRODSFile destFile = irodsFileFactory
+				.instanceIRODSFile(targetIrodsFile);
+		destFile.deleteWithForceOption();
+		DataTransferOperations dataTransferOperationsAO = irodsFileSystem
+				.getIRODSAccessObjectFactory().getDataTransferOperations(
+						irodsAccount);
+
+		dataTransferOperationsAO.putOperation(localSourceFile, destFile, null,
+				null);
+
+		File localDestFile = new File(absPath + "/segmentedRetrieved"
+				+ testFileName);
+		localDestFile.delete();
+		dataTransferOperationsAO.getOperation(destFile, localDestFile, null,
+				null);
+
+		DataObjectAO dataObjectAO = irodsFileSystem
+				.getIRODSAccessObjectFactory().getDataObjectAO(irodsAccount);
+		Assert.assertEquals("did not get equal file lengths", testFileLength,
+				localDestFile.length());
+		Assert.assertTrue("checksums do not match",
+				dataObjectAO.verifyChecksumBetweenLocalAndIrods(destFile,
+						localDestFile));
+	}
+
 	@Test
 	public final void testParallelFilePutThenGetUsingExecutor()
 			throws Exception {
@@ -0,0 +1,150 @@
+package org.irods.jargon.core.pub.io;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import junit.framework.Assert;
+
+import org.irods.jargon.core.connection.SettableJargonProperties;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.pub.IRODSFileSystemAO;
+import org.irods.jargon.core.pub.domain.ObjStat;
+import org.irods.jargon.core.query.CollectionAndDataObjectListingEntry.ObjectType;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Tests of the files given by
+ * {@link IRODSFileImpl#listFilesWithObjStat()}, which should answer from the
+ * object stat of the listing without asking iRODS until it is too old. No
+ * iRODS server is needed.
+ */
+public class IRODSFileImplListingObjStatTest {
+
+	private static final String PARENT = "/zone/home/test/listing";
+
+	private IRODSFileSystemAO irodsFileSystemAO;
+	private SettableJargonProperties jargonProperties;
+	private IRODSFileImpl parent;
+
+	@Before
+	public void setUp() throws Exception {
+		irodsFileSystemAO = Mockito.mock(IRODSFileSystemAO.class);
+		jargonProperties = new SettableJargonProperties();
+		jargonProperties.setListingObjStatMaxAgeMillis(60000L);
+		Mockito.when(irodsFileSystemAO.getJargonProperties()).thenReturn(
+				jargonProperties);
+		parent = new IRODSFileImpl(PARENT, irodsFileSystemAO);
+
+		List<ObjStat> objStats = new ArrayList<ObjStat>();
+		objStats.add(objStat("subcoll", ObjectType.COLLECTION, 0L, 1000L));
+		objStats.add(objStat("data.txt", ObjectType.DATA_OBJECT, 1234L, 2000L));
+		Mockito.when(irodsFileSystemAO.getListInDirWithObjStats(parent))
+				.thenReturn(objStats);
+	}
+
+	@Test
+	public void testListedFilesAnswerFromListing() throws Exception {
+		failObjStatCalls();
+		File[] files = parent.listFilesWithObjStat();
+
+		Assert.assertEquals("wrong number of files", 2, files.length);
+		Assert.assertEquals("wrong path", PARENT + "/subcoll",
+				files[0].getAbsolutePath());
+		Assert.assertTrue("should exist", files[0].exists());
+		Assert.assertTrue("should be a directory", files[0].isDirectory());
+		Assert.assertFalse("should not be a file", files[0].isFile());
+
+		Assert.assertEquals("wrong path", PARENT + "/data.txt",
+				files[1].getAbsolutePath());
+		Assert.assertTrue("should exist", files[1].exists());
+		Assert.assertTrue("should be a file", files[1].isFile());
+		Assert.assertFalse("should not be a directory",
+				files[1].isDirectory());
+		Assert.assertEquals("wrong length", 1234L, files[1].length());
+		Assert.assertEquals("wrong modify time", 2000L,
+				files[1].lastModified());
+	}
+
+	@Test
+	public void testFilterGivenListedFiles() throws Exception {
+		failObjStatCalls();
+		File[] files = parent.listFilesWithObjStat(new FileFilter() {
+			@Override
+			public boolean accept(final File pathname) {
+				return pathname.isFile();
+			}
+		});
+
+		Assert.assertEquals("wrong number of files", 1, files.length);
+		Assert.assertEquals("wrong path", PARENT + "/data.txt",
+				files[0].getAbsolutePath());
+	}
+
+	@Test
+	public void testResetAsksIRODS() throws Exception {
+		ObjStat current = objStat("data.txt", ObjectType.DATA_OBJECT, 99L,
+				3000L);
+		Mockito.when(irodsFileSystemAO.getObjStat(PARENT + "/data.txt"))
+				.thenReturn(current);
+
+		IRODSFile file = (IRODSFile) parent.listFilesWithObjStat()[1];
+		Assert.assertEquals("should be length from listing", 1234L,
+				file.length());
+		file.reset();
+		Assert.assertEquals("should be length from iRODS", 99L, file.length());
+	}
+
+	@Test
+	public void testNoMaxAgeAsksIRODS() throws Exception {
+		jargonProperties.setListingObjStatMaxAgeMillis(0L);
+		ObjStat current = objStat("data.txt", ObjectType.DATA_OBJECT, 99L,
+				3000L);
+		Mockito.when(irodsFileSystemAO.getObjStat(PARENT + "/data.txt"))
+				.thenReturn(current);
+
+		File file = parent.listFilesWithObjStat()[1];
+		Assert.assertEquals("should be length from iRODS", 99L, file.length());
+	}
+
+	@Test
+	public void testTooOldAsksIRODS() throws Exception {
+		jargonProperties.setListingObjStatMaxAgeMillis(1L);
+		ObjStat current = objStat("data.txt", ObjectType.DATA_OBJECT, 99L,
+				3000L);
+		Mockito.when(irodsFileSystemAO.getObjStat(PARENT + "/data.txt"))
+				.thenReturn(current);
+
+		File file = parent.listFilesWithObjStat()[1];
+		Thread.sleep(20);
+		Assert.assertEquals("should be length from iRODS", 99L, file.length());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNullFilter() throws Exception {
+		parent.listFilesWithObjStat(null);
+	}
+
+	private void failObjStatCalls() throws Exception {
+		Mockito.when(irodsFileSystemAO.getObjStat(PARENT + "/subcoll"))
+				.thenThrow(new JargonException("object stat not expected"));
+		Mockito.when(irodsFileSystemAO.getObjStat(PARENT + "/data.txt"))
+				.thenThrow(new JargonException("object stat not expected"));
+	}
+
+	private ObjStat objStat(final String name, final ObjectType objectType,
+			final long size, final long modifiedAt) {
+		ObjStat objStat = new ObjStat();
+		objStat.setAbsolutePath(PARENT + "/" + name);
+		objStat.setObjectType(objectType);
+		objStat.setObjSize(size);
+		objStat.setModifiedAt(new Date(modifiedAt));
+		objStat.setCreatedAt(new Date(modifiedAt));
+		return objStat;
+	}
+
+}
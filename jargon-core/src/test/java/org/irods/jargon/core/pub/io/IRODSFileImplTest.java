@@ -1746,6 +1746,37 @@ public class IRODSFileImplTest {
 		}
 	}
 
+	/**
+	 * Test method for
+	 * {@link org.irods.jargon.core.pub.io.IRODSFileImpl#listFilesWithObjStat()}
+	 * , the listed files should agree with an object stat of each.
+	 */
+	@Test
+	public final void testListFilesWithObjStat() throws Exception {
+		String targetIrodsCollection = testingPropertiesHelper
+				.buildIRODSCollectionAbsolutePathFromTestProperties(testingProperties, "");
+
+		IRODSAccount irodsAccount = testingPropertiesHelper.buildIRODSAccountFromTestProperties(testingProperties);
+
+		IRODSAccessObjectFactory accessObjectFactory = irodsFileSystem.getIRODSAccessObjectFactory();
+
+		IRODSFileFactory irodsFileFactory = accessObjectFactory.getIRODSFileFactory(irodsAccount);
+
+		IRODSFile irodsFile = irodsFileFactory.instanceIRODSFile(targetIrodsCollection);
+		File[] irodsFiles = irodsFile.listFilesWithObjStat();
+		Assert.assertNotNull(irodsFiles);
+		Assert.assertEquals("should list the same files as listFiles()", irodsFile.listFiles().length,
+				irodsFiles.length);
+		for (File irodsFile2 : irodsFiles) {
+			IRODSFile listed = (IRODSFile) irodsFile2;
+			boolean isDirectory = listed.isDirectory();
+			long length = listed.length();
+			listed.reset();
+			Assert.assertEquals("wrong type from listing", listed.isDirectory(), isDirectory);
+			Assert.assertEquals("wrong length from listing", listed.length(), length);
+		}
+	}
+
 	/**
 	 * Test method for
 	 * {@link org.irods.jargon.core.pub.io.IRODSFileImpl#listFiles(java.io.FilenameFilter)}
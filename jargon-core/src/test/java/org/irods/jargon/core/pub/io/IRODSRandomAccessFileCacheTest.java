@@ -0,0 +1,268 @@
+package org.irods.jargon.core.pub.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import junit.framework.Assert;
+
+import org.irods.jargon.core.connection.SettableJargonProperties;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.pub.io.FileIOOperations.SeekWhenceType;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Tests of the page cache and gathered writes of
+ * {@link IRODSRandomAccessFile}, against a data object held in memory. No
+ * iRODS server is needed.
+ */
+public class IRODSRandomAccessFileCacheTest {
+
+	private static final int PAGE_SIZE = 4096;
+	private static final int CACHE_PAGES = 8;
+	private static final int WRITE_BEHIND_SIZE = 1024;
+	private static final int FILE_LENGTH = 100 * PAGE_SIZE + 123;
+
+	private byte[] data;
+	private SettableJargonProperties jargonProperties;
+
+	@Before
+	public void setUp() throws Exception {
+		data = new byte[FILE_LENGTH];
+		new Random(7).nextBytes(data);
+		jargonProperties = new SettableJargonProperties();
+		jargonProperties.setRandomAccessPageSize(PAGE_SIZE);
+		jargonProperties.setRandomAccessCachePages(CACHE_PAGES);
+		jargonProperties.setRandomAccessWriteBehindSize(WRITE_BEHIND_SIZE);
+	}
+
+	@Test
+	public void testReadIntsAnswerFromPage() throws Exception {
+		InMemoryFileIOOperations irods = irods();
+		IRODSRandomAccessFile randomAccessFile = randomAccessFile(irods);
+		randomAccessFile.seek(PAGE_SIZE * 10, SeekWhenceType.SEEK_START);
+		ByteBuffer expected = ByteBuffer.wrap(data, PAGE_SIZE * 10, PAGE_SIZE);
+		for (int i = 0; i < PAGE_SIZE / 4; i++) {
+			Assert.assertEquals("wrong int at:" + i, expected.getInt(),
+					randomAccessFile.readInt());
+		}
+		Assert.assertEquals("should read the page once", 1, irods.getReads());
+	}
+
+	@Test
+	public void testRandomReadsMatchData() throws Exception {
+		InMemoryFileIOOperations irods = irods();
+		IRODSRandomAccessFile randomAccessFile = randomAccessFile(irods);
+		Random random = new Random(11);
+		for (int i = 0; i < 2000; i++) {
+			int position = random.nextInt(FILE_LENGTH);
+			int len = Math.min(random.nextInt(3 * PAGE_SIZE) + 1, FILE_LENGTH
+					- position);
+			byte[] actual = new byte[len];
+			randomAccessFile.seek(position, SeekWhenceType.SEEK_START);
+			randomAccessFile.readFully(actual);
+			Assert.assertTrue("wrong data at:" + position,
+					Arrays.equals(
+							Arrays.copyOfRange(data, position, position + len),
+							actual));
+			Assert.assertEquals("wrong file pointer", position + len,
+					randomAccessFile.getFilePointer());
+		}
+	}
+
+	@Test
+	public void testSequentialReadsReadAhead() throws Exception {
+		jargonProperties.setRandomAccessCachePages(16);
+		InMemoryFileIOOperations irods = irods();
+		IRODSRandomAccessFile randomAccessFile = randomAccessFile(irods);
+		byte[] buffer = new byte[100];
+		byte[] actual = new byte[FILE_LENGTH];
+		int total = 0;
+		int read;
+		while ((read = randomAccessFile.read(buffer)) > 0) {
+			System.arraycopy(buffer, 0, actual, total, read);
+			total += read;
+		}
+		Assert.assertEquals("wrong length read", FILE_LENGTH, total);
+		Assert.assertTrue("wrong data", Arrays.equals(data, actual));
+		Assert.assertTrue("should read several pages at a time:" + irods.getReads(),
+				irods.getReads() < 101 / 3);
+	}
+
+	@Test
+	public void testReadAtEnd() throws Exception {
+		IRODSRandomAccessFile randomAccessFile = randomAccessFile(irods());
+		randomAccessFile.seek(FILE_LENGTH - 2, SeekWhenceType.SEEK_START);
+		byte[] buffer = new byte[10];
+		Assert.assertEquals("should read to the end", 2,
+				randomAccessFile.read(buffer));
+		Assert.assertEquals("should be at the end", -1,
+				randomAccessFile.read(buffer));
+		Assert.assertEquals("should be at the end", -1, randomAccessFile.read());
+	}
+
+	@Test
+	public void testReadByteWithHighBitSet() throws Exception {
+		data[5] = (byte) 0xff;
+		IRODSRandomAccessFile randomAccessFile = randomAccessFile(irods());
+		randomAccessFile.seek(5, SeekWhenceType.SEEK_START);
+		Assert.assertEquals("wrong unsigned byte", 0xff,
+				randomAccessFile.readUnsignedByte());
+		randomAccessFile.seek(5, SeekWhenceType.SEEK_START);
+		Assert.assertEquals("wrong byte", (byte) 0xff,
+				randomAccessFile.readByte());
+	}
+
+	@Test
+	public void testWritesGathered() throws Exception {
+		InMemoryFileIOOperations irods = irods();
+		IRODSRandomAccessFile randomAccessFile = randomAccessFile(irods);
+		randomAccessFile.seek(PAGE_SIZE, SeekWhenceType.SEEK_START);
+		for (int i = 0; i < 200; i++) {
+			randomAccessFile.writeInt(i);
+		}
+		Assert.assertEquals("writes should be gathered", 0, irods.getWrites());
+		randomAccessFile.close();
+		Assert.assertEquals("should write in one call", 1, irods.getWrites());
+
+		ByteBuffer actual = ByteBuffer.wrap(irods.getData(), PAGE_SIZE, 800);
+		for (int i = 0; i < 200; i++) {
+			Assert.assertEquals("wrong int written", i, actual.getInt());
+		}
+	}
+
+	@Test
+	public void testWritesInSeveralPlaces() throws Exception {
+		InMemoryFileIOOperations irods = irods();
+		IRODSRandomAccessFile randomAccessFile = randomAccessFile(irods);
+		byte[] expected = Arrays.copyOf(data, FILE_LENGTH);
+		Random random = new Random(13);
+		for (int i = 0; i < 500; i++) {
+			int position = random.nextInt(FILE_LENGTH - 2000);
+			byte[] bytes = new byte[random.nextInt(2000) + 1];
+			random.nextBytes(bytes);
+			randomAccessFile.seek(position, SeekWhenceType.SEEK_START);
+			randomAccessFile.write(bytes);
+			System.arraycopy(bytes, 0, expected, position, bytes.length);
+		}
+		randomAccessFile.close();
+		Assert.assertTrue("wrong data", Arrays.equals(expected, irods.getData()));
+	}
+
+	@Test
+	public void testReadSeesWriteNotYetSent() throws Exception {
+		InMemoryFileIOOperations irods = irods();
+		IRODSRandomAccessFile randomAccessFile = randomAccessFile(irods);
+		randomAccessFile.seek(PAGE_SIZE + 8, SeekWhenceType.SEEK_START);
+		randomAccessFile.readInt();
+		randomAccessFile.seek(PAGE_SIZE + 8, SeekWhenceType.SEEK_START);
+		randomAccessFile.writeInt(42);
+		randomAccessFile.writeInt(43);
+		randomAccessFile.seek(PAGE_SIZE + 12, SeekWhenceType.SEEK_START);
+		Assert.assertEquals("should read the write", 43,
+				randomAccessFile.readInt());
+		randomAccessFile.seek(PAGE_SIZE + 8, SeekWhenceType.SEEK_START);
+		Assert.assertEquals("should read the write", 42,
+				randomAccessFile.readInt());
+	}
+
+	@Test
+	public void testReadNearWriteNotYetSent() throws Exception {
+		InMemoryFileIOOperations irods = irods();
+		IRODSRandomAccessFile randomAccessFile = randomAccessFile(irods);
+		randomAccessFile.seek(PAGE_SIZE + 100, SeekWhenceType.SEEK_START);
+		randomAccessFile.writeInt(42);
+		randomAccessFile.seek(PAGE_SIZE, SeekWhenceType.SEEK_START);
+		randomAccessFile.readInt();
+		randomAccessFile.seek(PAGE_SIZE + 100, SeekWhenceType.SEEK_START);
+		Assert.assertEquals("should read the write", 42,
+				randomAccessFile.readInt());
+	}
+
+	@Test
+	public void testWritePastEndThenRead() throws Exception {
+		InMemoryFileIOOperations irods = irods();
+		IRODSRandomAccessFile randomAccessFile = randomAccessFile(irods);
+		randomAccessFile.seek(FILE_LENGTH - 4, SeekWhenceType.SEEK_START);
+		randomAccessFile.readInt();
+		randomAccessFile.seek(FILE_LENGTH + 10, SeekWhenceType.SEEK_START);
+		randomAccessFile.writeInt(42);
+		randomAccessFile.seek(FILE_LENGTH + 10, SeekWhenceType.SEEK_START);
+		Assert.assertEquals("should read the write", 42,
+				randomAccessFile.readInt());
+		randomAccessFile.seek(FILE_LENGTH, SeekWhenceType.SEEK_START);
+		Assert.assertEquals("gap should read as zero", 0,
+				randomAccessFile.readShort());
+	}
+
+	@Test
+	public void testSeekFromCurrentAndEnd() throws Exception {
+		IRODSRandomAccessFile randomAccessFile = randomAccessFile(irods());
+		randomAccessFile.seek(100, SeekWhenceType.SEEK_START);
+		randomAccessFile.seek(20, SeekWhenceType.SEEK_CURRENT);
+		Assert.assertEquals("wrong position", 120,
+				randomAccessFile.getFilePointer());
+		randomAccessFile.seek(0, SeekWhenceType.SEEK_END);
+		Assert.assertEquals("wrong position", FILE_LENGTH,
+				randomAccessFile.getFilePointer());
+		Assert.assertEquals("skip should stop at the end", 0,
+				randomAccessFile.skipBytes(10));
+	}
+
+	@Test
+	public void testCloseClosesFileWhenWriteFails() throws Exception {
+		FileIOOperations irods = Mockito.mock(FileIOOperations.class);
+		Mockito.when(irods.getJargonProperties()).thenReturn(jargonProperties);
+		Mockito.when(
+				irods.write(Mockito.anyInt(), Mockito.any(byte[].class),
+						Mockito.anyInt(), Mockito.anyInt())).thenThrow(
+				new JargonException("write failed"));
+		IRODSFile irodsFile = Mockito.mock(IRODSFile.class);
+		Mockito.when(irodsFile.exists()).thenReturn(true);
+		Mockito.when(irodsFile.isFile()).thenReturn(true);
+		Mockito.when(irodsFile.length()).thenReturn((long) FILE_LENGTH);
+		IRODSRandomAccessFile randomAccessFile = new IRODSRandomAccessFile(
+				irodsFile, irods);
+		randomAccessFile.writeInt(42);
+		try {
+			randomAccessFile.close();
+			Assert.fail("should throw write failure");
+		} catch (IOException e) {
+			Assert.assertEquals("should throw write failure", "write failed",
+					e.getCause().getMessage());
+		}
+		Mockito.verify(irodsFile).close();
+	}
+
+	@Test
+	public void testCachingOff() throws Exception {
+		jargonProperties.setRandomAccessCachePages(0);
+		jargonProperties.setRandomAccessWriteBehindSize(0);
+		InMemoryFileIOOperations irods = irods();
+		IRODSRandomAccessFile randomAccessFile = randomAccessFile(irods);
+		randomAccessFile.readInt();
+		randomAccessFile.readInt();
+		randomAccessFile.writeInt(42);
+		Assert.assertEquals("each read should go to iRODS", 2,
+				irods.getReads());
+		Assert.assertEquals("each write should go to iRODS", 1,
+				irods.getWrites());
+	}
+
+	private InMemoryFileIOOperations irods() {
+		return new InMemoryFileIOOperations(data, jargonProperties, 0L);
+	}
+
+	private IRODSRandomAccessFile randomAccessFile(
+			final InMemoryFileIOOperations irods) throws Exception {
+		IRODSFile irodsFile = Mockito.mock(IRODSFile.class);
+		Mockito.when(irodsFile.exists()).thenReturn(true);
+		Mockito.when(irodsFile.isFile()).thenReturn(true);
+		Mockito.when(irodsFile.length()).thenReturn((long) FILE_LENGTH);
+		return new IRODSRandomAccessFile(irodsFile, irods.instance());
+	}
+
+}
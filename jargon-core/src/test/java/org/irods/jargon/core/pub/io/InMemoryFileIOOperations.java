@@ -0,0 +1,157 @@
+package org.irods.jargon.core.pub.io;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+
+import org.irods.jargon.core.connection.JargonProperties;
+import org.irods.jargon.core.pub.io.FileIOOperations.SeekWhenceType;
+
+/**
+ * Stands in for {@link FileIOOperations} on a data object held in memory, for
+ * testing {@link IRODSRandomAccessFile} without an iRODS server. It counts the
+ * calls made, and can wait on each call to stand in for the round trip to
+ * iRODS.
+ */
+public class InMemoryFileIOOperations implements InvocationHandler {
+
+	private final JargonProperties jargonProperties;
+	private final long roundTripNanos;
+	private byte[] data;
+	private int length;
+	private long position = 0L;
+	private int reads = 0;
+	private int writes = 0;
+	private int seeks = 0;
+
+	/**
+	 * @param data
+	 *            <code>byte[]</code> with the initial contents of the data
+	 *            object
+	 * @param jargonProperties
+	 *            {@link JargonProperties} given to the random access file
+	 * @param roundTripNanos
+	 *            <code>long</code> with the time each call waits
+	 */
+	public InMemoryFileIOOperations(final byte[] data,
+			final JargonProperties jargonProperties, final long roundTripNanos) {
+		this.data = Arrays.copyOf(data, data.length);
+		length = data.length;
+		this.jargonProperties = jargonProperties;
+		this.roundTripNanos = roundTripNanos;
+	}
+
+	/**
+	 * @return {@link FileIOOperations} backed by this object
+	 */
+	public FileIOOperations instance() {
+		return (FileIOOperations) Proxy.newProxyInstance(
+				FileIOOperations.class.getClassLoader(),
+				new Class<?>[] { FileIOOperations.class }, this);
+	}
+
+	@Override
+	public Object invoke(final Object proxy, final Method method,
+			final Object[] args) throws Throwable {
+		String name = method.getName();
+		if (name.equals("getJargonProperties")) {
+			return jargonProperties;
+		} else if (name.equals("fileRead") && args.length == 4) {
+			roundTrip();
+			reads++;
+			return read((byte[]) args[1], (Integer) args[2], (Integer) args[3]);
+		} else if (name.equals("write")) {
+			roundTrip();
+			writes++;
+			return write((byte[]) args[1], (Integer) args[2], (Integer) args[3]);
+		} else if (name.equals("seek")) {
+			roundTrip();
+			seeks++;
+			return seek((Long) args[1], (SeekWhenceType) args[2]);
+		}
+		throw new UnsupportedOperationException(name);
+	}
+
+	private int read(final byte[] buffer, final int offset, final int len) {
+		if (position >= length) {
+			return -1;
+		}
+		int count = (int) Math.min(len, length - position);
+		System.arraycopy(data, (int) position, buffer, offset, count);
+		position += count;
+		return count;
+	}
+
+	private int write(final byte[] buffer, final int offset, final int len) {
+		int end = (int) position + len;
+		if (end > data.length) {
+			data = Arrays.copyOf(data, Math.max(end, data.length * 2));
+		}
+		System.arraycopy(buffer, offset, data, (int) position, len);
+		length = Math.max(length, end);
+		position = end;
+		return len;
+	}
+
+	private long seek(final long offset, final SeekWhenceType whence) {
+		if (whence == SeekWhenceType.SEEK_CURRENT) {
+			position += offset;
+		} else if (whence == SeekWhenceType.SEEK_END) {
+			position = length + offset;
+		} else {
+			position = offset;
+		}
+		return position;
+	}
+
+	private void roundTrip() {
+		if (roundTripNanos > 0) {
+			LockSupport.parkNanos(roundTripNanos);
+		}
+	}
+
+	/**
+	 * @return <code>byte[]</code> with the contents of the data object
+	 */
+	public byte[] getData() {
+		return Arrays.copyOf(data, length);
+	}
+
+	/**
+	 * @return <code>int</code> with the length of the data object
+	 */
+	public int getLength() {
+		return length;
+	}
+
+	/**
+	 * @return <code>int</code> with the number of reads made
+	 */
+	public int getReads() {
+		return reads;
+	}
+
+	/**
+	 * @return <code>int</code> with the number of writes made
+	 */
+	public int getWrites() {
+		return writes;
+	}
+
+	/**
+	 * @return <code>int</code> with the number of seeks made
+	 */
+	public int getSeeks() {
+		return seeks;
+	}
+
+	/**
+	 * @return <code>int</code> with the number of calls of any kind made
+	 */
+	public int getCalls() {
+		return reads + writes + seeks;
+	}
+
+}
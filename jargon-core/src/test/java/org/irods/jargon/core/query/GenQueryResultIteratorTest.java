@@ -0,0 +1,251 @@
+package org.irods.jargon.core.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+import junit.framework.Assert;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.exception.JargonRuntimeException;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class GenQueryResultIteratorTest {
+
+	private static ExecutorService executor;
+	private static TranslatedIRODSGenQuery translatedQuery;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		executor = Executors.newCachedThreadPool();
+		List<GenQuerySelectField> selectFields = new ArrayList<GenQuerySelectField>();
+		selectFields.add(GenQuerySelectField.instance(
+				RodsGenQueryEnum.COL_D_DATA_ID.name(), String
+						.valueOf(RodsGenQueryEnum.COL_D_DATA_ID
+								.getNumericValue()),
+				GenQuerySelectField.SelectFieldTypes.FIELD,
+				GenQuerySelectField.SelectFieldSource.DEFINED_QUERY_FIELD));
+		translatedQuery = TranslatedIRODSGenQuery.instance(selectFields,
+				new ArrayList<TranslatedGenQueryCondition>(),
+				IRODSGenQuery.instance("hello", 10));
+	}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void testIterateAllPages() throws Exception {
+		PagedIterator iterator = new PagedIterator(4, 10, null);
+		List<String> values = readAll(iterator);
+		Assert.assertEquals("did not get every row", 40, values.size());
+		Assert.assertEquals("rows out of order", "0", values.get(0));
+		Assert.assertEquals("rows out of order", "39", values.get(39));
+		Assert.assertEquals("should fetch each later page", 3,
+				iterator.fetches);
+		Assert.assertTrue("should be closed at the end", iterator.isClosed());
+		iterator.close();
+		Assert.assertEquals("query ended, should not close it", 0,
+				iterator.closes);
+	}
+
+	@Test
+	public void testIterateAllPagesWithPrefetch() throws Exception {
+		PagedIterator iterator = new PagedIterator(4, 10, executor);
+		List<String> values = readAll(iterator);
+		Assert.assertEquals("did not get every row", 40, values.size());
+		for (int i = 0; i < values.size(); i++) {
+			Assert.assertEquals("rows out of order", String.valueOf(i),
+					values.get(i));
+		}
+		Assert.assertEquals("should fetch each later page", 3,
+				iterator.fetches);
+		Assert.assertEquals("query ended, should not close it", 0,
+				iterator.closes);
+	}
+
+	@Test
+	public void testPrefetchOnAnotherThread() throws Exception {
+		PagedIterator iterator = new PagedIterator(2, 10, executor);
+		readAll(iterator);
+		Assert.assertNotNull("page not fetched", iterator.fetchThread);
+		Assert.assertNotSame("page should be prefetched on another thread",
+				Thread.currentThread(), iterator.fetchThread);
+	}
+
+	@Test
+	public void testCloseEarlyClosesQuery() throws Exception {
+		PagedIterator iterator = new PagedIterator(4, 10, null);
+		for (int i = 0; i < 15; i++) {
+			iterator.next();
+		}
+		iterator.close();
+		Assert.assertEquals("should close query", 1, iterator.closes);
+		Assert.assertEquals("should close after the second page", 2,
+				iterator.closedPage.getContinuationIndex());
+		Assert.assertFalse("closed iterator has no rows", iterator.hasNext());
+		iterator.close();
+		Assert.assertEquals("should close query only once", 1,
+				iterator.closes);
+	}
+
+	@Test
+	public void testCloseEarlyWithPrefetchClosesAfterNextPage()
+			throws Exception {
+		PagedIterator iterator = new PagedIterator(4, 10, executor);
+		iterator.next();
+		iterator.close();
+		Assert.assertEquals("should close query", 1, iterator.closes);
+		Assert.assertTrue(
+				"should close after the first page or the prefetched one",
+				iterator.closedPage.getContinuationIndex() == 1
+						|| iterator.closedPage.getContinuationIndex() == 2);
+		Assert.assertTrue("prefetched page should be closed",
+				iterator.closedPage.getContinuationIndex() == iterator.fetches + 1);
+	}
+
+	@Test
+	public void testCloseOnLastPageDoesNotCloseQuery() throws Exception {
+		PagedIterator iterator = new PagedIterator(2, 10, null);
+		for (int i = 0; i < 15; i++) {
+			iterator.next();
+		}
+		iterator.close();
+		Assert.assertEquals("query ended, should not close it", 0,
+				iterator.closes);
+	}
+
+	@Test
+	public void testStreamLimitClosesQuery() throws Exception {
+		PagedIterator iterator = new PagedIterator(100, 10, executor);
+		long count;
+		Stream<IRODSQueryResultRow> stream = iterator.stream();
+		try {
+			count = stream.limit(25).count();
+		} finally {
+			stream.close();
+		}
+		Assert.assertEquals("did not limit rows", 25, count);
+		Assert.assertEquals("should close query", 1, iterator.closes);
+		Assert.assertTrue("should not fetch every page", iterator.fetches < 5);
+	}
+
+	@Test
+	public void testEmptyFirstPage() throws Exception {
+		PagedIterator iterator = new PagedIterator(0, 10, executor);
+		Assert.assertFalse("should have no rows", iterator.hasNext());
+		Assert.assertEquals("should not fetch", 0, iterator.fetches);
+	}
+
+	@Test(expected = NoSuchElementException.class)
+	public void testNextAfterEnd() throws Exception {
+		PagedIterator iterator = new PagedIterator(1, 10, null);
+		readAll(iterator);
+		iterator.next();
+	}
+
+	@Test
+	public void testFetchFailure() throws Exception {
+		PagedIterator iterator = new PagedIterator(4, 10, null);
+		iterator.failFetch = true;
+		for (int i = 0; i < 10; i++) {
+			iterator.next();
+		}
+		try {
+			iterator.next();
+			Assert.fail("should throw fetch failure");
+		} catch (JargonRuntimeException e) {
+			Assert.assertTrue("should wrap jargon exception",
+					e.getCause() instanceof JargonException);
+		}
+		Assert.assertFalse("failed iterator has no rows", iterator.hasNext());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNullFirstPage() throws Exception {
+		new GenQueryResultIterator(null, null) {
+
+			@Override
+			protected IRODSQueryResultSet fetchNextPage(
+					final IRODSQueryResultSet previousPage) {
+				return null;
+			}
+
+			@Override
+			protected void closeResults(final IRODSQueryResultSet lastPage) {
+			}
+		};
+	}
+
+	private static List<String> readAll(final GenQueryResultIterator iterator)
+			throws Exception {
+		List<String> values = new ArrayList<String>();
+		while (iterator.hasNext()) {
+			values.add(iterator.next().getColumn(0));
+		}
+		return values;
+	}
+
+	private static IRODSQueryResultSet buildPage(final int page,
+			final int pages, final int rowsPerPage) throws JargonException {
+		List<String> columnNames = Collections.singletonList(
+				RodsGenQueryEnum.COL_D_DATA_ID.getName());
+		List<IRODSQueryResultRow> rows = new ArrayList<IRODSQueryResultRow>();
+		if (pages > 0) {
+			for (int i = 0; i < rowsPerPage; i++) {
+				rows.add(IRODSQueryResultRow.instance(Collections
+						.singletonList(String.valueOf(page * rowsPerPage + i)),
+						columnNames));
+			}
+		}
+		int continuationIndex = page + 1 < pages ? page + 1 : 0;
+		return IRODSQueryResultSet.instance(translatedQuery, rows,
+				continuationIndex, pages * rowsPerPage);
+	}
+
+	/**
+	 * Serves pages numbered by their continuation index, recording calls. The
+	 * next page may be prefetched before the constructor returns, so pages
+	 * are built from the previous one rather than from fields.
+	 */
+	private static class PagedIterator extends GenQueryResultIterator {
+		private volatile int fetches;
+		private volatile int closes;
+		private volatile boolean failFetch;
+		private volatile Thread fetchThread;
+		private volatile IRODSQueryResultSet closedPage;
+
+		PagedIterator(final int pages, final int rowsPerPage,
+				final ExecutorService executor) throws JargonException {
+			super(buildPage(0, pages, rowsPerPage), executor);
+		}
+
+		@Override
+		protected IRODSQueryResultSet fetchNextPage(
+				final IRODSQueryResultSet previousPage) throws JargonException {
+			fetchThread = Thread.currentThread();
+			fetches++;
+			if (failFetch) {
+				throw new JargonException("fetch failed");
+			}
+			int rowsPerPage = previousPage.getResults().size();
+			return buildPage(previousPage.getContinuationIndex(),
+					previousPage.getTotalRecords() / rowsPerPage, rowsPerPage);
+		}
+
+		@Override
+		protected void closeResults(final IRODSQueryResultSet lastPage)
+				throws JargonException {
+			closes++;
+			closedPage = lastPage;
+		}
+	}
+
+}
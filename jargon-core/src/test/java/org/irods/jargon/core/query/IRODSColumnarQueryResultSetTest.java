@@ -0,0 +1,184 @@
+package org.irods.jargon.core.query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.Assert;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.query.IRODSColumnarQueryResultSet.ColumnEncoding;
+import org.irods.jargon.core.utils.IRODSDataConversionUtil;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class IRODSColumnarQueryResultSetTest {
+
+	private static TranslatedIRODSGenQuery translatedQuery;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		List<GenQuerySelectField> selectFields = new ArrayList<GenQuerySelectField>();
+		for (RodsGenQueryEnum field : new RodsGenQueryEnum[] {
+				RodsGenQueryEnum.COL_DATA_NAME,
+				RodsGenQueryEnum.COL_DATA_SIZE,
+				RodsGenQueryEnum.COL_D_MODIFY_TIME,
+				RodsGenQueryEnum.COL_D_OWNER_NAME }) {
+			selectFields.add(GenQuerySelectField.instance(field.getName(),
+					String.valueOf(field.getNumericValue()),
+					GenQuerySelectField.SelectFieldTypes.FIELD,
+					GenQuerySelectField.SelectFieldSource.DEFINED_QUERY_FIELD));
+		}
+		translatedQuery = TranslatedIRODSGenQuery.instance(selectFields,
+				new ArrayList<TranslatedGenQueryCondition>(),
+				IRODSGenQuery.instance("hello", 100));
+	}
+
+	@Test
+	public void testEncodingsAndValues() throws Exception {
+		IRODSColumnarQueryResultSet resultSet = buildListing(100, 0, 0);
+
+		Assert.assertEquals("wrong row count", 100, resultSet.getRowCount());
+		Assert.assertEquals("names should be strings", ColumnEncoding.STRING,
+				resultSet.getColumnEncoding(0));
+		Assert.assertEquals("sizes should be numbers", ColumnEncoding.NUMERIC,
+				resultSet.getColumnEncoding(1));
+		Assert.assertEquals("times should be numbers", ColumnEncoding.NUMERIC,
+				resultSet.getColumnEncoding(2));
+		Assert.assertEquals("owners should be in a dictionary",
+				ColumnEncoding.DICTIONARY, resultSet.getColumnEncoding(3));
+
+		for (int row = 0; row < 100; row++) {
+			Assert.assertEquals("wrong name", "file" + row,
+					resultSet.getString(row, 0));
+			Assert.assertEquals("wrong size", row * 1000L,
+					resultSet.getLongOrZero(row, 1));
+			Assert.assertEquals("wrong size string", String.valueOf(row * 1000L),
+					resultSet.getString(row, 1));
+			Assert.assertEquals("wrong owner", "user" + (row % 3),
+					resultSet.getString(row, 3));
+		}
+	}
+
+	@Test
+	public void testZeroPaddedTimesGivenBackUnchanged() throws Exception {
+		IRODSColumnarQueryResultSet resultSet = buildListing(10, 0, 0);
+		for (int row = 0; row < 10; row++) {
+			String time = modifyTime(row);
+			Assert.assertEquals("time not given back as sent", time,
+					resultSet.getString(row, 2));
+			Assert.assertEquals("wrong date",
+					IRODSDataConversionUtil.getDateFromIRODSValue(time),
+					resultSet.getDateOrNull(row, 2));
+		}
+	}
+
+	@Test
+	public void testMixedPaddingFallsBackToStrings() throws Exception {
+		List<String[]> columns = new ArrayList<String[]>();
+		columns.add(new String[] { "a", "b", "c" });
+		columns.add(new String[] { "10", "010", "" });
+		columns.add(new String[] { "01375000000", "10000000000", "" });
+		columns.add(new String[] { "u", "u", "u" });
+		IRODSColumnarQueryResultSet resultSet = IRODSColumnarQueryResultSet
+				.instance(translatedQuery, columns, 3, 0, 3, 0);
+
+		Assert.assertFalse("mixed padding is not numeric",
+				resultSet.getColumnEncoding(1) == ColumnEncoding.NUMERIC);
+		Assert.assertEquals("padded value changed", "010",
+				resultSet.getString(1, 1));
+		Assert.assertEquals("wrong parsed value", 10L,
+				resultSet.getLongOrZero(1, 1));
+		Assert.assertEquals("empty should be zero", 0L,
+				resultSet.getLongOrZero(2, 1));
+		Assert.assertEquals("unpadded time changed", "10000000000",
+				resultSet.getString(1, 2));
+		Assert.assertNull("empty time should be null",
+				resultSet.getDateOrNull(2, 2));
+		Assert.assertEquals("repeated value should be in a dictionary",
+				ColumnEncoding.DICTIONARY, resultSet.getColumnEncoding(3));
+	}
+
+	@Test
+	public void testPagingInfo() throws Exception {
+		IRODSColumnarQueryResultSet resultSet = buildListing(10, 3, 50);
+		Assert.assertTrue("should have more", resultSet.isHasMoreRecords());
+		Assert.assertFalse("not last", resultSet.isLastResult());
+		Assert.assertEquals("wrong first record count", 51,
+				resultSet.getRecordCount(0));
+		Assert.assertEquals("wrong total", 500, resultSet.getTotalRecords());
+
+		IRODSQueryResultRow row = resultSet.getRow(2);
+		Assert.assertEquals("row has wrong name", "file2", row.getColumn(0));
+		Assert.assertEquals("row has wrong time", modifyTime(2),
+				row.getColumn(RodsGenQueryEnum.COL_D_MODIFY_TIME.getName()));
+		Assert.assertEquals("row has wrong record count", 53,
+				row.getRecordCount());
+	}
+
+	@Test
+	public void testColumnIndex() throws Exception {
+		IRODSColumnarQueryResultSet resultSet = buildListing(1, 0, 0);
+		Assert.assertEquals("wrong index", 1, resultSet
+				.getColumnIndex(RodsGenQueryEnum.COL_DATA_SIZE.getName()));
+	}
+
+	@Test(expected = JargonException.class)
+	public void testColumnIndexNotFound() throws Exception {
+		IRODSColumnarQueryResultSet resultSet = buildListing(1, 0, 0);
+		resultSet.getColumnIndex(RodsGenQueryEnum.COL_COLL_NAME.getName());
+	}
+
+	@Test
+	public void testEmpty() throws Exception {
+		IRODSColumnarQueryResultSet resultSet = IRODSColumnarQueryResultSet
+				.instance(translatedQuery, new ArrayList<String[]>(), 0, 0, 0,
+						0);
+		Assert.assertEquals("should be empty", 0, resultSet.getRowCount());
+		Assert.assertEquals("should have columns", 4,
+				resultSet.getNumberOfResultColumns());
+		Assert.assertTrue("should be last", resultSet.isLastResult());
+	}
+
+	@Test(expected = JargonException.class)
+	public void testRowOutOfRange() throws Exception {
+		IRODSColumnarQueryResultSet resultSet = buildListing(5, 0, 0);
+		resultSet.getString(5, 0);
+	}
+
+	@Test(expected = JargonException.class)
+	public void testMissingValues() throws Exception {
+		List<String[]> columns = new ArrayList<String[]>();
+		for (int i = 0; i < 4; i++) {
+			columns.add(new String[2]);
+		}
+		IRODSColumnarQueryResultSet.instance(translatedQuery, columns, 3, 0, 3,
+				0);
+	}
+
+	private static IRODSColumnarQueryResultSet buildListing(final int rows,
+			final int continuation, final int partialStartIndex)
+			throws JargonException {
+		List<String[]> columns = new ArrayList<String[]>();
+		String[] names = new String[rows];
+		String[] sizes = new String[rows];
+		String[] times = new String[rows];
+		String[] owners = new String[rows];
+		for (int row = 0; row < rows; row++) {
+			names[row] = "file" + row;
+			sizes[row] = String.valueOf(row * 1000L);
+			times[row] = modifyTime(row);
+			owners[row] = "user" + (row % 3);
+		}
+		columns.add(names);
+		columns.add(sizes);
+		columns.add(times);
+		columns.add(owners);
+		return IRODSColumnarQueryResultSet.instance(translatedQuery, columns,
+				rows, continuation, 500, partialStartIndex);
+	}
+
+	private static String modifyTime(final int row) {
+		return "0" + String.valueOf(1375000000L + row * 60);
+	}
+
+}
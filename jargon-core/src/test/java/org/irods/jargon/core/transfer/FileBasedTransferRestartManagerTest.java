@@ -0,0 +1,387 @@
+package org.irods.jargon.core.transfer;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.CRC32;
+
+import junit.framework.Assert;
+
+import org.irods.jargon.core.connection.ConnectionConstants;
+import org.irods.jargon.core.transfer.FileRestartInfo.RestartType;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the journal of {@link FileBasedTransferRestartManager}. A crash is
+ * simulated by copying the journal while the manager still has it open, as
+ * the file would be left if the JVM went down at that point, and opening the
+ * copy.
+ */
+public class FileBasedTransferRestartManagerTest {
+
+	private static final String ACCOUNT = "irods://test@localhost:1247/zone";
+	private static final String IRODS_PATH = "/zone/home/test/file.dat";
+	private static final String LOCAL_PATH = "/local/file.dat";
+
+	private File journalDirectory;
+
+	@Before
+	public void setUp() throws Exception {
+		journalDirectory = File.createTempFile("restartJournal", "");
+		journalDirectory.delete();
+		journalDirectory.mkdirs();
+		journalDirectory.deleteOnExit();
+	}
+
+	@Test
+	public void testStoreSurvivesReopen() throws Exception {
+		File journalFile = journalFile("store");
+		FileBasedTransferRestartManager manager = new FileBasedTransferRestartManager(
+				journalFile);
+		FileRestartInfo info = manager.retrieveRestartAndBuildIfNotStored(
+				identifier(IRODS_PATH), LOCAL_PATH, 4);
+		manager.close();
+
+		manager = new FileBasedTransferRestartManager(journalFile);
+		FileRestartInfo actual = manager.retrieveRestart(info
+				.identifierFromThisInfo());
+		manager.close();
+		Assert.assertNotNull("restart not kept", actual);
+		Assert.assertEquals(LOCAL_PATH, actual.getLocalAbsolutePath());
+		Assert.assertEquals(IRODS_PATH, actual.getIrodsAbsolutePath());
+		Assert.assertEquals(ACCOUNT, actual.getIrodsAccountIdentifier());
+		Assert.assertEquals(RestartType.PUT, actual.getRestartType());
+		Assert.assertEquals(4, actual.getFileRestartDataSegments().size());
+		Assert.assertEquals(3, actual.getFileRestartDataSegments().get(3)
+				.getThreadNumber());
+	}
+
+	@Test
+	public void testSegmentUpdatesSurviveCrash() throws Exception {
+		File journalFile = journalFile("segments");
+		FileBasedTransferRestartManager manager = new FileBasedTransferRestartManager(
+				journalFile);
+		FileRestartInfoIdentifier identifier = identifier(IRODS_PATH);
+		manager.retrieveRestartAndBuildIfNotStored(identifier, LOCAL_PATH, 2);
+		manager.updateOffsetForSegment(identifier, 0, 1000L);
+		manager.updateLengthForSegment(identifier, 0, 100L);
+		manager.updateLengthForSegment(identifier, 0, 50L);
+		FileRestartDataSegment segment = new FileRestartDataSegment(1);
+		segment.setOffset(5000L);
+		segment.setLength(25L);
+		manager.updateSegment(manager.retrieveRestart(identifier), segment);
+
+		File crashedJournal = crashCopy(manager, "segments.crashed");
+		manager.close();
+
+		manager = new FileBasedTransferRestartManager(crashedJournal);
+		FileRestartInfo actual = manager.retrieveRestart(identifier);
+		manager.close();
+		Assert.assertEquals(1000L, actual.getFileRestartDataSegments().get(0)
+				.getOffset());
+		Assert.assertEquals(150L, actual.getFileRestartDataSegments().get(0)
+				.getLength());
+		Assert.assertEquals(5000L, actual.getFileRestartDataSegments().get(1)
+				.getOffset());
+		Assert.assertEquals(25L, actual.getFileRestartDataSegments().get(1)
+				.getLength());
+	}
+
+	@Test
+	public void testTornLastRecordIgnored() throws Exception {
+		File journalFile = journalFile("torn");
+		FileBasedTransferRestartManager manager = new FileBasedTransferRestartManager(
+				journalFile);
+		FileRestartInfoIdentifier identifier = identifier(IRODS_PATH);
+		manager.retrieveRestartAndBuildIfNotStored(identifier, LOCAL_PATH, 1);
+		manager.updateLengthForSegment(identifier, 0, 100L);
+		File beforeLastUpdate = crashCopy(manager, "torn.before");
+		manager.updateLengthForSegment(identifier, 0, 100L);
+		File crashedJournal = crashCopy(manager, "torn.crashed");
+		manager.close();
+
+		/*
+		 * Keep only part of the last record, as a crash in the middle of
+		 * writing it would
+		 */
+		int lastRecordEnd = endOfRecords(crashedJournal);
+		int lastRecordStart = endOfRecords(beforeLastUpdate);
+		RandomAccessFile raf = new RandomAccessFile(crashedJournal, "rw");
+		raf.seek(lastRecordStart + 12);
+		for (int i = lastRecordStart + 12; i < lastRecordEnd; i++) {
+			raf.write(0);
+		}
+		raf.close();
+
+		manager = new FileBasedTransferRestartManager(crashedJournal);
+		FileRestartInfo actual = manager.retrieveRestart(identifier);
+		Assert.assertEquals("torn update should be lost", 100L, actual
+				.getFileRestartDataSegments().get(0).getLength());
+		manager.updateLengthForSegment(identifier, 0, 1L);
+		manager.close();
+
+		manager = new FileBasedTransferRestartManager(crashedJournal);
+		actual = manager.retrieveRestart(identifier);
+		manager.close();
+		Assert.assertEquals("update after recovery not kept", 101L, actual
+				.getFileRestartDataSegments().get(0).getLength());
+	}
+
+	@Test
+	public void testTruncatedJournalRecovers() throws Exception {
+		File journalFile = journalFile("truncated");
+		FileBasedTransferRestartManager manager = new FileBasedTransferRestartManager(
+				journalFile);
+		FileRestartInfoIdentifier identifier = identifier(IRODS_PATH);
+		manager.retrieveRestartAndBuildIfNotStored(identifier, LOCAL_PATH, 1);
+		manager.updateOffsetForSegment(identifier, 0, 10L);
+		File crashedJournal = crashCopy(manager, "truncated.crashed");
+		manager.close();
+
+		RandomAccessFile raf = new RandomAccessFile(crashedJournal, "rw");
+		raf.setLength(endOfRecords(crashedJournal) - 3);
+		raf.close();
+
+		manager = new FileBasedTransferRestartManager(crashedJournal);
+		FileRestartInfo actual = manager.retrieveRestart(identifier);
+		manager.close();
+		Assert.assertNotNull("stored restart lost", actual);
+		Assert.assertEquals(0L, actual.getFileRestartDataSegments().get(0)
+				.getOffset());
+	}
+
+	@Test
+	public void testDeleteSurvivesReopen() throws Exception {
+		File journalFile = journalFile("delete");
+		FileBasedTransferRestartManager manager = new FileBasedTransferRestartManager(
+				journalFile);
+		FileRestartInfoIdentifier identifier = identifier(IRODS_PATH);
+		FileRestartInfoIdentifier otherIdentifier = identifier(IRODS_PATH + "2");
+		manager.retrieveRestartAndBuildIfNotStored(identifier, LOCAL_PATH, 1);
+		manager.retrieveRestartAndBuildIfNotStored(otherIdentifier, LOCAL_PATH,
+				1);
+		manager.updateLengthForSegment(otherIdentifier, 0, 10L);
+		manager.deleteRestart(identifier);
+		File crashedJournal = crashCopy(manager, "delete.crashed");
+		manager.close();
+
+		manager = new FileBasedTransferRestartManager(crashedJournal);
+		Assert.assertNull("restart not deleted",
+				manager.retrieveRestart(identifier));
+		Assert.assertEquals(10L, manager.retrieveRestart(otherIdentifier)
+				.getFileRestartDataSegments().get(0).getLength());
+		manager.close();
+	}
+
+	@Test
+	public void testCompactionKeepsJournalSmall() throws Exception {
+		File journalFile = journalFile("compaction");
+		FileBasedTransferRestartManager manager = new FileBasedTransferRestartManager(
+				journalFile, FileBasedTransferRestartManager.MIN_REGION_SIZE);
+		FileRestartInfoIdentifier identifier = identifier(IRODS_PATH);
+		manager.retrieveRestartAndBuildIfNotStored(identifier, LOCAL_PATH, 4);
+		for (int i = 1; i <= 10000; i++) {
+			manager.updateLengthForSegment(identifier, i % 4, 1L);
+		}
+		File crashedJournal = crashCopy(manager, "compaction.crashed");
+		manager.close();
+
+		Assert.assertTrue("journal not compacted",
+				journalFile.length() <= 4 * FileBasedTransferRestartManager.MIN_REGION_SIZE);
+		Assert.assertFalse("compaction file left behind", new File(
+				journalFile.getPath() + ".compact").exists());
+
+		manager = new FileBasedTransferRestartManager(crashedJournal);
+		FileRestartInfo actual = manager.retrieveRestart(identifier);
+		manager.close();
+		for (FileRestartDataSegment segment : actual
+				.getFileRestartDataSegments()) {
+			Assert.assertEquals(2500L, segment.getLength());
+		}
+	}
+
+	@Test
+	public void testInterruptedCompactionRestored() throws Exception {
+		File journalFile = journalFile("interrupted");
+		FileBasedTransferRestartManager manager = new FileBasedTransferRestartManager(
+				journalFile);
+		FileRestartInfoIdentifier identifier = identifier(IRODS_PATH);
+		manager.retrieveRestartAndBuildIfNotStored(identifier, LOCAL_PATH, 1);
+		manager.updateOffsetForSegment(identifier, 0, 77L);
+		manager.compact();
+		File crashedJournal = crashCopy(manager, "interrupted.crashed");
+		manager.close();
+
+		/*
+		 * A complete compaction file, and a journal part way through being
+		 * overwritten
+		 */
+		File compactionFile = new File(crashedJournal.getPath() + ".compact");
+		Files.copy(crashedJournal.toPath(), compactionFile.toPath());
+		RandomAccessFile raf = new RandomAccessFile(compactionFile, "rw");
+		raf.setLength(endOfRecords(compactionFile));
+		raf.seek(raf.length());
+		raf.write(endRecord());
+		raf.close();
+		raf = new RandomAccessFile(crashedJournal, "rw");
+		raf.seek(FileBasedTransferRestartManager.HEADER_LENGTH);
+		raf.write(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9 });
+		raf.close();
+
+		manager = new FileBasedTransferRestartManager(crashedJournal);
+		FileRestartInfo actual = manager.retrieveRestart(identifier);
+		manager.close();
+		Assert.assertNotNull("restart not restored", actual);
+		Assert.assertEquals(77L, actual.getFileRestartDataSegments().get(0)
+				.getOffset());
+		Assert.assertFalse("compaction file left behind",
+				compactionFile.exists());
+	}
+
+	@Test
+	public void testIncompleteCompactionIgnored() throws Exception {
+		File journalFile = journalFile("incomplete");
+		FileBasedTransferRestartManager manager = new FileBasedTransferRestartManager(
+				journalFile);
+		FileRestartInfoIdentifier identifier = identifier(IRODS_PATH);
+		manager.retrieveRestartAndBuildIfNotStored(identifier, LOCAL_PATH, 1);
+		manager.updateOffsetForSegment(identifier, 0, 88L);
+		File crashedJournal = crashCopy(manager, "incomplete.crashed");
+		manager.close();
+
+		File compactionFile = new File(crashedJournal.getPath() + ".compact");
+		FileOutputStream fos = new FileOutputStream(compactionFile);
+		ByteBuffer header = ByteBuffer.allocate(12);
+		header.putInt(FileBasedTransferRestartManager.JOURNAL_MAGIC);
+		header.putInt(FileBasedTransferRestartManager.JOURNAL_VERSION);
+		header.putInt(200);
+		fos.write(header.array());
+		fos.close();
+
+		manager = new FileBasedTransferRestartManager(crashedJournal);
+		FileRestartInfo actual = manager.retrieveRestart(identifier);
+		manager.close();
+		Assert.assertEquals(88L, actual.getFileRestartDataSegments().get(0)
+				.getOffset());
+		Assert.assertFalse("compaction file left behind",
+				compactionFile.exists());
+	}
+
+	@Test
+	public void testRestartAttemptsSurviveReopen() throws Exception {
+		File journalFile = journalFile("attempts");
+		FileBasedTransferRestartManager manager = new FileBasedTransferRestartManager(
+				journalFile);
+		FileRestartInfo info = manager.retrieveRestartAndBuildIfNotStored(
+				identifier(IRODS_PATH), LOCAL_PATH, 1);
+		for (int i = 0; i < ConnectionConstants.MAX_FILE_RESTART_ATTEMPTS; i++) {
+			manager.incrementRestartAttempts(info);
+		}
+		manager.close();
+
+		manager = new FileBasedTransferRestartManager(journalFile);
+		try {
+			manager.incrementRestartAttempts(info);
+			Assert.fail("restart attempts not kept");
+		} catch (RestartFailedException e) {
+			// expected
+		} finally {
+			manager.close();
+		}
+	}
+
+	@Test(expected = FileRestartManagementException.class)
+	public void testJournalInUse() throws Exception {
+		File journalFile = journalFile("inUse");
+		FileBasedTransferRestartManager manager = new FileBasedTransferRestartManager(
+				journalFile);
+		try {
+			new FileBasedTransferRestartManager(journalFile);
+		} finally {
+			manager.close();
+		}
+	}
+
+	@Test(expected = FileRestartManagementException.class)
+	public void testNotAJournal() throws Exception {
+		File journalFile = journalFile("notAJournal");
+		FileOutputStream fos = new FileOutputStream(journalFile);
+		fos.write("this is not a journal".getBytes("UTF-8"));
+		fos.close();
+		new FileBasedTransferRestartManager(journalFile);
+	}
+
+	@Test(expected = FileRestartManagementException.class)
+	public void testUpdateUnknownRestart() throws Exception {
+		FileBasedTransferRestartManager manager = new FileBasedTransferRestartManager(
+				journalFile("unknown"));
+		try {
+			manager.updateLengthForSegment(identifier(IRODS_PATH), 0, 1L);
+		} finally {
+			manager.close();
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNullJournalFile() throws Exception {
+		new FileBasedTransferRestartManager(null);
+	}
+
+	private File journalFile(final String name) {
+		File journalFile = new File(journalDirectory, name + ".journal");
+		journalFile.deleteOnExit();
+		new File(journalFile.getPath() + ".compact").deleteOnExit();
+		return journalFile;
+	}
+
+	private File crashCopy(final FileBasedTransferRestartManager manager,
+			final String name) throws Exception {
+		File copy = journalFile(name);
+		Files.copy(manager.getJournalFile().toPath(), copy.toPath(),
+				StandardCopyOption.REPLACE_EXISTING);
+		return copy;
+	}
+
+	private FileRestartInfoIdentifier identifier(final String irodsPath) {
+		FileRestartInfoIdentifier identifier = new FileRestartInfoIdentifier();
+		identifier.setAbsolutePath(irodsPath);
+		identifier.setIrodsAccountIdentifier(ACCOUNT);
+		identifier.setRestartType(RestartType.PUT);
+		return identifier;
+	}
+
+	/**
+	 * Find where the records of a journal end and the unused part of the
+	 * mapped region starts
+	 */
+	private int endOfRecords(final File journalFile) throws Exception {
+		ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(journalFile
+				.toPath()));
+		buffer.position(FileBasedTransferRestartManager.HEADER_LENGTH);
+		while (buffer.remaining() >= FileBasedTransferRestartManager.RECORD_HEADER_LENGTH) {
+			int length = buffer.getInt(buffer.position());
+			if (length <= 0 || length > buffer.remaining()) {
+				break;
+			}
+			buffer.position(buffer.position()
+					+ FileBasedTransferRestartManager.RECORD_HEADER_LENGTH
+					+ length);
+		}
+		return buffer.position();
+	}
+
+	private byte[] endRecord() {
+		CRC32 crc = new CRC32();
+		crc.update(FileBasedTransferRestartManager.END_RECORD);
+		ByteBuffer record = ByteBuffer.allocate(9);
+		record.putInt(1);
+		record.putInt((int) crc.getValue());
+		record.put(FileBasedTransferRestartManager.END_RECORD);
+		return record.array();
+	}
+
+}
@@ -0,0 +1,175 @@
+package org.irods.jargon.core.transfer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.Random;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+public class ParallelLocalFileTest {
+
+	private static final int SEGMENT_LENGTH = 10000;
+	private static final int CHUNK_LENGTH = 4096;
+
+	@Test
+	public void testWriteSegmentsOutOfOrderStream() throws Exception {
+		writeSegmentsOutOfOrder(ParallelLocalIOStrategyEnum.STREAM);
+	}
+
+	@Test
+	public void testWriteSegmentsOutOfOrderChannel() throws Exception {
+		writeSegmentsOutOfOrder(ParallelLocalIOStrategyEnum.CHANNEL);
+	}
+
+	@Test
+	public void testWriteSegmentsOutOfOrderMapped() throws Exception {
+		writeSegmentsOutOfOrder(ParallelLocalIOStrategyEnum.MAPPED);
+	}
+
+	@Test
+	public void testReadSegmentsStream() throws Exception {
+		readSegments(ParallelLocalIOStrategyEnum.STREAM);
+	}
+
+	@Test
+	public void testReadSegmentsChannel() throws Exception {
+		readSegments(ParallelLocalIOStrategyEnum.CHANNEL);
+	}
+
+	@Test
+	public void testReadSegmentsMapped() throws Exception {
+		readSegments(ParallelLocalIOStrategyEnum.MAPPED);
+	}
+
+	@Test
+	public void testTransferToChannel() throws Exception {
+		byte[] data = randomData(3 * SEGMENT_LENGTH);
+		File file = createFile(data);
+		ParallelLocalFile localFile = ParallelLocalFile.instance(file, false,
+				ParallelLocalIOStrategyEnum.CHANNEL);
+		Assert.assertTrue(localFile.isChannelTransferSupported());
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		long position = SEGMENT_LENGTH;
+		long remaining = SEGMENT_LENGTH;
+		while (remaining > 0) {
+			long sent = localFile.transferTo(position, remaining,
+					Channels.newChannel(bos));
+			position += sent;
+			remaining -= sent;
+		}
+		localFile.close();
+		Assert.assertTrue(Arrays.equals(
+				Arrays.copyOfRange(data, SEGMENT_LENGTH, 2 * SEGMENT_LENGTH),
+				bos.toByteArray()));
+	}
+
+	@Test
+	public void testStreamDoesNotSupportChannelTransfer() throws Exception {
+		File file = createFile(new byte[1]);
+		ParallelLocalFile localFile = ParallelLocalFile.instance(file, false,
+				ParallelLocalIOStrategyEnum.STREAM);
+		Assert.assertFalse(localFile.isChannelTransferSupported());
+		localFile.close();
+	}
+
+	@Test
+	public void testFindTypeByString() throws Exception {
+		Assert.assertEquals(ParallelLocalIOStrategyEnum.MAPPED,
+				ParallelLocalIOStrategyEnum.findTypeByString("mapped"));
+		Assert.assertEquals(ParallelLocalIOStrategyEnum.STREAM,
+				ParallelLocalIOStrategyEnum.findTypeByString("unknown"));
+	}
+
+	/**
+	 * Write three segments in reverse order, as parallel get threads can, and
+	 * check that the file holds exactly the data and has not been grown past
+	 * the last segment
+	 */
+	private void writeSegmentsOutOfOrder(
+			final ParallelLocalIOStrategyEnum strategy) throws Exception {
+		byte[] data = randomData(3 * SEGMENT_LENGTH);
+		File file = createFile(new byte[0]);
+		for (int segment = 2; segment >= 0; segment--) {
+			ParallelLocalFile localFile = ParallelLocalFile.instance(file,
+					true, strategy);
+			long offset = segment * SEGMENT_LENGTH;
+			localFile.startSegment(offset, SEGMENT_LENGTH);
+			long position = offset;
+			while (position < offset + SEGMENT_LENGTH) {
+				int length = (int) Math.min(CHUNK_LENGTH, offset
+						+ SEGMENT_LENGTH - position);
+				byte[] chunk = Arrays.copyOfRange(data, (int) position,
+						(int) position + length);
+				localFile.write(position, chunk, length);
+				position += length;
+			}
+			localFile.close();
+		}
+
+		Assert.assertEquals("file grown past last segment", data.length,
+				file.length());
+		Assert.assertTrue("file contents differ",
+				Arrays.equals(data, readFile(file, strategy)));
+	}
+
+	private void readSegments(final ParallelLocalIOStrategyEnum strategy)
+			throws Exception {
+		byte[] data = randomData(3 * SEGMENT_LENGTH + 17);
+		File file = createFile(data);
+		Assert.assertTrue("file contents differ",
+				Arrays.equals(data, readFile(file, strategy)));
+
+		ParallelLocalFile localFile = ParallelLocalFile.instance(file, false,
+				strategy);
+		Assert.assertEquals(-1,
+				localFile.read(data.length, new byte[CHUNK_LENGTH],
+						CHUNK_LENGTH));
+		localFile.close();
+	}
+
+	/**
+	 * Read the file back in segments from the last to the first
+	 */
+	private byte[] readFile(final File file,
+			final ParallelLocalIOStrategyEnum strategy) throws Exception {
+		byte[] contents = new byte[(int) file.length()];
+		byte[] buffer = new byte[CHUNK_LENGTH];
+		ParallelLocalFile localFile = ParallelLocalFile.instance(file, false,
+				strategy);
+		for (long offset = (contents.length / SEGMENT_LENGTH)
+				* SEGMENT_LENGTH; offset >= 0; offset -= SEGMENT_LENGTH) {
+			long position = offset;
+			long end = Math.min(offset + SEGMENT_LENGTH, contents.length);
+			while (position < end) {
+				int read = localFile.read(position, buffer,
+						(int) Math.min(CHUNK_LENGTH, end - position));
+				Assert.assertTrue("unexpected end of file", read > 0);
+				System.arraycopy(buffer, 0, contents, (int) position, read);
+				position += read;
+			}
+		}
+		localFile.close();
+		return contents;
+	}
+
+	private byte[] randomData(final int length) {
+		byte[] data = new byte[length];
+		new Random(length).nextBytes(data);
+		return data;
+	}
+
+	private File createFile(final byte[] contents) throws Exception {
+		File file = File.createTempFile("parallelLocalFile", ".dat");
+		file.deleteOnExit();
+		FileOutputStream fos = new FileOutputStream(file);
+		fos.write(contents);
+		fos.close();
+		return file;
+	}
+
+}
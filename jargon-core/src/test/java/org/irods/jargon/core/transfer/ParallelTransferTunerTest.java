@@ -0,0 +1,228 @@
+package org.irods.jargon.core.transfer;
+
+import junit.framework.Assert;
+
+import org.irods.jargon.core.connection.DiscoveredServerPropertiesCache;
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.SettableJargonProperties;
+import org.irods.jargon.core.transfer.AbstractParallelFileTransferStrategy.TransferType;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParallelTransferTunerTest {
+
+	private static final int MB = 1024 * 1024;
+	private static final long TRANSFER_LENGTH = 1024L * MB;
+
+	private SettableJargonProperties jargonProperties;
+	private DiscoveredServerPropertiesCache cache;
+	private IRODSAccount irodsAccount;
+
+	@Before
+	public void setUp() throws Exception {
+		jargonProperties = new SettableJargonProperties();
+		jargonProperties.setMaxParallelThreads(4);
+		jargonProperties.setParallelCopyBufferSize(4 * MB);
+		jargonProperties.setAdaptiveParallelMaxThreads(16);
+		jargonProperties.setAdaptiveParallelMaxBufferSize(16 * MB);
+		cache = new DiscoveredServerPropertiesCache();
+		irodsAccount = IRODSAccount.instance("localhost", 1247, "client",
+				"password", "/zone/home/client", "zone", "demoResc");
+	}
+
+	@Test
+	public void testStartsFromConfiguredSettings() throws Exception {
+		ParallelTransferTuner tuner = new ParallelTransferTuner(cache,
+				jargonProperties);
+		ParallelTransferTuning tuning = tuner.retrieveTuning(irodsAccount, "",
+				TransferType.GET_TRANSFER);
+		Assert.assertEquals(4, tuning.getNumberOfThreads());
+		Assert.assertEquals(4 * MB, tuning.getBufferSize());
+		Assert.assertEquals(0L, tuning.getBytesPerSecond());
+	}
+
+	@Test
+	public void testIncreaseWhenThroughputHolds() throws Exception {
+		ParallelTransferTuner tuner = new ParallelTransferTuner(cache,
+				jargonProperties);
+		ParallelTransferTuning next = tuner.adjust(new ParallelTransferTuning(
+				4, 4 * MB, 100L * MB), 4, 95L * MB);
+		Assert.assertEquals(5, next.getNumberOfThreads());
+		Assert.assertEquals(8 * MB, next.getBufferSize());
+		Assert.assertEquals(95L * MB, next.getBytesPerSecond());
+	}
+
+	@Test
+	public void testDecreaseWhenThroughputDrops() throws Exception {
+		ParallelTransferTuner tuner = new ParallelTransferTuner(cache,
+				jargonProperties);
+		ParallelTransferTuning next = tuner.adjust(new ParallelTransferTuning(
+				10, 12 * MB, 100L * MB), 10, 50L * MB);
+		Assert.assertEquals(5, next.getNumberOfThreads());
+		Assert.assertEquals(6 * MB, next.getBufferSize());
+	}
+
+	@Test
+	public void testIncreaseStaysWithinBounds() throws Exception {
+		ParallelTransferTuner tuner = new ParallelTransferTuner(cache,
+				jargonProperties);
+		ParallelTransferTuning next = tuner.adjust(new ParallelTransferTuning(
+				16, 16 * MB, 0L), 16, 100L * MB);
+		Assert.assertEquals(16, next.getNumberOfThreads());
+		Assert.assertEquals(16 * MB, next.getBufferSize());
+	}
+
+	@Test
+	public void testAdjustFromThreadsGrantedByServer() throws Exception {
+		ParallelTransferTuner tuner = new ParallelTransferTuner(cache,
+				jargonProperties);
+		ParallelTransferTuning next = tuner.adjust(new ParallelTransferTuning(
+				12, 4 * MB, 0L), 3, 100L * MB);
+		Assert.assertEquals(4, next.getNumberOfThreads());
+	}
+
+	@Test
+	public void testRecordPersistsByResourceAndType() throws Exception {
+		ParallelTransferTuner tuner = new ParallelTransferTuner(cache,
+				jargonProperties);
+		ParallelTransferTuning used = tuner.retrieveTuning(irodsAccount,
+				"resc1", TransferType.PUT_TRANSFER);
+		ParallelTransferTuning next = tuner.recordTransfer(irodsAccount,
+				"resc1", TransferType.PUT_TRANSFER, used, 4, TRANSFER_LENGTH,
+				1000000000L);
+
+		ParallelTransferTuner otherTuner = new ParallelTransferTuner(cache,
+				jargonProperties);
+		Assert.assertEquals(next.toCacheValue(), otherTuner.retrieveTuning(
+				irodsAccount, "resc1", TransferType.PUT_TRANSFER)
+				.toCacheValue());
+		Assert.assertEquals(TRANSFER_LENGTH, next.getBytesPerSecond());
+		Assert.assertEquals(4, otherTuner.retrieveTuning(irodsAccount,
+				"resc2", TransferType.PUT_TRANSFER).getNumberOfThreads());
+		Assert.assertEquals(4, otherTuner.retrieveTuning(irodsAccount,
+				"resc1", TransferType.GET_TRANSFER).getNumberOfThreads());
+	}
+
+	@Test
+	public void testBlankResourceUsesDefaultResource() throws Exception {
+		ParallelTransferTuner tuner = new ParallelTransferTuner(cache,
+				jargonProperties);
+		ParallelTransferTuning used = tuner.retrieveTuning(irodsAccount, "",
+				TransferType.GET_TRANSFER);
+		ParallelTransferTuning next = tuner.recordTransfer(irodsAccount, "",
+				TransferType.GET_TRANSFER, used, 4, TRANSFER_LENGTH,
+				1000000000L);
+		Assert.assertEquals(next.getNumberOfThreads(), tuner.retrieveTuning(
+				irodsAccount, "demoResc", TransferType.GET_TRANSFER)
+				.getNumberOfThreads());
+	}
+
+	@Test
+	public void testNothingMeasuredLeavesSettings() throws Exception {
+		ParallelTransferTuner tuner = new ParallelTransferTuner(cache,
+				jargonProperties);
+		ParallelTransferTuning used = tuner.retrieveTuning(irodsAccount, "",
+				TransferType.GET_TRANSFER);
+		Assert.assertSame(used, tuner.recordTransfer(irodsAccount, "",
+				TransferType.GET_TRANSFER, used, 4, 0L, 0L));
+	}
+
+	@Test
+	public void testCacheValueRoundTrip() throws Exception {
+		ParallelTransferTuning tuning = new ParallelTransferTuning(7, 3 * MB,
+				123456L);
+		ParallelTransferTuning actual = ParallelTransferTuning
+				.fromCacheValue(tuning.toCacheValue());
+		Assert.assertEquals(7, actual.getNumberOfThreads());
+		Assert.assertEquals(3 * MB, actual.getBufferSize());
+		Assert.assertEquals(123456L, actual.getBytesPerSecond());
+		Assert.assertNull(ParallelTransferTuning.fromCacheValue("7,x,1"));
+		Assert.assertNull(ParallelTransferTuning.fromCacheValue(null));
+	}
+
+	/**
+	 * Run a series of transfers against a simulated server whose throughput
+	 * peaks at 10 threads with buffers of 8MB or more, and check the tuner
+	 * climbs from the starting settings and holds most of the peak
+	 */
+	@Test
+	public void testConvergesOnSimulatedServer() throws Exception {
+		SimulatedParallelTransfer simulation = new SimulatedParallelTransfer(
+				200L * MB, 10, 20L * MB, 8 * MB, 16);
+		ParallelTransferTuner tuner = new ParallelTransferTuner(cache,
+				jargonProperties);
+
+		long startBytesPerSecond = 0L;
+		long totalBytesPerSecond = 0L;
+		int measured = 0;
+		for (int i = 0; i < 60; i++) {
+			ParallelTransferTuning tuning = tuner.retrieveTuning(irodsAccount,
+					"", TransferType.PUT_TRANSFER);
+			int threads = simulation.grantThreads(tuning.getNumberOfThreads());
+			long bytesPerSecond = simulation.bytesPerSecond(threads,
+					tuning.getBufferSize());
+			if (i == 0) {
+				startBytesPerSecond = bytesPerSecond;
+			}
+			if (i >= 20) {
+				totalBytesPerSecond += bytesPerSecond;
+				measured++;
+			}
+			tuner.recordTransfer(irodsAccount, "", TransferType.PUT_TRANSFER,
+					tuning, threads, TRANSFER_LENGTH, TRANSFER_LENGTH
+							* 1000000000L / bytesPerSecond);
+		}
+
+		long meanBytesPerSecond = totalBytesPerSecond / measured;
+		Assert.assertTrue("did not improve on starting settings",
+				meanBytesPerSecond > startBytesPerSecond);
+		Assert.assertTrue("mean throughput " + meanBytesPerSecond
+				+ " too far below peak",
+				meanBytesPerSecond >= simulation.getPeakBytesPerSecond() * 3 / 4);
+	}
+
+	/**
+	 * Repeatable model of a server and network for a parallel transfer. Each
+	 * stream is limited by its buffer size up to a fixed rate, the streams
+	 * together by the link, and past a number of streams contention costs 8%
+	 * of the link for each extra stream. The server grants at most a fixed
+	 * number of threads.
+	 */
+	static class SimulatedParallelTransfer {
+		private final long linkBytesPerSecond;
+		private final int contentionThreads;
+		private final long streamBytesPerSecond;
+		private final int fullRateBufferSize;
+		private final int serverMaxThreads;
+
+		SimulatedParallelTransfer(final long linkBytesPerSecond,
+				final int contentionThreads, final long streamBytesPerSecond,
+				final int fullRateBufferSize, final int serverMaxThreads) {
+			this.linkBytesPerSecond = linkBytesPerSecond;
+			this.contentionThreads = contentionThreads;
+			this.streamBytesPerSecond = streamBytesPerSecond;
+			this.fullRateBufferSize = fullRateBufferSize;
+			this.serverMaxThreads = serverMaxThreads;
+		}
+
+		int grantThreads(final int requested) {
+			return Math.min(requested, serverMaxThreads);
+		}
+
+		long bytesPerSecond(final int threads, final int bufferSize) {
+			double stream = streamBytesPerSecond
+					* Math.min(1.0, (double) bufferSize / fullRateBufferSize);
+			double total = Math.min(linkBytesPerSecond, threads * stream);
+			if (threads > contentionThreads) {
+				total *= Math.max(0.1,
+						1.0 - 0.08 * (threads - contentionThreads));
+			}
+			return (long) total;
+		}
+
+		long getPeakBytesPerSecond() {
+			return bytesPerSecond(contentionThreads, fullRateBufferSize);
+		}
+	}
+
+}
@@ -0,0 +1,105 @@
+package org.irods.jargon.core.transfer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+public class PipelinedEncryptionWriterTest {
+
+	@Test
+	public void testWritesBuffersInOrder() throws Exception {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		PipelinedEncryptionWriter writer = new PipelinedEncryptionWriter(bos,
+				100);
+		ByteArrayOutputStream expected = new ByteArrayOutputStream();
+		try {
+			for (int i = 0; i < 50; i++) {
+				byte[] buffer = writer.takeBuffer();
+				int length = 1 + i % 100;
+				Arrays.fill(buffer, 0, length, (byte) i);
+				expected.write(buffer, 0, length);
+				writer.write(buffer, length);
+			}
+			writer.flush();
+		} finally {
+			writer.close();
+		}
+		Assert.assertTrue("data not written in order",
+				Arrays.equals(expected.toByteArray(), bos.toByteArray()));
+	}
+
+	@Test
+	public void testFlushWaitsForWrites() throws Exception {
+		SlowOutputStream out = new SlowOutputStream();
+		PipelinedEncryptionWriter writer = new PipelinedEncryptionWriter(out,
+				10);
+		try {
+			for (int i = 0; i < 4; i++) {
+				writer.write(writer.takeBuffer(), 10);
+			}
+			writer.flush();
+			Assert.assertEquals(40, out.written);
+			Assert.assertTrue("not flushed", out.flushed);
+		} finally {
+			writer.close();
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testWriterErrorIsThrownToTransferThread() throws Exception {
+		OutputStream out = new OutputStream() {
+			@Override
+			public void write(final int b) throws IOException {
+				throw new IOException("broken pipe");
+			}
+
+			@Override
+			public void write(final byte[] b, final int off, final int len)
+					throws IOException {
+				throw new IOException("broken pipe");
+			}
+		};
+		PipelinedEncryptionWriter writer = new PipelinedEncryptionWriter(out,
+				10);
+		try {
+			for (int i = 0; i < 10; i++) {
+				writer.write(writer.takeBuffer(), 10);
+			}
+			writer.flush();
+		} finally {
+			writer.close();
+		}
+	}
+
+	private static class SlowOutputStream extends OutputStream {
+		private volatile int written = 0;
+		private volatile boolean flushed = false;
+
+		@Override
+		public void write(final int b) throws IOException {
+			written++;
+		}
+
+		@Override
+		public void write(final byte[] b, final int off, final int len)
+				throws IOException {
+			try {
+				Thread.sleep(20);
+			} catch (InterruptedException e) {
+				throw new IOException(e);
+			}
+			written += len;
+		}
+
+		@Override
+		public void flush() throws IOException {
+			flushed = true;
+		}
+	}
+
+}
@@ -0,0 +1,131 @@
+package org.irods.jargon.core.transfer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import junit.framework.Assert;
+
+import org.irods.jargon.core.transfer.FileRestartInfo.RestartType;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RestartCheckpointerTest {
+
+	private static final long NO_TIME_BUDGET = 3600000L;
+
+	private MemoryBasedTransferRestartManager restartManager;
+	private FileRestartInfoIdentifier identifier;
+
+	@Before
+	public void setUp() throws Exception {
+		restartManager = new MemoryBasedTransferRestartManager();
+		identifier = new FileRestartInfoIdentifier();
+		identifier.setAbsolutePath("/zone/home/test/file.dat");
+		identifier.setIrodsAccountIdentifier("irods://test@localhost:1247/zone");
+		identifier.setRestartType(RestartType.PUT);
+		restartManager.retrieveRestartAndBuildIfNotStored(identifier,
+				"/local/file.dat", 16);
+	}
+
+	@Test
+	public void testBytesCoalescedUntilBudget() throws Exception {
+		RestartCheckpointer checkpointer = new RestartCheckpointer(
+				restartManager, identifier, 16, 1000L, NO_TIME_BUDGET);
+		for (int i = 0; i < 25; i++) {
+			checkpointer.addBytes(3, 100L);
+		}
+		Assert.assertEquals(2, checkpointer.getCheckpoints());
+		Assert.assertEquals(2000L, segmentLength(3));
+		checkpointer.checkpoint(3);
+		Assert.assertEquals(3, checkpointer.getCheckpoints());
+		Assert.assertEquals(2500L, segmentLength(3));
+		checkpointer.checkpoint(3);
+		Assert.assertEquals("nothing held, no checkpoint expected", 3,
+				checkpointer.getCheckpoints());
+	}
+
+	@Test
+	public void testTimeBudget() throws Exception {
+		RestartCheckpointer checkpointer = new RestartCheckpointer(
+				restartManager, identifier, 16, Long.MAX_VALUE, 0L);
+		for (int i = 0; i < RestartCheckpointer.CLOCK_CHECK_INTERVAL * 2; i++) {
+			checkpointer.addBytes(0, 10L);
+		}
+		Assert.assertEquals(2, checkpointer.getCheckpoints());
+		Assert.assertEquals(RestartCheckpointer.CLOCK_CHECK_INTERVAL * 20L,
+				segmentLength(0));
+	}
+
+	@Test
+	public void testStartSegmentSavesHeldBytesFirst() throws Exception {
+		RestartCheckpointer checkpointer = new RestartCheckpointer(
+				restartManager, identifier, 16, 1000L, NO_TIME_BUDGET);
+		checkpointer.startSegment(1, 5000L);
+		checkpointer.addBytes(1, 300L);
+		checkpointer.startSegment(1, 9000L);
+		Assert.assertEquals(3, checkpointer.getCheckpoints());
+		FileRestartDataSegment segment = restartManager
+				.retrieveRestart(identifier).getFileRestartDataSegments()
+				.get(1);
+		Assert.assertEquals(9000L, segment.getOffset());
+		Assert.assertEquals(0L, segment.getLength());
+		checkpointer.addBytes(1, 20L);
+		checkpointer.checkpointAll();
+		Assert.assertEquals(20L, segmentLength(1));
+	}
+
+	@Test
+	public void testConcurrentThreads() throws Exception {
+		final RestartCheckpointer checkpointer = new RestartCheckpointer(
+				restartManager, identifier, 16, 4096L, NO_TIME_BUDGET);
+		ExecutorService executor = Executors.newFixedThreadPool(16);
+		try {
+			List<Future<Void>> futures = new ArrayList<Future<Void>>();
+			for (int i = 0; i < 16; i++) {
+				final int threadNumber = i;
+				futures.add(executor.submit(new Callable<Void>() {
+					@Override
+					public Void call() throws Exception {
+						for (int j = 0; j < 100000; j++) {
+							checkpointer.addBytes(threadNumber, 1L);
+						}
+						return null;
+					}
+				}));
+			}
+			for (Future<Void> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		checkpointer.checkpointAll();
+		for (int i = 0; i < 16; i++) {
+			Assert.assertEquals(100000L, segmentLength(i));
+		}
+		Assert.assertEquals(16 * 25, checkpointer.getCheckpoints());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testThreadNumberOutOfRange() throws Exception {
+		RestartCheckpointer checkpointer = new RestartCheckpointer(
+				restartManager, identifier, 16, 1000L, NO_TIME_BUDGET);
+		checkpointer.addBytes(16, 1L);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNullRestartManager() throws Exception {
+		new RestartCheckpointer(null, identifier, 16, 1000L, NO_TIME_BUDGET);
+	}
+
+	private long segmentLength(final int threadNumber) throws Exception {
+		return restartManager.retrieveRestart(identifier)
+				.getFileRestartDataSegments().get(threadNumber).getLength();
+	}
+
+}
@@ -1,5 +1,7 @@
 package org.irods.jargon.core.transfer.encrypt;
 
+import java.util.Arrays;
+
 import junit.framework.Assert;
 
 import org.irods.jargon.core.connection.NegotiatedClientServerConfiguration;
@@ -60,4 +62,82 @@ public class AesCipherEncryptWrapperTest {
 
 	}
 
+	@Test
+	public void testEncryptIntoBufferDecryptsWithDecryptWrapper()
+			throws JargonException {
+		byte[] source = RandomUtils.generateRandomBytesOfLength(5000);
+		PipelineConfiguration pipelineConfiguration = buildPipelineConfiguration();
+		NegotiatedClientServerConfiguration config = buildConfiguration(pipelineConfiguration);
+		AesCipherEncryptWrapper wrapper = new AesCipherEncryptWrapper(
+				pipelineConfiguration, config);
+		AesCipherDecryptWrapper decryptWrapper = new AesCipherDecryptWrapper(
+				pipelineConfiguration, config);
+
+		int offset = 4;
+		byte[] output = new byte[offset + wrapper.getEncryptedLength(4096)];
+		int length = wrapper.encrypt(source, 4096, output, offset);
+		Assert.assertTrue("encrypted length over estimate",
+				length <= wrapper.getEncryptedLength(4096));
+
+		byte[] fullBuffer = Arrays.copyOfRange(output, offset, offset
+				+ length);
+		Assert.assertTrue("did not decrypt to source", Arrays.equals(
+				Arrays.copyOf(source, 4096), decryptWrapper.decrypt(fullBuffer)));
+
+		byte[] plaintext = new byte[length];
+		int decrypted = decryptWrapper.decrypt(fullBuffer, length, plaintext);
+		Assert.assertEquals(4096, decrypted);
+		Assert.assertTrue("did not decrypt into buffer", Arrays.equals(
+				Arrays.copyOf(source, 4096),
+				Arrays.copyOf(plaintext, decrypted)));
+	}
+
+	@Test
+	public void testEncryptUsesNewInitializationVectorEachBuffer()
+			throws JargonException {
+		byte[] source = RandomUtils.generateRandomBytesOfLength(2048);
+		PipelineConfiguration pipelineConfiguration = buildPipelineConfiguration();
+		AesCipherEncryptWrapper wrapper = new AesCipherEncryptWrapper(
+				pipelineConfiguration,
+				buildConfiguration(pipelineConfiguration));
+
+		byte[] first = new byte[wrapper.getEncryptedLength(source.length)];
+		byte[] second = new byte[first.length];
+		wrapper.encrypt(source, source.length, first, 0);
+		wrapper.encrypt(source, source.length, second, 0);
+		Assert.assertFalse("iv was reused", Arrays.equals(
+				Arrays.copyOf(first, 16), Arrays.copyOf(second, 16)));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testEncryptIntoBufferTooSmall() throws JargonException {
+		PipelineConfiguration pipelineConfiguration = buildPipelineConfiguration();
+		AesCipherEncryptWrapper wrapper = new AesCipherEncryptWrapper(
+				pipelineConfiguration,
+				buildConfiguration(pipelineConfiguration));
+		wrapper.encrypt(new byte[1024], 1024, new byte[1024], 0);
+	}
+
+	private PipelineConfiguration buildPipelineConfiguration()
+			throws JargonException {
+		SettableJargonProperties props = (SettableJargonProperties) irodsFileSystem
+				.getJargonProperties();
+		props.setEncryptionAlgorithmEnum(EncryptionAlgorithmEnum.AES_256_CBC);
+		props.setEncryptionKeySize(256);
+		props.setEncryptionNumberHashRounds(65536);
+		props.setEncryptionSaltSize(8);
+		return PipelineConfiguration.instance(props);
+	}
+
+	private NegotiatedClientServerConfiguration buildConfiguration(
+			final PipelineConfiguration pipelineConfiguration)
+			throws JargonException {
+		NegotiatedClientServerConfiguration config = new NegotiatedClientServerConfiguration(
+				true);
+		AESKeyGenerator generator = new AESKeyGenerator(pipelineConfiguration,
+				config);
+		config.setSecretKey(generator.generateKey());
+		return config;
+	}
+
 }
@@ -1,5 +1,7 @@
 package org.irods.jargon.core.unittest;
 
+import org.irods.jargon.core.pub.AsyncIRODSAccessObjectFactoryImplTest;
+import org.irods.jargon.core.pub.BatchAOImplTest;
 import org.irods.jargon.core.pub.BulkFileOperationsAOImplTest;
 import org.irods.jargon.core.pub.CollectionAOImplForSoftLinkTest;
 import org.irods.jargon.core.pub.CollectionAOImplTest;
@@ -87,7 +89,8 @@ import org.junit.runners.Suite;
 	IRODSFileSystemSingletonWrapperTest.class, ResourceAOHelperTest.class,
 	DataObjectChecksumUtilitiesAOImplTest.class,
 	CollectionListingUtilsTest.class, FederatedDataObjectAOImplTest.class,
-	TrashOperationsTest.class })
+	TrashOperationsTest.class, BatchAOImplTest.class,
+	AsyncIRODSAccessObjectFactoryImplTest.class })
 /**
  * Suite to run Access Object tests in org.irods.jargon.pub.*
  * <p/>
@@ -13,6 +13,8 @@ import org.irods.jargon.core.utils.IRODSUriUtilsTest;
 import org.irods.jargon.core.utils.LocalFileUtilsTest;
 import org.irods.jargon.core.utils.MiscIRODSUtilsTest;
 import org.irods.jargon.core.utils.RandomUtilsTest;
+import org.irods.jargon.core.utils.TarArchiveWriterTest;
+import org.irods.jargon.core.utils.ThreadLocalBufferCacheTest;
 import org.irods.jargon.testutils.CyberduckProfileBuilderTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
@@ -27,6 +29,7 @@ import org.junit.runners.Suite;
 		IRODSUriUserInfoTest.class, MiscIRODSUtilsTest.class, AuthTests.class,
 		ChecksumTests.class, TransferRestartTests.class, RandomUtilsTest.class,
 		IrodsVersionTest.class, CyberduckProfileBuilderTest.class,
+		ThreadLocalBufferCacheTest.class, TarArchiveWriterTest.class,
 		SslNegotiationFunctionalTests.class, EncryptedTransferTests.class })
 /**
  * Suite to run all tests (except long running and functional), further refined by settings in testing.properites.  Some subtests may be shut
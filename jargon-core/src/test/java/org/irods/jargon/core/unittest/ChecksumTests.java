@@ -3,7 +3,10 @@ package org.irods.jargon.core.unittest;
 import org.irods.jargon.core.checksum.ChecksumManagerImplTest;
 import org.irods.jargon.core.checksum.LocalChecksumComputerFactoryImplTest;
 import org.irods.jargon.core.checksum.MD5LocalChecksumComputerStrategyTest;
+import org.irods.jargon.core.checksum.ReadAheadLocalChecksumComputerStrategyTest;
 import org.irods.jargon.core.checksum.SHA256LocalChecksumComputerStrategyTest;
+import org.irods.jargon.core.checksum.TransferChecksumDigesterTest;
+import org.irods.jargon.core.checksum.TreeHashLocalChecksumComputerStrategyTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
@@ -17,7 +20,9 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({ MD5LocalChecksumComputerStrategyTest.class,
 		SHA256LocalChecksumComputerStrategyTest.class,
 		LocalChecksumComputerFactoryImplTest.class,
-		ChecksumManagerImplTest.class })
+		ChecksumManagerImplTest.class, TransferChecksumDigesterTest.class,
+		ReadAheadLocalChecksumComputerStrategyTest.class,
+		TreeHashLocalChecksumComputerStrategyTest.class })
 public class ChecksumTests {
 
 }
@@ -6,13 +6,18 @@ import org.irods.jargon.core.connection.ConnectionProgressStatusTest;
 import org.irods.jargon.core.connection.DefaultPropertiesJargonConfigTest;
 import org.irods.jargon.core.connection.DiscoveredServerPropertiesCacheTest;
 import org.irods.jargon.core.connection.EnvironmentalInfoAccessorTest;
+import org.irods.jargon.core.connection.GatheringChannelOutputStreamTest;
 import org.irods.jargon.core.connection.IRODSAccountTest;
+import org.irods.jargon.core.connection.IRODSMidLevelProtocolPipelinedTest;
+import org.irods.jargon.core.connection.IRODSPooledProtocolManagerTest;
 import org.irods.jargon.core.connection.IRODSServerPropertiesTest;
 import org.irods.jargon.core.connection.IRODSSessionTest;
 import org.irods.jargon.core.connection.IRODSSimpleConnectionTest;
 import org.irods.jargon.core.connection.IRODSSimpleProtocolManagerTest;
+import org.irods.jargon.core.connection.ObjStatCacheTest;
 import org.irods.jargon.core.connection.PAMAuthTest;
 import org.irods.jargon.core.connection.PipelineConfigurationTest;
+import org.irods.jargon.core.connection.ScatteringChannelInputStreamTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
@@ -26,7 +31,10 @@ import org.junit.runners.Suite;
 	DiscoveredServerPropertiesCacheTest.class, IRODSAccountTest.class,
 	ClientServerNegotationPolicyFromPropertiesBuilderTest.class,
 	ClientServerNegotiationPolicyTest.class,
-	PipelineConfigurationTest.class })
+	PipelineConfigurationTest.class, IRODSPooledProtocolManagerTest.class,
+	GatheringChannelOutputStreamTest.class,
+	ScatteringChannelInputStreamTest.class, ObjStatCacheTest.class,
+	IRODSMidLevelProtocolPipelinedTest.class })
 public class ConnectionTests {
 
 }
@@ -6,6 +6,7 @@ import org.irods.jargon.core.pub.io.FileIOOperationsAOImplTest;
 import org.irods.jargon.core.pub.io.IRODSFIleInputStreamForSoftLinksTest;
 import org.irods.jargon.core.pub.io.IRODSFileFactoryImplTest;
 import org.irods.jargon.core.pub.io.IRODSFileImplForSoftLinksTest;
+import org.irods.jargon.core.pub.io.IRODSFileImplListingObjStatTest;
 import org.irods.jargon.core.pub.io.IRODSFileImplTest;
 import org.irods.jargon.core.pub.io.IRODSFileInputStreamTest;
 import org.irods.jargon.core.pub.io.IRODSFileOutputStreamForSoftLinksTest;
@@ -13,6 +14,7 @@ import org.irods.jargon.core.pub.io.IRODSFileOutputStreamTest;
 import org.irods.jargon.core.pub.io.IRODSFileReaderTest;
 import org.irods.jargon.core.pub.io.IRODSFileSystemAOImplTest;
 import org.irods.jargon.core.pub.io.IRODSFileWriterTest;
+import org.irods.jargon.core.pub.io.IRODSRandomAccessFileCacheTest;
 import org.irods.jargon.core.pub.io.IRODSRandomAccessFileTest;
 import org.irods.jargon.core.pub.io.MountedFileSystemIRODSFileInputStreamTest;
 import org.irods.jargon.core.pub.io.MountedFilesystemIRODSFileImplTest;
@@ -41,7 +43,9 @@ import org.junit.runners.Suite;
 		MountedFilesystemIRODSFileImplTest.class,
 		MountedFileSystemIRODSFileInputStreamTest.class,
 		MountedFilesystemIRODSFileOutputStreamTest.class,
-		PackingIrodsOutputStreamTest.class, PackingIrodsInputStreamTest.class })
+		PackingIrodsOutputStreamTest.class, PackingIrodsInputStreamTest.class,
+		IRODSFileImplListingObjStatTest.class,
+		IRODSRandomAccessFileCacheTest.class })
 public class FileTests {
 
 }
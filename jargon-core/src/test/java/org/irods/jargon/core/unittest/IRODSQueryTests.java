@@ -4,7 +4,9 @@
 package org.irods.jargon.core.unittest;
 
 import org.irods.jargon.core.query.AVUQueryElementTest;
+import org.irods.jargon.core.query.GenQueryResultIteratorTest;
 import org.irods.jargon.core.query.GenQuerySelectFieldTest;
+import org.irods.jargon.core.query.IRODSColumnarQueryResultSetTest;
 import org.irods.jargon.core.query.IRODSGenQueryBuilderTest;
 import org.irods.jargon.core.query.IRODSGenQueryFromBuilderTest;
 import org.irods.jargon.core.query.IRODSGenQueryTranslatorTest;
@@ -20,7 +22,9 @@ import org.junit.runners.Suite;
 		GenQuerySelectFieldTest.class, TranslatedIRODSQueryTest.class,
 		AVUQueryElementTest.class, SimpleQueryTest.class,
 		IRODSSimpleQueryResultSetTest.class, UserFilePermissionTest.class,
-		IRODSGenQueryBuilderTest.class, IRODSGenQueryFromBuilderTest.class })
+		IRODSGenQueryBuilderTest.class, IRODSGenQueryFromBuilderTest.class,
+		GenQueryResultIteratorTest.class,
+		IRODSColumnarQueryResultSetTest.class })
 public class IRODSQueryTests {
 
 }
@@ -21,6 +21,8 @@ import org.irods.jargon.core.packinstr.GetTempPasswordInTest;
 import org.irods.jargon.core.packinstr.ModAccessControlInpTest;
 import org.irods.jargon.core.packinstr.ModAvuMetadataInpTest;
 import org.irods.jargon.core.packinstr.OpenedDataObjInpTest;
+import org.irods.jargon.core.packinstr.PackingInstructionReaderTest;
+import org.irods.jargon.core.packinstr.PackingInstructionWriterTest;
 import org.irods.jargon.core.packinstr.PamAuthRequestInpTest;
 import org.irods.jargon.core.packinstr.ReconnMsgTest;
 import org.irods.jargon.core.packinstr.SSLEndInpTest;
@@ -49,7 +51,9 @@ import org.junit.runners.Suite;
 	DataObjInpForMcollTest.class, DataObjInpForUnmountTest.class,
 	ReconnMsgTest.class, SpecificQueryInpTest.class,
 	PamAuthRequestInpTest.class, SSLStartInpTest.class,
-	SSLEndInpTest.class, AuthReqPluginRequestInpTest.class })
+	SSLEndInpTest.class, AuthReqPluginRequestInpTest.class,
+	PackingInstructionReaderTest.class,
+		PackingInstructionWriterTest.class })
 public class PackingInstructionTests {
 
 }
@@ -1,6 +1,9 @@
 package org.irods.jargon.core.unittest;
 
 import org.irods.jargon.core.transfer.DefaultTransferControlBlockTest;
+import org.irods.jargon.core.transfer.ParallelLocalFileTest;
+import org.irods.jargon.core.transfer.ParallelTransferTunerTest;
+import org.irods.jargon.core.transfer.PipelinedEncryptionWriterTest;
 import org.irods.jargon.core.transfer.TransferStatusTest;
 import org.irods.jargon.core.transfer.encrypt.AesCipherEncryptWrapperTest;
 import org.irods.jargon.core.transfer.encrypt.EncryptionWrapperFactoryTest;
@@ -10,7 +13,9 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({ TransferStatusTest.class,
 	DefaultTransferControlBlockTest.class,
-	EncryptionWrapperFactoryTest.class, AesCipherEncryptWrapperTest.class })
+	EncryptionWrapperFactoryTest.class, AesCipherEncryptWrapperTest.class,
+	ParallelLocalFileTest.class, ParallelTransferTunerTest.class,
+	PipelinedEncryptionWriterTest.class })
 public class TransferTests {
 
 }
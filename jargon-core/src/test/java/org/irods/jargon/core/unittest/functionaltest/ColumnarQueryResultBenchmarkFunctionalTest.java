@@ -0,0 +1,146 @@
+package org.irods.jargon.core.unittest.functionaltest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.Assert;
+
+import org.irods.jargon.core.pub.aohelper.CollectionAOHelper;
+import org.irods.jargon.core.query.GenQuerySelectField;
+import org.irods.jargon.core.query.IRODSColumnarQueryResultSet;
+import org.irods.jargon.core.query.IRODSGenQuery;
+import org.irods.jargon.core.query.IRODSQueryResultRow;
+import org.irods.jargon.core.query.RodsGenQueryEnum;
+import org.irods.jargon.core.query.TranslatedGenQueryCondition;
+import org.irods.jargon.core.query.TranslatedIRODSGenQuery;
+import org.junit.Test;
+
+/**
+ * Benchmark of the heap held by a 50k row page of a data object listing, as
+ * rows and as an {@link IRODSColumnarQueryResultSet}, and of the time taken to
+ * build listing entries from each. Values are built as separate
+ * <code>String</code> objects, as they are when read from an iRODS response.
+ * Heap figures are taken from the runtime after a garbage collection, so are
+ * approximate. Like the other tests here this is not part of the functional
+ * test suite, and is meant to be run by hand, though it needs no iRODS server.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+public class ColumnarQueryResultBenchmarkFunctionalTest {
+
+	private static final int ROWS = 50000;
+	private static final RodsGenQueryEnum[] SELECTS = new RodsGenQueryEnum[] {
+			RodsGenQueryEnum.COL_COLL_NAME, RodsGenQueryEnum.COL_DATA_NAME,
+			RodsGenQueryEnum.COL_D_CREATE_TIME,
+			RodsGenQueryEnum.COL_D_MODIFY_TIME, RodsGenQueryEnum.COL_D_DATA_ID,
+			RodsGenQueryEnum.COL_DATA_SIZE, RodsGenQueryEnum.COL_DATA_REPL_NUM,
+			RodsGenQueryEnum.COL_D_OWNER_NAME,
+			RodsGenQueryEnum.COL_D_OWNER_ZONE };
+
+	@Test
+	public void testListingPage() throws Exception {
+		List<String> columnNames = new ArrayList<String>();
+		List<GenQuerySelectField> selectFields = new ArrayList<GenQuerySelectField>();
+		for (RodsGenQueryEnum select : SELECTS) {
+			columnNames.add(select.getName());
+			selectFields.add(GenQuerySelectField.instance(select.getName(),
+					String.valueOf(select.getNumericValue()),
+					GenQuerySelectField.SelectFieldTypes.FIELD,
+					GenQuerySelectField.SelectFieldSource.DEFINED_QUERY_FIELD));
+		}
+		TranslatedIRODSGenQuery translatedQuery = TranslatedIRODSGenQuery
+				.instance(selectFields,
+						new ArrayList<TranslatedGenQueryCondition>(),
+						IRODSGenQuery.instance("benchmark", ROWS));
+
+		long before = usedHeap();
+		List<IRODSQueryResultRow> rows = new ArrayList<IRODSQueryResultRow>(
+				ROWS);
+		for (int row = 0; row < ROWS; row++) {
+			List<String> values = new ArrayList<String>(SELECTS.length);
+			for (int column = 0; column < SELECTS.length; column++) {
+				values.add(value(row, column));
+			}
+			rows.add(IRODSQueryResultRow.instance(values, columnNames, row + 1,
+					true));
+		}
+		long rowHeap = usedHeap() - before;
+
+		before = usedHeap();
+		List<String[]> columnValues = new ArrayList<String[]>();
+		for (int column = 0; column < SELECTS.length; column++) {
+			String[] values = new String[ROWS];
+			for (int row = 0; row < ROWS; row++) {
+				values[row] = value(row, column);
+			}
+			columnValues.add(values);
+		}
+		IRODSColumnarQueryResultSet resultSet = IRODSColumnarQueryResultSet
+				.instance(translatedQuery, columnValues, ROWS, 0, ROWS, 0);
+		columnValues = null;
+		long columnarHeap = usedHeap() - before;
+
+		System.out.println("heap for " + ROWS + " rows: rows "
+				+ (rowHeap / 1024) + "KB, columns " + (columnarHeap / 1024)
+				+ "KB");
+
+		long totalSize = 0;
+		long start = System.currentTimeMillis();
+		for (IRODSQueryResultRow row : rows) {
+			totalSize += CollectionAOHelper
+					.buildCollectionListEntryFromResultSetRowForDataObjectQuery(
+							row, ROWS).getDataSize();
+		}
+		System.out.println("listing entries from rows: "
+				+ (System.currentTimeMillis() - start) + "ms");
+
+		long columnarTotalSize = 0;
+		start = System.currentTimeMillis();
+		for (int row = 0; row < resultSet.getRowCount(); row++) {
+			columnarTotalSize += CollectionAOHelper
+					.buildCollectionListEntryFromColumnarResultSetForDataObjectQuery(
+							resultSet, row).getDataSize();
+		}
+		System.out.println("listing entries from columns: "
+				+ (System.currentTimeMillis() - start) + "ms");
+
+		Assert.assertEquals("results differ", totalSize, columnarTotalSize);
+		Assert.assertEquals("rows lost", ROWS, rows.size());
+	}
+
+	/**
+	 * A value as a listing of one large collection would have it, built as a
+	 * new <code>String</code>
+	 */
+	private static String value(final int row, final int column) {
+		switch (column) {
+		case 0:
+			return new String("/zone/home/user/a/large/collection");
+		case 1:
+			return "file" + row + ".dat";
+		case 2:
+		case 3:
+			return "0" + (1375000000L + row);
+		case 4:
+			return String.valueOf(10000 + row);
+		case 5:
+			return String.valueOf(row * 37L);
+		case 6:
+			return new String("0");
+		case 7:
+			return new String("user");
+		default:
+			return new String("zone");
+		}
+	}
+
+	private static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+}
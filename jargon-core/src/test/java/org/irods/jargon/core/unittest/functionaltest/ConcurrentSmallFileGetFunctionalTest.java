@@ -0,0 +1,171 @@
+package org.irods.jargon.core.unittest.functionaltest;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import junit.framework.Assert;
+
+import org.irods.jargon.core.connection.ConnectionPoolMetrics;
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.IRODSPooledProtocolManager;
+import org.irods.jargon.core.connection.SettableJargonProperties;
+import org.irods.jargon.core.pub.DataTransferOperations;
+import org.irods.jargon.core.pub.IRODSFileSystem;
+import org.irods.jargon.core.pub.io.IRODSFile;
+import org.irods.jargon.testutils.TestingPropertiesHelper;
+import org.irods.jargon.testutils.filemanip.FileGenerator;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Load test that gets small files from many concurrent threads sharing pooled
+ * connections. When run on a JVM with virtual threads (JDK 21+) each get runs
+ * on its own virtual thread, otherwise a bounded pool of platform threads is
+ * used. Like the other tests here this is not part of the functional test
+ * suite, and is meant to be run by hand against a test server.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+public class ConcurrentSmallFileGetFunctionalTest {
+
+	private static Properties testingProperties = new Properties();
+	private static org.irods.jargon.testutils.TestingPropertiesHelper testingPropertiesHelper = new TestingPropertiesHelper();
+	private static org.irods.jargon.testutils.filemanip.ScratchFileUtils scratchFileUtils = null;
+	public static final String IRODS_TEST_SUBDIR_PATH = "ConcurrentSmallFileGetFunctionalTest";
+	private static org.irods.jargon.testutils.IRODSTestSetupUtilities irodsTestSetupUtilities = null;
+	private static IRODSFileSystem irodsFileSystem = null;
+	private static IRODSPooledProtocolManager irodsPooledProtocolManager = null;
+
+	private static final int CONCURRENT_GETS = 10000;
+	private static final int SOURCE_FILES = 10;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		org.irods.jargon.testutils.TestingPropertiesHelper testingPropertiesLoader = new TestingPropertiesHelper();
+		testingProperties = testingPropertiesLoader.getTestProperties();
+		scratchFileUtils = new org.irods.jargon.testutils.filemanip.ScratchFileUtils(
+				testingProperties);
+		scratchFileUtils
+				.clearAndReinitializeScratchDirectory(IRODS_TEST_SUBDIR_PATH);
+		irodsTestSetupUtilities = new org.irods.jargon.testutils.IRODSTestSetupUtilities();
+		irodsTestSetupUtilities.initializeIrodsScratchDirectory();
+		irodsTestSetupUtilities
+				.initializeDirectoryForTest(IRODS_TEST_SUBDIR_PATH);
+
+		irodsPooledProtocolManager = IRODSPooledProtocolManager.instance();
+		irodsFileSystem = new IRODSFileSystem(irodsPooledProtocolManager);
+		SettableJargonProperties settableJargonProperties = new SettableJargonProperties(
+				irodsFileSystem.getJargonProperties());
+		settableJargonProperties.setUseParallelTransfer(false);
+		settableJargonProperties.setConnectionPoolMaxPerAccount(64);
+		settableJargonProperties.setConnectionPoolMaxWaitMillis(600000);
+		irodsFileSystem.getIrodsSession().setJargonProperties(
+				settableJargonProperties);
+	}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {
+		irodsFileSystem.closeAndEatExceptions();
+	}
+
+	@Test
+	public void testTenThousandConcurrentSmallFileGets() throws Exception {
+		final String testFilePrefix = "testTenThousandConcurrentSmallFileGets";
+		String absPath = scratchFileUtils
+				.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH);
+		final String targetIrodsCollection = testingPropertiesHelper
+				.buildIRODSCollectionAbsolutePathFromTestProperties(
+						testingProperties, IRODS_TEST_SUBDIR_PATH);
+		final IRODSAccount irodsAccount = testingPropertiesHelper
+				.buildIRODSAccountFromTestProperties(testingProperties);
+
+		DataTransferOperations dataTransferOperations = irodsFileSystem
+				.getIRODSAccessObjectFactory().getDataTransferOperations(
+						irodsAccount);
+		for (int i = 0; i < SOURCE_FILES; i++) {
+			String localFileName = FileGenerator
+					.generateFileOfFixedLengthGivenName(absPath,
+							testFilePrefix + i + ".txt", 1024);
+			dataTransferOperations.putOperation(localFileName,
+					targetIrodsCollection, "", null, null);
+		}
+		irodsFileSystem.close(irodsAccount);
+
+		final File getDir = new File(absPath, "get");
+		getDir.mkdirs();
+
+		ExecutorService executor = createVirtualThreadPerTaskExecutor();
+		if (executor == null) {
+			executor = Executors.newFixedThreadPool(200);
+		}
+
+		List<Future<Void>> futures = new ArrayList<Future<Void>>();
+		long start = System.currentTimeMillis();
+		try {
+			for (int i = 0; i < CONCURRENT_GETS; i++) {
+				final int index = i;
+				futures.add(executor.submit(new Callable<Void>() {
+					@Override
+					public Void call() throws Exception {
+						try {
+							IRODSFile irodsFile = irodsFileSystem
+									.getIRODSFileFactory(irodsAccount)
+									.instanceIRODSFile(
+											targetIrodsCollection,
+											testFilePrefix
+													+ (index % SOURCE_FILES)
+													+ ".txt");
+							File localFile = new File(getDir, "get" + index
+									+ ".txt");
+							irodsFileSystem.getIRODSAccessObjectFactory()
+									.getDataTransferOperations(irodsAccount)
+									.getOperation(irodsFile, localFile, null,
+											null);
+							return null;
+						} finally {
+							irodsFileSystem.close(irodsAccount);
+						}
+					}
+				}));
+			}
+
+			for (Future<Void> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		long elapsed = System.currentTimeMillis() - start;
+		ConnectionPoolMetrics metrics = irodsPooledProtocolManager
+				.getConnectionPoolMetrics();
+		System.out.println("gets:" + CONCURRENT_GETS + " millis:" + elapsed);
+		System.out.println(metrics);
+
+		Assert.assertEquals(CONCURRENT_GETS, getDir.listFiles().length);
+		Assert.assertEquals(0,
+				irodsPooledProtocolManager.getLeasedConnectionCount());
+		Assert.assertTrue("connections were not reused",
+				metrics.getCreateCount() <= 64);
+	}
+
+	private static ExecutorService createVirtualThreadPerTaskExecutor() {
+		try {
+			Method method = Executors.class
+					.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) method.invoke(null);
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,107 @@
+package org.irods.jargon.core.unittest.functionaltest;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.Random;
+
+import junit.framework.Assert;
+
+import org.irods.jargon.core.checksum.AbstractChecksumComputeStrategy;
+import org.irods.jargon.core.checksum.ChecksumValue;
+import org.irods.jargon.core.checksum.MD5LocalChecksumComputerStrategy;
+import org.irods.jargon.core.checksum.ReadAheadLocalChecksumComputerStrategy;
+import org.irods.jargon.core.checksum.SHA256LocalChecksumComputerStrategy;
+import org.irods.jargon.core.checksum.TreeHashLocalChecksumComputerStrategy;
+import org.irods.jargon.core.protovalues.ChecksumEncodingEnum;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Benchmark of the local checksum strategies on a 1GB file, comparing the
+ * strategies that read the file through a stream with
+ * {@link ReadAheadLocalChecksumComputerStrategy} and
+ * {@link TreeHashLocalChecksumComputerStrategy}. Each strategy is run once to
+ * warm up, then timed over several runs, so the file is usually in the page
+ * cache and the figures show the cost of reading and digesting rather than of
+ * the disk. Like the other tests here this is not part of the functional test
+ * suite, and is meant to be run by hand, though it needs no iRODS server.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+public class LocalChecksumBenchmarkFunctionalTest {
+
+	private static final long FILE_SIZE = 1024L * 1024 * 1024;
+	private static final int WRITE_BUFFER_SIZE = 8 * 1024 * 1024;
+	private static final int RUNS = 3;
+
+	private static File localFile;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		localFile = File.createTempFile("checksumBenchmark", ".dat");
+		localFile.deleteOnExit();
+		byte[] buffer = new byte[WRITE_BUFFER_SIZE];
+		new Random(1).nextBytes(buffer);
+		FileOutputStream fileOutputStream = new FileOutputStream(localFile);
+		try {
+			for (long written = 0; written < FILE_SIZE; written += buffer.length) {
+				buffer[0]++;
+				fileOutputStream.write(buffer);
+			}
+		} finally {
+			fileOutputStream.close();
+		}
+	}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {
+		localFile.delete();
+	}
+
+	@Test
+	public void testMD5() throws Exception {
+		ChecksumValue stream = runBenchmark("MD5 stream",
+				new MD5LocalChecksumComputerStrategy());
+		ChecksumValue readAhead = runBenchmark("MD5 read ahead",
+				new ReadAheadLocalChecksumComputerStrategy(
+						ChecksumEncodingEnum.MD5));
+		Assert.assertEquals("checksums differ",
+				stream.getChecksumStringValue(),
+				readAhead.getChecksumStringValue());
+	}
+
+	@Test
+	public void testSHA256() throws Exception {
+		ChecksumValue stream = runBenchmark("SHA256 stream",
+				new SHA256LocalChecksumComputerStrategy());
+		ChecksumValue readAhead = runBenchmark("SHA256 read ahead",
+				new ReadAheadLocalChecksumComputerStrategy(
+						ChecksumEncodingEnum.SHA256));
+		Assert.assertEquals("checksums differ",
+				stream.getChecksumStringValue(),
+				readAhead.getChecksumStringValue());
+		runBenchmark("SHA256 tree, " + Runtime.getRuntime().availableProcessors()
+				+ " threads", new TreeHashLocalChecksumComputerStrategy());
+	}
+
+	private ChecksumValue runBenchmark(final String name,
+			final AbstractChecksumComputeStrategy strategy) throws Exception {
+		ChecksumValue checksumValue = strategy
+				.computeChecksumValueForLocalFile(localFile.getAbsolutePath());
+		long bestNanos = Long.MAX_VALUE;
+		for (int i = 0; i < RUNS; i++) {
+			long start = System.nanoTime();
+			strategy.computeChecksumValueForLocalFile(localFile
+					.getAbsolutePath());
+			bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+		}
+		double megabytesPerSecond = FILE_SIZE / (1024.0 * 1024.0)
+				/ (bestNanos / 1000000000.0);
+		System.out.println(name + ": " + Math.round(megabytesPerSecond)
+				+ " MB/s");
+		return checksumValue;
+	}
+
+}
@@ -0,0 +1,111 @@
+package org.irods.jargon.core.unittest.functionaltest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import org.irods.jargon.core.connection.NegotiatedClientServerConfiguration;
+import org.irods.jargon.core.connection.PipelineConfiguration;
+import org.irods.jargon.core.connection.SettableJargonProperties;
+import org.irods.jargon.core.protovalues.EncryptionAlgorithmEnum;
+import org.irods.jargon.core.transfer.encrypt.AESKeyGenerator;
+import org.irods.jargon.core.transfer.encrypt.EncryptionBuffer;
+import org.irods.jargon.core.transfer.encrypt.EncryptionWrapperFactory;
+import org.irods.jargon.core.transfer.encrypt.ParallelEncryptionCipherWrapper;
+import org.irods.jargon.core.utils.RandomUtils;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Benchmark of encrypting parallel put buffers with AES, comparing a copy of
+ * each buffer encrypted to new arrays, as parallel puts used to do, against
+ * encryption into a reused buffer. The JCE uses the AES instructions of the
+ * processor where available for both. Like the other tests here this is not
+ * part of the functional test suite, and is meant to be run by hand, though it
+ * needs no iRODS server.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+public class ParallelEncryptionBenchmarkFunctionalTest {
+
+	private static final int BUFFER_SIZE = 4 * 1024 * 1024;
+	private static final int WARM_UP_ITERATIONS = 20;
+	private static final int ITERATIONS = 100;
+
+	private static PipelineConfiguration pipelineConfiguration = null;
+	private static NegotiatedClientServerConfiguration negotiatedClientServerConfiguration = null;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		SettableJargonProperties props = new SettableJargonProperties();
+		props.setEncryptionAlgorithmEnum(EncryptionAlgorithmEnum.AES_256_CBC);
+		props.setEncryptionKeySize(256);
+		props.setEncryptionNumberHashRounds(16);
+		props.setEncryptionSaltSize(8);
+		pipelineConfiguration = PipelineConfiguration.instance(props);
+		negotiatedClientServerConfiguration = new NegotiatedClientServerConfiguration(
+				true);
+		AESKeyGenerator generator = new AESKeyGenerator(pipelineConfiguration,
+				negotiatedClientServerConfiguration);
+		negotiatedClientServerConfiguration.setSecretKey(generator
+				.generateKey());
+	}
+
+	@Test
+	public void testCompareCopyingAndInPlaceEncryption() throws Exception {
+		byte[] buffer = RandomUtils.generateRandomBytesOfLength(BUFFER_SIZE);
+		ParallelEncryptionCipherWrapper wrapper = EncryptionWrapperFactory
+				.instanceEncrypt(pipelineConfiguration,
+						negotiatedClientServerConfiguration);
+		OutputStream sink = new ByteArrayOutputStream() {
+			@Override
+			public void write(final byte[] b, final int off, final int len) {
+			}
+		};
+
+		encryptCopying(wrapper, buffer, sink, WARM_UP_ITERATIONS);
+		long copyingNanos = encryptCopying(wrapper, buffer, sink, ITERATIONS);
+		encryptInPlace(wrapper, buffer, sink, WARM_UP_ITERATIONS);
+		long inPlaceNanos = encryptInPlace(wrapper, buffer, sink, ITERATIONS);
+
+		System.out.println("AES-256-CBC " + BUFFER_SIZE + " byte buffers"
+				+ " copying MB/s:" + megabytesPerSecond(copyingNanos)
+				+ " in place MB/s:" + megabytesPerSecond(inPlaceNanos));
+	}
+
+	private long encryptCopying(final ParallelEncryptionCipherWrapper wrapper,
+			final byte[] buffer, final OutputStream sink, final int iterations)
+			throws Exception {
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			EncryptionBuffer encryptedBuff = wrapper.encrypt(Arrays.copyOf(
+					buffer, buffer.length));
+			ByteArrayOutputStream buffOut = new ByteArrayOutputStream(
+					encryptedBuff.getEncryptedData().length
+							+ encryptedBuff.getInitializationVector().length);
+			buffOut.write(encryptedBuff.getInitializationVector());
+			buffOut.write(encryptedBuff.getEncryptedData());
+			buffOut.writeTo(sink);
+		}
+		return System.nanoTime() - start;
+	}
+
+	private long encryptInPlace(final ParallelEncryptionCipherWrapper wrapper,
+			final byte[] buffer, final OutputStream sink, final int iterations)
+			throws Exception {
+		byte[] output = new byte[wrapper.getEncryptedLength(buffer.length)];
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			int length = wrapper.encrypt(buffer, buffer.length, output, 0);
+			sink.write(output, 0, length);
+		}
+		return System.nanoTime() - start;
+	}
+
+	private long megabytesPerSecond(final long nanos) {
+		double megabytes = (double) ITERATIONS * BUFFER_SIZE / (1024 * 1024);
+		return (long) (megabytes / (nanos / 1000000000.0));
+	}
+
+}
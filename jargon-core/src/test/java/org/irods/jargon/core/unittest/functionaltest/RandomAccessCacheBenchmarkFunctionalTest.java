@@ -0,0 +1,134 @@
+package org.irods.jargon.core.unittest.functionaltest;
+
+import java.util.Random;
+
+import junit.framework.Assert;
+
+import org.irods.jargon.core.connection.SettableJargonProperties;
+import org.irods.jargon.core.pub.io.FileIOOperations.SeekWhenceType;
+import org.irods.jargon.core.pub.io.IRODSFile;
+import org.irods.jargon.core.pub.io.IRODSRandomAccessFile;
+import org.irods.jargon.core.pub.io.InMemoryFileIOOperations;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Benchmark of the page cache and gathered writes of
+ * {@link IRODSRandomAccessFile}, with and without them, against a data object
+ * held in memory where each call to iRODS waits for a simulated round trip.
+ * The figures show how many calls each workload makes, and so how much of its
+ * time goes to round trips. Like the other tests here this is not part of the
+ * functional test suite, and is meant to be run by hand, though it needs no
+ * iRODS server.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+public class RandomAccessCacheBenchmarkFunctionalTest {
+
+	private static final int FILE_LENGTH = 64 * 1024 * 1024;
+	private static final int HOT_REGION = 1024 * 1024;
+	private static final long ROUND_TRIP_NANOS = 200000L;
+	private static final int RANDOM_READS = 5000;
+	private static final int SCAN_LENGTH = 64 * 1024;
+	private static final int WRITES = 5000;
+
+	@Test
+	public void testRandomReads() throws Exception {
+		long uncached = randomReads("random reads, no cache", false);
+		long cached = randomReads("random reads, cache", true);
+		Assert.assertEquals("results differ", uncached, cached);
+	}
+
+	@Test
+	public void testSequentialScan() throws Exception {
+		long uncached = sequentialScan("sequential scan, no cache", false);
+		long cached = sequentialScan("sequential scan, cache", true);
+		Assert.assertEquals("results differ", uncached, cached);
+	}
+
+	@Test
+	public void testSmallWrites() throws Exception {
+		smallWrites("small writes, no write behind", false);
+		smallWrites("small writes, write behind", true);
+	}
+
+	/**
+	 * Read longs at random positions within the start of the file, as when
+	 * looking up an index or header. The region read fits in the default
+	 * cache.
+	 */
+	private long randomReads(final String name, final boolean cached)
+			throws Exception {
+		InMemoryFileIOOperations irods = irods(cached);
+		IRODSRandomAccessFile randomAccessFile = randomAccessFile(irods);
+		Random random = new Random(3);
+		long sum = 0;
+		long start = System.nanoTime();
+		for (int i = 0; i < RANDOM_READS; i++) {
+			randomAccessFile.seek(random.nextInt(HOT_REGION - 8),
+					SeekWhenceType.SEEK_START);
+			sum += randomAccessFile.readLong();
+		}
+		report(name, irods, System.nanoTime() - start);
+		randomAccessFile.close();
+		return sum;
+	}
+
+	private long sequentialScan(final String name, final boolean cached)
+			throws Exception {
+		InMemoryFileIOOperations irods = irods(cached);
+		IRODSRandomAccessFile randomAccessFile = randomAccessFile(irods);
+		long sum = 0;
+		long start = System.nanoTime();
+		for (int i = 0; i < SCAN_LENGTH / 4; i++) {
+			sum += randomAccessFile.readInt();
+		}
+		report(name, irods, System.nanoTime() - start);
+		randomAccessFile.close();
+		return sum;
+	}
+
+	private void smallWrites(final String name, final boolean cached)
+			throws Exception {
+		InMemoryFileIOOperations irods = irods(cached);
+		IRODSRandomAccessFile randomAccessFile = randomAccessFile(irods);
+		long start = System.nanoTime();
+		for (int i = 0; i < WRITES; i++) {
+			randomAccessFile.writeInt(i);
+		}
+		randomAccessFile.close();
+		report(name, irods, System.nanoTime() - start);
+	}
+
+	private InMemoryFileIOOperations irods(final boolean cached)
+			throws Exception {
+		SettableJargonProperties jargonProperties = new SettableJargonProperties();
+		if (!cached) {
+			jargonProperties.setRandomAccessCachePages(0);
+			jargonProperties.setRandomAccessWriteBehindSize(0);
+		}
+		byte[] data = new byte[FILE_LENGTH];
+		new Random(1).nextBytes(data);
+		return new InMemoryFileIOOperations(data, jargonProperties,
+				ROUND_TRIP_NANOS);
+	}
+
+	private IRODSRandomAccessFile randomAccessFile(
+			final InMemoryFileIOOperations irods) throws Exception {
+		IRODSFile irodsFile = Mockito.mock(IRODSFile.class);
+		Mockito.when(irodsFile.exists()).thenReturn(true);
+		Mockito.when(irodsFile.isFile()).thenReturn(true);
+		Mockito.when(irodsFile.length()).thenReturn((long) FILE_LENGTH);
+		// the constructor is protected, and used by the file factory
+		return new IRODSRandomAccessFile(irodsFile, irods.instance()) {
+		};
+	}
+
+	private void report(final String name,
+			final InMemoryFileIOOperations irods, final long nanos) {
+		System.out.println(name + ": " + irods.getCalls() + " calls, "
+				+ nanos / 1000000 + " ms");
+	}
+
+}
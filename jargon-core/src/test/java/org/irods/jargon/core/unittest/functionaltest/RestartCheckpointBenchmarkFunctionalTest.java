@@ -0,0 +1,190 @@
+package org.irods.jargon.core.unittest.functionaltest;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import junit.framework.Assert;
+
+import org.irods.jargon.core.transfer.AbstractRestartManager;
+import org.irods.jargon.core.transfer.FileBasedTransferRestartManager;
+import org.irods.jargon.core.transfer.FileRestartInfo.RestartType;
+import org.irods.jargon.core.transfer.FileRestartInfoIdentifier;
+import org.irods.jargon.core.transfer.MemoryBasedTransferRestartManager;
+import org.irods.jargon.core.transfer.RestartCheckpointer;
+import org.junit.Test;
+
+/**
+ * Benchmark of restart bookkeeping in a 16 thread parallel transfer. Each
+ * thread copies 64KB buffers out of a source larger than the processor caches,
+ * standing in for the socket and local file. The restart bookkeeping of the
+ * same transfer is run on its own, without the copying, and its processor time
+ * taken as a percentage of the copying, both for the update on every 1MB the
+ * put threads used to make and for the {@link RestartCheckpointer}. Thread
+ * processor time is used rather than elapsed time so the comparison holds when
+ * there are fewer processors than threads. Like the other tests here this is
+ * not part of the functional test suite, and is meant to be run by hand,
+ * though it needs no iRODS server.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+public class RestartCheckpointBenchmarkFunctionalTest {
+
+	private static final int THREADS = 16;
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final long BYTES_PER_THREAD = 256L * 1024 * 1024;
+	private static final long DIRECT_UPDATE_BYTES = 1024 * 1024;
+	private static final long CHECKPOINT_BYTES = 8L * 1024 * 1024;
+	private static final long CHECKPOINT_INTERVAL_MILLIS = 1000L;
+	private static final int RUNS = 5;
+	private static final int SOURCE_SIZE = 64 * 1024 * 1024;
+
+	private final byte[] source = new byte[SOURCE_SIZE];
+	private final ThreadMXBean threadMXBean = ManagementFactory
+			.getThreadMXBean();
+
+	@Test
+	public void testMemoryRestartManager() throws Exception {
+		runBenchmark("memory", new MemoryBasedTransferRestartManager());
+	}
+
+	@Test
+	public void testFileRestartManager() throws Exception {
+		File journal = File.createTempFile("restartBenchmark", ".journal");
+		journal.deleteOnExit();
+		new File(journal.getPath() + ".compact").deleteOnExit();
+		journal.delete();
+		FileBasedTransferRestartManager restartManager = new FileBasedTransferRestartManager(
+				journal);
+		try {
+			runBenchmark("file", restartManager);
+		} finally {
+			restartManager.close();
+		}
+	}
+
+	private void runBenchmark(final String name,
+			final AbstractRestartManager restartManager) throws Exception {
+		FileRestartInfoIdentifier identifier = new FileRestartInfoIdentifier();
+		identifier.setAbsolutePath("/zone/home/test/benchmark.dat");
+		identifier.setIrodsAccountIdentifier("irods://test@localhost:1247/zone");
+		identifier.setRestartType(RestartType.PUT);
+		restartManager.retrieveRestartAndBuildIfNotStored(identifier,
+				"/local/benchmark.dat", THREADS);
+
+		long copyNanos = Long.MAX_VALUE;
+		long directNanos = Long.MAX_VALUE;
+		long checkpointedNanos = Long.MAX_VALUE;
+		long checkpoints = 0L;
+		for (int i = 0; i < RUNS; i++) {
+			copyNanos = Math.min(copyNanos,
+					transfer(restartManager, identifier, true, false, null));
+			directNanos = Math.min(directNanos,
+					transfer(restartManager, identifier, false, true, null));
+			RestartCheckpointer checkpointer = new RestartCheckpointer(
+					restartManager, identifier, THREADS, CHECKPOINT_BYTES,
+					CHECKPOINT_INTERVAL_MILLIS);
+			checkpointedNanos = Math.min(
+					checkpointedNanos,
+					transfer(restartManager, identifier, false, true,
+							checkpointer));
+			checkpoints = checkpointer.getCheckpoints();
+		}
+
+		double directPercent = percent(directNanos, copyNanos);
+		double checkpointedPercent = percent(checkpointedNanos, copyNanos);
+		System.out.println(name + " restart manager, " + THREADS
+				+ " threads, bookkeeping processor time as % of transfer,"
+				+ " update every 1MB:" + directPercent + "% checkpointer:"
+				+ checkpointedPercent + "% with " + checkpoints
+				+ " checkpoints");
+		Assert.assertTrue("restart bookkeeping over 1% of transfer time",
+				checkpointedPercent < 1.0);
+	}
+
+	/**
+	 * Run the threads of a transfer, copying the data and doing the restart
+	 * bookkeeping as asked. With no checkpointer, progress is saved directly
+	 * to the restart manager on every 1MB.
+	 *
+	 * @return <code>long</code> with the processor nanoseconds used by all
+	 *         threads
+	 */
+	private long transfer(final AbstractRestartManager restartManager,
+			final FileRestartInfoIdentifier identifier, final boolean copy,
+			final boolean restart, final RestartCheckpointer checkpointer)
+			throws Exception {
+
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		List<Future<Long>> futures = new ArrayList<Future<Long>>();
+		try {
+			for (int i = 0; i < THREADS; i++) {
+				final int threadNumber = i;
+				futures.add(executor.submit(new Callable<Long>() {
+					@Override
+					public Long call() throws Exception {
+						long start = threadMXBean.getCurrentThreadCpuTime();
+						transferThread(restartManager, identifier, copy,
+								restart, checkpointer, threadNumber);
+						return threadMXBean.getCurrentThreadCpuTime() - start;
+					}
+				}));
+			}
+
+			long total = 0L;
+			for (Future<Long> future : futures) {
+				total += future.get();
+			}
+			return total;
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private void transferThread(final AbstractRestartManager restartManager,
+			final FileRestartInfoIdentifier identifier, final boolean copy,
+			final boolean restart, final RestartCheckpointer checkpointer,
+			final int threadNumber) throws Exception {
+
+		byte[] target = new byte[BUFFER_SIZE];
+		int sourceOffset = threadNumber * BUFFER_SIZE;
+		long sinceUpdate = 0L;
+
+		for (long moved = 0; moved < BYTES_PER_THREAD; moved += BUFFER_SIZE) {
+			if (copy) {
+				System.arraycopy(source, sourceOffset, target, 0, BUFFER_SIZE);
+				sourceOffset = (sourceOffset + THREADS * BUFFER_SIZE)
+						% SOURCE_SIZE;
+			}
+
+			if (!restart) {
+				continue;
+			} else if (checkpointer != null) {
+				checkpointer.addBytes(threadNumber, BUFFER_SIZE);
+			} else {
+				sinceUpdate += BUFFER_SIZE;
+				if (sinceUpdate >= DIRECT_UPDATE_BYTES) {
+					restartManager.updateLengthForSegment(identifier,
+							threadNumber, sinceUpdate);
+					sinceUpdate = 0L;
+				}
+			}
+		}
+
+		if (checkpointer != null) {
+			checkpointer.checkpoint(threadNumber);
+		}
+	}
+
+	private double percent(final long nanos, final long copyNanos) {
+		return Math.round(nanos * 10000.0 / copyNanos) / 100.0;
+	}
+
+}
@@ -0,0 +1,146 @@
+package org.irods.jargon.core.unittest.functionaltest;
+
+import java.io.File;
+import java.util.Properties;
+import java.util.Random;
+
+import junit.framework.Assert;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.pub.DataTransferOperations;
+import org.irods.jargon.core.pub.IRODSFileSystem;
+import org.irods.jargon.core.pub.io.IRODSFile;
+import org.irods.jargon.core.pub.io.IRODSFileFactory;
+import org.irods.jargon.core.transfer.TransferControlBlock;
+import org.irods.jargon.testutils.AssertionHelper;
+import org.irods.jargon.testutils.TestingPropertiesHelper;
+import org.irods.jargon.testutils.filemanip.FileGenerator;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Benchmark of recursive puts with and without small file bundling, for
+ * several distributions of file sizes. Each distribution is put once as
+ * individual files and once with bundling, and the elapsed times are printed.
+ * Like the other tests here this is not part of the functional test suite,
+ * and is meant to be run by hand against a test server that supports bulk
+ * extraction.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+public class SmallFileBundlePutFunctionalTest {
+
+	private static Properties testingProperties = new Properties();
+	private static org.irods.jargon.testutils.TestingPropertiesHelper testingPropertiesHelper = new TestingPropertiesHelper();
+	private static org.irods.jargon.testutils.filemanip.ScratchFileUtils scratchFileUtils = null;
+	public static final String IRODS_TEST_SUBDIR_PATH = "SmallFileBundlePutFunctionalTest";
+	private static org.irods.jargon.testutils.IRODSTestSetupUtilities irodsTestSetupUtilities = null;
+	private static IRODSFileSystem irodsFileSystem = null;
+	private static AssertionHelper assertionHelper = null;
+
+	private static final int FILES_PER_DIRECTORY = 500;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		org.irods.jargon.testutils.TestingPropertiesHelper testingPropertiesLoader = new TestingPropertiesHelper();
+		testingProperties = testingPropertiesLoader.getTestProperties();
+		scratchFileUtils = new org.irods.jargon.testutils.filemanip.ScratchFileUtils(
+				testingProperties);
+		scratchFileUtils
+				.clearAndReinitializeScratchDirectory(IRODS_TEST_SUBDIR_PATH);
+		irodsTestSetupUtilities = new org.irods.jargon.testutils.IRODSTestSetupUtilities();
+		irodsTestSetupUtilities.initializeIrodsScratchDirectory();
+		irodsTestSetupUtilities
+				.initializeDirectoryForTest(IRODS_TEST_SUBDIR_PATH);
+		irodsFileSystem = IRODSFileSystem.instance();
+		assertionHelper = new AssertionHelper();
+	}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {
+		irodsFileSystem.closeAndEatExceptions();
+	}
+
+	@Test
+	public void testAllOneKilobyte() throws Exception {
+		comparePuts("allOneKilobyte", 1024, 1024);
+	}
+
+	@Test
+	public void testAllTenKilobytes() throws Exception {
+		comparePuts("allTenKilobytes", 10 * 1024, 10 * 1024);
+	}
+
+	@Test
+	public void testMixedOneKilobyteToOneMegabyte() throws Exception {
+		comparePuts("mixedOneKilobyteToOneMegabyte", 1024, 1024 * 1024);
+	}
+
+	/**
+	 * Put a directory of files with sizes spread evenly between the given
+	 * bounds, once without and once with bundling, and print the times
+	 */
+	private void comparePuts(final String testName, final int minLength,
+			final int maxLength) throws Exception {
+		String localPath = scratchFileUtils
+				.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH
+						+ '/' + testName);
+		Random random = new Random(42);
+		for (int i = 0; i < FILES_PER_DIRECTORY; i++) {
+			int length = minLength
+					+ (maxLength > minLength ? random.nextInt(maxLength
+							- minLength + 1) : 0);
+			FileGenerator.generateFileOfFixedLengthGivenName(localPath,
+					"file" + i + ".dat", length);
+		}
+
+		File localDirectory = new File(localPath);
+		long individualMillis = timePut(localDirectory, testName
+				+ "Individual", false);
+		long bundledMillis = timePut(localDirectory, testName + "Bundled",
+				true);
+
+		System.out.println(testName + " files:" + FILES_PER_DIRECTORY
+				+ " individual millis:" + individualMillis
+				+ " bundled millis:" + bundledMillis);
+	}
+
+	private long timePut(final File localDirectory,
+			final String targetCollectionName, final boolean bundle)
+			throws Exception {
+		IRODSAccount irodsAccount = testingPropertiesHelper
+				.buildIRODSAccountFromTestProperties(testingProperties);
+		IRODSFileFactory irodsFileFactory = irodsFileSystem
+				.getIRODSFileFactory(irodsAccount);
+		String targetPath = testingPropertiesHelper
+				.buildIRODSCollectionAbsolutePathFromTestProperties(
+						testingProperties, IRODS_TEST_SUBDIR_PATH + '/'
+								+ targetCollectionName);
+		IRODSFile targetCollection = irodsFileFactory
+				.instanceIRODSFile(targetPath);
+		targetCollection.mkdirs();
+
+		DataTransferOperations dataTransferOperations = irodsFileSystem
+				.getIRODSAccessObjectFactory().getDataTransferOperations(
+						irodsAccount);
+		TransferControlBlock tcb = irodsFileSystem.getIrodsSession()
+				.buildDefaultTransferControlBlockBasedOnJargonProperties();
+		tcb.getTransferOptions().setBundleSmallFilesOnPut(bundle);
+
+		long start = System.currentTimeMillis();
+		dataTransferOperations.putOperation(localDirectory, targetCollection,
+				null, tcb);
+		long elapsed = System.currentTimeMillis() - start;
+
+		IRODSFile putCollection = irodsFileFactory.instanceIRODSFile(
+				targetPath, localDirectory.getName());
+		assertionHelper.assertTwoFilesAreEqualByRecursiveTreeComparison(
+				localDirectory, (File) putCollection);
+		Assert.assertEquals(FILES_PER_DIRECTORY,
+				tcb.getTotalFilesTransferredSoFar());
+		return elapsed;
+	}
+
+}
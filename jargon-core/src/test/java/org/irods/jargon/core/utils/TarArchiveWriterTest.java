@@ -0,0 +1,125 @@
+package org.irods.jargon.core.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+public class TarArchiveWriterTest {
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	@Test
+	public void testAddFilesWritesHeadersDataAndPadding() throws Exception {
+		byte[] first = "hello tar".getBytes(UTF8);
+		byte[] second = new byte[TarArchiveWriter.BLOCK_SIZE + 1];
+		Arrays.fill(second, (byte) 'x');
+		File firstFile = createFile("first", first);
+		File secondFile = createFile("second", second);
+
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		TarArchiveWriter writer = new TarArchiveWriter(bos);
+		writer.addFile(firstFile, "first.txt");
+		writer.addFile(secondFile, "second.txt");
+		writer.close();
+		byte[] tar = bos.toByteArray();
+
+		Assert.assertEquals("archive not padded to a record", 0, tar.length
+				% TarArchiveWriter.RECORD_SIZE);
+		Assert.assertEquals(tar.length, writer.getBytesWritten());
+
+		int offset = 0;
+		Assert.assertEquals("first.txt", readString(tar, offset, 100));
+		Assert.assertEquals(first.length, readOctal(tar, offset + 124, 12));
+		Assert.assertEquals('0', tar[offset + 156]);
+		Assert.assertEquals("ustar", readString(tar, offset + 257, 6));
+		assertChecksum(tar, offset);
+		Assert.assertEquals("hello tar", new String(tar, offset
+				+ TarArchiveWriter.BLOCK_SIZE, first.length, UTF8));
+
+		offset += 2 * TarArchiveWriter.BLOCK_SIZE;
+		Assert.assertEquals("second.txt", readString(tar, offset, 100));
+		Assert.assertEquals(second.length, readOctal(tar, offset + 124, 12));
+		assertChecksum(tar, offset);
+
+		offset += 3 * TarArchiveWriter.BLOCK_SIZE;
+		for (int i = offset; i < offset + 2 * TarArchiveWriter.BLOCK_SIZE; i++) {
+			Assert.assertEquals("end of archive blocks not zero", 0, tar[i]);
+		}
+	}
+
+	@Test
+	public void testEmptyFile() throws Exception {
+		File emptyFile = createFile("empty", new byte[0]);
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		TarArchiveWriter writer = new TarArchiveWriter(bos);
+		writer.addFile(emptyFile, "empty.txt");
+		writer.close();
+		byte[] tar = bos.toByteArray();
+		Assert.assertEquals(0, readOctal(tar, 124, 12));
+		Assert.assertEquals(TarArchiveWriter.RECORD_SIZE, tar.length);
+	}
+
+	@Test
+	public void testEntryNameSupported() throws Exception {
+		char[] longName = new char[TarArchiveWriter.MAX_NAME_LENGTH + 1];
+		Arrays.fill(longName, 'a');
+		Assert.assertTrue(TarArchiveWriter.isEntryNameSupported("file.txt"));
+		Assert.assertFalse(TarArchiveWriter.isEntryNameSupported(""));
+		Assert.assertFalse(TarArchiveWriter.isEntryNameSupported(null));
+		Assert.assertFalse(TarArchiveWriter.isEntryNameSupported(new String(
+				longName)));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testAddFileNameTooLong() throws Exception {
+		char[] longName = new char[TarArchiveWriter.MAX_NAME_LENGTH + 1];
+		Arrays.fill(longName, 'a');
+		File file = createFile("long", new byte[1]);
+		TarArchiveWriter writer = new TarArchiveWriter(
+				new ByteArrayOutputStream());
+		writer.addFile(file, new String(longName));
+	}
+
+	private File createFile(final String prefix, final byte[] contents)
+			throws Exception {
+		File file = File.createTempFile(prefix, ".txt");
+		file.deleteOnExit();
+		FileOutputStream fos = new FileOutputStream(file);
+		fos.write(contents);
+		fos.close();
+		return file;
+	}
+
+	private String readString(final byte[] tar, final int offset,
+			final int length) {
+		int end = offset;
+		while (end < offset + length && tar[end] != 0) {
+			end++;
+		}
+		return new String(tar, offset, end - offset, UTF8);
+	}
+
+	private long readOctal(final byte[] tar, final int offset, final int length) {
+		return Long.parseLong(readString(tar, offset, length).trim(), 8);
+	}
+
+	private void assertChecksum(final byte[] tar, final int offset) {
+		long expected = readOctal(tar, offset + 148, 7);
+		long actual = 0;
+		for (int i = 0; i < TarArchiveWriter.BLOCK_SIZE; i++) {
+			if (i >= 148 && i < 156) {
+				actual += ' ';
+			} else {
+				actual += tar[offset + i] & 0xff;
+			}
+		}
+		Assert.assertEquals("header checksum incorrect", expected, actual);
+	}
+
+}
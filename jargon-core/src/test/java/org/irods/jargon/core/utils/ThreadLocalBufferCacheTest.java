@@ -0,0 +1,97 @@
+package org.irods.jargon.core.utils;
+
+import java.nio.ByteBuffer;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+public class ThreadLocalBufferCacheTest {
+
+	@Test
+	public void testBorrowReleaseReusesArray() throws Exception {
+		byte[] buffer = ThreadLocalBufferCache.borrow(1024);
+		Assert.assertTrue(buffer.length >= 1024);
+		ThreadLocalBufferCache.release(buffer);
+		byte[] second = ThreadLocalBufferCache.borrow(512);
+		Assert.assertSame("did not reuse released buffer", buffer, second);
+		ThreadLocalBufferCache.release(second);
+	}
+
+	@Test
+	public void testNestedBorrowAllocatesNewArray() throws Exception {
+		byte[] buffer = ThreadLocalBufferCache.borrow(1024);
+		ThreadLocalBufferCache.release(buffer);
+		byte[] outer = ThreadLocalBufferCache.borrow(1024);
+		byte[] inner = ThreadLocalBufferCache.borrow(1024);
+		Assert.assertFalse("nested borrow shared a buffer", outer == inner);
+		ThreadLocalBufferCache.release(inner);
+		ThreadLocalBufferCache.release(outer);
+	}
+
+	@Test
+	public void testBorrowLargerThanCachedAllocates() throws Exception {
+		byte[] buffer = ThreadLocalBufferCache.borrow(16);
+		ThreadLocalBufferCache.release(buffer);
+		byte[] larger = ThreadLocalBufferCache.borrow(4096);
+		Assert.assertEquals(4096, larger.length);
+		ThreadLocalBufferCache.release(larger);
+		Assert.assertSame(larger, ThreadLocalBufferCache.borrow(100));
+	}
+
+	@Test
+	public void testOversizeArrayNotRetained() throws Exception {
+		byte[] small = ThreadLocalBufferCache.borrow(64);
+		ThreadLocalBufferCache.release(small);
+		small = ThreadLocalBufferCache.borrow(64);
+		byte[] huge = new byte[ThreadLocalBufferCache.MAX_RETAINED_BUFFER_SIZE + 1];
+		ThreadLocalBufferCache.release(huge);
+		Assert.assertFalse(huge == ThreadLocalBufferCache.borrow(64));
+	}
+
+	@Test
+	public void testNotSharedBetweenThreads() throws Exception {
+		final byte[] buffer = ThreadLocalBufferCache.borrow(2048);
+		ThreadLocalBufferCache.release(buffer);
+		final byte[][] other = new byte[1][];
+		Thread thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				other[0] = ThreadLocalBufferCache.borrow(2048);
+			}
+		});
+		thread.start();
+		thread.join();
+		Assert.assertFalse("buffer shared between threads", buffer == other[0]);
+	}
+
+	@Test
+	public void testBorrowByteBufferSetsLimit() throws Exception {
+		ByteBuffer buffer = ThreadLocalBufferCache.borrowByteBuffer(8, false);
+		Assert.assertEquals(0, buffer.position());
+		Assert.assertEquals(8, buffer.limit());
+		buffer.putLong(42L);
+		ThreadLocalBufferCache.release(buffer);
+		ByteBuffer second = ThreadLocalBufferCache.borrowByteBuffer(4, false);
+		Assert.assertSame(buffer, second);
+		Assert.assertEquals(0, second.position());
+		Assert.assertEquals(4, second.limit());
+	}
+
+	@Test
+	public void testDirectAndHeapCachedSeparately() throws Exception {
+		ByteBuffer direct = ThreadLocalBufferCache.borrowByteBuffer(64, true);
+		Assert.assertTrue(direct.isDirect());
+		ThreadLocalBufferCache.release(direct);
+		ByteBuffer heap = ThreadLocalBufferCache.borrowByteBuffer(64, false);
+		Assert.assertFalse(heap.isDirect());
+		Assert.assertSame(direct,
+				ThreadLocalBufferCache.borrowByteBuffer(32, true));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBorrowNegative() throws Exception {
+		ThreadLocalBufferCache.borrow(-1);
+	}
+
+}
@@ -7,11 +7,20 @@ import org.apache.commons.pool2.KeyedPooledObjectFactory;
 import org.apache.commons.pool2.impl.GenericKeyedObjectPool;
 import org.irods.jargon.core.connection.AbstractIRODSMidLevelProtocol;
 import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.exception.AuthenticationException;
+import org.irods.jargon.core.exception.JargonException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Connection cache keeps a pool of managed iRODS connections
+ * <p/>
+ * Idle connections are tested by the evictor in the background, see
+ * {@link JargonPooledObjectFactory}. Connections may be opened ahead of use
+ * with {@link #preWarm(IRODSAccount, int)}. If the config has a minimum idle
+ * count per key, the evictor keeps that many connections open for each
+ * account in the cache, replacing any that are destroyed, and only idle
+ * connections above that floor are evicted for being idle.
  * 
  * @author mconway
  *
@@ -27,6 +36,65 @@ public class JargonConnectionCache extends GenericKeyedObjectPool<IRODSAccount,
 		this.setMinEvictableIdleTimeMillis(30000);
 		this.setTimeBetweenEvictionRunsMillis(45000);
 		this.setTestOnBorrow(true);
+		this.setTestWhileIdle(true);
+		// test every idle connection on each eviction run
+		this.setNumTestsPerEvictionRun(-1);
+		if (config.getMinIdlePerKey() > 0) {
+			this.setMinIdlePerKey(config.getMinIdlePerKey());
+			this.setMinEvictableIdleTimeMillis(-1);
+			this.setSoftMinEvictableIdleTimeMillis(30000);
+		}
+	}
+
+	/**
+	 * Open and authenticate connections for the given account ahead of use,
+	 * so that the first requests after startup do not pay for the connection
+	 * handshake. No more than the maximum idle connections per key are kept.
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} to open connections for
+	 * @param numberOfConnections
+	 *            <code>int</code> with the number of idle connections desired
+	 * @return <code>int</code> with the number of idle connections for the
+	 *         account after pre-warming
+	 * @throws AuthenticationException
+	 * @throws JargonException
+	 */
+	public int preWarm(final IRODSAccount irodsAccount, final int numberOfConnections)
+			throws AuthenticationException, JargonException {
+		log.info("preWarm()");
+
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		if (numberOfConnections < 0) {
+			throw new IllegalArgumentException("numberOfConnections must be >= 0");
+		}
+
+		int target = numberOfConnections;
+		if (this.getMaxIdlePerKey() >= 0) {
+			target = Math.min(numberOfConnections, this.getMaxIdlePerKey());
+		}
+		log.info("pre-warming {} connections for:{}", target, irodsAccount);
+
+		try {
+			// bounded, as no object is added once the pool is at capacity
+			for (int i = 0; i < target && this.getNumIdle(irodsAccount) < target; i++) {
+				this.addObject(irodsAccount);
+			}
+		} catch (Exception e) {
+			log.error("error pre-warming connection", e);
+			if (e instanceof AuthenticationException) {
+				throw (AuthenticationException) e;
+			} else if (e instanceof JargonException) {
+				throw (JargonException) e;
+			} else {
+				throw new JargonException(e);
+			}
+		}
+
+		return this.getNumIdle(irodsAccount);
 	}
 
 	/*
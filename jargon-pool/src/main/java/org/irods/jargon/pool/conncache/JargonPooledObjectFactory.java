@@ -2,20 +2,46 @@ package org.irods.jargon.pool.conncache;
 
 import org.apache.commons.pool2.BaseKeyedPooledObjectFactory;
 import org.apache.commons.pool2.PooledObject;
+import org.apache.commons.pool2.PooledObjectState;
 import org.apache.commons.pool2.impl.DefaultPooledObject;
 import org.irods.jargon.core.connection.AbstractIRODSMidLevelProtocol;
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.connection.IRODSProtocolManager;
 import org.irods.jargon.core.connection.IRODSSession;
 import org.irods.jargon.core.connection.IRODSSimpleProtocolManager;
+import org.irods.jargon.core.packinstr.MiscSvrInfo;
+import org.irods.jargon.core.utils.IRODSConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Factory for the connections kept in the {@link JargonConnectionCache}.
+ * <p/>
+ * Validation on borrow only checks that the connection is still connected and
+ * not near its socket renewal time. When the pool evictor tests idle
+ * connections, each one is also pinged with an empty <code>miscSvrInfo</code>
+ * request, so that dead connections are found in the background rather than
+ * by a caller. Connections within the renewal margin of the socket renewal
+ * interval fail validation and are destroyed, and the evictor replaces them up
+ * to the configured minimum idle count, so that a connection is replaced
+ * before it expires rather than on the next borrow.
+ *
+ * @author mconway
+ *
+ */
 public class JargonPooledObjectFactory
 		extends BaseKeyedPooledObjectFactory<IRODSAccount, AbstractIRODSMidLevelProtocol> {
 
 	public static final Logger log = LoggerFactory.getLogger(JargonPooledObjectFactory.class);
 
+	/**
+	 * Default time before the socket renewal interval at which a connection is
+	 * retired, two runs of the pool evictor
+	 */
+	public static final long DEFAULT_RENEWAL_MARGIN_MILLIS = 90 * 1000;
+
+	private long renewalMarginMillis = DEFAULT_RENEWAL_MARGIN_MILLIS;
+
 	/**
 	 * Expected injected dependency {@link IRODSSimpleProtocolManager} that will
 	 * be the source of the actual live connection.
@@ -76,7 +102,70 @@ public class JargonPooledObjectFactory
 	@Override
 	public boolean validateObject(IRODSAccount key, PooledObject<AbstractIRODSMidLevelProtocol> p) {
 
-		return p.getObject().isConnected();
+		AbstractIRODSMidLevelProtocol irodsMidLevelProtocol = p.getObject();
+		if (!irodsMidLevelProtocol.isConnected()) {
+			log.info("connection no longer connected");
+			return false;
+		}
+
+		if (isNearRenewal(irodsMidLevelProtocol, System.currentTimeMillis())) {
+			log.info("retiring connection before socket renewal:{}", irodsMidLevelProtocol);
+			return false;
+		}
+
+		if (p.getState() == PooledObjectState.EVICTION) {
+			try {
+				irodsMidLevelProtocol.irodsFunction(IRODSConstants.RODS_API_REQ, "", MiscSvrInfo.API_NBR);
+			} catch (Exception e) {
+				log.warn("idle connection failed ping, will be destroyed", e);
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Check whether the connection is within the renewal margin of its socket
+	 * renewal interval
+	 *
+	 * @param irodsMidLevelProtocol
+	 *            {@link AbstractIRODSMidLevelProtocol} to check
+	 * @param currentTimeMillis
+	 *            <code>long</code> with the current time
+	 * @return <code>boolean</code> that will be <code>true</code> if the
+	 *         connection should be retired
+	 */
+	boolean isNearRenewal(final AbstractIRODSMidLevelProtocol irodsMidLevelProtocol, final long currentTimeMillis) {
+		int renewalInterval = irodsMidLevelProtocol.getPipelineConfiguration().getSocketRenewalIntervalInSeconds();
+		// 0 means ignore
+		if (renewalInterval <= 0) {
+			return false;
+		}
+
+		long retireTime = irodsMidLevelProtocol.getConnectTimeInMillis() + renewalInterval * 1000L
+				- renewalMarginMillis;
+		return currentTimeMillis >= retireTime;
+	}
+
+	/**
+	 * @return the renewalMarginMillis, the time before the socket renewal
+	 *         interval at which a connection is retired
+	 */
+	public long getRenewalMarginMillis() {
+		return renewalMarginMillis;
+	}
+
+	/**
+	 * @param renewalMarginMillis
+	 *            the renewalMarginMillis to set, this should be at least the
+	 *            time between eviction runs of the cache
+	 */
+	public void setRenewalMarginMillis(final long renewalMarginMillis) {
+		if (renewalMarginMillis < 0) {
+			throw new IllegalArgumentException("renewalMarginMillis must be >= 0");
+		}
+		this.renewalMarginMillis = renewalMarginMillis;
 	}
 
 }
@@ -174,4 +174,54 @@ public class JargonConnectionCacheTest {
 
 	}
 
+	@Test
+	public void testPreWarm() throws Exception {
+		JargonKeyedPoolConfig config = new JargonKeyedPoolConfig();
+		config.setMinIdlePerKey(2);
+		JargonPooledObjectFactory jargonPooledObjectFactory = new JargonPooledObjectFactory();
+		jargonPooledObjectFactory.setIrodsSession(irodsFileSystem.getIrodsSession());
+		jargonPooledObjectFactory.setIrodsSimpleProtocolManager(irodsFileSystem.getIrodsProtocolManager());
+
+		JargonConnectionCache jargonConnectionCache = new JargonConnectionCache(jargonPooledObjectFactory, config);
+
+		IRODSAccount test1 = testingPropertiesHelper.buildIRODSAccountFromTestProperties(testingProperties);
+
+		int idle = jargonConnectionCache.preWarm(test1, 2);
+		Assert.assertEquals(2, idle);
+		Assert.assertEquals(2, jargonConnectionCache.getCreatedCount());
+
+		AbstractIRODSMidLevelProtocol test1Protocol1 = jargonConnectionCache.borrowObject(test1);
+		Assert.assertEquals("should borrow a pre-warmed connection", 2, jargonConnectionCache.getCreatedCount());
+		jargonConnectionCache.returnObject(test1, test1Protocol1);
+
+		idle = jargonConnectionCache.preWarm(test1, 100);
+		Assert.assertEquals("should not exceed max idle", config.getMaxIdlePerKey(), idle);
+
+		jargonConnectionCache.close();
+
+	}
+
+	@Test
+	public void testValidateRetiresBeforeRenewal() throws Exception {
+		JargonPooledObjectFactory jargonPooledObjectFactory = new JargonPooledObjectFactory();
+		jargonPooledObjectFactory.setIrodsSession(irodsFileSystem.getIrodsSession());
+		jargonPooledObjectFactory.setIrodsSimpleProtocolManager(irodsFileSystem.getIrodsProtocolManager());
+
+		IRODSAccount test1 = testingPropertiesHelper.buildIRODSAccountFromTestProperties(testingProperties);
+		AbstractIRODSMidLevelProtocol protocol = jargonPooledObjectFactory.create(test1);
+		try {
+			int renewalInterval = protocol.getPipelineConfiguration().getSocketRenewalIntervalInSeconds();
+			if (renewalInterval <= 0) {
+				Assert.assertFalse(jargonPooledObjectFactory.isNearRenewal(protocol, Long.MAX_VALUE));
+			} else {
+				long retireTime = protocol.getConnectTimeInMillis() + renewalInterval * 1000L
+						- jargonPooledObjectFactory.getRenewalMarginMillis();
+				Assert.assertFalse(jargonPooledObjectFactory.isNearRenewal(protocol, retireTime - 1));
+				Assert.assertTrue(jargonPooledObjectFactory.isNearRenewal(protocol, retireTime));
+			}
+		} finally {
+			protocol.shutdown();
+		}
+	}
+
 }